@@ -0,0 +1,22 @@
+package com.aci.smart_onboarding.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for the change-stream driven BRD activity feed */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "activity-feed")
+public class ActivityFeedProperties {
+
+  /** Maximum number of undelivered events kept per subscriber before the oldest are dropped */
+  private int subscriberBufferSize = 256;
+
+  /** Interval between SSE keep-alive comments */
+  private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+  /** Upper bound for the backoff used when the shared change stream has to be reopened */
+  private Duration maxReconnectBackoff = Duration.ofSeconds(30);
+}
@@ -0,0 +1,38 @@
+package com.aci.smart_onboarding.config;
+
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for the governor that schedules every call to the AI provider */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ai-governor")
+public class AiGovernorProperties {
+
+  /** Whether model calls are queued and limited; when off they go straight to the provider */
+  private boolean enabled = true;
+
+  /** Maximum number of embedding calls in flight at once */
+  private int embeddingMaxConcurrent = 16;
+
+  /** Maximum number of completion calls, streamed or not, in flight at once */
+  private int completionMaxConcurrent = 8;
+
+  /** Slots of each operation that batch calls may not take, kept free for interactive calls */
+  private int interactiveReserve = 2;
+
+  /** Estimated prompt tokens the embedding deployment accepts per minute; 0 for no limit */
+  private long embeddingTokensPerMinute = 0;
+
+  /** Estimated prompt tokens the completion deployment accepts per minute; 0 for no limit */
+  private long completionTokensPerMinute = 0;
+
+  /** Calls that may wait per operation before further calls are rejected */
+  private int maxQueued = 1_000;
+
+  /** Context names whose completions are scheduled as batch work */
+  private List<String> batchContexts =
+      List.of("prefill", "legacyPrefill", "mappedRule", "testRigorUAT", "uat_field_search");
+}
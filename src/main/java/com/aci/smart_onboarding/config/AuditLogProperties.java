@@ -0,0 +1,43 @@
+package com.aci.smart_onboarding.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for the write-behind audit log pipeline */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "audit-log")
+public class AuditLogProperties {
+
+  /** Maximum number of audit logs buffered in memory; further entries wait in the journal */
+  private int queueCapacity = 10_000;
+
+  /** Maximum number of audit logs written with a single insertMany */
+  private int batchSize = 200;
+
+  /** Upper bound on how long an audit log waits in memory before it is flushed */
+  private Duration flushInterval = Duration.ofSeconds(1);
+
+  /** Directory holding journal segments for audit logs that are not yet stored in MongoDB */
+  private String journalDirectory = "./data/audit-journal";
+
+  /** Time allowed on shutdown to flush buffered audit logs before they are left to replay */
+  private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+  /** Age after which raw audit logs are archived to blob storage and removed from MongoDB */
+  private Duration rawRetention = Duration.ofDays(365);
+
+  /** Age after which compact BRD status events expire from their time-series collection */
+  private Duration statusEventRetention = Duration.ofDays(3650);
+
+  /** Cron expression for the job that archives raw audit logs past their retention */
+  private String archiveCron = "0 30 2 * * *";
+
+  /** Maximum number of raw audit logs written to a single archive blob */
+  private int archiveBatchSize = 1_000;
+
+  /** Blob path prefix for archived raw audit logs */
+  private String archivePrefix = "audit-archive/";
+}
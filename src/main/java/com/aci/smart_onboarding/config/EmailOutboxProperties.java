@@ -0,0 +1,43 @@
+package com.aci.smart_onboarding.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for the notification email outbox and the worker that drains it */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "email-outbox")
+public class EmailOutboxProperties {
+
+  /** How often the worker looks for emails that are due */
+  private Duration pollInterval = Duration.ofSeconds(2);
+
+  /** Maximum number of emails claimed by one drain pass */
+  private int batchSize = 50;
+
+  /** Maximum number of SendGrid calls in flight at once */
+  private int workerConcurrency = 4;
+
+  /** Maximum number of emails handed to SendGrid per second */
+  private int ratePerSecond = 10;
+
+  /** How long a claimed email stays reserved for its worker before others may retry it */
+  private Duration leaseDuration = Duration.ofMinutes(2);
+
+  /** Delivery attempts before an email is marked as failed */
+  private int maxAttempts = 8;
+
+  /** Delay before the first retry; doubled for every further attempt */
+  private Duration initialBackoff = Duration.ofSeconds(30);
+
+  /** Upper bound on the delay between two attempts */
+  private Duration maxBackoff = Duration.ofHours(1);
+
+  /**
+   * How long sent and failed emails are kept. Identical emails queued within this window are
+   * treated as duplicates.
+   */
+  private Duration retention = Duration.ofDays(1);
+}
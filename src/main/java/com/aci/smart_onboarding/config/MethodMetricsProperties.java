@@ -0,0 +1,22 @@
+package com.aci.smart_onboarding.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for the latency timers of methods annotated with {@code @Measured} */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "method-metrics")
+public class MethodMetricsProperties {
+
+  /** Whether annotated methods are timed at all */
+  private boolean enabled = true;
+
+  /** Share of calls that are timed, between 0 and 1; the rest run without any instrumentation */
+  private double sampleRate = 1.0;
+
+  /** Calls taking at least this long are also logged as a warning */
+  private Duration slowThreshold = Duration.ofSeconds(2);
+}
@@ -0,0 +1,28 @@
+package com.aci.smart_onboarding.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for AI prefill of BRD and site forms */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "prefill")
+public class PrefillProperties {
+
+  /** Sections of one form prefilled at the same time */
+  private int sectionConcurrency = 4;
+
+  /** Sites of one BRD prefilled at the same time */
+  private int siteConcurrency = 4;
+
+  /** Whether prefilled sections are cached and reused when their inputs have not changed */
+  private boolean cacheEnabled = true;
+
+  /** How long a prefilled section is kept after it was generated */
+  private Duration cacheTtl = Duration.ofDays(7);
+
+  /** Version of the prefill prompt; cached sections of other versions are no longer used */
+  private String promptVersion = "1";
+}
@@ -1,5 +1,8 @@
 package com.aci.smart_onboarding.config;
 
+import com.aci.smart_onboarding.enums.VectorStorageFormat;
+import com.aci.smart_onboarding.model.EmbeddingVector;
+import com.aci.smart_onboarding.util.VectorCodec;
 import com.mongodb.ConnectionString;
 import com.mongodb.MongoClientSettings;
 import com.mongodb.reactivestreams.client.MongoClient;
@@ -13,12 +16,15 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.bson.UuidRepresentation;
+import org.bson.types.Binary;
 import org.springframework.beans.factory.ObjectFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.auditing.ReactiveIsNewAwareAuditingHandler;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
 import org.springframework.data.mapping.context.PersistentEntities;
 import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
 import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
@@ -55,6 +61,12 @@ public class ReactiveMongoDBConfig extends AbstractReactiveMongoConfiguration {
   @Value("${MONGO_SOCKET_TIMEOUT_MS:30000}")
   private int socketTimeout;
 
+  private final VectorStorageProperties vectorStorageProperties;
+
+  public ReactiveMongoDBConfig(VectorStorageProperties vectorStorageProperties) {
+    this.vectorStorageProperties = vectorStorageProperties;
+  }
+
   @Override
   protected String getDatabaseName() {
     return databaseName;
@@ -94,6 +106,11 @@ public class ReactiveMongoDBConfig extends AbstractReactiveMongoConfiguration {
     converters.add(LOCAL_DATE_TIME_TO_DATE_CONVERTER);
     converters.add(DATE_TO_LOCAL_DATE_CONVERTER);
     converters.add(LOCAL_DATE_TO_DATE_CONVERTER);
+    converters.add(
+        new EmbeddingVectorToBinaryConverter(
+            vectorStorageProperties.getFormat(), vectorStorageProperties.getInt8Scale()));
+    converters.add(new BinaryToEmbeddingVectorConverter(vectorStorageProperties.getInt8Scale()));
+    converters.add(LIST_TO_EMBEDDING_VECTOR_CONVERTER);
 
     return new MongoCustomConversions(converters);
   }
@@ -107,6 +124,8 @@ public class ReactiveMongoDBConfig extends AbstractReactiveMongoConfiguration {
       new DateToLocalDateConverter();
   private static final Converter<LocalDate, Date> LOCAL_DATE_TO_DATE_CONVERTER =
       new LocalDateToDateConverter();
+  private static final Converter<List<?>, EmbeddingVector> LIST_TO_EMBEDDING_VECTOR_CONVERTER =
+      new ListToEmbeddingVectorConverter();
 
   // Converter implementations as static classes
   private static class DateToLocalDateTimeConverter implements Converter<Date, LocalDateTime> {
@@ -143,6 +162,48 @@ public class ReactiveMongoDBConfig extends AbstractReactiveMongoConfiguration {
     }
   }
 
+  @WritingConverter
+  private static class EmbeddingVectorToBinaryConverter
+      implements Converter<EmbeddingVector, Binary> {
+    private final VectorStorageFormat format;
+    private final double int8Scale;
+
+    EmbeddingVectorToBinaryConverter(VectorStorageFormat format, double int8Scale) {
+      this.format = format;
+      this.int8Scale = int8Scale;
+    }
+
+    @Override
+    public Binary convert(EmbeddingVector source) {
+      return VectorCodec.encode(source.toFloatArray(), format, int8Scale);
+    }
+  }
+
+  @ReadingConverter
+  private static class BinaryToEmbeddingVectorConverter
+      implements Converter<Binary, EmbeddingVector> {
+    private final double int8Scale;
+
+    BinaryToEmbeddingVectorConverter(double int8Scale) {
+      this.int8Scale = int8Scale;
+    }
+
+    @Override
+    public EmbeddingVector convert(Binary source) {
+      return EmbeddingVector.of(VectorCodec.decode(source, int8Scale));
+    }
+  }
+
+  // Documents written before binary vectors hold a plain array of numbers
+  @ReadingConverter
+  private static class ListToEmbeddingVectorConverter
+      implements Converter<List<?>, EmbeddingVector> {
+    @Override
+    public EmbeddingVector convert(List<?> source) {
+      return EmbeddingVector.of(VectorCodec.toFloatArray(source, 1.0));
+    }
+  }
+
   @Bean
   public ReactiveMongoTemplate reactiveMongoTemplate() {
     return new ReactiveMongoTemplate(reactiveMongoClient(), getDatabaseName());
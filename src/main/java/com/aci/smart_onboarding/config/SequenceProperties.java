@@ -0,0 +1,34 @@
+package com.aci.smart_onboarding.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for comment and reply ID allocation */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "sequence")
+public class SequenceProperties {
+
+  /** Strategy used to allocate comment and reply IDs */
+  private Strategy strategy = Strategy.BLOCK;
+
+  /** Number of IDs leased from the sequence collection per round trip */
+  private int blockSize = 50;
+
+  /**
+   * Offset added to pooled sequence values so that they never collide with the small per-field
+   * counters issued before pooling was introduced
+   */
+  private long pooledIdOffset = 1_000_000L;
+
+  /** Node identifier (0-1023) embedded in time-ordered IDs; derived from the host when negative */
+  private int nodeId = -1;
+
+  public enum Strategy {
+    /** Lease ranges from a shared Mongo sequence and hand them out from memory */
+    BLOCK,
+    /** Generate IDs locally from timestamp, node and counter without touching Mongo */
+    TIME_ORDERED
+  }
+}
@@ -0,0 +1,22 @@
+package com.aci.smart_onboarding.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for the Redis cache of generated document and BRD summaries */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "summary-cache")
+public class SummaryCacheProperties {
+
+  /** Whether generated summaries are cached and replayed */
+  private boolean enabled = true;
+
+  /** How long a cached summary is kept after it was generated */
+  private Duration ttl = Duration.ofDays(7);
+
+  /** Part of every cache key; change it to drop all cached summaries, e.g. after a model change */
+  private String promptVersion = "1";
+}
@@ -0,0 +1,18 @@
+package com.aci.smart_onboarding.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for fanning out UAT test case generation */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "uat-generation")
+public class UatGenerationProperties {
+
+  /**
+   * Maximum number of features generated at once for one request. Provider rate and token limits
+   * are enforced across all callers by the AI request governor, see {@code ai-governor.*}.
+   */
+  private int concurrency = 8;
+}
@@ -0,0 +1,41 @@
+package com.aci.smart_onboarding.config;
+
+import com.aci.smart_onboarding.enums.VectorSearchMode;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for the in-process vector index that backs up Atlas vector search */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "vector-index")
+public class VectorIndexProperties {
+
+  /** Whether the local index is loaded and kept in sync at startup */
+  private boolean enabled = false;
+
+  /** Default search mode for artifact searches */
+  private VectorSearchMode artifactMode = VectorSearchMode.ATLAS;
+
+  /** Default search mode for UAT test case searches */
+  private VectorSearchMode uatTestCaseMode = VectorSearchMode.ATLAS;
+
+  /** HNSW links per node; higher values improve recall at the cost of memory */
+  private int maxConnections = 16;
+
+  /** Candidates considered when a vector is linked into the graph */
+  private int efConstruction = 200;
+
+  /** Candidates considered per search, the local counterpart of Atlas numCandidates */
+  private int efSearch = 150;
+
+  /**
+   * Share of removed vectors, relative to live ones, after which the index is rebuilt from the
+   * collection
+   */
+  private double rebuildDeletedRatio = 0.5;
+
+  /** Upper bound for the backoff used when a change stream has to be reopened */
+  private Duration maxReconnectBackoff = Duration.ofSeconds(30);
+}
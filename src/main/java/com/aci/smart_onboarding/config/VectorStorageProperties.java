@@ -0,0 +1,28 @@
+package com.aci.smart_onboarding.config;
+
+import com.aci.smart_onboarding.enums.VectorStorageFormat;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Configuration for how embeddings are stored and for migrating legacy array vectors */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "vector-storage")
+public class VectorStorageProperties {
+
+  /** Encoding used when embeddings are written */
+  private VectorStorageFormat format = VectorStorageFormat.FLOAT32;
+
+  /**
+   * Factor applied to every component before rounding to int8. One factor is used for a whole
+   * collection so that Atlas euclidean distances between stored vectors keep their ranking.
+   */
+  private double int8Scale = 127.0;
+
+  /** Whether legacy array vectors are rewritten in the configured format at startup */
+  private boolean migrationEnabled = false;
+
+  /** Documents rewritten per bulk write during the migration */
+  private int migrationBatchSize = 500;
+}
@@ -5,6 +5,7 @@ import com.aci.smart_onboarding.constants.SecurityConstants;
 import com.aci.smart_onboarding.constants.SiteConstants;
 import com.aci.smart_onboarding.dto.*;
 import com.aci.smart_onboarding.exception.NotFoundException;
+import com.aci.smart_onboarding.logging.Measured;
 import com.aci.smart_onboarding.mapper.DtoModelMapper;
 import com.aci.smart_onboarding.security.service.BRDSecurityService;
 import com.aci.smart_onboarding.service.IAuditLogService;
@@ -530,6 +531,7 @@ public class BRDController {
                     }))
       })
   @GetMapping
+  @Measured
   public Mono<ResponseEntity<Api<BRDCountDataResponse>>> getBrdList(
       @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
 
@@ -549,8 +551,7 @@ public class BRDController {
               }
 
               List<BRDListResponse> brds = response.getBody().getData().get().getBrdList();
-              return Mono.just(brds)
-                  .flatMapMany(Flux::fromIterable)
+              return Flux.fromIterable(brds)
                   .filterWhen(
                       brd ->
                           securityService
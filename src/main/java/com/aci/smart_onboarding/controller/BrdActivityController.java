@@ -0,0 +1,85 @@
+package com.aci.smart_onboarding.controller;
+
+import com.aci.smart_onboarding.constants.BrdConstants;
+import com.aci.smart_onboarding.dto.BRDResponse;
+import com.aci.smart_onboarding.dto.BrdActivityEvent;
+import com.aci.smart_onboarding.dto.StreamApi;
+import com.aci.smart_onboarding.exception.NotFoundException;
+import com.aci.smart_onboarding.security.service.BRDSecurityService;
+import com.aci.smart_onboarding.service.IBRDService;
+import com.aci.smart_onboarding.service.IBrdActivityFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@Validated
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(value = "${api.default.path}/brd-activity", name = "BRD Activity Feed")
+@Tag(name = "BRD Activity Feed", description = "Real-time BRD status and comment activity")
+public class BrdActivityController {
+
+  private final IBrdActivityFeedService activityFeedService;
+  private final IBRDService brdService;
+  private final BRDSecurityService securityService;
+
+  @GetMapping(value = "/{brdFormId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(
+      summary = "Stream BRD activity",
+      description =
+          "Pushes BRD status changes and comment group changes for a BRD as server-sent events. "
+              + "Each event ID is a resume token; reconnecting with the Last-Event-ID header "
+              + "replays every event missed since then. A RESYNC_REQUIRED event means the token "
+              + "expired and the client should reload comments and status once.")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Activity stream opened",
+            content = @Content(schema = @Schema(implementation = StreamApi.class))),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - Insufficient permissions",
+            content = @Content(schema = @Schema(implementation = StreamApi.class))),
+        @ApiResponse(
+            responseCode = "404",
+            description = "BRD not found",
+            content = @Content(schema = @Schema(implementation = StreamApi.class)))
+      })
+  public Flux<ServerSentEvent<StreamApi<BrdActivityEvent>>> streamActivity(
+      @Parameter(description = "BRD Form ID", required = true) @NotBlank @PathVariable
+          String brdFormId,
+      @Parameter(description = "ID of the last event received before reconnecting")
+          @RequestHeader(value = "Last-Event-ID", required = false)
+          String lastEventId) {
+
+    return brdService
+        .getBrdById(brdFormId)
+        .flatMap(
+            response -> {
+              BRDResponse brdResponse =
+                  response
+                      .getBody()
+                      .getData()
+                      .orElseThrow(
+                          () -> new NotFoundException(BrdConstants.BRD_NOT_FOUND + brdFormId));
+              return securityService.withSecurityCheck(brdResponse.getStatus()).thenReturn(true);
+            })
+        .flatMapMany(allowed -> activityFeedService.subscribe(brdFormId, lastEventId));
+  }
+}
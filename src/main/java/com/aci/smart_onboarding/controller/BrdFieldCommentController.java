@@ -24,6 +24,7 @@ import jakarta.validation.constraints.Pattern;
 import java.util.List;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -656,6 +657,102 @@ public class BrdFieldCommentController {
             });
   }
 
+  @Operation(
+      summary = "Get a page of comment groups by status",
+      description =
+          BrdFieldCommentRequestAndResponse.Descriptions.GET_COMMENT_GROUPS_BY_STATUS_PAGE,
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Successfully retrieved a page of comment groups",
+            content =
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = Api.class))),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request - Invalid parameters",
+            content =
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = Api.class),
+                    examples = {
+                      @ExampleObject(
+                          name = "Missing Parameter Error",
+                          value =
+                              BrdFieldCommentRequestAndResponse.Response.MISSING_PARAMETER_ERROR)
+                    })),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden - Insufficient permissions",
+            content =
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = Api.class),
+                    examples = {
+                      @ExampleObject(
+                          name = "Permission Error",
+                          value = BrdFieldCommentRequestAndResponse.Response.FORBIDDEN_ERROR)
+                    })),
+        @ApiResponse(
+            responseCode = "404",
+            description = "BRD not found",
+            content =
+                @Content(
+                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = Api.class),
+                    examples = {
+                      @ExampleObject(
+                          name = "Error Response",
+                          value = BrdFieldCommentRequestAndResponse.Response.NOT_FOUND_ERROR)
+                    }))
+      })
+  @GetMapping("/{status}/{brdFormId}/groups")
+  public Mono<ResponseEntity<Api<Page<BrdFieldCommentGroupResp>>>> getCommentGroupsByStatusPage(
+      @Parameter(description = "Status (Pending or Resolved)", required = true)
+          @NotBlank
+          @PathVariable
+          String status,
+      @Parameter(description = "BRD Form ID", required = true) @NotBlank @PathVariable
+          String brdFormId,
+      @Parameter(description = "Site ID to restrict the page to") @RequestParam(required = false)
+          String siteId,
+      @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0")
+          int page,
+      @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+
+    return brdService
+        .getBrdById(brdFormId)
+        .flatMap(
+            response -> {
+              BRDResponse brdResponse =
+                  response
+                      .getBody()
+                      .getData()
+                      .orElseThrow(
+                          () -> new NotFoundException(BrdConstants.BRD_NOT_FOUND + brdFormId));
+              return securityService
+                  .withSecurityCheck(brdResponse.getStatus())
+                  .then(
+                      fieldCommentService.getCommentGroupsByStatusPage(
+                          brdFormId, status, siteId, page, size));
+            })
+        .onErrorResume(
+            e -> {
+              if (e instanceof AccessDeniedException) {
+                return Mono.just(
+                    ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(
+                            new Api<>(
+                                BrdConstants.FAILURE,
+                                e.getMessage(),
+                                Optional.empty(),
+                                Optional.empty())));
+              }
+              return Mono.error(e);
+            });
+  }
+
   @Operation(
       summary = "Get comment groups by source type and status",
       description = BrdFieldCommentRequestAndResponse.Descriptions.GET_COMMENTS_BY_SOURCE,
@@ -14,12 +14,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -124,17 +125,19 @@ public class LegacyBrdController {
             content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE))
       })
   @PostMapping("/rules-with-data")
-  public Mono<ResponseEntity<Resource>> getRulesWithData(
+  public Mono<ResponseEntity<Flux<DataBuffer>>> getRulesWithData(
       @Parameter(description = "Legacy BRD processing details", required = true) @Valid @RequestBody
-          LegacyBrdRequest request) {
+          LegacyBrdRequest request,
+      @Parameter(description = "Pretty-print the JSON") @RequestParam(defaultValue = "false")
+          boolean pretty) {
     return legacyBrdService
-        .getRulesWithData(request)
+        .getRulesWithData(request, pretty)
         .map(
-            resource -> {
+            body -> {
               HttpHeaders headers = new HttpHeaders();
               headers.setContentType(MediaType.APPLICATION_JSON);
               headers.setContentDispositionFormData("attachment", "combined_rules.json");
-              return ResponseEntity.ok().headers(headers).body(resource);
+              return ResponseEntity.ok().headers(headers).body(body);
             });
   }
 
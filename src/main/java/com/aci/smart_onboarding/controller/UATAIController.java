@@ -2,6 +2,7 @@ package com.aci.smart_onboarding.controller;
 
 import com.aci.smart_onboarding.constants.SecurityConstants;
 import com.aci.smart_onboarding.dto.Api;
+import com.aci.smart_onboarding.dto.StreamApi;
 import com.aci.smart_onboarding.dto.UATAIRequestDTO;
 import com.aci.smart_onboarding.dto.UATTestCaseRequestResponseDTO;
 import com.aci.smart_onboarding.exception.ResourceNotFoundException;
@@ -11,9 +12,11 @@ import com.aci.smart_onboarding.security.service.BRDSecurityService;
 import com.aci.smart_onboarding.service.IUATAIService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
@@ -88,6 +91,46 @@ public class UATAIController {
             });
   }
 
+  /**
+   * Streams generated test cases as server-sent events. Features are generated in parallel and
+   * each feature's test cases are sent as soon as they are saved.
+   */
+  @PostMapping(value = "/generate-test-cases/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public Flux<StreamApi<UATTestCaseRequestResponseDTO>> streamUATTestCases(
+      @Valid @RequestBody UATAIRequestDTO request) {
+    log.info("Streaming UAT test case generation for request: {}", request);
+
+    return checkCreatorPm(request.getBrdId())
+        .thenMany(
+            Flux.defer(
+                () ->
+                    uatAIService.generateUATTestCases(
+                        request.getBrdId(),
+                        request.getConfigurationNames(),
+                        request.getUatType())))
+        .map(
+            testCase ->
+                new StreamApi<>(
+                    "SUCCESSFUL", "UAT test case generated", testCase, Optional.empty()));
+  }
+
+  private Mono<Void> checkCreatorPm(String brdId) {
+    return securityService
+        .getCurrentUserRole()
+        .filter(SecurityConstants.PM_ROLE::equals)
+        .switchIfEmpty(Mono.error(new AccessDeniedException(ACCESS_DENIED_CREATOR_PM_MESSAGE)))
+        .flatMap(
+            role ->
+                brdRepository
+                    .findByBrdId(brdId)
+                    .switchIfEmpty(
+                        Mono.error(new ResourceNotFoundException(BRD_NOT_FOUND_MESSAGE + brdId))))
+        .flatMap(brd -> securityService.canModifyBrd(brd.getCreator()))
+        .filter(Boolean.TRUE::equals)
+        .switchIfEmpty(Mono.error(new AccessDeniedException(ACCESS_DENIED_CREATOR_PM_MESSAGE)))
+        .then();
+  }
+
   @PostMapping("/retest")
   public Mono<ResponseEntity<Api<Flux<UATTestCaseRequestResponseDTO>>>> retestFeatures(
       @Valid @RequestBody UATAIRequestDTO request) {
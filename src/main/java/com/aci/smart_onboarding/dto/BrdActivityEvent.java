@@ -0,0 +1,40 @@
+package com.aci.smart_onboarding.dto;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Activity pushed to subscribers of a BRD when its status or one of its comment groups changes */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BrdActivityEvent {
+
+  public static final String COMMENT_GROUP_CHANGED = "COMMENT_GROUP_CHANGED";
+  public static final String BRD_STATUS_CHANGED = "BRD_STATUS_CHANGED";
+  public static final String RESYNC_REQUIRED = "RESYNC_REQUIRED";
+
+  /** One of COMMENT_GROUP_CHANGED, BRD_STATUS_CHANGED or RESYNC_REQUIRED */
+  private String eventType;
+
+  /** Mongo operation that produced the event (insert, update, replace) */
+  private String operation;
+
+  private String brdFormId;
+
+  /** Comment group ID, only set for COMMENT_GROUP_CHANGED */
+  private String commentGroupId;
+
+  private String sourceType;
+  private String siteId;
+  private String sectionName;
+  private String fieldPath;
+
+  /** New comment group status or new BRD status */
+  private String status;
+
+  private Instant occurredAt;
+}
@@ -1,6 +1,5 @@
 package com.aci.smart_onboarding.dto;
 
-import java.util.List;
 import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,8 +7,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
- * Response DTO for comment statistics by status for a BRD. Contains information about both BRD and
- * Site related comments.
+ * Response DTO for comment statistics by status for a BRD. Contains counts of both BRD and Site
+ * related comments; the comment groups themselves are served page by page by {@code GET
+ * /{status}/{brdFormId}/groups}.
  */
 @Data
 @Builder
@@ -23,12 +23,6 @@ public class CommentStatsByStatusResponse {
   /** Count of comments specific to the BRD source type */
   private int brdCount;
 
-  /** List of all comment groups for BRD source type */
-  private List<BrdFieldCommentGroupResp> brdComments;
-
   /** Map of site IDs to their comment counts */
   private Map<String, Integer> siteCounts;
-
-  /** Map of site IDs to their lists of comment groups */
-  private Map<String, List<BrdFieldCommentGroupResp>> siteComments;
 }
@@ -6,7 +6,6 @@ import com.aci.smart_onboarding.enums.TestType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import java.util.List;
 import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -52,9 +51,6 @@ public class UATTestCaseDTO {
   @Schema(description = "Type of test (REUSABLE/PRE_SUITE/NORMAL)", example = "NORMAL")
   private TestType testType;
 
-  @Schema(description = "Vector representation for semantic search")
-  private List<Double> vectors;
-
   @Schema(description = "Test execution status (PASSED/FAILED)")
   private TestStatus status;
 
@@ -12,18 +12,28 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class WalletronUsersResponse {
 
+  // For file uploads, each list holds at most the first 100 entries; the totals count them all
   @JsonProperty("savedUsers")
   private List<SavedUser> savedUsers;
 
   @JsonProperty("duplicateEmails")
   private List<String> duplicateEmails;
 
+  @JsonProperty("failedUsers")
+  private List<FailedUser> failedUsers;
+
   @JsonProperty("totalProcessed")
   private int totalProcessed;
 
+  @JsonProperty("totalSaved")
+  private int totalSaved;
+
   @JsonProperty("totalDuplicates")
   private int totalDuplicates;
 
+  @JsonProperty("totalFailed")
+  private int totalFailed;
+
   @Data
   @NoArgsConstructor
   @AllArgsConstructor
@@ -50,4 +60,16 @@ public class WalletronUsersResponse {
     @JsonProperty("createdAt")
     private LocalDateTime createdAt;
   }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class FailedUser {
+
+    @JsonProperty("email")
+    private String email;
+
+    @JsonProperty("error")
+    private String error;
+  }
 }
@@ -0,0 +1,7 @@
+package com.aci.smart_onboarding.enums;
+
+/** Kinds of model calls the AI request governor limits separately. */
+public enum AiOperation {
+  EMBEDDING, // Embedding deployment
+  COMPLETION // Chat deployment, streamed or not
+}
@@ -0,0 +1,7 @@
+package com.aci.smart_onboarding.enums;
+
+/** Scheduling class of a model call; waiting interactive calls always go first. */
+public enum AiPriority {
+  INTERACTIVE, // A user is waiting on the answer, e.g. chat or a summary
+  BATCH // Bulk work such as prefill or UAT test case generation
+}
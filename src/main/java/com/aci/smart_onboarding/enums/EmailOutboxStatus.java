@@ -0,0 +1,9 @@
+package com.aci.smart_onboarding.enums;
+
+/** Delivery state of a notification email waiting in the outbox. */
+public enum EmailOutboxStatus {
+  PENDING, // Waiting for its next delivery attempt
+  SENDING, // Claimed by a worker until its lease expires
+  SENT, // Accepted by SendGrid
+  FAILED // Rejected permanently or out of attempts
+}
@@ -0,0 +1,9 @@
+package com.aci.smart_onboarding.enums;
+
+/** Where a vector search is answered: Atlas {@code $vectorSearch}, the local index, or both. */
+public enum VectorSearchMode {
+  ATLAS, // Atlas only
+  LOCAL, // Local index, Atlas while the index is still warming up
+  FALLBACK, // Atlas, local index when Atlas fails
+  SHADOW // Atlas answers, local index runs alongside and its recall is recorded
+}
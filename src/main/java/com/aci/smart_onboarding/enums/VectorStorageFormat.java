@@ -0,0 +1,7 @@
+package com.aci.smart_onboarding.enums;
+
+/** Encoding of embeddings written to MongoDB as BSON binary vectors (BinData subtype 9). */
+public enum VectorStorageFormat {
+  FLOAT32, // 4 bytes per component, no loss for search purposes
+  INT8 // 1 byte per component, scaled by vector-storage.int8-scale and rounded
+}
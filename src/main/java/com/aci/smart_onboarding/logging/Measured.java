@@ -0,0 +1,19 @@
+package com.aci.smart_onboarding.logging;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records the latency of a method, or of every method of a bean, in the {@value
+ * MethodMetricsAspect#METRIC_NAME} timer. Reactive results are timed from subscription to their
+ * terminal signal.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Measured {
+
+  /** Operation tag of the timer; defaults to {@code SimpleClassName.methodName} */
+  String value() default "";
+}
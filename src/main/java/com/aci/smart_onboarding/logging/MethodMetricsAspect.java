@@ -0,0 +1,147 @@
+package com.aci.smart_onboarding.logging;
+
+import com.aci.smart_onboarding.config.MethodMetricsProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Times the methods annotated with {@link Measured}.
+ *
+ * <p>Everything a call needs, the timers, the logger and the operation name, is resolved once per
+ * method and cached. Reactive results are timed from subscription to completion, error or
+ * cancellation, which is when their work actually happens. Tags are limited to the operation and
+ * the outcome, so the number of timers is bounded by the annotated methods. Calls left out by
+ * sampling are not wrapped at all.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "method-metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class MethodMetricsAspect {
+
+  static final String METRIC_NAME = "method.execution";
+
+  private final MeterRegistry meterRegistry;
+  private final MethodMetricsProperties properties;
+  private final Map<Method, MethodMetrics> metrics = new ConcurrentHashMap<>();
+
+  public MethodMetricsAspect(MeterRegistry meterRegistry, MethodMetricsProperties properties) {
+    this.meterRegistry = meterRegistry;
+    this.properties = properties;
+  }
+
+  @Around(
+      "@annotation(com.aci.smart_onboarding.logging.Measured) || "
+          + "@within(com.aci.smart_onboarding.logging.Measured)")
+  public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+    if (!sampled()) {
+      return joinPoint.proceed();
+    }
+    MethodMetrics methodMetrics =
+        metrics.computeIfAbsent(
+            ((MethodSignature) joinPoint.getSignature()).getMethod(), this::metricsOf);
+
+    long start = System.nanoTime();
+    Object result;
+    try {
+      result = joinPoint.proceed();
+    } catch (Throwable error) {
+      methodMetrics.record(SignalType.ON_ERROR, start);
+      throw error;
+    }
+
+    if (result instanceof Mono<?> mono) {
+      return Mono.defer(
+          () -> {
+            long subscribed = System.nanoTime();
+            return mono.doFinally(signal -> methodMetrics.record(signal, subscribed));
+          });
+    }
+    if (result instanceof Flux<?> flux) {
+      return Flux.defer(
+          () -> {
+            long subscribed = System.nanoTime();
+            return flux.doFinally(signal -> methodMetrics.record(signal, subscribed));
+          });
+    }
+    methodMetrics.record(SignalType.ON_COMPLETE, start);
+    return result;
+  }
+
+  private boolean sampled() {
+    double sampleRate = properties.getSampleRate();
+    return sampleRate >= 1.0
+        || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+  }
+
+  private MethodMetrics metricsOf(Method method) {
+    Class<?> type = method.getDeclaringClass();
+    Measured measured = AnnotatedElementUtils.findMergedAnnotation(method, Measured.class);
+    if (measured == null) {
+      measured = AnnotatedElementUtils.findMergedAnnotation(type, Measured.class);
+    }
+    String operation =
+        measured != null && !measured.value().isEmpty()
+            ? measured.value()
+            : type.getSimpleName() + "." + method.getName();
+    return new MethodMetrics(
+        operation,
+        LoggerFactory.getLogger(type),
+        timer(operation, "success"),
+        timer(operation, "error"),
+        timer(operation, "cancelled"),
+        properties.getSlowThreshold().toNanos());
+  }
+
+  private Timer timer(String operation, String outcome) {
+    return Timer.builder(METRIC_NAME)
+        .description("Latency of measured methods, from subscription for reactive results")
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  /** The timers and logger of one method, resolved on its first call */
+  private record MethodMetrics(
+      String operation,
+      Logger logger,
+      Timer success,
+      Timer error,
+      Timer cancelled,
+      long slowThresholdNanos) {
+
+    void record(SignalType signal, long start) {
+      long elapsed = System.nanoTime() - start;
+      Timer timer =
+          switch (signal) {
+            case ON_ERROR -> error;
+            case CANCEL -> cancelled;
+            default -> success;
+          };
+      timer.record(elapsed, TimeUnit.NANOSECONDS);
+      if (elapsed >= slowThresholdNanos && logger.isWarnEnabled()) {
+        logger.warn(
+            "Slow call: {} took {}ms ({})",
+            operation,
+            TimeUnit.NANOSECONDS.toMillis(elapsed),
+            timer.getId().getTag("outcome"));
+      }
+    }
+  }
+}
@@ -28,7 +28,7 @@ public class Artifact {
   private String documentName;
 
   private String text;
-  private double[] vector;
+  private EmbeddingVector vector;
   private Metadata metadata;
   private Instant createdAt;
 
@@ -0,0 +1,28 @@
+package com.aci.smart_onboarding.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Checkpoint of the backfill of BRD status events from existing audit logs. BRDs are backfilled
+ * in ID order, so a backfill that stopped part way resumes after the last BRD it finished.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "brd_status_backfill")
+public class BrdStatusBackfill {
+
+  // Name of the backfilled collection
+  @Id private String id;
+
+  /** Last BRD form ID whose status events are all projected */
+  private String lastEntityId;
+
+  private boolean completed;
+}
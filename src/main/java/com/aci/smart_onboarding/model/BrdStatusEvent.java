@@ -0,0 +1,41 @@
+package com.aci.smart_onboarding.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+
+/**
+ * Compact copy of a BRD status-bearing audit log (creation or status update). Stored in a
+ * time-series collection with the BRD form ID as meta field, so status history and transition
+ * analytics read small buckets instead of full audit documents.
+ */
+@TimeSeries(
+    collection = "brd_status_events",
+    timeField = "eventTimestamp",
+    metaField = "entityId",
+    granularity = Granularity.HOURS)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BrdStatusEvent {
+  @Id private String id;
+
+  // ID of the audit log this event was projected from
+  private String auditId;
+
+  // BRD form ID
+  private String entityId;
+
+  private String action;
+  private String status;
+  private String userName;
+  private String userRole;
+  private String comment;
+  private LocalDateTime eventTimestamp;
+}
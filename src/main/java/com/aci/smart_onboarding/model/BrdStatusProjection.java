@@ -0,0 +1,31 @@
+package com.aci.smart_onboarding.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Projection state of one BRD's status events. The lease lets a single instance at a time place
+ * events of the BRD between their neighbours, and the pending audit ID names the event whose
+ * rollup deltas may be partly applied, so it is finished before any other event is projected.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "brd_status_projections")
+public class BrdStatusProjection {
+
+  // BRD form ID
+  @Id private String id;
+
+  /** Lease of the instance currently projecting events of the BRD */
+  private LocalDateTime lockedUntil;
+
+  /** Audit ID of the event being projected; cleared once all of its deltas are applied */
+  private String pendingAuditId;
+}
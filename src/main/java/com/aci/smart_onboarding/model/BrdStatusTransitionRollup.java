@@ -0,0 +1,42 @@
+package com.aci.smart_onboarding.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Pre-aggregated status transitions of one BRD within an hourly or daily bucket. A transition is
+ * attributed to the bucket in which its target status was reached.
+ */
+@Document(collection = "brd_status_transition_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BrdStatusTransitionRollup {
+  public static final String GRANULARITY_HOUR = "HOUR";
+  public static final String GRANULARITY_DAY = "DAY";
+
+  // entityId|granularity|bucketStart|fromStatus|toStatus
+  @Id private String id;
+
+  // BRD form ID
+  private String entityId;
+
+  private String granularity;
+  private LocalDateTime bucketStart;
+  private String fromStatus;
+  private String toStatus;
+
+  // Number of transitions and their summed duration, so averages can be combined across buckets
+  private long count;
+  private long totalMinutes;
+
+  // Deltas already counted, so a delta replayed after a failure is applied once
+  private List<String> appliedDeltas;
+}
@@ -0,0 +1,67 @@
+package com.aci.smart_onboarding.model;
+
+import com.aci.smart_onboarding.enums.EmailOutboxStatus;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A notification email recorded together with the business change that triggered it and
+ * delivered later by the outbox worker. The idempotency key identifies the email by the business
+ * event that triggered it, so a retried business flow cannot queue the same email twice.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "email_outbox")
+public class EmailOutboxMessage {
+
+  /** Stands in the body for the secret, which is filled in only when the email is sent */
+  public static final String SECRET_PLACEHOLDER = "{{secret}}";
+
+  @Id private String id;
+
+  private String idempotencyKey;
+
+  private String emailType;
+
+  private String senderEmail;
+
+  private String senderName;
+
+  private String recipient;
+
+  private String subject;
+
+  /** Cleared once the email has been sent or has failed for good */
+  private String htmlContent;
+
+  /**
+   * Secret shown in the email, such as a generated password, encrypted with the application key.
+   * Never stored in the body; cleared together with it.
+   */
+  private String encryptedSecret;
+
+  private EmailOutboxStatus status;
+
+  private int attempts;
+
+  private LocalDateTime nextAttemptAt;
+
+  /** Lease of the worker currently sending the email */
+  private LocalDateTime lockedUntil;
+
+  private String lastError;
+
+  private LocalDateTime createdAt;
+
+  private LocalDateTime sentAt;
+
+  /** Set once the email is sent or has failed; a TTL index removes the message afterwards */
+  private LocalDateTime expireAt;
+}
@@ -0,0 +1,66 @@
+package com.aci.smart_onboarding.model;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Embedding held as 32-bit float components. MongoDB stores it as a BSON binary vector in the
+ * format configured under {@code vector-storage}, and legacy documents holding a plain array of
+ * numbers are still read.
+ */
+public final class EmbeddingVector {
+
+  private final float[] components;
+
+  private EmbeddingVector(float[] components) {
+    this.components = components;
+  }
+
+  /** Vector with the given components, or null when there are none */
+  public static EmbeddingVector of(List<? extends Number> values) {
+    if (values == null) {
+      return null;
+    }
+    float[] components = new float[values.size()];
+    for (int i = 0; i < components.length; i++) {
+      components[i] = values.get(i).floatValue();
+    }
+    return new EmbeddingVector(components);
+  }
+
+  public static EmbeddingVector of(float[] components) {
+    return components == null ? null : new EmbeddingVector(components.clone());
+  }
+
+  public int dimension() {
+    return components.length;
+  }
+
+  public float[] toFloatArray() {
+    return components.clone();
+  }
+
+  public List<Double> toList() {
+    Double[] values = new Double[components.length];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (double) components[i];
+    }
+    return List.of(values);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof EmbeddingVector vector
+        && Arrays.equals(components, vector.components);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(components);
+  }
+
+  @Override
+  public String toString() {
+    return "EmbeddingVector[dimension=" + components.length + "]";
+  }
+}
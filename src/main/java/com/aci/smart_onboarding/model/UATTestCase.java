@@ -3,7 +3,6 @@ package com.aci.smart_onboarding.model;
 import com.aci.smart_onboarding.enums.PortalTypes;
 import com.aci.smart_onboarding.enums.TestStatus;
 import com.aci.smart_onboarding.enums.TestType;
-import java.util.List;
 import java.util.Map;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -36,7 +35,7 @@ public class UATTestCase {
 
   private TestType testType;
 
-  private List<Double> vectors;
+  private EmbeddingVector vectors;
 
   private TestStatus status;
 
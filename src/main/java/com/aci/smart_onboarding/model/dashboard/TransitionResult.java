@@ -1,26 +1,26 @@
 package com.aci.smart_onboarding.model.dashboard;
 
-import com.aci.smart_onboarding.model.AuditLog;
+import com.aci.smart_onboarding.model.BrdStatusTransitionRollup;
 import java.util.List;
 import java.util.Map;
 
 /** Helper class to hold status transition calculation results. */
 public class TransitionResult {
-  private final List<AuditLog> auditLogs;
+  private final List<BrdStatusTransitionRollup> rollups;
   private final Map<String, String> formIdToBrdIdMap;
   private final Map<String, Double> averages;
 
   public TransitionResult(
-      List<AuditLog> auditLogs,
+      List<BrdStatusTransitionRollup> rollups,
       Map<String, String> formIdToBrdIdMap,
       Map<String, Double> averages) {
-    this.auditLogs = auditLogs;
+    this.rollups = rollups;
     this.formIdToBrdIdMap = formIdToBrdIdMap;
     this.averages = averages;
   }
 
-  public List<AuditLog> getAuditLogs() {
-    return auditLogs;
+  public List<BrdStatusTransitionRollup> getRollups() {
+    return rollups;
   }
 
   public Map<String, String> getFormIdToBrdIdMap() {
@@ -2,8 +2,9 @@ package com.aci.smart_onboarding.security.service;
 
 import com.aci.smart_onboarding.constants.SecurityConstants;
 import com.aci.smart_onboarding.security.config.BRDSecurityConfig;
-import com.aci.smart_onboarding.security.config.BRDSecurityConfig.StatusPermission;
+import jakarta.annotation.PostConstruct;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +23,27 @@ public class BRDSecurityService {
   private static final Logger log = LoggerFactory.getLogger(BRDSecurityService.class);
 
   private final BRDSecurityConfig brdSecurityConfig;
+  private final AtomicReference<PermissionMatrix> matrix = new AtomicReference<>();
+
+  /** Compiles the permission configuration once at startup instead of on the first request */
+  @PostConstruct
+  void compilePermissions() {
+    permissions();
+  }
+
+  /**
+   * The compiled permissions. A configuration that was rebound since, e.g. on a refresh, is
+   * compiled again; until then requests keep using the previous, complete matrix.
+   */
+  PermissionMatrix permissions() {
+    BRDSecurityConfig.Security security = brdSecurityConfig.getSecurity();
+    PermissionMatrix current = matrix.get();
+    if (current == null || !current.isCompiledFrom(security)) {
+      current = PermissionMatrix.compile(security);
+      matrix.set(current);
+    }
+    return current;
+  }
 
   public Mono<Void> withSecurityCheck(String status) {
     if (status == null) {
@@ -32,27 +54,16 @@ public class BRDSecurityService {
   }
 
   private Mono<Void> checkAccess(String status) {
-    log.debug("Checking access for status: {}", status);
-    log.debug(
-        "Security config - enabled: {}, roleBasedAccess: {}",
-        brdSecurityConfig.getSecurity().isEnabled(),
-        brdSecurityConfig.getSecurity().isRoleBasedAccessEnabled());
+    PermissionMatrix permissions = permissions();
 
     return getCurrentUserRole()
-        .doOnNext(role -> log.debug("Current user role: {}", role))
         .flatMap(
             role ->
-                hasPermission(role, status)
-                    .doOnNext(
-                        hasPermission ->
-                            log.debug(
-                                "Permission check result - role: {}, status: {}, result: {}",
-                                role,
-                                status,
-                                hasPermission))
+                hasPermission(permissions, role, status)
                     .flatMap(
                         hasPermission -> {
                           if (Boolean.FALSE.equals(hasPermission)) {
+                            log.debug("Access denied - role: {}, status: {}", role, status);
                             return Mono.error(
                                 new AccessDeniedException(
                                     String.format(
@@ -63,62 +74,24 @@ public class BRDSecurityService {
                         }));
   }
 
-  private Mono<Boolean> hasPermission(String role, String status) {
+  private Mono<Boolean> hasPermission(PermissionMatrix permissions, String role, String status) {
     if (role == null || status == null) {
       log.warn("Role or status is null, denying access");
       return Mono.just(false);
     }
 
-    log.debug("Checking permission - role: {}, status: {}", role, status);
-
     return Mono.deferContextual(
         contextView -> {
           ServerWebExchange exchange = contextView.get(ServerWebExchange.class);
-          String method = exchange.getRequest().getMethod().name();
-          log.debug("Current HTTP method: {}", method);
-
-          return Mono.just(
-              brdSecurityConfig.getSecurity().getPermissions().stream()
-                  .filter(
-                      permission -> {
-                        String configRole = permission.getRole();
-                        String userRole =
-                            role.startsWith(SecurityConstants.ROLE_PREFIX)
-                                ? role
-                                : SecurityConstants.ROLE_PREFIX + role;
-                        String normalizedConfigRole =
-                            configRole.startsWith(SecurityConstants.ROLE_PREFIX)
-                                ? configRole
-                                : SecurityConstants.ROLE_PREFIX + configRole;
-                        boolean roleMatch = userRole.equals(normalizedConfigRole);
-                        log.debug(
-                            "Role comparison - userRole: {}, configRole: {}, normalizedConfigRole: {}, match: {}",
-                            userRole,
-                            configRole,
-                            normalizedConfigRole,
-                            roleMatch);
-                        return roleMatch;
-                      })
-                  .flatMap(permission -> permission.getAllowedStatuses().stream())
-                  .filter(statusPermission -> statusPermission.getStatus().equalsIgnoreCase(status))
-                  .anyMatch(
-                      statusPermission -> {
-                        boolean methodAllowed =
-                            statusPermission.getMethods().stream()
-                                .anyMatch(m -> m.equalsIgnoreCase(method));
-                        log.debug("Method check - current: {}, allowed: {}", method, methodAllowed);
-                        return methodAllowed;
-                      }));
+          HttpMethod method = exchange.getRequest().getMethod();
+          return Mono.just(permissions.allows(role, status, method));
         });
   }
 
   public Mono<String> getCurrentUserRole() {
     return ReactiveSecurityContextHolder.getContext()
-        .doOnNext(context -> log.debug("Security context: {}", context))
         .map(SecurityContext::getAuthentication)
-        .doOnNext(auth -> log.debug("Authentication: {}", auth))
         .map(Authentication::getAuthorities)
-        .doOnNext(authorities -> log.debug("Authorities: {}", authorities))
         .flatMap(
             authorities -> {
               if (authorities == null || !authorities.iterator().hasNext()) {
@@ -140,9 +113,7 @@ public class BRDSecurityService {
 
   public Mono<String> getCurrentUserEmail() {
     return ReactiveSecurityContextHolder.getContext()
-        .doOnNext(context -> log.debug("Security context for email: {}", context))
         .map(SecurityContext::getAuthentication)
-        .doOnNext(auth -> log.debug("Authentication for email: {}", auth))
         .map(Authentication::getName)
         .doOnNext(email -> log.debug("Current user email: {}", email))
         .switchIfEmpty(
@@ -154,53 +125,13 @@ public class BRDSecurityService {
   }
 
   public boolean isStatusAllowedForRole(String role, String status, HttpMethod method) {
-    if (!brdSecurityConfig.getSecurity().isEnabled()
-        || !brdSecurityConfig.getSecurity().isRoleBasedAccessEnabled()) {
-      return true;
-    }
-
-    return brdSecurityConfig.getSecurity().getPermissions().stream()
-        .filter(
-            permission -> {
-              String configRole = permission.getRole();
-              String userRole =
-                  role.startsWith(SecurityConstants.ROLE_PREFIX)
-                      ? role
-                      : SecurityConstants.ROLE_PREFIX + role;
-              String normalizedConfigRole =
-                  configRole.startsWith(SecurityConstants.ROLE_PREFIX)
-                      ? configRole
-                      : SecurityConstants.ROLE_PREFIX + configRole;
-              return userRole.equals(normalizedConfigRole);
-            })
-        .findFirst()
-        .map(
-            permission ->
-                permission.getAllowedStatuses().stream()
-                    .filter(
-                        statusPermission -> statusPermission.getStatus().equalsIgnoreCase(status))
-                    .findFirst()
-                    .map(
-                        statusPermission ->
-                            statusPermission.getMethods().stream()
-                                .anyMatch(m -> m.equalsIgnoreCase(method.name())))
-                    .orElse(false))
-        .orElse(false);
+    PermissionMatrix permissions = permissions();
+    return !permissions.isEnforced() || permissions.allows(role, status, method);
   }
 
   public List<String> getAllowedStatusesForRole(String role) {
-    if (!brdSecurityConfig.getSecurity().isEnabled()
-        || !brdSecurityConfig.getSecurity().isRoleBasedAccessEnabled()) {
-      return List.of();
-    }
-
-    return brdSecurityConfig.getSecurity().getPermissions().stream()
-        .filter(permission -> permission.getRole().equals(role))
-        .findFirst()
-        .map(
-            permission ->
-                permission.getAllowedStatuses().stream().map(StatusPermission::getStatus).toList())
-        .orElse(List.of());
+    PermissionMatrix permissions = permissions();
+    return permissions.isEnforced() ? permissions.allowedStatuses(role) : List.of();
   }
 
   public Mono<Boolean> canModifyBrd(String creator) {
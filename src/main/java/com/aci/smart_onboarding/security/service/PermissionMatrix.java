@@ -0,0 +1,167 @@
+package com.aci.smart_onboarding.security.service;
+
+import com.aci.smart_onboarding.constants.SecurityConstants;
+import com.aci.smart_onboarding.security.config.BRDSecurityConfig;
+import com.aci.smart_onboarding.security.config.BRDSecurityConfig.Permission;
+import com.aci.smart_onboarding.security.config.BRDSecurityConfig.StatusPermission;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+
+/**
+ * The BRD permission configuration compiled into lookup tables: role, then status, then a bitmask
+ * of the allowed HTTP methods. Lookups are map hits and allocate nothing.
+ *
+ * <p>Roles match with or without the {@code ROLE_} prefix and statuses match ignoring case, as in
+ * the configuration. Several entries for the same role or status are merged. Instances are
+ * immutable and compiled for one version of the configuration.
+ */
+@Slf4j
+final class PermissionMatrix {
+
+  private static final HttpMethod[] METHODS = HttpMethod.values();
+  private static final Map<HttpMethod, Integer> METHOD_BITS = new HashMap<>();
+
+  static {
+    for (int i = 0; i < METHODS.length; i++) {
+      METHOD_BITS.put(METHODS[i], 1 << i);
+    }
+  }
+
+  private final List<Permission> source;
+  private final boolean enforced;
+  private final Map<String, RolePermissions> byRole;
+
+  private PermissionMatrix(
+      List<Permission> source, boolean enforced, Map<String, RolePermissions> byRole) {
+    this.source = source;
+    this.enforced = enforced;
+    this.byRole = byRole;
+  }
+
+  static PermissionMatrix compile(BRDSecurityConfig.Security security) {
+    List<Permission> permissions = security.getPermissions();
+    Map<String, Map<String, Integer>> methodsByRole = new LinkedHashMap<>();
+    Map<String, List<String>> statusesByRole = new HashMap<>();
+
+    for (Permission permission : permissions) {
+      if (permission.getRole() == null) {
+        continue;
+      }
+      String role = withPrefix(permission.getRole());
+      Map<String, Integer> methods = methodsByRole.computeIfAbsent(role, key -> new HashMap<>());
+      List<String> statuses = statusesByRole.computeIfAbsent(role, key -> new ArrayList<>());
+      for (StatusPermission statusPermission : permission.getAllowedStatuses()) {
+        String status = statusPermission.getStatus();
+        if (status == null) {
+          continue;
+        }
+        String key = status.toLowerCase(Locale.ROOT);
+        if (!methods.containsKey(key)) {
+          statuses.add(status);
+        }
+        methods.merge(key, bits(statusPermission.getMethods()), (a, b) -> a | b);
+      }
+    }
+
+    Map<String, RolePermissions> byRole = new HashMap<>();
+    methodsByRole.forEach(
+        (role, methods) -> {
+          RolePermissions rolePermissions =
+              new RolePermissions(methods, List.copyOf(statusesByRole.get(role)));
+          byRole.put(role, rolePermissions);
+          String unprefixed = role.substring(SecurityConstants.ROLE_PREFIX.length());
+          byRole.putIfAbsent(unprefixed, rolePermissions);
+        });
+    log.info("Compiled BRD permissions for {} roles", methodsByRole.size());
+    return new PermissionMatrix(
+        permissions, security.isEnabled() && security.isRoleBasedAccessEnabled(), byRole);
+  }
+
+  private static int bits(List<String> methods) {
+    int bits = 0;
+    for (String method : methods) {
+      Integer bit =
+          method == null
+              ? null
+              : METHOD_BITS.get(HttpMethod.valueOf(method.toUpperCase(Locale.ROOT)));
+      if (bit == null) {
+        log.warn("Ignoring unknown HTTP method in BRD permissions: {}", method);
+      } else {
+        bits |= bit;
+      }
+    }
+    return bits;
+  }
+
+  private static String withPrefix(String role) {
+    return role.startsWith(SecurityConstants.ROLE_PREFIX)
+        ? role
+        : SecurityConstants.ROLE_PREFIX + role;
+  }
+
+  /** Whether the matrix was compiled from this version of the configuration */
+  boolean isCompiledFrom(BRDSecurityConfig.Security security) {
+    return source == security.getPermissions()
+        && enforced == (security.isEnabled() && security.isRoleBasedAccessEnabled());
+  }
+
+  /** Whether role based access is switched on; when it is not, every check is meant to pass */
+  boolean isEnforced() {
+    return enforced;
+  }
+
+  boolean allows(String role, String status, HttpMethod method) {
+    if (role == null || status == null || method == null) {
+      return false;
+    }
+    RolePermissions rolePermissions = byRole.get(role);
+    Integer bit = METHOD_BITS.get(method);
+    return rolePermissions != null
+        && bit != null
+        && (rolePermissions.methods(status) & bit) != 0;
+  }
+
+  /** Statuses the role has any access to, as configured */
+  List<String> allowedStatuses(String role) {
+    RolePermissions rolePermissions = role == null ? null : byRole.get(role);
+    return rolePermissions == null ? List.of() : rolePermissions.statuses();
+  }
+
+  /** One role's methods by status; exact and lower case keys are hits, others fall back */
+  private static final class RolePermissions {
+
+    private final Map<String, Integer> methods;
+    private final Map<String, Integer> ignoringCase;
+    private final List<String> statuses;
+
+    private RolePermissions(Map<String, Integer> lowerCaseMethods, List<String> statuses) {
+      this.ignoringCase = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+      this.ignoringCase.putAll(lowerCaseMethods);
+      Map<String, Integer> exact = new HashMap<>(lowerCaseMethods);
+      for (String status : statuses) {
+        exact.put(status, ignoringCase.get(status));
+      }
+      this.methods = Map.copyOf(exact);
+      this.statuses = statuses;
+    }
+
+    int methods(String status) {
+      Integer bits = methods.get(status);
+      if (bits == null) {
+        bits = ignoringCase.get(status);
+      }
+      return bits == null ? 0 : bits;
+    }
+
+    List<String> statuses() {
+      return statuses;
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package com.aci.smart_onboarding.service;
 
+import com.aci.smart_onboarding.enums.VectorSearchMode;
 import com.aci.smart_onboarding.model.Artifact;
 import java.util.List;
 import org.springframework.stereotype.Service;
@@ -21,4 +22,8 @@ public interface IArtifactService {
 
   /** Performs vector search with optional document name filtering */
   Flux<Artifact> performVectorSearch(List<Double> queryVector, int limit, String documentName);
+
+  /** Performs vector search with optional document name filtering, answered as the mode selects */
+  Flux<Artifact> performVectorSearch(
+      List<Double> queryVector, int limit, String documentName, VectorSearchMode mode);
 }
@@ -19,14 +19,26 @@ import reactor.core.publisher.Mono;
 @Validated
 public interface IAuditLogService {
   /**
-   * Creates a new audit log entry.
+   * Accepts a new audit log entry. The entry is persisted asynchronously in batches, so the
+   * returned Mono completes without waiting for the database write.
    *
    * @param auditLogRequest The request object containing audit log details
-   * @return A Mono containing a ResponseEntity with the created audit log information
+   * @return A Mono containing a ResponseEntity with the accepted audit log information
    */
   Mono<ResponseEntity<Api<AuditLogResponse>>> logCreation(
       @Valid @NotNull(message = "auditLogRequest can't be null") AuditLogRequest auditLogRequest);
 
+  /**
+   * Accepts the audit log entries of one bulk operation. The entries are queued together and
+   * persisted asynchronously in as few batches as possible.
+   *
+   * @param auditLogRequests The requests, one per audited change
+   * @return A Mono that completes once all entries are accepted
+   */
+  Mono<Void> logCreations(
+      @NotNull(message = "auditLogRequests can't be null")
+          List<@Valid AuditLogRequest> auditLogRequests);
+
   /**
    * Finds audit logs for a specific entity and action type.
    *
@@ -55,6 +55,24 @@ public interface IBlobStorageService {
    */
   Mono<Void> updateFile(String filePath, String content);
 
+  /**
+   * Gets the ETag of a file in blob storage, which changes whenever the file does
+   *
+   * @param fileName The name of the file
+   * @return A Mono containing the ETag of the file
+   */
+  Mono<String> getFileETag(String fileName);
+
+  /**
+   * Appends content to an existing file in blob storage without uploading the rest of it again
+   *
+   * @param fileName The name of the file to append to
+   * @param content The content to append
+   * @param expectedETag The ETag the file must still have; the append fails if it changed
+   * @return A Mono containing the ETag of the file after the append
+   */
+  Mono<String> appendToFile(String fileName, String content, String expectedETag);
+
   /**
    * Lists all files in the blob storage
    *
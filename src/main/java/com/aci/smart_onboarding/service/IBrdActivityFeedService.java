@@ -0,0 +1,21 @@
+package com.aci.smart_onboarding.service;
+
+import com.aci.smart_onboarding.dto.BrdActivityEvent;
+import com.aci.smart_onboarding.dto.StreamApi;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+
+/** Service interface for pushing BRD status and comment activity to subscribers */
+public interface IBrdActivityFeedService {
+
+  /**
+   * Subscribes to activity of a single BRD
+   *
+   * @param brdFormId BRD form ID to receive activity for
+   * @param lastEventId ID of the last event received before a reconnect, or null for live events
+   *     only
+   * @return Flux of server-sent events, each carrying its resume token as event ID
+   */
+  Flux<ServerSentEvent<StreamApi<BrdActivityEvent>>> subscribe(
+      String brdFormId, String lastEventId);
+}
@@ -2,6 +2,7 @@ package com.aci.smart_onboarding.service;
 
 import com.aci.smart_onboarding.dto.*;
 import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Mono;
 
@@ -50,6 +51,10 @@ public interface IBrdFieldCommentService {
   Mono<ResponseEntity<Api<CommentStatsByStatusResponse>>> getCommentStatsByStatus(
       String brdFormId, String status);
 
+  // Get a page of comment groups by status, optionally restricted to one site
+  Mono<ResponseEntity<Api<Page<BrdFieldCommentGroupResp>>>> getCommentGroupsByStatusPage(
+      String brdFormId, String status, String siteId, int page, int size);
+
   // Get comments by source type with aggregated statistics
   Mono<ResponseEntity<Api<CommentsBySourceResponse>>> getCommentsBySource(
       String brdFormId, String sourceType, String siteId, String status);
@@ -4,7 +4,8 @@ import reactor.core.publisher.Mono;
 
 /**
  * Service interface for sending email notifications. Provides methods for sending various types of
- * email notifications related to BRD status changes and biller assignments.
+ * email notifications related to BRD status changes and biller assignments. Emails are queued in
+ * the email outbox and delivered asynchronously.
  */
 public interface IEmailService {
 
@@ -15,10 +16,18 @@ public interface IEmailService {
    * @param brdId The ID of the BRD
    * @param brdName The name of the BRD
    * @param brdFormId The ID of the BRD form
-   * @return A Mono that completes when the email is sent
+   * @param status The status the BRD changed to
+   * @param requestId The ID of the request that changed the status; the email is queued once per
+   *     request, however often the request is retried
+   * @return A Mono that completes when the email is queued for delivery
    */
   Mono<Void> sendBrdStatusChangeNotification(
-      String toEmail, String brdId, String brdName, String brdFormId);
+      String toEmail,
+      String brdId,
+      String brdName,
+      String brdFormId,
+      String status,
+      String requestId);
 
   /**
    * Sends a welcome email to a newly assigned biller. The email includes information about the BRD
@@ -28,35 +37,39 @@ public interface IEmailService {
    * @param brdId The ID of the BRD
    * @param brdName The name of the BRD
    * @param brdFormId The ID of the BRD form
-   * @return A Mono that completes when the email is sent
+   * @param requestId The ID of the request that assigned the biller; the email is queued once per
+   *     request, however often the request is retried
+   * @return A Mono that completes when the email is queued for delivery
    */
   Mono<Void> sendBillerWelcomeEmail(
-      String billerEmail, String brdId, String brdName, String brdFormId);
+      String billerEmail, String brdId, String brdName, String brdFormId, String requestId);
 
   /**
    * Sends a welcome email to a newly created user with password reset link
    *
    * @param toEmail The recipient's email address
    * @param userName The username (email) of the new user
-   * @return A Mono that completes when the email is sent
+   * @param userId The ID of the new user; the email is queued once per user
+   * @return A Mono that completes when the email is queued for delivery
    */
-  Mono<Void> sendUserWelcomeEmailWithResetLink(String toEmail, String userName);
+  Mono<Void> sendUserWelcomeEmailWithResetLink(String toEmail, String userName, String userId);
 
   /**
    * Sends an email with password to a newly created user
    *
    * @param toEmail The recipient's email address
    * @param password The generated password for the user
-   * @return A Mono that completes when the email is sent
+   * @param userId The ID of the new user; the email is queued once per user
+   * @return A Mono that completes when the email is queued for delivery
    */
-  Mono<Void> sendUserCredentialsEmail(String toEmail, String password);
+  Mono<Void> sendUserCredentialsEmail(String toEmail, String password, String userId);
 
   /**
    * Sends a password reset email containing a link to reset the password
    *
    * @param toEmail The recipient's email address
-   * @param resetLink The password reset link
-   * @return A Mono that completes when the email is sent
+   * @param resetLink The password reset link; the email is queued once per link
+   * @return A Mono that completes when the email is queued for delivery
    */
   Mono<Void> sendPasswordResetEmail(String toEmail, String resetLink);
 }
@@ -5,7 +5,8 @@ import com.aci.smart_onboarding.dto.GuidanceData;
 import com.aci.smart_onboarding.dto.LegacyBrdRequest;
 import com.aci.smart_onboarding.dto.LegacyPrefillRequest;
 import java.util.List;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /** Interface for legacy BRD operations */
@@ -30,9 +31,11 @@ public interface ILegacyBrdService {
    * Retrieves rules combined with their corresponding data
    *
    * @param request The LegacyBrdRequest containing the BRD rules file URL
-   * @return A Mono containing a Resource with the combined rules and data
+   * @param pretty Whether the JSON is pretty-printed
+   * @return A Mono emitting, once the rules are processed, the combined rules and data as a JSON
+   *     array streamed in chunks
    */
-  Mono<Resource> getRulesWithData(LegacyBrdRequest request);
+  Mono<Flux<DataBuffer>> getRulesWithData(LegacyBrdRequest request, boolean pretty);
 
   /**
    * Prefills a legacy BRD by fetching BRD data and converting it to PrefillSections
@@ -13,6 +13,15 @@ public interface ISequenceGeneratorService {
    */
   Mono<Long> generateSequence(String sequenceName);
 
+  /**
+   * Get next sequence number for the given sequence name from a block of values leased in memory.
+   * Values are unique but may contain gaps after a restart.
+   *
+   * @param sequenceName name of the sequence to get next value for
+   * @return Mono with the next sequence value
+   */
+  Mono<Long> generateLeasedSequence(String sequenceName);
+
   /**
    * Generates a comment ID for a specific BRD field by combining the sequence with the context
    *
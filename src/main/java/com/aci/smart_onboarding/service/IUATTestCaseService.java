@@ -4,6 +4,7 @@ import com.aci.smart_onboarding.dto.UATTestCaseDTO;
 import com.aci.smart_onboarding.dto.UATTestCaseRequestResponseDTO;
 import com.aci.smart_onboarding.enums.PortalTypes;
 import com.aci.smart_onboarding.enums.TestStatus;
+import com.aci.smart_onboarding.enums.VectorSearchMode;
 import java.util.List;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -19,6 +20,16 @@ public interface IUATTestCaseService {
    */
   Mono<UATTestCaseRequestResponseDTO> createTestCase(UATTestCaseRequestResponseDTO requestDTO);
 
+  /**
+   * Create several UAT test cases with one insert. Test cases that share a scenario and position
+   * share one embedding call.
+   *
+   * @param requestDTOs the test cases to create
+   * @return the created test cases
+   */
+  Flux<UATTestCaseRequestResponseDTO> createTestCases(
+      List<UATTestCaseRequestResponseDTO> requestDTOs);
+
   /**
    * Update an existing UAT test case.
    *
@@ -94,6 +105,19 @@ public interface IUATTestCaseService {
    */
   Flux<UATTestCaseDTO> performVectorSearch(List<Double> vector, int limit, PortalTypes uatType);
 
+  /**
+   * Perform semantic search on test cases with portal type filter, answered by Atlas, the local
+   * vector index or both as the mode selects.
+   *
+   * @param vector The vector to search with
+   * @param limit Maximum number of results to return
+   * @param uatType Portal type to filter by
+   * @param mode Where the search is answered
+   * @return Flux of matching test cases ordered by vector similarity
+   */
+  Flux<UATTestCaseDTO> performVectorSearch(
+      List<Double> vector, int limit, PortalTypes uatType, VectorSearchMode mode);
+
   /** Retrieves test cases by BRD ID and feature names. */
   Flux<UATTestCaseDTO> getTestCasesByBrdIdAndFeatureNames(String brdId, List<String> featureNames);
 }
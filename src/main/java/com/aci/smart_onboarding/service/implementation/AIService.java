@@ -2,6 +2,7 @@ package com.aci.smart_onboarding.service.implementation;
 
 import com.aci.ai.factory.AIServiceFactory;
 import com.aci.ai.services.IContextProvider;
+import com.aci.smart_onboarding.enums.AiOperation;
 import com.aci.smart_onboarding.service.IAIService;
 import java.util.List;
 import org.springframework.stereotype.Service;
@@ -12,29 +13,48 @@ import reactor.core.publisher.Mono;
 public class AIService implements IAIService {
 
   private final AIServiceFactory aiServiceFactory;
-  private final IContextProvider iContextProvider;
+  private final AiRequestGovernor aiRequestGovernor;
+  private final PromptCatalog promptCatalog;
 
-  public AIService(AIServiceFactory aiServiceFactory, IContextProvider iContextProvider) {
+  public AIService(
+      AIServiceFactory aiServiceFactory,
+      IContextProvider iContextProvider,
+      AiRequestGovernor aiRequestGovernor,
+      PromptCatalog promptCatalog) {
     this.aiServiceFactory = aiServiceFactory;
-    this.iContextProvider = iContextProvider;
-    this.iContextProvider.setContextName("chat");
+    this.aiRequestGovernor = aiRequestGovernor;
+    this.promptCatalog = promptCatalog;
+    // Set once and never changed: each call's prompt is rendered with its own context name
+    iContextProvider.setContextName(PromptCatalog.ROUTED_CONTEXT);
   }
 
   @Override
   public Mono<List<Double>> getEmbeddings(String context) {
-    return aiServiceFactory.getReactiveAIEmbeddings().generateEmbeddings(context);
+    return aiRequestGovernor.govern(
+        AiOperation.EMBEDDING,
+        null,
+        AiRequestGovernor.estimateTokens(context),
+        () -> aiServiceFactory.getReactiveAIEmbeddings().generateEmbeddings(context));
   }
 
   @Override
   public Flux<String> generateAnswerAsStream(String question, String context, String contextName) {
-    iContextProvider.setContextName(contextName);
-    return aiServiceFactory.getReactiveAIService().generateAnswerAsStream(question, context);
+    String prompt = promptCatalog.render(contextName, question, context);
+    return aiRequestGovernor.governStream(
+        AiOperation.COMPLETION,
+        contextName,
+        AiRequestGovernor.estimateTokens(prompt),
+        () -> aiServiceFactory.getReactiveAIService().generateAnswerAsStream(prompt, ""));
   }
 
   @Override
   public Mono<String> generateAnswer(String question, String context, String contextName) {
-    iContextProvider.setContextName(contextName);
-    return aiServiceFactory.getReactiveAIService().generateAnswer(question, context);
+    String prompt = promptCatalog.render(contextName, question, context);
+    return aiRequestGovernor.govern(
+        AiOperation.COMPLETION,
+        contextName,
+        AiRequestGovernor.estimateTokens(prompt),
+        () -> aiServiceFactory.getReactiveAIService().generateAnswer(prompt, ""));
   }
 
   @Override
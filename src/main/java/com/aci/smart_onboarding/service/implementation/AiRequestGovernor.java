@@ -0,0 +1,408 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.config.AiGovernorProperties;
+import com.aci.smart_onboarding.enums.AiOperation;
+import com.aci.smart_onboarding.enums.AiPriority;
+import com.aci.smart_onboarding.exception.AIServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+/**
+ * Schedules every call to the AI provider, whoever makes it and however its caller fans out.
+ *
+ * <p>Each {@link AiOperation} has its own number of slots and, optionally, a budget of estimated
+ * prompt tokens per minute. Calls that find no free slot or budget wait in a queue: interactive
+ * calls are always started before batch calls, and within a priority the users take turns, so one
+ * user's bulk prefill cannot push other users to the back. Batch calls never take the last {@code
+ * interactive-reserve} slots, so chat keeps moving even while long batch calls hold the rest.
+ *
+ * <p>Completions are batch work when their context name is listed in {@code batch-contexts};
+ * callers can also mark a whole pipeline, including its embeddings, with {@link #priority}.
+ */
+@Component
+public class AiRequestGovernor {
+
+  static final String METRIC_PREFIX = "ai.governor.";
+  static final String SYSTEM_USER = "system";
+
+  private static final String PRIORITY_KEY = AiRequestGovernor.class.getName() + ".priority";
+  private static final String OPERATION_TAG = "operation";
+  private static final int CHARS_PER_TOKEN = 4;
+
+  private final AiGovernorProperties properties;
+  private final Map<AiOperation, Lane> lanes = new EnumMap<>(AiOperation.class);
+
+  public AiRequestGovernor(AiGovernorProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    for (AiOperation operation : AiOperation.values()) {
+      lanes.put(operation, new Lane(operation, meterRegistry));
+    }
+  }
+
+  /** Schedules every model call of the pipeline it is written into with the given priority */
+  public static Function<Context, Context> priority(AiPriority priority) {
+    return context -> context.put(PRIORITY_KEY, priority);
+  }
+
+  /** Rough prompt size in tokens, enough to budget against a tokens-per-minute quota */
+  public static long estimateTokens(String... parts) {
+    long characters = 0;
+    for (String part : parts) {
+      characters += part == null ? 0 : part.length();
+    }
+    return characters / CHARS_PER_TOKEN;
+  }
+
+  /**
+   * Runs the call once a slot and token budget are free.
+   *
+   * @param operation deployment the call goes to
+   * @param contextName prompt context of a completion, used to tell batch from interactive work
+   * @param tokens estimated prompt tokens
+   * @param call the model call
+   */
+  public <T> Mono<T> govern(
+      AiOperation operation, String contextName, long tokens, Supplier<Mono<T>> call) {
+    if (!properties.isEnabled()) {
+      return Mono.defer(call);
+    }
+    return Mono.usingWhen(
+        acquire(operation, contextName, tokens), permit -> Mono.defer(call), Permit::released);
+  }
+
+  /** Streaming counterpart of {@link #govern}; the slot is held until the stream terminates */
+  public <T> Flux<T> governStream(
+      AiOperation operation, String contextName, long tokens, Supplier<Flux<T>> call) {
+    if (!properties.isEnabled()) {
+      return Flux.defer(call);
+    }
+    return Flux.usingWhen(
+        acquire(operation, contextName, tokens), permit -> Flux.defer(call), Permit::released);
+  }
+
+  int active(AiOperation operation) {
+    return lanes.get(operation).active();
+  }
+
+  int queued(AiOperation operation) {
+    return lanes.get(operation).queued();
+  }
+
+  private Mono<Permit> acquire(AiOperation operation, String contextName, long tokens) {
+    return Mono.deferContextual(
+        context -> {
+          AiPriority priority =
+              context.getOrDefault(PRIORITY_KEY, defaultPriority(contextName));
+          return currentUser()
+              .flatMap(user -> lanes.get(operation).acquire(priority, user, tokens));
+        });
+  }
+
+  private AiPriority defaultPriority(String contextName) {
+    return contextName != null && properties.getBatchContexts().contains(contextName)
+        ? AiPriority.BATCH
+        : AiPriority.INTERACTIVE;
+  }
+
+  private static Mono<String> currentUser() {
+    return ReactiveSecurityContextHolder.getContext()
+        .map(SecurityContext::getAuthentication)
+        .map(Authentication::getName)
+        .defaultIfEmpty(SYSTEM_USER);
+  }
+
+  private static long now() {
+    return Schedulers.parallel().now(TimeUnit.NANOSECONDS);
+  }
+
+  private enum WaiterState {
+    WAITING,
+    GRANTED,
+    CANCELLED
+  }
+
+  private static final class Waiter {
+    private final AiPriority priority;
+    private final String user;
+    private final long tokens;
+    private final MonoSink<Permit> sink;
+    private final long enqueuedAt = now();
+    private final AtomicReference<WaiterState> state = new AtomicReference<>(WaiterState.WAITING);
+    private volatile Permit permit;
+
+    private Waiter(AiPriority priority, String user, long tokens, MonoSink<Permit> sink) {
+      this.priority = priority;
+      this.user = user;
+      this.tokens = tokens;
+      this.sink = sink;
+    }
+  }
+
+  /** Slot held by a running call; releasing it more than once has no effect */
+  private static final class Permit {
+    private final Lane lane;
+    private final AiPriority priority;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(Lane lane, AiPriority priority) {
+      this.lane = lane;
+      this.priority = priority;
+    }
+
+    private void release() {
+      if (released.compareAndSet(false, true)) {
+        lane.release(priority);
+      }
+    }
+
+    private Mono<Void> released() {
+      return Mono.fromRunnable(this::release);
+    }
+  }
+
+  /** Slots, token budget and waiting calls of one operation, guarded by the lane's monitor */
+  private final class Lane {
+    private final AiOperation operation;
+    private final Map<AiPriority, LinkedHashMap<String, ArrayDeque<Waiter>>> waiting =
+        new EnumMap<>(AiPriority.class);
+    private final Map<AiPriority, Timer> queueTimers = new EnumMap<>(AiPriority.class);
+    private final Counter rejected;
+    private int active;
+    private int activeBatch;
+    private int queued;
+    private double budget = -1;
+    private long budgetUpdatedAt;
+    private boolean dispatchScheduled;
+
+    private Lane(AiOperation operation, MeterRegistry meterRegistry) {
+      this.operation = operation;
+      String tag = operation.name().toLowerCase();
+      for (AiPriority priority : AiPriority.values()) {
+        waiting.put(priority, new LinkedHashMap<>());
+        queueTimers.put(
+            priority,
+            Timer.builder(METRIC_PREFIX + "queue")
+                .description("Time AI calls waited for a slot and token budget")
+                .tag(OPERATION_TAG, tag)
+                .tag("priority", priority.name().toLowerCase())
+                .register(meterRegistry));
+      }
+      rejected =
+          Counter.builder(METRIC_PREFIX + "rejected")
+              .description("AI calls rejected because too many were waiting")
+              .tag(OPERATION_TAG, tag)
+              .register(meterRegistry);
+      Gauge.builder(METRIC_PREFIX + "active", this, Lane::active)
+          .description("AI calls in flight")
+          .tag(OPERATION_TAG, tag)
+          .register(meterRegistry);
+      Gauge.builder(METRIC_PREFIX + "queued", this, Lane::queued)
+          .description("AI calls waiting for a slot or token budget")
+          .tag(OPERATION_TAG, tag)
+          .register(meterRegistry);
+    }
+
+    private synchronized int active() {
+      return active;
+    }
+
+    private synchronized int queued() {
+      return queued;
+    }
+
+    private Mono<Permit> acquire(AiPriority priority, String user, long tokens) {
+      return Mono.create(
+          sink -> {
+            Waiter waiter = new Waiter(priority, user, tokens, sink);
+            synchronized (this) {
+              if (queued >= properties.getMaxQueued()) {
+                rejected.increment();
+                sink.error(
+                    new AIServiceException(
+                        "Too many AI requests are waiting, please try again shortly"));
+                return;
+              }
+              waiting.get(priority).computeIfAbsent(user, key -> new ArrayDeque<>()).add(waiter);
+              queued++;
+            }
+            sink.onCancel(() -> cancel(waiter));
+            dispatch();
+          });
+    }
+
+    private void cancel(Waiter waiter) {
+      if (waiter.state.compareAndSet(WaiterState.WAITING, WaiterState.CANCELLED)) {
+        synchronized (this) {
+          LinkedHashMap<String, ArrayDeque<Waiter>> users = waiting.get(waiter.priority);
+          ArrayDeque<Waiter> calls = users.get(waiter.user);
+          if (calls != null && calls.remove(waiter)) {
+            queued--;
+            if (calls.isEmpty()) {
+              users.remove(waiter.user);
+            }
+          }
+        }
+        dispatch();
+      } else if (waiter.state.get() == WaiterState.GRANTED) {
+        // Granted, but cancelled before the permit reached the caller
+        waiter.permit.release();
+      }
+    }
+
+    private void release(AiPriority priority) {
+      synchronized (this) {
+        active--;
+        if (priority == AiPriority.BATCH) {
+          activeBatch--;
+        }
+      }
+      dispatch();
+    }
+
+    /** Starts as many waiting calls as slots and budget allow, in scheduling order */
+    private void dispatch() {
+      List<Waiter> granted = new ArrayList<>();
+      synchronized (this) {
+        Waiter next;
+        while ((next = next()) != null) {
+          long wait = takeBudget(next.tokens);
+          if (wait > 0) {
+            scheduleDispatch(wait);
+            break;
+          }
+          poll(next);
+          // The permit is set before the grant, so a cancel that sees the grant can release it
+          next.permit = new Permit(this, next.priority);
+          if (!next.state.compareAndSet(WaiterState.WAITING, WaiterState.GRANTED)) {
+            continue;
+          }
+          active++;
+          if (next.priority == AiPriority.BATCH) {
+            activeBatch++;
+          }
+          granted.add(next);
+        }
+      }
+
+      long now = now();
+      for (Waiter waiter : granted) {
+        queueTimers
+            .get(waiter.priority)
+            .record(now - waiter.enqueuedAt, TimeUnit.NANOSECONDS);
+        waiter.sink.success(waiter.permit);
+      }
+    }
+
+    /** First call to start: interactive before batch, users in turn within a priority */
+    private Waiter next() {
+      int slots = maxConcurrent();
+      if (active >= slots) {
+        return null;
+      }
+      Waiter interactive = head(AiPriority.INTERACTIVE);
+      if (interactive != null) {
+        return interactive;
+      }
+      int batchSlots = Math.max(1, slots - properties.getInteractiveReserve());
+      return activeBatch < batchSlots ? head(AiPriority.BATCH) : null;
+    }
+
+    private Waiter head(AiPriority priority) {
+      Iterator<ArrayDeque<Waiter>> users = waiting.get(priority).values().iterator();
+      return users.hasNext() ? users.next().peek() : null;
+    }
+
+    /** Removes the call and moves its user behind the other waiting users */
+    private void poll(Waiter waiter) {
+      LinkedHashMap<String, ArrayDeque<Waiter>> users = waiting.get(waiter.priority);
+      ArrayDeque<Waiter> calls = users.remove(waiter.user);
+      calls.poll();
+      queued--;
+      if (!calls.isEmpty()) {
+        users.put(waiter.user, calls);
+      }
+    }
+
+    /**
+     * Takes the call's tokens from the budget, which refills continuously up to one minute's
+     * worth.
+     *
+     * @return 0 when taken, otherwise nanoseconds until the budget covers the call
+     */
+    private long takeBudget(long tokens) {
+      long perMinute = tokensPerMinute();
+      if (perMinute <= 0) {
+        return 0;
+      }
+      long now = now();
+      double perNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+      budget =
+          budget < 0
+              ? perMinute
+              : Math.min(perMinute, budget + (now - budgetUpdatedAt) * perNano);
+      budgetUpdatedAt = now;
+
+      // A call larger than the whole budget waits for a full minute's worth instead of forever
+      double needed = Math.min(tokens, perMinute);
+      if (budget >= needed) {
+        budget -= needed;
+        return 0;
+      }
+      return Math.max(1, (long) Math.ceil((needed - budget) / perNano));
+    }
+
+    private void scheduleDispatch(long delayNanos) {
+      if (dispatchScheduled) {
+        return;
+      }
+      dispatchScheduled = true;
+      Schedulers.parallel()
+          .schedule(
+              () -> {
+                synchronized (this) {
+                  dispatchScheduled = false;
+                }
+                dispatch();
+              },
+              delayNanos,
+              TimeUnit.NANOSECONDS);
+    }
+
+    private int maxConcurrent() {
+      return Math.max(
+          1,
+          operation == AiOperation.EMBEDDING
+              ? properties.getEmbeddingMaxConcurrent()
+              : properties.getCompletionMaxConcurrent());
+    }
+
+    private long tokensPerMinute() {
+      return operation == AiOperation.EMBEDDING
+          ? properties.getEmbeddingTokensPerMinute()
+          : properties.getCompletionTokensPerMinute();
+    }
+  }
+}
@@ -1,8 +1,12 @@
 package com.aci.smart_onboarding.service.implementation;
 
+import com.aci.smart_onboarding.config.VectorStorageProperties;
+import com.aci.smart_onboarding.enums.VectorSearchMode;
 import com.aci.smart_onboarding.model.Artifact;
 import com.aci.smart_onboarding.repository.ArtifactRepository;
 import com.aci.smart_onboarding.service.IArtifactService;
+import com.aci.smart_onboarding.service.implementation.LocalVectorIndex.IndexedCollection;
+import com.aci.smart_onboarding.util.VectorCodec;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,13 +23,22 @@ import reactor.core.publisher.Mono;
 @Service
 public class ArtifactService implements IArtifactService {
 
+  private static final String VECTOR_PATH = "vector";
+
   private final ArtifactRepository artifactRepository;
   private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final LocalVectorIndex localVectorIndex;
+  private final VectorStorageProperties vectorStorageProperties;
 
   public ArtifactService(
-      ArtifactRepository artifactRepository, ReactiveMongoTemplate reactiveMongoTemplate) {
+      ArtifactRepository artifactRepository,
+      ReactiveMongoTemplate reactiveMongoTemplate,
+      LocalVectorIndex localVectorIndex,
+      VectorStorageProperties vectorStorageProperties) {
     this.artifactRepository = artifactRepository;
     this.reactiveMongoTemplate = reactiveMongoTemplate;
+    this.localVectorIndex = localVectorIndex;
+    this.vectorStorageProperties = vectorStorageProperties;
   }
 
   @Override
@@ -55,10 +68,32 @@ public class ArtifactService implements IArtifactService {
 
   @Override
   public Flux<Artifact> performVectorSearch(List<Double> vector, int limit, String documentName) {
+    return performVectorSearch(
+        vector, limit, documentName, localVectorIndex.defaultMode(IndexedCollection.ARTIFACTS));
+  }
+
+  @Override
+  public Flux<Artifact> performVectorSearch(
+      List<Double> vector, int limit, String documentName, VectorSearchMode mode) {
+    return localVectorIndex.search(
+        IndexedCollection.ARTIFACTS,
+        mode,
+        vector,
+        limit,
+        documentName == null || documentName.isEmpty() ? null : documentName,
+        Artifact.class,
+        Artifact::getId,
+        () -> atlasVectorSearch(vector, limit, documentName));
+  }
+
+  private Flux<Artifact> atlasVectorSearch(List<Double> vector, int limit, String documentName) {
     Map<String, Object> vectorSearchQuery = new HashMap<>();
     vectorSearchQuery.put("index", "vector_index");
-    vectorSearchQuery.put("path", "vector");
-    vectorSearchQuery.put("queryVector", vector);
+    vectorSearchQuery.put("path", VECTOR_PATH);
+    vectorSearchQuery.put(
+        "queryVector",
+        VectorCodec.queryVector(
+            vector, vectorStorageProperties.getFormat(), vectorStorageProperties.getInt8Scale()));
     vectorSearchQuery.put("numCandidates", 150);
     vectorSearchQuery.put("limit", limit);
     vectorSearchQuery.put("similarity", "euclidean"); // Add similarity metric
@@ -73,8 +108,10 @@ public class ArtifactService implements IArtifactService {
 
     AggregationOperation aggregationOperation = context -> vectorSearchStage;
 
+    // Callers only need the matched chunks, not their embeddings
     TypedAggregation<Artifact> aggregation =
-        Aggregation.newAggregation(Artifact.class, aggregationOperation)
+        Aggregation.newAggregation(
+                Artifact.class, aggregationOperation, Aggregation.project().andExclude(VECTOR_PATH))
             .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
 
     return reactiveMongoTemplate.aggregate(aggregation, Artifact.class, Artifact.class);
@@ -1,7 +1,8 @@
 package com.aci.smart_onboarding.service.implementation;
 
-import com.aci.ai.services.IContextProvider;
+import com.aci.smart_onboarding.config.PrefillProperties;
 import com.aci.smart_onboarding.dto.*;
+import com.aci.smart_onboarding.enums.AiPriority;
 import com.aci.smart_onboarding.enums.ContextName;
 import com.aci.smart_onboarding.exception.AIServiceException;
 import com.aci.smart_onboarding.exception.ResourceNotFoundException;
@@ -22,6 +23,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.Converter;
 import org.modelmapper.ModelMapper;
@@ -97,13 +99,15 @@ public class AssistantService implements IAssistantService, DisposableBean {
   @Value("${ai.vector.search.limit:10}")
   private int vectorSearchLimit;
 
+  private static final String BRD_SUMMARY_CONTEXT =
+      "Generate a comprehensive summary by taking important notes as bullet points.";
+
   private static final String NO_ARTIFACTS_ERROR =
       "Error: No relevant artifacts found for your question.";
   private static final String TEMPLATE_FIELD1 = "templateTypes";
   private static final String TEMPLATE_FIELD2 = "summary";
 
   private final IAIService aiService;
-  private final IContextProvider contextProvider;
   private final IArtifactService artifactService;
   private final IBrdTemplateService brdTemplateService;
   private final BRDRepository brdRepository;
@@ -111,18 +115,25 @@ public class AssistantService implements IAssistantService, DisposableBean {
   private final ModelMapper modelMapper;
   private final ObjectMapper objectMapper;
   private final Scheduler boundedElasticScheduler;
+  private final SummaryCache summaryCache;
+  private final PrefillCache prefillCache;
+  private final PrefillProperties prefillProperties;
 
   public AssistantService(
       IAIService aiService,
       IArtifactService artifactService,
-      IContextProvider contextProvider,
       IBrdTemplateService brdTemplateService,
       BRDRepository brdRepository,
       WalletronRepository walletronRepository,
-      ModelMapper dtoModelMapper) {
+      ModelMapper dtoModelMapper,
+      SummaryCache summaryCache,
+      PrefillCache prefillCache,
+      PrefillProperties prefillProperties) {
     this.aiService = aiService;
+    this.summaryCache = summaryCache;
+    this.prefillCache = prefillCache;
+    this.prefillProperties = prefillProperties;
     this.artifactService = artifactService;
-    this.contextProvider = contextProvider;
     this.brdTemplateService = brdTemplateService;
     this.brdRepository = brdRepository;
     this.walletronRepository = walletronRepository;
@@ -151,8 +162,6 @@ public class AssistantService implements IAssistantService, DisposableBean {
   @Override
   public Flux<String> askStreamingAssistant(
       String question, ContextName contextName, String documentName) {
-    contextProvider.setContextName(contextName.name());
-
     if (contextName == ContextName.SUMMARY) {
       return handleSummaryStreaming(question, documentName);
     }
@@ -163,8 +172,6 @@ public class AssistantService implements IAssistantService, DisposableBean {
 
   @Override
   public Mono<String> askAssistant(String question, ContextName contextName, String documentName) {
-    contextProvider.setContextName(contextName.name());
-
     return switch (contextName) {
       case TEMPLATE -> handleTemplateAnalysis(documentName);
       case DECISION -> handleDecisionMaking(question, documentName);
@@ -181,13 +188,18 @@ public class AssistantService implements IAssistantService, DisposableBean {
               if (textChunks.isEmpty()) {
                 return Flux.just("Error: No artifacts found for the given documentId.");
               }
-              String additionalContext =
-                  documentName.contains("SSD")
-                      ? String.join("\n", SSD_SUMMARY, String.join(" ", textChunks))
-                      : String.join(" ", CONTRACT_SUMMARY, String.join(" ", textChunks));
-
-              return aiService.generateAnswerAsStream(
-                  question, additionalContext, ContextName.SUMMARY.getPrompt());
+              boolean ssd = documentName.contains("SSD");
+              String instructions = ssd ? SSD_SUMMARY : CONTRACT_SUMMARY;
+
+              return summaryCache.summary(
+                  "document:" + documentName,
+                  textChunks,
+                  List.of(String.valueOf(question), instructions, ContextName.SUMMARY.getPrompt()),
+                  () ->
+                      aiService.generateAnswerAsStream(
+                          question,
+                          joinContext(instructions, ssd ? "\n" : " ", textChunks, " "),
+                          ContextName.SUMMARY.getPrompt()));
             });
   }
 
@@ -226,8 +238,37 @@ public class AssistantService implements IAssistantService, DisposableBean {
   }
 
   /** Builds context string from artifacts */
-  private String buildArtifactContext(List<Artifact> artifacts) {
-    return artifacts.stream().map(Artifact::getText).reduce((a, b) -> a + "\n\n" + b).orElse("");
+  static String buildArtifactContext(List<Artifact> artifacts) {
+    List<String> texts = new ArrayList<>(artifacts.size());
+    for (Artifact artifact : artifacts) {
+      if (artifact.getText() != null) {
+        texts.add(artifact.getText());
+      }
+    }
+    return joinContext(null, "", texts, "\n\n");
+  }
+
+  /**
+   * Joins an optional heading and the parts in one pass into a buffer sized up front, instead of
+   * copying the growing context once per part.
+   */
+  static String joinContext(
+      String heading, String headingSeparator, List<String> parts, String separator) {
+    int length = heading == null ? 0 : heading.length() + headingSeparator.length();
+    for (String part : parts) {
+      length += String.valueOf(part).length() + separator.length();
+    }
+    StringBuilder context = new StringBuilder(length);
+    if (heading != null) {
+      context.append(heading).append(headingSeparator);
+    }
+    for (int i = 0; i < parts.size(); i++) {
+      if (i > 0) {
+        context.append(separator);
+      }
+      context.append(parts.get(i));
+    }
+    return context.toString();
   }
 
   /** Converts BRD templates to JSON format */
@@ -314,6 +355,12 @@ public class AssistantService implements IAssistantService, DisposableBean {
             });
   }
 
+  /**
+   * Prefills the sections of a form in parallel, up to the configured section concurrency.
+   * Embeddings and document retrievals are shared with every other prefill of the same {@link
+   * PrefillSession}, and sections whose inputs are unchanged since an earlier prefill come from the
+   * {@link PrefillCache} without a model call.
+   */
   @Override
   public Mono<JsonNode> prefillBRDProcessJson(
       JsonNode sections,
@@ -331,24 +378,37 @@ public class AssistantService implements IAssistantService, DisposableBean {
     List<String> fieldNames = new ArrayList<>();
     sections.fieldNames().forEachRemaining(fieldNames::add);
 
-    return Flux.fromIterable(fieldNames)
-        .flatMap(
-            section -> {
-              JsonNode sectionNode = updatedJson.get(section);
-              return processSection(
-                      section, sectionNode, documentNames, contextName, additionalContext)
-                  .map(
-                      updatedSection -> {
-                        updatedJson.set(section, updatedSection);
-                        return (JsonNode) updatedJson;
-                      });
+    return Mono.deferContextual(
+            context -> {
+              PrefillSession session = PrefillSession.current(context);
+              return Flux.fromIterable(fieldNames)
+                  .flatMap(
+                      section ->
+                          processSection(
+                                  session,
+                                  section,
+                                  updatedJson.get(section),
+                                  documentNames,
+                                  contextName,
+                                  additionalContext)
+                              .map(
+                                  updatedSection -> {
+                                    // Sections complete on different threads
+                                    synchronized (updatedJson) {
+                                      updatedJson.set(section, updatedSection);
+                                    }
+                                    return (JsonNode) updatedJson;
+                                  }),
+                      Math.max(1, prefillProperties.getSectionConcurrency()))
+                  .last();
             })
-        .last()
         .map(JsonNode.class::cast)
-        .subscribeOn(boundedElasticScheduler);
+        .subscribeOn(boundedElasticScheduler)
+        .contextWrite(AiRequestGovernor.priority(AiPriority.BATCH));
   }
 
   private Mono<JsonNode> processSection(
+      PrefillSession session,
       String section,
       JsonNode sectionNode,
       List<String> documentNames,
@@ -361,11 +421,12 @@ public class AssistantService implements IAssistantService, DisposableBean {
     String sectionAsString = sectionNode.toString();
     log.debug("Processing section: {}", section);
 
-    return aiService
-        .getEmbeddings(sectionAsString)
+    return session
+        .embedding(sectionAsString, () -> aiService.getEmbeddings(sectionAsString))
         .flatMap(
             embeddingList ->
                 buildContextFromDocuments(
+                    session,
                     embeddingList,
                     documentNames,
                     sectionNode,
@@ -376,6 +437,7 @@ public class AssistantService implements IAssistantService, DisposableBean {
   }
 
   private Mono<JsonNode> buildContextFromDocuments(
+      PrefillSession session,
       List<Double> embeddingList,
       List<String> documentNames,
       JsonNode sectionNode,
@@ -383,8 +445,14 @@ public class AssistantService implements IAssistantService, DisposableBean {
       ContextName contextName,
       String additionalContext) {
 
+    // Sequential, so the contexts keep document order and the section's cache key stays stable
     return Flux.fromIterable(documentNames)
-        .flatMap(documentName -> fetchRelevantContextFromDocument(embeddingList, documentName))
+        .flatMapSequential(
+            documentName ->
+                session.retrieval(
+                    sectionAsString,
+                    documentName,
+                    () -> fetchRelevantContextFromDocument(embeddingList, documentName)))
         .collectList()
         .flatMap(
             contexts ->
@@ -420,9 +488,15 @@ public class AssistantService implements IAssistantService, DisposableBean {
 
     String combinedContext = buildCombinedContext(contexts, additionalContext);
 
-    return aiService
-        .generateAnswer(sectionAsString, combinedContext, contextName.getPrompt())
-        .map(this::convertStringToJson);
+    return prefillCache.section(
+        contextName.getPrompt(),
+        sectionAsString,
+        contexts,
+        additionalContext,
+        () ->
+            aiService
+                .generateAnswer(sectionAsString, combinedContext, contextName.getPrompt())
+                .map(this::convertStringToJson));
   }
 
   private String buildCombinedContext(List<String> contexts, String additionalContext) {
@@ -460,56 +534,65 @@ public class AssistantService implements IAssistantService, DisposableBean {
         .map(brd -> modelMapper.map(brd, BRDSummaryRequest.class))
         .flatMapMany(
             brdRequest -> {
-              String context =
-                  "Generate a comprehensive summary by taking important notes as bullet points.";
-
+              String brdJson;
               try {
-                String brdJson = objectMapper.writeValueAsString(brdRequest);
-
-                return aiService
-                    .generateAnswerAsStream(brdJson, context, ContextName.SUMMARY.getPrompt())
-                    .map(
-                        summaryPart -> {
-                          BRDSummaryResponse response = new BRDSummaryResponse();
-                          response.setBrdId(brdId);
-                          response.setSummary(summaryPart);
-                          response.setStatus("SUCCESS");
-                          return response;
-                        });
+                brdJson = objectMapper.writeValueAsString(brdRequest);
               } catch (JsonProcessingException e) {
                 throw new AIServiceException(
                     "Error converting BRDResponse to JSON: " + e.getMessage());
-              } catch (TokenLimitExceededException e) { // Handle token limit exception
-                if (brdRequest.getAgentPortal() != null) {
-                  brdRequest.getAgentPortal().setBillSummaryItems(null);
-                  brdRequest.getAgentPortal().setBillSummaryDetail(null);
-                  brdRequest.getAgentPortal().setAgentPortal(null);
-
-                  try {
-                    String cleanedJson = objectMapper.writeValueAsString(brdRequest);
-                    return aiService
-                        .generateAnswerAsStream(
-                            cleanedJson, context, ContextName.SUMMARY.getPrompt())
-                        .map(
-                            summaryPart -> {
-                              BRDSummaryResponse response = new BRDSummaryResponse();
-                              response.setBrdId(brdId);
-                              response.setSummary(summaryPart);
-                              response.setStatus("SUCCESS");
-                              return response;
-                            });
-                  } catch (JsonProcessingException ex) {
-                    return Flux.error(
-                        new AIServiceException(
-                            "Error converting cleaned BRDResponse to JSON: " + ex.getMessage()));
-                  }
-                }
-                BRDSummaryResponse response = new BRDSummaryResponse();
-                response.setBrdId(brdId);
-                response.setSummary("Token limit exceeded. Fields set to null.");
-                response.setStatus("FAILED");
-                return Flux.just(response);
               }
+
+              // Only a prompt rejected before any part went out can be retried without
+              // repeating what the client has already received
+              AtomicBoolean streamed = new AtomicBoolean();
+              return summarizeBrd(brdId, brdJson)
+                  .doOnNext(part -> streamed.set(true))
+                  .onErrorResume(
+                      e -> e instanceof TokenLimitExceededException && !streamed.get(),
+                      e -> summarizeBrdWithoutPortalDetails(brdId, brdRequest));
+            });
+  }
+
+  /** Retries a BRD summary that was too large without the agent portal's bill details */
+  private Flux<BRDSummaryResponse> summarizeBrdWithoutPortalDetails(
+      String brdId, BRDSummaryRequest brdRequest) {
+    if (brdRequest.getAgentPortal() == null) {
+      BRDSummaryResponse response = new BRDSummaryResponse();
+      response.setBrdId(brdId);
+      response.setSummary("Token limit exceeded. Fields set to null.");
+      response.setStatus("FAILED");
+      return Flux.just(response);
+    }
+
+    brdRequest.getAgentPortal().setBillSummaryItems(null);
+    brdRequest.getAgentPortal().setBillSummaryDetail(null);
+    brdRequest.getAgentPortal().setAgentPortal(null);
+    try {
+      return summarizeBrd(brdId, objectMapper.writeValueAsString(brdRequest));
+    } catch (JsonProcessingException ex) {
+      return Flux.error(
+          new AIServiceException(
+              "Error converting cleaned BRDResponse to JSON: " + ex.getMessage()));
+    }
+  }
+
+  /** Streams the summary of the BRD, replayed from the cache while the BRD is unchanged */
+  private Flux<BRDSummaryResponse> summarizeBrd(String brdId, String brdJson) {
+    return summaryCache
+        .summary(
+            "brd:" + brdId,
+            List.of(brdJson),
+            List.of(BRD_SUMMARY_CONTEXT, ContextName.SUMMARY.getPrompt()),
+            () ->
+                aiService.generateAnswerAsStream(
+                    brdJson, BRD_SUMMARY_CONTEXT, ContextName.SUMMARY.getPrompt()))
+        .map(
+            summaryPart -> {
+              BRDSummaryResponse response = new BRDSummaryResponse();
+              response.setBrdId(brdId);
+              response.setSummary(summaryPart);
+              response.setStatus("SUCCESS");
+              return response;
             });
   }
 
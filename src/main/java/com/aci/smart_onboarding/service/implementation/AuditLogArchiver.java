@@ -0,0 +1,133 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.config.AuditLogProperties;
+import com.aci.smart_onboarding.model.AuditLog;
+import com.aci.smart_onboarding.service.IBlobStorageService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Moves raw audit logs older than the configured retention to blob storage as gzipped JSON lines
+ * and removes them from MongoDB. BRD status history and transition analytics are served from the
+ * status events and rollups, which are kept much longer, so archived raw logs are only needed for
+ * forensic lookups.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditLogArchiver {
+
+  private static final String EVENT_TIMESTAMP = "eventTimestamp";
+  private static final String ID_FIELD = "_id";
+  private static final DateTimeFormatter DAY_PATH = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+  private static final JsonWriterSettings ARCHIVE_JSON =
+      JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final IBlobStorageService blobStorageService;
+  private final AuditLogProperties properties;
+  private final AtomicBoolean running = new AtomicBoolean();
+
+  @Scheduled(cron = "${audit-log.archive-cron:0 30 2 * * *}")
+  public void archiveColdAuditLogs() {
+    Duration retention = properties.getRawRetention();
+    if (retention == null || retention.isZero() || retention.isNegative()) {
+      return;
+    }
+    if (!running.compareAndSet(false, true)) {
+      log.debug("Audit log archiving is already running, skipping this trigger");
+      return;
+    }
+
+    archiveBefore(LocalDateTime.now().minus(retention))
+        .doFinally(signal -> running.set(false))
+        .subscribe(
+            count -> log.info("Archived {} raw audit logs to blob storage", count),
+            error -> log.error("Error archiving raw audit logs: {}", error.getMessage()));
+  }
+
+  /** Archives raw audit logs older than the cutoff, one blob per batch, until none are left */
+  Mono<Long> archiveBefore(LocalDateTime cutoff) {
+    int batchSize = properties.getArchiveBatchSize();
+    return archiveBatch(cutoff, batchSize)
+        .expand(archived -> archived < batchSize ? Mono.empty() : archiveBatch(cutoff, batchSize))
+        .reduce(0L, Long::sum);
+  }
+
+  private Mono<Long> archiveBatch(LocalDateTime cutoff, int batchSize) {
+    String collectionName = mongoTemplate.getCollectionName(AuditLog.class);
+    Query query =
+        Query.query(Criteria.where(EVENT_TIMESTAMP).lt(cutoff))
+            .with(Sort.by(Sort.Direction.ASC, EVENT_TIMESTAMP))
+            .limit(batchSize);
+
+    return mongoTemplate
+        .find(query, Document.class, collectionName)
+        .collectList()
+        .flatMap(
+            documents -> {
+              if (documents.isEmpty()) {
+                return Mono.just(0L);
+              }
+              List<Object> ids =
+                  documents.stream().map(document -> document.get(ID_FIELD)).toList();
+
+              // The blob name is derived from the batch, so a retried batch overwrites its own blob
+              return blobStorageService
+                  .uploadFile(blobName(documents), compress(documents))
+                  .then(
+                      mongoTemplate.remove(
+                          Query.query(Criteria.where(ID_FIELD).in(ids)), collectionName))
+                  .thenReturn((long) documents.size());
+            });
+  }
+
+  private String blobName(List<Document> documents) {
+    Document first = documents.get(0);
+    Document last = documents.get(documents.size() - 1);
+    LocalDate day =
+        first.getDate(EVENT_TIMESTAMP).toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    return properties.getArchivePrefix()
+        + day.format(DAY_PATH)
+        + "/audit-logs-"
+        + first.get(ID_FIELD)
+        + "-"
+        + last.get(ID_FIELD)
+        + ".jsonl.gz";
+  }
+
+  static byte[] compress(List<Document> documents) {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+      for (Document document : documents) {
+        gzip.write(document.toJson(ARCHIVE_JSON).getBytes(StandardCharsets.UTF_8));
+        gzip.write('\n');
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Failed to compress audit log archive", ex);
+    }
+    return output.toByteArray();
+  }
+}
@@ -2,18 +2,23 @@ package com.aci.smart_onboarding.service.implementation;
 
 import static org.springframework.data.domain.Sort.*;
 
+import com.aci.smart_onboarding.constants.BrdConstants;
 import com.aci.smart_onboarding.dto.Api;
 import com.aci.smart_onboarding.dto.AuditLogRequest;
 import com.aci.smart_onboarding.dto.AuditLogResponse;
 import com.aci.smart_onboarding.dto.StatusHistoryResponse;
 import com.aci.smart_onboarding.mapper.DtoModelMapper;
 import com.aci.smart_onboarding.model.AuditLog;
-import com.aci.smart_onboarding.repository.AuditLogRepository;
+import com.aci.smart_onboarding.model.BrdStatusEvent;
 import com.aci.smart_onboarding.service.IAuditLogService;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
@@ -30,16 +35,22 @@ import reactor.core.publisher.Mono;
 public class AuditLogService implements IAuditLogService {
 
   private static final Logger log = LoggerFactory.getLogger(AuditLogService.class);
-  private final AuditLogRepository auditLogRepository;
+  private static final String BRD_ENTITY_TYPE = "BRD";
+  private final AuditLogWriter auditLogWriter;
+  private final AuditStatusProjector auditStatusProjector;
   private final DtoModelMapper dtoModelMapper;
   private final ReactiveMongoTemplate reactiveMongoTemplate;
 
+  /**
+   * Creates an audit log through the write-behind {@link AuditLogWriter}. The response is sent once
+   * the entry is in the writer's fsynced journal, so the caller's latency no longer includes the
+   * MongoDB write.
+   */
   @Override
   public Mono<ResponseEntity<Api<AuditLogResponse>>> logCreation(AuditLogRequest auditLogRequest) {
-    return Mono.defer(() -> Mono.just(auditLogRequest))
-        .map(dtoModelMapper::mapToAuditLog)
-        .flatMap(auditLogRepository::save)
-        .map(dtoModelMapper::mapToAuditLogResponse)
+    return Mono.fromCallable(() -> toAuditLog(auditLogRequest))
+        .flatMap(auditLog -> auditLogWriter.submit(auditLog).thenReturn(auditLog))
+        .map(AuditLogService::toAuditLogResponse)
         .map(
             response ->
                 ResponseEntity.status(HttpStatus.CREATED)
@@ -52,6 +63,16 @@ public class AuditLogService implements IAuditLogService {
         .onErrorMap(ex -> new Exception("Something went wrong : " + ex.getMessage()));
   }
 
+  /** Creates the audit logs of a bulk operation, handing them to the writer in one go */
+  @Override
+  public Mono<Void> logCreations(List<AuditLogRequest> auditLogRequests) {
+    return Mono.defer(
+            () ->
+                auditLogWriter.submitAll(
+                    auditLogRequests.stream().map(AuditLogService::toAuditLog).toList()))
+        .onErrorMap(ex -> new Exception("Something went wrong : " + ex.getMessage()));
+  }
+
   @Override
   public Flux<AuditLogResponse> findByEntityIdAndAction(String entityId, String action) {
     Query query = new Query();
@@ -59,9 +80,59 @@ public class AuditLogService implements IAuditLogService {
     query.addCriteria(Criteria.where("action").is(action));
     query.with(by(Direction.ASC, "eventTimestamp"));
 
-    return reactiveMongoTemplate
-        .find(query, AuditLog.class)
-        .map(dtoModelMapper::mapToAuditLogResponse);
+    return withPendingEntries(
+        reactiveMongoTemplate
+            .find(query, AuditLog.class)
+            .map(dtoModelMapper::mapToAuditLogResponse),
+        entityId,
+        action);
+  }
+
+  /**
+   * Appends entries that are still waiting for a flush, so callers read their own writes. Entries
+   * already returned by the persisted source are skipped.
+   */
+  private Flux<AuditLogResponse> withPendingEntries(
+      Flux<AuditLogResponse> persisted, String entityId, String action) {
+    return Flux.defer(
+        () -> {
+          Set<String> persistedIds = ConcurrentHashMap.newKeySet();
+          Flux<AuditLogResponse> pending =
+              Flux.defer(
+                  () ->
+                      Flux.fromIterable(auditLogWriter.pending())
+                          .filter(
+                              auditLog ->
+                                  entityId.equals(auditLog.getEntityId())
+                                      && action.equals(auditLog.getAction())
+                                      && !persistedIds.contains(auditLog.getAuditId()))
+                          .map(AuditLogService::toAuditLogResponse));
+
+          return persisted
+              .doOnNext(
+                  response -> {
+                    if (response.getAuditId() != null) {
+                      persistedIds.add(response.getAuditId());
+                    }
+                  })
+              .concatWith(pending);
+        });
+  }
+
+  /**
+   * History entries for one action. BRD creation and status updates come from the compact status
+   * events; other actions still read the raw audit logs.
+   */
+  private Flux<AuditLogResponse> findHistoryEntries(String entityId, String action) {
+    if (!AuditStatusProjector.isProjected(action)) {
+      return findByEntityIdAndAction(entityId, action);
+    }
+    return withPendingEntries(
+        auditStatusProjector
+            .findStatusEvents(entityId, List.of(action))
+            .map(AuditLogService::toAuditLogResponse),
+        entityId,
+        action);
   }
 
   /**
@@ -85,7 +156,7 @@ public class AuditLogService implements IAuditLogService {
         // Use concatMap to preserve order and potential error handling
         .concatMap(
             action ->
-                findByEntityIdAndAction(entityId, action)
+                findHistoryEntries(entityId, action)
                     // Add error handling for each action type
                     .onErrorResume(
                         e -> {
@@ -110,4 +181,51 @@ public class AuditLogService implements IAuditLogService {
     historyItem.mapWithAuditLog(auditLog);
     return historyItem;
   }
+
+  /** Copies the request into an audit log with a client-assigned ID, so replays are idempotent */
+  private static AuditLog toAuditLog(AuditLogRequest request) {
+    return new AuditLog(
+        new ObjectId().toHexString(),
+        request.getEntityType(),
+        request.getEntityId(),
+        request.getAction(),
+        request.getUserId(),
+        request.getUserName(),
+        request.getComment(),
+        request.getUserRole(),
+        request.getEventTimestamp(),
+        request.getOldValues(),
+        request.getNewValues());
+  }
+
+  private static AuditLogResponse toAuditLogResponse(AuditLog auditLog) {
+    return new AuditLogResponse(
+        auditLog.getAuditId(),
+        auditLog.getEntityType(),
+        auditLog.getEntityId(),
+        auditLog.getAction(),
+        auditLog.getUserId(),
+        auditLog.getUserName(),
+        auditLog.getComment(),
+        auditLog.getUserRole(),
+        auditLog.getEventTimestamp(),
+        auditLog.getOldValues(),
+        auditLog.getNewValues());
+  }
+
+  private static AuditLogResponse toAuditLogResponse(BrdStatusEvent event) {
+    Map<String, Object> newValues =
+        event.getStatus() != null ? Map.of(BrdConstants.STATUS_FIELD, event.getStatus()) : null;
+    AuditLogResponse response = new AuditLogResponse();
+    response.setAuditId(event.getAuditId());
+    response.setEntityType(BRD_ENTITY_TYPE);
+    response.setEntityId(event.getEntityId());
+    response.setAction(event.getAction());
+    response.setUserName(event.getUserName());
+    response.setUserRole(event.getUserRole());
+    response.setComment(event.getComment());
+    response.setEventTimestamp(event.getEventTimestamp());
+    response.setNewValues(newValues);
+    return response;
+  }
 }
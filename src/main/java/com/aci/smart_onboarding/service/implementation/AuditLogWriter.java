@@ -0,0 +1,508 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.config.AuditLogProperties;
+import com.aci.smart_onboarding.model.AuditLog;
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonParseException;
+import org.bson.json.JsonWriterSettings;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Write-behind sink for audit logs, with a write-ahead journal on local disk.
+ *
+ * <p>An entry is acknowledged only once it is in an fsynced journal segment. Entries submitted
+ * while a segment is being written are group-committed into the next one, so a caller waits for
+ * one shared fsync, not for MongoDB. Journaled entries are buffered in a bounded in-memory queue
+ * and written with unordered insertMany batches, either when a full batch is ready or when the
+ * flush interval elapses. A segment is deleted once all of its entries are stored.
+ *
+ * <p>A segment is kept for replay on later flushes when any of its entries could not be stored:
+ * MongoDB rejected its batch, the queue was full, or shutdown could not flush it. Segments left
+ * behind by a crash are replayed after the restart.
+ *
+ * <p>Audit IDs are assigned before an entry is journaled, so replaying entries that were already
+ * written only produces duplicate key errors, which are ignored. Once a batch is stored, its BRD
+ * status changes are handed to the {@link AuditStatusProjector}; a failed projection keeps the
+ * batch for replay as well, and the projector skips entries it has already seen.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+  static final String METRIC_PREFIX = "audit.log.";
+  static final String SEGMENT_PREFIX = "audit-";
+  static final String JOURNAL_PREFIX = "journal-";
+  static final String SEGMENT_SUFFIX = ".jsonl";
+  private static final String TEMP_SUFFIX = ".tmp";
+  private static final String CORRUPT_SUFFIX = ".corrupt";
+
+  private static final JsonWriterSettings JOURNAL_JSON =
+      JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final AuditStatusProjector statusProjector;
+  private final AuditLogProperties properties;
+  private final BlockingQueue<Journaled> queue;
+  private final Path journalDirectory;
+  private final Sinks.Many<Boolean> flushRequests = Sinks.many().multicast().directBestEffort();
+  private final AtomicLong segmentSequence = new AtomicLong();
+  private final AtomicInteger journalSegments = new AtomicInteger();
+  private final Queue<JournalRequest> journalRequests = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean journaling = new AtomicBoolean();
+  private volatile List<Journaled> inFlight = Collections.emptyList();
+  private Disposable pipeline;
+
+  private final Counter writtenCounter;
+  private final Counter overflowCounter;
+  private final Counter spilledCounter;
+  private final Counter replayedCounter;
+  private final Counter rejectedCounter;
+  private final Timer flushTimer;
+
+  public AuditLogWriter(
+      ReactiveMongoTemplate reactiveMongoTemplate,
+      AuditStatusProjector statusProjector,
+      AuditLogProperties properties,
+      MeterRegistry meterRegistry) {
+    this.reactiveMongoTemplate = reactiveMongoTemplate;
+    this.statusProjector = statusProjector;
+    this.properties = properties;
+    this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+    this.journalDirectory = Paths.get(properties.getJournalDirectory());
+
+    Gauge.builder(METRIC_PREFIX + "queue.depth", queue, BlockingQueue::size)
+        .description("Audit logs buffered in memory awaiting a flush")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + "journal.segments", journalSegments, AtomicInteger::get)
+        .description("Journal segments awaiting replay")
+        .register(meterRegistry);
+    this.writtenCounter = meterRegistry.counter(METRIC_PREFIX + "written");
+    this.overflowCounter = meterRegistry.counter(METRIC_PREFIX + "overflow");
+    this.spilledCounter = meterRegistry.counter(METRIC_PREFIX + "spilled");
+    this.replayedCounter = meterRegistry.counter(METRIC_PREFIX + "replayed");
+    this.rejectedCounter = meterRegistry.counter(METRIC_PREFIX + "rejected");
+    this.flushTimer = meterRegistry.timer(METRIC_PREFIX + "flush");
+  }
+
+  @PostConstruct
+  public void start() throws IOException {
+    Files.createDirectories(journalDirectory);
+    // Whatever the previous run journaled but did not store is replayed
+    for (Path segment : listSegments(JOURNAL_PREFIX)) {
+      Files.move(segment, replayName(segment), StandardCopyOption.ATOMIC_MOVE);
+    }
+    journalSegments.set(listSegments(SEGMENT_PREFIX).size());
+    if (journalSegments.get() > 0) {
+      log.info("Found {} audit journal segment(s) to replay", journalSegments.get());
+    }
+
+    pipeline =
+        Flux.merge(
+                Flux.interval(properties.getFlushInterval()).map(tick -> Boolean.TRUE),
+                flushRequests.asFlux())
+            .onBackpressureDrop()
+            .concatMap(signal -> flush(), 1)
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (pipeline != null) {
+      pipeline.dispose();
+    }
+    // Journals what was submitted but not yet committed, if no commit is running
+    if (journaling.compareAndSet(false, true)) {
+      commitJournalRequests();
+    }
+    List<Journaled> remaining = new ArrayList<>(inFlight);
+    queue.drainTo(remaining);
+    if (remaining.isEmpty()) {
+      return;
+    }
+
+    List<Document> documents = toDocuments(auditLogs(remaining));
+    boolean stored = false;
+    try {
+      persist(documents).block(properties.getShutdownTimeout());
+      writtenCounter.increment(documents.size());
+      stored = true;
+    } catch (RuntimeException ex) {
+      log.warn(
+          "Could not flush {} audit log(s) on shutdown, keeping them for replay: {}",
+          documents.size(),
+          ex.getMessage());
+    }
+    release(remaining, stored);
+  }
+
+  /**
+   * Journals an audit log and queues it for writing. The caller never waits on MongoDB; when the
+   * queue is full the entry is left to journal replay instead.
+   *
+   * @param auditLog the audit log to persist, with its audit ID already assigned
+   * @return completes once the entry is in an fsynced journal segment, fails if it could not be
+   *     journaled
+   */
+  public Mono<Void> submit(AuditLog auditLog) {
+    return submitAll(List.of(auditLog));
+  }
+
+  /**
+   * Journals the audit logs of one operation together and queues them, so they are written with as
+   * few inserts as the batch size allows.
+   *
+   * @param auditLogs the audit logs to persist, with their audit IDs already assigned
+   * @return completes once the entries are in an fsynced journal segment, fails if they could not
+   *     be journaled
+   */
+  public Mono<Void> submitAll(List<AuditLog> auditLogs) {
+    if (auditLogs.isEmpty()) {
+      return Mono.empty();
+    }
+    return Mono.create(
+        sink -> {
+          journalRequests.add(new JournalRequest(auditLogs, sink));
+          scheduleCommit();
+        });
+  }
+
+  private void scheduleCommit() {
+    if (journaling.compareAndSet(false, true)) {
+      Schedulers.boundedElastic().schedule(this::commitJournalRequests);
+    }
+  }
+
+  /** Writes every request waiting so far as one segment, then queues its entries */
+  private void commitJournalRequests() {
+    try {
+      List<JournalRequest> group = new ArrayList<>();
+      for (JournalRequest request; (request = journalRequests.poll()) != null; ) {
+        group.add(request);
+      }
+      if (!group.isEmpty()) {
+        commit(group);
+      }
+    } finally {
+      journaling.set(false);
+    }
+    // Requests added after the poll and before the flag was cleared
+    if (!journalRequests.isEmpty()) {
+      scheduleCommit();
+    }
+  }
+
+  private void commit(List<JournalRequest> group) {
+    List<AuditLog> auditLogs =
+        group.stream().flatMap(request -> request.auditLogs().stream()).toList();
+    Path path;
+    try {
+      path = writeSegment(JOURNAL_PREFIX, toDocuments(auditLogs));
+    } catch (IOException | RuntimeException ex) {
+      log.error("Failed to journal {} audit log(s): {}", auditLogs.size(), ex.getMessage());
+      rejectedCounter.increment(auditLogs.size());
+      group.forEach(request -> request.sink().error(ex));
+      return;
+    }
+
+    JournalSegment segment = new JournalSegment(path, auditLogs.size());
+    int overflow = 0;
+    for (AuditLog auditLog : auditLogs) {
+      if (!queue.offer(new Journaled(auditLog, segment))) {
+        overflow++;
+        segment.release(false);
+      }
+    }
+    if (overflow > 0) {
+      overflowCounter.increment(overflow);
+    }
+    if (queue.size() >= properties.getBatchSize()) {
+      flushRequests.tryEmitNext(Boolean.TRUE);
+    }
+    group.forEach(request -> request.sink().success());
+  }
+
+  /**
+   * Returns audit logs that have been accepted but are not yet visible in MongoDB, so reads can
+   * include entries still waiting for a flush.
+   */
+  public List<AuditLog> pending() {
+    List<Journaled> pending = new ArrayList<>(inFlight);
+    pending.addAll(queue);
+    return auditLogs(pending);
+  }
+
+  /** Writes queued audit logs in batches, then replays journal segments once the queue is empty */
+  Mono<Void> flush() {
+    return Mono.defer(
+            () -> {
+              List<Journaled> batch = new ArrayList<>(properties.getBatchSize());
+              queue.drainTo(batch, properties.getBatchSize());
+              if (batch.isEmpty()) {
+                return replayJournal();
+              }
+              inFlight = batch;
+              return writeBatch(batch)
+                  .doOnTerminate(() -> inFlight = Collections.emptyList())
+                  .then(Mono.defer(this::flush));
+            })
+        .onErrorResume(
+            ex -> {
+              log.error("Audit log flush failed: {}", ex.getMessage());
+              return Mono.empty();
+            });
+  }
+
+  private Mono<Void> writeBatch(List<Journaled> batch) {
+    List<Document> documents = toDocuments(auditLogs(batch));
+    Timer.Sample sample = Timer.start();
+    return persist(documents)
+        .then(Mono.just(true))
+        .doOnNext(
+            stored -> {
+              sample.stop(flushTimer);
+              writtenCounter.increment(documents.size());
+            })
+        .onErrorResume(
+            ex -> {
+              log.warn(
+                  "Audit log batch of {} could not be written, keeping it for replay: {}",
+                  documents.size(),
+                  ex.getMessage());
+              return Mono.just(false);
+            })
+        .flatMap(
+            stored ->
+                Mono.fromRunnable(() -> release(batch, stored))
+                    .subscribeOn(Schedulers.boundedElastic()))
+        .then();
+  }
+
+  private static void release(List<Journaled> batch, boolean stored) {
+    batch.forEach(journaled -> journaled.segment().release(stored));
+  }
+
+  private Mono<Void> replayJournal() {
+    if (journalSegments.get() == 0) {
+      return Mono.empty();
+    }
+    return Mono.fromCallable(() -> listSegments(SEGMENT_PREFIX))
+        .subscribeOn(Schedulers.boundedElastic())
+        .flatMapMany(Flux::fromIterable)
+        .concatMap(this::replaySegment)
+        .then();
+  }
+
+  private Mono<Void> replaySegment(Path segment) {
+    return Mono.fromCallable(() -> readSegment(segment))
+        .subscribeOn(Schedulers.boundedElastic())
+        .flatMap(
+            documents ->
+                persist(documents)
+                    .then(
+                        Mono.fromCallable(() -> Files.deleteIfExists(segment))
+                            .subscribeOn(Schedulers.boundedElastic()))
+                    .doOnSuccess(
+                        deleted -> {
+                          journalSegments.decrementAndGet();
+                          replayedCounter.increment(documents.size());
+                          log.info(
+                              "Replayed {} audit log(s) from journal segment {}",
+                              documents.size(),
+                              segment.getFileName());
+                        }))
+        .then();
+  }
+
+  /** Inserts the raw audit logs, then projects BRD status changes out of them */
+  private Mono<Void> persist(List<Document> documents) {
+    return insert(documents)
+        .then(
+            Mono.defer(
+                () ->
+                    statusProjector.project(
+                        documents.stream()
+                            .map(
+                                document ->
+                                    reactiveMongoTemplate
+                                        .getConverter()
+                                        .read(AuditLog.class, document))
+                            .toList())));
+  }
+
+  private Mono<Void> insert(List<Document> documents) {
+    if (documents.isEmpty()) {
+      return Mono.empty();
+    }
+    return reactiveMongoTemplate
+        .getCollection(reactiveMongoTemplate.getCollectionName(AuditLog.class))
+        .flatMap(
+            collection ->
+                Mono.from(
+                    collection.insertMany(documents, new InsertManyOptions().ordered(false))))
+        .onErrorResume(AuditLogWriter::onlyDuplicateKeys, ex -> Mono.empty())
+        .then();
+  }
+
+  private static boolean onlyDuplicateKeys(Throwable ex) {
+    return ex instanceof MongoBulkWriteException bulkWriteException
+        && bulkWriteException.getWriteConcernError() == null
+        && bulkWriteException.getWriteErrors().stream()
+            .allMatch(
+                error ->
+                    ErrorCategory.fromErrorCode(error.getCode())
+                        == ErrorCategory.DUPLICATE_KEY);
+  }
+
+  private List<Document> toDocuments(List<AuditLog> auditLogs) {
+    List<Document> documents = new ArrayList<>(auditLogs.size());
+    for (AuditLog auditLog : auditLogs) {
+      Document document = new Document();
+      reactiveMongoTemplate.getConverter().write(auditLog, document);
+      documents.add(document);
+    }
+    return documents;
+  }
+
+  /** Writes a segment under a temporary name and renames it, so replay never sees a torn file */
+  private Path writeSegment(String prefix, List<Document> documents) throws IOException {
+    String name =
+        String.format(
+            "%s%013d-%06d%s",
+            prefix, System.currentTimeMillis(), segmentSequence.incrementAndGet(), SEGMENT_SUFFIX);
+    Path segment = journalDirectory.resolve(name);
+    Path temp = journalDirectory.resolve(name + TEMP_SUFFIX);
+
+    StringBuilder content = new StringBuilder();
+    for (Document document : documents) {
+      content.append(document.toJson(JOURNAL_JSON)).append('\n');
+    }
+
+    try (FileChannel channel =
+        FileChannel.open(
+            temp,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      channel.write(ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8)));
+      channel.force(true);
+    }
+    return Files.move(temp, segment, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /** The replay name of a journal segment; it keeps the segment's place in the replay order */
+  private static Path replayName(Path journalSegment) {
+    String name = journalSegment.getFileName().toString();
+    return journalSegment.resolveSibling(SEGMENT_PREFIX + name.substring(JOURNAL_PREFIX.length()));
+  }
+
+  private List<Document> readSegment(Path segment) throws IOException {
+    try (Stream<String> lines = Files.lines(segment, StandardCharsets.UTF_8)) {
+      return lines.filter(line -> !line.isBlank()).map(Document::parse).toList();
+    } catch (JsonParseException ex) {
+      // Keep the file for manual inspection but stop it from blocking newer segments
+      Path quarantined = segment.resolveSibling(segment.getFileName() + CORRUPT_SUFFIX);
+      Files.move(segment, quarantined, StandardCopyOption.REPLACE_EXISTING);
+      log.error("Audit journal segment {} is unreadable, moved aside: {}", segment, ex.toString());
+      return Collections.emptyList();
+    }
+  }
+
+  private List<Path> listSegments(String prefix) throws IOException {
+    try (Stream<Path> files = Files.list(journalDirectory)) {
+      return files
+          .filter(
+              path -> {
+                String fileName = Objects.toString(path.getFileName(), "");
+                return fileName.startsWith(prefix) && fileName.endsWith(SEGMENT_SUFFIX);
+              })
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static List<AuditLog> auditLogs(List<Journaled> journaled) {
+    return journaled.stream().map(Journaled::auditLog).toList();
+  }
+
+  /** Audit logs submitted together, and the caller waiting for them to be journaled */
+  private record JournalRequest(List<AuditLog> auditLogs, MonoSink<Void> sink) {}
+
+  /** A queued audit log and the journal segment holding it */
+  private record Journaled(AuditLog auditLog, JournalSegment segment) {}
+
+  /**
+   * A journal segment whose entries are still queued or being written. Once each entry is either
+   * stored or given up on, the segment is deleted, or kept for replay if any entry was given up on.
+   */
+  private final class JournalSegment {
+
+    private final Path path;
+    private final AtomicInteger unreleased;
+    private final AtomicInteger unstored = new AtomicInteger();
+
+    private JournalSegment(Path path, int entries) {
+      this.path = path;
+      this.unreleased = new AtomicInteger(entries);
+    }
+
+    private void release(boolean stored) {
+      if (!stored) {
+        unstored.incrementAndGet();
+      }
+      if (unreleased.decrementAndGet() > 0) {
+        return;
+      }
+      try {
+        if (unstored.get() == 0) {
+          Files.deleteIfExists(path);
+        } else {
+          Files.move(path, replayName(path), StandardCopyOption.ATOMIC_MOVE);
+          journalSegments.incrementAndGet();
+          spilledCounter.increment(unstored.get());
+        }
+      } catch (IOException ex) {
+        // Left under its journal name, so the next start replays it
+        log.error("Failed to release audit journal segment {}: {}", path, ex.getMessage());
+      }
+    }
+  }
+}
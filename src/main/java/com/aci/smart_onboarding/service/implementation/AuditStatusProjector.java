@@ -0,0 +1,490 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.config.AuditLogProperties;
+import com.aci.smart_onboarding.constants.BrdConstants;
+import com.aci.smart_onboarding.model.AuditLog;
+import com.aci.smart_onboarding.model.BrdStatusBackfill;
+import com.aci.smart_onboarding.model.BrdStatusEvent;
+import com.aci.smart_onboarding.model.BrdStatusProjection;
+import com.aci.smart_onboarding.model.BrdStatusTransitionRollup;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Projects BRD creation and status update audit logs into the compact {@code brd_status_events}
+ * time-series collection and keeps hourly and daily {@link BrdStatusTransitionRollup} documents up
+ * to date, so status history and transition analytics no longer scan raw audit logs.
+ *
+ * <p>Each event is placed between its stored neighbours: the transition the neighbours formed is
+ * subtracted and the two new transitions are added. Late events replayed from the audit journal
+ * therefore still produce correct rollups. Events of one BRD are projected by one instance at a
+ * time, under a lease on the BRD's {@link BrdStatusProjection}. Every rollup delta is recorded in
+ * the rollup it changes, and an event counts as projected only once all of its deltas are applied,
+ * so projecting an event again after a failure completes it without counting anything twice.
+ */
+@Slf4j
+@Component
+public class AuditStatusProjector {
+
+  static final Set<String> PROJECTED_ACTIONS =
+      Set.of(BrdConstants.ACTION_CREATE, BrdConstants.ACTION_STATUS_UPDATE);
+
+  private static final String ENTITY_TYPE_BRD = "BRD";
+  private static final String ENTITY_TYPE = "entityType";
+  private static final String ENTITY_ID = "entityId";
+  private static final String AUDIT_ID = "auditId";
+  private static final String ACTION = "action";
+  private static final String EVENT_TIMESTAMP = "eventTimestamp";
+  private static final String GRANULARITY = "granularity";
+  private static final String BUCKET_START = "bucketStart";
+  private static final String COUNT = "count";
+  private static final String TOTAL_MINUTES = "totalMinutes";
+  private static final String APPLIED_DELTAS = "appliedDeltas";
+  private static final String LOCKED_UNTIL = "lockedUntil";
+  private static final String PENDING_AUDIT_ID = "pendingAuditId";
+  private static final String LAST_ENTITY_ID = "lastEntityId";
+  private static final String COMPLETED = "completed";
+  private static final int NAMESPACE_EXISTS = 48;
+  private static final int BACKFILL_CONCURRENCY = 4;
+  private static final Duration LEASE_DURATION = Duration.ofMinutes(1);
+  private static final int LEASE_ATTEMPTS = 10;
+
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final AuditLogProperties properties;
+  private final Mono<Boolean> readiness;
+
+  public AuditStatusProjector(ReactiveMongoTemplate mongoTemplate, AuditLogProperties properties) {
+    this.mongoTemplate = mongoTemplate;
+    this.properties = properties;
+    // Concurrent callers share one preparation; a failed attempt is retried by the next caller
+    this.readiness =
+        Mono.defer(this::prepare).thenReturn(Boolean.TRUE).cacheInvalidateIf(ok -> false);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void initialize() {
+    ensureReady()
+        .subscribe(
+            null,
+            error -> log.error("Failed to prepare BRD status events: {}", error.getMessage()));
+  }
+
+  /** Whether audit logs with this action are projected into BRD status events */
+  public static boolean isProjected(String action) {
+    return PROJECTED_ACTIONS.contains(action);
+  }
+
+  /**
+   * Projects the status-bearing audit logs of a written batch. Safe to call again with the same
+   * audit logs.
+   */
+  public Mono<Void> project(List<AuditLog> auditLogs) {
+    Map<String, List<BrdStatusEvent>> eventsByEntity = new LinkedHashMap<>();
+    auditLogs.stream()
+        .filter(AuditStatusProjector::isStatusBearing)
+        .map(AuditStatusProjector::toStatusEvent)
+        .sorted(Comparator.comparing(BrdStatusEvent::getEventTimestamp))
+        .forEach(
+            event ->
+                eventsByEntity
+                    .computeIfAbsent(event.getEntityId(), key -> new ArrayList<>())
+                    .add(event));
+    if (eventsByEntity.isEmpty()) {
+      return Mono.empty();
+    }
+
+    // Events of one BRD are applied in order; different BRDs never touch the same rollups
+    return ensureReady()
+        .thenMany(Flux.fromIterable(eventsByEntity.entrySet()))
+        .flatMap(entry -> projectEntity(entry.getKey(), entry.getValue()))
+        .then();
+  }
+
+  /** Finds the status events of a BRD for the given actions, oldest first */
+  public Flux<BrdStatusEvent> findStatusEvents(String entityId, Collection<String> actions) {
+    Query query =
+        Query.query(Criteria.where(ENTITY_ID).is(entityId).and(ACTION).in(actions))
+            .with(Sort.by(Sort.Direction.ASC, EVENT_TIMESTAMP));
+    return ensureReady().thenMany(mongoTemplate.find(query, BrdStatusEvent.class));
+  }
+
+  /** Projects events of one BRD, oldest first, while holding the BRD's lease */
+  private Mono<Void> projectEntity(String entityId, List<BrdStatusEvent> events) {
+    return Mono.usingWhen(
+        acquireLease(entityId),
+        lease ->
+            finishPending(lease)
+                .thenMany(Flux.fromIterable(events))
+                .concatMap(event -> projectEvent(lease, event))
+                .then(),
+        this::releaseLease,
+        (lease, error) -> releaseLease(lease),
+        this::releaseLease);
+  }
+
+  /**
+   * Leases the BRD's projection state, waiting while another instance holds it. The upsert fails
+   * with a duplicate key while the lease is held, because the state exists but does not match.
+   */
+  private Mono<BrdStatusProjection> acquireLease(String entityId) {
+    return Mono.defer(
+            () -> {
+              LocalDateTime now = LocalDateTime.now();
+              Query query =
+                  Query.query(
+                      Criteria.where("_id")
+                          .is(entityId)
+                          .orOperator(
+                              Criteria.where(LOCKED_UNTIL).is(null),
+                              Criteria.where(LOCKED_UNTIL).lt(now)));
+              Update update = new Update().set(LOCKED_UNTIL, now.plus(LEASE_DURATION));
+              return mongoTemplate.findAndModify(
+                  query,
+                  update,
+                  FindAndModifyOptions.options().upsert(true).returnNew(true),
+                  BrdStatusProjection.class);
+            })
+        .retryWhen(
+            Retry.backoff(LEASE_ATTEMPTS, Duration.ofMillis(100))
+                .filter(DuplicateKeyException.class::isInstance));
+  }
+
+  private Mono<Void> releaseLease(BrdStatusProjection lease) {
+    return mongoTemplate
+        .updateFirst(heldBy(lease), new Update().unset(LOCKED_UNTIL), BrdStatusProjection.class)
+        .then();
+  }
+
+  /** Matches the BRD's projection state only while the given lease is still held */
+  private static Query heldBy(BrdStatusProjection lease) {
+    return Query.query(
+        Criteria.where("_id").is(lease.getId()).and(LOCKED_UNTIL).is(lease.getLockedUntil()));
+  }
+
+  /** Records the event being projected, or clears it with null once its deltas are applied */
+  private Mono<Void> setPending(BrdStatusProjection lease, String auditId) {
+    Update update =
+        auditId != null
+            ? new Update().set(PENDING_AUDIT_ID, auditId)
+            : new Update().unset(PENDING_AUDIT_ID);
+    return mongoTemplate
+        .updateFirst(heldBy(lease), update, BrdStatusProjection.class)
+        .flatMap(
+            result ->
+                result.getMatchedCount() > 0
+                    ? Mono.<Void>empty()
+                    : Mono.error(
+                        new IllegalStateException(
+                            "Lost the status projection lease of BRD " + lease.getId())));
+  }
+
+  /**
+   * Completes an event whose projection failed part way. Its neighbours are the same as then,
+   * because no other event of the BRD is projected before it is finished.
+   */
+  private Mono<Void> finishPending(BrdStatusProjection lease) {
+    if (lease.getPendingAuditId() == null) {
+      return Mono.empty();
+    }
+    Query pending =
+        Query.query(
+            Criteria.where(ENTITY_ID)
+                .is(lease.getId())
+                .and(AUDIT_ID)
+                .is(lease.getPendingAuditId()));
+    return mongoTemplate
+        .findOne(pending, BrdStatusEvent.class)
+        .flatMap(this::applyDeltas)
+        .then(setPending(lease, null));
+  }
+
+  /** Stores the event and applies its deltas, unless it is already projected */
+  private Mono<Void> projectEvent(BrdStatusProjection lease, BrdStatusEvent event) {
+    Query alreadyStored =
+        Query.query(
+            Criteria.where(ENTITY_ID).is(event.getEntityId()).and(AUDIT_ID).is(event.getAuditId()));
+
+    return mongoTemplate
+        .exists(alreadyStored, BrdStatusEvent.class)
+        .filter(exists -> !exists)
+        .flatMap(
+            notStored ->
+                setPending(lease, event.getAuditId())
+                    .then(mongoTemplate.insert(event))
+                    .then(applyDeltas(event))
+                    .then(setPending(lease, null)));
+  }
+
+  /** Replaces the transition between the event's stored neighbours by the two through it */
+  private Mono<Void> applyDeltas(BrdStatusEvent event) {
+    return Mono.zip(neighbour(event, Sort.Direction.DESC), neighbour(event, Sort.Direction.ASC))
+        .flatMap(
+            neighbours -> {
+              Optional<BrdStatusEvent> previous = neighbours.getT1();
+              Optional<BrdStatusEvent> next = neighbours.getT2();
+              String auditId = event.getAuditId();
+
+              List<RollupDelta> deltas = new ArrayList<>(3);
+              if (previous.isPresent() && next.isPresent()) {
+                transition(previous.get(), next.get(), -1, auditId + "|replaced")
+                    .ifPresent(deltas::add);
+              }
+              previous.flatMap(p -> transition(p, event, 1, auditId + "|from-previous"))
+                  .ifPresent(deltas::add);
+              next.flatMap(n -> transition(event, n, 1, auditId + "|to-next"))
+                  .ifPresent(deltas::add);
+
+              return Flux.fromIterable(deltas).concatMap(this::applyDelta).then();
+            });
+  }
+
+  /** Nearest stored event of the same BRD before (DESC) or after (ASC) the given event */
+  private Mono<Optional<BrdStatusEvent>> neighbour(BrdStatusEvent event, Sort.Direction direction) {
+    Criteria timestamp =
+        direction == Sort.Direction.DESC
+            ? Criteria.where(EVENT_TIMESTAMP).lt(event.getEventTimestamp())
+            : Criteria.where(EVENT_TIMESTAMP).gt(event.getEventTimestamp());
+    Query query =
+        Query.query(Criteria.where(ENTITY_ID).is(event.getEntityId()))
+            .addCriteria(timestamp)
+            .with(Sort.by(direction, EVENT_TIMESTAMP))
+            .limit(1);
+
+    return mongoTemplate
+        .findOne(query, BrdStatusEvent.class)
+        .map(Optional::of)
+        .defaultIfEmpty(Optional.empty());
+  }
+
+  private Mono<Void> applyDelta(RollupDelta delta) {
+    return Flux.just(
+            BrdStatusTransitionRollup.GRANULARITY_HOUR, BrdStatusTransitionRollup.GRANULARITY_DAY)
+        .concatMap(
+            granularity -> {
+              LocalDateTime bucketStart = bucketStart(delta.reachedAt(), granularity);
+              String id =
+                  String.join(
+                      "|",
+                      delta.entityId(),
+                      granularity,
+                      bucketStart.toString(),
+                      delta.fromStatus(),
+                      delta.toStatus());
+              Update update =
+                  new Update()
+                      .setOnInsert(ENTITY_ID, delta.entityId())
+                      .setOnInsert(GRANULARITY, granularity)
+                      .setOnInsert(BUCKET_START, bucketStart)
+                      .setOnInsert("fromStatus", delta.fromStatus())
+                      .setOnInsert("toStatus", delta.toStatus())
+                      .inc(COUNT, delta.sign())
+                      .inc(TOTAL_MINUTES, delta.sign() * delta.minutes())
+                      .addToSet(APPLIED_DELTAS, delta.id());
+              Query notApplied =
+                  Query.query(Criteria.where("_id").is(id).and(APPLIED_DELTAS).ne(delta.id()));
+              // A rollup that already holds the delta does not match, so the upsert collides
+              return mongoTemplate
+                  .upsert(notApplied, update, BrdStatusTransitionRollup.class)
+                  .onErrorResume(DuplicateKeyException.class, alreadyApplied -> Mono.empty());
+            })
+        .then();
+  }
+
+  static LocalDateTime bucketStart(LocalDateTime timestamp, String granularity) {
+    return BrdStatusTransitionRollup.GRANULARITY_HOUR.equals(granularity)
+        ? timestamp.truncatedTo(ChronoUnit.HOURS)
+        : timestamp.truncatedTo(ChronoUnit.DAYS);
+  }
+
+  /** A transition is only recorded when both statuses are known and differ */
+  static Optional<RollupDelta> transition(
+      BrdStatusEvent from, BrdStatusEvent to, int sign, String id) {
+    if (from.getStatus() == null
+        || to.getStatus() == null
+        || from.getStatus().equals(to.getStatus())) {
+      return Optional.empty();
+    }
+    long minutes = Duration.between(from.getEventTimestamp(), to.getEventTimestamp()).toMinutes();
+    return Optional.of(
+        new RollupDelta(
+            to.getEntityId(),
+            from.getStatus(),
+            to.getStatus(),
+            to.getEventTimestamp(),
+            minutes,
+            sign,
+            id));
+  }
+
+  private Mono<Void> ensureReady() {
+    return readiness.then();
+  }
+
+  private Mono<Void> prepare() {
+    String collectionName = mongoTemplate.getCollectionName(BrdStatusEvent.class);
+    return mongoTemplate
+        .collectionExists(collectionName)
+        .flatMap(exists -> exists ? Mono.<Void>empty() : createStatusEventCollection())
+        .then(ensureIndexes())
+        .then(resumeBackfill());
+  }
+
+  private Mono<Void> createStatusEventCollection() {
+    String collectionName = mongoTemplate.getCollectionName(BrdStatusEvent.class);
+    CreateCollectionOptions options =
+        new CreateCollectionOptions()
+            .timeSeriesOptions(
+                new TimeSeriesOptions(EVENT_TIMESTAMP)
+                    .metaField(ENTITY_ID)
+                    .granularity(TimeSeriesGranularity.HOURS))
+            .expireAfter(properties.getStatusEventRetention().toSeconds(), TimeUnit.SECONDS);
+
+    // The checkpoint comes first, so a collection that exists always has its backfill recorded
+    log.info("Creating time-series collection {}", collectionName);
+    return mongoTemplate
+        .upsert(
+            Query.query(Criteria.where("_id").is(collectionName)),
+            new Update().setOnInsert(COMPLETED, false),
+            BrdStatusBackfill.class)
+        .then(mongoTemplate.getMongoDatabase())
+        .flatMap(database -> Mono.from(database.createCollection(collectionName, options)))
+        .then()
+        .onErrorResume(
+            error ->
+                error instanceof MongoCommandException commandException
+                    && commandException.getErrorCode() == NAMESPACE_EXISTS,
+            error -> Mono.empty());
+  }
+
+  private Mono<Void> ensureIndexes() {
+    return mongoTemplate
+        .indexOps(BrdStatusTransitionRollup.class)
+        .ensureIndex(
+            new Index()
+                .on(ENTITY_ID, Sort.Direction.ASC)
+                .on(GRANULARITY, Sort.Direction.ASC)
+                .on(BUCKET_START, Sort.Direction.ASC)
+                .named("idx_rollups_entity_granularity_bucket"))
+        .then(
+            mongoTemplate
+                .indexOps(AuditLog.class)
+                .ensureIndex(
+                    new Index()
+                        .on(EVENT_TIMESTAMP, Sort.Direction.ASC)
+                        .named("idx_audit_logs_eventTimestamp")))
+        .then();
+  }
+
+  /**
+   * Projects all existing audit logs once, after the time-series collection is first created.
+   * Collections created before backfills were checkpointed have no checkpoint and are complete.
+   */
+  private Mono<Void> resumeBackfill() {
+    String collectionName = mongoTemplate.getCollectionName(BrdStatusEvent.class);
+    return mongoTemplate
+        .findById(collectionName, BrdStatusBackfill.class)
+        .filter(checkpoint -> !checkpoint.isCompleted())
+        .flatMap(this::backfill);
+  }
+
+  private Mono<Void> backfill(BrdStatusBackfill checkpoint) {
+    Criteria criteria =
+        Criteria.where(ENTITY_TYPE).is(ENTITY_TYPE_BRD).and(ACTION).in(PROJECTED_ACTIONS);
+    if (checkpoint.getLastEntityId() != null) {
+      log.info("Resuming BRD status event backfill after BRD {}", checkpoint.getLastEntityId());
+      criteria = criteria.and(ENTITY_ID).gt(checkpoint.getLastEntityId());
+    }
+    Query query =
+        Query.query(criteria).with(Sort.by(Sort.Direction.ASC, ENTITY_ID, EVENT_TIMESTAMP));
+    Query checkpointQuery = Query.query(Criteria.where("_id").is(checkpoint.getId()));
+
+    return mongoTemplate
+        .find(query, AuditLog.class)
+        .filter(AuditStatusProjector::isStatusBearing)
+        .map(AuditStatusProjector::toStatusEvent)
+        .bufferUntilChanged(BrdStatusEvent::getEntityId)
+        // BRDs finish in ID order, so the checkpoint never passes a BRD still being projected
+        .flatMapSequential(
+            events -> projectEntity(events.get(0).getEntityId(), events).thenReturn(events),
+            BACKFILL_CONCURRENCY)
+        .concatMap(
+            events ->
+                mongoTemplate
+                    .updateFirst(
+                        checkpointQuery,
+                        new Update().set(LAST_ENTITY_ID, events.get(0).getEntityId()),
+                        BrdStatusBackfill.class)
+                    .thenReturn(events.size()))
+        .reduce(0, Integer::sum)
+        .flatMap(
+            count ->
+                mongoTemplate
+                    .updateFirst(
+                        checkpointQuery, new Update().set(COMPLETED, true), BrdStatusBackfill.class)
+                    .doOnSuccess(result -> log.info("Backfilled {} BRD status events", count)))
+        .then();
+  }
+
+  private static boolean isStatusBearing(AuditLog auditLog) {
+    return ENTITY_TYPE_BRD.equals(auditLog.getEntityType())
+        && isProjected(auditLog.getAction())
+        && auditLog.getEntityId() != null
+        && auditLog.getEventTimestamp() != null;
+  }
+
+  static BrdStatusEvent toStatusEvent(AuditLog auditLog) {
+    Object status =
+        auditLog.getNewValues() != null
+            ? auditLog.getNewValues().get(BrdConstants.STATUS_FIELD)
+            : null;
+    return BrdStatusEvent.builder()
+        .auditId(auditLog.getAuditId())
+        .entityId(auditLog.getEntityId())
+        .action(auditLog.getAction())
+        .status(status != null ? Objects.toString(status).trim() : null)
+        .userName(auditLog.getUserName())
+        .userRole(auditLog.getUserRole())
+        .comment(auditLog.getComment())
+        .eventTimestamp(auditLog.getEventTimestamp())
+        .build();
+  }
+
+  record RollupDelta(
+      String entityId,
+      String fromStatus,
+      String toStatus,
+      LocalDateTime reachedAt,
+      long minutes,
+      int sign,
+      String id) {}
+}
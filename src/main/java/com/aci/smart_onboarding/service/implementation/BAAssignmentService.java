@@ -11,12 +11,12 @@ import com.aci.smart_onboarding.exception.BadRequestException;
 import com.aci.smart_onboarding.exception.NotFoundException;
 import com.aci.smart_onboarding.model.BAAssignment;
 import com.aci.smart_onboarding.model.BRD;
+import com.aci.smart_onboarding.model.User;
 import com.aci.smart_onboarding.repository.BAAssignmentRepository;
 import com.aci.smart_onboarding.repository.BRDRepository;
 import com.aci.smart_onboarding.service.IBAAssignmentService;
 import com.aci.smart_onboarding.service.IBRDService;
 import com.aci.smart_onboarding.service.IEmailService;
-import com.aci.smart_onboarding.service.IUserService;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
@@ -26,7 +26,6 @@ import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
 
@@ -39,24 +38,25 @@ public class BAAssignmentService implements IBAAssignmentService {
   private static final Duration INITIAL_BACKOFF = Duration.ofMillis(100);
   private static final Duration MAX_BACKOFF = Duration.ofSeconds(1);
   private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+  private static final String BA_EMAIL = "baEmail";
 
   private final BAAssignmentRepository baAssignmentRepository;
   private final IBRDService brdService;
   private final BRDRepository brdRepository;
   private final IEmailService emailService;
-  private final IUserService userService;
+  private final BrdReassignmentWriter brdReassignmentWriter;
 
   public BAAssignmentService(
       BAAssignmentRepository baAssignmentRepository,
       IBRDService brdService,
       BRDRepository brdRepository,
       IEmailService emailService,
-      IUserService userService) {
+      BrdReassignmentWriter brdReassignmentWriter) {
     this.baAssignmentRepository = baAssignmentRepository;
     this.brdService = brdService;
     this.brdRepository = brdRepository;
     this.emailService = emailService;
-    this.userService = userService;
+    this.brdReassignmentWriter = brdReassignmentWriter;
     log.info(
         "BAAssignmentServiceImpl initialized with EmailService: {}",
         emailService != null ? "present" : "null");
@@ -67,10 +67,14 @@ public class BAAssignmentService implements IBAAssignmentService {
   public Mono<AssignBAResponse> assignBA(String brdId, AssignBARequest request) {
     log.info("Starting BA assignment process - BRD: {}, BA: {}", brdId, request.getBaEmail());
 
+    // Identifies this assignment to the email outbox, so retries below queue its email once
+    String requestId = UUID.randomUUID().toString();
+
     return validateRequest(request)
         .then(validateBrdExists(brdId))
         .then(validateAndCreateAssignment(brdId, request))
-        .flatMap(assignment -> saveAssignmentAndUpdateBrd(assignment, request.getStatus()))
+        .flatMap(
+            assignment -> saveAssignmentAndUpdateBrd(assignment, request.getStatus(), requestId))
         .map(assignment -> createResponse(assignment, request.getStatus()))
         .timeout(TIMEOUT)
         .retryWhen(
@@ -198,7 +202,8 @@ public class BAAssignmentService implements IBAAssignmentService {
             .build());
   }
 
-  private Mono<BAAssignment> saveAssignmentAndUpdateBrd(BAAssignment assignment, String status) {
+  private Mono<BAAssignment> saveAssignmentAndUpdateBrd(
+      BAAssignment assignment, String status, String requestId) {
     return baAssignmentRepository
         .save(assignment)
         .flatMap(
@@ -213,7 +218,7 @@ public class BAAssignmentService implements IBAAssignmentService {
                                       brd.getBrdFormId(), status, assignment.getDescription())
                                   .then();
 
-                          // Send appropriate email notifications based on status
+                          // Queue appropriate email notifications based on status
                           Mono<Void> emailNotification = Mono.empty();
                           if (BrdConstants.STATUS_INTERNAL_REVIEW.equals(status)) {
                             emailNotification =
@@ -221,11 +226,13 @@ public class BAAssignmentService implements IBAAssignmentService {
                                     assignment.getBaEmail(),
                                     brd.getBrdId(),
                                     brd.getBrdName(),
-                                    brd.getBrdFormId());
+                                    brd.getBrdFormId(),
+                                    status,
+                                    requestId);
                           }
 
-                          // Complete both status update and email notification
-                          // If email fails, the error will be propagated
+                          // The notification is queued in the email outbox within the same
+                          // transaction, so a retried assignment cannot send it twice
                           return statusUpdate.then(emailNotification).thenReturn(savedAssignment);
                         })
                     .switchIfEmpty(
@@ -339,80 +346,120 @@ public class BAAssignmentService implements IBAAssignmentService {
   public Mono<Api<List<String>>> reassignBAs(List<BAReassignmentRequest> requests) {
     log.info("Processing batch BA reassignment for {} BRDs", requests.size());
 
-    return Flux.fromIterable(requests)
-        .concatMap(
-            request ->
-                userService
-                    .getUserByEmail(request.getNewBaUsername())
-                    .flatMap(
-                        userResponse -> {
-                          if (!SecurityConstants.ROLE_BA.equals(
-                              Objects.requireNonNull(userResponse.getBody())
-                                  .getData()
-                                  .get()
-                                  .getActiveRole())) {
-                            log.warn("User {} is not a BA", request.getNewBaUsername());
-                            return Mono.just(
-                                String.format(
-                                    "Failed to reassign BRD %s: User %s is not a BA",
-                                    request.getBrdId(), request.getNewBaUsername()));
-                          }
-
-                          return baAssignmentRepository
-                              .findByBrdId(request.getBrdId())
-                              .flatMap(
-                                  assignment -> {
-                                    assignment.setBaEmail(request.getNewBaUsername());
-                                    assignment.setUpdatedAt(LocalDateTime.now());
-                                    return baAssignmentRepository.save(assignment).thenReturn("");
-                                  })
-                              .switchIfEmpty(
-                                  Mono.just(
-                                      String.format(
-                                          "Failed to reassign BRD %s: BRD not found",
-                                          request.getBrdId())));
-                        })
-                    .onErrorResume(
-                        e -> {
-                          log.error(
-                              "Error reassigning BA for BRD {}: {}",
-                              request.getBrdId(),
-                              e.getMessage());
-                          return Mono.just(
+    List<String> baEmails =
+        requests.stream()
+            .map(BAReassignmentRequest::getNewBaUsername)
+            .filter(Objects::nonNull)
+            .map(String::toLowerCase)
+            .distinct()
+            .toList();
+    List<String> brdIds =
+        requests.stream().map(BAReassignmentRequest::getBrdId).distinct().toList();
+
+    return Mono.zip(
+            brdReassignmentWriter.findUsers(baEmails),
+            brdReassignmentWriter.findAssignees(BAAssignment.class, BA_EMAIL, brdIds))
+        .flatMap(found -> applyBAReassignments(requests, found.getT1(), found.getT2()))
+        .onErrorResume(
+            e -> {
+              log.error("Error reassigning BAs: {}", e.getMessage());
+              return Mono.just(
+                  requests.stream()
+                      .map(
+                          request ->
                               String.format(
                                   "Failed to reassign BRD %s: %s",
-                                  request.getBrdId(), e.getMessage()));
-                        }))
-        .collectList()
+                                  request.getBrdId(), e.getMessage()))
+                      .toList());
+            })
+        .map(this::buildReassignmentResponse);
+  }
+
+  /**
+   * Validates every request against the loaded users and assignments and writes all changes in
+   * one bulk write. A later request for the same BRD wins, and a request that leaves the BA as it
+   * is succeeds without a write.
+   *
+   * @return the error of each request, empty for the ones that succeeded
+   */
+  private Mono<List<String>> applyBAReassignments(
+      List<BAReassignmentRequest> requests,
+      Map<String, User> users,
+      Map<String, String> assignedBAs) {
+    String[] results = new String[requests.size()];
+    Map<String, String> currentBAs = new HashMap<>(assignedBAs);
+    Map<String, String> newBAs = new LinkedHashMap<>();
+
+    for (int i = 0; i < requests.size(); i++) {
+      BAReassignmentRequest request = requests.get(i);
+      String newBa = request.getNewBaUsername();
+      User user = newBa == null ? null : users.get(newBa.toLowerCase());
+      if (user == null) {
+        results[i] =
+            String.format(
+                "Failed to reassign BRD %s: User not found with email: %s",
+                request.getBrdId(), newBa);
+      } else if (!SecurityConstants.ROLE_BA.equals(user.getActiveRole())) {
+        log.warn("User {} is not a BA", newBa);
+        results[i] =
+            String.format(
+                "Failed to reassign BRD %s: User %s is not a BA", request.getBrdId(), newBa);
+      } else if (!assignedBAs.containsKey(request.getBrdId())) {
+        results[i] = String.format("Failed to reassign BRD %s: BRD not found", request.getBrdId());
+      } else {
+        results[i] = "";
+        if (!Objects.equals(currentBAs.get(request.getBrdId()), newBa)) {
+          currentBAs.put(request.getBrdId(), newBa);
+          newBAs.put(request.getBrdId(), newBa);
+        }
+      }
+    }
+
+    return brdReassignmentWriter
+        .reassign(BAAssignment.class, BA_EMAIL, newBAs)
         .map(
-            results -> {
-              List<String> errors = results.stream().filter(result -> !result.isEmpty()).toList();
-
-              log.info("Found {} errors during batch reassignment", errors.size());
-              if (!errors.isEmpty()) {
-                Map<String, String> errorMap = new HashMap<>();
-                for (int i = 0; i < errors.size(); i++) {
-                  String error = errors.get(i);
-                  String key = "error" + (i + 1);
-                  log.info("Adding error with key {}: {}", key, error);
-                  errorMap.put(key, error);
+            writeErrors -> {
+              for (int i = 0; i < requests.size(); i++) {
+                String brdId = requests.get(i).getBrdId();
+                if (results[i].isEmpty() && newBAs.containsKey(brdId)) {
+                  String writeError = writeErrors.get(brdId);
+                  if (writeError != null) {
+                    log.error("Error reassigning BA for BRD {}: {}", brdId, writeError);
+                    results[i] = String.format("Failed to reassign BRD %s: %s", brdId, writeError);
+                  }
                 }
-
-                return new Api<>(
-                    BrdConstants.FAILURE,
-                    "Some reassignments failed",
-                    Optional.empty(),
-                    Optional.of(errorMap));
               }
-
-              return new Api<>(
-                  BrdConstants.SUCCESSFUL,
-                  "All BAs reassigned successfully",
-                  Optional.empty(),
-                  Optional.empty());
+              return Arrays.asList(results);
             });
   }
 
+  private Api<List<String>> buildReassignmentResponse(List<String> results) {
+    List<String> errors = results.stream().filter(result -> !result.isEmpty()).toList();
+
+    log.info("Found {} errors during batch reassignment", errors.size());
+    if (!errors.isEmpty()) {
+      Map<String, String> errorMap = new HashMap<>();
+      for (int i = 0; i < errors.size(); i++) {
+        String error = errors.get(i);
+        String key = "error" + (i + 1);
+        log.info("Adding error with key {}: {}", key, error);
+        errorMap.put(key, error);
+      }
+
+      return new Api<>(
+          BrdConstants.FAILURE,
+          "Some reassignments failed",
+          Optional.empty(),
+          Optional.of(errorMap));
+    }
+
+    return new Api<>(
+        BrdConstants.SUCCESSFUL,
+        "All BAs reassigned successfully",
+        Optional.empty(),
+        Optional.empty());
+  }
+
   @Override
   public Mono<Boolean> isBAAssignedToUser(String brdId, String baEmail) {
     log.info("Checking if BA {} is assigned to BRD: {}", baEmail, brdId);
@@ -6,6 +6,7 @@ import com.aci.smart_onboarding.dto.*;
 import com.aci.smart_onboarding.exception.AlreadyExistException;
 import com.aci.smart_onboarding.exception.BadRequestException;
 import com.aci.smart_onboarding.exception.NotFoundException;
+import com.aci.smart_onboarding.logging.Measured;
 import com.aci.smart_onboarding.mapper.DtoModelMapper;
 import com.aci.smart_onboarding.model.BRD;
 import com.aci.smart_onboarding.model.BrdTemplateConfig;
@@ -46,6 +47,8 @@ import reactor.core.publisher.Mono;
 public class BRDService implements IBRDService {
 
   private static final Logger log = LoggerFactory.getLogger(BRDService.class);
+  private static final Sort BRD_LIST_SORT =
+      Sort.by(Sort.Order.desc("updatedAt"), Sort.Order.desc("createdAt"));
   private final BRDRepository brdRepository;
   private final DtoModelMapper dtoModelMapper;
   private final ReactiveMongoTemplate reactiveMongoTemplate;
@@ -208,6 +211,7 @@ public class BRDService implements IBRDService {
   }
 
   @Override
+  @Measured
   public Mono<ResponseEntity<Api<BRDCountDataResponse>>> getBrdList(int page, int size) {
     if (page < 0 || size <= 0) {
       return Mono.error(
@@ -215,15 +219,12 @@ public class BRDService implements IBRDService {
               "Page number must be non-negative and size must be greater than 0."));
     }
 
-    Sort sortedByUpdatedAtAndCreatedAt =
-        Sort.by(Sort.Order.desc("updatedAt"), Sort.Order.desc("createdAt"));
-
     return brdRepository
         .count()
         .flatMap(
             totalCount ->
                 brdRepository
-                    .findAllBy(PageRequest.of(page, size, sortedByUpdatedAtAndCreatedAt))
+                    .findAllBy(PageRequest.of(page, size, BRD_LIST_SORT))
                     .collectList()
                     .flatMap(
                         brdSections -> {
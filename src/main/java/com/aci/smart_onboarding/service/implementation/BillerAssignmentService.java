@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.regex.Pattern;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -87,10 +88,14 @@ public class BillerAssignmentService implements IBillerAssignmentService {
         brdId,
         request.getBillerEmail());
 
+    // Identifies this assignment to the email outbox, so retries below queue its email once
+    String requestId = UUID.randomUUID().toString();
+
     return validateRequest(request)
         .then(validateBrdExists(brdId))
         .then(validateAndCreateAssignment(brdId, request))
-        .flatMap(assignment -> saveAssignmentAndUpdateBrd(assignment, request.getStatus()))
+        .flatMap(
+            assignment -> saveAssignmentAndUpdateBrd(assignment, request.getStatus(), requestId))
         .map(assignment -> createResponse(assignment, request.getStatus()))
         .timeout(TIMEOUT)
         .retryWhen(
@@ -231,8 +236,8 @@ public class BillerAssignmentService implements IBillerAssignmentService {
   }
 
   /**
-   * Saves the biller assignment and updates the BRD status atomically. Also sends appropriate email
-   * notifications based on the status change.
+   * Saves the biller assignment and updates the BRD status atomically. Also queues appropriate
+   * email notifications based on the status change.
    *
    * @param assignment The biller assignment to save
    * @param status The new status to set for the BRD
@@ -240,7 +245,7 @@ public class BillerAssignmentService implements IBillerAssignmentService {
    * @throws NotFoundException if the BRD is not found
    */
   private Mono<BillerAssignment> saveAssignmentAndUpdateBrd(
-      BillerAssignment assignment, String status) {
+      BillerAssignment assignment, String status, String requestId) {
     return billerAssignmentRepository
         .save(assignment)
         .flatMap(
@@ -255,7 +260,7 @@ public class BillerAssignmentService implements IBillerAssignmentService {
                                       brd.getBrdFormId(), status, assignment.getDescription())
                                   .then();
 
-                          // Send appropriate email notifications based on status
+                          // Queue appropriate email notifications based on status
                           Mono<Void> emailNotification;
                           if (BrdConstants.STATUS_IN_PROGRESS.equals(status)) {
                             emailNotification =
@@ -263,18 +268,21 @@ public class BillerAssignmentService implements IBillerAssignmentService {
                                     assignment.getBillerEmail(),
                                     brd.getBrdId(),
                                     brd.getBrdName(),
-                                    brd.getBrdFormId());
+                                    brd.getBrdFormId(),
+                                    status,
+                                    requestId);
                           } else {
                             emailNotification =
                                 emailService.sendBillerWelcomeEmail(
                                     assignment.getBillerEmail(),
                                     brd.getBrdId(),
                                     brd.getBrdName(),
-                                    brd.getBrdFormId());
+                                    brd.getBrdFormId(),
+                                    requestId);
                           }
 
-                          // Complete both status update and email notification
-                          // If email fails, the error will be propagated
+                          // The notification is queued in the email outbox within the same
+                          // transaction, so a retried assignment cannot send it twice
                           return statusUpdate.then(emailNotification).thenReturn(savedAssignment);
                         })
                     .switchIfEmpty(
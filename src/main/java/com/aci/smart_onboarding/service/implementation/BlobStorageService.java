@@ -9,20 +9,26 @@ import com.aci.smart_onboarding.model.WalletronExampleImages;
 import com.aci.smart_onboarding.repository.WalletronExampleImagesRepository;
 import com.aci.smart_onboarding.service.IBlobStorageService;
 import com.azure.core.util.BinaryData;
+import com.azure.core.util.Context;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.models.BlobHttpHeaders;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.BlockListType;
 import com.azure.storage.blob.sas.BlobSasPermission;
 import com.azure.storage.blob.sas.BlobServiceSasSignatureValues;
+import com.azure.storage.blob.specialized.BlockBlobClient;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
@@ -38,6 +44,12 @@ import reactor.core.scheduler.Schedulers;
 @Service
 public class BlobStorageService implements IBlobStorageService {
 
+  /**
+   * Committed blocks past which an append re-stages the file as one block. Azure rejects commits
+   * of more than 50,000 blocks per blob.
+   */
+  static final int MAX_COMMITTED_BLOCKS = 1_000;
+
   private final BlobContainerClient blobContainerClient;
   private final WalletronExampleImagesRepository walletronExampleImagesRepository;
 
@@ -180,6 +192,82 @@ public class BlobStorageService implements IBlobStorageService {
         .then();
   }
 
+  @Override
+  public Mono<String> getFileETag(String fileName) {
+    return Mono.fromCallable(
+            () -> blobContainerClient.getBlobClient(fileName).getProperties().getETag())
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  @Override
+  public Mono<String> appendToFile(String fileName, String content, String expectedETag) {
+    return Mono.fromCallable(
+            () -> {
+              try {
+                BlockBlobClient blockBlobClient =
+                    blobContainerClient.getBlobClient(fileName).getBlockBlobClient();
+                List<String> blockIds = committedBlockIds(blockBlobClient, expectedETag);
+                blockIds.add(stageBlock(blockBlobClient, content.getBytes(StandardCharsets.UTF_8)));
+                // Commits only if nobody changed the file since it was read at expectedETag
+                return blockBlobClient
+                    .commitBlockListWithResponse(
+                        blockIds,
+                        new BlobHttpHeaders().setContentType(MediaType.TEXT_PLAIN_VALUE),
+                        null,
+                        null,
+                        new BlobRequestConditions().setIfMatch(expectedETag),
+                        null,
+                        Context.NONE)
+                    .getValue()
+                    .getETag();
+              } catch (Exception e) {
+                log.error(
+                    "Error appending to file {} in blob storage: {}", fileName, e.getMessage());
+                throw new BlobStorageException("Failed to append to file in blob storage", e);
+              }
+            })
+        .subscribeOn(Schedulers.boundedElastic());
+  }
+
+  /**
+   * Block IDs of the file's committed blocks. A file uploaded in one piece has no blocks yet, so
+   * its content is staged as the first block, once; every later append only stages the new part.
+   * Once appends have piled up {@link #MAX_COMMITTED_BLOCKS} blocks, the content is staged again as
+   * one block, and the commit drops the old ones.
+   */
+  private List<String> committedBlockIds(BlockBlobClient blockBlobClient, String expectedETag) {
+    List<String> blockIds = new ArrayList<>();
+    blockBlobClient
+        .listBlocks(BlockListType.COMMITTED)
+        .getCommittedBlocks()
+        .forEach(block -> blockIds.add(block.getName()));
+    if (blockIds.isEmpty() || blockIds.size() >= MAX_COMMITTED_BLOCKS) {
+      blockIds.clear();
+      ByteArrayOutputStream existing = new ByteArrayOutputStream();
+      blockBlobClient.downloadStreamWithResponse(
+          existing,
+          null,
+          null,
+          new BlobRequestConditions().setIfMatch(expectedETag),
+          false,
+          null,
+          Context.NONE);
+      if (existing.size() > 0) {
+        blockIds.add(stageBlock(blockBlobClient, existing.toByteArray()));
+      }
+    }
+    return blockIds;
+  }
+
+  private String stageBlock(BlockBlobClient blockBlobClient, byte[] data) {
+    // Same-length IDs, as the SDK's own uploads use; a blob's block IDs must not differ in length
+    String blockId =
+        Base64.getEncoder()
+            .encodeToString(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+    blockBlobClient.stageBlock(blockId, new ByteArrayInputStream(data), data.length);
+    return blockId;
+  }
+
   @Override
   public Mono<String> uploadFile(String fileName, byte[] fileContent) {
     return Mono.fromCallable(
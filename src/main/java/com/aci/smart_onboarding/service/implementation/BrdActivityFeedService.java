@@ -0,0 +1,402 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.config.ActivityFeedProperties;
+import com.aci.smart_onboarding.dto.BrdActivityEvent;
+import com.aci.smart_onboarding.dto.StreamApi;
+import com.aci.smart_onboarding.service.IBrdActivityFeedService;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * Pushes BRD status and comment group changes to subscribers using a single database-level change
+ * stream over {@code brd} and {@code brd_field_comment}.
+ *
+ * <p>All live subscribers share one cursor and are filtered by BRD in memory. A subscriber that
+ * reconnects with the ID of the last event it received gets its own cursor resumed after that
+ * token, only until it reaches the event the shared cursor had delivered when the subscriber
+ * connected. It then continues on the shared stream, which it joined on connecting, and events
+ * seen on both are delivered once. When the token can no longer be resumed the subscriber receives
+ * a RESYNC_REQUIRED event and continues on the shared stream.
+ *
+ * <p>A BRD change is only an event when it sets the status: the BRD is inserted or its status is
+ * updated. Replacing the whole document, as saving the BRD entity does, is not reported, because
+ * the previous status is not known.
+ */
+@Service
+public class BrdActivityFeedService implements IBrdActivityFeedService {
+
+  private static final Logger log = LoggerFactory.getLogger(BrdActivityFeedService.class);
+
+  static final String BRD_COLLECTION = "brd";
+  static final String COMMENT_COLLECTION = "brd_field_comment";
+  private static final String STATUS_FIELD = "status";
+  private static final String BRD_FORM_ID_FIELD = "brdFormId";
+  private static final String SUCCESS_STATUS = "success";
+  private static final Set<Integer> UNRESUMABLE_ERROR_CODES = Set.of(260, 280, 286);
+
+  private static final Document RELEVANT_CHANGES =
+      new Document(
+          "$or",
+          List.of(
+              new Document("ns.coll", COMMENT_COLLECTION)
+                  .append(
+                      "operationType",
+                      new Document("$in", List.of("insert", "update", "replace"))),
+              new Document("ns.coll", BRD_COLLECTION)
+                  .append(
+                      "$or",
+                      List.of(
+                          new Document("operationType", "insert"),
+                          new Document(
+                              "updateDescription.updatedFields.status",
+                              new Document("$exists", true))))));
+
+  // Only the fields needed to build an event leave the server; comment bodies and BRD sections
+  // are projected out after the update lookup.
+  private static final Document EVENT_PROJECTION =
+      new Document("operationType", 1)
+          .append("ns", 1)
+          .append("documentKey", 1)
+          .append("clusterTime", 1)
+          .append("updateDescription.updatedFields.status", 1)
+          .append("updateDescription.removedFields", 1)
+          .append("fullDocument.brdFormId", 1)
+          .append("fullDocument.sourceType", 1)
+          .append("fullDocument.siteId", 1)
+          .append("fullDocument.sectionName", 1)
+          .append("fullDocument.fieldPath", 1)
+          .append("fullDocument.status", 1);
+
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final ActivityFeedProperties activityFeedProperties;
+  // Last event delivered by the shared stream: where it resumes, and where catch-ups end
+  private final AtomicReference<ActivityEnvelope> lastSharedEvent = new AtomicReference<>();
+  private final Flux<ActivityEnvelope> sharedEvents;
+
+  public BrdActivityFeedService(
+      ReactiveMongoTemplate mongoTemplate, ActivityFeedProperties activityFeedProperties) {
+    this.mongoTemplate = mongoTemplate;
+    this.activityFeedProperties = activityFeedProperties;
+    this.sharedEvents =
+        Flux.defer(() -> openChangeStream(sharedResumeToken(), null))
+            .doOnNext(lastSharedEvent::set)
+            .doOnError(this::discardResumeTokenIfUnusable)
+            .retryWhen(
+                Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                    .maxBackoff(activityFeedProperties.getMaxReconnectBackoff())
+                    .doBeforeRetry(
+                        signal ->
+                            log.warn(
+                                "Reopening BRD activity change stream after error: {}",
+                                signal.failure().getMessage())))
+            .doOnCancel(() -> lastSharedEvent.set(null))
+            .publish()
+            .refCount();
+  }
+
+  private BsonValue sharedResumeToken() {
+    ActivityEnvelope last = lastSharedEvent.get();
+    return last != null ? last.resumeToken() : null;
+  }
+
+  @Override
+  public Flux<ServerSentEvent<StreamApi<BrdActivityEvent>>> subscribe(
+      String brdFormId, String lastEventId) {
+    Flux<ActivityEnvelope> events =
+        lastEventId == null || lastEventId.isBlank()
+            ? liveEvents(brdFormId)
+            : resumedEvents(brdFormId, lastEventId);
+
+    Flux<ServerSentEvent<StreamApi<BrdActivityEvent>>> activity =
+        events
+            .onBackpressureBuffer(
+                activityFeedProperties.getSubscriberBufferSize(),
+                dropped -> log.warn("Activity feed subscriber for BRD {} is lagging", brdFormId),
+                BufferOverflowStrategy.DROP_OLDEST)
+            .map(this::toServerSentEvent);
+
+    Flux<ServerSentEvent<StreamApi<BrdActivityEvent>>> heartbeats =
+        Flux.interval(activityFeedProperties.getHeartbeatInterval())
+            .map(
+                tick ->
+                    ServerSentEvent.<StreamApi<BrdActivityEvent>>builder()
+                        .comment("keep-alive")
+                        .build());
+
+    return Flux.merge(activity, heartbeats);
+  }
+
+  private Flux<ActivityEnvelope> liveEvents(String brdFormId) {
+    return sharedEvents.filter(envelope -> brdFormId.equals(envelope.event().getBrdFormId()));
+  }
+
+  private Flux<ActivityEnvelope> resumedEvents(String brdFormId, String lastEventId) {
+    BsonDocument resumeToken;
+    try {
+      resumeToken = BsonDocument.parse(lastEventId);
+    } catch (RuntimeException e) {
+      log.warn("Ignoring malformed activity feed resume token for BRD {}", brdFormId);
+      return resyncThenLive(brdFormId);
+    }
+
+    return Flux.defer(
+        () -> {
+          // Joined before the position is read, so every event after it reaches the subscriber.
+          // Without a position yet, the first event the shared stream delivers ends the catch-up.
+          Sinks.Many<ActivityEnvelope> held = Sinks.many().unicast().onBackpressureBuffer();
+          AtomicReference<ActivityEnvelope> windowEnd = new AtomicReference<>();
+          Disposable joined =
+              sharedEvents
+                  .doOnNext(envelope -> windowEnd.compareAndSet(null, envelope))
+                  .filter(envelope -> brdFormId.equals(envelope.event().getBrdFormId()))
+                  .subscribe(held::tryEmitNext, held::tryEmitError, held::tryEmitComplete);
+          ActivityEnvelope position = lastSharedEvent.get();
+          if (position != null) {
+            windowEnd.set(position);
+          }
+
+          Flux<ActivityEnvelope> catchUp =
+              openChangeStream(resumeToken, catchUpFilter(brdFormId, position))
+                  .takeUntil(envelope -> reaches(envelope, windowEnd.get()))
+                  .filter(envelope -> brdFormId.equals(envelope.event().getBrdFormId()))
+                  .onErrorResume(
+                      error -> {
+                        log.warn(
+                            "Could not resume activity feed for BRD {}: {}",
+                            brdFormId,
+                            error.getMessage());
+                        return Flux.just(resync(brdFormId));
+                      });
+
+          return catchUp
+              .concatWith(held.asFlux())
+              .filter(firstDelivery())
+              .doFinally(signal -> joined.dispose());
+        });
+  }
+
+  /**
+   * Events of the BRD, and every event from the window end on so the catch-up sees the end. With
+   * no window end yet, the end can be any event, so nothing is filtered by BRD server side.
+   */
+  private Document catchUpFilter(String brdFormId, ActivityEnvelope windowEnd) {
+    if (windowEnd == null) {
+      return null;
+    }
+    return new Document(
+        "$or",
+        List.of(
+            belongsToBrd(brdFormId),
+            new Document("clusterTime", new Document("$gte", windowEnd.clusterTime()))));
+  }
+
+  /** Whether a catch-up event is the window end, or lies beyond it */
+  private static boolean reaches(ActivityEnvelope envelope, ActivityEnvelope windowEnd) {
+    if (windowEnd == null) {
+      return false;
+    }
+    return envelope.resumeToken().equals(windowEnd.resumeToken())
+        || envelope.clusterTime().compareTo(windowEnd.clusterTime()) > 0;
+  }
+
+  /**
+   * Drops events already delivered to this subscriber. The catch-up and the shared stream only
+   * overlap around the window end, so remembering the most recent event IDs is enough.
+   */
+  private Predicate<ActivityEnvelope> firstDelivery() {
+    int remembered = activityFeedProperties.getSubscriberBufferSize();
+    Set<BsonValue> delivered =
+        Collections.newSetFromMap(
+            new LinkedHashMap<>() {
+              @Override
+              protected boolean removeEldestEntry(Map.Entry<BsonValue, Boolean> eldest) {
+                return size() > remembered;
+              }
+            });
+    return envelope -> envelope.resumeToken() == null || delivered.add(envelope.resumeToken());
+  }
+
+  private Flux<ActivityEnvelope> resyncThenLive(String brdFormId) {
+    return Flux.just(resync(brdFormId)).concatWith(liveEvents(brdFormId));
+  }
+
+  private static ActivityEnvelope resync(String brdFormId) {
+    BrdActivityEvent resync =
+        BrdActivityEvent.builder()
+            .eventType(BrdActivityEvent.RESYNC_REQUIRED)
+            .brdFormId(brdFormId)
+            .occurredAt(Instant.now())
+            .build();
+    return new ActivityEnvelope(null, null, resync);
+  }
+
+  private Flux<ActivityEnvelope> openChangeStream(BsonValue resumeToken, Document filter) {
+    List<Document> pipeline = new ArrayList<>();
+    pipeline.add(new Document("$match", RELEVANT_CHANGES));
+    if (filter != null) {
+      pipeline.add(new Document("$match", filter));
+    }
+    pipeline.add(new Document("$project", EVENT_PROJECTION));
+
+    ChangeStreamOptions.ChangeStreamOptionsBuilder options =
+        ChangeStreamOptions.builder()
+            .filter(pipeline.toArray(new Document[0]))
+            .fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+    if (resumeToken != null) {
+      options.resumeAfter(resumeToken);
+    }
+
+    return mongoTemplate
+        .changeStream(null, null, options.build(), Document.class)
+        .mapNotNull(this::toEnvelope);
+  }
+
+  private Document belongsToBrd(String brdFormId) {
+    List<Object> brdKeys =
+        ObjectId.isValid(brdFormId)
+            ? List.of(brdFormId, new ObjectId(brdFormId))
+            : List.of(brdFormId);
+    return new Document(
+        "$or",
+        List.of(
+            new Document("fullDocument." + BRD_FORM_ID_FIELD, brdFormId),
+            new Document("ns.coll", BRD_COLLECTION)
+                .append("documentKey._id", new Document("$in", brdKeys))));
+  }
+
+  private ActivityEnvelope toEnvelope(ChangeStreamEvent<Document> changeEvent) {
+    ChangeStreamDocument<Document> raw = changeEvent.getRaw();
+    if (raw == null || raw.getNamespace() == null) {
+      return null;
+    }
+
+    BrdActivityEvent event =
+        toActivityEvent(
+            raw.getNamespace().getCollectionName(),
+            raw.getOperationTypeString(),
+            raw.getDocumentKey(),
+            raw.getFullDocument(),
+            raw.getUpdateDescription() != null
+                ? raw.getUpdateDescription().getUpdatedFields()
+                : null,
+            changeEvent.getTimestamp());
+    return event != null
+        ? new ActivityEnvelope(changeEvent.getResumeToken(), raw.getClusterTime(), event)
+        : null;
+  }
+
+  /**
+   * Builds the activity event for a change, or returns null when the change carries nothing a
+   * subscriber needs
+   */
+  BrdActivityEvent toActivityEvent(
+      String collectionName,
+      String operation,
+      BsonDocument documentKey,
+      Document fullDocument,
+      BsonDocument updatedFields,
+      Instant occurredAt) {
+    if (COMMENT_COLLECTION.equals(collectionName)) {
+      if (fullDocument == null) {
+        return null;
+      }
+      return BrdActivityEvent.builder()
+          .eventType(BrdActivityEvent.COMMENT_GROUP_CHANGED)
+          .operation(operation)
+          .brdFormId(fullDocument.getString(BRD_FORM_ID_FIELD))
+          .commentGroupId(idOf(documentKey))
+          .sourceType(fullDocument.getString("sourceType"))
+          .siteId(fullDocument.getString("siteId"))
+          .sectionName(fullDocument.getString("sectionName"))
+          .fieldPath(fullDocument.getString("fieldPath"))
+          .status(fullDocument.getString(STATUS_FIELD))
+          .occurredAt(occurredAt)
+          .build();
+    }
+
+    if (BRD_COLLECTION.equals(collectionName)) {
+      String status = null;
+      if (updatedFields != null && updatedFields.isString(STATUS_FIELD)) {
+        status = updatedFields.getString(STATUS_FIELD).getValue();
+      } else if ("insert".equals(operation) && fullDocument != null) {
+        status = fullDocument.getString(STATUS_FIELD);
+      }
+      if (status == null) {
+        return null;
+      }
+      return BrdActivityEvent.builder()
+          .eventType(BrdActivityEvent.BRD_STATUS_CHANGED)
+          .operation(operation)
+          .brdFormId(idOf(documentKey))
+          .status(status)
+          .occurredAt(occurredAt)
+          .build();
+    }
+
+    return null;
+  }
+
+  private String idOf(BsonDocument documentKey) {
+    if (documentKey == null || !documentKey.containsKey("_id")) {
+      return null;
+    }
+    BsonValue id = documentKey.get("_id");
+    if (id.isObjectId()) {
+      return id.asObjectId().getValue().toHexString();
+    }
+    return id.isString() ? id.asString().getValue() : id.toString();
+  }
+
+  private ServerSentEvent<StreamApi<BrdActivityEvent>> toServerSentEvent(
+      ActivityEnvelope envelope) {
+    BrdActivityEvent event = envelope.event();
+    ServerSentEvent.Builder<StreamApi<BrdActivityEvent>> builder =
+        ServerSentEvent.<StreamApi<BrdActivityEvent>>builder()
+            .event(event.getEventType())
+            .data(new StreamApi<>(SUCCESS_STATUS, event.getEventType(), event, Optional.empty()));
+    if (envelope.resumeToken() instanceof BsonDocument token) {
+      builder.id(token.toJson());
+    }
+    return builder.build();
+  }
+
+  private void discardResumeTokenIfUnusable(Throwable error) {
+    if (error instanceof MongoCommandException commandException
+        && UNRESUMABLE_ERROR_CODES.contains(commandException.getErrorCode())) {
+      log.warn("BRD activity change stream cannot be resumed, restarting from now");
+      lastSharedEvent.set(null);
+    }
+  }
+
+  private record ActivityEnvelope(
+      BsonValue resumeToken, BsonTimestamp clusterTime, BrdActivityEvent event) {}
+}
@@ -22,12 +22,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
@@ -48,6 +52,9 @@ public class BrdFieldCommentService implements IBrdFieldCommentService {
   private final IBRDService brdService;
   private final IAuditLogService auditLogService;
   private static final Logger log = LoggerFactory.getLogger(BrdFieldCommentService.class);
+  private static final String SOURCE_TYPE_FIELD = "sourceType";
+  private static final String SITE_ID_FIELD = "siteId";
+  private static final String COUNT_FIELD = "count";
 
   @Override
   public Mono<ResponseEntity<Api<BrdFieldCommentGroupResp>>> createOrUpdateFieldCommentGroup(
@@ -829,30 +836,33 @@ public class BrdFieldCommentService implements IBrdFieldCommentService {
       return Mono.error(new BadRequestException("Status must be either 'Pending' or 'Resolved'"));
     }
 
-    Query query =
-        Query.query(
-            Criteria.where(BrdConstants.BRD_FORM_ID)
-                .is(brdFormId)
-                .and(BrdConstants.STATUS_FIELD)
-                .is(status));
+    // Counts are grouped server side so the response is a handful of small documents, no matter
+    // how many comments the BRD has. Comment bodies are served by getCommentGroupsByStatusPage.
+    TypedAggregation<BrdFieldCommentGroup> aggregation =
+        Aggregation.newAggregation(
+            BrdFieldCommentGroup.class,
+            Aggregation.match(
+                Criteria.where(BrdConstants.BRD_FORM_ID)
+                    .is(brdFormId)
+                    .and(BrdConstants.STATUS_FIELD)
+                    .is(status)),
+            Aggregation.group(SOURCE_TYPE_FIELD, SITE_ID_FIELD).count().as(COUNT_FIELD));
 
     return reactiveMongoTemplate
-        .find(query, BrdFieldCommentGroup.class)
+        .aggregate(aggregation, Document.class)
         .collectList()
-        .flatMap(
-            allCommentGroups -> {
-              if (allCommentGroups.isEmpty()) {
-                return Mono.just(
-                    ResponseEntity.ok(
-                        new Api<>(
-                            BrdConstants.SUCCESSFUL,
-                            "No " + status.toLowerCase() + " comments found for BRD: " + brdFormId,
-                            Optional.of(createEmptyResponse()),
-                            Optional.empty())));
+        .map(
+            countDocuments -> {
+              if (countDocuments.isEmpty()) {
+                return ResponseEntity.ok(
+                    new Api<>(
+                        BrdConstants.SUCCESSFUL,
+                        "No " + status.toLowerCase() + " comments found for BRD: " + brdFormId,
+                        Optional.of(createEmptyResponse()),
+                        Optional.empty()));
               }
 
-              // Process the comment groups and create the response
-              return processCommentGroupsByStatus(allCommentGroups, brdFormId, status);
+              return buildCommentStatsResponse(countDocuments, brdFormId, status);
             })
         .onErrorResume(
             e -> {
@@ -868,82 +878,114 @@ public class BrdFieldCommentService implements IBrdFieldCommentService {
             });
   }
 
-  private Mono<ResponseEntity<Api<CommentStatsByStatusResponse>>> processCommentGroupsByStatus(
-      List<BrdFieldCommentGroup> allCommentGroups, String brdFormId, String status) {
+  private ResponseEntity<Api<CommentStatsByStatusResponse>> buildCommentStatsResponse(
+      List<Document> countDocuments, String brdFormId, String status) {
+    int brdCount = 0;
+    Map<String, Integer> siteCounts = new HashMap<>();
+
+    for (Document countDocument : countDocuments) {
+      Document groupKey = countDocument.get("_id", Document.class);
+      int count = countDocument.get(COUNT_FIELD, Number.class).intValue();
+      String sourceType = groupKey.getString(SOURCE_TYPE_FIELD);
+      String siteId = groupKey.getString(SITE_ID_FIELD);
+
+      if (BrdConstants.SOURCE_TYPE_BRD.equals(sourceType)) {
+        brdCount += count;
+      } else if (BrdConstants.SOURCE_TYPE_SITE.equals(sourceType) && siteId != null) {
+        siteCounts.merge(siteId, count, Integer::sum);
+      }
+    }
 
-    List<BrdFieldCommentGroup> brdGroups = new ArrayList<>();
-    Map<String, List<BrdFieldCommentGroup>> siteGroupsMap = new HashMap<>();
+    int totalCount = brdCount + siteCounts.values().stream().mapToInt(Integer::intValue).sum();
 
-    for (BrdFieldCommentGroup group : allCommentGroups) {
-      if (BrdConstants.SOURCE_TYPE_BRD.equals(group.getSourceType())) {
-        brdGroups.add(group);
-      } else if (BrdConstants.SOURCE_TYPE_SITE.equals(group.getSourceType())
-          && group.getSiteId() != null) {
-        siteGroupsMap.computeIfAbsent(group.getSiteId(), k -> new ArrayList<>()).add(group);
-      }
+    CommentStatsByStatusResponse response =
+        CommentStatsByStatusResponse.builder()
+            .totalCount(totalCount)
+            .brdCount(brdCount)
+            .siteCounts(siteCounts)
+            .build();
+
+    String message =
+        status.equals(BrdConstants.COMMENT_STATUS_PENDING)
+            ? BrdConstants.PENDING_COMMENTS_RETRIEVED_SUCCESS
+            : "Resolved comments retrieved successfully";
+
+    return ResponseEntity.ok(
+        new Api<>(
+            BrdConstants.SUCCESSFUL,
+            message + " for BRD: " + brdFormId,
+            Optional.of(response),
+            Optional.empty()));
+  }
+
+  @Override
+  public Mono<ResponseEntity<Api<Page<BrdFieldCommentGroupResp>>>> getCommentGroupsByStatusPage(
+      String brdFormId, String status, String siteId, int page, int size) {
+    if (brdFormId == null || brdFormId.isBlank()) {
+      return Mono.error(new BadRequestException("BRD Form ID cannot be null or empty"));
     }
 
-    Mono<List<BrdFieldCommentGroupResp>> brdCommentsMono =
-        Flux.fromIterable(brdGroups).map(dtoModelMapper::mapToGroupResponse).collectList();
+    if (!BrdConstants.COMMENT_STATUS_PENDING.equals(status)
+        && !BrdConstants.COMMENT_STATUS_RESOLVED.equals(status)) {
+      return Mono.error(new BadRequestException("Status must be either 'Pending' or 'Resolved'"));
+    }
 
-    Mono<Map<String, List<BrdFieldCommentGroupResp>>> siteCommentsMono =
-        Flux.fromIterable(siteGroupsMap.entrySet())
-            .flatMap(
-                entry -> {
-                  String siteId = entry.getKey();
-                  List<BrdFieldCommentGroup> siteGroups = entry.getValue();
+    if (page < 0 || size <= 0) {
+      return Mono.error(
+          new BadRequestException("Page must be non-negative and size must be positive"));
+    }
 
-                  return Flux.fromIterable(siteGroups)
-                      .map(dtoModelMapper::mapToGroupResponse)
-                      .collectList()
-                      .map(groupResps -> Map.entry(siteId, groupResps));
-                })
-            .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    Criteria criteria =
+        Criteria.where(BrdConstants.BRD_FORM_ID)
+            .is(brdFormId)
+            .and(BrdConstants.STATUS_FIELD)
+            .is(status);
+    if (siteId != null && !siteId.isBlank()) {
+      criteria.and(SITE_ID_FIELD).is(siteId);
+    }
 
-    return Mono.zip(brdCommentsMono, siteCommentsMono)
+    PageRequest pageRequest =
+        PageRequest.of(page, size, Sort.by(SOURCE_TYPE_FIELD, SITE_ID_FIELD, "_id"));
+    Query countQuery = Query.query(criteria);
+    Query pageQuery = Query.query(criteria).with(pageRequest);
+
+    return Mono.zip(
+            reactiveMongoTemplate
+                .find(pageQuery, BrdFieldCommentGroup.class)
+                .map(dtoModelMapper::mapToGroupResponse)
+                .collectList(),
+            reactiveMongoTemplate.count(countQuery, BrdFieldCommentGroup.class))
         .map(
             tuple -> {
-              List<BrdFieldCommentGroupResp> brdComments = tuple.getT1();
-              Map<String, List<BrdFieldCommentGroupResp>> siteComments = tuple.getT2();
-
-              int brdCount = brdComments.size();
-              Map<String, Integer> siteCounts =
-                  siteComments.entrySet().stream()
-                      .collect(
-                          Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().size()));
-              int totalCount =
-                  brdCount + siteCounts.values().stream().mapToInt(Integer::intValue).sum();
-
-              CommentStatsByStatusResponse response =
-                  CommentStatsByStatusResponse.builder()
-                      .totalCount(totalCount)
-                      .brdCount(brdCount)
-                      .brdComments(brdComments)
-                      .siteCounts(siteCounts)
-                      .siteComments(siteComments)
-                      .build();
-
-              String message =
-                  status.equals(BrdConstants.COMMENT_STATUS_PENDING)
-                      ? BrdConstants.PENDING_COMMENTS_RETRIEVED_SUCCESS
-                      : "Resolved comments retrieved successfully";
+              List<BrdFieldCommentGroupResp> groups = tuple.getT1();
+              long totalElements = tuple.getT2();
+              int totalPages = (int) Math.ceil((double) totalElements / size);
+
+              Page<BrdFieldCommentGroupResp> pageResponse =
+                  new CustomPageImpl<>(
+                      groups,
+                      pageRequest,
+                      totalElements,
+                      page == 0,
+                      page >= totalPages - 1,
+                      groups.size(),
+                      totalPages);
 
               return ResponseEntity.ok(
                   new Api<>(
                       BrdConstants.SUCCESSFUL,
-                      message + " for BRD: " + brdFormId,
-                      Optional.of(response),
+                      BrdConstants.COMMENT_GROUPS_RETRIEVED_SUCCESS,
+                      Optional.of(pageResponse),
                       Optional.empty()));
-            });
+            })
+        .onErrorMap(this::handleErrors);
   }
 
   public CommentStatsByStatusResponse createEmptyResponse() {
     return CommentStatsByStatusResponse.builder()
         .totalCount(0)
         .brdCount(0)
-        .brdComments(Collections.emptyList())
         .siteCounts(Collections.emptyMap())
-        .siteComments(Collections.emptyMap())
         .build();
   }
 
@@ -0,0 +1,121 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.model.User;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Set-based reads and writes behind the batch PM and BA reassignments.
+ *
+ * <p>A batch loads its users and the current assignee of each BRD with one query each, and writes
+ * all of its changes in one unordered bulk write, instead of a read and a save per BRD. Writes
+ * only set the assignee, so applying the same batch twice leaves the documents as they are.
+ */
+@Slf4j
+@Component
+public class BrdReassignmentWriter {
+
+  private static final String BRD_ID = "brdId";
+  private static final String EMAIL = "email";
+  private static final String UPDATED_AT = "updatedAt";
+
+  private final ReactiveMongoTemplate mongoTemplate;
+
+  public BrdReassignmentWriter(ReactiveMongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  /** The users with the given emails by email, with only their email and roles loaded */
+  public Mono<Map<String, User>> findUsers(Collection<String> emails) {
+    Query query = Query.query(Criteria.where(EMAIL).in(emails));
+    query.fields().include(EMAIL, "activeRole", "roles");
+    return mongoTemplate.find(query, User.class).collectMap(User::getEmail);
+  }
+
+  /**
+   * Reads the assignee field of the documents of the given BRDs.
+   *
+   * @param entityClass the assignment document, keyed by BRD ID
+   * @param field the assignee field
+   * @param brdIds the BRDs to read
+   * @return the current assignee by BRD ID; BRDs without a document are left out, the value is
+   *     null for documents without an assignee
+   */
+  public Mono<Map<String, String>> findAssignees(
+      Class<?> entityClass, String field, Collection<String> brdIds) {
+    Query query = Query.query(Criteria.where(BRD_ID).in(brdIds));
+    query.fields().include(BRD_ID, field);
+    return mongoTemplate
+        .find(query, Document.class, mongoTemplate.getCollectionName(entityClass))
+        .collect(
+            HashMap::new,
+            (assignees, document) ->
+                assignees.put(document.getString(BRD_ID), document.getString(field)));
+  }
+
+  /**
+   * Sets the assignee field of the documents of the given BRDs in one unordered bulk write.
+   *
+   * @param entityClass the assignment document, keyed by BRD ID
+   * @param field the assignee field
+   * @param assignees the new assignee by BRD ID
+   * @return the error of every BRD that could not be written, by BRD ID; empty when all were
+   */
+  public Mono<Map<String, String>> reassign(
+      Class<?> entityClass, String field, Map<String, String> assignees) {
+    if (assignees.isEmpty()) {
+      return Mono.just(Map.of());
+    }
+    List<String> brdIds = List.copyOf(assignees.keySet());
+    LocalDateTime now = LocalDateTime.now();
+    ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, entityClass);
+    for (String brdId : brdIds) {
+      bulk.updateOne(
+          Query.query(Criteria.where(BRD_ID).is(brdId)),
+          new Update().set(field, assignees.get(brdId)).set(UPDATED_AT, now));
+    }
+    return bulk.execute()
+        .map(result -> Map.<String, String>of())
+        .onErrorResume(error -> Mono.just(writeErrors(brdIds, error)));
+  }
+
+  /** Rejected updates fail their own BRD; any other error fails every BRD of the batch */
+  private static Map<String, String> writeErrors(List<String> brdIds, Throwable error) {
+    Map<String, String> errors = new HashMap<>();
+    MongoBulkWriteException bulkError = bulkWriteException(error);
+    if (bulkError == null) {
+      log.error("Bulk reassignment of {} BRDs failed: {}", brdIds.size(), error.getMessage());
+      brdIds.forEach(brdId -> errors.put(brdId, error.getMessage()));
+      return errors;
+    }
+    for (BulkWriteError writeError : bulkError.getWriteErrors()) {
+      errors.put(brdIds.get(writeError.getIndex()), writeError.getMessage());
+    }
+    log.error("Bulk reassignment failed for {} of {} BRDs", errors.size(), brdIds.size());
+    return errors;
+  }
+
+  private static MongoBulkWriteException bulkWriteException(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof MongoBulkWriteException bulkWriteException) {
+        return bulkWriteException;
+      }
+    }
+    return null;
+  }
+}
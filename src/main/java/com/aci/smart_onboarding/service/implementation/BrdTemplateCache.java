@@ -0,0 +1,304 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.dto.BrdTemplateRes;
+import com.aci.smart_onboarding.mapper.DtoModelMapper;
+import com.aci.smart_onboarding.model.BRD;
+import com.aci.smart_onboarding.model.BrdTemplateConfig;
+import com.aci.smart_onboarding.repository.BRDTemplateRepository;
+import com.aci.smart_onboarding.util.BrdFormInitializer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * The BRD template configurations, loaded once and kept in memory together with the form each of
+ * them produces.
+ *
+ * <p>Template configs almost never change, so reads are served from an immutable snapshot that is
+ * replaced as a whole: after every template write on this instance, and on a change stream over
+ * the template collection for writes made by other instances. The change stream reloads on every
+ * (re)connect as well, so changes made while it was down are never missed. A reload that started
+ * earlier never replaces the snapshot of one that started later.
+ */
+@Slf4j
+@Component
+public class BrdTemplateCache {
+
+  static final int LISTED_PERCENTAGE = 50;
+
+  private static final Duration MAX_RECONNECT_BACKOFF = Duration.ofMinutes(1);
+
+  /** The form sections in form order: the template flag, the BRD value and its default */
+  private static final List<SectionSpec> SECTIONS =
+      List.of(
+          new SectionSpec(
+              "clientInformation",
+              BrdTemplateRes::isClientInformation,
+              BRD::getClientInformation,
+              BrdFormInitializer::createClientInformation),
+          new SectionSpec(
+              "aciInformation",
+              BrdTemplateRes::isAciInformation,
+              BRD::getAciInformation,
+              BrdFormInitializer::createAciInformation),
+          new SectionSpec(
+              "paymentChannels",
+              BrdTemplateRes::isPaymentChannels,
+              BRD::getPaymentChannels,
+              BrdFormInitializer::createPaymentChannels),
+          new SectionSpec(
+              "fundingMethods",
+              BrdTemplateRes::isFundingMethods,
+              BRD::getFundingMethods,
+              BrdFormInitializer::createFundingMethods),
+          new SectionSpec(
+              "achPaymentProcessing",
+              BrdTemplateRes::isAchPaymentProcessing,
+              BRD::getAchPaymentProcessing,
+              BrdFormInitializer::createAchPaymentProcessing),
+          new SectionSpec(
+              "miniAccountMaster",
+              BrdTemplateRes::isMiniAccountMaster,
+              BRD::getMiniAccountMaster,
+              BrdFormInitializer::createMiniAccountMaster),
+          new SectionSpec(
+              "accountIdentifierInformation",
+              BrdTemplateRes::isAccountIdentifierInformation,
+              BRD::getAccountIdentifierInformation,
+              BrdFormInitializer::createAccountIdentifierInformation),
+          new SectionSpec(
+              "paymentRules",
+              BrdTemplateRes::isPaymentRules,
+              BRD::getPaymentRules,
+              BrdFormInitializer::createPaymentRules),
+          new SectionSpec(
+              "notifications",
+              BrdTemplateRes::isNotifications,
+              BRD::getNotifications,
+              BrdFormInitializer::createNotifications),
+          new SectionSpec(
+              "remittance",
+              BrdTemplateRes::isRemittance,
+              BRD::getRemittance,
+              BrdFormInitializer::createRemittance),
+          new SectionSpec(
+              "agentPortal",
+              BrdTemplateRes::isAgentPortal,
+              BRD::getAgentPortal,
+              BrdFormInitializer::createAgentPortalConfig),
+          new SectionSpec(
+              "recurringPayments",
+              BrdTemplateRes::isRecurringPayments,
+              BRD::getRecurringPayments,
+              BrdFormInitializer::createRecurringPayments),
+          new SectionSpec(
+              "ivr", BrdTemplateRes::isIvr, BRD::getIvr, BrdFormInitializer::createIvr),
+          new SectionSpec(
+              "generalImplementations",
+              BrdTemplateRes::isGeneralImplementations,
+              BRD::getGeneralImplementations,
+              BrdFormInitializer::createGeneralImplementations),
+          new SectionSpec(
+              "approvals",
+              BrdTemplateRes::isApprovals,
+              BRD::getApprovals,
+              BrdFormInitializer::createApprovals),
+          new SectionSpec(
+              "revisionHistory",
+              BrdTemplateRes::isRevisionHistory,
+              BRD::getRevisionHistory,
+              BrdFormInitializer::createRevisionHistory));
+
+  private final BRDTemplateRepository brdTemplateRepository;
+  private final DtoModelMapper dtoModelMapper;
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final AtomicReference<Templates> current = new AtomicReference<>();
+  private final AtomicLong generations = new AtomicLong();
+  private Disposable watcher;
+
+  public BrdTemplateCache(
+      BRDTemplateRepository brdTemplateRepository,
+      DtoModelMapper dtoModelMapper,
+      ReactiveMongoTemplate mongoTemplate) {
+    this.brdTemplateRepository = brdTemplateRepository;
+    this.dtoModelMapper = dtoModelMapper;
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    String collection = mongoTemplate.getCollectionName(BrdTemplateConfig.class);
+    watcher =
+        Flux.defer(
+                () ->
+                    mongoTemplate
+                        .changeStream(collection, ChangeStreamOptions.empty(), Document.class)
+                        .map(event -> "change")
+                        .startWith("connect"))
+            .retryWhen(
+                Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                    .maxBackoff(MAX_RECONNECT_BACKOFF)
+                    .doBeforeRetry(
+                        signal ->
+                            log.warn(
+                                "Reopening BRD template change stream after error: {}",
+                                signal.failure().getMessage())))
+            // A burst of changes costs at most one more reload
+            .onBackpressureLatest()
+            .concatMap(signal -> refresh().onErrorResume(error -> Mono.empty()), 1)
+            .subscribe();
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (watcher != null) {
+      watcher.dispose();
+    }
+  }
+
+  /** The current snapshot, loaded first if there is none yet */
+  public Mono<Templates> templates() {
+    return Mono.defer(
+        () -> {
+          Templates templates = current.get();
+          return templates != null ? Mono.just(templates) : refresh();
+        });
+  }
+
+  /**
+   * Reloads all template configs and installs them as the current snapshot.
+   *
+   * @return the current snapshot after the reload; a newer one if another reload started later
+   */
+  public Mono<Templates> refresh() {
+    return Mono.defer(
+        () -> {
+          long generation = generations.incrementAndGet();
+          return brdTemplateRepository
+              .findAll()
+              .collectList()
+              .map(configs -> install(load(generation, configs)))
+              .doOnError(
+                  error -> log.error("Failed to load BRD templates: {}", error.getMessage()));
+        });
+  }
+
+  /** The form of a template: the precomputed one while the template is current, else a new one */
+  public TemplateForm formOf(BrdTemplateRes template) {
+    Templates templates = current.get();
+    if (templates != null) {
+      TemplateForm form = templates.forms.get(template.getTemplateTypes());
+      if (form != null && form.template().equals(template)) {
+        return form;
+      }
+    }
+    return TemplateForm.of(template);
+  }
+
+  private Templates install(Templates loaded) {
+    Templates installed =
+        current.accumulateAndGet(
+            loaded,
+            (previous, next) ->
+                previous != null && previous.generation > next.generation ? previous : next);
+    if (installed == loaded) {
+      log.info("Loaded {} BRD templates", loaded.listed.size());
+    }
+    return installed;
+  }
+
+  private Templates load(long generation, List<BrdTemplateConfig> configs) {
+    List<BrdTemplateRes> listed = new ArrayList<>(configs.size());
+    Map<String, TemplateForm> forms = new HashMap<>();
+    for (BrdTemplateConfig config : configs) {
+      BrdTemplateRes listedTemplate = dtoModelMapper.mapToBrdTemplateConfigResponse(config);
+      listedTemplate.setPercentage(LISTED_PERCENTAGE);
+      listed.add(listedTemplate);
+      // Same as the repository's findByTemplateTypes: the first template of a type wins
+      forms.putIfAbsent(
+          config.getTemplateTypes(),
+          TemplateForm.of(dtoModelMapper.mapToBrdTemplateConfigResponse(config)));
+    }
+    return new Templates(generation, List.copyOf(listed), Map.copyOf(forms));
+  }
+
+  /**
+   * One load of the template configs. Immutable as a whole; the templates and default sections
+   * it hands out are shared by every reader and must not be modified.
+   */
+  public static final class Templates {
+
+    private final long generation;
+    private final List<BrdTemplateRes> listed;
+    private final Map<String, TemplateForm> forms;
+
+    private Templates(
+        long generation, List<BrdTemplateRes> listed, Map<String, TemplateForm> forms) {
+      this.generation = generation;
+      this.listed = listed;
+      this.forms = forms;
+    }
+
+    /** All templates, as listed to clients */
+    public List<BrdTemplateRes> all() {
+      return listed;
+    }
+
+    /** The form of the template of the given type */
+    public Optional<TemplateForm> form(String templateType) {
+      return Optional.ofNullable(forms.get(templateType));
+    }
+  }
+
+  /** A template with its enabled sections and their defaults, built once */
+  public record TemplateForm(BrdTemplateRes template, List<Section> sections) {
+
+    static TemplateForm of(BrdTemplateRes template) {
+      List<Section> sections =
+          SECTIONS.stream()
+              .filter(spec -> spec.enabled().test(template))
+              .map(spec -> new Section(spec.name(), spec.value(), spec.defaults().get()))
+              .toList();
+      return new TemplateForm(template, sections);
+    }
+
+    /** The sections of the BRD's form; sections the BRD has no value for get their default */
+    public Map<String, Object> sectionsOf(BRD brd) {
+      Map<String, Object> values = new LinkedHashMap<>();
+      for (Section section : sections) {
+        Object value = section.value().apply(brd);
+        values.put(section.name(), value != null ? value : section.defaultValue());
+      }
+      return values;
+    }
+  }
+
+  public record Section(String name, Function<BRD, Object> value, Object defaultValue) {}
+
+  private record SectionSpec(
+      String name,
+      Predicate<BrdTemplateRes> enabled,
+      Function<BRD, Object> value,
+      Supplier<Object> defaults) {}
+}
@@ -13,14 +13,11 @@ import com.aci.smart_onboarding.model.BRD;
 import com.aci.smart_onboarding.model.BrdTemplateConfig;
 import com.aci.smart_onboarding.repository.BRDTemplateRepository;
 import com.aci.smart_onboarding.service.IBrdTemplateService;
-import com.aci.smart_onboarding.util.BrdFormInitializer;
+import com.aci.smart_onboarding.service.implementation.BrdTemplateCache.TemplateForm;
 import java.time.Instant;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.function.Supplier;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
@@ -36,7 +33,8 @@ import reactor.core.publisher.Mono;
 
 /**
  * Service implementation for managing BRD (Business Requirements Document) templates. Handles CRUD
- * operations for templates and BRD form generation.
+ * operations for templates and BRD form generation. Templates are read from {@link
+ * BrdTemplateCache}, which every write reloads.
  *
  * @author Smart Onboarding Team
  * @version 1.0
@@ -47,6 +45,7 @@ public class BrdTemplateService implements IBrdTemplateService {
 
   private static final String TEMPLATE_NOT_FOUND = "Template not found with id: ";
   private static final String BRD_NOT_FOUND = "BRD not found with id: ";
+  private static final String TEMPLATE_TYPE_NOT_FOUND = "Template not found with type: ";
   private static final String TEMPLATE_TYPE_ERROR = "Template type cannot be null or empty";
   private static final String ACCESS_DENIED_MESSAGE =
       "Access denied. Only Manager role can access templates";
@@ -56,6 +55,7 @@ public class BrdTemplateService implements IBrdTemplateService {
   private final BRDTemplateRepository brdTemplateRepository;
   private final DtoModelMapper dtoModelMapper;
   private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final BrdTemplateCache templateCache;
 
   /**
    * Creates a new BRD template.
@@ -69,6 +69,7 @@ public class BrdTemplateService implements IBrdTemplateService {
         .flatMap(this::validateTemplateRequest)
         .map(dtoModelMapper::mapToBrdTemplateConfig)
         .flatMap(brdTemplateRepository::save)
+        .flatMap(this::refreshTemplates)
         .map(dtoModelMapper::mapToBrdTemplateConfigResponse)
         .map(
             response ->
@@ -78,6 +79,17 @@ public class BrdTemplateService implements IBrdTemplateService {
         .onErrorMap(this::handleErrors);
   }
 
+  /**
+   * Reloads the template cache after a write, so this instance serves the written template right
+   * away. The write has happened either way; a failed reload is left to the change stream.
+   *
+   * @param written The written template
+   * @return A Mono containing the written template
+   */
+  private Mono<BrdTemplateConfig> refreshTemplates(BrdTemplateConfig written) {
+    return templateCache.refresh().onErrorResume(e -> Mono.empty()).thenReturn(written);
+  }
+
   /**
    * Validates the template request.
    *
@@ -161,6 +173,7 @@ public class BrdTemplateService implements IBrdTemplateService {
     return reactiveMongoTemplate
         .findAndModify(query, update, options, BrdTemplateConfig.class)
         .switchIfEmpty(Mono.error(new NotFoundException(TEMPLATE_NOT_FOUND + id)))
+        .flatMap(this::refreshTemplates)
         .map(dtoModelMapper::mapToBrdTemplateConfigResponse)
         .map(
             response ->
@@ -176,15 +189,9 @@ public class BrdTemplateService implements IBrdTemplateService {
 
   @Override
   public Mono<ResponseEntity<Api<List<BrdTemplateRes>>>> getAllTemplates() {
-    return brdTemplateRepository
-        .findAll()
-        .map(dtoModelMapper::mapToBrdTemplateConfigResponse)
-        .map(
-            template -> {
-              template.setPercentage(50); // Set default percentage for all templates
-              return template;
-            })
-        .collectList()
+    return templateCache
+        .templates()
+        .map(BrdTemplateCache.Templates::all)
         .map(
             templates -> {
               if (templates.isEmpty()) {
@@ -207,13 +214,8 @@ public class BrdTemplateService implements IBrdTemplateService {
     return Mono.justOrEmpty(brdTemplateType)
         .filter(type -> !type.trim().isEmpty())
         .switchIfEmpty(Mono.error(new BadRequestException("brdTemplateType", TEMPLATE_TYPE_ERROR)))
-        .flatMap(
-            type ->
-                brdTemplateRepository
-                    .findByTemplateTypes(type)
-                    .switchIfEmpty(
-                        Mono.error(new NotFoundException("Template not found with type: " + type))))
-        .map(dtoModelMapper::mapToBrdTemplateConfigResponse)
+        .flatMap(this::findForm)
+        .map(TemplateForm::template)
         .map(
             response ->
                 ResponseEntity.ok()
@@ -243,172 +245,33 @@ public class BrdTemplateService implements IBrdTemplateService {
 
   @Override
   public Mono<BrdFormResponse> getBrdForm(String brdId, BrdTemplateRes templateConfig) {
-    final boolean clientInfoEnabled = templateConfig.isClientInformation();
-    final boolean aciInfoEnabled = templateConfig.isAciInformation();
-    final boolean paymentChannelsEnabled = templateConfig.isPaymentChannels();
-    final boolean fundingMethodsEnabled = templateConfig.isFundingMethods();
-    final boolean achPaymentProcessingEnabled = templateConfig.isAchPaymentProcessing();
-    final boolean miniAccountMasterEnabled = templateConfig.isMiniAccountMaster();
-    final boolean accountIdentifierInfoEnabled = templateConfig.isAccountIdentifierInformation();
-    final boolean paymentRulesEnabled = templateConfig.isPaymentRules();
-    final boolean notificationsEnabled = templateConfig.isNotifications();
-    final boolean remittanceEnabled = templateConfig.isRemittance();
-    final boolean agentPortalEnabled = templateConfig.isAgentPortal();
-    final boolean recurringPaymentsEnabled = templateConfig.isRecurringPayments();
-    final boolean ivrEnabled = templateConfig.isIvr();
-    final boolean generalImplementationsEnabled = templateConfig.isGeneralImplementations();
-    final boolean approvalsEnabled = templateConfig.isApprovals();
-    final boolean revisionHistoryEnabled = templateConfig.isRevisionHistory();
+    return buildBrdForm(brdId, templateCache.formOf(templateConfig));
+  }
 
+  private Mono<BrdFormResponse> buildBrdForm(String brdId, TemplateForm form) {
+    BrdTemplateRes templateConfig = form.template();
     return reactiveMongoTemplate
         .findOne(Query.query(Criteria.where("brdFormId").is(brdId)), BRD.class)
         .switchIfEmpty(Mono.error(new NotFoundException(BRD_NOT_FOUND + brdId)))
         .map(
-            brd -> {
-              if (brd == null) {
-                throw new NotFoundException(BRD_NOT_FOUND + brdId);
-              }
-              BrdFormResponse.BrdFormResponseBuilder builder =
-                  BrdFormResponse.builder()
-                      .brdFormId(brd.getBrdFormId())
-                      .status(brd.getStatus())
-                      .projectId(brd.getProjectId())
-                      .brdId(brd.getBrdId())
-                      .brdName(brd.getBrdName())
-                      .description(brd.getDescription())
-                      .organizationId(brd.getCustomerId())
-                      .creator(brd.getCreator())
-                      .type(brd.getType())
-                      .notes(brd.getNotes())
-                      .createdAt(brd.getCreatedAt())
-                      .updatedAt(brd.getUpdatedAt())
-                      .templateType(templateConfig.getTemplateTypes())
-                      .summary(templateConfig.getSummary());
-
-              Map<String, Object> sections = new HashMap<>();
-              addSectionIfEnabled(
-                  sections,
-                  "clientInformation",
-                  clientInfoEnabled,
-                  brd::getClientInformation,
-                  BrdFormInitializer::createClientInformation);
-
-              addSectionIfEnabled(
-                  sections,
-                  "aciInformation",
-                  aciInfoEnabled,
-                  brd::getAciInformation,
-                  BrdFormInitializer::createAciInformation);
-
-              addSectionIfEnabled(
-                  sections,
-                  "paymentChannels",
-                  paymentChannelsEnabled,
-                  brd::getPaymentChannels,
-                  BrdFormInitializer::createPaymentChannels);
-
-              addSectionIfEnabled(
-                  sections,
-                  "fundingMethods",
-                  fundingMethodsEnabled,
-                  brd::getFundingMethods,
-                  BrdFormInitializer::createFundingMethods);
-
-              addSectionIfEnabled(
-                  sections,
-                  "achPaymentProcessing",
-                  achPaymentProcessingEnabled,
-                  brd::getAchPaymentProcessing,
-                  BrdFormInitializer::createAchPaymentProcessing);
-
-              addSectionIfEnabled(
-                  sections,
-                  "miniAccountMaster",
-                  miniAccountMasterEnabled,
-                  brd::getMiniAccountMaster,
-                  BrdFormInitializer::createMiniAccountMaster);
-
-              addSectionIfEnabled(
-                  sections,
-                  "accountIdentifierInformation",
-                  accountIdentifierInfoEnabled,
-                  brd::getAccountIdentifierInformation,
-                  BrdFormInitializer::createAccountIdentifierInformation);
-
-              addSectionIfEnabled(
-                  sections,
-                  "paymentRules",
-                  paymentRulesEnabled,
-                  brd::getPaymentRules,
-                  BrdFormInitializer::createPaymentRules);
-
-              addSectionIfEnabled(
-                  sections,
-                  "notifications",
-                  notificationsEnabled,
-                  brd::getNotifications,
-                  BrdFormInitializer::createNotifications);
-
-              addSectionIfEnabled(
-                  sections,
-                  "remittance",
-                  remittanceEnabled,
-                  brd::getRemittance,
-                  BrdFormInitializer::createRemittance);
-
-              addSectionIfEnabled(
-                  sections,
-                  "agentPortal",
-                  agentPortalEnabled,
-                  brd::getAgentPortal,
-                  BrdFormInitializer::createAgentPortalConfig);
-
-              addSectionIfEnabled(
-                  sections,
-                  "recurringPayments",
-                  recurringPaymentsEnabled,
-                  brd::getRecurringPayments,
-                  BrdFormInitializer::createRecurringPayments);
-
-              addSectionIfEnabled(
-                  sections, "ivr", ivrEnabled, brd::getIvr, BrdFormInitializer::createIvr);
-
-              addSectionIfEnabled(
-                  sections,
-                  "generalImplementations",
-                  generalImplementationsEnabled,
-                  brd::getGeneralImplementations,
-                  BrdFormInitializer::createGeneralImplementations);
-
-              addSectionIfEnabled(
-                  sections,
-                  "approvals",
-                  approvalsEnabled,
-                  brd::getApprovals,
-                  BrdFormInitializer::createApprovals);
-
-              addSectionIfEnabled(
-                  sections,
-                  "revisionHistory",
-                  revisionHistoryEnabled,
-                  brd::getRevisionHistory,
-                  BrdFormInitializer::createRevisionHistory);
-
-              builder.sections(sections);
-              return builder.build();
-            });
-  }
-
-  private <T> void addSectionIfEnabled(
-      Map<String, Object> sections,
-      String sectionName,
-      boolean isEnabled,
-      Supplier<T> existingGetter,
-      Supplier<T> defaultCreator) {
-    if (isEnabled) {
-      T existingValue = existingGetter.get();
-      sections.put(sectionName, existingValue != null ? existingValue : defaultCreator.get());
-    }
+            brd ->
+                BrdFormResponse.builder()
+                    .brdFormId(brd.getBrdFormId())
+                    .status(brd.getStatus())
+                    .projectId(brd.getProjectId())
+                    .brdId(brd.getBrdId())
+                    .brdName(brd.getBrdName())
+                    .description(brd.getDescription())
+                    .organizationId(brd.getCustomerId())
+                    .creator(brd.getCreator())
+                    .type(brd.getType())
+                    .notes(brd.getNotes())
+                    .createdAt(brd.getCreatedAt())
+                    .updatedAt(brd.getUpdatedAt())
+                    .templateType(templateConfig.getTemplateTypes())
+                    .summary(templateConfig.getSummary())
+                    .sections(form.sectionsOf(brd))
+                    .build());
   }
 
   @Override
@@ -417,27 +280,25 @@ public class BrdTemplateService implements IBrdTemplateService {
     return Mono.justOrEmpty(templateType)
         .filter(type -> !type.trim().isEmpty())
         .switchIfEmpty(Mono.error(new BadRequestException("templateType", TEMPLATE_TYPE_ERROR)))
-        .flatMap(this::getTemplateByType)
-        .flatMap(
-            templateResponse ->
-                Mono.justOrEmpty(templateResponse.getBody())
-                    .flatMap(apiBody -> Mono.justOrEmpty(apiBody.getData()))
-                    .switchIfEmpty(
-                        Mono.error(
-                            new NotFoundException(
-                                "Template configuration not found for type: " + templateType)))
-                    .flatMap(
-                        templateConfig ->
-                            getBrdForm(brdId, templateConfig)
-                                .map(
-                                    brdFormResponse ->
-                                        ResponseEntity.ok()
-                                            .body(
-                                                new Api<>(
-                                                    BrdConstants.SUCCESSFUL,
-                                                    "BRD form generated successfully",
-                                                    Optional.of(brdFormResponse),
-                                                    Optional.empty())))))
+        .flatMap(this::findForm)
+        .flatMap(form -> buildBrdForm(brdId, form))
+        .map(
+            brdFormResponse ->
+                ResponseEntity.ok()
+                    .body(
+                        new Api<>(
+                            BrdConstants.SUCCESSFUL,
+                            "BRD form generated successfully",
+                            Optional.of(brdFormResponse),
+                            Optional.empty())))
         .onErrorMap(this::handleErrors);
   }
+
+  private Mono<TemplateForm> findForm(String templateType) {
+    return templateCache
+        .templates()
+        .flatMap(templates -> Mono.justOrEmpty(templates.form(templateType)))
+        .switchIfEmpty(
+            Mono.error(new NotFoundException(TEMPLATE_TYPE_NOT_FOUND + templateType)));
+  }
 }
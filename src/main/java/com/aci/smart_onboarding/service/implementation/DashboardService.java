@@ -8,9 +8,9 @@ import com.aci.smart_onboarding.dto.BrdVerticalCountResponse.VerticalCount;
 import com.aci.smart_onboarding.exception.BadRequestException;
 import com.aci.smart_onboarding.exception.IllegalParameterException;
 import com.aci.smart_onboarding.exception.NotFoundException;
-import com.aci.smart_onboarding.model.AuditLog;
 import com.aci.smart_onboarding.model.BRD;
 import com.aci.smart_onboarding.model.BrdFieldCommentGroup;
+import com.aci.smart_onboarding.model.BrdStatusTransitionRollup;
 import com.aci.smart_onboarding.model.Site;
 import com.aci.smart_onboarding.model.dashboard.FactorCounts;
 import com.aci.smart_onboarding.model.dashboard.TimeSegment;
@@ -25,8 +25,12 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
@@ -41,6 +45,13 @@ import reactor.core.publisher.Mono;
 public class DashboardService implements IDashboardService {
 
   private final ReactiveMongoTemplate mongoTemplate;
+  private static final String COUNT_FIELD = "count";
+  private static final String WITH_PM_COMMENT_FIELD = "withPmComment";
+  private static final String ROLLUP_GRANULARITY_FIELD = "granularity";
+  private static final String ROLLUP_BUCKET_START_FIELD = "bucketStart";
+  private static final String ROLLUP_FROM_STATUS_FIELD = "fromStatus";
+  private static final String ROLLUP_TO_STATUS_FIELD = "toStatus";
+  private static final String ROLLUP_TOTAL_MINUTES_FIELD = "totalMinutes";
   private static final List<String> ORDERED_BRD_STATUSES =
       Arrays.asList(
           "Draft",
@@ -56,7 +67,10 @@ public class DashboardService implements IDashboardService {
     log.info("Getting open BRDs by status for scope: {} and user: {}", scope, username);
 
     Query query = buildQueryForScope(scope, username);
-    log.debug("Query: {}", query.getQueryObject().toJson());
+    log.atDebug()
+        .setMessage("Query: {}")
+        .addArgument(() -> query.getQueryObject().toJson())
+        .log();
 
     return fetchAndTransformBrdsForStatus(query, scope, username);
   }
@@ -94,7 +108,7 @@ public class DashboardService implements IDashboardService {
       validatePeriodParameter(brdScope, period);
 
       Query query = buildQueryForVerticals(scope, brdScope, period, username);
-      log.info("Built query for verticals: {}", query);
+      log.debug("Built query for verticals: {}", query);
 
       return fetchAndTransformBrdsForVertical(query, scope, brdScope, period, username);
     } catch (IllegalParameterException e) {
@@ -116,7 +130,10 @@ public class DashboardService implements IDashboardService {
   private Mono<BrdVerticalCountResponse> fetchAndTransformBrdsForVertical(
       Query query, String scope, String brdScope, String period, String username) {
 
-    log.info("Executing query to fetch BRDs by vertical: {}", query.getQueryObject().toJson());
+    log.atDebug()
+        .setMessage("Executing query to fetch BRDs by vertical: {}")
+        .addArgument(() -> query.getQueryObject().toJson())
+        .log();
 
     return mongoTemplate
         .find(query, BRD.class)
@@ -351,7 +368,10 @@ public class DashboardService implements IDashboardService {
       addPeriodFilter(query, brdScope, period);
     }
 
-    log.info("Final query for verticals: {}", query.getQueryObject().toJson());
+    log.atDebug()
+        .setMessage("Final query for verticals: {}")
+        .addArgument(() -> query.getQueryObject().toJson())
+        .log();
     return query;
   }
 
@@ -424,7 +444,10 @@ public class DashboardService implements IDashboardService {
       // Add date range criteria (greater than or equal to start date, less than or equal to end
       // date)
       query.addCriteria(Criteria.where(dateField).gte(startDateAsDate).lte(endDateAsDate));
-      log.debug("After adding period filter, query is: {}", query.getQueryObject().toJson());
+      log.atDebug()
+          .setMessage("After adding period filter, query is: {}")
+          .addArgument(() -> query.getQueryObject().toJson())
+          .log();
     } else {
       log.info("No period filter applied because period is null or empty");
     }
@@ -497,9 +520,10 @@ public class DashboardService implements IDashboardService {
   private Mono<AdditionalFactorsResponse> fetchBrdsAndCalculateFactorStats(
       Query query, String scope, String brdScope, String period, String username) {
 
-    log.info(
-        "Executing query to fetch BRDs for additional factor statistics: {}",
-        query.getQueryObject().toJson());
+    log.atDebug()
+        .setMessage("Executing query to fetch BRDs for additional factor statistics: {}")
+        .addArgument(() -> query.getQueryObject().toJson())
+        .log();
 
     return mongoTemplate
         .find(query, BRD.class)
@@ -614,7 +638,7 @@ public class DashboardService implements IDashboardService {
     }
 
     // Debug - list all BRD IDs for which we'll count sites
-    log.info("BRD IDs for site counting: {}", brdIds);
+    log.debug("BRD IDs for site counting: {}", brdIds);
     log.info("Counting sites for {} BRDs with scope: {}", brdIds.size(), brdScope);
 
     try {
@@ -746,7 +770,10 @@ public class DashboardService implements IDashboardService {
       log.info("No period filter applied because period is null or empty");
     }
 
-    log.info("Final query for additional factors: {}", query.getQueryObject().toJson());
+    log.atDebug()
+        .setMessage("Final query for additional factors: {}")
+        .addArgument(() -> query.getQueryObject().toJson())
+        .log();
     return query;
   }
 
@@ -1276,7 +1303,11 @@ public class DashboardService implements IDashboardService {
             });
   }
 
-  /** Finds status transitions for the given form IDs within a specific time segment */
+  /**
+   * Finds status transitions for the given form IDs within a specific time segment. Reads the daily
+   * transition rollups maintained by {@link AuditStatusProjector} instead of the raw audit logs.
+   * Segments start at midnight, so daily buckets never straddle a segment boundary.
+   */
   private Mono<TransitionResult> findStatusTransitionsForSegment(
       Map<String, String> formIdToBrdIdMap, TimeSegment segment) {
     int formIdCount = formIdToBrdIdMap.size();
@@ -1285,59 +1316,39 @@ public class DashboardService implements IDashboardService {
         formIdCount,
         segment.getLabel());
 
-    // Build optimized query for status update and create audit logs
-    Query auditQuery =
+    Date startDate = Date.from(segment.getStartDate().atZone(ZoneId.systemDefault()).toInstant());
+    Date endDate = Date.from(segment.getEndDate().atZone(ZoneId.systemDefault()).toInstant());
+    Query rollupQuery =
         new Query()
-            .addCriteria(
-                Criteria.where(DashboardConstants.ENTITY_TYPE)
-                    .is(DashboardConstants.ENTITY_TYPE_BRD))
             .addCriteria(Criteria.where(DashboardConstants.ENTITY_ID).in(formIdToBrdIdMap.keySet()))
             .addCriteria(
-                Criteria.where(DashboardConstants.AUDIT_ACTION)
-                    .in(
-                        Arrays.asList(
-                            DashboardConstants.STATUS_UPDATE_ACTION, BrdConstants.ACTION_CREATE)));
-
-    // Add date range filter for the segment
-    Date startDate = Date.from(segment.getStartDate().atZone(ZoneId.systemDefault()).toInstant());
-    Date endDate = Date.from(segment.getEndDate().atZone(ZoneId.systemDefault()).toInstant());
-    auditQuery.addCriteria(
-        Criteria.where(DashboardConstants.EVENT_TIMESTAMP).gte(startDate).lte(endDate));
+                Criteria.where(ROLLUP_GRANULARITY_FIELD)
+                    .is(BrdStatusTransitionRollup.GRANULARITY_DAY))
+            .addCriteria(Criteria.where(ROLLUP_BUCKET_START_FIELD).gte(startDate).lte(endDate));
 
-    // Project only fields we need
-    auditQuery
+    rollupQuery
         .fields()
-        .include(DashboardConstants.ENTITY_ID)
-        .include(DashboardConstants.EVENT_TIMESTAMP)
-        .include(DashboardConstants.AUDIT_ACTION)
-        .include("newValues.status");
-
-    // Sort by timestamp for proper sequence
-    auditQuery.with(Sort.by(Sort.Direction.ASC, DashboardConstants.EVENT_TIMESTAMP));
+        .include(ROLLUP_FROM_STATUS_FIELD)
+        .include(ROLLUP_TO_STATUS_FIELD)
+        .include(COUNT_FIELD)
+        .include(ROLLUP_TOTAL_MINUTES_FIELD);
 
     return mongoTemplate
-        .find(auditQuery, AuditLog.class)
+        .find(rollupQuery, BrdStatusTransitionRollup.class)
         .collectList()
         .flatMap(
-            auditLogs -> {
-              int logCount = auditLogs.size();
+            rollups -> {
               log.info(
-                  "Found {} audit logs for status transitions in time segment: {}",
-                  logCount,
+                  "Found {} transition rollups in time segment: {}",
+                  rollups.size(),
                   segment.getLabel());
 
-              if (logCount == 0) {
+              if (rollups.isEmpty()) {
                 return Mono.empty();
               }
 
-              // Group logs by BRD
-              Map<String, List<AuditLog>> logsByBrd =
-                  auditLogs.stream().collect(Collectors.groupingBy(AuditLog::getEntityId));
-
-              // Calculate transitions
-              Map<String, Double> averages =
-                  calculateAverageTransitionTimes(logsByBrd, formIdToBrdIdMap);
-              return Mono.just(new TransitionResult(auditLogs, formIdToBrdIdMap, averages));
+              Map<String, Double> averages = calculateAverageTransitionTimes(rollups);
+              return Mono.just(new TransitionResult(rollups, formIdToBrdIdMap, averages));
             });
   }
 
@@ -1391,146 +1402,40 @@ public class DashboardService implements IDashboardService {
     return validTransitions;
   }
 
-  /** Calculates transitions for a specific BRD */
-  private void calculateTransitionsForBrd(
-      String formId,
-      List<AuditLog> brdLogs,
-      Map<String, String> formIdToBrdIdMap,
-      Map<String, List<Double>> transitionDays) {
-
-    // Skip if fewer than 2 logs (need at least 2 for a transition)
-    if (brdLogs.size() < 2) {
-      return;
-    }
-
-    String brdId = formIdToBrdIdMap.getOrDefault(formId, "Unknown");
-
-    // Sort logs by timestamp
-    brdLogs.sort(Comparator.comparing(AuditLog::getEventTimestamp));
-
-    // Extract status sequence for debugging
-    List<String> statusSequence =
-        brdLogs.stream().map(this::extractStatus).filter(Objects::nonNull).toList();
-
-    if (statusSequence.size() < 2) {
-      return;
-    }
-
-    log.debug("Processing status sequence for BRD {}: {}", brdId, statusSequence);
-
-    // Get valid transitions
+  /**
+   * Combines rollups into average transition times in days. Only valid transitions are kept, and
+   * averages are rounded to one decimal place.
+   */
+  private Map<String, Double> calculateAverageTransitionTimes(
+      List<BrdStatusTransitionRollup> rollups) {
     Set<String> validTransitions = getValidStatusTransitions();
+    Map<String, long[]> countAndMinutes = new HashMap<>();
 
-    // Process adjacent transitions
-    for (int i = 0; i < brdLogs.size() - 1; i++) {
-      processTransitionPair(
-          brdLogs.get(i), brdLogs.get(i + 1), brdId, validTransitions, transitionDays);
-    }
-  }
-
-  /** Processes a pair of consecutive audit logs to find valid transitions */
-  private void processTransitionPair(
-      AuditLog currentLog,
-      AuditLog nextLog,
-      String brdId,
-      Set<String> validTransitions,
-      Map<String, List<Double>> transitionDays) {
-
-    String currentStatus = extractStatus(currentLog);
-    String nextStatus = extractStatus(nextLog);
-
-    // Only process if both statuses are valid and different
-    if (isValidStatusPair(currentStatus, nextStatus)) {
-      String transitionKey = currentStatus + DashboardConstants.TRANSITION_ARROW + nextStatus;
-
-      // Only process valid transitions
-      if (validTransitions.contains(transitionKey)) {
-        // Calculate transition time in days
-        double days =
-            calculateDaysBetween(currentLog.getEventTimestamp(), nextLog.getEventTimestamp());
-
-        // Add to transition days map
-        transitionDays.computeIfAbsent(transitionKey, k -> new ArrayList<>()).add(days);
-
-        log.debug("Added valid transition: {} (BRD: {}, days: {})", transitionKey, brdId, days);
-      } else {
-        log.debug("Skipping invalid transition: {} for BRD: {}", transitionKey, brdId);
+    for (BrdStatusTransitionRollup rollup : rollups) {
+      String transitionKey =
+          rollup.getFromStatus() + DashboardConstants.TRANSITION_ARROW + rollup.getToStatus();
+      if (!validTransitions.contains(transitionKey)) {
+        log.debug("Skipping invalid transition: {}", transitionKey);
+        continue;
       }
-    }
-  }
-
-  /** Checks if a pair of statuses is valid for transition calculation */
-  private boolean isValidStatusPair(String currentStatus, String nextStatus) {
-    return currentStatus != null && nextStatus != null && !currentStatus.equals(nextStatus);
-  }
-
-  /** Calculates average transition times from all collected transitions */
-  private Map<String, Double> calculateAverageTransitionTimes(
-      Map<String, List<AuditLog>> logsByBrd, Map<String, String> formIdToBrdIdMap) {
-
-    // Map to accumulate transition times by transition type
-    Map<String, List<Double>> transitionDays = new HashMap<>();
-    int brdCount = logsByBrd.size();
-
-    log.info("Processing transition logs for {} BRDs", brdCount);
-
-    // Process each BRD's logs to calculate transition times
-    logsByBrd.forEach(
-        (formId, logs) ->
-            calculateTransitionsForBrd(formId, logs, formIdToBrdIdMap, transitionDays));
-
-    // Calculate averages for each transition and return
-    return calculateAveragesFromTransitions(transitionDays);
-  }
-
-  /** Calculates days between two dates */
-  private double calculateDaysBetween(LocalDateTime start, LocalDateTime end) {
-    return Optional.ofNullable(start)
-        .flatMap(
-            s ->
-                Optional.ofNullable(end)
-                    .map(e -> Duration.between(s, e).toMinutes() / (60.0 * 24.0)))
-        .orElse(0.0);
-  }
-
-  /** Extracts status from audit log */
-  private String extractStatus(AuditLog auditLog) {
-    if (auditLog == null || auditLog.getNewValues() == null) {
-      return null;
-    }
-
-    Object statusObj = auditLog.getNewValues().get(DashboardConstants.AUDIT_STATUS);
-    return statusObj != null ? statusObj.toString().trim() : null;
-  }
-
-  /** Calculates average transition times from all collected transitions */
-  private Map<String, Double> calculateAveragesFromTransitions(
-      Map<String, List<Double>> transitionDays) {
-    if (transitionDays.isEmpty()) {
-      return Collections.emptyMap();
+      long[] totals = countAndMinutes.computeIfAbsent(transitionKey, key -> new long[2]);
+      totals[0] += rollup.getCount();
+      totals[1] += rollup.getTotalMinutes();
     }
 
-    return transitionDays.entrySet().stream()
-        .collect(
-            Collectors.toMap(
-                Map.Entry::getKey,
-                entry -> {
-                  // Calculate average and round to 1 decimal place
-                  double avg =
-                      entry.getValue().stream()
-                          .mapToDouble(Double::doubleValue)
-                          .average()
-                          .orElse(0.0);
-
-                  double roundedAvg = Math.round(avg * 10.0) / 10.0;
-                  log.debug(
-                      "Transition '{}': {} days avg ({} samples)",
-                      entry.getKey(),
-                      roundedAvg,
-                      entry.getValue().size());
-
-                  return roundedAvg;
-                }));
+    Map<String, Double> averages = new HashMap<>();
+    countAndMinutes.forEach(
+        (transitionKey, totals) -> {
+          if (totals[0] <= 0) {
+            return;
+          }
+          double avg = totals[1] / (double) totals[0] / (60.0 * 24.0);
+          double roundedAvg = Math.round(avg * 10.0) / 10.0;
+          log.debug(
+              "Transition '{}': {} days avg ({} samples)", transitionKey, roundedAvg, totals[0]);
+          averages.put(transitionKey, roundedAvg);
+        });
+    return averages;
   }
 
   @Override
@@ -1883,53 +1788,54 @@ public class DashboardService implements IDashboardService {
     List<String> brdFormIds = brds.stream().map(BRD::getBrdFormId).toList();
     Map<String, BRD> brdMap = createBrdMap(brds);
 
-    return findUnresolvedCommentGroups(brdFormIds, scope, username)
-        .collectMultimap(BrdFieldCommentGroup::getBrdFormId)
-        .map(commentGroups -> buildCommentGroupResponse(commentGroups, brdMap));
+    return countUnresolvedCommentGroups(brdFormIds, scope, username)
+        .map(countsByBrd -> buildCommentGroupResponse(countsByBrd, brdMap));
   }
 
   private Map<String, BRD> createBrdMap(List<BRD> brds) {
     return brds.stream().collect(Collectors.toMap(BRD::getBrdFormId, brd -> brd));
   }
 
-  private Flux<BrdFieldCommentGroup> findUnresolvedCommentGroups(
+  private Mono<Map<String, Integer>> countUnresolvedCommentGroups(
       List<String> brdFormIds, String scope, String username) {
-    Query commentQuery =
-        new Query(
-            Criteria.where(DashboardConstants.BRD_FORM_ID)
-                .in(brdFormIds)
-                .and(DashboardConstants.BRD_STATUS)
-                .is(BrdConstants.COMMENT_STATUS_PENDING));
+    Criteria criteria =
+        Criteria.where(DashboardConstants.BRD_FORM_ID)
+            .in(brdFormIds)
+            .and(DashboardConstants.BRD_STATUS)
+            .is(BrdConstants.COMMENT_STATUS_PENDING);
 
     // If scope is ME, filter by createdBy field matching the current username
     if ("ME".equals(scope) && username != null) {
-      commentQuery.addCriteria(Criteria.where(DashboardConstants.CREATED_BY).is(username));
+      criteria.and(DashboardConstants.CREATED_BY).is(username);
       log.info("Filtering unresolved comment groups for user: {}", username);
     }
 
-    commentQuery
-        .fields()
-        .include(DashboardConstants.BRD_FORM_ID)
-        .include(DashboardConstants.BRD_STATUS);
+    TypedAggregation<BrdFieldCommentGroup> aggregation =
+        Aggregation.newAggregation(
+            BrdFieldCommentGroup.class,
+            Aggregation.match(criteria),
+            Aggregation.group(DashboardConstants.BRD_FORM_ID).count().as(COUNT_FIELD));
 
-    return mongoTemplate.find(commentQuery, BrdFieldCommentGroup.class);
+    return mongoTemplate
+        .aggregate(aggregation, Document.class)
+        .collectMap(
+            countDocument -> countDocument.getString("_id"),
+            countDocument -> countDocument.get(COUNT_FIELD, Number.class).intValue());
   }
 
   private UnresolvedCommentGroupsCountResponse buildCommentGroupResponse(
-      Map<String, Collection<BrdFieldCommentGroup>> commentGroupsByBrd, Map<String, BRD> brdMap) {
+      Map<String, Integer> countsByBrd, Map<String, BRD> brdMap) {
 
     int totalCount = 0;
     Map<String, UnresolvedCommentGroupsCountResponse.BrdCommentGroupCount> brdCounts =
         new HashMap<>();
 
-    for (Map.Entry<String, Collection<BrdFieldCommentGroup>> entry :
-        commentGroupsByBrd.entrySet()) {
+    for (Map.Entry<String, Integer> entry : countsByBrd.entrySet()) {
       String brdFormId = entry.getKey();
-      Collection<BrdFieldCommentGroup> commentGroups = entry.getValue();
       BRD brd = brdMap.get(brdFormId);
 
       if (brd != null) {
-        int count = commentGroups.size();
+        int count = entry.getValue();
         totalCount += count;
         brdCounts.put(brdFormId, createBrdCommentCount(brd, count));
       }
@@ -2629,13 +2535,15 @@ public class DashboardService implements IDashboardService {
                 return createEmptyCommentGroupStatsResponse();
               }
 
-              Query query = Query.query(Criteria.where("brdFormId").in(brdFormIds));
-
-              // Only select fields we need
-              query.fields().include("status").include("comments.userType");
+              // One small document per status instead of every group with its comments
+              TypedAggregation<BrdFieldCommentGroup> aggregation =
+                  Aggregation.newAggregation(
+                      BrdFieldCommentGroup.class,
+                      Aggregation.match(Criteria.where("brdFormId").in(brdFormIds)),
+                      groupByStatusWithPmCommentCount());
 
               return mongoTemplate
-                  .find(query, BrdFieldCommentGroup.class)
+                  .aggregate(aggregation, Document.class)
                   .collectList()
                   .map(this::calculateCommentGroupStats)
                   .map(
@@ -2672,35 +2580,37 @@ public class DashboardService implements IDashboardService {
                 Optional.empty())));
   }
 
-  private CommentGroupStatsResponse calculateCommentGroupStats(
-      List<BrdFieldCommentGroup> commentGroups) {
-    int totalGroups = commentGroups.size();
-
-    // Use efficient stream operations with minimal object creation
-    Map<String, List<BrdFieldCommentGroup>> groupsByStatus =
-        commentGroups.stream()
-            .collect(
-                Collectors.groupingBy(
-                    group -> group.getStatus() != null ? group.getStatus() : "",
-                    HashMap::new,
-                    Collectors.toList()));
-
-    int resolvedGroups = groupsByStatus.getOrDefault("Resolved", Collections.emptyList()).size();
-
-    List<BrdFieldCommentGroup> pendingGroups =
-        groupsByStatus.getOrDefault("Pending", Collections.emptyList());
-
-    int totalPendingGroups = pendingGroups.size();
-
-    // Count PM comments in a single pass - ensure we're checking for "ROLE_PM" in userType field
-    Map<Boolean, Long> pmCommentCounts =
-        pendingGroups.stream()
-            .collect(
-                Collectors.partitioningBy(
-                    group ->
-                        group.getComments().stream()
-                            .anyMatch(comment -> "pm".equals(comment.getUserType())),
-                    Collectors.counting()));
+  /** $group stage counting groups per status and how many of them contain a PM comment */
+  private AggregationOperation groupByStatusWithPmCommentCount() {
+    Document userTypes = new Document("$ifNull", List.of("$comments.userType", List.of()));
+    Document hasPmComment =
+        new Document("$cond", List.of(new Document("$in", List.of("pm", userTypes)), 1, 0));
+    return context ->
+        new Document(
+            "$group",
+            new Document("_id", "$status")
+                .append(COUNT_FIELD, new Document("$sum", 1))
+                .append(WITH_PM_COMMENT_FIELD, new Document("$sum", hasPmComment)));
+  }
+
+  private CommentGroupStatsResponse calculateCommentGroupStats(List<Document> statusCounts) {
+    int totalGroups = 0;
+    int resolvedGroups = 0;
+    int totalPendingGroups = 0;
+    int pendingGroupsWithPm = 0;
+
+    for (Document statusCount : statusCounts) {
+      String status = statusCount.getString("_id");
+      int count = statusCount.get(COUNT_FIELD, Number.class).intValue();
+      totalGroups += count;
+
+      if ("Resolved".equals(status)) {
+        resolvedGroups = count;
+      } else if ("Pending".equals(status)) {
+        totalPendingGroups = count;
+        pendingGroupsWithPm = statusCount.get(WITH_PM_COMMENT_FIELD, Number.class).intValue();
+      }
+    }
 
     return CommentGroupStatsResponse.builder()
         .totalCommentGroups(totalGroups)
@@ -2708,8 +2618,8 @@ public class DashboardService implements IDashboardService {
         .pendingCommentStats(
             CommentGroupStatsResponse.PendingCommentStats.builder()
                 .totalPendingGroups(totalPendingGroups)
-                .groupsWithPmComment(pmCommentCounts.getOrDefault(true, 0L).intValue())
-                .groupsWithoutPmComment(pmCommentCounts.getOrDefault(false, 0L).intValue())
+                .groupsWithPmComment(pendingGroupsWithPm)
+                .groupsWithoutPmComment(totalPendingGroups - pendingGroupsWithPm)
                 .build())
         .build();
   }
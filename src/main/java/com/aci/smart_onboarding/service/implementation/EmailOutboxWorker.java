@@ -0,0 +1,348 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.config.EmailOutboxProperties;
+import com.aci.smart_onboarding.enums.EmailOutboxStatus;
+import com.aci.smart_onboarding.model.EmailOutboxMessage;
+import com.aci.smart_onboarding.util.EncryptionUtil;
+import com.sendgrid.Method;
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import com.sendgrid.helpers.mail.Mail;
+import com.sendgrid.helpers.mail.objects.Content;
+import com.sendgrid.helpers.mail.objects.Email;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Drains the notification email outbox. Due emails are claimed one by one with a lease, so several
+ * application instances can share the work, then handed to SendGrid on a dedicated bounded pool at
+ * no more than the configured rate. Transient failures (network errors, throttling, server errors)
+ * are retried with exponential backoff; other rejections fail the email permanently. An encrypted
+ * secret is decrypted into the body only for the SendGrid request. The body and the secret are
+ * removed once an email is sent or has failed for good.
+ *
+ * <p>Delivery is at least once: an instance that dies between SendGrid accepting an email and
+ * recording it as sent leaves a lease that expires, and the email is sent again. The idempotency
+ * key travels with the email as a SendGrid custom argument so such duplicates can be traced.
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker {
+
+  static final String METRIC_PREFIX = "email.outbox.";
+
+  private static final String ID = "_id";
+  private static final String STATUS = "status";
+  private static final String ATTEMPTS = "attempts";
+  private static final String NEXT_ATTEMPT_AT = "nextAttemptAt";
+  private static final String LOCKED_UNTIL = "lockedUntil";
+  private static final String LAST_ERROR = "lastError";
+  private static final String HTML_CONTENT = "htmlContent";
+  private static final String ENCRYPTED_SECRET = "encryptedSecret";
+  private static final String EXPIRE_AT = "expireAt";
+  private static final String HTML_CONTENT_TYPE = "text/html";
+  private static final int MAX_ERROR_LENGTH = 1_000;
+
+  private final SendGrid sendGrid;
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final EmailOutboxProperties properties;
+  private final EncryptionUtil encryptionUtil;
+  private final Scheduler senders;
+
+  private final Counter sentCounter;
+  private final Counter retriedCounter;
+  private final Counter failedCounter;
+  private final Timer deliveryTimer;
+
+  private Disposable subscription;
+
+  public EmailOutboxWorker(
+      SendGrid sendGrid,
+      ReactiveMongoTemplate mongoTemplate,
+      EmailOutboxProperties properties,
+      EncryptionUtil encryptionUtil,
+      MeterRegistry meterRegistry) {
+    this.sendGrid = sendGrid;
+    this.mongoTemplate = mongoTemplate;
+    this.properties = properties;
+    this.encryptionUtil = encryptionUtil;
+    // SendGrid's client blocks, so calls run on their own pool instead of the event loop
+    this.senders =
+        Schedulers.newBoundedElastic(
+            properties.getWorkerConcurrency(), Integer.MAX_VALUE, "email-outbox");
+
+    this.sentCounter = meterRegistry.counter(METRIC_PREFIX + "sent");
+    this.retriedCounter = meterRegistry.counter(METRIC_PREFIX + "retried");
+    this.failedCounter = meterRegistry.counter(METRIC_PREFIX + "failed");
+    this.deliveryTimer = meterRegistry.timer(METRIC_PREFIX + "delivery");
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    subscription =
+        ensureIndexes()
+            .thenMany(Flux.interval(Duration.ZERO, properties.getPollInterval()))
+            .onBackpressureDrop()
+            .concatMap(
+                tick ->
+                    drain()
+                        .onErrorResume(
+                            error -> {
+                              log.error("Error draining email outbox: {}", error.getMessage());
+                              return Mono.just(0L);
+                            }),
+                1)
+            .subscribe(
+                null, error -> log.error("Email outbox worker stopped: {}", error.getMessage()));
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (subscription != null) {
+      subscription.dispose();
+    }
+    senders.dispose();
+  }
+
+  /** Delivers due emails, batch after batch, until fewer than a full batch were due */
+  Mono<Long> drain() {
+    int batchSize = properties.getBatchSize();
+    return drainBatch(batchSize)
+        .expand(delivered -> delivered < batchSize ? Mono.empty() : drainBatch(batchSize))
+        .reduce(0L, Long::sum);
+  }
+
+  private Mono<Long> drainBatch(int batchSize) {
+    Flux<EmailOutboxMessage> claimed = claim().expand(message -> claim()).take(batchSize);
+    if (properties.getRatePerSecond() > 0) {
+      claimed = claimed.delayElements(Duration.ofMillis(1_000L / properties.getRatePerSecond()));
+    }
+    return claimed.flatMap(this::deliver, properties.getWorkerConcurrency()).count();
+  }
+
+  /** Leases the next due email, or one whose previous worker's lease has run out */
+  private Mono<EmailOutboxMessage> claim() {
+    LocalDateTime now = LocalDateTime.now();
+    Query query =
+        Query.query(
+                new Criteria()
+                    .orOperator(
+                        Criteria.where(STATUS)
+                            .is(EmailOutboxStatus.PENDING)
+                            .and(NEXT_ATTEMPT_AT)
+                            .lte(now),
+                        Criteria.where(STATUS)
+                            .is(EmailOutboxStatus.SENDING)
+                            .and(LOCKED_UNTIL)
+                            .lt(now)))
+            .with(Sort.by(Sort.Direction.ASC, NEXT_ATTEMPT_AT));
+    Update update =
+        new Update()
+            .set(STATUS, EmailOutboxStatus.SENDING)
+            .set(LOCKED_UNTIL, now.plus(properties.getLeaseDuration()))
+            .inc(ATTEMPTS, 1);
+
+    return mongoTemplate.findAndModify(
+        query, update, FindAndModifyOptions.options().returnNew(true), EmailOutboxMessage.class);
+  }
+
+  private Mono<Void> deliver(EmailOutboxMessage message) {
+    Timer.Sample sample = Timer.start();
+    return Mono.fromCallable(() -> sendGrid.api(toRequest(message)))
+        .subscribeOn(senders)
+        .flatMap(
+            response -> {
+              int statusCode = response.getStatusCode();
+              if (statusCode >= 200 && statusCode < 300) {
+                return markSent(message, response);
+              }
+              String error = "SendGrid returned " + statusCode + ": " + response.getBody();
+              return isTransient(statusCode)
+                  ? retryLater(message, error)
+                  : markFailed(message, error);
+            })
+        .onErrorResume(error -> retryLater(message, error.toString()))
+        .doFinally(signal -> sample.stop(deliveryTimer));
+  }
+
+  private Request toRequest(EmailOutboxMessage message) throws IOException {
+    Mail mail =
+        new Mail(
+            new Email(message.getSenderEmail(), message.getSenderName()),
+            message.getSubject(),
+            new Email(message.getRecipient()),
+            new Content(HTML_CONTENT_TYPE, body(message)));
+    mail.addCustomArg("idempotency_key", message.getIdempotencyKey());
+
+    Request request = new Request();
+    request.setMethod(Method.POST);
+    request.setEndpoint("mail/send");
+    request.setBody(mail.build());
+    return request;
+  }
+
+  /** The body with its secret filled in; the plaintext secret exists only for the request */
+  private String body(EmailOutboxMessage message) {
+    if (message.getEncryptedSecret() == null) {
+      return message.getHtmlContent();
+    }
+    byte[] secret =
+        encryptionUtil.decryptSecret(Base64.getDecoder().decode(message.getEncryptedSecret()));
+    return message
+        .getHtmlContent()
+        .replace(
+            EmailOutboxMessage.SECRET_PLACEHOLDER, new String(secret, StandardCharsets.UTF_8));
+  }
+
+  private Mono<Void> markSent(EmailOutboxMessage message, Response response) {
+    LocalDateTime now = LocalDateTime.now();
+    log.info(
+        "{} email sent to {} (SendGrid message ID {})",
+        message.getEmailType(),
+        message.getRecipient(),
+        response.getHeaders() != null ? response.getHeaders().get("X-Message-Id") : null);
+    sentCounter.increment();
+
+    // The body may hold reset links and the secret credentials; neither is needed once sent
+    Update update =
+        new Update()
+            .set(STATUS, EmailOutboxStatus.SENT)
+            .set("sentAt", now)
+            .set(EXPIRE_AT, now.plus(properties.getRetention()))
+            .unset(HTML_CONTENT)
+            .unset(ENCRYPTED_SECRET)
+            .unset(LOCKED_UNTIL)
+            .unset(LAST_ERROR);
+    return release(message, update);
+  }
+
+  private Mono<Void> retryLater(EmailOutboxMessage message, String error) {
+    if (message.getAttempts() >= properties.getMaxAttempts()) {
+      return markFailed(message, error);
+    }
+    Duration delay = withJitter(backoff(message.getAttempts()));
+    log.warn(
+        "Delivery attempt {} of {} email to {} failed, retrying in {}: {}",
+        message.getAttempts(),
+        message.getEmailType(),
+        message.getRecipient(),
+        delay,
+        error);
+    retriedCounter.increment();
+
+    Update update =
+        new Update()
+            .set(STATUS, EmailOutboxStatus.PENDING)
+            .set(NEXT_ATTEMPT_AT, LocalDateTime.now().plus(delay))
+            .set(LAST_ERROR, truncate(error))
+            .unset(LOCKED_UNTIL);
+    return release(message, update);
+  }
+
+  private Mono<Void> markFailed(EmailOutboxMessage message, String error) {
+    log.error(
+        "Giving up on {} email to {} after {} attempts: {}",
+        message.getEmailType(),
+        message.getRecipient(),
+        message.getAttempts(),
+        error);
+    failedCounter.increment();
+
+    Update update =
+        new Update()
+            .set(STATUS, EmailOutboxStatus.FAILED)
+            .set(LAST_ERROR, truncate(error))
+            .set(EXPIRE_AT, LocalDateTime.now().plus(properties.getRetention()))
+            .unset(HTML_CONTENT)
+            .unset(ENCRYPTED_SECRET)
+            .unset(LOCKED_UNTIL);
+    return release(message, update);
+  }
+
+  /** Applies the outcome only while this worker still holds the lease it claimed */
+  private Mono<Void> release(EmailOutboxMessage message, Update update) {
+    Query query =
+        Query.query(
+            Criteria.where(ID).is(message.getId()).and(LOCKED_UNTIL).is(message.getLockedUntil()));
+    return mongoTemplate.updateFirst(query, update, EmailOutboxMessage.class).then();
+  }
+
+  /**
+   * Throttling and server errors can clear up; other rejections will not. A rejected API key or
+   * sender (401, 403) needs a configuration change, so retrying it only delays the failure.
+   */
+  static boolean isTransient(int statusCode) {
+    return statusCode == 429 || statusCode >= 500;
+  }
+
+  /** Delay before the next attempt: the initial backoff doubled per attempt, capped */
+  Duration backoff(int attempts) {
+    Duration initial = properties.getInitialBackoff();
+    Duration max = properties.getMaxBackoff();
+    int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+    Duration delay = initial.multipliedBy(1L << doublings);
+    return delay.compareTo(max) > 0 ? max : delay;
+  }
+
+  /** Spreads retries of emails that failed together, e.g. during a SendGrid outage */
+  private static Duration withJitter(Duration delay) {
+    long jitter = ThreadLocalRandom.current().nextLong(delay.toMillis() / 10 + 1);
+    return delay.plusMillis(jitter);
+  }
+
+  private static String truncate(String error) {
+    return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+  }
+
+  private Mono<Void> ensureIndexes() {
+    return mongoTemplate
+        .indexOps(EmailOutboxMessage.class)
+        .ensureIndex(
+            new Index()
+                .on("idempotencyKey", Sort.Direction.ASC)
+                .unique()
+                .named("idx_email_outbox_idempotencyKey"))
+        .then(
+            mongoTemplate
+                .indexOps(EmailOutboxMessage.class)
+                .ensureIndex(
+                    new Index()
+                        .on(STATUS, Sort.Direction.ASC)
+                        .on(NEXT_ATTEMPT_AT, Sort.Direction.ASC)
+                        .named("idx_email_outbox_status_nextAttemptAt")))
+        .then(
+            mongoTemplate
+                .indexOps(EmailOutboxMessage.class)
+                .ensureIndex(
+                    new Index()
+                        .on(EXPIRE_AT, Sort.Direction.ASC)
+                        .expire(Duration.ZERO)
+                        .named("idx_email_outbox_expireAt")))
+        .then();
+  }
+}
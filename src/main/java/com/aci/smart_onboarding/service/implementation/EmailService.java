@@ -1,34 +1,44 @@
 package com.aci.smart_onboarding.service.implementation;
 
+import com.aci.smart_onboarding.enums.EmailOutboxStatus;
 import com.aci.smart_onboarding.exception.EmailServiceException;
+import com.aci.smart_onboarding.model.EmailOutboxMessage;
 import com.aci.smart_onboarding.service.IEmailService;
-import com.sendgrid.Method;
-import com.sendgrid.Request;
-import com.sendgrid.Response;
-import com.sendgrid.SendGrid;
-import com.sendgrid.helpers.mail.Mail;
-import com.sendgrid.helpers.mail.objects.Content;
-import com.sendgrid.helpers.mail.objects.Email;
+import com.aci.smart_onboarding.util.EncryptionUtil;
 import jakarta.annotation.PostConstruct;
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 /**
- * Implementation of the EmailService interface. Handles sending email notifications for various
- * events in the system. Uses a thread pool for asynchronous email sending to improve performance.
+ * Implementation of the EmailService interface. Composes notification emails for various events in
+ * the system and records them in the email outbox; {@link EmailOutboxWorker} delivers them through
+ * SendGrid, so callers never wait on the SendGrid API. When called inside a transaction, the email
+ * is queued in the same transaction as the business change. Secrets such as generated passwords are
+ * stored encrypted next to the body and only filled in by the worker when it sends the email.
  */
 @Slf4j
 @Service
 public class EmailService implements IEmailService {
 
-  private static final String HTML_CONTENT_TYPE = "text/html";
+  private static final String IDEMPOTENCY_HASH = "SHA-256";
+  private static final String IDEMPOTENCY_KEY = "idempotencyKey";
 
-  private final SendGrid sendGrid;
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final EncryptionUtil encryptionUtil;
 
   @Value("${sendgrid.sender.email}")
   private String senderEmail;
@@ -42,8 +52,9 @@ public class EmailService implements IEmailService {
   @Value("${app.frontend.url}")
   private String frontendUrl;
 
-  public EmailService(SendGrid sendGrid) {
-    this.sendGrid = sendGrid;
+  public EmailService(ReactiveMongoTemplate mongoTemplate, EncryptionUtil encryptionUtil) {
+    this.mongoTemplate = mongoTemplate;
+    this.encryptionUtil = encryptionUtil;
   }
 
   @PostConstruct
@@ -68,212 +79,173 @@ public class EmailService implements IEmailService {
   }
 
   /**
-   * Sends an email notification to a biller when their BRD status changes to In Progress. The email
-   * is sent asynchronously using a dedicated thread pool. Includes retry logic for transient
-   * failures.
+   * Queues an email notification to a biller when their BRD status changes to In Progress.
    *
    * @param toEmail The email address of the biller
    * @param brdId The ID of the BRD
    * @param brdName The name of the BRD
    * @param brdFormId The ID of the BRD form
-   * @return A Mono that completes when the email is sent
-   * @throws IllegalArgumentException if any parameter is invalid
-   * @throws IOException if the email fails to send after retries
+   * @param status The status the BRD changed to
+   * @param requestId The ID of the request that changed the status
+   * @return A Mono that completes when the email is queued
+   * @throws EmailServiceException if the email cannot be queued
    */
   @Override
   public Mono<Void> sendBrdStatusChangeNotification(
-      String toEmail, String brdId, String brdName, String brdFormId) {
-    log.info("Attempting to send BRD status change notification to: {}", toEmail);
-    return Mono.fromRunnable(
-        () -> {
-          try {
-            Email from = new Email(senderEmail, senderName);
-            Email to = new Email(toEmail);
-            String subject = "BRD Status Update: " + brdName;
-            Content content =
-                new Content(
-                    HTML_CONTENT_TYPE, buildBrdStatusChangeContent(brdId, brdName, brdFormId));
-            Mail mail = new Mail(from, subject, to, content);
-
-            log.info("Sending email with subject: {}", subject);
-            sendEmail(mail);
-            log.info("Email sent successfully to {}", toEmail);
-          } catch (Exception e) {
-            log.error(
-                "Failed to send BRD status change notification to {}: {}", toEmail, e.getMessage());
-            throw e;
-          }
-        });
+      String toEmail,
+      String brdId,
+      String brdName,
+      String brdFormId,
+      String status,
+      String requestId) {
+    return enqueue(
+        "BRD_STATUS_CHANGE",
+        toEmail,
+        "BRD Status Update: " + brdName,
+        () -> buildBrdStatusChangeContent(brdId, brdName, brdFormId),
+        brdId,
+        status,
+        requestId);
   }
 
   @Override
   public Mono<Void> sendBillerWelcomeEmail(
-      String billerEmail, String brdId, String brdName, String brdFormId) {
-    return Mono.fromRunnable(
-        () -> {
-          Email from = new Email(senderEmail, senderName);
-          Email to = new Email(billerEmail);
-          String subject = "Welcome to Smart Onboarding - New BRD Assignment";
-          Content content =
-              new Content(HTML_CONTENT_TYPE, buildBillerWelcomeContent(brdId, brdName, brdFormId));
-          Mail mail = new Mail(from, subject, to, content);
-
-          sendEmail(mail);
-        });
+      String billerEmail, String brdId, String brdName, String brdFormId, String requestId) {
+    return enqueue(
+        "BILLER_WELCOME",
+        billerEmail,
+        "Welcome to Smart Onboarding - New BRD Assignment",
+        () -> buildBillerWelcomeContent(brdId, brdName, brdFormId),
+        brdId,
+        requestId);
   }
 
   @Override
-  public Mono<Void> sendUserWelcomeEmailWithResetLink(String toEmail, String userName) {
-    log.info("Attempting to send user welcome email with reset link to: {}", toEmail);
-    return Mono.fromRunnable(
-        () -> {
-          try {
-            Email from = new Email(senderEmail, senderName);
-            Email to = new Email(toEmail);
-            String subject = "Welcome to Smart Onboarding - Account Created";
-            Content content =
-                new Content(HTML_CONTENT_TYPE, buildUserWelcomeWithResetContent(userName));
-            Mail mail = new Mail(from, subject, to, content);
-
-            log.info("Sending welcome email with reset link to: {}", toEmail);
-            sendEmail(mail);
-            log.info("Welcome email with reset link sent successfully to {}", toEmail);
-          } catch (Exception e) {
-            log.error(
-                "Failed to send welcome email with reset link to {}: {}", toEmail, e.getMessage());
-            throw e;
-          }
-        });
+  public Mono<Void> sendUserWelcomeEmailWithResetLink(
+      String toEmail, String userName, String userId) {
+    return enqueue(
+        "USER_WELCOME",
+        toEmail,
+        "Welcome to Smart Onboarding - Account Created",
+        () -> buildUserWelcomeWithResetContent(userName),
+        userId);
   }
 
   @Override
-  public Mono<Void> sendUserCredentialsEmail(String toEmail, String password) {
-    log.info("Attempting to send user credentials email to: {}", toEmail);
-    return Mono.fromRunnable(
-        () -> {
-          try {
-            Email from = new Email(senderEmail, senderName);
-            Email to = new Email(toEmail);
-            String subject = "Smart Onboarding - Your Account Credentials";
-            Content content = new Content(HTML_CONTENT_TYPE, buildUserCredentialsContent(password));
-            Mail mail = new Mail(from, subject, to, content);
-
-            log.info("Sending credentials email to: {}", toEmail);
-            sendEmail(mail);
-            log.info("Credentials email sent successfully to {}", toEmail);
-          } catch (Exception e) {
-            log.error("Failed to send credentials email to {}: {}", toEmail, e.getMessage());
-            throw e;
-          }
-        });
+  public Mono<Void> sendUserCredentialsEmail(String toEmail, String password, String userId) {
+    return enqueueWithSecret(
+        "USER_CREDENTIALS",
+        toEmail,
+        "Smart Onboarding - Your Account Credentials",
+        () -> buildUserCredentialsContent(EmailOutboxMessage.SECRET_PLACEHOLDER),
+        password,
+        userId);
   }
 
   @Override
   public Mono<Void> sendPasswordResetEmail(String toEmail, String resetLink) {
-    log.info("Attempting to send password reset email to: {}", toEmail);
-    return Mono.fromRunnable(
-        () -> {
-          try {
-            Email from = new Email(senderEmail, senderName);
-            Email to = new Email(toEmail);
-            String subject = "Smart Onboarding - Password Reset Request";
-            Content content = new Content(HTML_CONTENT_TYPE, buildPasswordResetContent(resetLink));
-            Mail mail = new Mail(from, subject, to, content);
+    // Every reset request gets its own token, and with it its own link
+    return enqueue(
+        "PASSWORD_RESET",
+        toEmail,
+        "Smart Onboarding - Password Reset Request",
+        () -> buildPasswordResetContent(resetLink),
+        resetLink);
+  }
 
-            log.info("Sending password reset email to: {}", toEmail);
-            sendEmail(mail);
-            log.info("Password reset email sent successfully to {}", toEmail);
-          } catch (Exception e) {
-            log.error("Failed to send password reset email to {}: {}", toEmail, e.getMessage());
-            throw e;
-          }
-        });
+  /**
+   * Records the email in the outbox unless the same event already queued it. The upsert keyed by
+   * the idempotency key never fails on duplicates, so it cannot abort a surrounding transaction.
+   *
+   * @param event identifies the business event the email is sent for, e.g. the BRD, the status it
+   *     changed to and the request that changed it; the same event queues the email once
+   */
+  private Mono<Void> enqueue(
+      String emailType,
+      String toEmail,
+      String subject,
+      Supplier<String> content,
+      String... event) {
+    return enqueueWithSecret(emailType, toEmail, subject, content, null, event);
   }
 
   /**
-   * Checks the delivery status of an email in SendGrid. This method can be called after sending an
-   * email to verify its delivery status.
+   * Same as {@link #enqueue}, for an email that shows a secret. The secret is stored encrypted,
+   * and the body holds {@link EmailOutboxMessage#SECRET_PLACEHOLDER} in its place.
    */
-  private void checkEmailDeliveryStatus(String emailId) {
-    try {
-      Request request = new Request();
-      request.setMethod(Method.GET);
-      request.setEndpoint("mail/send/" + emailId);
+  private Mono<Void> enqueueWithSecret(
+      String emailType,
+      String toEmail,
+      String subject,
+      Supplier<String> content,
+      String secret,
+      String... event) {
+    return Mono.defer(
+            () -> {
+              String htmlContent = content.get();
+              LocalDateTime now = LocalDateTime.now();
+              Query query =
+                  Query.query(
+                      Criteria.where(IDEMPOTENCY_KEY)
+                          .is(idempotencyKey(emailType, toEmail, event)));
+              Update update =
+                  new Update()
+                      .setOnInsert("emailType", emailType)
+                      .setOnInsert("senderEmail", senderEmail)
+                      .setOnInsert("senderName", senderName)
+                      .setOnInsert("recipient", toEmail)
+                      .setOnInsert("subject", subject)
+                      .setOnInsert("htmlContent", htmlContent)
+                      .setOnInsert("status", EmailOutboxStatus.PENDING)
+                      .setOnInsert("attempts", 0)
+                      .setOnInsert("nextAttemptAt", now)
+                      .setOnInsert("createdAt", now);
+              if (secret != null) {
+                update.setOnInsert("encryptedSecret", encrypt(secret));
+              }
+              return mongoTemplate.upsert(query, update, EmailOutboxMessage.class);
+            })
+        .doOnNext(
+            result -> {
+              if (result.getUpsertedId() != null) {
+                log.info("Queued {} email to {}", emailType, toEmail);
+              } else {
+                log.info("{} email to {} is already queued, skipping", emailType, toEmail);
+              }
+            })
+        // Two concurrent upserts of the same email: the losing one is a duplicate as well
+        .onErrorResume(DuplicateKeyException.class, e -> Mono.empty())
+        .onErrorMap(
+            e -> {
+              log.error("Failed to queue {} email to {}: {}", emailType, toEmail, e.getMessage());
+              return new EmailServiceException("Failed to queue email notification", e);
+            })
+        .then();
+  }
 
-      Response response = sendGrid.api(request);
-      log.info("Email delivery status check response: {}", response.getBody());
-    } catch (IOException e) {
-      log.error("Error checking email delivery status: {}", e.getMessage());
-    }
+  private String encrypt(String secret) {
+    return Base64.getEncoder()
+        .encodeToString(encryptionUtil.encrypt(secret.getBytes(StandardCharsets.UTF_8)));
   }
 
-  @Retryable(
-      retryFor = {IOException.class},
-      maxAttempts = 3,
-      backoff = @Backoff(delay = 1000, multiplier = 2))
-  private void sendEmail(Mail mail) {
+  /** Hashed, as the event may include secrets such as the token in a password reset link */
+  static String idempotencyKey(String emailType, String toEmail, String... event) {
     try {
-      log.info("Preparing to send email:");
-      log.info("From: {} <{}>", mail.getFrom().getName(), mail.getFrom().getEmail());
-      log.info("To: {}", mail.getPersonalization().get(0).getTos().get(0).getEmail());
-      log.info("Subject: {}", mail.getSubject());
-
-      Request request = new Request();
-      request.setMethod(Method.POST);
-      request.setEndpoint("mail/send");
-      request.setBody(mail.build());
-
-      log.info("Sending request to SendGrid API...");
-      Response response = sendGrid.api(request);
-
-      if (response.getStatusCode() >= 200 && response.getStatusCode() < 300) {
-        String emailId = response.getHeaders().get("X-Message-Id");
-        log.info(
-            "Email sent successfully to {}",
-            mail.getPersonalization().get(0).getTos().get(0).getEmail());
-        log.info("SendGrid Message ID: {}", emailId);
-        log.info("SendGrid Response Headers: {}", response.getHeaders());
-        log.info("SendGrid Response Body: {}", response.getBody());
-
-        // Check delivery status after a short delay
-        if (emailId != null) {
-          checkMailStatus(emailId);
-        }
-
-        log.info("Please check your email inbox (including spam folder) for the message.");
-        log.info("If not received within 5 minutes, please verify:");
-        log.info("1. Sender email is verified in SendGrid");
-        log.info("2. Recipient email is correct");
-        log.info("3. Check SendGrid Activity Log for delivery status");
-      } else {
-        String errorMessage = "Failed to send email. Status code: " + response.getStatusCode();
-        if (response.getStatusCode() == 401) {
-          errorMessage += " - Authentication failed. Please check:";
-          errorMessage += "\n1. SendGrid API key is valid and has correct permissions";
-          errorMessage += "\n2. Sender email (" + senderEmail + ") is verified in SendGrid";
-          errorMessage += "\n3. API key has 'Mail Send' permission enabled";
-        }
-        errorMessage += "\nResponse body: " + response.getBody();
-        errorMessage += "\nResponse headers: " + response.getHeaders();
-
-        log.error(errorMessage);
-        throw new IOException(errorMessage);
+      MessageDigest digest = MessageDigest.getInstance(IDEMPOTENCY_HASH);
+      update(digest, emailType);
+      update(digest, toEmail);
+      for (String part : event) {
+        update(digest, part);
       }
-    } catch (IOException e) {
-      log.error("Error sending email: {}", e.getMessage());
-      throw new EmailServiceException(
-          "Failed to send email after retries. Please check SendGrid configuration.", e);
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
     }
   }
 
-  private void checkMailStatus(String emailId) {
-    try {
-      Thread.sleep(5000); // Wait 5 seconds before checking status
-      checkEmailDeliveryStatus(emailId);
-    } catch (InterruptedException e) {
-      log.warn("Interrupted while waiting to check email status");
-      Thread.currentThread().interrupt();
-    }
+  private static void update(MessageDigest digest, String part) {
+    digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
   }
 
   private String buildBrdStatusChangeContent(String brdId, String brdName, String brdFormId) {
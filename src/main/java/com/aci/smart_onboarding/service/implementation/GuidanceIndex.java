@@ -0,0 +1,200 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.dto.GuidanceData;
+import com.aci.smart_onboarding.service.IBlobStorageService;
+import com.aci.smart_onboarding.util.FileReader;
+import com.aci.smart_onboarding.util.FileReader.FileType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * The legacy rules guidance file, parsed once and kept in memory by rule name.
+ *
+ * <p>Each request only asks blob storage for the file's ETag. The file is downloaded and parsed
+ * again only when the ETag changed, and concurrent requests share that reload. New guidance is
+ * appended to the file instead of rewriting it, guarded by the ETag it was read at, so a file
+ * changed by someone else in the meantime is never overwritten.
+ */
+@Slf4j
+@Component
+public class GuidanceIndex {
+
+  private final IBlobStorageService blobStorageService;
+  private final FileReader fileReader;
+  private final AtomicReference<Guidance> current = new AtomicReference<>();
+  private final Map<String, Mono<Guidance>> reloads = new ConcurrentHashMap<>();
+
+  @Value("${blob.files.rules-file}")
+  private String rulesFileName;
+
+  public GuidanceIndex(IBlobStorageService blobStorageService, FileReader fileReader) {
+    this.blobStorageService = blobStorageService;
+    this.fileReader = fileReader;
+  }
+
+  /** Guidance of the current version of the file, reloaded only when the file changed */
+  public Mono<Guidance> current() {
+    return blobStorageService
+        .getFileETag(rulesFileName)
+        .flatMap(
+            etag -> {
+              Guidance guidance = current.get();
+              if (guidance != null && etag.equals(guidance.version())) {
+                return Mono.just(guidance);
+              }
+              return reloads.computeIfAbsent(etag, this::reload);
+            });
+  }
+
+  private Mono<Guidance> reload(String etag) {
+    return blobStorageService
+        .fetchFile(rulesFileName)
+        .map(
+            bytes -> {
+              List<GuidanceData> entries =
+                  fileReader.parseByteArrayContent(
+                      bytes, FileType.STANDARD_DATA, GuidanceData.class);
+              Guidance guidance = new Guidance(etag, entries, !hasUtf16Bom(bytes));
+              current.set(guidance);
+              log.info("Loaded {} guidance entries, version {}", entries.size(), etag);
+              return guidance;
+            })
+        .doFinally(signal -> reloads.remove(etag))
+        .cache();
+  }
+
+  /**
+   * Adds the entries for rules the guidance does not know yet and persists them.
+   *
+   * @param guidance the guidance the entries were found for
+   * @param entries new entries; entries without a rule name or for known rules are skipped
+   * @return the guidance including the added entries
+   */
+  public Mono<Guidance> append(Guidance guidance, List<GuidanceData> entries) {
+    List<GuidanceData> added = guidance.unknown(entries);
+    if (added.isEmpty()) {
+      return Mono.just(guidance);
+    }
+    log.info("Appending {} guidance entries to {}", added.size(), rulesFileName);
+
+    Mono<String> version;
+    if (guidance.appendable()) {
+      // The file has no trailing newline, so every appended line starts with one
+      String lines = added.stream().map(GuidanceIndex::line).collect(Collectors.joining(""));
+      version = blobStorageService.appendToFile(rulesFileName, lines, guidance.version());
+    } else {
+      // UTF-16 files cannot take UTF-8 appends; rewritten once, they are UTF-8 from then on
+      List<GuidanceData> all = new ArrayList<>(guidance.entries());
+      all.addAll(added);
+      String content =
+          all.stream().map(GuidanceIndex::line).collect(Collectors.joining("")).substring(1);
+      version =
+          blobStorageService
+              .updateFile(rulesFileName, content)
+              .then(blobStorageService.getFileETag(rulesFileName));
+    }
+
+    return version.map(
+        etag -> {
+          Guidance appended = guidance.with(etag, added);
+          current.compareAndSet(guidance, appended);
+          return appended;
+        });
+  }
+
+  private static String line(GuidanceData data) {
+    return "\n"
+        + String.join(
+            "|",
+            data.getRuleName(),
+            data.getMappingKey(),
+            data.getSimilarity(),
+            data.getExplanation(),
+            data.getQuestiondId());
+  }
+
+  private static boolean hasUtf16Bom(byte[] bytes) {
+    return bytes.length >= 2
+        && ((bytes[0] == (byte) 0xFF && bytes[1] == (byte) 0xFE)
+            || (bytes[0] == (byte) 0xFE && bytes[1] == (byte) 0xFF));
+  }
+
+  /** One version of the guidance, immutable; lookups by rule name are map hits */
+  public static final class Guidance {
+
+    private final String version;
+    private final List<GuidanceData> entries;
+    private final Map<String, List<GuidanceData>> byRuleName;
+    private final boolean appendable;
+
+    private Guidance(String version, List<GuidanceData> entries, boolean appendable) {
+      this.version = version;
+      this.entries = Collections.unmodifiableList(entries);
+      this.byRuleName =
+          entries.stream()
+              .filter(data -> data.getRuleName() != null)
+              .collect(
+                  Collectors.groupingBy(
+                      GuidanceData::getRuleName, LinkedHashMap::new, Collectors.toList()));
+      this.appendable = appendable;
+    }
+
+    /** Guidance of the given entries, as if read from a UTF-8 file at the given version */
+    public static Guidance of(String version, List<GuidanceData> entries) {
+      return new Guidance(version, new ArrayList<>(entries), true);
+    }
+
+    /** ETag of the file the guidance was read from */
+    public String version() {
+      return version;
+    }
+
+    public List<GuidanceData> entries() {
+      return entries;
+    }
+
+    public boolean contains(String ruleName) {
+      return byRuleName.containsKey(ruleName);
+    }
+
+    /** Entries for the rule, in file order; empty when the rule is unknown */
+    public List<GuidanceData> get(String ruleName) {
+      return byRuleName.getOrDefault(ruleName, List.of());
+    }
+
+    boolean appendable() {
+      return appendable;
+    }
+
+    private List<GuidanceData> unknown(List<GuidanceData> candidates) {
+      List<GuidanceData> unknown = new ArrayList<>();
+      Set<String> seen = new HashSet<>();
+      for (GuidanceData candidate : candidates) {
+        String ruleName = candidate.getRuleName();
+        if (ruleName != null && !contains(ruleName) && seen.add(ruleName)) {
+          unknown.add(candidate);
+        }
+      }
+      return unknown;
+    }
+
+    private Guidance with(String newVersion, List<GuidanceData> added) {
+      List<GuidanceData> all = new ArrayList<>(entries.size() + added.size());
+      all.addAll(entries);
+      all.addAll(added);
+      return new Guidance(newVersion, all, true);
+    }
+  }
+}
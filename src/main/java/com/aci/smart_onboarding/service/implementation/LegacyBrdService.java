@@ -1,5 +1,6 @@
 package com.aci.smart_onboarding.service.implementation;
 
+import com.aci.smart_onboarding.config.PrefillProperties;
 import com.aci.smart_onboarding.dto.Api;
 import com.aci.smart_onboarding.dto.BRDResponse;
 import com.aci.smart_onboarding.dto.BrdForm;
@@ -19,12 +20,15 @@ import com.aci.smart_onboarding.repository.SiteRepository;
 import com.aci.smart_onboarding.service.IBRDService;
 import com.aci.smart_onboarding.service.IBlobStorageService;
 import com.aci.smart_onboarding.service.ILegacyBrdService;
+import com.aci.smart_onboarding.service.implementation.GuidanceIndex.Guidance;
 import com.aci.smart_onboarding.util.FileReader;
 import com.aci.smart_onboarding.util.FileReader.FileType;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.aci.smart_onboarding.util.JsonDataBuffers;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -34,11 +38,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
@@ -65,9 +67,8 @@ public class LegacyBrdService implements ILegacyBrdService {
   private final ObjectMapper objectMapper = new ObjectMapper();
   private final AssistantService assistantService;
   private final SiteRepository siteRepository;
-
-  @Value("${blob.files.rules-file}")
-  private String franklinRulesFileName;
+  private final PrefillProperties prefillProperties;
+  private final GuidanceIndex guidanceIndex;
 
   public LegacyBrdService(
       FileReader fileReader,
@@ -76,7 +77,9 @@ public class LegacyBrdService implements ILegacyBrdService {
       IBRDService brdService,
       DtoModelMapper dtoModelMapper,
       AssistantService assistantService,
-      SiteRepository siteRepository) {
+      SiteRepository siteRepository,
+      PrefillProperties prefillProperties,
+      GuidanceIndex guidanceIndex) {
     this.fileReader = fileReader;
     this.blobStorageService = blobStorageService;
     this.legacyBRDRepository = legacyBRDRepository;
@@ -84,6 +87,8 @@ public class LegacyBrdService implements ILegacyBrdService {
     this.dtoModelMapper = dtoModelMapper;
     this.assistantService = assistantService;
     this.siteRepository = siteRepository;
+    this.prefillProperties = prefillProperties;
+    this.guidanceIndex = guidanceIndex;
   }
 
   @Override
@@ -145,15 +150,6 @@ public class LegacyBrdService implements ILegacyBrdService {
         .onErrorResume(e -> Mono.just(false));
   }
 
-  private Mono<byte[]> fetchGuidanceData() {
-    return blobStorageService
-        .fetchFile(franklinRulesFileName)
-        .doOnSuccess(
-            bytes ->
-                log.info("Successfully fetched guidance data file, size: {} bytes", bytes.length))
-        .doOnError(e -> log.error("Error fetching guidance data file: {}", e.getMessage(), e));
-  }
-
   private Mono<byte[]> fetchBrdRules(String brdRulesFileUrl) {
     return blobStorageService
         .fetchFileFromUrl(brdRulesFileUrl)
@@ -162,15 +158,6 @@ public class LegacyBrdService implements ILegacyBrdService {
         .doOnError(e -> log.error("Error fetching BRD rules file: {}", e.getMessage(), e));
   }
 
-  private List<GuidanceData> parseGuidanceData(byte[] guidanceDataBytes) {
-    log.info("Parsing guidance data...");
-    List<GuidanceData> guidanceDataList =
-        fileReader.parseByteArrayContent(
-            guidanceDataBytes, FileType.STANDARD_DATA, GuidanceData.class);
-    log.info("Parsed {} guidance data entries", guidanceDataList.size());
-    return guidanceDataList;
-  }
-
   private List<BrdRules> parseBrdRules(byte[] brdRulesBytes) {
     log.info("Parsing BRD rules...");
     List<BrdRules> brdRulesList =
@@ -179,28 +166,18 @@ public class LegacyBrdService implements ILegacyBrdService {
     return brdRulesList;
   }
 
-  private Map<String, List<GuidanceData>> createGuidanceDataMap(
-      List<GuidanceData> guidanceDataList) {
-    log.info("Creating guidance data map...");
-    return guidanceDataList.stream().collect(Collectors.groupingBy(GuidanceData::getRuleName));
-  }
-
-  private List<BrdRules> findNewRules(
-      List<BrdRules> brdRulesList, Map<String, List<GuidanceData>> ruleNameToGuidanceMap) {
+  private List<BrdRules> findNewRules(List<BrdRules> brdRulesList, Guidance guidance) {
     log.info("Finding new rules...");
     List<BrdRules> newRules =
-        brdRulesList.stream()
-            .filter(rule -> !ruleNameToGuidanceMap.containsKey(rule.getRuleName()))
-            .toList();
+        brdRulesList.stream().filter(rule -> !guidance.contains(rule.getRuleName())).toList();
     log.info("Found {} new rules to process with AI", newRules.size());
     return newRules;
   }
 
-  private Mono<List<GuidanceData>> processNewRules(
-      List<BrdRules> newRules, List<GuidanceData> guidanceDataList) {
+  private Mono<Guidance> processNewRules(List<BrdRules> newRules, Guidance guidance) {
     if (newRules.isEmpty()) {
       log.info("No new rules to process, using existing guidance data");
-      return Mono.just(guidanceDataList);
+      return Mono.just(guidance);
     }
 
     return assistantService
@@ -208,96 +185,58 @@ public class LegacyBrdService implements ILegacyBrdService {
         .doOnSubscribe(s -> log.info("Starting semantic matching process"))
         .doOnSuccess(r -> log.info("Semantic matching completed successfully"))
         .doOnError(e -> log.error("Error in semantic matching: {}", e.getMessage(), e))
-        .flatMap(newGuidanceData -> updateGuidanceWithNewData(newGuidanceData, guidanceDataList));
+        .flatMap(newGuidanceData -> updateGuidanceWithNewData(newGuidanceData, guidance));
   }
 
-  private Mono<List<GuidanceData>> updateGuidanceWithNewData(
-      List<GuidanceData> newGuidanceData, List<GuidanceData> existingGuidanceData) {
+  private Mono<Guidance> updateGuidanceWithNewData(
+      List<GuidanceData> newGuidanceData, Guidance guidance) {
     if (newGuidanceData == null || newGuidanceData.isEmpty()) {
-      return Mono.just(existingGuidanceData);
-    }
-
-    List<GuidanceData> combinedGuidanceData = new ArrayList<>(existingGuidanceData);
-    Set<String> existingRuleNames =
-        existingGuidanceData.stream().map(GuidanceData::getRuleName).collect(Collectors.toSet());
-
-    for (GuidanceData newData : newGuidanceData) {
-      if (newData.getRuleName() != null && !existingRuleNames.contains(newData.getRuleName())) {
-        combinedGuidanceData.add(newData);
-      }
+      return Mono.just(guidance);
     }
 
-    return updateGuidanceDocument(combinedGuidanceData)
-        .thenReturn(combinedGuidanceData)
+    return guidanceIndex
+        .append(guidance, newGuidanceData)
         .onErrorResume(
             e -> {
               log.error("Error updating guidance document: {}", e.getMessage(), e);
-              return Mono.just(existingGuidanceData);
+              return Mono.just(guidance);
             });
   }
 
-  private Mono<Resource> createCombinedRulesResource(
-      List<BrdRules> brdRulesList, List<GuidanceData> guidanceDataList) {
-    try {
-      List<RulesWithData> combinedRules = createCombinedRules(brdRulesList, guidanceDataList);
-      byte[] jsonData =
-          objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(combinedRules);
-      return Mono.just(
-          new ByteArrayResource(jsonData) {
-            @Override
-            public String getFilename() {
-              return "combined_rules.json";
-            }
-          });
-    } catch (JsonProcessingException e) {
-      log.error("Error creating JSON: {}", e.getMessage(), e);
-      return Mono.error(new RuntimeException("Error creating JSON", e));
-    }
-  }
-
-  private List<RulesWithData> createCombinedRules(
-      List<BrdRules> brdRulesList, List<GuidanceData> guidanceDataList) {
-    Map<String, List<GuidanceData>> ruleNameToGuidanceMap = createGuidanceDataMap(guidanceDataList);
-    List<RulesWithData> combinedRules = new ArrayList<>();
+  /**
+   * Streams the combined rules as a JSON array. Each rule is combined with its guidance and
+   * written as the stream is read, so neither the combined list nor the whole document is held in
+   * memory.
+   */
+  private Flux<DataBuffer> createCombinedRulesStream(
+      List<BrdRules> brdRulesList, Guidance guidance, boolean pretty) {
     Set<String> noMappingRules = new HashSet<>();
-    AtomicInteger totalRules = new AtomicInteger(0);
     AtomicInteger mappedRules = new AtomicInteger(0);
+    AtomicInteger combinedRules = new AtomicInteger(0);
 
-    processBrdRulesForCombining(
-        brdRulesList,
-        ruleNameToGuidanceMap,
-        combinedRules,
-        noMappingRules,
-        totalRules,
-        mappedRules);
-    logRuleProcessingResults(totalRules.get(), mappedRules.get(), noMappingRules, combinedRules);
-
-    return combinedRules;
-  }
+    Flux<RulesWithData> rules =
+        Flux.fromIterable(brdRulesList)
+            .mapNotNull(
+                brdRule -> createCombinedRule(brdRule, guidance, noMappingRules, mappedRules))
+            .doOnNext(combinedRule -> combinedRules.incrementAndGet());
+    ObjectWriter writer =
+        pretty ? objectMapper.writerWithDefaultPrettyPrinter() : objectMapper.writer();
 
-  private void processBrdRulesForCombining(
-      List<BrdRules> brdRulesList,
-      Map<String, List<GuidanceData>> ruleNameToGuidanceMap,
-      List<RulesWithData> combinedRules,
-      Set<String> noMappingRules,
-      AtomicInteger totalRules,
-      AtomicInteger mappedRules) {
-    for (BrdRules brdRule : brdRulesList) {
-      totalRules.incrementAndGet();
-      RulesWithData combinedRule =
-          createCombinedRule(brdRule, ruleNameToGuidanceMap, noMappingRules, mappedRules);
-      if (combinedRule != null) {
-        combinedRules.add(combinedRule);
-      }
-    }
+    return JsonDataBuffers.array(rules, writer, DefaultDataBufferFactory.sharedInstance)
+        .doOnComplete(
+            () ->
+                logRuleProcessingResults(
+                    brdRulesList.size(), mappedRules.get(), noMappingRules, combinedRules.get()))
+        .doOnError(e -> log.error("Error creating JSON: {}", e.getMessage(), e))
+        .onErrorMap(IOException.class, e -> new RuntimeException("Error creating JSON", e));
   }
 
   private RulesWithData createCombinedRule(
       BrdRules brdRule,
-      Map<String, List<GuidanceData>> ruleNameToGuidanceMap,
+      Guidance guidance,
       Set<String> noMappingRules,
       AtomicInteger mappedRules) {
-    List<GuidanceData> matchingGuidanceList = ruleNameToGuidanceMap.get(brdRule.getRuleName());
+    List<GuidanceData> matchingGuidanceList = guidance.get(brdRule.getRuleName());
     GuidanceData validMapping = findValidMapping(matchingGuidanceList);
 
     if (shouldCreateCombinedRule(brdRule, validMapping)) {
@@ -350,10 +289,7 @@ public class LegacyBrdService implements ILegacyBrdService {
   }
 
   private void logRuleProcessingResults(
-      int totalRules,
-      int mappedRules,
-      Set<String> noMappingRules,
-      List<RulesWithData> combinedRules) {
+      int totalRules, int mappedRules, Set<String> noMappingRules, int combinedRules) {
     log.info(
         "Processing complete - Total Rules: {}, Mapped: {}, No Mapping: {}",
         totalRules,
@@ -362,28 +298,24 @@ public class LegacyBrdService implements ILegacyBrdService {
     if (!noMappingRules.isEmpty()) {
       log.info("Rules with no mapping: {}", String.join(", ", noMappingRules));
     }
-    log.info("Processed {} rules into {} combined rules", totalRules, combinedRules.size());
+    log.info("Processed {} rules into {} combined rules", totalRules, combinedRules);
 
-    if (!combinedRules.isEmpty()) {
-      long rulesWithMapping =
-          combinedRules.stream()
-              .filter(r -> r.getMappingKey() != null && !r.getMappingKey().isEmpty())
-              .count();
+    if (combinedRules > 0) {
       log.info(
           "Rules with mapping: {}/{} ({}%)",
-          rulesWithMapping, combinedRules.size(), (rulesWithMapping * 100) / combinedRules.size());
+          mappedRules, combinedRules, (mappedRules * 100) / combinedRules);
     }
   }
 
   @Override
-  public Mono<Resource> getRulesWithData(LegacyBrdRequest request) {
+  public Mono<Flux<DataBuffer>> getRulesWithData(LegacyBrdRequest request, boolean pretty) {
     log.info("Starting getRulesWithData for BRD ID: {}", request.getBrdId());
     log.info("BRD Rules File URL: {}", request.getBrdRulesFileUrl());
 
-    return Mono.zip(fetchGuidanceData(), fetchBrdRules(request.getBrdRulesFileUrl()))
+    return Mono.zip(guidanceIndex.current(), fetchBrdRules(request.getBrdRulesFileUrl()))
         .flatMap(
             tuple -> {
-              List<GuidanceData> guidanceDataList = parseGuidanceData(tuple.getT1());
+              Guidance guidance = tuple.getT1();
               List<BrdRules> brdRulesList = parseBrdRules(tuple.getT2());
 
               return processRootEntityAndSites(brdRulesList, request.getBrdId())
@@ -394,42 +326,17 @@ public class LegacyBrdService implements ILegacyBrdService {
                           return Mono.error(new RuntimeException("Failed to save BRD data"));
                         }
 
-                        Map<String, List<GuidanceData>> ruleNameToGuidanceMap =
-                            createGuidanceDataMap(guidanceDataList);
-                        List<BrdRules> newRules = findNewRules(brdRulesList, ruleNameToGuidanceMap);
+                        List<BrdRules> newRules = findNewRules(brdRulesList, guidance);
 
-                        return processNewRules(newRules, guidanceDataList)
-                            .flatMap(
-                                updatedGuidanceData ->
-                                    createCombinedRulesResource(brdRulesList, updatedGuidanceData));
+                        return processNewRules(newRules, guidance)
+                            .map(
+                                updatedGuidance ->
+                                    createCombinedRulesStream(
+                                        brdRulesList, updatedGuidance, pretty));
                       });
             });
   }
 
-  private Mono<Void> updateGuidanceDocument(List<GuidanceData> guidanceData) {
-    // Convert guidance data to pipe-separated format
-    String newContent =
-        guidanceData.stream()
-            .map(
-                data ->
-                    String.join(
-                        "|",
-                        data.getRuleName(),
-                        data.getMappingKey(),
-                        data.getSimilarity(),
-                        data.getExplanation(),
-                        data.getQuestiondId()))
-            .collect(Collectors.joining("\n"));
-
-    log.info("Updating guidance document with {} total rules", guidanceData.size());
-
-    // Update the guidance document in blob storage
-    return blobStorageService
-        .updateFile(franklinRulesFileName, newContent)
-        .doOnSuccess(v -> log.info("Successfully updated guidance document"))
-        .doOnError(e -> log.error("Error updating guidance document: {}", e.getMessage(), e));
-  }
-
   /**
    * Prefills a legacy BRD by fetching BRD data and converting it to PrefillSections.
    *
@@ -469,7 +376,9 @@ public class LegacyBrdService implements ILegacyBrdService {
             e -> {
               log.error("Error finding LegacyBRD with BRDId {}: {}", brdId, e.getMessage(), e);
               return Mono.just(false);
-            });
+            })
+        // The BRD and all of its sites share section embeddings and document retrievals
+        .contextWrite(PrefillSession.shared());
   }
 
   /** Fetches BRD response and processes it */
@@ -713,7 +622,8 @@ public class LegacyBrdService implements ILegacyBrdService {
   }
 
   /**
-   * Processes prefill operations for each site with site-specific context
+   * Processes prefill operations for each site with site-specific context. Sites are prefilled in
+   * parallel, up to the configured site concurrency.
    *
    * @param sites List of sites to process
    * @param baseJsonNode The base JSON node to use for prefill
@@ -724,7 +634,9 @@ public class LegacyBrdService implements ILegacyBrdService {
       List<Site> sites, JsonNode baseJsonNode, List<String> documentNames) {
     log.info("Starting prefill processing for {} sites", sites.size());
     return Flux.fromIterable(sites)
-        .concatMap(site -> processSingleSite(site, baseJsonNode, documentNames))
+        .flatMap(
+            site -> processSingleSite(site, baseJsonNode, documentNames),
+            Math.max(1, prefillProperties.getSiteConcurrency()))
         .collectList()
         .map(this::calculateProcessingResults)
         .defaultIfEmpty(true)
@@ -735,10 +647,8 @@ public class LegacyBrdService implements ILegacyBrdService {
       Site site, JsonNode baseJsonNode, List<String> documentNames) {
     log.info("Processing prefill for site: {} ({})", site.getSiteName(), site.getSiteId());
     String siteContext = createSiteContext(site);
-    JsonNode siteJsonNode = cloneJsonForSite(baseJsonNode);
-    if (siteJsonNode == null) return Mono.just(false);
-
-    return processSiteWithContext(site, siteJsonNode, documentNames, siteContext);
+    // Each site fills in its own copy of the base JSON
+    return processSiteWithContext(site, baseJsonNode.deepCopy(), documentNames, siteContext);
   }
 
   private String createSiteContext(Site site) {
@@ -747,15 +657,6 @@ public class LegacyBrdService implements ILegacyBrdService {
     return siteContext;
   }
 
-  private JsonNode cloneJsonForSite(JsonNode baseJsonNode) {
-    try {
-      return objectMapper.readTree(objectMapper.writeValueAsString(baseJsonNode));
-    } catch (Exception e) {
-      log.error("Error cloning JSON for site: {}", e.getMessage(), e);
-      return null;
-    }
-  }
-
   private Mono<Boolean> processSiteWithContext(
       Site site, JsonNode siteJsonNode, List<String> documentNames, String siteContext) {
     log.info("Starting prefill processing for site {} with context", site.getSiteId());
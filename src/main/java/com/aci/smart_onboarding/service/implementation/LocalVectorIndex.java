@@ -0,0 +1,447 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.config.VectorIndexProperties;
+import com.aci.smart_onboarding.config.VectorStorageProperties;
+import com.aci.smart_onboarding.enums.VectorSearchMode;
+import com.aci.smart_onboarding.util.HnswIndex;
+import com.aci.smart_onboarding.util.VectorCodec;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * In-process HNSW indexes over the vectors of the {@code vectors} and {@code uat_test_cases}
+ * collections, used next to Atlas {@code $vectorSearch} as selected by {@link VectorSearchMode}.
+ *
+ * <p>Each index is loaded from its collection at startup and then kept in sync by a change stream
+ * that starts at the time the load began, so writes made during the load are replayed. Local
+ * searches only return IDs; the matching documents are then read by ID, which works against any
+ * MongoDB deployment and so gives an offline mode for environments without Atlas.
+ */
+@Slf4j
+@Component
+public class LocalVectorIndex {
+
+  static final String METRIC_PREFIX = "vector.index.";
+
+  private static final String ID = "_id";
+  private static final String COLLECTION_TAG = "collection";
+
+  /** Collections that can be searched through the local index */
+  public enum IndexedCollection {
+    ARTIFACTS("vectors", "vector", "document_name"),
+    UAT_TEST_CASES("uat_test_cases", "vectors", "uatType");
+
+    private final String collectionName;
+    private final String vectorField;
+    private final String labelField;
+
+    IndexedCollection(String collectionName, String vectorField, String labelField) {
+      this.collectionName = collectionName;
+      this.vectorField = vectorField;
+      this.labelField = labelField;
+    }
+  }
+
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final VectorIndexProperties properties;
+  private final VectorStorageProperties storageProperties;
+  private final Map<IndexedCollection, AtomicReference<HnswIndex>> indexes =
+      new EnumMap<>(IndexedCollection.class);
+  private final Map<IndexedCollection, Disposable> watchers = new ConcurrentHashMap<>();
+  private final Set<IndexedCollection> rebuilding = ConcurrentHashMap.newKeySet();
+  private final Map<IndexedCollection, Timer> searchTimers = new EnumMap<>(IndexedCollection.class);
+  private final Map<IndexedCollection, DistributionSummary> shadowRecall =
+      new EnumMap<>(IndexedCollection.class);
+
+  public LocalVectorIndex(
+      ReactiveMongoTemplate mongoTemplate,
+      VectorIndexProperties properties,
+      VectorStorageProperties storageProperties,
+      MeterRegistry meterRegistry) {
+    this.mongoTemplate = mongoTemplate;
+    this.properties = properties;
+    this.storageProperties = storageProperties;
+    for (IndexedCollection collection : IndexedCollection.values()) {
+      String tag = collection.collectionName;
+      indexes.put(collection, new AtomicReference<>());
+      searchTimers.put(
+          collection,
+          Timer.builder(METRIC_PREFIX + "search")
+              .description("Time spent searching the local vector index")
+              .tag(COLLECTION_TAG, tag)
+              .register(meterRegistry));
+      shadowRecall.put(
+          collection,
+          DistributionSummary.builder(METRIC_PREFIX + "shadow.recall")
+              .description("Share of Atlas results also found by the local vector index")
+              .tag(COLLECTION_TAG, tag)
+              .register(meterRegistry));
+      Gauge.builder(METRIC_PREFIX + "size", this, index -> index.size(collection))
+          .description("Vectors held by the local vector index")
+          .tag(COLLECTION_TAG, tag)
+          .register(meterRegistry);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!properties.isEnabled()) {
+      return;
+    }
+    for (IndexedCollection collection : IndexedCollection.values()) {
+      loadAndWatch(collection);
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    watchers.values().forEach(Disposable::dispose);
+    watchers.clear();
+  }
+
+  /** Default search mode configured for the collection */
+  public VectorSearchMode defaultMode(IndexedCollection collection) {
+    return collection == IndexedCollection.ARTIFACTS
+        ? properties.getArtifactMode()
+        : properties.getUatTestCaseMode();
+  }
+
+  /**
+   * Runs a vector search in the given mode.
+   *
+   * @param collection collection searched
+   * @param mode where the search is answered; null means Atlas
+   * @param vector query vector
+   * @param limit maximum number of results
+   * @param label when not null, only documents whose label field has this value are returned
+   * @param type document type of the collection
+   * @param idOf reads the ID of a returned document
+   * @param atlasSearch the Atlas {@code $vectorSearch} for the same query
+   * @return documents ordered from nearest to farthest
+   */
+  public <T> Flux<T> search(
+      IndexedCollection collection,
+      VectorSearchMode mode,
+      List<Double> vector,
+      int limit,
+      String label,
+      Class<T> type,
+      Function<T, String> idOf,
+      Supplier<Flux<T>> atlasSearch) {
+    Flux<T> atlas = Flux.defer(atlasSearch);
+    if (mode == null) {
+      return atlas;
+    }
+
+    return switch (mode) {
+      case ATLAS -> atlas;
+      case LOCAL ->
+          Flux.defer(
+              () ->
+                  canServe(collection, vector)
+                      ? fetchInOrder(
+                          collection, type, idOf, localIds(collection, vector, limit, label))
+                      : atlas);
+      case FALLBACK ->
+          atlas.onErrorResume(
+              error -> {
+                if (!canServe(collection, vector)) {
+                  return Flux.error(error);
+                }
+                log.warn(
+                    "Atlas vector search on {} failed, answering from the local index: {}",
+                    collection.collectionName,
+                    error.getMessage());
+                return fetchInOrder(
+                    collection, type, idOf, localIds(collection, vector, limit, label));
+              });
+      case SHADOW ->
+          atlas
+              .collectList()
+              .doOnNext(
+                  results ->
+                      recordRecall(
+                          collection, vector, limit, label, results.stream().map(idOf).toList()))
+              .flatMapIterable(results -> results);
+    };
+  }
+
+  /** Whether the local index is loaded and accepts vectors of the query's dimension */
+  boolean canServe(IndexedCollection collection, List<Double> vector) {
+    HnswIndex index = indexes.get(collection).get();
+    return index != null && vector != null && index.dimension() == vector.size();
+  }
+
+  int size(IndexedCollection collection) {
+    HnswIndex index = indexes.get(collection).get();
+    return index == null ? 0 : index.size();
+  }
+
+  List<String> localIds(
+      IndexedCollection collection, List<Double> vector, int limit, String label) {
+    HnswIndex index = indexes.get(collection).get();
+    return searchTimers
+        .get(collection)
+        .record(
+            () ->
+                index
+                    .search(HnswIndex.toFloatArray(vector), limit, label, properties.getEfSearch())
+                    .stream()
+                    .map(HnswIndex.Match::id)
+                    .toList());
+  }
+
+  private <T> Flux<T> fetchInOrder(
+      IndexedCollection collection, Class<T> type, Function<T, String> idOf, List<String> ids) {
+    if (ids.isEmpty()) {
+      return Flux.empty();
+    }
+    Map<String, Integer> rank = new HashMap<>();
+    for (int i = 0; i < ids.size(); i++) {
+      rank.put(ids.get(i), i);
+    }
+    Query query = Query.query(Criteria.where(ID).in(ids));
+    query.fields().exclude(collection.vectorField);
+    return mongoTemplate
+        .find(query, type, collection.collectionName)
+        .collectSortedList(
+            Comparator.comparingInt(
+                document -> rank.getOrDefault(idOf.apply(document), Integer.MAX_VALUE)))
+        .flatMapIterable(documents -> documents);
+  }
+
+  /** Compares the local answer with Atlas' off the request path */
+  private void recordRecall(
+      IndexedCollection collection,
+      List<Double> vector,
+      int limit,
+      String label,
+      List<String> atlasIds) {
+    if (atlasIds.isEmpty() || !canServe(collection, vector)) {
+      return;
+    }
+    Mono.fromCallable(() -> new HashSet<>(localIds(collection, vector, limit, label)))
+        .subscribeOn(Schedulers.parallel())
+        .subscribe(
+            localIds ->
+                shadowRecall
+                    .get(collection)
+                    .record(
+                        (double) atlasIds.stream().filter(localIds::contains).count()
+                            / atlasIds.size()),
+            error ->
+                log.warn(
+                    "Shadow search on the local {} index failed: {}",
+                    collection.collectionName,
+                    error.getMessage()));
+  }
+
+  private void loadAndWatch(IndexedCollection collection) {
+    reload(collection)
+        .onErrorResume(
+            error -> {
+              log.error(
+                  "Error loading the local vector index for {}: {}",
+                  collection.collectionName,
+                  error.getMessage());
+              return Mono.empty();
+            })
+        .subscribe();
+  }
+
+  /**
+   * Loads the collection into a fresh index, swaps it in and keeps it in sync from the time the
+   * load began. The previous index keeps answering searches until the swap.
+   */
+  Mono<HnswIndex> reload(IndexedCollection collection) {
+    return Mono.defer(
+        () -> {
+          Instant loadStartedAt = Instant.now();
+          return load(collection)
+              .doOnSuccess(
+                  index -> {
+                    indexes.get(collection).set(index);
+                    log.info(
+                        "Loaded {} vectors from {} into the local vector index",
+                        index == null ? 0 : index.size(),
+                        collection.collectionName);
+                    Disposable previous =
+                        watchers.put(collection, watch(collection, loadStartedAt));
+                    if (previous != null) {
+                      previous.dispose();
+                    }
+                  })
+              .doFinally(signal -> rebuilding.remove(collection));
+        });
+  }
+
+  /** Builds a fresh index from the collection; completes empty when it holds no vectors */
+  private Mono<HnswIndex> load(IndexedCollection collection) {
+    Query query = new Query();
+    query.fields().include(collection.vectorField).include(collection.labelField);
+    AtomicReference<HnswIndex> building = new AtomicReference<>();
+
+    return mongoTemplate
+        .find(query, Document.class, collection.collectionName)
+        .publishOn(Schedulers.boundedElastic())
+        .doOnNext(document -> upsert(building, collection, document))
+        .then(Mono.fromSupplier(building::get));
+  }
+
+  private Disposable watch(IndexedCollection collection, Instant since) {
+    AtomicReference<BsonValue> resumeToken = new AtomicReference<>();
+    return Flux.defer(() -> changes(collection, since, resumeToken.get()))
+        .publishOn(Schedulers.boundedElastic())
+        .doOnNext(
+            event -> {
+              resumeToken.set(event.getResumeToken());
+              apply(collection, event);
+            })
+        .retryWhen(
+            Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                .maxBackoff(properties.getMaxReconnectBackoff())
+                .doBeforeRetry(
+                    signal ->
+                        log.warn(
+                            "Reopening the {} vector change stream after error: {}",
+                            collection.collectionName,
+                            signal.failure().getMessage())))
+        .subscribe();
+  }
+
+  private Flux<ChangeStreamEvent<Document>> changes(
+      IndexedCollection collection, Instant since, BsonValue resumeToken) {
+    Document relevantChanges =
+        new Document(
+            "$or",
+            List.of(
+                new Document(
+                    "operationType", new Document("$in", List.of("insert", "replace", "delete"))),
+                new Document("operationType", "update")
+                    .append(
+                        "$or",
+                        List.of(
+                            updated(collection.vectorField), updated(collection.labelField)))));
+
+    ChangeStreamOptions.ChangeStreamOptionsBuilder options =
+        ChangeStreamOptions.builder()
+            .filter(new Document("$match", relevantChanges))
+            .fullDocumentLookup(FullDocument.UPDATE_LOOKUP);
+    if (resumeToken != null) {
+      options.resumeAfter(resumeToken);
+    } else {
+      options.resumeAt(since);
+    }
+    return mongoTemplate.changeStream(collection.collectionName, options.build(), Document.class);
+  }
+
+  private static Document updated(String field) {
+    return new Document("updateDescription.updatedFields." + field, new Document("$exists", true));
+  }
+
+  void apply(IndexedCollection collection, ChangeStreamEvent<Document> event) {
+    AtomicReference<HnswIndex> current = indexes.get(collection);
+    Document document = event.getBody();
+    if (event.getOperationType() != OperationType.DELETE && document != null) {
+      upsert(current, collection, document);
+    } else {
+      BsonDocument key = event.getRaw() == null ? null : event.getRaw().getDocumentKey();
+      HnswIndex index = current.get();
+      if (key == null || index == null || !index.remove(keyOf(key.get(ID)))) {
+        return;
+      }
+    }
+
+    // Replaced vectors stay in the graph as well, so re-embedding alone can call for a rebuild
+    HnswIndex index = current.get();
+    if (index != null
+        && index.deletedCount() > index.size() * properties.getRebuildDeletedRatio()
+        && rebuilding.add(collection)) {
+      log.info("Rebuilding the local vector index for {}", collection.collectionName);
+      loadAndWatch(collection);
+    }
+  }
+
+  private void upsert(
+      AtomicReference<HnswIndex> target, IndexedCollection collection, Document document) {
+    String id = keyOf(document.get(ID));
+    float[] vector =
+        VectorCodec.toFloatArray(
+            document.get(collection.vectorField), storageProperties.getInt8Scale());
+    if (vector == null) {
+      HnswIndex index = target.get();
+      if (index != null) {
+        index.remove(id);
+      }
+      return;
+    }
+
+    HnswIndex index =
+        target.updateAndGet(
+            existing ->
+                existing != null
+                    ? existing
+                    : new HnswIndex(
+                        vector.length,
+                        properties.getMaxConnections(),
+                        properties.getEfConstruction()));
+    if (vector.length != index.dimension()) {
+      log.warn(
+          "Skipping {} {}: vector has {} components, the index {}",
+          collection.collectionName,
+          id,
+          vector.length,
+          index.dimension());
+      return;
+    }
+    Object label = document.get(collection.labelField);
+    index.add(id, label == null ? null : label.toString(), vector);
+  }
+
+  private static String keyOf(Object id) {
+    if (id instanceof BsonValue bsonValue) {
+      if (bsonValue.isObjectId()) {
+        return bsonValue.asObjectId().getValue().toHexString();
+      }
+      if (bsonValue.isString()) {
+        return bsonValue.asString().getValue();
+      }
+    }
+    return String.valueOf(id);
+  }
+}
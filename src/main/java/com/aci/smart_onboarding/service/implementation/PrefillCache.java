@@ -0,0 +1,95 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.config.PrefillProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches prefilled sections in Redis, keyed by a hash of everything the model was given for them:
+ * the prompt, the section, the retrieved document context and any additional context. Prefilling a
+ * form again only sends the sections whose inputs changed to the model.
+ */
+@Component
+public class PrefillCache {
+
+  static final String KEY_PREFIX = "prefill:section:";
+  static final String METRIC_NAME = "prefill.cache.requests";
+
+  private final PrefillProperties properties;
+  private final RedisValueCache cache;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  public PrefillCache(
+      ReactiveRedisTemplate<String, String> redisTemplate,
+      PrefillProperties properties,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.cache =
+        new RedisValueCache(
+            redisTemplate,
+            meterRegistry,
+            KEY_PREFIX,
+            METRIC_NAME,
+            "Prefilled sections answered from the cache or by the model",
+            "section");
+  }
+
+  /**
+   * Returns the cached section or prefills and caches it.
+   *
+   * @param contextName prompt context the section is prefilled with
+   * @param section the section as sent to the model
+   * @param contexts context retrieved from the documents, in document order
+   * @param additionalContext context added by the caller, may be null
+   * @param generate prefills the section when it is not cached
+   * @return the prefilled section
+   */
+  public Mono<JsonNode> section(
+      String contextName,
+      String section,
+      List<String> contexts,
+      String additionalContext,
+      Supplier<Mono<JsonNode>> generate) {
+    if (!properties.isCacheEnabled()) {
+      return Mono.defer(generate);
+    }
+    String key = key(contextName, section, contexts, additionalContext);
+
+    return cache
+        .get(key, this::readSection)
+        .switchIfEmpty(
+            Mono.defer(
+                () -> {
+                  cache.miss();
+                  return generate
+                      .get()
+                      .doOnNext(
+                          prefilled ->
+                              cache.put(key, prefilled.toString(), properties.getCacheTtl()));
+                }));
+  }
+
+  private JsonNode readSection(String value) {
+    try {
+      return objectMapper.readTree(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unreadable cached section", e);
+    }
+  }
+
+  String key(String contextName, String section, List<String> contexts, String additionalContext) {
+    // Arrays.asList, as the additional context may be null
+    return cache.key(
+        "",
+        Arrays.asList(properties.getPromptVersion(), contextName, section, additionalContext),
+        contexts);
+  }
+}
@@ -0,0 +1,53 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Section embeddings and document retrievals of one prefill, shared by every form prefilled in it.
+ * Sites of a BRD mostly start from the same form, so each distinct section is embedded and
+ * searched for once per BRD instead of once per site.
+ *
+ * <p>A session lives in the Reactor context of the pipeline it is written into with {@link
+ * #shared()}; prefills outside of one get a session of their own. Failures are not remembered, so
+ * a later form retries them.
+ */
+public final class PrefillSession {
+
+  private static final String CONTEXT_KEY = PrefillSession.class.getName();
+  private static final Duration FOREVER = Duration.ofMillis(Long.MAX_VALUE);
+
+  private final Map<String, Mono<List<Double>>> embeddings = new ConcurrentHashMap<>();
+  private final Map<String, Mono<String>> retrievals = new ConcurrentHashMap<>();
+
+  /** Shares one session between all prefills of the pipeline it is written into */
+  public static Function<Context, Context> shared() {
+    return context ->
+        context.hasKey(CONTEXT_KEY) ? context : context.put(CONTEXT_KEY, new PrefillSession());
+  }
+
+  static PrefillSession current(ContextView context) {
+    return context.getOrDefault(CONTEXT_KEY, new PrefillSession());
+  }
+
+  /** Embedding of the section, computed by the first form that needs it */
+  Mono<List<Double>> embedding(String section, Supplier<Mono<List<Double>>> embed) {
+    return embeddings.computeIfAbsent(section, key -> memoize(embed));
+  }
+
+  /** Context retrieved from the document for the section; empty when nothing matched */
+  Mono<String> retrieval(String section, String documentName, Supplier<Mono<String>> search) {
+    return retrievals.computeIfAbsent(documentName + '\0' + section, key -> memoize(search));
+  }
+
+  private static <T> Mono<T> memoize(Supplier<Mono<T>> source) {
+    return Mono.defer(source).cache(value -> FOREVER, error -> Duration.ZERO, () -> FOREVER);
+  }
+}
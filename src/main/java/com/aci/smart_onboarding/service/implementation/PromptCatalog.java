@@ -0,0 +1,78 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders the prompt templates of {@code prompts.json} for one call at a time.
+ *
+ * <p>The AI library picks its template by the context name held in one shared {@code
+ * IContextProvider}, so two concurrent calls setting different names could each be sent with the
+ * other's prompt. Instead, every call is rendered here with the context name it was made with,
+ * and the library only ever sees the {@link #ROUTED_CONTEXT} template, which passes the rendered
+ * prompt through unchanged.
+ */
+@Slf4j
+@Component
+public class PromptCatalog {
+
+  /** Context name of the pass-through template; the only one the library is ever set to */
+  public static final String ROUTED_CONTEXT = "routed";
+
+  private static final Pattern PLACEHOLDER = Pattern.compile("\\{(context|question)}");
+
+  private final Map<String, String> templates = new HashMap<>();
+
+  public PromptCatalog(ResourceLoader resourceLoader, ObjectMapper objectMapper)
+      throws IOException {
+    try (InputStream prompts =
+        resourceLoader.getResource("classpath:prompts.json").getInputStream()) {
+      JsonNode root = objectMapper.readTree(prompts);
+      root.fields()
+          .forEachRemaining(
+              entry -> {
+                if (entry.getValue().isTextual()) {
+                  templates.put(entry.getKey(), entry.getValue().asText());
+                }
+              });
+    }
+  }
+
+  /**
+   * Renders the template of the context name with the question and context.
+   *
+   * <p>Both placeholders are replaced in one pass, so text in the question or context that looks
+   * like a placeholder is sent as is. Context names without a template send the question followed
+   * by the context.
+   */
+  public String render(String contextName, String question, String context) {
+    String template = contextName == null ? null : templates.get(contextName);
+    if (template == null) {
+      log.debug("No prompt template for context {}, sending question and context", contextName);
+      return question + "\n\n" + context;
+    }
+
+    Matcher placeholder = PLACEHOLDER.matcher(template);
+    StringBuilder prompt =
+        new StringBuilder(template.length() + length(question) + length(context));
+    while (placeholder.find()) {
+      String value = "question".equals(placeholder.group(1)) ? question : context;
+      placeholder.appendReplacement(prompt, Matcher.quoteReplacement(String.valueOf(value)));
+    }
+    placeholder.appendTail(prompt);
+    return prompt.toString();
+  }
+
+  private static int length(String value) {
+    return value == null ? 0 : value.length();
+  }
+}
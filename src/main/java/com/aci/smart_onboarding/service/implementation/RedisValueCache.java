@@ -0,0 +1,123 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import reactor.core.publisher.Mono;
+
+/**
+ * Redis storage shared by the caches of model output, keyed by a hash of everything the model was
+ * given. Hits and misses are counted under one metric, tagged by result.
+ *
+ * <p>Redis errors only cost the cache: failed reads are misses and failed writes are logged, so the
+ * caller falls back to, or keeps, what the model generated.
+ */
+@Slf4j
+final class RedisValueCache {
+
+  private final ReactiveRedisTemplate<String, String> redisTemplate;
+  private final String keyPrefix;
+  private final String valueName;
+  private final Counter hits;
+  private final Counter misses;
+
+  /**
+   * @param keyPrefix prefix of every key of this cache
+   * @param metricName name of the hit and miss counter
+   * @param metricDescription description of the hit and miss counter
+   * @param valueName what is cached, for log messages
+   */
+  RedisValueCache(
+      ReactiveRedisTemplate<String, String> redisTemplate,
+      MeterRegistry meterRegistry,
+      String keyPrefix,
+      String metricName,
+      String metricDescription,
+      String valueName) {
+    this.redisTemplate = redisTemplate;
+    this.keyPrefix = keyPrefix;
+    this.valueName = valueName;
+    this.hits = requests(meterRegistry, metricName, metricDescription, "hit");
+    this.misses = requests(meterRegistry, metricName, metricDescription, "miss");
+  }
+
+  private static Counter requests(
+      MeterRegistry meterRegistry, String metricName, String description, String result) {
+    return Counter.builder(metricName)
+        .description(description)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Builds the key of a value.
+   *
+   * @param subject readable part of the key, may be empty
+   * @param inputs fixed inputs, such as the prompt version and the prompt
+   * @param parts variable number of parts, such as document chunks, in order
+   * @return the prefix, the subject and a SHA-256 hash of the inputs and parts
+   */
+  String key(String subject, List<String> inputs, List<String> parts) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (String input : inputs) {
+        update(digest, input);
+      }
+      // Separates the inputs from the parts, so no text can move between the two
+      digest.update((byte) 1);
+      for (String part : parts) {
+        update(digest, part);
+      }
+      return keyPrefix + subject + HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static void update(MessageDigest digest, String part) {
+    digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+    digest.update((byte) 0);
+  }
+
+  /**
+   * Reads a cached value and counts the hit.
+   *
+   * @param reader parses the stored value; unreadable values are treated as missing
+   * @return the cached value, or empty when it is missing or could not be read
+   */
+  <T> Mono<T> get(String key, Function<String, T> reader) {
+    return redisTemplate
+        .opsForValue()
+        .get(key)
+        .map(reader)
+        .onErrorResume(
+            error -> {
+              log.warn("Error reading cached {} {}: {}", valueName, key, error.getMessage());
+              return Mono.empty();
+            })
+        .doOnNext(cached -> hits.increment());
+  }
+
+  /** Counts a request the cache could not answer */
+  void miss() {
+    misses.increment();
+  }
+
+  /** Stores a value in the background */
+  void put(String key, String value, Duration ttl) {
+    redisTemplate
+        .opsForValue()
+        .set(key, value, ttl)
+        .subscribe(
+            stored -> log.debug("Cached {} {}", valueName, key),
+            error -> log.warn("Error caching {} {}: {}", valueName, key, error.getMessage()));
+  }
+}
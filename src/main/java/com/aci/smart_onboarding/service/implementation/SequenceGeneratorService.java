@@ -1,8 +1,13 @@
 package com.aci.smart_onboarding.service.implementation;
 
+import com.aci.smart_onboarding.config.SequenceProperties;
 import com.aci.smart_onboarding.model.DatabaseSequence;
 import com.aci.smart_onboarding.service.ISequenceGeneratorService;
-import lombok.RequiredArgsConstructor;
+import com.aci.smart_onboarding.util.TimeOrderedIdGenerator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -11,12 +16,34 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-/** Service implementation to generate sequence numbers for MongoDB document IDs */
+/**
+ * Service implementation to generate sequence numbers for MongoDB document IDs.
+ *
+ * <p>Comment and reply IDs are allocated from shared pools. With the {@code BLOCK} strategy a
+ * range of {@code blockSize} values is leased with a single {@code findAndModify} and handed out
+ * from memory. The high-water mark is persisted before any value of the range is used, so a crash
+ * only leaves gaps and never produces duplicates. With the {@code TIME_ORDERED} strategy IDs are
+ * generated locally and Mongo is not touched at all.
+ */
 @Service
-@RequiredArgsConstructor
 public class SequenceGeneratorService implements ISequenceGeneratorService {
 
+  static final String COMMENT_SEQUENCE_KEY = "brd_field_comment_ids";
+  static final String REPLY_SEQUENCE_KEY = "brd_field_comment_reply_ids";
+  private static final long EXHAUSTED = -1L;
+
   private final ReactiveMongoTemplate mongoTemplate;
+  private final SequenceProperties sequenceProperties;
+  private final TimeOrderedIdGenerator timeOrderedIdGenerator;
+  private final Map<String, LeasedRange> leasedRanges = new ConcurrentHashMap<>();
+  private final Map<String, Mono<LeasedRange>> pendingLeases = new ConcurrentHashMap<>();
+
+  public SequenceGeneratorService(
+      ReactiveMongoTemplate mongoTemplate, SequenceProperties sequenceProperties) {
+    this.mongoTemplate = mongoTemplate;
+    this.sequenceProperties = sequenceProperties;
+    this.timeOrderedIdGenerator = new TimeOrderedIdGenerator(sequenceProperties.getNodeId());
+  }
 
   /**
    * Get next sequence number for the given sequence name
@@ -26,13 +53,26 @@ public class SequenceGeneratorService implements ISequenceGeneratorService {
    */
   @Override
   public Mono<Long> generateSequence(String sequenceName) {
-    return mongoTemplate
-        .findAndModify(
-            Query.query(Criteria.where("_id").is(sequenceName)),
-            new Update().inc("seq", 1),
-            FindAndModifyOptions.options().returnNew(true).upsert(true),
-            DatabaseSequence.class)
-        .map(DatabaseSequence::getSeq);
+    return incrementSequence(sequenceName, 1);
+  }
+
+  /**
+   * Get next sequence number for the given sequence name from a range leased in memory
+   *
+   * @param sequenceName name of the sequence to get next value for
+   * @return Mono with the next sequence value
+   */
+  @Override
+  public Mono<Long> generateLeasedSequence(String sequenceName) {
+    return Mono.defer(
+        () -> {
+          LeasedRange current = leasedRanges.get(sequenceName);
+          long value = current == null ? EXHAUSTED : current.next();
+          if (value != EXHAUSTED) {
+            return Mono.just(value);
+          }
+          return leaseRange(sequenceName).then(generateLeasedSequence(sequenceName));
+        });
   }
 
   /**
@@ -45,13 +85,8 @@ public class SequenceGeneratorService implements ISequenceGeneratorService {
    */
   @Override
   public Mono<String> generateCommentId(String brdId, String sectionName, String fieldPath) {
-    String sequenceKey =
-        String.format(
-            "comment_%s_%s_%s",
-            sanitizeKey(brdId), sanitizeKey(sectionName), sanitizeKey(fieldPath));
-
-    return generateSequence(sequenceKey)
-        .map(sequence -> String.format("%s:%s:%s:%06d", brdId, sectionName, fieldPath, sequence));
+    String prefix = String.format("%s:%s:%s", brdId, sectionName, fieldPath);
+    return nextId(COMMENT_SEQUENCE_KEY).map(id -> prefix + ":" + id);
   }
 
   /**
@@ -62,20 +97,64 @@ public class SequenceGeneratorService implements ISequenceGeneratorService {
    */
   @Override
   public Mono<String> generateReplyId(String parentCommentId) {
-    String sequenceKey = String.format("reply_%s", sanitizeKey(parentCommentId));
+    return nextId(REPLY_SEQUENCE_KEY).map(id -> parentCommentId + ":reply:" + id);
+  }
 
-    return generateSequence(sequenceKey)
-        .map(sequence -> String.format("%s:reply:%06d", parentCommentId, sequence));
+  private Mono<String> nextId(String sequenceKey) {
+    if (sequenceProperties.getStrategy() == SequenceProperties.Strategy.TIME_ORDERED) {
+      return Mono.fromSupplier(timeOrderedIdGenerator::nextIdAsString);
+    }
+    return generateLeasedSequence(sequenceKey)
+        .map(
+            sequence -> String.format("%06d", sequenceProperties.getPooledIdOffset() + sequence));
   }
 
   /**
-   * Sanitizes keys for MongoDB by replacing dots and other special characters
-   *
-   * @param key The key to sanitize
-   * @return Sanitized key
+   * Leases a new range for the sequence. Concurrent callers that find the current range exhausted
+   * share a single in-flight lease instead of each issuing their own round trip.
    */
-  private String sanitizeKey(String key) {
-    if (key == null) return "";
-    return key.replaceAll("[.\\s\\$]", "_");
+  private Mono<LeasedRange> leaseRange(String sequenceName) {
+    return pendingLeases.computeIfAbsent(sequenceName, this::newLease);
+  }
+
+  private Mono<LeasedRange> newLease(String sequenceName) {
+    int blockSize = Math.max(1, sequenceProperties.getBlockSize());
+    AtomicReference<Mono<LeasedRange>> self = new AtomicReference<>();
+    // The pending entry is cleared before the range reaches waiters, so a waiter that finds the
+    // new range already exhausted starts a fresh lease instead of re-reading this one.
+    Mono<LeasedRange> lease =
+        incrementSequence(sequenceName, blockSize)
+            .map(last -> new LeasedRange(last - blockSize + 1, last))
+            .doOnNext(range -> leasedRanges.put(sequenceName, range))
+            .doOnEach(signal -> pendingLeases.remove(sequenceName, self.get()))
+            .cache();
+    self.set(lease);
+    return lease;
+  }
+
+  private Mono<Long> incrementSequence(String sequenceName, int increment) {
+    return mongoTemplate
+        .findAndModify(
+            Query.query(Criteria.where("_id").is(sequenceName)),
+            new Update().inc("seq", increment),
+            FindAndModifyOptions.options().returnNew(true).upsert(true),
+            DatabaseSequence.class)
+        .map(DatabaseSequence::getSeq);
+  }
+
+  /** Range of sequence values owned by this instance, handed out without further round trips */
+  private static final class LeasedRange {
+    private final AtomicLong nextValue;
+    private final long lastValue;
+
+    private LeasedRange(long firstValue, long lastValue) {
+      this.nextValue = new AtomicLong(firstValue);
+      this.lastValue = lastValue;
+    }
+
+    private long next() {
+      long value = nextValue.getAndIncrement();
+      return value <= lastValue ? value : EXHAUSTED;
+    }
   }
 }
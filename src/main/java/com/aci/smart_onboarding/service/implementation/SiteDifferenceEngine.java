@@ -0,0 +1,231 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.constants.SiteConstants;
+import com.aci.smart_onboarding.dto.BrdForm;
+import com.aci.smart_onboarding.dto.SiteDifferencesResponse.FieldDifference;
+import com.aci.smart_onboarding.dto.SiteDifferencesResponse.SiteDifference;
+import com.aci.smart_onboarding.model.Site;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Finds the fields in which sites differ from their BRD.
+ *
+ * <p>The BRD form is converted into its baseline once per request. Each site form is then
+ * converted once and compared with the baseline in a single walk over both trees, sites being
+ * compared in parallel. Differences are reported per site in the order of the sites.
+ */
+@Slf4j
+@Component
+public class SiteDifferenceEngine {
+
+  private static final TypeReference<Map<String, Object>> FORM_TYPE = new TypeReference<>() {};
+  private static final String REVISION_HISTORY = "revisionHistory";
+  private static final Set<String> SKIPPED_FIELDS =
+      Set.of("_id", "createdAt", "updatedAt", "class", "$oid", "$date", "selected", "value");
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Value("${site-differences.concurrency:4}")
+  private int concurrency = 4;
+
+  /**
+   * Compares every site with the BRD form.
+   *
+   * @param brdForm the BRD's form, the baseline of all sites
+   * @param sites the BRD's sites
+   * @return one entry per site with at least one difference, in site order
+   */
+  public Flux<SiteDifference> differences(BrdForm brdForm, Flux<Site> sites) {
+    return Mono.fromCallable(() -> toMap(brdForm))
+        .flatMapMany(
+            baseline ->
+                sites.flatMapSequential(
+                    site ->
+                        Mono.fromCallable(() -> siteDifference(baseline, site))
+                            .subscribeOn(Schedulers.parallel()),
+                    concurrency));
+  }
+
+  private SiteDifference siteDifference(Map<String, Object> baseline, Site site) {
+    List<FieldDifference> differences = fieldDifferences(baseline, site);
+    if (differences.isEmpty()) {
+      return null;
+    }
+    return SiteDifference.builder()
+        .siteId(site.getSiteId())
+        .siteName(site.getSiteName())
+        .differences(differences)
+        .build();
+  }
+
+  /** The differences of one site; a comparison that fails keeps the differences found so far */
+  List<FieldDifference> fieldDifferences(Map<String, Object> baseline, Site site) {
+    if (site.getBrdForm() == null) {
+      log.warn(String.format(SiteConstants.SITE_BRD_FORM_NULL, site.getSiteId()));
+      return List.of();
+    }
+    List<FieldDifference> differences = new ArrayList<>();
+    try {
+      Map<String, Object> siteForm = toMap(site.getBrdForm());
+      for (Map.Entry<String, Object> section : baseline.entrySet()) {
+        String sectionName = section.getKey();
+        compareSection(sectionName, section.getValue(), siteForm.get(sectionName), differences);
+      }
+      for (Map.Entry<String, Object> section : siteForm.entrySet()) {
+        if (!baseline.containsKey(section.getKey())) {
+          compareSection(section.getKey(), null, section.getValue(), differences);
+        }
+      }
+    } catch (Exception e) {
+      log.error("Error comparing BRD and site {}: {}", site.getSiteId(), e.getMessage(), e);
+    }
+    log.debug("Found {} differences for site {}", differences.size(), site.getSiteId());
+    return differences;
+  }
+
+  private Map<String, Object> toMap(BrdForm form) {
+    return objectMapper.convertValue(form, FORM_TYPE);
+  }
+
+  private void compareSection(
+      String sectionName,
+      Object brdSection,
+      Object siteSection,
+      List<FieldDifference> differences) {
+    if (REVISION_HISTORY.equals(sectionName) || (brdSection == null && siteSection == null)) {
+      return;
+    }
+    if (brdSection == null || siteSection == null) {
+      differences.add(difference(sectionName, brdSection, siteSection));
+    } else if (brdSection instanceof Map<?, ?> brdMap && siteSection instanceof Map<?, ?> siteMap) {
+      compareMaps(sectionName, brdMap, siteMap, differences);
+    } else if (!Objects.equals(brdSection, siteSection)) {
+      differences.add(difference(sectionName, brdSection, siteSection));
+    }
+  }
+
+  private void compareMaps(
+      String parentPath, Map<?, ?> brdMap, Map<?, ?> siteMap, List<FieldDifference> differences) {
+    for (Map.Entry<?, ?> field : brdMap.entrySet()) {
+      Object name = field.getKey();
+      compareField(parentPath, name, field.getValue(), siteMap.get(name), differences);
+    }
+    for (Map.Entry<?, ?> field : siteMap.entrySet()) {
+      if (!brdMap.containsKey(field.getKey())) {
+        compareField(parentPath, field.getKey(), null, field.getValue(), differences);
+      }
+    }
+  }
+
+  private void compareField(
+      String parentPath,
+      Object field,
+      Object brdValue,
+      Object siteValue,
+      List<FieldDifference> differences) {
+    String name = String.valueOf(field);
+    if (SKIPPED_FIELDS.contains(name) || (brdValue == null && siteValue == null)) {
+      return;
+    }
+    compareValues(parentPath + "." + name, brdValue, siteValue, differences);
+  }
+
+  private void compareValues(
+      String fieldPath, Object brdValue, Object siteValue, List<FieldDifference> differences) {
+    if (brdValue == null || siteValue == null) {
+      differences.add(difference(fieldPath, brdValue, siteValue));
+    } else if (isViewValueAndSelectedList(brdValue) && isViewValueAndSelectedList(siteValue)) {
+      compareSelectedViewValues(fieldPath, (List<?>) brdValue, (List<?>) siteValue, differences);
+    } else if (brdValue instanceof Map<?, ?> brdMap && siteValue instanceof Map<?, ?> siteMap) {
+      compareMaps(fieldPath, brdMap, siteMap, differences);
+    } else if (brdValue instanceof List<?> brdList && siteValue instanceof List<?> siteList) {
+      compareLists(fieldPath, brdList, siteList, differences);
+    } else if (!Objects.equals(brdValue, siteValue)) {
+      differences.add(difference(fieldPath, brdValue, siteValue));
+    }
+  }
+
+  private void compareLists(
+      String fieldPath, List<?> brdList, List<?> siteList, List<FieldDifference> differences) {
+    if (brdList.size() != siteList.size()) {
+      handleListSizeDifference(fieldPath, brdList, siteList, differences);
+      return;
+    }
+    for (int i = 0; i < brdList.size(); i++) {
+      Object brdItem = brdList.get(i);
+      Object siteItem = siteList.get(i);
+      if (brdItem != null || siteItem != null) {
+        compareValues(fieldPath + "[" + i + "]", brdItem, siteItem, differences);
+      }
+    }
+  }
+
+  /** Lists of different sizes are reported as a whole */
+  public void handleListSizeDifference(
+      String fieldPath, List<?> brdList, List<?> siteList, List<FieldDifference> differences) {
+    log.debug(
+        "Found list size difference in {}: BRD size: {}, Site size: {}",
+        fieldPath,
+        brdList.size(),
+        siteList.size());
+    differences.add(difference(fieldPath, brdList, siteList));
+  }
+
+  private static boolean isViewValueAndSelectedList(Object value) {
+    if (!(value instanceof List<?> list) || list.isEmpty()) {
+      return false;
+    }
+    return list.get(0) instanceof Map<?, ?> firstItem
+        && firstItem.containsKey(SiteConstants.VIEW_VALUE)
+        && firstItem.containsKey(SiteConstants.SELECTED);
+  }
+
+  /** Option lists only differ in the options that are selected */
+  private void compareSelectedViewValues(
+      String fieldPath, List<?> brdList, List<?> siteList, List<FieldDifference> differences) {
+    List<String> brdSelectedValues = selectedViewValues(brdList);
+    List<String> siteSelectedValues = selectedViewValues(siteList);
+    if (!brdSelectedValues.equals(siteSelectedValues)) {
+      differences.add(
+          difference(
+              fieldPath,
+              Collections.singletonMap("viewValues", brdSelectedValues),
+              Collections.singletonMap("viewValues", siteSelectedValues)));
+    }
+  }
+
+  private static List<String> selectedViewValues(List<?> items) {
+    List<String> values = new ArrayList<>();
+    for (Object item : items) {
+      if (item instanceof Map<?, ?> map && Boolean.TRUE.equals(map.get(SiteConstants.SELECTED))) {
+        String value = Objects.toString(map.get(SiteConstants.VIEW_VALUE), "");
+        if (!value.isEmpty()) {
+          values.add(value);
+        }
+      }
+    }
+    return values;
+  }
+
+  private static FieldDifference difference(
+      String fieldName, Object orgBrdValue, Object siteBrdValue) {
+    return FieldDifference.builder()
+        .fieldName(fieldName)
+        .orgBrdValue(orgBrdValue)
+        .siteBrdValue(siteBrdValue)
+        .build();
+  }
+}
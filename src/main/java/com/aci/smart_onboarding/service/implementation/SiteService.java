@@ -47,6 +47,7 @@ public class SiteService implements ISiteService {
   private final TransactionalOperator transactionalOperator;
   private final ReactiveMongoTemplate mongoTemplate;
   private final DtoModelMapper dtoModelMapper;
+  private final SiteDifferenceEngine siteDifferenceEngine;
 
   private static final String SELECTED_FIELD = "selected";
   private static final String VALUE_FIELD = "value";
@@ -1416,8 +1417,8 @@ public class SiteService implements ISiteService {
   @Override
   public Mono<ResponseEntity<Api<SiteDifferencesResponse>>> getSiteDifferences(String brdId) {
     return validateBrdId(brdId)
-        .flatMap(this::findBrdAndSites)
-        .map(this::processDifferences)
+        .flatMap(brdRepository::findByBrdId)
+        .flatMap(this::findSiteDifferences)
         .switchIfEmpty(createBrdNotFoundResponse(brdId))
         .onErrorResume(this::handleError);
   }
@@ -1429,62 +1430,17 @@ public class SiteService implements ISiteService {
     return Mono.just(brdId);
   }
 
-  private Mono<Tuple2<BRD, List<Site>>> findBrdAndSites(String brdId) {
-    return brdRepository
-        .findByBrdId(brdId)
-        .flatMap(
-            brd ->
-                divisionRepository
-                    .findByBrdId(brdId)
-                    .collectList()
-                    .map(sites -> Tuples.of(brd, sites)));
-  }
-
-  private ResponseEntity<Api<SiteDifferencesResponse>> processDifferences(
-      Tuple2<BRD, List<Site>> tuple) {
-    BRD brd = tuple.getT1();
-    List<Site> sites = tuple.getT2();
-
-    SiteDifferencesResponse response = new SiteDifferencesResponse();
-    response.setBrdId(brd.getBrdId());
-
-    List<SiteDifferencesResponse.SiteDifference> siteDifferences =
-        findDifferencesForAllSites(brd, sites);
-
-    response.setSites(siteDifferences);
-
-    return createSuccessResponse(response, siteDifferences.size());
-  }
-
-  private List<SiteDifferencesResponse.SiteDifference> findDifferencesForAllSites(
-      BRD brd, List<Site> sites) {
-    return sites.stream()
-        .map(site -> processSingleSite(brd, site))
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .toList();
-  }
-
-  private Optional<SiteDifferencesResponse.SiteDifference> processSingleSite(BRD brd, Site site) {
-    try {
-      List<SiteDifferencesResponse.FieldDifference> differences = findFieldDifferences(brd, site);
-      if (!differences.isEmpty()) {
-        return Optional.of(createSiteDifference(site, differences));
-      }
-    } catch (Exception e) {
-      log.error("Error comparing BRD and site {}: {}", site.getSiteId(), e.getMessage());
-    }
-    return Optional.empty();
-  }
-
-  private SiteDifferencesResponse.SiteDifference createSiteDifference(
-      Site site, List<SiteDifferencesResponse.FieldDifference> differences) {
-
-    SiteDifferencesResponse.SiteDifference siteDiff = new SiteDifferencesResponse.SiteDifference();
-    siteDiff.setSiteId(site.getSiteId());
-    siteDiff.setSiteName(site.getSiteName());
-    siteDiff.setDifferences(differences);
-    return siteDiff;
+  private Mono<ResponseEntity<Api<SiteDifferencesResponse>>> findSiteDifferences(BRD brd) {
+    return siteDifferenceEngine
+        .differences(createBrdFormFromBrd(brd), divisionRepository.findByBrdId(brd.getBrdId()))
+        .collectList()
+        .map(
+            siteDifferences -> {
+              SiteDifferencesResponse response = new SiteDifferencesResponse();
+              response.setBrdId(brd.getBrdId());
+              response.setSites(siteDifferences);
+              return createSuccessResponse(response, siteDifferences.size());
+            });
   }
 
   private ResponseEntity<Api<SiteDifferencesResponse>> createSuccessResponse(
@@ -1515,314 +1471,4 @@ public class SiteService implements ISiteService {
                     Optional.empty(),
                     Optional.of(errors))));
   }
-
-  private List<SiteDifferencesResponse.FieldDifference> findFieldDifferences(BRD brd, Site site) {
-    List<SiteDifferencesResponse.FieldDifference> differences = new ArrayList<>();
-    BrdForm siteBrdForm = site.getBrdForm();
-
-    if (siteBrdForm == null) {
-      log.warn(String.format(SiteConstants.SITE_BRD_FORM_NULL, site.getSiteId()));
-      return differences;
-    }
-
-    try {
-      // Create a BrdForm from BRD to ensure we're comparing the same structure
-      BrdForm brdForm = createBrdFormFromBrd(brd);
-
-      // Convert both BrdForms to maps for comparison
-      ObjectMapper mapper = new ObjectMapper();
-      Map<String, Object> brdFormMap = mapper.convertValue(brdForm, Map.class);
-      Map<String, Object> siteBrdFormMap = mapper.convertValue(siteBrdForm, Map.class);
-
-      logComparisonDetails(brd, site, brdFormMap, siteBrdFormMap);
-
-      // Get all unique section names
-      Set<String> allSections = new HashSet<>();
-      allSections.addAll(brdFormMap.keySet());
-      allSections.addAll(siteBrdFormMap.keySet());
-
-      // Compare each section
-      allSections.stream()
-          .filter(sectionName -> shouldCompareSection(sectionName, brdFormMap, siteBrdFormMap))
-          .forEach(
-              sectionName -> {
-                Object brdSection = brdFormMap.get(sectionName);
-                Object siteSection = siteBrdFormMap.get(sectionName);
-
-                log.debug(
-                    "Comparing section: {} (BRD value present: {}, Site value present: {})",
-                    sectionName,
-                    brdSection != null,
-                    siteSection != null);
-
-                if (isNullValueDifference(brdSection, siteSection)) {
-                  log.info(
-                      "Found null section difference in {}: BRD: {}, Site: {}",
-                      sectionName,
-                      brdSection != null,
-                      siteSection != null);
-                  differences.add(createFieldDifference(sectionName, brdSection, siteSection));
-                  return;
-                }
-
-                compareSection(sectionName, brdSection, siteSection, differences);
-              });
-
-      log.debug("Found {} differences for site {}", differences.size(), site.getSiteId());
-      return differences;
-    } catch (Exception e) {
-      log.error("Error comparing BRD and Site BRD form: {}", e.getMessage(), e);
-      return differences;
-    }
-  }
-
-  private void logComparisonDetails(
-      BRD brd, Site site, Map<String, Object> brdFormMap, Map<String, Object> siteBrdFormMap) {
-    log.debug("Comparing BRD {} with Site {}", brd.getBrdId(), site.getSiteId());
-    log.debug("BRD form sections: {}", brdFormMap.keySet());
-    log.debug("Site BRD form sections: {}", siteBrdFormMap.keySet());
-  }
-
-  private boolean shouldCompareSection(
-      String sectionName, Map<String, Object> brdFormMap, Map<String, Object> siteBrdFormMap) {
-    // Skip revisionHistory section
-    if ("revisionHistory".equals(sectionName)) {
-      return false;
-    }
-
-    Object brdSection = brdFormMap.get(sectionName);
-    Object siteSection = siteBrdFormMap.get(sectionName);
-    return !(brdSection == null && siteSection == null);
-  }
-
-  private boolean isNullValueDifference(Object brdSection, Object siteSection) {
-    return brdSection == null || siteSection == null;
-  }
-
-  private SiteDifferencesResponse.FieldDifference createFieldDifference(
-      String fieldName, Object orgBrdValue, Object siteBrdValue) {
-    return SiteDifferencesResponse.FieldDifference.builder()
-        .fieldName(fieldName)
-        .orgBrdValue(orgBrdValue)
-        .siteBrdValue(siteBrdValue)
-        .build();
-  }
-
-  private void compareSection(
-      String sectionName,
-      Object brdSection,
-      Object siteSection,
-      List<SiteDifferencesResponse.FieldDifference> differences) {
-
-    try {
-      ObjectMapper mapper = new ObjectMapper();
-
-      // Log the actual values being compared
-      log.info("Comparing section {}", sectionName);
-      log.info("BRD section value: {}", brdSection);
-      log.info("Site section value: {}", siteSection);
-
-      Map<String, Object> brdMap = mapper.convertValue(brdSection, Map.class);
-      Map<String, Object> siteMap = mapper.convertValue(siteSection, Map.class);
-
-      compareMapFields(sectionName, brdMap, siteMap, differences);
-    } catch (IllegalArgumentException e) {
-      handleDirectValueComparison(sectionName, brdSection, siteSection, differences);
-    } catch (Exception e) {
-      log.error("Error comparing section {}: {}", sectionName, e.getMessage());
-      differences.add(createFieldDifference(sectionName, brdSection, siteSection));
-    }
-  }
-
-  private void handleDirectValueComparison(
-      String sectionName,
-      Object brdSection,
-      Object siteSection,
-      List<SiteDifferencesResponse.FieldDifference> differences) {
-
-    if (!Objects.equals(brdSection, siteSection)) {
-      log.info(
-          "Found direct value difference in section {}: BRD value: {}, Site value: {}",
-          sectionName,
-          brdSection,
-          siteSection);
-      differences.add(createFieldDifference(sectionName, brdSection, siteSection));
-    }
-  }
-
-  private void compareMapFields(
-      String parentPath,
-      Map<String, Object> brdMap,
-      Map<String, Object> siteMap,
-      List<SiteDifferencesResponse.FieldDifference> differences) {
-
-    Set<String> allFields = new HashSet<>();
-    allFields.addAll(brdMap.keySet());
-    allFields.addAll(siteMap.keySet());
-
-    // Log all fields being compared
-    log.info("Comparing fields in {}: {}", parentPath, allFields);
-
-    allFields.stream()
-        .filter(field -> !shouldSkipField(field))
-        .forEach(field -> processField(parentPath, field, brdMap, siteMap, differences));
-  }
-
-  private void processField(
-      String parentPath,
-      String field,
-      Map<String, Object> brdMap,
-      Map<String, Object> siteMap,
-      List<SiteDifferencesResponse.FieldDifference> differences) {
-
-    Object brdValue = brdMap.get(field);
-    Object siteValue = siteMap.get(field);
-    String fieldPath = parentPath + "." + field;
-
-    // Log the values being compared
-    log.info("Comparing field {}: BRD value: {}, Site value: {}", fieldPath, brdValue, siteValue);
-
-    if (shouldProcessField(brdValue, siteValue)) {
-      processFieldValues(fieldPath, brdValue, siteValue, differences);
-    }
-  }
-
-  private boolean shouldProcessField(Object brdValue, Object siteValue) {
-    return !(brdValue == null && siteValue == null);
-  }
-
-  private void processFieldValues(
-      String fieldPath,
-      Object brdValue,
-      Object siteValue,
-      List<SiteDifferencesResponse.FieldDifference> differences) {
-
-    if (isNullValueDifference(brdValue, siteValue)) {
-      log.info(
-          "Found null value difference in field {}: BRD value: {}, Site value: {}",
-          fieldPath,
-          brdValue,
-          siteValue);
-      differences.add(createFieldDifference(fieldPath, brdValue, siteValue));
-      return;
-    }
-
-    if (isViewValueAndSelectedList(brdValue) && isViewValueAndSelectedList(siteValue)) {
-      compareViewValueAndSelectedLists(fieldPath, brdValue, siteValue, differences);
-    } else if (brdValue instanceof Map && siteValue instanceof Map) {
-      compareMapFields(
-          fieldPath, (Map<String, Object>) brdValue, (Map<String, Object>) siteValue, differences);
-    } else if (brdValue instanceof List && siteValue instanceof List) {
-      compareListFields(fieldPath, (List<?>) brdValue, (List<?>) siteValue, differences);
-    } else if (!Objects.equals(brdValue, siteValue)) {
-      log.info(
-          "Found value difference in field {}: BRD value: {}, Site value: {}",
-          fieldPath,
-          brdValue,
-          siteValue);
-      differences.add(createFieldDifference(fieldPath, brdValue, siteValue));
-    }
-  }
-
-  private boolean isViewValueAndSelectedList(Object value) {
-    if (!(value instanceof List<?>)) {
-      return false;
-    }
-    List<?> list = (List<?>) value;
-    if (list.isEmpty()) {
-      return false;
-    }
-    Object firstItem = list.get(0);
-    return firstItem instanceof Map
-        && ((Map<?, ?>) firstItem).containsKey(SiteConstants.VIEW_VALUE)
-        && ((Map<?, ?>) firstItem).containsKey(SiteConstants.SELECTED);
-  }
-
-  private void compareViewValueAndSelectedLists(
-      String fieldPath,
-      Object brdValue,
-      Object siteValue,
-      List<SiteDifferencesResponse.FieldDifference> differences) {
-
-    List<String> brdSelectedValues = extractSelectedViewValues((List<?>) brdValue);
-    List<String> siteSelectedValues = extractSelectedViewValues((List<?>) siteValue);
-
-    if (!Objects.equals(brdSelectedValues, siteSelectedValues)) {
-      log.info(
-          "Found difference in selected values for field {}: BRD values: {}, Site values: {}",
-          fieldPath,
-          brdSelectedValues,
-          siteSelectedValues);
-
-      Map<String, List<String>> brdResponse = new HashMap<>();
-      brdResponse.put("viewValues", brdSelectedValues);
-
-      Map<String, List<String>> siteResponse = new HashMap<>();
-      siteResponse.put("viewValues", siteSelectedValues);
-
-      differences.add(createFieldDifference(fieldPath, brdResponse, siteResponse));
-    }
-  }
-
-  private List<String> extractSelectedViewValues(List<?> items) {
-    return items.stream()
-        .filter(Map.class::isInstance)
-        .map(item -> (Map<?, ?>) item)
-        .filter(map -> Boolean.TRUE.equals(map.get(SiteConstants.SELECTED)))
-        .map(map -> Objects.toString(map.get(SiteConstants.VIEW_VALUE), ""))
-        .filter(value -> !value.isEmpty())
-        .toList();
-  }
-
-  private void compareListFields(
-      String fieldPath,
-      List<?> brdList,
-      List<?> siteList,
-      List<SiteDifferencesResponse.FieldDifference> differences) {
-
-    // Log the lists being compared
-    log.info("Comparing lists in {}", fieldPath);
-    log.info("BRD list: {}", brdList);
-    log.info("Site list: {}", siteList);
-
-    if (brdList.size() != siteList.size()) {
-      handleListSizeDifference(fieldPath, brdList, siteList, differences);
-      return;
-    }
-
-    compareRegularList(fieldPath, brdList, siteList, differences);
-  }
-
-  public void handleListSizeDifference(
-      String fieldPath,
-      List<?> brdList,
-      List<?> siteList,
-      List<SiteDifferencesResponse.FieldDifference> differences) {
-
-    log.info(
-        "Found list size difference in {}: BRD size: {}, Site size: {}",
-        fieldPath,
-        brdList.size(),
-        siteList.size());
-    differences.add(createFieldDifference(fieldPath, brdList, siteList));
-  }
-
-  private void compareRegularList(
-      String fieldPath,
-      List<?> brdList,
-      List<?> siteList,
-      List<SiteDifferencesResponse.FieldDifference> differences) {
-
-    for (int i = 0; i < brdList.size(); i++) {
-      Object brdItem = brdList.get(i);
-      Object siteItem = siteList.get(i);
-
-      // Log the items being compared
-      log.info("Comparing list item {} in {}: BRD: {}, Site: {}", i, fieldPath, brdItem, siteItem);
-
-      if (shouldProcessField(brdItem, siteItem)) {
-        processFieldValues(fieldPath + "[" + i + "]", brdItem, siteItem, differences);
-      }
-    }
-  }
 }
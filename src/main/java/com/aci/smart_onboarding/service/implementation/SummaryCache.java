@@ -0,0 +1,118 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.config.SummaryCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Caches the token streams of generated summaries in Redis, keyed by what was summarized, a hash
+ * of its content and a hash of the prompt. A cached summary is replayed token by token, so SSE
+ * clients see the same stream as for a fresh generation, only without waiting for the model.
+ *
+ * <p>Concurrent requests for a summary that is not cached yet share one generation. Streams that
+ * fail or come back empty are not cached.
+ */
+@Slf4j
+@Component
+public class SummaryCache {
+
+  static final String KEY_PREFIX = "summary:";
+  static final String METRIC_NAME = "summary.cache.requests";
+
+  private static final TypeReference<List<String>> TOKENS = new TypeReference<>() {};
+
+  private final SummaryCacheProperties properties;
+  private final RedisValueCache cache;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Map<String, Flux<String>> inFlight = new ConcurrentHashMap<>();
+
+  public SummaryCache(
+      ReactiveRedisTemplate<String, String> redisTemplate,
+      SummaryCacheProperties properties,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.cache =
+        new RedisValueCache(
+            redisTemplate,
+            meterRegistry,
+            KEY_PREFIX,
+            METRIC_NAME,
+            "Summary requests answered from the cache or by the model",
+            "summary");
+  }
+
+  /**
+   * Replays the cached summary or generates and caches it.
+   *
+   * @param subject what is summarized, e.g. {@code document:<name>}; readable part of the key
+   * @param content the summarized content, hashed into the key
+   * @param prompt everything else sent to the model, hashed into the key
+   * @param generate generates the summary when it is not cached
+   * @return the summary tokens
+   */
+  public Flux<String> summary(
+      String subject, List<String> content, List<String> prompt, Supplier<Flux<String>> generate) {
+    if (!properties.isEnabled()) {
+      return Flux.defer(generate);
+    }
+    String key = key(subject, content, prompt);
+
+    return cache
+        .get(key, this::readTokens)
+        .flatMapMany(Flux::fromIterable)
+        .switchIfEmpty(
+            Flux.defer(
+                () -> {
+                  cache.miss();
+                  return inFlight.computeIfAbsent(key, ignored -> generation(key, generate));
+                }));
+  }
+
+  /** One shared generation; it runs to the end even if the requester goes away, to be cached */
+  private Flux<String> generation(String key, Supplier<Flux<String>> generate) {
+    List<String> tokens = Collections.synchronizedList(new ArrayList<>());
+    return Flux.defer(generate)
+        .doOnNext(tokens::add)
+        .doOnComplete(() -> store(key, tokens))
+        .doFinally(signal -> inFlight.remove(key))
+        .cache();
+  }
+
+  private void store(String key, List<String> tokens) {
+    if (tokens.isEmpty()) {
+      return;
+    }
+    try {
+      cache.put(key, objectMapper.writeValueAsString(tokens), properties.getTtl());
+    } catch (JsonProcessingException e) {
+      log.warn("Error serializing summary {}: {}", key, e.getMessage());
+    }
+  }
+
+  private List<String> readTokens(String value) {
+    try {
+      return objectMapper.readValue(value, TOKENS);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unreadable cached summary", e);
+    }
+  }
+
+  String key(String subject, List<String> content, List<String> prompt) {
+    List<String> inputs = new ArrayList<>(prompt.size() + 1);
+    inputs.add(properties.getPromptVersion());
+    inputs.addAll(prompt);
+    return cache.key(subject + ":", inputs, content);
+  }
+}
@@ -1,8 +1,10 @@
 package com.aci.smart_onboarding.service.implementation;
 
+import com.aci.smart_onboarding.config.UatGenerationProperties;
 import com.aci.smart_onboarding.dto.UATConfiguratorResponseDTO;
 import com.aci.smart_onboarding.dto.UATTestCaseDTO;
 import com.aci.smart_onboarding.dto.UATTestCaseRequestResponseDTO;
+import com.aci.smart_onboarding.enums.AiPriority;
 import com.aci.smart_onboarding.enums.ContextName;
 import com.aci.smart_onboarding.enums.PortalTypes;
 import com.aci.smart_onboarding.enums.TestType;
@@ -14,13 +16,20 @@ import com.aci.smart_onboarding.service.IArtifactService;
 import com.aci.smart_onboarding.service.IPortalConfigurationService;
 import com.aci.smart_onboarding.service.IUATAIService;
 import com.aci.smart_onboarding.service.IUATConfiguratorService;
+import com.aci.smart_onboarding.util.BrdFieldIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -47,10 +56,22 @@ public class UATAIService implements IUATAIService {
   private final UATTestCaseService uatTestCaseService;
   private final IArtifactService artifactService;
   private final IPortalConfigurationService portalConfigurationService;
+  private final UatGenerationProperties generationProperties;
+  private final Timer embeddingTimer;
+  private final Timer vectorSearchTimer;
+  private final Timer fieldMatchingTimer;
+  private final Timer llmTimer;
+  private final Timer persistenceTimer;
   private static final int SEARCH_LIMIT = 5;
+  private static final int EMBEDDING_CONCURRENCY = 4;
+  private static final int VECTOR_SEARCH_CONCURRENCY = 4;
+  private static final String STAGE_TIMER = "uat.generation.stage";
   private static final int ARTIFACT_SEARCH_LIMIT = 10;
   private static final String TEST_RIGOR_DOC = "TestRigor";
   private static final String TESTRIGOR_ERROR_DOC = "TestRigor_Fix";
+  private static final String FIELD_MATCHING_CONTEXT = "uat_field_search";
+  private static final List<String> BRD_SECTIONS =
+      Arrays.stream(BRD.class.getDeclaredFields()).map(Field::getName).toList();
   private static final Pattern JSON_PATTERN = Pattern.compile("\\{[^}]*}");
   private static final String CONTEXT_TEMPLATE =
       "Here we have multiple contexts. Context 1 is {documentation}, which provides basic guidance for "
@@ -86,7 +107,9 @@ public class UATAIService implements IUATAIService {
       UATTestCaseService uatTestCaseService,
       IArtifactService artifactService,
       IPortalConfigurationService portalConfigurationService,
-      ResourceLoader resourceLoader)
+      ResourceLoader resourceLoader,
+      UatGenerationProperties generationProperties,
+      MeterRegistry meterRegistry)
       throws IOException {
     this.brdRepository = brdRepository;
     this.uatConfiguratorService = uatConfiguratorService;
@@ -95,10 +118,16 @@ public class UATAIService implements IUATAIService {
     this.uatTestCaseService = uatTestCaseService;
     this.artifactService = artifactService;
     this.portalConfigurationService = portalConfigurationService;
+    this.generationProperties = generationProperties;
+    this.embeddingTimer = stageTimer(meterRegistry, "embedding");
+    this.vectorSearchTimer = stageTimer(meterRegistry, "vector_search");
+    this.fieldMatchingTimer = stageTimer(meterRegistry, "field_matching");
+    this.llmTimer = stageTimer(meterRegistry, "llm");
+    this.persistenceTimer = stageTimer(meterRegistry, "persistence");
 
     Resource resource = resourceLoader.getResource("classpath:prompts.json");
     JsonNode prompts = objectMapper.readTree(resource.getInputStream());
-    this.fieldMatchingPrompt = prompts.get("fieldMatching").asText();
+    this.fieldMatchingPrompt = prompts.get("fieldMatchingBatch").asText();
   }
 
   @Override
@@ -115,57 +144,73 @@ public class UATAIService implements IUATAIService {
       BRD brd, List<String> configurationNames, PortalTypes uatType) {
     return uatConfiguratorService
         .getConfigurationsByNames(configurationNames)
-        .flatMap(config -> findMatchingFieldsUsingAI(brd, config))
         .collectList()
-        .flatMapMany(
-            jsonNodes ->
-                generateTestCasesFromFields(
-                    jsonNodes, configurationNames, brd.getBrdId(), uatType));
-  }
-
-  private Flux<UATTestCaseRequestResponseDTO> generateTestCasesFromFields(
-      List<JsonNode> jsonNodes,
-      List<String> configurationNames,
-      String brdId,
-      PortalTypes uatType) {
-    ObjectNode combinedNode = objectMapper.createObjectNode();
-    jsonNodes.forEach(node -> combinedNode.setAll((ObjectNode) node));
-
-    return uatConfiguratorService
-        .getConfigurationsByNames(configurationNames)
-        .collectList()
-        .flatMapMany(configs -> generatingTestCases(configs, brdId, uatType));
+        .flatMapMany(configs -> generatingTestCases(brd, configs, uatType))
+        .contextWrite(AiRequestGovernor.priority(AiPriority.BATCH));
   }
 
+  /**
+   * Assembles the generation context once per request: each distinct scenario context is embedded
+   * once and its vector is shared by the test case, documentation and error fix searches.
+   */
   private Flux<UATTestCaseRequestResponseDTO> generatingTestCases(
-      List<UATConfiguratorResponseDTO> configurations, String brdId, PortalTypes uatType) {
-    return Mono.zip(
-            getRelevantTestCases(configurations, uatType),
-            getExistingTestCases(brdId, uatType),
-            getTestRigorDocumentation(configurations),
-            getTestRigorErrorFixData(configurations),
-            getBrdAndPortalData(configurations, brdId, uatType))
+      BRD brd, List<UATConfiguratorResponseDTO> configurations, PortalTypes uatType) {
+    String brdId = brd.getBrdId();
+    return embedContexts(configurations)
+        .flatMap(
+            embeddings ->
+                Mono.zip(
+                    getRelevantTestCases(configurations, embeddings, uatType),
+                    getExistingTestCases(brdId, uatType),
+                    searchArtifacts(embeddings, TEST_RIGOR_DOC, DOCUMENTATION),
+                    searchArtifacts(embeddings, TESTRIGOR_ERROR_DOC, ERROR_DOC),
+                    getBrdAndPortalData(brd, configurations, uatType)))
         .flatMapMany(tuple -> processTestCaseGeneration(tuple, configurations, brdId, uatType));
   }
 
+  /** Embeds every distinct test context of the configurations, keyed by context. */
+  private Mono<Map<String, List<Double>>> embedContexts(
+      List<UATConfiguratorResponseDTO> configurations) {
+    return Flux.fromIterable(configurations)
+        .map(this::buildTestContext)
+        .distinct()
+        .flatMapSequential(
+            context ->
+                timed(embeddingTimer, aiService.getEmbeddings(context))
+                    .map(embedding -> Map.entry(context, embedding)),
+            EMBEDDING_CONCURRENCY)
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new);
+  }
+
+  /**
+   * Generates the test cases of all configurations in parallel and emits each feature's test cases
+   * as soon as they are saved, so the request takes about as long as its slowest feature. The
+   * number of features in flight is bounded by the configured concurrency; the LLM calls
+   * themselves are scheduled by the {@link AiRequestGovernor} as batch work.
+   */
   private Flux<UATTestCaseRequestResponseDTO> processTestCaseGeneration(
       Tuple5<JsonNode, JsonNode, JsonNode, JsonNode, JsonNode> contextData,
       List<UATConfiguratorResponseDTO> configurations,
       String brdId,
       PortalTypes uatType) {
-    return Flux.fromIterable(configurations)
-        .concatMap(config -> generateTestCasesFromLLM(contextData, config, brdId, uatType));
+    List<Map.Entry<UATConfiguratorResponseDTO, String>> prompts =
+        configurations.stream()
+            .map(config -> Map.entry(config, buildLLMContext(contextData, config)))
+            .toList();
+    return Flux.fromIterable(prompts)
+        .flatMap(
+            prompt ->
+                generateTestCasesFromLLM(prompt.getKey(), prompt.getValue(), brdId, uatType),
+            Math.max(1, generationProperties.getConcurrency()));
   }
 
   private Flux<UATTestCaseRequestResponseDTO> generateTestCasesFromLLM(
-      Tuple5<JsonNode, JsonNode, JsonNode, JsonNode, JsonNode> contextData,
-      UATConfiguratorResponseDTO config,
-      String brdId,
-      PortalTypes uatType) {
-    String context = buildLLMContext(contextData, config);
+      UATConfiguratorResponseDTO config, String context, String brdId, PortalTypes uatType) {
     String question = buildLLMQuestion(config);
-    return aiService
-        .generateAnswer(question, context, ContextName.UAT_TEST_GENERATION.getPrompt())
+    return timed(
+            llmTimer,
+            aiService.generateAnswer(
+                question, context, ContextName.UAT_TEST_GENERATION.getPrompt()))
         .flatMapMany(response -> processLLMResponse(response, config, brdId, uatType));
   }
 
@@ -206,37 +251,52 @@ public class UATAIService implements IUATAIService {
         return Flux.empty();
       }
 
-      return Flux.fromIterable(aiResponse::elements)
-          .flatMap(testCase -> createAndSaveTestCase(testCase, config, brdId, uatType))
-          .filter(Objects::nonNull);
+      List<UATTestCaseRequestResponseDTO> testCases = new ArrayList<>();
+      aiResponse
+          .elements()
+          .forEachRemaining(
+              testCase -> {
+                UATTestCaseRequestResponseDTO testCaseDTO =
+                    toTestCaseDTO(testCase, config, brdId, uatType);
+                if (testCaseDTO != null) {
+                  testCases.add(testCaseDTO);
+                }
+              });
+      return saveTestCases(testCases);
     } catch (Exception e) {
       log.error("Error processing AI response: {}", e.getMessage());
       return Flux.empty();
     }
   }
 
-  private Mono<UATTestCaseRequestResponseDTO> createAndSaveTestCase(
+  /** Saves the test cases generated for one feature with a single batch insert. */
+  private Flux<UATTestCaseRequestResponseDTO> saveTestCases(
+      List<UATTestCaseRequestResponseDTO> testCases) {
+    if (testCases.isEmpty()) {
+      return Flux.empty();
+    }
+    return timed(persistenceTimer, uatTestCaseService.createTestCases(testCases).collectList())
+        .flatMapIterable(saved -> saved)
+        .onErrorResume(
+            error -> {
+              log.error("Error creating test cases: {}", error.getMessage());
+              return Flux.empty();
+            });
+  }
+
+  private UATTestCaseRequestResponseDTO toTestCaseDTO(
       JsonNode testCase, UATConfiguratorResponseDTO config, String brdId, PortalTypes uatType) {
     try {
       if (testCase == null || !testCase.has(TEST_NAME) || !testCase.has(ANSWER_FIELD)) {
         log.error("Invalid test case format: missing required fields");
-        return Mono.empty();
+        return null;
       }
 
       Map<String, String> variables = extractVariables(testCase);
-      UATTestCaseRequestResponseDTO testCaseDTO =
-          buildTestCaseDTO(testCase, config, brdId, uatType, variables);
-
-      return uatTestCaseService
-          .createTestCase(testCaseDTO)
-          .onErrorResume(
-              error -> {
-                log.error("Error creating test case: {}", error.getMessage());
-                return Mono.empty();
-              });
+      return buildTestCaseDTO(testCase, config, brdId, uatType, variables);
     } catch (Exception e) {
       log.error("Error processing test case: {}", e.getMessage());
-      return Mono.empty();
+      return null;
     }
   }
 
@@ -332,32 +392,39 @@ public class UATAIService implements IUATAIService {
     return response.trim();
   }
 
-  /** Gets relevant test cases using vector search. */
+  /** Gets relevant test cases using one vector search per distinct test context. */
   private Mono<JsonNode> getRelevantTestCases(
-      List<UATConfiguratorResponseDTO> configurations, PortalTypes uatType) {
-    return Flux.fromIterable(configurations)
+      List<UATConfiguratorResponseDTO> configurations,
+      Map<String, List<Double>> embeddings,
+      PortalTypes uatType) {
+    return Flux.fromIterable(embeddings.entrySet())
         .flatMap(
-            config -> {
-              String context = buildTestContext(config);
-              return aiService
-                  .getEmbeddings(context)
-                  .flatMapMany(
-                      embedding ->
-                          uatTestCaseService.performVectorSearch(embedding, SEARCH_LIMIT, uatType))
-                  .map(this::extractRelevantFields)
-                  .collectList()
-                  .map(
-                      relevantCases -> {
-                        ObjectNode configNode = objectMapper.createObjectNode();
-                        configNode.put(CONFIGURATION_NAME, config.getConfigurationName());
-                        configNode.set(
-                            RELEVANT_TEST_CASES, objectMapper.valueToTree(relevantCases));
-                        return configNode;
-                      });
-            })
-        .collectList()
+            entry ->
+                timed(
+                        vectorSearchTimer,
+                        uatTestCaseService
+                            .performVectorSearch(entry.getValue(), SEARCH_LIMIT, uatType)
+                            .map(this::extractRelevantFields)
+                            .collectList())
+                    .map(relevantCases -> Map.entry(entry.getKey(), relevantCases)),
+            VECTOR_SEARCH_CONCURRENCY)
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue)
         .map(
-            configResults -> {
+            casesByContext -> {
+              List<ObjectNode> configResults =
+                  configurations.stream()
+                      .map(
+                          config -> {
+                            ObjectNode configNode = objectMapper.createObjectNode();
+                            configNode.put(CONFIGURATION_NAME, config.getConfigurationName());
+                            configNode.set(
+                                RELEVANT_TEST_CASES,
+                                objectMapper.valueToTree(
+                                    casesByContext.getOrDefault(
+                                        buildTestContext(config), List.of())));
+                            return configNode;
+                          })
+                      .toList();
               ObjectNode resultNode = objectMapper.createObjectNode();
               resultNode.set(CONFIGURATION_TEST_CASES, objectMapper.valueToTree(configResults));
               return resultNode;
@@ -378,77 +445,55 @@ public class UATAIService implements IUATAIService {
             });
   }
 
-  /** Gets TestRigor documentation using vector search. */
-  private Mono<JsonNode> getTestRigorDocumentation(
-      List<UATConfiguratorResponseDTO> configurations) {
-    return Flux.fromIterable(configurations)
-        .flatMap(
-            config -> {
-              String context = buildTestContext(config);
-              return aiService.getEmbeddings(context);
-            })
+  /**
+   * Gets TestRigor documentation or error fix texts using vector search, one search per distinct
+   * test context, joined under the given field.
+   */
+  private Mono<JsonNode> searchArtifacts(
+      Map<String, List<Double>> embeddings, String documentName, String fieldName) {
+    return Flux.fromIterable(embeddings.values())
+        .flatMapSequential(
+            embedding ->
+                timed(
+                    vectorSearchTimer,
+                    artifactService
+                        .performVectorSearch(embedding, ARTIFACT_SEARCH_LIMIT, documentName)
+                        .map(Artifact::getText)
+                        .collectList()),
+            VECTOR_SEARCH_CONCURRENCY)
+        .flatMapIterable(texts -> texts)
         .collectList()
-        .flatMap(
-            embeddings ->
-                Flux.fromIterable(embeddings)
-                    .flatMap(
-                        embedding ->
-                            artifactService.performVectorSearch(
-                                embedding, ARTIFACT_SEARCH_LIMIT, TEST_RIGOR_DOC))
-                    .map(Artifact::getText)
-                    .collectList()
-                    .map(
-                        texts -> {
-                          ObjectNode resultNode = objectMapper.createObjectNode();
-                          resultNode.put(DOCUMENTATION, String.join("\n", texts));
-                          return resultNode;
-                        }));
-  }
-
-  /** Gets TestRigor error documentation using vector search. */
-  private Mono<JsonNode> getTestRigorErrorFixData(List<UATConfiguratorResponseDTO> configurations) {
-    return Flux.fromIterable(configurations)
-        .flatMap(
-            config -> {
-              String context = buildTestContext(config);
-              return aiService.getEmbeddings(context);
-            })
-        .collectList()
-        .flatMap(
-            embeddings ->
-                Flux.fromIterable(embeddings)
-                    .flatMap(
-                        embedding ->
-                            artifactService.performVectorSearch(
-                                embedding, ARTIFACT_SEARCH_LIMIT, TESTRIGOR_ERROR_DOC))
-                    .map(Artifact::getText)
-                    .collectList()
-                    .map(
-                        texts -> {
-                          ObjectNode resultNode = objectMapper.createObjectNode();
-                          resultNode.put(ERROR_DOC, String.join("\n", texts));
-                          return resultNode;
-                        }));
-  }
-
-  /** Gets BRD fields and portal configuration data. */
+        .map(
+            texts -> {
+              ObjectNode resultNode = objectMapper.createObjectNode();
+              resultNode.put(fieldName, String.join("\n", texts));
+              return resultNode;
+            });
+  }
+
+  /**
+   * Gets BRD fields and portal configuration data. The BRD is indexed once for all configurations,
+   * and its section context is only built when some configuration has fields left for the model.
+   */
   private Mono<JsonNode> getBrdAndPortalData(
-      List<UATConfiguratorResponseDTO> configurations, String brdId, PortalTypes uatType) {
-    return brdRepository
-        .findByBrdId(brdId)
-        .switchIfEmpty(Mono.error(new RuntimeException(BRD_NOT_FOUND + brdId)))
+      BRD brd, List<UATConfiguratorResponseDTO> configurations, PortalTypes uatType) {
+    return Mono.fromCallable(() -> (JsonNode) objectMapper.valueToTree(brd))
         .flatMap(
-            brd ->
-                Flux.fromIterable(configurations)
-                    .flatMap(config -> findMatchingFieldsUsingAI(brd, config))
-                    .collectList()
-                    .flatMap(brdFields -> getPortalData(brdId, uatType, brdFields))
-                    .map(
-                        dataNode -> {
-                          ObjectNode resultNode = objectMapper.createObjectNode();
-                          resultNode.set(DATA, dataNode);
-                          return resultNode;
-                        }));
+            brdNode -> {
+              BrdFieldIndex fieldIndex = BrdFieldIndex.of(brdNode, BRD_SECTIONS);
+              Mono<String> brdContext =
+                  Mono.fromCallable(() -> createContextFromBrdSections(brdNode)).cache();
+              return Flux.fromIterable(configurations)
+                  .flatMap(config -> matchFields(config, fieldIndex, brdContext))
+                  .collectList();
+            })
+        .flatMap(brdFields -> getPortalData(brd.getBrdId(), uatType, brdFields))
+        .map(
+            dataNode -> {
+              ObjectNode resultNode = objectMapper.createObjectNode();
+              resultNode.set(DATA, dataNode);
+              return resultNode;
+            });
   }
 
   /** Gets portal configuration data and combines with BRD fields. */
@@ -496,73 +541,115 @@ public class UATAIService implements IUATAIService {
             brd -> processConfigurationsAndGenerateTestCases(brd, configurationNames, uatType));
   }
 
-  private Flux<JsonNode> findMatchingFieldsUsingAI(BRD brd, UATConfiguratorResponseDTO config) {
+  /**
+   * Maps the fields of a configuration to BRD values. Fields named like a BRD field are resolved
+   * from the index; the rest are matched by the model in a single call for the configuration.
+   */
+  private Mono<JsonNode> matchFields(
+      UATConfiguratorResponseDTO config, BrdFieldIndex fieldIndex, Mono<String> brdContext) {
     if (config == null || config.getFields() == null || config.getFields().isEmpty()) {
       log.warn("No fields to process in configuration");
-      return Flux.empty();
+      return Mono.empty();
     }
 
-    JsonNode brdNode = objectMapper.valueToTree(brd);
-    return Flux.fromIterable(config.getFields())
-        .flatMap(fieldName -> processFieldMatching(fieldName, brd, brdNode))
+    ObjectNode matched = objectMapper.createObjectNode();
+    List<String> unresolved = new ArrayList<>();
+    for (String fieldName : config.getFields()) {
+      if (fieldName == null || fieldName.trim().isEmpty()) {
+        continue;
+      }
+      JsonNode value = fieldIndex.resolve(fieldName);
+      if (value != null) {
+        matched.put(fieldName.toLowerCase(), value.asText());
+      } else if (!unresolved.contains(fieldName)) {
+        unresolved.add(fieldName);
+      }
+    }
+    if (unresolved.isEmpty()) {
+      return Mono.just(matched);
+    }
+
+    return brdContext
+        .flatMap(
+            context ->
+                timed(
+                    fieldMatchingTimer,
+                    aiService.generateAnswer(
+                        String.format(fieldMatchingPrompt, toJson(unresolved)),
+                        context,
+                        FIELD_MATCHING_CONTEXT)))
+        .map(
+            answer -> {
+              mapMatchedFields(answer, unresolved, fieldIndex, matched);
+              return (JsonNode) matched;
+            })
         .onErrorResume(
             e -> {
-              log.error("Error in findMatchingFieldsUsingAI: {}", e.getMessage());
-              return Flux.empty();
-            });
+              log.error(
+                  "Error matching fields of {}: {}", config.getConfigurationName(), e.getMessage());
+              return Mono.just(matched);
+            })
+        .defaultIfEmpty(matched);
   }
 
-  private Mono<JsonNode> processFieldMatching(String fieldName, BRD brd, JsonNode brdNode) {
-    if (fieldName == null || fieldName.trim().isEmpty()) {
-      return Mono.empty();
+  private String toJson(List<String> fieldNames) {
+    try {
+      return objectMapper.writeValueAsString(fieldNames);
+    } catch (JsonProcessingException e) {
+      return String.join(", ", fieldNames);
     }
-
-    String question = String.format(fieldMatchingPrompt, fieldName);
-    String context = createContextFromBrdSections(brd);
-
-    return aiService
-        .generateAnswer(question, context, "uat_field_search")
-        .flatMap(answer -> Mono.justOrEmpty(extractAndMapField(answer, fieldName, brdNode)))
-        .onErrorResume(
-            e -> {
-              log.error("Error processing field {}: {}", fieldName, e.getMessage());
-              return Mono.empty();
-            });
   }
 
-  private JsonNode extractAndMapField(String answer, String fieldName, JsonNode brdNode) {
+  /** Adds the values of the BRD fields the model matched, e.g. {"MFA": "multiFactorAuth"} */
+  private void mapMatchedFields(
+      String answer, List<String> fieldNames, BrdFieldIndex fieldIndex, ObjectNode matched) {
     if (answer == null || answer.trim().isEmpty()) {
-      log.warn("Empty answer received for field: {}", fieldName);
-      return null;
+      log.warn("Empty answer received for fields: {}", fieldNames);
+      return;
+    }
+    String jsonStr = extractJsonFromResponse(answer);
+    if (jsonStr == null) {
+      log.warn("No valid JSON found in response for fields: {}", fieldNames);
+      return;
     }
 
+    JsonNode response;
     try {
-      // Try to find a JSON object in the response
-      String jsonStr = extractJsonFromResponse(answer);
-      if (jsonStr == null) {
-        log.warn("No valid JSON found in response for field: {}", fieldName);
-        return null;
+      response = objectMapper.readTree(jsonStr);
+    } catch (JsonProcessingException e) {
+      log.error("Error parsing AI response for fields {}: {}", fieldNames, e.getMessage());
+      return;
+    }
+    for (String fieldName : fieldNames) {
+      JsonNode matchedField = matchedFieldName(response, fieldName);
+      if (matchedField == null || !matchedField.isTextual()) {
+        log.warn("No matched field for: {}", fieldName);
+        continue;
       }
-
-      JsonNode response = objectMapper.readTree(jsonStr);
-      if (!response.has("matchedField")) {
-        log.warn("Response missing matchedField for field: {}", fieldName);
-        return null;
+      JsonNode value = fieldIndex.get(matchedField.asText());
+      if (value == null) {
+        value = fieldIndex.resolve(matchedField.asText());
       }
-
-      String matchedField = response.get("matchedField").asText();
-      JsonNode value = findValueInBrd(brdNode, matchedField);
-
       if (value != null) {
-        ObjectNode result = objectMapper.createObjectNode();
-        result.put(fieldName.toLowerCase(), value.asText());
+        matched.put(fieldName.toLowerCase(), value.asText());
         log.debug("Field mapping: {} -> {} = {}", fieldName, matchedField, value.asText());
-        return result;
       } else {
         log.warn("No value found in BRD for matched field: {} -> {}", fieldName, matchedField);
       }
-    } catch (Exception e) {
-      log.error("Error parsing AI response for field {}: {}", fieldName, e.getMessage());
+    }
+  }
+
+  private static JsonNode matchedFieldName(JsonNode response, String fieldName) {
+    JsonNode matchedField = response.get(fieldName);
+    if (matchedField != null) {
+      return matchedField;
+    }
+    Iterator<Map.Entry<String, JsonNode>> fields = response.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      if (field.getKey().equalsIgnoreCase(fieldName)) {
+        return field.getValue();
+      }
     }
     return null;
   }
@@ -596,31 +683,8 @@ public class UATAIService implements IUATAIService {
     return null;
   }
 
-  private JsonNode findValueInBrd(JsonNode brdNode, String fieldName) {
-    return getBrdSections().stream()
-        .map(brdNode::get)
-        .filter(sectionNode -> sectionNode != null && !sectionNode.isEmpty())
-        .map(sectionNode -> findFieldInSection(sectionNode, fieldName))
-        .filter(Objects::nonNull)
-        .findFirst()
-        .orElse(null);
-  }
-
-  private JsonNode findFieldInSection(JsonNode sectionNode, String fieldName) {
-    if (sectionNode.has(fieldName)) {
-      return sectionNode.get(fieldName);
-    }
-    for (JsonNode node : sectionNode) {
-      if (node.isObject() && node.has(fieldName)) {
-        return node.get(fieldName);
-      }
-    }
-    return null;
-  }
-
-  private String createContextFromBrdSections(BRD brd) {
-    JsonNode brdNode = objectMapper.valueToTree(brd);
-    return getBrdSections().stream()
+  private String createContextFromBrdSections(JsonNode brdNode) {
+    return BRD_SECTIONS.stream()
         .map(section -> formatSectionContext(section, brdNode.get(section)))
         .filter(Objects::nonNull)
         .collect(Collectors.joining("%n", "%nBRD Sections:%n", ""));
@@ -633,7 +697,18 @@ public class UATAIService implements IUATAIService {
     return null;
   }
 
-  private List<String> getBrdSections() {
-    return Arrays.stream(BRD.class.getDeclaredFields()).map(Field::getName).toList();
+  private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+    return Timer.builder(STAGE_TIMER)
+        .description("Time spent per stage of UAT test case generation")
+        .tag("stage", stage)
+        .register(meterRegistry);
+  }
+
+  private static <T> Mono<T> timed(Timer timer, Mono<T> source) {
+    return Mono.defer(
+        () -> {
+          Timer.Sample sample = Timer.start();
+          return source.doFinally(signal -> sample.stop(timer));
+        });
   }
 }
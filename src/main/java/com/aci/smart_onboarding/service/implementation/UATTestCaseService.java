@@ -1,15 +1,20 @@
 package com.aci.smart_onboarding.service.implementation;
 
+import com.aci.smart_onboarding.config.VectorStorageProperties;
 import com.aci.smart_onboarding.constants.BrdConstants;
 import com.aci.smart_onboarding.dto.UATTestCaseDTO;
 import com.aci.smart_onboarding.dto.UATTestCaseRequestResponseDTO;
 import com.aci.smart_onboarding.enums.PortalTypes;
 import com.aci.smart_onboarding.enums.TestStatus;
+import com.aci.smart_onboarding.enums.VectorSearchMode;
 import com.aci.smart_onboarding.exception.NotFoundException;
 import com.aci.smart_onboarding.mapper.DtoModelMapper;
+import com.aci.smart_onboarding.model.EmbeddingVector;
 import com.aci.smart_onboarding.model.UATTestCase;
 import com.aci.smart_onboarding.repository.UATTestCaseRepository;
 import com.aci.smart_onboarding.service.IUATTestCaseService;
+import com.aci.smart_onboarding.service.implementation.LocalVectorIndex.IndexedCollection;
+import com.aci.smart_onboarding.util.VectorCodec;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,28 +38,61 @@ public class UATTestCaseService implements IUATTestCaseService {
   private final DtoModelMapper mapper;
   private final AIService aiService;
   private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final LocalVectorIndex localVectorIndex;
+  private final VectorStorageProperties vectorStorageProperties;
 
   private static final String VECTOR_INDEX = "uat_test_case_vector_index";
   private static final String VECTOR_PATH = "vectors";
   private static final int DEFAULT_NUM_CANDIDATES = 150;
+  private static final int EMBEDDING_CONCURRENCY = 4;
 
   @Override
   public Mono<UATTestCaseRequestResponseDTO> createTestCase(
       UATTestCaseRequestResponseDTO requestDTO) {
     UATTestCase testCase = mapper.mapToUATTestCase(requestDTO);
-    String contextForEmbedding =
-        String.format("%s %s", testCase.getScenario(), testCase.getPosition());
 
     return aiService
-        .getEmbeddings(contextForEmbedding)
+        .getEmbeddings(embeddingContext(testCase))
         .flatMap(
             vectors -> {
-              testCase.setVectors(vectors);
+              testCase.setVectors(EmbeddingVector.of(vectors));
               return repository.save(testCase);
             })
         .map(mapper::mapToUATTestCaseRequestResponseDTO);
   }
 
+  @Override
+  public Flux<UATTestCaseRequestResponseDTO> createTestCases(
+      List<UATTestCaseRequestResponseDTO> requestDTOs) {
+    if (requestDTOs == null || requestDTOs.isEmpty()) {
+      return Flux.empty();
+    }
+    List<UATTestCase> testCases = requestDTOs.stream().map(mapper::mapToUATTestCase).toList();
+
+    return Flux.fromIterable(testCases)
+        .map(UATTestCaseService::embeddingContext)
+        .distinct()
+        .flatMap(
+            context ->
+                aiService
+                    .getEmbeddings(context)
+                    .map(vectors -> Map.entry(context, EmbeddingVector.of(vectors))),
+            EMBEDDING_CONCURRENCY)
+        .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+        .flatMapMany(
+            vectorsByContext -> {
+              for (UATTestCase testCase : testCases) {
+                testCase.setVectors(vectorsByContext.get(embeddingContext(testCase)));
+              }
+              return reactiveMongoTemplate.insertAll(testCases);
+            })
+        .map(mapper::mapToUATTestCaseRequestResponseDTO);
+  }
+
+  private static String embeddingContext(UATTestCase testCase) {
+    return String.format("%s %s", testCase.getScenario(), testCase.getPosition());
+  }
+
   @Override
   public Mono<UATTestCaseDTO> updateTestCase(String id, UATTestCaseDTO testCaseDTO) {
     return repository
@@ -66,6 +104,8 @@ public class UATTestCaseService implements IUATTestCaseService {
             existing -> {
               UATTestCase updated = mapper.mapToUATTestCase(testCaseDTO);
               updated.setId(id);
+              // Embeddings are not part of the DTO, so keep the stored one
+              updated.setVectors(existing.getVectors());
               return repository.save(updated);
             })
         .map(mapper::mapToUATTestCaseDTO);
@@ -119,10 +159,35 @@ public class UATTestCaseService implements IUATTestCaseService {
   @Override
   public Flux<UATTestCaseDTO> performVectorSearch(
       List<Double> vector, int limit, PortalTypes uatType) {
+    return performVectorSearch(
+        vector, limit, uatType, localVectorIndex.defaultMode(IndexedCollection.UAT_TEST_CASES));
+  }
+
+  @Override
+  public Flux<UATTestCaseDTO> performVectorSearch(
+      List<Double> vector, int limit, PortalTypes uatType, VectorSearchMode mode) {
+    return localVectorIndex
+        .search(
+            IndexedCollection.UAT_TEST_CASES,
+            mode,
+            vector,
+            limit,
+            uatType.toString(),
+            UATTestCase.class,
+            UATTestCase::getId,
+            () -> atlasVectorSearch(vector, limit, uatType))
+        .map(mapper::mapToUATTestCaseDTO);
+  }
+
+  private Flux<UATTestCase> atlasVectorSearch(
+      List<Double> vector, int limit, PortalTypes uatType) {
     Map<String, Object> vectorSearchQuery = new HashMap<>();
     vectorSearchQuery.put("index", VECTOR_INDEX);
     vectorSearchQuery.put("path", VECTOR_PATH);
-    vectorSearchQuery.put("queryVector", vector);
+    vectorSearchQuery.put(
+        "queryVector",
+        VectorCodec.queryVector(
+            vector, vectorStorageProperties.getFormat(), vectorStorageProperties.getInt8Scale()));
     vectorSearchQuery.put("numCandidates", DEFAULT_NUM_CANDIDATES);
     vectorSearchQuery.put("limit", limit);
     vectorSearchQuery.put("similarity", "euclidean");
@@ -134,13 +199,15 @@ public class UATTestCaseService implements IUATTestCaseService {
     Document vectorSearchStage = new Document("$vectorSearch", new Document(vectorSearchQuery));
     AggregationOperation aggregationOperation = context -> vectorSearchStage;
 
+    // Callers only need the matched test cases, not their embeddings
     TypedAggregation<UATTestCase> aggregation =
-        Aggregation.newAggregation(UATTestCase.class, aggregationOperation)
+        Aggregation.newAggregation(
+                UATTestCase.class,
+                aggregationOperation,
+                Aggregation.project().andExclude(VECTOR_PATH))
             .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
 
-    return reactiveMongoTemplate
-        .aggregate(aggregation, UATTestCase.class, UATTestCase.class)
-        .map(mapper::mapToUATTestCaseDTO);
+    return reactiveMongoTemplate.aggregate(aggregation, UATTestCase.class, UATTestCase.class);
   }
 
   /**
@@ -26,8 +26,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -39,7 +41,6 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
-import reactor.util.function.Tuple2;
 
 @Service
 @RequiredArgsConstructor
@@ -52,6 +53,7 @@ public class UserService implements IUserService {
   private final BAAssignmentRepository baAssignmentRepository;
   private final IEmailService emailService;
   private final IAuditLogService auditLogService;
+  private final BrdReassignmentWriter brdReassignmentWriter;
 
   private static final String EMAIL_NOT_FOUND = "User not found with email: ";
   private static final String PM_ROLE = SecurityConstants.PM_ROLE;
@@ -191,7 +193,7 @@ public class UserService implements IUserService {
               log.info("User created successfully, scheduling welcome emails to: {}", userEmail);
 
               // Send both emails asynchronously without blocking the response
-              sendWelcomeEmailsAsync(userEmail, userName, defaultPassword);
+              sendWelcomeEmailsAsync(userResponse.getId(), userEmail, userName, defaultPassword);
 
               return responseEntity;
             })
@@ -199,11 +201,12 @@ public class UserService implements IUserService {
   }
 
   /** Sends welcome emails asynchronously in the background */
-  private void sendWelcomeEmailsAsync(String userEmail, String userName, String defaultPassword) {
+  private void sendWelcomeEmailsAsync(
+      String userId, String userEmail, String userName, String defaultPassword) {
     // Send both emails asynchronously in parallel using reactive non-blocking approach
     Mono.when(
             emailService
-                .sendUserWelcomeEmailWithResetLink(userEmail, userName)
+                .sendUserWelcomeEmailWithResetLink(userEmail, userName, userId)
                 .doOnSuccess(
                     v ->
                         log.info(
@@ -214,7 +217,7 @@ public class UserService implements IUserService {
                             "Failed to send welcome email to {}: {}", userEmail, e.getMessage()))
                 .onErrorResume(e -> Mono.empty()),
             emailService
-                .sendUserCredentialsEmail(userEmail, defaultPassword)
+                .sendUserCredentialsEmail(userEmail, defaultPassword, userId)
                 .doOnSuccess(v -> log.info("Credentials email sent successfully to: {}", userEmail))
                 .doOnError(
                     e ->
@@ -263,42 +266,122 @@ public class UserService implements IUserService {
       List<PMReassignmentRequest> requests, String modifiedBy, String userRole) {
     log.info("Processing batch PM reassignment for {} BRDs by user: {}", requests.size(), modifiedBy);
 
-    return Flux.fromIterable(requests)
-        .concatMap(request -> processSingleReassignment(request, modifiedBy, userRole))
-        .collectList()
+    List<String> pmEmails =
+        requests.stream()
+            .map(request -> normalizeEmail(request.getNewPmUsername()))
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+    List<String> brdIds =
+        requests.stream().map(PMReassignmentRequest::getBrdId).distinct().toList();
+
+    return Mono.zip(
+            brdReassignmentWriter.findUsers(pmEmails),
+            brdReassignmentWriter.findAssignees(BRD.class, BrdConstants.CREATOR, brdIds))
+        .flatMap(
+            found ->
+                applyReassignments(requests, found.getT1(), found.getT2(), modifiedBy, userRole))
+        .onErrorResume(
+            e ->
+                Mono.just(
+                    requests.stream().map(request -> handleReassignmentError(e, request)).toList()))
         .map(this::buildBatchResponse);
   }
 
-  private Mono<PMReassignmentResponse> processSingleReassignment(
-      PMReassignmentRequest request, String modifiedBy, String userRole) {
-    return findUserAndBRD(request.getNewPmUsername(), request.getBrdId())
-        .flatMap(tuple -> validateAndProcessReassignment(tuple.getT1(), tuple.getT2(), request, modifiedBy, userRole))
-        .onErrorResume(e -> handleReassignmentError(e, request));
-  }
+  /** A validated reassignment that changes the creator of its BRD */
+  private record PlannedReassignment(
+      int index, String brdId, String oldPmUsername, String newPmUsername) {}
 
-  private Mono<Tuple2<User, BRD>> findUserAndBRD(String pmUsername, String brdId) {
-    return Mono.zip(
-        userRepository.findByEmail(normalizeEmail(pmUsername)).defaultIfEmpty(User.builder().build()),
-        brdRepository.findByBrdId(brdId).defaultIfEmpty(BRD.builder().build()));
+  /**
+   * Validates every request against the loaded PMs and creators, writes all changes in one bulk
+   * write and audits them together. Requests are applied in order, so a later request for the
+   * same BRD wins; a request that leaves the creator as it is succeeds without a write.
+   */
+  private Mono<List<PMReassignmentResponse>> applyReassignments(
+      List<PMReassignmentRequest> requests,
+      Map<String, User> pmUsers,
+      Map<String, String> creators,
+      String modifiedBy,
+      String userRole) {
+
+    PMReassignmentResponse[] results = new PMReassignmentResponse[requests.size()];
+    List<PlannedReassignment> planned = new ArrayList<>();
+    Map<String, String> currentCreators = new HashMap<>(creators);
+    Map<String, String> newCreators = new LinkedHashMap<>();
+
+    for (int i = 0; i < requests.size(); i++) {
+      PMReassignmentRequest request = requests.get(i);
+      User user = pmUsers.get(normalizeEmail(request.getNewPmUsername()));
+      PMReassignmentResponse validationError =
+          validateReassignmentRequest(user, creators.containsKey(request.getBrdId()), request);
+      if (validationError != null) {
+        results[i] = validationError;
+        continue;
+      }
+
+      String oldPmUsername = currentCreators.get(request.getBrdId());
+      if (Objects.equals(oldPmUsername, request.getNewPmUsername())) {
+        results[i] =
+            createSuccessResponse(request.getBrdId(), oldPmUsername, request.getNewPmUsername());
+        continue;
+      }
+      currentCreators.put(request.getBrdId(), request.getNewPmUsername());
+      newCreators.put(request.getBrdId(), request.getNewPmUsername());
+      planned.add(
+          new PlannedReassignment(
+              i, request.getBrdId(), oldPmUsername, request.getNewPmUsername()));
+    }
+
+    return brdReassignmentWriter
+        .reassign(BRD.class, BrdConstants.CREATOR, newCreators)
+        .flatMap(
+            writeErrors -> {
+              List<AuditLogRequest> auditRequests = new ArrayList<>();
+              for (PlannedReassignment change : planned) {
+                String writeError = writeErrors.get(change.brdId());
+                if (writeError != null) {
+                  log.error("Error saving BRD {}: {}", change.brdId(), writeError);
+                  results[change.index()] =
+                      createFailureResponse(
+                          change.brdId(), change.newPmUsername(), "Database error: " + writeError);
+                } else {
+                  results[change.index()] =
+                      createSuccessResponse(
+                          change.brdId(), change.oldPmUsername(), change.newPmUsername());
+                  auditRequests.add(
+                      buildAuditLogRequest(
+                          change.brdId(),
+                          change.oldPmUsername(),
+                          change.newPmUsername(),
+                          modifiedBy,
+                          userRole));
+                }
+              }
+              return logReassignments(auditRequests).thenReturn(Arrays.asList(results));
+            });
   }
 
-  private Mono<PMReassignmentResponse> validateAndProcessReassignment(
-      User user, BRD brd, PMReassignmentRequest request, String modifiedBy, String userRole) {
-    
-    PMReassignmentResponse validationError = validateReassignmentRequest(user, brd, request);
-    if (validationError != null) {
-      return Mono.just(validationError);
+  private Mono<Void> logReassignments(List<AuditLogRequest> auditRequests) {
+    if (auditRequests.isEmpty()) {
+      return Mono.empty();
     }
-
-    return performReassignment(brd, request, modifiedBy, userRole);
+    return auditLogService
+        .logCreations(auditRequests)
+        .onErrorResume(
+            e -> {
+              log.error(
+                  "Failed to audit {} PM reassignments: {}", auditRequests.size(), e.getMessage());
+              return Mono.empty();
+            });
   }
 
-  private PMReassignmentResponse validateReassignmentRequest(User user, BRD brd, PMReassignmentRequest request) {
-    if (user.getEmail() == null) {
+  private PMReassignmentResponse validateReassignmentRequest(
+      User user, boolean brdExists, PMReassignmentRequest request) {
+    if (user == null) {
       return createFailureResponse(request.getBrdId(), request.getNewPmUsername(), "PM not found");
     }
     
-    if (brd.getBrdId() == null) {
+    if (!brdExists) {
       return createFailureResponse(request.getBrdId(), request.getNewPmUsername(), "BRD not found");
     }
     
@@ -320,28 +403,12 @@ public class UserService implements IUserService {
         .build();
   }
 
-  private Mono<PMReassignmentResponse> performReassignment(
-      BRD brd, PMReassignmentRequest request, String modifiedBy, String userRole) {
-    
-    String oldPmUsername = brd.getCreator();
-    brd.setCreator(request.getNewPmUsername());
-    
-    return brdRepository.save(brd)
-        .flatMap(savedBrd -> createAuditLogAndResponse(savedBrd, oldPmUsername, request.getNewPmUsername(), modifiedBy, userRole))
-        .onErrorResume(e -> handleSaveError(e, request));
-  }
-
-  private Mono<PMReassignmentResponse> createAuditLogAndResponse(
-      BRD savedBrd, String oldPmUsername, String newPmUsername, String modifiedBy, String userRole) {
-    
-    AuditLogRequest auditRequest = buildAuditLogRequest(savedBrd, oldPmUsername, newPmUsername, modifiedBy, userRole);
-    
-    return auditLogService.logCreation(auditRequest)
-        .then(Mono.just(createSuccessResponse(savedBrd.getBrdId(), oldPmUsername, newPmUsername)));
-  }
-
   private AuditLogRequest buildAuditLogRequest(
-      BRD brd, String oldPmUsername, String newPmUsername, String modifiedBy, String userRole) {
+      String brdId,
+      String oldPmUsername,
+      String newPmUsername,
+      String modifiedBy,
+      String userRole) {
     
     Map<String, Object> oldValues = new HashMap<>();
     oldValues.put(BrdConstants.CREATOR, oldPmUsername);
@@ -351,7 +418,7 @@ public class UserService implements IUserService {
     
     return AuditLogRequest.builder()
         .entityType("BRD")
-        .entityId(brd.getBrdId())
+        .entityId(brdId)
         .action(UserConstants.ACTION_PM_REASSIGNMENT)
         .userId(modifiedBy)
         .userName(modifiedBy)
@@ -372,16 +439,12 @@ public class UserService implements IUserService {
         .build();
   }
 
-  private Mono<PMReassignmentResponse> handleSaveError(Throwable e, PMReassignmentRequest request) {
-    String errorMessage = e.getMessage();
-    log.error("Error saving BRD {}: {}", request.getBrdId(), errorMessage);
-    return Mono.just(createFailureResponse(request.getBrdId(), request.getNewPmUsername(), "Database error: " + errorMessage));
-  }
-
-  private Mono<PMReassignmentResponse> handleReassignmentError(Throwable e, PMReassignmentRequest request) {
+  private PMReassignmentResponse handleReassignmentError(
+      Throwable e, PMReassignmentRequest request) {
     String errorMessage = e.getMessage();
     log.error("Error processing reassignment for BRD {}: {}", request.getBrdId(), errorMessage);
-    return Mono.just(createFailureResponse(request.getBrdId(), request.getNewPmUsername(), "Processing error: " + errorMessage));
+    return createFailureResponse(
+        request.getBrdId(), request.getNewPmUsername(), "Processing error: " + errorMessage);
   }
 
   private Api<List<PMReassignmentResponse>> buildBatchResponse(List<PMReassignmentResponse> results) {
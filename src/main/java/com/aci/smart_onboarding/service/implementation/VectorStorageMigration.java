@@ -0,0 +1,136 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.config.VectorStorageProperties;
+import com.aci.smart_onboarding.util.VectorCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Rewrites embeddings stored as arrays of doubles as BSON binary vectors in the configured format.
+ * Documents are walked in {@code _id} order in batches, so documents that cannot be converted are
+ * skipped instead of being read again, and a restarted migration only sees what is left.
+ */
+@Slf4j
+@Component
+public class VectorStorageMigration {
+
+  static final String METRIC_NAME = "vector.storage.migrated";
+
+  private static final String ID = "_id";
+
+  private static final List<VectorField> VECTOR_FIELDS =
+      List.of(new VectorField("vectors", "vector"), new VectorField("uat_test_cases", "vectors"));
+
+  /** Collection holding embeddings and the field it stores them in */
+  private record VectorField(String collectionName, String field) {}
+
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final VectorStorageProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  public VectorStorageMigration(
+      ReactiveMongoTemplate mongoTemplate,
+      VectorStorageProperties properties,
+      MeterRegistry meterRegistry) {
+    this.mongoTemplate = mongoTemplate;
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!properties.isMigrationEnabled()) {
+      return;
+    }
+    Flux.fromIterable(VECTOR_FIELDS)
+        .concatMap(
+            vectorField ->
+                migrate(vectorField.collectionName(), vectorField.field())
+                    .doOnNext(
+                        count ->
+                            log.info(
+                                "Converted {} vectors in {} to {}",
+                                count,
+                                vectorField.collectionName(),
+                                properties.getFormat()))
+                    .onErrorResume(
+                        error -> {
+                          log.error(
+                              "Error converting vectors in {}: {}",
+                              vectorField.collectionName(),
+                              error.getMessage());
+                          return Mono.empty();
+                        }))
+        .subscribe();
+  }
+
+  /** Converts every array vector in the collection; emits the number of documents rewritten */
+  Mono<Long> migrate(String collectionName, String field) {
+    Counter migrated =
+        Counter.builder(METRIC_NAME)
+            .description("Embeddings rewritten from arrays to binary vectors")
+            .tag("collection", collectionName)
+            .register(meterRegistry);
+    int batchSize = properties.getMigrationBatchSize();
+
+    return nextBatch(collectionName, field, null, batchSize)
+        .expand(
+            batch ->
+                batch.size() < batchSize
+                    ? Mono.empty()
+                    : nextBatch(
+                        collectionName, field, batch.get(batch.size() - 1).get(ID), batchSize))
+        .concatMap(batch -> convert(collectionName, field, batch))
+        .doOnNext(count -> migrated.increment(count))
+        .reduce(0L, Long::sum);
+  }
+
+  private Mono<List<Document>> nextBatch(
+      String collectionName, String field, Object afterId, int batchSize) {
+    Criteria criteria = Criteria.where(field).type(4); // BSON array
+    if (afterId != null) {
+      criteria = criteria.and(ID).gt(afterId);
+    }
+    Query query = Query.query(criteria).with(Sort.by(Sort.Direction.ASC, ID)).limit(batchSize);
+    query.fields().include(field);
+    return mongoTemplate.find(query, Document.class, collectionName).collectList();
+  }
+
+  private Mono<Long> convert(String collectionName, String field, List<Document> batch) {
+    ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, collectionName);
+    long converted = 0;
+    for (Document document : batch) {
+      float[] vector = VectorCodec.toFloatArray(document.get(field), properties.getInt8Scale());
+      if (vector == null) {
+        log.warn(
+            "Skipping {} {}: {} is not a numeric vector", collectionName, document.get(ID), field);
+        continue;
+      }
+      bulk.updateOne(
+          Query.query(Criteria.where(ID).is(document.get(ID))),
+          Update.update(
+              field,
+              VectorCodec.encode(vector, properties.getFormat(), properties.getInt8Scale())));
+      converted++;
+    }
+    if (converted == 0) {
+      return Mono.just(0L);
+    }
+    return bulk.execute().thenReturn(converted);
+  }
+}
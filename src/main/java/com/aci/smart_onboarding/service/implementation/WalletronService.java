@@ -19,7 +19,6 @@ import com.aci.smart_onboarding.security.service.BRDSecurityService;
 import com.aci.smart_onboarding.service.IFileService;
 import com.aci.smart_onboarding.service.IWalletronService;
 import com.aci.smart_onboarding.util.FileProcessorUtil;
-import com.aci.smart_onboarding.util.walletron.ACIWalletronAgentPortal;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -61,6 +60,12 @@ public class WalletronService implements IWalletronService {
 
   private static final String AGENT_PORTAL_FIELD = "aciWalletronAgentPortal";
 
+  // Chunks of an upload written at once; each is a single bulk write
+  private static final int FILE_IMPORT_CONCURRENCY = 4;
+
+  // Users listed in the response to an upload, per kind; its totals count them all
+  private static final int FILE_RESPONSE_SAMPLE_SIZE = 100;
+
   private final WalletronRepository walletronRepository;
   private final WalletronUsersRepository walletronUsersRepository;
   private final FileProcessorUtil fileProcessorUtil;
@@ -68,6 +73,7 @@ public class WalletronService implements IWalletronService {
   private final ObjectMapper objectMapper;
   private final BRDRepository brdRepository;
   private final IFileService fileService;
+  private final WalletronUserImporter walletronUserImporter;
 
   @Autowired
   public WalletronService(
@@ -78,7 +84,8 @@ public class WalletronService implements IWalletronService {
       DtoModelMapper dtoModelMapper,
       ObjectMapper objectMapper,
       BRDRepository brdRepository,
-      IFileService fileService) {
+      IFileService fileService,
+      WalletronUserImporter walletronUserImporter) {
     this.walletronRepository = walletronRepository;
     this.walletronUsersRepository = walletronUsersRepository;
     this.fileProcessorUtil = fileProcessorUtil;
@@ -86,6 +93,7 @@ public class WalletronService implements IWalletronService {
     this.objectMapper = objectMapper;
     this.brdRepository = brdRepository;
     this.fileService = fileService;
+    this.walletronUserImporter = walletronUserImporter;
   }
 
   @Override
@@ -533,53 +541,83 @@ public class WalletronService implements IWalletronService {
   @Override
   public Mono<ResponseEntity<Api<WalletronUsersResponse>>> createWalletronUsersFromFile(
       FilePart filePart, String walletronId, String brdId) {
-    return readFileContent(filePart)
+    // Unsupported files are rejected before the walletron's users are looked up
+    return Mono.fromSupplier(() -> readFileUsers(filePart))
         .flatMap(
-            fileContent ->
-                processFileAndCreateUsers(filePart.filename(), fileContent, walletronId, brdId))
+            fileUsers ->
+                existingUserKeys(walletronId)
+                    .flatMap(
+                        existingUserKeys ->
+                            importFileUsers(fileUsers, existingUserKeys, walletronId, brdId)))
         .onErrorMap(this::handleError);
   }
 
-  private Mono<byte[]> readFileContent(FilePart filePart) {
-    return filePart
-        .content()
-        .map(
-            dataBuffer -> {
-              byte[] bytes = new byte[dataBuffer.readableByteCount()];
-              dataBuffer.read(bytes);
-              return bytes;
-            })
-        .reduce(this::combineByteArrays)
-        .switchIfEmpty(Mono.error(new BadRequestException("File content is empty")));
-  }
-
-  private byte[] combineByteArrays(byte[] array1, byte[] array2) {
-    byte[] combined = new byte[array1.length + array2.length];
-    System.arraycopy(array1, 0, combined, 0, array1.length);
-    System.arraycopy(array2, 0, combined, array1.length, array2.length);
-    return combined;
-  }
-
-  private Mono<ResponseEntity<Api<WalletronUsersResponse>>> processFileAndCreateUsers(
-      String filename, byte[] fileContent, String walletronId, String brdId) {
+  /** The name, email and role keys of the users the walletron already has */
+  private Mono<Set<String>> existingUserKeys(String walletronId) {
+    return walletronUsersRepository
+        .findByWalletronId(walletronId)
+        .map(user -> createUserKey(user.getName(), user.getEmail(), user.getRole()))
+        .collect(Collectors.toSet())
+        .doOnNext(
+            keys ->
+                log.info("Found {} existing users for walletronId: {}", keys.size(), walletronId));
+  }
+
+  /**
+   * Imports the users of an upload while it is read, one bulk write per chunk. Besides the chunks
+   * in flight, only the emails seen so far and the counts and samples of the response are held.
+   */
+  private Mono<ResponseEntity<Api<WalletronUsersResponse>>> importFileUsers(
+      Flux<FileProcessorUtil.FileUserData> fileUsers,
+      Set<String> existingUserKeys,
+      String walletronId,
+      String brdId) {
+    FileImport fileImport = new FileImport(existingUserKeys);
+    String cleanWalletronId = walletronId.replaceAll(QUOTES_REGEX, "");
+    LocalDateTime now = LocalDateTime.now();
 
-    String fileExtension = getFileExtension(filename);
+    return fileUsers
+        .map(
+            fileUserData ->
+                new WalletronUsersRequest.UserData(
+                    fileUserData.getName(), fileUserData.getEmail(), fileUserData.getRole()))
+        .filter(fileImport::isNew)
+        .map(userData -> createWalletronUser(userData, walletronId, brdId, now))
+        .buffer(WalletronUserImporter.BATCH_SIZE)
+        .flatMapSequential(walletronUserImporter::importUsers, FILE_IMPORT_CONCURRENCY)
+        // Appended one chunk at a time, so the agent portal lists users in upload order
+        .concatMap(
+            result ->
+                walletronUserImporter
+                    .addToAgentPortal(cleanWalletronId, result.insertedUsers())
+                    .thenReturn(result))
+        .doOnNext(fileImport::add)
+        .then(
+            Mono.defer(
+                () -> {
+                  log.info(
+                      "Read {} valid users from the uploaded file, {} of them new",
+                      fileImport.totalProcessed,
+                      fileImport.newUsers);
+                  if (fileImport.newUsers == 0 && !existingUserKeys.isEmpty()) {
+                    return Mono.error(
+                        new IllegalStateException(
+                            "All user details already exist in the system for this walletronId"));
+                  }
+                  return Mono.just(usersProcessed(fileImport.response()));
+                }));
+  }
+
+  /** Parses the upload while it arrives, without collecting its bytes first */
+  private Flux<FileProcessorUtil.FileUserData> readFileUsers(FilePart filePart) {
+    String fileExtension = getFileExtension(filePart.filename());
 
     return switch (fileExtension.toLowerCase()) {
-      case "csv" ->
-          fileProcessorUtil
-              .processCsvFile(fileContent)
-              .flatMap(
-                  users -> createUsersFromFileDataWithDuplicateCheck(users, walletronId, brdId));
-      case "xlsx" ->
-          fileProcessorUtil
-              .processExcelFile(fileContent)
-              .flatMap(
-                  users -> createUsersFromFileDataWithDuplicateCheck(users, walletronId, brdId));
+      case "csv" -> fileProcessorUtil.streamCsvFile(filePart.content());
+      case "xlsx" -> fileProcessorUtil.streamExcelFile(filePart.content());
       default ->
-          Mono.error(
-              new BadRequestException(
-                  "Unsupported file format. Only CSV and XLSX files are supported."));
+          throw new BadRequestException(
+              "Unsupported file format. Only CSV and XLSX files are supported.");
     };
   }
 
@@ -590,190 +628,75 @@ public class WalletronService implements IWalletronService {
     return filename.substring(filename.lastIndexOf('.') + 1);
   }
 
-  private Mono<ResponseEntity<Api<WalletronUsersResponse>>>
-      createUsersFromFileDataWithDuplicateCheck(
-          List<FileProcessorUtil.FileUserData> fileUserDataList, String walletronId, String brdId) {
-
-    return Flux.fromIterable(fileUserDataList)
-        .map(
-            fileUserData ->
-                new WalletronUsersRequest.UserData(
-                    fileUserData.getName(), fileUserData.getEmail(), fileUserData.getRole()))
-        .collectList()
-        .flatMap(
-            userDataList -> processFileUsersWithDuplicateCheck(userDataList, walletronId, brdId));
-  }
-
-  private Mono<ResponseEntity<Api<WalletronUsersResponse>>> processFileUsersWithDuplicateCheck(
-      List<WalletronUsersRequest.UserData> userDataList, String walletronId, String brdId) {
-
-    return Flux.fromIterable(userDataList)
-        .index()
-        .collectList()
-        .flatMap(
-            indexedUsers -> {
-              // Process duplicates in request based on email only
-              Map<String, Long> emailToFirstIndex = new LinkedHashMap<>();
-              List<WalletronUsersRequest.UserData> uniqueUsers = new ArrayList<>();
-              List<String> requestDuplicateEmails = new ArrayList<>();
-
-              for (var indexedUser : indexedUsers) {
-                String email = indexedUser.getT2().getEmail().toLowerCase();
-                Long currentIndex = indexedUser.getT1();
-
-                Long firstIndex = emailToFirstIndex.get(email);
-                if (firstIndex == null) {
-                  // First occurrence in request
-                  emailToFirstIndex.put(email, currentIndex);
-                  uniqueUsers.add(indexedUser.getT2());
-                } else {
-                  // Duplicate occurrence in request
-                  requestDuplicateEmails.add(indexedUser.getT2().getEmail());
-                }
-              }
-
-              // Check if walletronId exists in walletron_users collection
-              return walletronUsersRepository
-                  .findByWalletronId(walletronId)
-                  .collectList()
-                  .flatMap(
-                      existingUsers -> {
-                        if (existingUsers.isEmpty()) {
-                          // No existing users for this walletronId, create all users directly
-                          log.info(
-                              "No existing users found for walletronId: {}. Creating all {} users.",
-                              walletronId,
-                              uniqueUsers.size());
-                          return createAllUsers(
-                              uniqueUsers,
-                              walletronId,
-                              brdId,
-                              requestDuplicateEmails,
-                              userDataList.size());
-                        } else {
-                          // Existing users found, check line by line
-                          log.info(
-                              "Found {} existing users for walletronId: {}. Checking line by line.",
-                              existingUsers.size(),
-                              walletronId);
-                          return processUsersLineByLine(
-                              uniqueUsers,
-                              existingUsers,
-                              walletronId,
-                              brdId,
-                              requestDuplicateEmails,
-                              userDataList.size());
-                        }
-                      });
-            });
-  }
-
-  private Mono<ResponseEntity<Api<WalletronUsersResponse>>> createAllUsers(
-      List<WalletronUsersRequest.UserData> uniqueUsers,
-      String walletronId,
-      String brdId,
-      List<String> requestDuplicateEmails,
-      int totalProcessed) {
-
-    LocalDateTime now = LocalDateTime.now();
-
-    return Flux.fromIterable(uniqueUsers)
-        .map(userData -> createWalletronUser(userData, walletronId, brdId, now))
-        .flatMap(this::saveUser, 10)
-        .collectList()
-        .flatMap(
-            savedUsers ->
-                // Update walletron collection's aciWalletronAgentPortal
-                updateWalletronAgentPortal(savedUsers, walletronId)
-                    .thenReturn(
-                        buildWalletronUsersResponse(
-                            savedUsers,
-                            requestDuplicateEmails,
-                            new ArrayList<>(),
-                            totalProcessed)));
-  }
-
-  private Mono<ResponseEntity<Api<WalletronUsersResponse>>> processUsersLineByLine(
-      List<WalletronUsersRequest.UserData> uniqueUsers,
-      List<WalletronUsers> existingUsers,
+  /** Bulk upserts the users, then adds the ones inserted to the walletron's agent portal */
+  private Mono<ResponseEntity<Api<WalletronUsersResponse>>> importUsers(
+      List<WalletronUsersRequest.UserData> users,
       String walletronId,
       String brdId,
       List<String> requestDuplicateEmails,
+      List<String> databaseDuplicateEmails,
       int totalProcessed) {
 
-    // Create a set of existing users for quick lookup (name, email, role combination)
-    Set<String> existingUserKeys =
-        existingUsers.stream()
-            .map(user -> createUserKey(user.getName(), user.getEmail(), user.getRole()))
-            .collect(Collectors.toSet());
-
-    List<WalletronUsersRequest.UserData> newUsers = new ArrayList<>();
-    List<String> databaseDuplicateEmails = new ArrayList<>();
-
-    // Check each user from the file line by line
-    for (WalletronUsersRequest.UserData userData : uniqueUsers) {
-      String userKey = createUserKey(userData.getName(), userData.getEmail(), userData.getRole());
-
-      if (existingUserKeys.contains(userKey)) {
-        // User already exists (same name, email, role), skip to next line
-        databaseDuplicateEmails.add(userData.getEmail());
-        log.debug("Skipping duplicate user: {}", userKey);
-      } else {
-        // New user, add to list
-        newUsers.add(userData);
-        log.debug("Adding new user: {}", userKey);
-      }
-    }
-
-    if (newUsers.isEmpty()) {
-      // All users already exist
-      return Mono.error(
-          new IllegalStateException(
-              "All user details already exist in the system for this walletronId"));
-    }
-
     LocalDateTime now = LocalDateTime.now();
-
-    return Flux.fromIterable(newUsers)
-        .map(userData -> createWalletronUser(userData, walletronId, brdId, now))
-        .flatMap(this::saveUser, 10)
-        .collectList()
-        .flatMap(
-            savedUsers ->
-                // Update walletron collection's aciWalletronAgentPortal
-                updateWalletronAgentPortal(savedUsers, walletronId)
-                    .thenReturn(
-                        buildWalletronUsersResponse(
-                            savedUsers,
-                            requestDuplicateEmails,
-                            databaseDuplicateEmails,
-                            totalProcessed)));
-  }
-
-  private String createUserKey(String name, String email, String role) {
+    List<WalletronUsers> walletronUsers =
+        users.stream()
+            .map(userData -> createWalletronUser(userData, walletronId, brdId, now))
+            .toList();
+    Mono<WalletronUserImporter.ImportResult> imported =
+        walletronUsers.isEmpty()
+            ? Mono.just(WalletronUserImporter.ImportResult.empty())
+            : walletronUserImporter.importUsers(walletronUsers);
+
+    return imported.flatMap(
+        result ->
+            // Update walletron collection's aciWalletronAgentPortal
+            walletronUserImporter
+                .addToAgentPortal(
+                    walletronId.replaceAll(QUOTES_REGEX, ""), result.insertedUsers())
+                .thenReturn(
+                    buildWalletronUsersResponse(
+                        result, requestDuplicateEmails, databaseDuplicateEmails, totalProcessed)));
+  }
+
+  private static String createUserKey(String name, String email, String role) {
     return name.toLowerCase() + "|" + email.toLowerCase() + "|" + role.toLowerCase();
   }
 
   private ResponseEntity<Api<WalletronUsersResponse>> buildWalletronUsersResponse(
-      List<WalletronUsers> savedUsers,
+      WalletronUserImporter.ImportResult importResult,
       List<String> requestDuplicateEmails,
       List<String> databaseDuplicateEmails,
       int totalProcessed) {
 
     List<WalletronUsersResponse.SavedUser> savedUserResponses =
-        savedUsers.stream().map(this::mapToSavedUserResponse).toList();
+        importResult.insertedUsers().stream()
+            .map(WalletronService::mapToSavedUserResponse)
+            .toList();
 
-    // Combine all duplicate emails
+    // Combine all duplicate emails, including emails registered before the import
     List<String> allDuplicateEmails = new ArrayList<>();
     allDuplicateEmails.addAll(requestDuplicateEmails);
     allDuplicateEmails.addAll(databaseDuplicateEmails);
+    allDuplicateEmails.addAll(importResult.existingEmails());
+
+    List<WalletronUsersResponse.FailedUser> failedUsers =
+        importResult.failedRows().stream()
+            .map(row -> new WalletronUsersResponse.FailedUser(row.email(), row.error()))
+            .toList();
 
     WalletronUsersResponse response = new WalletronUsersResponse();
     response.setSavedUsers(savedUserResponses);
     response.setDuplicateEmails(allDuplicateEmails);
+    response.setFailedUsers(failedUsers);
     response.setTotalProcessed(totalProcessed);
+    response.setTotalSaved(savedUserResponses.size());
     response.setTotalDuplicates(allDuplicateEmails.size());
+    response.setTotalFailed(failedUsers.size());
+    return usersProcessed(response);
+  }
 
+  private static ResponseEntity<Api<WalletronUsersResponse>> usersProcessed(
+      WalletronUsersResponse response) {
     return ResponseEntity.status(HttpStatus.CREATED)
         .body(
             new Api<>(
@@ -797,7 +720,8 @@ public class WalletronService implements IWalletronService {
     return new Exception("Something went wrong: " + ex.getMessage());
   }
 
-  private WalletronUsersResponse.SavedUser mapToSavedUserResponse(WalletronUsers walletronUser) {
+  private static WalletronUsersResponse.SavedUser mapToSavedUserResponse(
+      WalletronUsers walletronUser) {
     WalletronUsersResponse.SavedUser savedUser = new WalletronUsersResponse.SavedUser();
     savedUser.setId(walletronUser.getId());
     savedUser.setName(walletronUser.getName());
@@ -837,24 +761,13 @@ public class WalletronService implements IWalletronService {
                 }
               }
 
-              LocalDateTime now = LocalDateTime.now();
-
-              return Flux.fromIterable(uniqueUsers)
-                  .map(
-                      userData ->
-                          createWalletronUser(userData, req.getWalletronId(), req.getBrdId(), now))
-                  .flatMap(this::saveUser, 10) // Parallel processing with concurrency of 10
-                  .collectList()
-                  .flatMap(
-                      savedUsers ->
-                          // Update walletron collection's aciWalletronAgentPortal
-                          updateWalletronAgentPortal(savedUsers, req.getWalletronId())
-                              .thenReturn(
-                                  buildWalletronUsersResponse(
-                                      savedUsers,
-                                      requestDuplicateEmails,
-                                      new ArrayList<>(),
-                                      req.getUsers().size())));
+              return importUsers(
+                  uniqueUsers,
+                  req.getWalletronId(),
+                  req.getBrdId(),
+                  requestDuplicateEmails,
+                  List.of(),
+                  req.getUsers().size());
             });
   }
 
@@ -874,57 +787,6 @@ public class WalletronService implements IWalletronService {
     return walletronUser;
   }
 
-  private Mono<WalletronUsers> saveUser(WalletronUsers user) {
-    return walletronUsersRepository
-        .save(user)
-        .onErrorResume(DuplicateKeyException.class, ex -> Mono.empty());
-  }
-
-  private Mono<Void> updateWalletronAgentPortal(
-      List<WalletronUsers> savedUsers, String walletronId) {
-    String cleanWalletronId = walletronId.replaceAll(QUOTES_REGEX, "");
-
-    return walletronRepository
-        .findById(cleanWalletronId)
-        .flatMap(
-            walletron -> {
-              // Get existing agent portal or create new one
-              ACIWalletronAgentPortal agentPortal = walletron.getAciWalletronAgentPortal();
-              if (agentPortal == null) {
-                agentPortal = new ACIWalletronAgentPortal();
-                agentPortal.setWalletronAgentPortal(new ArrayList<>());
-              }
-
-              List<ACIWalletronAgentPortal.WalletronAgentPortal> existingUsers =
-                  agentPortal.getWalletronAgentPortal() != null
-                      ? agentPortal.getWalletronAgentPortal()
-                      : new ArrayList<>();
-
-              // Add new users to agent portal
-              for (WalletronUsers savedUser : savedUsers) {
-                ACIWalletronAgentPortal.WalletronAgentPortal agentUser =
-                    new ACIWalletronAgentPortal.WalletronAgentPortal();
-                agentUser.setName(savedUser.getName());
-                agentUser.setEmailAddress(savedUser.getEmail());
-                agentUser.setRole(savedUser.getRole());
-                existingUsers.add(agentUser);
-              }
-
-              agentPortal.setWalletronAgentPortal(existingUsers);
-              agentPortal.setSectionStatus("Completed");
-
-              walletron.setAciWalletronAgentPortal(agentPortal);
-              walletron.setUpdatedAt(LocalDateTime.now());
-
-              return walletronRepository.save(walletron).then();
-            })
-        .onErrorResume(
-            e -> {
-              log.error("Failed to update walletron agent portal: {}", e.getMessage());
-              return Mono.empty(); // Don't fail the entire operation if this fails
-            });
-  }
-
   public Mono<List<Map<String, Object>>> getAllWalletronDocumentsForDebug() {
     return walletronRepository
         .findAll()
@@ -940,4 +802,71 @@ public class WalletronService implements IWalletronService {
         .collectList()
         .doOnNext(docs -> log.info("Found {} walletron documents: {}", docs.size(), docs));
   }
+
+  /** The users of an upload checked so far, and the counts and samples of the response */
+  private static final class FileImport {
+
+    private final Set<String> existingUserKeys;
+    private final Set<String> seenEmails = new HashSet<>();
+    private final List<WalletronUsersResponse.SavedUser> savedUsers = new ArrayList<>();
+    private final List<String> duplicateEmails = new ArrayList<>();
+    private final List<WalletronUsersResponse.FailedUser> failedUsers = new ArrayList<>();
+    private int totalProcessed;
+    private int newUsers;
+    private int totalSaved;
+    private int totalDuplicates;
+    private int totalFailed;
+
+    private FileImport(Set<String> existingUserKeys) {
+      this.existingUserKeys = existingUserKeys;
+    }
+
+    /** Whether the user is new: first of its email in the file and not stored with its role */
+    private boolean isNew(WalletronUsersRequest.UserData userData) {
+      totalProcessed++;
+      if (!seenEmails.add(userData.getEmail().toLowerCase())
+          || existingUserKeys.contains(
+              createUserKey(userData.getName(), userData.getEmail(), userData.getRole()))) {
+        duplicate(userData.getEmail());
+        return false;
+      }
+      newUsers++;
+      return true;
+    }
+
+    private void add(WalletronUserImporter.ImportResult result) {
+      for (WalletronUsers user : result.insertedUsers()) {
+        totalSaved++;
+        sample(savedUsers, mapToSavedUserResponse(user));
+      }
+      result.existingEmails().forEach(this::duplicate);
+      for (WalletronUserImporter.FailedRow row : result.failedRows()) {
+        totalFailed++;
+        sample(failedUsers, new WalletronUsersResponse.FailedUser(row.email(), row.error()));
+      }
+    }
+
+    private void duplicate(String email) {
+      totalDuplicates++;
+      sample(duplicateEmails, email);
+    }
+
+    private static <T> void sample(List<T> sample, T entry) {
+      if (sample.size() < FILE_RESPONSE_SAMPLE_SIZE) {
+        sample.add(entry);
+      }
+    }
+
+    private WalletronUsersResponse response() {
+      WalletronUsersResponse response = new WalletronUsersResponse();
+      response.setSavedUsers(savedUsers);
+      response.setDuplicateEmails(duplicateEmails);
+      response.setFailedUsers(failedUsers);
+      response.setTotalProcessed(totalProcessed);
+      response.setTotalSaved(totalSaved);
+      response.setTotalDuplicates(totalDuplicates);
+      response.setTotalFailed(totalFailed);
+      return response;
+    }
+  }
 }
@@ -0,0 +1,230 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.aci.smart_onboarding.exception.NotFoundException;
+import com.aci.smart_onboarding.model.Walletron;
+import com.aci.smart_onboarding.model.WalletronUsers;
+import com.aci.smart_onboarding.util.walletron.ACIWalletronAgentPortal;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes imported Walletron users in unordered bulk upserts keyed on the unique email index.
+ *
+ * <p>Each batch is one round trip. A user is only inserted when no user with the same email exists;
+ * existing users are left untouched and reported, as saving them used to fail on the index. Rows a
+ * batch fails to write are reported with the server's error, the rest of the batch still applies.
+ * Inserted users are appended to the walletron's agent portal in place, without reading the
+ * walletron back.
+ */
+@Slf4j
+@Component
+public class WalletronUserImporter {
+
+  static final int BATCH_SIZE = 1000;
+
+  // Batches in flight at once; each is a single bulk write
+  private static final int BATCH_CONCURRENCY = 4;
+
+  private static final int DUPLICATE_KEY = 11000;
+  private static final String EMAIL = "email";
+  private static final String EMAIL_INDEX = "idx_walletron_users_email";
+  private static final String AGENT_PORTAL = "aciWalletronAgentPortal";
+
+  /** The outcome of an import, in the order of the imported users */
+  public record ImportResult(
+      List<WalletronUsers> insertedUsers, List<String> existingEmails, List<FailedRow> failedRows) {
+
+    static ImportResult empty() {
+      return new ImportResult(List.of(), List.of(), List.of());
+    }
+
+    private ImportResult merge(ImportResult other) {
+      return new ImportResult(
+          concat(insertedUsers, other.insertedUsers),
+          concat(existingEmails, other.existingEmails),
+          concat(failedRows, other.failedRows));
+    }
+
+    private static <T> List<T> concat(List<T> first, List<T> second) {
+      List<T> all = new ArrayList<>(first.size() + second.size());
+      all.addAll(first);
+      all.addAll(second);
+      return all;
+    }
+  }
+
+  /** A user that could not be written, and why */
+  public record FailedRow(String email, String error) {}
+
+  private final ReactiveMongoTemplate mongoTemplate;
+  private final Mono<Void> emailIndex;
+
+  public WalletronUserImporter(ReactiveMongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+    this.emailIndex = ensureEmailIndex().cache();
+  }
+
+  /** Inserts the users whose emails are not registered yet; emails must be normalized */
+  public Mono<ImportResult> importUsers(List<WalletronUsers> users) {
+    if (users.isEmpty()) {
+      return Mono.just(ImportResult.empty());
+    }
+    return emailIndex
+        .thenMany(
+            Flux.fromIterable(users)
+                .buffer(BATCH_SIZE)
+                .flatMapSequential(this::upsertBatch, BATCH_CONCURRENCY))
+        .reduce(ImportResult.empty(), ImportResult::merge)
+        .doOnNext(
+            result ->
+                log.info(
+                    "Imported {} walletron users: {} inserted, {} existing, {} failed",
+                    users.size(),
+                    result.insertedUsers().size(),
+                    result.existingEmails().size(),
+                    result.failedRows().size()));
+  }
+
+  /**
+   * Appends the users to the agent portal of the walletron and marks the section completed, in a
+   * single update.
+   *
+   * @throws NotFoundException when the walletron does not exist
+   */
+  public Mono<Void> addToAgentPortal(String walletronId, List<WalletronUsers> users) {
+    Update update =
+        new Update()
+            .set(AGENT_PORTAL + ".sectionStatus", "Completed")
+            .set("updatedAt", LocalDateTime.now());
+    if (!users.isEmpty()) {
+      update
+          .push(AGENT_PORTAL + ".walletronAgentPortal")
+          .each(users.stream().map(WalletronUserImporter::agentPortalUser).toArray());
+    }
+    return mongoTemplate
+        .updateFirst(Query.query(Criteria.where("_id").is(walletronId)), update, Walletron.class)
+        .flatMap(
+            result ->
+                result.getMatchedCount() == 0
+                    ? Mono.error(
+                        new NotFoundException("Walletron not found with ID: " + walletronId))
+                    : Mono.<Void>empty());
+  }
+
+  private static ACIWalletronAgentPortal.WalletronAgentPortal agentPortalUser(WalletronUsers user) {
+    return new ACIWalletronAgentPortal.WalletronAgentPortal(
+        user.getName(), user.getEmail(), user.getRole());
+  }
+
+  private Mono<ImportResult> upsertBatch(List<WalletronUsers> batch) {
+    ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkMode.UNORDERED, WalletronUsers.class);
+    for (WalletronUsers user : batch) {
+      bulk.upsert(Query.query(Criteria.where(EMAIL).is(user.getEmail())), insertOnly(user));
+    }
+    return bulk.execute()
+        .map(result -> toImportResult(batch, result, List.of()))
+        .onErrorResume(
+            error -> bulkWriteException(error) != null,
+            error -> {
+              MongoBulkWriteException bulkError = bulkWriteException(error);
+              return Mono.just(
+                  toImportResult(batch, bulkError.getWriteResult(), bulkError.getWriteErrors()));
+            });
+  }
+
+  /** Sets every field on insert only, so a user that already exists is not modified */
+  private static Update insertOnly(WalletronUsers user) {
+    return new Update()
+        .setOnInsert("name", user.getName())
+        .setOnInsert("role", user.getRole())
+        .setOnInsert("walletronId", user.getWalletronId())
+        .setOnInsert("brdId", user.getBrdId())
+        .setOnInsert("createdAt", user.getCreatedAt())
+        .setOnInsert("updatedAt", user.getUpdatedAt());
+  }
+
+  private static ImportResult toImportResult(
+      List<WalletronUsers> batch, BulkWriteResult result, List<BulkWriteError> errors) {
+    Map<Integer, String> upsertedIds = new HashMap<>();
+    for (BulkWriteUpsert upsert : result.getUpserts()) {
+      upsertedIds.put(upsert.getIndex(), upsert.getId().asObjectId().getValue().toHexString());
+    }
+    Map<Integer, BulkWriteError> errorsByIndex = new HashMap<>();
+    for (BulkWriteError error : errors) {
+      errorsByIndex.put(error.getIndex(), error);
+    }
+
+    List<WalletronUsers> inserted = new ArrayList<>();
+    List<String> existing = new ArrayList<>();
+    List<FailedRow> failed = new ArrayList<>();
+    for (int i = 0; i < batch.size(); i++) {
+      WalletronUsers user = batch.get(i);
+      BulkWriteError error = errorsByIndex.get(i);
+      if (upsertedIds.containsKey(i)) {
+        user.setId(upsertedIds.get(i));
+        inserted.add(user);
+      } else if (error == null || error.getCode() == DUPLICATE_KEY) {
+        // Matched an existing user, or lost the insert to a concurrent import of the same email
+        existing.add(user.getEmail());
+      } else {
+        failed.add(new FailedRow(user.getEmail(), error.getMessage()));
+      }
+    }
+    return new ImportResult(inserted, existing, failed);
+  }
+
+  private static MongoBulkWriteException bulkWriteException(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+      if (cause instanceof MongoBulkWriteException bulkWriteException) {
+        return bulkWriteException;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Upserts are only safe against concurrent imports with the unique index in place. Creating it
+   * fails while duplicate emails are stored; imports then go ahead without it.
+   */
+  private Mono<Void> ensureEmailIndex() {
+    return Mono.defer(
+            () ->
+                mongoTemplate
+                    .indexOps(WalletronUsers.class)
+                    .getIndexInfo()
+                    .any(index -> index.isUnique() && index.isIndexForFields(List.of(EMAIL))))
+        .flatMap(
+            indexed ->
+                indexed
+                    ? Mono.<Void>empty()
+                    : mongoTemplate
+                        .indexOps(WalletronUsers.class)
+                        .ensureIndex(
+                            new Index().on(EMAIL, Sort.Direction.ASC).unique().named(EMAIL_INDEX))
+                        .then())
+        .onErrorResume(
+            error -> {
+              log.warn("Could not ensure the walletron user email index: {}", error.getMessage());
+              return Mono.empty();
+            });
+  }
+}
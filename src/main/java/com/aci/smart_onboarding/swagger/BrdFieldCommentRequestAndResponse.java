@@ -14,10 +14,15 @@ public class BrdFieldCommentRequestAndResponse {
             + "Use these to filter results by section or specific field.";
 
     public static final String GET_PENDING_COMMENTS =
-        "Returns all pending comment groups for a BRD with detailed statistics. "
-            + "The response includes counts and details of pending comments for both the BRD source type "
-            + "and for each related site. This helps track unresolved discussions across the entire BRD "
-            + "and all its related sites in a single API call.";
+        "Returns comment group statistics for a BRD by status. "
+            + "The response includes counts of comment groups for both the BRD source type "
+            + "and for each related site, computed in a single aggregation. "
+            + "Comment bodies are not included; use the paginated groups endpoint to load them.";
+
+    public static final String GET_COMMENT_GROUPS_BY_STATUS_PAGE =
+        "Returns a page of comment groups for a BRD with the given status (Pending or Resolved). "
+            + "Optional parameter: siteId to restrict the page to a single site. "
+            + "Use page and size to walk through large comment sets.";
 
     public static final String GET_COMMENTS_BY_SOURCE =
         "Retrieves all comment groups for a specific source type (BRD or SITE) with optional status filtering. "
@@ -0,0 +1,89 @@
+package com.aci.smart_onboarding.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Field values of one BRD by field name, built once so that any number of configuration fields can
+ * be looked up without walking the BRD again.
+ *
+ * <p>A field is found directly in a section or in an object nested one level below it. When a name
+ * occurs more than once, the first section wins and, within a section, the direct field wins.
+ */
+public final class BrdFieldIndex {
+
+  private final Map<String, JsonNode> byName = new HashMap<>();
+  private final Map<String, JsonNode> byNormalizedName = new HashMap<>();
+
+  private BrdFieldIndex() {}
+
+  /**
+   * Indexes the fields of the given sections of a BRD.
+   *
+   * @param brdNode the BRD as JSON
+   * @param sections section names, in lookup order
+   */
+  public static BrdFieldIndex of(JsonNode brdNode, List<String> sections) {
+    BrdFieldIndex index = new BrdFieldIndex();
+    for (String section : sections) {
+      JsonNode sectionNode = brdNode.get(section);
+      if (sectionNode == null || sectionNode.isEmpty()) {
+        continue;
+      }
+      if (sectionNode.isObject()) {
+        sectionNode.fields().forEachRemaining(field -> index.add(field.getKey(), field.getValue()));
+      }
+      for (JsonNode child : sectionNode) {
+        if (child.isObject()) {
+          child.fields().forEachRemaining(field -> index.add(field.getKey(), field.getValue()));
+        }
+      }
+    }
+    return index;
+  }
+
+  private void add(String name, JsonNode value) {
+    byName.putIfAbsent(name, value);
+    byNormalizedName.putIfAbsent(normalize(name), value);
+  }
+
+  /** Value of the field with exactly this name, or null */
+  public JsonNode get(String fieldName) {
+    return fieldName == null ? null : byName.get(fieldName);
+  }
+
+  /**
+   * Value of the field a configuration field names without a doubt: the same name, or the same
+   * name ignoring case, spaces and punctuation. Fields without a value do not count.
+   *
+   * @return the value, or null when the field needs a closer look
+   */
+  public JsonNode resolve(String configurationField) {
+    if (configurationField == null) {
+      return null;
+    }
+    JsonNode value = byName.get(configurationField);
+    if (!hasValue(value)) {
+      value = byNormalizedName.get(normalize(configurationField));
+    }
+    return hasValue(value) ? value : null;
+  }
+
+  private static boolean hasValue(JsonNode value) {
+    return value != null && !value.isNull() && !value.isMissingNode();
+  }
+
+  static String normalize(String name) {
+    StringBuilder normalized = new StringBuilder(name.length());
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (Character.isLetterOrDigit(c)) {
+        normalized.append(c);
+      }
+    }
+    return normalized.toString().toLowerCase(Locale.ROOT);
+  }
+}
@@ -145,6 +145,25 @@ public class EncryptionUtil {
     }
   }
 
+  /**
+   * Decrypts a secret such as a password. Unlike {@link #decrypt}, never logs any decrypted bytes.
+   *
+   * @param encryptedDataWithIv The encrypted data with IV prepended
+   * @return Decrypted data as byte array
+   * @throws EncryptionException if decryption fails
+   */
+  public byte[] decryptSecret(byte[] encryptedDataWithIv) {
+    try {
+      validateEncryptedData(encryptedDataWithIv);
+      IvAndEncryptedData extracted = extractIvAndEncryptedData(encryptedDataWithIv);
+      return removeZeroPadding(performDecryption(extracted.iv, extracted.encryptedData));
+    } catch (EncryptionException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new EncryptionException("Unable to decrypt secret: " + e.getMessage(), e);
+    }
+  }
+
   /**
    * Validates that the encrypted data is valid for decryption
    *
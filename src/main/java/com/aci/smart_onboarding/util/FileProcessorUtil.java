@@ -7,9 +7,10 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
-import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.io.StringReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.regex.Pattern;
@@ -18,10 +19,10 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
+import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Schedulers;
 
 @Slf4j
@@ -38,7 +39,11 @@ public class FileProcessorUtil {
   private static final Pattern EMAIL_PATTERN =
       Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
 
-  private static final long MAX_FILE_SIZE = 2L * 1024 * 1024; // 2MB
+  // Streamed uploads are never held in memory, so only disk and time bound them
+  private static final long MAX_STREAMED_FILE_SIZE = 200L * 1024 * 1024; // 200MB
+
+  // Buffers requested ahead from the upload while rows are being parsed
+  private static final int STREAM_PREFETCH = 16;
 
   // Valid roles for WalletronUsers
   private static final Set<String> VALID_ROLES =
@@ -60,73 +65,157 @@ public class FileProcessorUtil {
     private String role;
   }
 
-  public Mono<List<FileUserData>> processCsvFile(byte[] fileContent) {
-    return Mono.fromCallable(
-            () -> {
-              validateFileSize(fileContent);
-
-              String csvContent = new String(fileContent, StandardCharsets.UTF_8);
-              List<FileUserData> users = new ArrayList<>();
-
-              try (CSVReader csvReader = new CSVReader(new StringReader(csvContent))) {
-                String[] headers = csvReader.readNext();
-                if (headers == null) {
-                  throw new BadRequestException("CSV file is empty");
-                }
-
-                Map<String, Integer> headerMap = createHeaderMap(headers);
-                validateRequiredHeaders(headerMap);
+  /**
+   * Reads users from a CSV upload as it arrives. The content is decoded incrementally and rows are
+   * parsed on demand, so memory use stays flat whatever the size of the file.
+   */
+  public Flux<FileUserData> streamCsvFile(Flux<DataBuffer> content) {
+    return Flux.using(
+            () -> new CSVReader(new InputStreamReader(openStream(content), StandardCharsets.UTF_8)),
+            this::readCsvUsers,
+            this::closeQuietly)
+        .subscribeOn(Schedulers.boundedElastic());
+  }
 
-                String[] line;
-                int rowNumber = 1; // Start from 1 since 0 is header
+  /**
+   * Reads users from an XLSX upload row by row. The upload is spooled to a temporary file and the
+   * first sheet is read as an XML event stream instead of a workbook.
+   */
+  public Flux<FileUserData> streamExcelFile(Flux<DataBuffer> content) {
+    return Flux.using(
+            () -> openExcel(openStream(content)), this::readExcelUsers, XlsxRowReader::close)
+        .subscribeOn(Schedulers.boundedElastic());
+  }
 
-                while ((line = csvReader.readNext()) != null) {
-                  rowNumber++;
-                  processCsvRow(line, headerMap, rowNumber, users);
-                }
+  private InputStream openStream(Flux<DataBuffer> content) {
+    return new SizeLimitedInputStream(
+        DataBufferUtils.subscriberInputStream(content, STREAM_PREFETCH), MAX_STREAMED_FILE_SIZE);
+  }
 
-              } catch (IOException | CsvValidationException e) {
-                throw new BadRequestException("Failed to parse CSV file: " + e.getMessage());
-              }
+  private Flux<FileUserData> readCsvUsers(CSVReader csvReader) {
+    return Flux.generate(
+        () -> readCsvHeaders(csvReader),
+        (headerMap, sink) -> {
+          FileUserData userData = nextCsvUser(csvReader, headerMap);
+          if (userData == null) {
+            sink.complete();
+          } else {
+            sink.next(userData);
+          }
+          return headerMap;
+        });
+  }
 
-              log.info("Successfully processed {} valid users from CSV file", users.size());
-              return users;
-            })
-        .subscribeOn(Schedulers.boundedElastic());
+  private Map<String, Integer> readCsvHeaders(CSVReader csvReader) {
+    String[] headers = readCsvLine(csvReader);
+    if (headers == null) {
+      throw new BadRequestException("CSV file is empty");
+    }
+    Map<String, Integer> headerMap = createHeaderMap(headers);
+    validateRequiredHeaders(headerMap);
+    return headerMap;
   }
 
-  public Mono<List<FileUserData>> processExcelFile(byte[] fileContent) {
-    return Mono.fromCallable(
-            () -> {
-              validateFileSize(fileContent);
+  /** The next valid user of the file, skipping invalid rows, or null at its end */
+  private FileUserData nextCsvUser(CSVReader csvReader, Map<String, Integer> headerMap) {
+    String[] line;
+    while ((line = readCsvLine(csvReader)) != null) {
+      int rowNumber = (int) csvReader.getRecordsRead();
+      try {
+        FileUserData userData = processRow(line, headerMap, rowNumber);
+        if (userData != null) {
+          return userData;
+        }
+      } catch (Exception e) {
+        log.warn("Skipping invalid row {}: {}", rowNumber, e.getMessage());
+      }
+    }
+    return null;
+  }
 
-              List<FileUserData> users = new ArrayList<>();
+  private String[] readCsvLine(CSVReader csvReader) {
+    try {
+      return csvReader.readNext();
+    } catch (IOException | CsvValidationException e) {
+      throw new BadRequestException("Failed to parse CSV file: " + e.getMessage());
+    }
+  }
 
-              try (ByteArrayInputStream bis = new ByteArrayInputStream(fileContent);
-                  Workbook workbook = new XSSFWorkbook(bis)) {
+  private XlsxRowReader openExcel(InputStream content) {
+    try {
+      return XlsxRowReader.open(content);
+    } catch (BadRequestException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new BadRequestException("Failed to parse Excel file: " + e.getMessage());
+    }
+  }
 
-                Sheet sheet = workbook.getSheetAt(0);
-                validateExcelSheet(sheet);
+  private Flux<FileUserData> readExcelUsers(XlsxRowReader reader) {
+    return Flux.generate(
+        () -> readExcelHeaders(reader),
+        (headerMap, sink) -> {
+          FileUserData userData = nextExcelUser(reader, headerMap);
+          if (userData == null) {
+            sink.complete();
+          } else {
+            sink.next(userData);
+          }
+          return headerMap;
+        });
+  }
 
-                Map<String, Integer> headerMap = processExcelHeaders(sheet);
-                users = processExcelRows(sheet, headerMap);
+  private Map<String, Integer> readExcelHeaders(XlsxRowReader reader) {
+    XlsxRowReader.SheetRow headerRow = readExcelRow(reader);
+    if (headerRow == null) {
+      throw new BadRequestException("Excel file is empty");
+    }
+    if (headerRow.number() != 1) {
+      throw new BadRequestException("Excel file header row is missing");
+    }
+    Map<String, Integer> headerMap = new HashMap<>();
+    headerRow
+        .cells()
+        .forEach((column, header) -> headerMap.put(removeBOM(header).trim().toLowerCase(), column));
+    log.debug("Final header map: {}", headerMap);
+    validateRequiredHeaders(headerMap);
+    return headerMap;
+  }
 
-              } catch (IOException e) {
-                throw new BadRequestException("Failed to parse Excel file: " + e.getMessage());
-              }
+  /** The next valid user of the sheet, skipping invalid rows, or null at its end */
+  private FileUserData nextExcelUser(XlsxRowReader reader, Map<String, Integer> headerMap) {
+    XlsxRowReader.SheetRow row;
+    while ((row = readExcelRow(reader)) != null) {
+      try {
+        FileUserData userData =
+            validateAndCreateUserData(
+                row.cell(headerMap.get(NAME_HEADER)),
+                row.cell(headerMap.get(EMAIL_HEADER)),
+                row.cell(headerMap.get(ROLE_HEADER)),
+                row.number());
+        if (userData != null) {
+          return userData;
+        }
+      } catch (Exception e) {
+        log.warn("Skipping invalid Excel row {}: {}", row.number(), e.getMessage());
+      }
+    }
+    return null;
+  }
 
-              log.info("Successfully processed {} valid users from Excel file", users.size());
-              return users;
-            })
-        .subscribeOn(Schedulers.boundedElastic());
+  private XlsxRowReader.SheetRow readExcelRow(XlsxRowReader reader) {
+    try {
+      return reader.next();
+    } catch (Exception e) {
+      throw new BadRequestException("Failed to parse Excel file: " + e.getMessage());
+    }
   }
 
-  private void validateFileSize(byte[] fileContent) {
-    if (fileContent.length > MAX_FILE_SIZE) {
-      throw new BadRequestException(
-          String.format(
-              "File size %d bytes exceeds maximum allowed size of %d bytes (2MB)",
-              fileContent.length, MAX_FILE_SIZE));
+  private void closeQuietly(CSVReader csvReader) {
+    try {
+      csvReader.close();
+    } catch (IOException e) {
+      log.debug("Failed to close CSV reader: {}", e.getMessage());
     }
   }
 
@@ -143,20 +232,6 @@ public class FileProcessorUtil {
     return headerMap;
   }
 
-  private Map<String, Integer> createHeaderMapFromRow(Row headerRow) {
-    Map<String, Integer> headerMap = new HashMap<>();
-    log.debug("Processing Excel headers:");
-    for (Cell cell : headerRow) {
-      String originalHeader = getCellValueAsString(cell);
-      String normalizedHeader = removeBOM(originalHeader).trim().toLowerCase();
-      headerMap.put(normalizedHeader, cell.getColumnIndex());
-      log.debug(
-          "  Header[{}]: '{}' -> '{}'", cell.getColumnIndex(), originalHeader, normalizedHeader);
-    }
-    log.debug("Final header map: {}", headerMap);
-    return headerMap;
-  }
-
   /**
    * Removes BOM (Byte Order Mark) characters from the beginning of a string. Common BOM characters:
    * UTF-8 BOM (EF BB BF), UTF-16 BOM, etc.
@@ -199,18 +274,6 @@ public class FileProcessorUtil {
     }
   }
 
-  private void processCsvRow(
-      String[] line, Map<String, Integer> headerMap, int rowNumber, List<FileUserData> users) {
-    try {
-      FileUserData userData = processRow(line, headerMap, rowNumber);
-      if (userData != null) {
-        users.add(userData);
-      }
-    } catch (Exception e) {
-      log.warn("Skipping invalid row {}: {}", rowNumber, e.getMessage());
-    }
-  }
-
   private FileUserData processRow(String[] row, Map<String, Integer> headerMap, int rowNumber) {
     String name = getValueFromRow(row, headerMap, NAME_HEADER);
     String email = getValueFromRow(row, headerMap, EMAIL_HEADER);
@@ -219,14 +282,6 @@ public class FileProcessorUtil {
     return validateAndCreateUserData(name, email, role, rowNumber);
   }
 
-  private FileUserData processExcelRow(Row row, Map<String, Integer> headerMap, int rowNumber) {
-    String name = getCellValue(row, headerMap, NAME_HEADER);
-    String email = getCellValue(row, headerMap, EMAIL_HEADER);
-    String role = getCellValue(row, headerMap, ROLE_HEADER);
-
-    return validateAndCreateUserData(name, email, role, rowNumber);
-  }
-
   private FileUserData validateAndCreateUserData(
       String name, String email, String role, int rowNumber) {
     // Check if all required fields are present and not empty
@@ -272,80 +327,46 @@ public class FileProcessorUtil {
     return row[index];
   }
 
-  private String getCellValue(Row row, Map<String, Integer> headerMap, String header) {
-    Integer index = headerMap.get(header);
-    if (index == null) {
-      return null;
-    }
-    Cell cell = row.getCell(index);
-    return getCellValueAsString(cell);
-  }
-
-  private String getCellValueAsString(Cell cell) {
-    if (cell == null) {
-      return null;
-    }
-
-    return switch (cell.getCellType()) {
-      case STRING -> cell.getStringCellValue();
-      case NUMERIC -> {
-        if (DateUtil.isCellDateFormatted(cell)) {
-          yield cell.getDateCellValue().toString();
-        } else {
-          // Handle numeric values that should be strings (like IDs)
-          double numericValue = cell.getNumericCellValue();
-          if (numericValue == Math.floor(numericValue)) {
-            yield String.valueOf((long) numericValue);
-          } else {
-            yield String.valueOf(numericValue);
-          }
-        }
-      }
-      case BOOLEAN -> String.valueOf(cell.getBooleanCellValue());
-      case FORMULA -> cell.getCellFormula();
-      default -> "";
-    };
-  }
-
   private boolean isBlankOrNull(String value) {
     return value == null || value.trim().isEmpty();
   }
 
-  private void validateExcelSheet(Sheet sheet) {
-    if (sheet.getPhysicalNumberOfRows() == 0) {
-      throw new BadRequestException("Excel file is empty");
-    }
+  /** Fails the upload once more than the allowed number of bytes has been read from it */
+  private static final class SizeLimitedInputStream extends FilterInputStream {
 
-    Row headerRow = sheet.getRow(0);
-    if (headerRow == null) {
-      throw new BadRequestException("Excel file header row is missing");
-    }
-  }
+    private final long maxSize;
+    private long bytesRead;
 
-  private Map<String, Integer> processExcelHeaders(Sheet sheet) {
-    Row headerRow = sheet.getRow(0);
-    Map<String, Integer> headerMap = createHeaderMapFromRow(headerRow);
-    validateRequiredHeaders(headerMap);
-    return headerMap;
-  }
-
-  private List<FileUserData> processExcelRows(Sheet sheet, Map<String, Integer> headerMap) {
-    List<FileUserData> users = new ArrayList<>();
+    private SizeLimitedInputStream(InputStream in, long maxSize) {
+      super(in);
+      this.maxSize = maxSize;
+    }
 
-    for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-      Row row = sheet.getRow(i);
-      if (row == null) continue;
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b != -1) {
+        count(1);
+      }
+      return b;
+    }
 
-      try {
-        FileUserData userData = processExcelRow(row, headerMap, i + 1);
-        if (userData != null) {
-          users.add(userData);
-        }
-      } catch (Exception e) {
-        log.warn("Skipping invalid Excel row {}: {}", i + 1, e.getMessage());
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int n = super.read(b, off, len);
+      if (n > 0) {
+        count(n);
       }
+      return n;
     }
 
-    return users;
+    private void count(int n) {
+      bytesRead += n;
+      if (bytesRead > maxSize) {
+        throw new BadRequestException(
+            String.format(
+                "File size exceeds maximum allowed size of %d bytes (200MB)", maxSize));
+      }
+    }
   }
 }
@@ -0,0 +1,395 @@
+package com.aci.smart_onboarding.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Approximate nearest-neighbour index over a hierarchical navigable small world (HNSW) graph,
+ * using squared euclidean distance.
+ *
+ * <p>Vectors are stored as 32-bit floats in direct buffers outside the Java heap. The buffers are
+ * allocated in fixed-size chunks, so the index grows without copying vectors. Each vector may carry
+ * a label that searches can filter on. Removing or replacing a vector only marks its node as
+ * deleted: the node keeps routing searches through the graph but is never returned.
+ *
+ * <p>Searches may run concurrently; additions and removals take an exclusive lock.
+ */
+public class HnswIndex {
+
+  private static final int CHUNK_SHIFT = 10;
+  private static final int CHUNK_NODES = 1 << CHUNK_SHIFT;
+  private static final int CHUNK_MASK = CHUNK_NODES - 1;
+  private static final int INITIAL_CAPACITY = 64;
+  // Filters matching at most this many times the search width are answered by an exact scan
+  private static final int EXACT_SCAN_FACTOR = 4;
+  private static final int[] NO_LINKS = new int[0];
+  private static final IntPredicate ANY_NODE = node -> true;
+  private static final Comparator<Candidate> NEAREST_FIRST =
+      Comparator.comparingDouble(Candidate::distance);
+  private static final Comparator<Candidate> FARTHEST_FIRST = NEAREST_FIRST.reversed();
+
+  private final int dimension;
+  private final int maxConnections;
+  private final int efConstruction;
+  private final double levelFactor;
+  private final SplittableRandom random;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final List<FloatBuffer> vectorChunks = new ArrayList<>();
+  private final Map<String, Integer> nodesById = new HashMap<>();
+  private final Map<String, Integer> liveCountByLabel = new HashMap<>();
+  private final BitSet deleted = new BitSet();
+  private String[] ids = new String[INITIAL_CAPACITY];
+  private String[] labels = new String[INITIAL_CAPACITY];
+  private int[][][] links = new int[INITIAL_CAPACITY][][];
+  private int nodeCount;
+  private int entryPoint = -1;
+  private int topLevel = -1;
+
+  /**
+   * @param dimension number of components of every vector
+   * @param maxConnections links kept per node on the upper layers; the bottom layer keeps twice as
+   *     many
+   * @param efConstruction candidates considered when linking a new node
+   */
+  public HnswIndex(int dimension, int maxConnections, int efConstruction) {
+    this(dimension, maxConnections, efConstruction, new SplittableRandom());
+  }
+
+  HnswIndex(int dimension, int maxConnections, int efConstruction, SplittableRandom random) {
+    if (dimension <= 0 || maxConnections < 2 || efConstruction <= 0) {
+      throw new IllegalArgumentException("Invalid HNSW index parameters");
+    }
+    this.dimension = dimension;
+    this.maxConnections = maxConnections;
+    this.efConstruction = efConstruction;
+    this.levelFactor = 1 / Math.log(maxConnections);
+    this.random = random;
+  }
+
+  /** A search result: the vector's ID and its squared euclidean distance to the query */
+  public record Match(String id, float distance) {}
+
+  private record Candidate(int node, float distance) {}
+
+  public int dimension() {
+    return dimension;
+  }
+
+  /** Number of vectors that can be returned by searches */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return nodesById.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Number of removed or replaced vectors still held in the graph */
+  public int deletedCount() {
+    lock.readLock().lock();
+    try {
+      return deleted.cardinality();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Adds a vector, replacing any vector previously added under the same ID.
+   *
+   * @param id identifier returned by searches
+   * @param label optional value searches can filter on
+   * @param vector vector with {@link #dimension()} components
+   */
+  public void add(String id, String label, float[] vector) {
+    requireDimension(vector);
+    lock.writeLock().lock();
+    try {
+      removeLocked(id);
+      int node = nodeCount;
+      ensureCapacity(node + 1);
+      writeVector(node, vector);
+      int level = randomLevel();
+      ids[node] = id;
+      labels[node] = label;
+      links[node] = new int[level + 1][];
+      Arrays.fill(links[node], NO_LINKS);
+      nodeCount++;
+      nodesById.put(id, node);
+      if (label != null) {
+        liveCountByLabel.merge(label, 1, Integer::sum);
+      }
+      link(node, level, vector);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes the vector with the given ID.
+   *
+   * @return whether a vector was removed
+   */
+  public boolean remove(String id) {
+    lock.writeLock().lock();
+    try {
+      return removeLocked(id);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the vectors closest to the query.
+   *
+   * @param query vector with {@link #dimension()} components
+   * @param limit maximum number of matches
+   * @param label when not null, only vectors with this label are returned
+   * @param ef candidates considered on the bottom layer; higher values trade speed for recall
+   * @return matches ordered from nearest to farthest
+   */
+  public List<Match> search(float[] query, int limit, String label, int ef) {
+    requireDimension(query);
+    if (limit <= 0) {
+      return List.of();
+    }
+    lock.readLock().lock();
+    try {
+      if (entryPoint < 0) {
+        return List.of();
+      }
+      IntPredicate accept =
+          node -> !deleted.get(node) && (label == null || label.equals(labels[node]));
+      int width = Math.max(ef, limit);
+
+      PriorityQueue<Candidate> found;
+      if (label != null && liveCountByLabel.getOrDefault(label, 0) <= width * EXACT_SCAN_FACTOR) {
+        found = scan(query, width, accept);
+      } else {
+        int entry = descend(query, entryPoint, topLevel, 0);
+        found = searchLayer(query, entry, width, 0, accept);
+      }
+
+      return nearestFirst(found).stream()
+          .limit(limit)
+          .map(candidate -> new Match(ids[candidate.node()], candidate.distance()))
+          .toList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public static float[] toFloatArray(List<? extends Number> vector) {
+    float[] values = new float[vector.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = vector.get(i).floatValue();
+    }
+    return values;
+  }
+
+  private boolean removeLocked(String id) {
+    Integer node = nodesById.remove(id);
+    if (node == null) {
+      return false;
+    }
+    deleted.set(node);
+    String label = labels[node];
+    if (label != null) {
+      liveCountByLabel.computeIfPresent(label, (key, count) -> count > 1 ? count - 1 : null);
+    }
+    return true;
+  }
+
+  private void link(int node, int level, float[] vector) {
+    if (entryPoint < 0) {
+      entryPoint = node;
+      topLevel = level;
+      return;
+    }
+
+    int entry = descend(vector, entryPoint, topLevel, level);
+    for (int layer = Math.min(level, topLevel); layer >= 0; layer--) {
+      List<Candidate> nearest =
+          nearestFirst(searchLayer(vector, entry, efConstruction, layer, ANY_NODE));
+      int[] neighbours =
+          nearest.stream().limit(maxConnections).mapToInt(Candidate::node).toArray();
+      links[node][layer] = neighbours;
+      for (int neighbour : neighbours) {
+        connect(neighbour, node, layer);
+      }
+      entry = nearest.get(0).node();
+    }
+
+    if (level > topLevel) {
+      topLevel = level;
+      entryPoint = node;
+    }
+  }
+
+  /** Adds a back link, keeping only the closest links once the node is full */
+  private void connect(int node, int neighbour, int layer) {
+    int[] current = links[node][layer];
+    int capacity = layer == 0 ? maxConnections * 2 : maxConnections;
+    if (current.length < capacity) {
+      int[] extended = Arrays.copyOf(current, current.length + 1);
+      extended[current.length] = neighbour;
+      links[node][layer] = extended;
+      return;
+    }
+
+    float[] base = readVector(node);
+    PriorityQueue<Candidate> kept = new PriorityQueue<>(FARTHEST_FIRST);
+    kept.add(new Candidate(neighbour, distance(base, neighbour)));
+    for (int existing : current) {
+      kept.add(new Candidate(existing, distance(base, existing)));
+    }
+    while (kept.size() > capacity) {
+      kept.poll();
+    }
+    links[node][layer] = kept.stream().mapToInt(Candidate::node).toArray();
+  }
+
+  /** Greedily walks down from the top layer to just above the target layer */
+  private int descend(float[] query, int entry, int fromLayer, int toLayer) {
+    int current = entry;
+    for (int layer = fromLayer; layer > toLayer; layer--) {
+      current = searchLayer(query, current, 1, layer, ANY_NODE).peek().node();
+    }
+    return current;
+  }
+
+  /**
+   * Best-first search of one layer. All nodes are traversed, but only accepted nodes are collected,
+   * so the result is a farthest-first queue of at most {@code ef} accepted nodes.
+   */
+  private PriorityQueue<Candidate> searchLayer(
+      float[] query, int entry, int ef, int layer, IntPredicate accept) {
+    BitSet visited = new BitSet(nodeCount);
+    PriorityQueue<Candidate> candidates = new PriorityQueue<>(NEAREST_FIRST);
+    PriorityQueue<Candidate> results = new PriorityQueue<>(FARTHEST_FIRST);
+
+    Candidate start = new Candidate(entry, distance(query, entry));
+    visited.set(entry);
+    candidates.add(start);
+    if (accept.test(entry)) {
+      results.add(start);
+    }
+
+    while (!candidates.isEmpty()) {
+      Candidate current = candidates.poll();
+      if (results.size() >= ef && current.distance() > results.peek().distance()) {
+        break;
+      }
+      for (int neighbour : neighbours(current.node(), layer)) {
+        if (visited.get(neighbour)) {
+          continue;
+        }
+        visited.set(neighbour);
+        float distance = distance(query, neighbour);
+        if (results.size() < ef || distance < results.peek().distance()) {
+          Candidate candidate = new Candidate(neighbour, distance);
+          candidates.add(candidate);
+          if (accept.test(neighbour)) {
+            results.add(candidate);
+            if (results.size() > ef) {
+              results.poll();
+            }
+          }
+        }
+      }
+    }
+    return results;
+  }
+
+  /** Exact search over all accepted nodes */
+  private PriorityQueue<Candidate> scan(float[] query, int limit, IntPredicate accept) {
+    PriorityQueue<Candidate> results = new PriorityQueue<>(FARTHEST_FIRST);
+    for (int node = 0; node < nodeCount; node++) {
+      if (!accept.test(node)) {
+        continue;
+      }
+      float distance = distance(query, node);
+      if (results.size() < limit || distance < results.peek().distance()) {
+        results.add(new Candidate(node, distance));
+        if (results.size() > limit) {
+          results.poll();
+        }
+      }
+    }
+    return results;
+  }
+
+  private int[] neighbours(int node, int layer) {
+    int[][] nodeLinks = links[node];
+    return layer < nodeLinks.length ? nodeLinks[layer] : NO_LINKS;
+  }
+
+  private static List<Candidate> nearestFirst(PriorityQueue<Candidate> candidates) {
+    List<Candidate> sorted = new ArrayList<>(candidates);
+    sorted.sort(NEAREST_FIRST);
+    return sorted;
+  }
+
+  private int randomLevel() {
+    double uniform = 1.0 - random.nextDouble();
+    return (int) Math.floor(-Math.log(uniform) * levelFactor);
+  }
+
+  private float distance(float[] query, int node) {
+    FloatBuffer chunk = vectorChunks.get(node >>> CHUNK_SHIFT);
+    int offset = (node & CHUNK_MASK) * dimension;
+    float sum = 0;
+    for (int i = 0; i < dimension; i++) {
+      float difference = query[i] - chunk.get(offset + i);
+      sum += difference * difference;
+    }
+    return sum;
+  }
+
+  private float[] readVector(int node) {
+    float[] vector = new float[dimension];
+    vectorChunks.get(node >>> CHUNK_SHIFT).get((node & CHUNK_MASK) * dimension, vector);
+    return vector;
+  }
+
+  private void writeVector(int node, float[] vector) {
+    vectorChunks.get(node >>> CHUNK_SHIFT).put((node & CHUNK_MASK) * dimension, vector);
+  }
+
+  private void ensureCapacity(int nodes) {
+    while ((long) vectorChunks.size() * CHUNK_NODES < nodes) {
+      vectorChunks.add(
+          ByteBuffer.allocateDirect(CHUNK_NODES * dimension * Float.BYTES)
+              .order(ByteOrder.nativeOrder())
+              .asFloatBuffer());
+    }
+    if (ids.length < nodes) {
+      int capacity = Math.max(nodes, ids.length * 2);
+      ids = Arrays.copyOf(ids, capacity);
+      labels = Arrays.copyOf(labels, capacity);
+      links = Arrays.copyOf(links, capacity);
+    }
+  }
+
+  private void requireDimension(float[] vector) {
+    if (vector == null || vector.length != dimension) {
+      throw new IllegalArgumentException(
+          "Expected a vector with " + dimension + " components but got "
+              + (vector == null ? "none" : vector.length));
+    }
+  }
+}
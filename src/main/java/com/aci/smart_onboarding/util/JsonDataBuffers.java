@@ -0,0 +1,119 @@
+package com.aci.smart_onboarding.util;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Writes a JSON array element by element into data buffers of about {@link #CHUNK_SIZE} bytes, so
+ * a response body of any length is produced with one chunk in memory at a time.
+ */
+public final class JsonDataBuffers {
+
+  public static final int CHUNK_SIZE = 16 * 1024;
+
+  private JsonDataBuffers() {}
+
+  /**
+   * Streams the elements as one JSON array.
+   *
+   * @param elements the array elements, serialized as they arrive
+   * @param writer writes the elements, e.g. with or without a pretty printer
+   * @param bufferFactory allocates the chunks
+   * @return the array in chunks; a failing element fails the stream
+   */
+  public static Flux<DataBuffer> array(
+      Flux<?> elements, ObjectWriter writer, DataBufferFactory bufferFactory) {
+    return Flux.defer(
+        () -> {
+          ChunkedOutput output = new ChunkedOutput(bufferFactory);
+          SequenceWriter sequence;
+          try {
+            sequence = writer.writeValuesAsArray(output);
+          } catch (IOException e) {
+            output.release();
+            return Flux.error(e);
+          }
+
+          return elements
+              .<DataBuffer>handle(
+                  (element, sink) -> {
+                    try {
+                      sequence.write(element);
+                      sequence.flush();
+                    } catch (IOException e) {
+                      sink.error(e);
+                      return;
+                    }
+                    if (output.isFull()) {
+                      sink.next(output.take());
+                    }
+                  })
+              .concatWith(
+                  Mono.fromCallable(
+                      () -> {
+                        sequence.close();
+                        return output.take();
+                      }))
+              .doFinally(
+                  signal -> {
+                    if (signal != SignalType.ON_COMPLETE) {
+                      output.release();
+                    }
+                  })
+              .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+  }
+
+  /** Collects the written bytes into the current chunk until it is taken */
+  private static final class ChunkedOutput extends OutputStream {
+
+    private final DataBufferFactory bufferFactory;
+    private DataBuffer buffer;
+
+    private ChunkedOutput(DataBufferFactory bufferFactory) {
+      this.bufferFactory = bufferFactory;
+    }
+
+    @Override
+    public void write(int b) {
+      buffer().write((byte) b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+      buffer().write(bytes, offset, length);
+    }
+
+    private DataBuffer buffer() {
+      if (buffer == null) {
+        buffer = bufferFactory.allocateBuffer(CHUNK_SIZE);
+      }
+      return buffer;
+    }
+
+    boolean isFull() {
+      return buffer != null && buffer.readableByteCount() >= CHUNK_SIZE;
+    }
+
+    DataBuffer take() {
+      DataBuffer chunk = buffer();
+      buffer = null;
+      return chunk;
+    }
+
+    void release() {
+      if (buffer != null) {
+        DataBufferUtils.release(buffer);
+        buffer = null;
+      }
+    }
+  }
+}
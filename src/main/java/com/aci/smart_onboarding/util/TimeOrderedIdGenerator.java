@@ -0,0 +1,83 @@
+package com.aci.smart_onboarding.util;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+
+/**
+ * Generates 64-bit, time-ordered IDs without any coordination with the database.
+ *
+ * <p>Layout: 41 bits of milliseconds since {@link #EPOCH_MILLIS}, 10 bits of node ID and 12 bits of
+ * per-millisecond counter. IDs are rendered as 13 character Crockford base32 strings, so their
+ * lexical order matches generation order.
+ */
+public class TimeOrderedIdGenerator {
+
+  static final long EPOCH_MILLIS = 1_704_067_200_000L; // 2024-01-01T00:00:00Z
+  private static final int NODE_BITS = 10;
+  private static final int COUNTER_BITS = 12;
+  private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+  private static final long MAX_COUNTER = (1L << COUNTER_BITS) - 1;
+  private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+  private static final int ENCODED_LENGTH = 13;
+
+  private final long nodeId;
+  private final Clock clock;
+  private long lastTimestamp = -1L;
+  private long counter = 0L;
+
+  public TimeOrderedIdGenerator(int nodeId) {
+    this(nodeId, Clock.systemUTC());
+  }
+
+  TimeOrderedIdGenerator(int nodeId, Clock clock) {
+    this.nodeId = nodeId >= 0 ? nodeId & MAX_NODE : defaultNodeId();
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the next ID. Never returns the same value twice for this node, even if the wall clock
+   * moves backwards.
+   *
+   * @return next time-ordered ID
+   */
+  public synchronized long nextId() {
+    long timestamp = Math.max(clock.millis() - EPOCH_MILLIS, lastTimestamp);
+    if (timestamp == lastTimestamp) {
+      counter = (counter + 1) & MAX_COUNTER;
+      if (counter == 0) {
+        timestamp = lastTimestamp + 1;
+      }
+    } else {
+      counter = 0;
+    }
+    lastTimestamp = timestamp;
+    return (timestamp << (NODE_BITS + COUNTER_BITS)) | (nodeId << COUNTER_BITS) | counter;
+  }
+
+  /**
+   * Returns the next ID rendered as a fixed-width Crockford base32 string
+   *
+   * @return encoded time-ordered ID
+   */
+  public String nextIdAsString() {
+    return encode(nextId());
+  }
+
+  static String encode(long value) {
+    char[] chars = new char[ENCODED_LENGTH];
+    for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+      chars[i] = ALPHABET[(int) (value & 0x1F)];
+      value >>>= 5;
+    }
+    return new String(chars);
+  }
+
+  private static long defaultNodeId() {
+    try {
+      return InetAddress.getLocalHost().getHostName().hashCode() & MAX_NODE;
+    } catch (UnknownHostException e) {
+      return ProcessHandle.current().pid() & MAX_NODE;
+    }
+  }
+}
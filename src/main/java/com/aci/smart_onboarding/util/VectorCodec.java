@@ -0,0 +1,112 @@
+package com.aci.smart_onboarding.util;
+
+import com.aci.smart_onboarding.enums.VectorStorageFormat;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.List;
+import org.bson.types.Binary;
+
+/**
+ * Encodes embeddings as BSON binary vectors (BinData subtype 9), the storage format Atlas Vector
+ * Search indexes natively: a dtype byte, a padding byte, then the components in little-endian
+ * order. float32 vectors take 4 bytes per component; int8 vectors take one and are scaled by a
+ * factor that must be the same for every vector searched together.
+ */
+public final class VectorCodec {
+
+  public static final byte VECTOR_SUBTYPE = 9;
+
+  static final byte FLOAT32 = 0x27;
+  static final byte INT8 = 0x03;
+  private static final int HEADER_BYTES = 2;
+
+  private VectorCodec() {}
+
+  public static Binary encode(float[] components, VectorStorageFormat format, double int8Scale) {
+    if (format == VectorStorageFormat.INT8) {
+      byte[] data = header(INT8, components.length);
+      for (int i = 0; i < components.length; i++) {
+        long scaled = Math.round(components[i] * int8Scale);
+        data[HEADER_BYTES + i] = (byte) Math.max(Byte.MIN_VALUE, Math.min(Byte.MAX_VALUE, scaled));
+      }
+      return new Binary(VECTOR_SUBTYPE, data);
+    }
+
+    byte[] data = header(FLOAT32, components.length * Float.BYTES);
+    ByteBuffer buffer = ByteBuffer.wrap(data, HEADER_BYTES, data.length - HEADER_BYTES);
+    buffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().put(components);
+    return new Binary(VECTOR_SUBTYPE, data);
+  }
+
+  /**
+   * Decodes a float32 or int8 binary vector.
+   *
+   * @throws IllegalArgumentException when the value is not a binary vector of a supported dtype
+   */
+  public static float[] decode(Binary binary, double int8Scale) {
+    byte[] data = binary.getData();
+    if (binary.getType() != VECTOR_SUBTYPE || data.length < HEADER_BYTES) {
+      throw new IllegalArgumentException("Not a BSON binary vector, subtype " + binary.getType());
+    }
+
+    float[] components;
+    switch (data[0]) {
+      case FLOAT32 -> {
+        components = new float[(data.length - HEADER_BYTES) / Float.BYTES];
+        ByteBuffer.wrap(data, HEADER_BYTES, data.length - HEADER_BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .asFloatBuffer()
+            .get(components);
+      }
+      case INT8 -> {
+        components = new float[data.length - HEADER_BYTES];
+        for (int i = 0; i < components.length; i++) {
+          components[i] = (float) (data[HEADER_BYTES + i] / int8Scale);
+        }
+      }
+      default ->
+          throw new IllegalArgumentException(
+              String.format("Unsupported binary vector dtype 0x%02x", data[0]));
+    }
+    return components;
+  }
+
+  /**
+   * Reads a vector field of a raw document, either a binary vector or a legacy array of numbers.
+   *
+   * @return the components, or null when the value does not hold a vector
+   */
+  public static float[] toFloatArray(Object value, double int8Scale) {
+    if (value instanceof Binary binary) {
+      return binary.getType() == VECTOR_SUBTYPE ? decode(binary, int8Scale) : null;
+    }
+    if (!(value instanceof List<?> values) || values.isEmpty()) {
+      return null;
+    }
+    float[] components = new float[values.size()];
+    for (int i = 0; i < components.length; i++) {
+      if (!(values.get(i) instanceof Number number)) {
+        return null;
+      }
+      components[i] = number.floatValue();
+    }
+    return components;
+  }
+
+  /**
+   * Query vector for Atlas {@code $vectorSearch}. Atlas compares an int8 index against int8
+   * queries only, so those are quantized with the storage scale; float queries are sent as is.
+   */
+  public static Object queryVector(
+      List<Double> vector, VectorStorageFormat format, double int8Scale) {
+    return format == VectorStorageFormat.INT8
+        ? encode(HnswIndex.toFloatArray(vector), format, int8Scale)
+        : vector;
+  }
+
+  private static byte[] header(byte dtype, int dataBytes) {
+    byte[] data = new byte[HEADER_BYTES + dataBytes];
+    data[0] = dtype;
+    return data;
+  }
+}
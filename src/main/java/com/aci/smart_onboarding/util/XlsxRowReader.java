@@ -0,0 +1,240 @@
+package com.aci.smart_onboarding.util;
+
+import com.aci.smart_onboarding.exception.BadRequestException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads the first sheet of an XLSX file one row at a time, without building the workbook.
+ *
+ * <p>The upload is spooled to a temporary file, which the zip package is opened from, and the
+ * sheet XML is pulled through StAX, so only the current row and the shared strings are held in
+ * memory. Cell values are rendered as text: formulas as their formula, whole numbers without
+ * decimals, dates through {@link java.util.Date#toString()}.
+ */
+@Slf4j
+final class XlsxRowReader implements Closeable {
+
+  private final Path file;
+  private final OPCPackage pkg;
+  private final ReadOnlySharedStringsTable sharedStrings;
+  private final StylesTable styles;
+  private final InputStream sheet;
+  private final XMLStreamReader xml;
+  private int rowNumber;
+
+  /** One row of the sheet, its 1-based number and its cells by column index */
+  record SheetRow(int number, Map<Integer, String> cells) {
+
+    String cell(Integer column) {
+      return column == null ? null : cells.get(column);
+    }
+  }
+
+  private XlsxRowReader(
+      Path file,
+      OPCPackage pkg,
+      ReadOnlySharedStringsTable sharedStrings,
+      StylesTable styles,
+      InputStream sheet,
+      XMLStreamReader xml) {
+    this.file = file;
+    this.pkg = pkg;
+    this.sharedStrings = sharedStrings;
+    this.styles = styles;
+    this.sheet = sheet;
+    this.xml = xml;
+  }
+
+  /** Spools the content to disk and opens the first sheet; the content stream is consumed */
+  static XlsxRowReader open(InputStream content)
+      throws IOException, OpenXML4JException, SAXException, XMLStreamException {
+    Path file = Files.createTempFile("walletron-users-", ".xlsx");
+    OPCPackage pkg = null;
+    InputStream sheet = null;
+    try (content) {
+      Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+      pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+      XSSFReader reader = new XSSFReader(pkg);
+      Iterator<InputStream> sheets = reader.getSheetsData();
+      if (!sheets.hasNext()) {
+        throw new BadRequestException("Excel file is empty");
+      }
+      sheet = sheets.next();
+      XMLStreamReader xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(sheet);
+      return new XlsxRowReader(
+          file, pkg, new ReadOnlySharedStringsTable(pkg), reader.getStylesTable(), sheet, xml);
+    } catch (IOException
+        | OpenXML4JException
+        | SAXException
+        | XMLStreamException
+        | RuntimeException e) {
+      closeQuietly(sheet);
+      if (pkg != null) {
+        pkg.revert();
+      }
+      Files.deleteIfExists(file);
+      throw e;
+    }
+  }
+
+  /** The next row of the sheet, or null after the last one */
+  SheetRow next() throws XMLStreamException {
+    Map<Integer, String> cells = null;
+    CellState cell = null;
+    int column = -1;
+    while (xml.hasNext()) {
+      int event = xml.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        switch (xml.getLocalName()) {
+          case "row" -> {
+            String reference = xml.getAttributeValue(null, "r");
+            rowNumber = reference == null ? rowNumber + 1 : Integer.parseInt(reference);
+            cells = new HashMap<>();
+            column = -1;
+          }
+          case "c" -> {
+            String reference = xml.getAttributeValue(null, "r");
+            column = reference == null ? column + 1 : new CellReference(reference).getCol();
+            cell =
+                new CellState(
+                    column, xml.getAttributeValue(null, "t"), xml.getAttributeValue(null, "s"));
+          }
+          case "v" -> {
+            if (cell != null) {
+              cell.value = xml.getElementText();
+            }
+          }
+          case "f" -> {
+            if (cell != null) {
+              cell.formula = xml.getElementText();
+            }
+          }
+          case "t" -> {
+            if (cell != null) {
+              cell.inlineText.append(xml.getElementText());
+            }
+          }
+          default -> {
+            // Other sheet elements carry nothing the upload reads
+          }
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        if ("c".equals(xml.getLocalName()) && cell != null && cells != null) {
+          cells.put(cell.column, cellValue(cell));
+          cell = null;
+        } else if ("row".equals(xml.getLocalName()) && cells != null) {
+          return new SheetRow(rowNumber, cells);
+        }
+      }
+    }
+    return null;
+  }
+
+  private String cellValue(CellState cell) {
+    if (cell.formula != null) {
+      return cell.formula;
+    }
+    String type = cell.type == null ? "n" : cell.type;
+    return switch (type) {
+      case "s" ->
+          cell.value == null
+              ? ""
+              : sharedStrings.getItemAt(Integer.parseInt(cell.value.trim())).getString();
+      case "inlineStr" -> cell.inlineText.toString();
+      case "str" -> cell.value == null ? "" : cell.value;
+      case "b" -> String.valueOf("1".equals(cell.value));
+      case "n" -> numericValue(cell);
+      default -> "";
+    };
+  }
+
+  private String numericValue(CellState cell) {
+    if (cell.value == null || cell.value.isBlank()) {
+      return "";
+    }
+    double numericValue = Double.parseDouble(cell.value);
+    if (isDateFormatted(cell.style) && DateUtil.isValidExcelDate(numericValue)) {
+      return DateUtil.getJavaDate(numericValue).toString();
+    }
+    if (numericValue == Math.floor(numericValue)) {
+      return String.valueOf((long) numericValue);
+    }
+    return String.valueOf(numericValue);
+  }
+
+  private boolean isDateFormatted(String style) {
+    if (style == null || styles == null) {
+      return false;
+    }
+    XSSFCellStyle cellStyle = styles.getStyleAt(Integer.parseInt(style));
+    return cellStyle != null
+        && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+  }
+
+  @Override
+  public void close() {
+    try {
+      xml.close();
+    } catch (XMLStreamException e) {
+      log.debug("Failed to close sheet reader: {}", e.getMessage());
+    }
+    closeQuietly(sheet);
+    pkg.revert();
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Failed to delete temporary upload {}: {}", file, e.getMessage());
+    }
+  }
+
+  private static void closeQuietly(Closeable closeable) {
+    if (closeable == null) {
+      return;
+    }
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      log.debug("Failed to close stream: {}", e.getMessage());
+    }
+  }
+
+  /** The parts of the cell element being read */
+  private static final class CellState {
+
+    private final int column;
+    private final String type;
+    private final String style;
+    private final StringBuilder inlineText = new StringBuilder();
+    private String value;
+    private String formula;
+
+    private CellState(int column, String type, String style) {
+      this.column = column;
+      this.type = type;
+      this.style = style;
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.aci.smart_onboarding.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.any;
+
+import com.aci.smart_onboarding.constants.BrdConstants;
+import com.aci.smart_onboarding.dto.Api;
+import com.aci.smart_onboarding.dto.BRDResponse;
+import com.aci.smart_onboarding.dto.BrdActivityEvent;
+import com.aci.smart_onboarding.dto.StreamApi;
+import com.aci.smart_onboarding.exception.NotFoundException;
+import com.aci.smart_onboarding.security.service.BRDSecurityService;
+import com.aci.smart_onboarding.service.IBRDService;
+import com.aci.smart_onboarding.service.IBrdActivityFeedService;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.AccessDeniedException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class BrdActivityControllerTest {
+
+  @Mock private IBrdActivityFeedService activityFeedService;
+
+  @Mock private IBRDService brdService;
+
+  @Mock private BRDSecurityService securityService;
+
+  @InjectMocks private BrdActivityController brdActivityController;
+
+  private ResponseEntity<Api<BRDResponse>> brdResponse;
+
+  @BeforeEach
+  void setUp() {
+    BRDResponse brd = BRDResponse.builder().brdFormId("BRD123").status("In Progress").build();
+    brdResponse =
+        ResponseEntity.ok(
+            new Api<>(BrdConstants.SUCCESSFUL, "BRD found", Optional.of(brd), Optional.empty()));
+  }
+
+  @Test
+  void streamActivity_WithAccess_ShouldStreamFeedEvents() {
+    ServerSentEvent<StreamApi<BrdActivityEvent>> event =
+        ServerSentEvent.<StreamApi<BrdActivityEvent>>builder()
+            .id("token-1")
+            .data(
+                new StreamApi<>(
+                    "success",
+                    BrdActivityEvent.BRD_STATUS_CHANGED,
+                    BrdActivityEvent.builder().brdFormId("BRD123").status("Reviewed").build(),
+                    Optional.empty()))
+            .build();
+    doReturn(Mono.just(brdResponse)).when(brdService).getBrdById("BRD123");
+    doReturn(Mono.empty()).when(securityService).withSecurityCheck("In Progress");
+    doReturn(Flux.just(event)).when(activityFeedService).subscribe("BRD123", "token-0");
+
+    StepVerifier.create(brdActivityController.streamActivity("BRD123", "token-0"))
+        .assertNext(sse -> assertEquals("token-1", sse.id()))
+        .verifyComplete();
+  }
+
+  @Test
+  void streamActivity_WithoutAccess_ShouldNotSubscribe() {
+    doReturn(Mono.just(brdResponse)).when(brdService).getBrdById("BRD123");
+    doReturn(Mono.error(new AccessDeniedException("Access denied")))
+        .when(securityService)
+        .withSecurityCheck("In Progress");
+
+    StepVerifier.create(brdActivityController.streamActivity("BRD123", null))
+        .expectError(AccessDeniedException.class)
+        .verify();
+
+    verify(activityFeedService, never()).subscribe(any(), any());
+  }
+
+  @Test
+  void streamActivity_BrdNotFound_ShouldError() {
+    doReturn(
+            Mono.just(
+                ResponseEntity.ok(
+                    new Api<BRDResponse>(
+                        BrdConstants.SUCCESSFUL, "BRD", Optional.empty(), Optional.empty()))))
+        .when(brdService)
+        .getBrdById("BRD123");
+
+    StepVerifier.create(brdActivityController.streamActivity("BRD123", null))
+        .expectError(NotFoundException.class)
+        .verify();
+  }
+}
@@ -26,6 +26,9 @@ import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -119,15 +122,10 @@ class BrdFieldCommentControllerTest {
         CommentStatsByStatusResponse.builder()
             .totalCount(6)
             .brdCount(1)
-            .brdComments(Collections.singletonList(mockGroupResp))
             .siteCounts(
                 Map.of(
                     "site1", 3,
                     "site2", 2))
-            .siteComments(
-                Map.of(
-                    "site1", Collections.singletonList(mockGroupResp),
-                    "site2", Collections.singletonList(mockGroupResp)))
             .build();
 
     // Setup source response
@@ -441,9 +439,66 @@ class BrdFieldCommentControllerTest {
                     && response.getBody().getData().isPresent()
                     && response.getBody().getData().get().getTotalCount() == 6
                     && response.getBody().getData().get().getBrdCount() == 1
-                    && response.getBody().getData().get().getBrdComments().size() == 1
-                    && response.getBody().getData().get().getSiteCounts().size() == 2
-                    && response.getBody().getData().get().getSiteComments().size() == 2)
+                    && response.getBody().getData().get().getSiteCounts().size() == 2)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Should retrieve a page of comment groups by status")
+  void getCommentGroupsByStatusPage_Success() {
+    String brdFormId = "BRD123";
+    String status = "Pending";
+
+    doReturn(Mono.just(mockBrdResponse)).when(brdService).getBrdById(brdFormId);
+    doReturn(Mono.just(true)).when(securityService).withSecurityCheck("Internal Review");
+
+    Page<BrdFieldCommentGroupResp> page =
+        new PageImpl<>(
+            List.of(BrdFieldCommentGroupResp.builder().id("group-1").build()),
+            PageRequest.of(0, 20),
+            1);
+    ResponseEntity<Api<Page<BrdFieldCommentGroupResp>>> successResponse =
+        ResponseEntity.ok(
+            new Api<>(
+                BrdConstants.SUCCESSFUL,
+                BrdConstants.COMMENT_GROUPS_RETRIEVED_SUCCESS,
+                Optional.of(page),
+                Optional.empty()));
+    doReturn(Mono.just(successResponse))
+        .when(fieldCommentService)
+        .getCommentGroupsByStatusPage(brdFormId, status, null, 0, 20);
+
+    StepVerifier.create(
+            brdFieldCommentController.getCommentGroupsByStatusPage(
+                status, brdFormId, null, 0, 20))
+        .expectNextMatches(
+            response ->
+                response.getStatusCode().is2xxSuccessful()
+                    && response.getBody().getData().isPresent()
+                    && response.getBody().getData().get().getTotalElements() == 1)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("Should return forbidden when paging comment groups without access")
+  void getCommentGroupsByStatusPage_AccessDenied() {
+    String brdFormId = "BRD123";
+
+    doReturn(Mono.just(mockBrdResponse)).when(brdService).getBrdById(brdFormId);
+    doReturn(Mono.error(new AccessDeniedException("Access denied")))
+        .when(securityService)
+        .withSecurityCheck("Internal Review");
+    doReturn(Mono.empty())
+        .when(fieldCommentService)
+        .getCommentGroupsByStatusPage(brdFormId, "Pending", null, 0, 20);
+
+    StepVerifier.create(
+            brdFieldCommentController.getCommentGroupsByStatusPage(
+                "Pending", brdFormId, null, 0, 20))
+        .expectNextMatches(
+            response ->
+                response.getStatusCode().equals(HttpStatus.FORBIDDEN)
+                    && response.getBody().getStatus().equals(BrdConstants.FAILURE))
         .verifyComplete();
   }
 
@@ -1,7 +1,9 @@
 package com.aci.smart_onboarding.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 import com.aci.smart_onboarding.dto.*;
@@ -15,11 +17,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -140,13 +143,13 @@ class LegacyBrdControllerTest {
   @Test
   void getRulesWithData_Success() {
     // Given
-    Resource testResource = new ByteArrayResource("test data".getBytes());
-    when(legacyBrdService.getRulesWithData(any(LegacyBrdRequest.class)))
-        .thenReturn(Mono.just(testResource));
+    Flux<DataBuffer> testBody = body("test data");
+    when(legacyBrdService.getRulesWithData(any(LegacyBrdRequest.class), anyBoolean()))
+        .thenReturn(Mono.just(testBody));
 
     // When
-    Mono<ResponseEntity<Resource>> result =
-        legacyBrdController.getRulesWithData(testLegacyBrdRequest);
+    Mono<ResponseEntity<Flux<DataBuffer>>> result =
+        legacyBrdController.getRulesWithData(testLegacyBrdRequest, false);
 
     // Then
     StepVerifier.create(result)
@@ -166,12 +169,12 @@ class LegacyBrdControllerTest {
   @Test
   void getRulesWithData_ServiceError() {
     // Given
-    when(legacyBrdService.getRulesWithData(any(LegacyBrdRequest.class)))
+    when(legacyBrdService.getRulesWithData(any(LegacyBrdRequest.class), anyBoolean()))
         .thenReturn(Mono.error(new RuntimeException("Service error")));
 
     // When
-    Mono<ResponseEntity<Resource>> result =
-        legacyBrdController.getRulesWithData(testLegacyBrdRequest);
+    Mono<ResponseEntity<Flux<DataBuffer>>> result =
+        legacyBrdController.getRulesWithData(testLegacyBrdRequest, false);
 
     // Then
     StepVerifier.create(result).expectError(RuntimeException.class).verify();
@@ -332,11 +335,12 @@ class LegacyBrdControllerTest {
   void getRulesWithData_EmptyRequest() {
     // Given
     LegacyBrdRequest emptyRequest = new LegacyBrdRequest();
-    when(legacyBrdService.getRulesWithData(emptyRequest))
+    when(legacyBrdService.getRulesWithData(emptyRequest, false))
         .thenReturn(Mono.error(new IllegalArgumentException("Invalid request")));
 
     // When
-    Mono<ResponseEntity<Resource>> result = legacyBrdController.getRulesWithData(emptyRequest);
+    Mono<ResponseEntity<Flux<DataBuffer>>> result =
+        legacyBrdController.getRulesWithData(emptyRequest, false);
 
     // Then
     StepVerifier.create(result).expectError(IllegalArgumentException.class).verify();
@@ -348,11 +352,12 @@ class LegacyBrdControllerTest {
     LegacyBrdRequest invalidRequest = new LegacyBrdRequest();
     invalidRequest.setBrdId(null);
     invalidRequest.setBrdRulesFileUrl("invalid-url");
-    when(legacyBrdService.getRulesWithData(invalidRequest))
+    when(legacyBrdService.getRulesWithData(invalidRequest, false))
         .thenReturn(Mono.error(new IllegalArgumentException("Invalid request parameters")));
 
     // When
-    Mono<ResponseEntity<Resource>> result = legacyBrdController.getRulesWithData(invalidRequest);
+    Mono<ResponseEntity<Flux<DataBuffer>>> result =
+        legacyBrdController.getRulesWithData(invalidRequest, false);
 
     // Then
     StepVerifier.create(result).expectError(IllegalArgumentException.class).verify();
@@ -445,12 +450,12 @@ class LegacyBrdControllerTest {
   @Test
   void getRulesWithData_TimeoutError() {
     // Given
-    when(legacyBrdService.getRulesWithData(any(LegacyBrdRequest.class)))
+    when(legacyBrdService.getRulesWithData(any(LegacyBrdRequest.class), anyBoolean()))
         .thenReturn(Mono.error(new RuntimeException("Request timeout")));
 
     // When
-    Mono<ResponseEntity<Resource>> result =
-        legacyBrdController.getRulesWithData(testLegacyBrdRequest);
+    Mono<ResponseEntity<Flux<DataBuffer>>> result =
+        legacyBrdController.getRulesWithData(testLegacyBrdRequest, false);
 
     // Then
     StepVerifier.create(result).expectError(RuntimeException.class).verify();
@@ -459,13 +464,13 @@ class LegacyBrdControllerTest {
   @Test
   void getRulesWithData_SuccessWithHeaders() {
     // Given
-    Resource testResource = new ByteArrayResource("test data".getBytes());
-    when(legacyBrdService.getRulesWithData(any(LegacyBrdRequest.class)))
-        .thenReturn(Mono.just(testResource));
+    Flux<DataBuffer> testBody = body("test data");
+    when(legacyBrdService.getRulesWithData(any(LegacyBrdRequest.class), eq(true)))
+        .thenReturn(Mono.just(testBody));
 
     // When
-    Mono<ResponseEntity<Resource>> result =
-        legacyBrdController.getRulesWithData(testLegacyBrdRequest);
+    Mono<ResponseEntity<Flux<DataBuffer>>> result =
+        legacyBrdController.getRulesWithData(testLegacyBrdRequest, true);
 
     // Then
     StepVerifier.create(result)
@@ -474,7 +479,7 @@ class LegacyBrdControllerTest {
               HttpHeaders headers = response.getHeaders();
               return response.getStatusCode().is2xxSuccessful()
                   && response.getBody() != null
-                  && response.getBody().equals(testResource)
+                  && response.getBody() == testBody
                   && headers.getContentType().equals(MediaType.APPLICATION_JSON)
                   && headers
                       .getFirst(HttpHeaders.CONTENT_DISPOSITION)
@@ -486,13 +491,13 @@ class LegacyBrdControllerTest {
   @Test
   void getRulesWithData_EmptyResource() {
     // Given
-    Resource emptyResource = new ByteArrayResource(new byte[0]);
-    when(legacyBrdService.getRulesWithData(any(LegacyBrdRequest.class)))
-        .thenReturn(Mono.just(emptyResource));
+    Flux<DataBuffer> emptyBody = Flux.empty();
+    when(legacyBrdService.getRulesWithData(any(LegacyBrdRequest.class), anyBoolean()))
+        .thenReturn(Mono.just(emptyBody));
 
     // When
-    Mono<ResponseEntity<Resource>> result =
-        legacyBrdController.getRulesWithData(testLegacyBrdRequest);
+    Mono<ResponseEntity<Flux<DataBuffer>>> result =
+        legacyBrdController.getRulesWithData(testLegacyBrdRequest, false);
 
     // Then
     StepVerifier.create(result)
@@ -501,7 +506,7 @@ class LegacyBrdControllerTest {
               HttpHeaders headers = response.getHeaders();
               return response.getStatusCode().is2xxSuccessful()
                   && response.getBody() != null
-                  && response.getBody().equals(emptyResource)
+                  && response.getBody() == emptyBody
                   && headers.getContentType().equals(MediaType.APPLICATION_JSON)
                   && headers
                       .getFirst(HttpHeaders.CONTENT_DISPOSITION)
@@ -516,11 +521,12 @@ class LegacyBrdControllerTest {
     LegacyBrdRequest invalidRequest = new LegacyBrdRequest();
     invalidRequest.setBrdId(null);
     invalidRequest.setBrdRulesFileUrl("invalid-url");
-    when(legacyBrdService.getRulesWithData(invalidRequest))
+    when(legacyBrdService.getRulesWithData(invalidRequest, false))
         .thenReturn(Mono.error(new RuntimeException("Service error")));
 
     // When
-    Mono<ResponseEntity<Resource>> result = legacyBrdController.getRulesWithData(invalidRequest);
+    Mono<ResponseEntity<Flux<DataBuffer>>> result =
+        legacyBrdController.getRulesWithData(invalidRequest, false);
 
     // Then
     StepVerifier.create(result).expectError(RuntimeException.class).verify();
@@ -585,4 +591,8 @@ class LegacyBrdControllerTest {
             })
         .verifyComplete();
   }
+
+  private static Flux<DataBuffer> body(String content) {
+    return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content.getBytes()));
+  }
 }
@@ -29,6 +29,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -100,6 +101,41 @@ class UATAIControllerTest {
             uatAIRequestDTO.getUatType());
   }
 
+  @Test
+  @DisplayName("streamUATTestCases with creator PM should stream generated test cases")
+  void streamUATTestCases_WithCreatorPM_ShouldStreamTestCases() {
+    when(securityService.getCurrentUserRole()).thenReturn(Mono.just(SecurityConstants.PM_ROLE));
+    when(securityService.canModifyBrd(anyString())).thenReturn(Mono.just(true));
+    when(brdRepository.findByBrdId(anyString()))
+        .thenReturn(Mono.just(BRD.builder().brdId("BRD-001").creator("pm@gmail.com").build()));
+    when(uatAIService.generateUATTestCases(anyString(), anyList(), any(PortalTypes.class)))
+        .thenReturn(testCaseFlux);
+
+    StepVerifier.create(uatAIController.streamUATTestCases(uatAIRequestDTO))
+        .assertNext(
+            event -> {
+              assertEquals("SUCCESSFUL", event.getStatus());
+              assertEquals(testCaseResponseDTO, event.getData());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("streamUATTestCases by a PM who is not the creator should be denied")
+  void streamUATTestCases_WhenNotCreator_ShouldFailWithAccessDenied() {
+    when(securityService.getCurrentUserRole()).thenReturn(Mono.just(SecurityConstants.PM_ROLE));
+    when(securityService.canModifyBrd(anyString())).thenReturn(Mono.just(false));
+    when(brdRepository.findByBrdId(anyString()))
+        .thenReturn(Mono.just(BRD.builder().brdId("BRD-001").creator("pm@gmail.com").build()));
+
+    StepVerifier.create(uatAIController.streamUATTestCases(uatAIRequestDTO))
+        .expectError(AccessDeniedException.class)
+        .verify();
+
+    verify(uatAIService, never())
+        .generateUATTestCases(anyString(), anyList(), any(PortalTypes.class));
+  }
+
   @Test
   @DisplayName("generateUATTestCases without PM role should return 403 Forbidden")
   void generateUATTestCases_WithoutPMRole_ShouldReturnForbidden() {
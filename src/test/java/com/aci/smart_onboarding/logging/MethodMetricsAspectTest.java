@@ -0,0 +1,161 @@
+package com.aci.smart_onboarding.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.config.MethodMetricsProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.publisher.TestPublisher;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MethodMetricsAspectTest {
+
+  @Mock private ProceedingJoinPoint joinPoint;
+  @Mock private MethodSignature methodSignature;
+
+  private SimpleMeterRegistry meterRegistry;
+  private MethodMetricsProperties properties;
+  private MethodMetricsAspect aspect;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    meterRegistry = new SimpleMeterRegistry();
+    properties = new MethodMetricsProperties();
+    aspect = new MethodMetricsAspect(meterRegistry, properties);
+
+    when(joinPoint.getSignature()).thenReturn(methodSignature);
+    when(methodSignature.getMethod()).thenReturn(TestService.class.getMethod("list"));
+  }
+
+  @Test
+  void measure_SynchronousMethod_ShouldRecordSuccess() throws Throwable {
+    when(joinPoint.proceed()).thenReturn("result");
+
+    assertEquals("result", aspect.measure(joinPoint));
+
+    assertEquals(1, timer("TestService.list", "success").count());
+  }
+
+  @Test
+  void measure_Mono_ShouldTimeFromSubscription() throws Throwable {
+    when(joinPoint.proceed()).thenReturn(Mono.delay(Duration.ofMillis(50)));
+
+    Mono<?> mono = (Mono<?>) aspect.measure(joinPoint);
+    // Time between assembly and subscription is not the method's latency
+    Thread.sleep(300);
+    StepVerifier.create(mono).expectNextCount(1).verifyComplete();
+
+    Timer timer = timer("TestService.list", "success");
+    assertEquals(1, timer.count());
+    assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 50);
+    assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) < 300);
+  }
+
+  @Test
+  void measure_NotSubscribed_ShouldRecordNothing() throws Throwable {
+    when(joinPoint.proceed()).thenReturn(Mono.just("result"));
+
+    aspect.measure(joinPoint);
+
+    assertEquals(0, timer("TestService.list", "success").count());
+  }
+
+  @Test
+  void measure_FluxError_ShouldRecordError() throws Throwable {
+    when(joinPoint.proceed()).thenReturn(Flux.error(new IllegalStateException("Test error")));
+
+    StepVerifier.create((Flux<?>) aspect.measure(joinPoint))
+        .expectError(IllegalStateException.class)
+        .verify();
+
+    assertEquals(1, timer("TestService.list", "error").count());
+    assertEquals(0, timer("TestService.list", "success").count());
+  }
+
+  @Test
+  void measure_Cancelled_ShouldRecordCancellation() throws Throwable {
+    TestPublisher<String> publisher = TestPublisher.create();
+    when(joinPoint.proceed()).thenReturn(publisher.flux());
+
+    StepVerifier.create((Flux<?>) aspect.measure(joinPoint)).thenCancel().verify();
+
+    assertEquals(1, timer("TestService.list", "cancelled").count());
+  }
+
+  @Test
+  void measure_MethodThrows_ShouldRecordErrorAndRethrow() throws Throwable {
+    when(joinPoint.proceed()).thenThrow(new IllegalStateException("Test error"));
+
+    assertThrows(IllegalStateException.class, () -> aspect.measure(joinPoint));
+
+    assertEquals(1, timer("TestService.list", "error").count());
+  }
+
+  @Test
+  void measure_NamedOperation_ShouldUseName() throws Throwable {
+    when(methodSignature.getMethod()).thenReturn(TestService.class.getMethod("search"));
+    when(joinPoint.proceed()).thenReturn("result");
+
+    aspect.measure(joinPoint);
+
+    assertEquals(1, timer("brd.search", "success").count());
+  }
+
+  @Test
+  void measure_RepeatedCalls_ShouldReuseTimers() throws Throwable {
+    when(joinPoint.proceed()).thenReturn("result");
+
+    for (int i = 0; i < 100; i++) {
+      aspect.measure(joinPoint);
+    }
+
+    assertEquals(100, timer("TestService.list", "success").count());
+    // One timer per outcome, however often the method is called
+    assertEquals(3, meterRegistry.find(MethodMetricsAspect.METRIC_NAME).timers().size());
+  }
+
+  @Test
+  void measure_NotSampled_ShouldReturnResultUnwrapped() throws Throwable {
+    properties.setSampleRate(0.0);
+    Mono<String> result = Mono.just("result");
+    when(joinPoint.proceed()).thenReturn(result);
+
+    assertSame(result, aspect.measure(joinPoint));
+    assertTrue(meterRegistry.find(MethodMetricsAspect.METRIC_NAME).timers().isEmpty());
+  }
+
+  private Timer timer(String operation, String outcome) {
+    return meterRegistry
+        .get(MethodMetricsAspect.METRIC_NAME)
+        .tag("operation", operation)
+        .tag("outcome", outcome)
+        .timer();
+  }
+
+  @Measured
+  interface TestService {
+    String list();
+
+    @Measured("brd.search")
+    String search();
+  }
+}
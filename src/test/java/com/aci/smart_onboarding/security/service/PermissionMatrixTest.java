@@ -0,0 +1,208 @@
+package com.aci.smart_onboarding.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.aci.smart_onboarding.constants.SecurityConstants;
+import com.aci.smart_onboarding.security.config.BRDSecurityConfig;
+import com.aci.smart_onboarding.security.config.BRDSecurityConfig.Permission;
+import com.aci.smart_onboarding.security.config.BRDSecurityConfig.StatusPermission;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+class PermissionMatrixTest {
+
+  private static final List<String> STATUSES =
+      List.of(
+          "Draft",
+          "In Progress",
+          "Internal Review",
+          "Reviewed",
+          "Ready for Sign-Off",
+          "Signed Off",
+          "Submit",
+          "Edit Complete");
+
+  /** Keeps the benchmarked results alive, so the JIT cannot drop the lookups */
+  private static volatile boolean sink;
+
+  private BRDSecurityConfig config;
+  private BRDSecurityService securityService;
+
+  @BeforeEach
+  void setUp() {
+    config = new BRDSecurityConfig();
+    config.getSecurity().setPermissions(configuredPermissions());
+    securityService = new BRDSecurityService(config);
+    securityService.compilePermissions();
+  }
+
+  @Test
+  void allows_ShouldMatchRolesWithOrWithoutPrefixAndStatusesIgnoringCase() {
+    PermissionMatrix matrix = securityService.permissions();
+
+    assertTrue(matrix.allows("ROLE_PM", "Draft", HttpMethod.PATCH));
+    assertTrue(matrix.allows("PM", "draft", HttpMethod.PATCH));
+    assertTrue(matrix.allows("ROLE_BA", "INTERNAL REVIEW", HttpMethod.PUT));
+    assertFalse(matrix.allows("ROLE_BA", "Draft", HttpMethod.PUT));
+    assertFalse(matrix.allows("ROLE_PM", "Submit", HttpMethod.POST));
+    assertFalse(matrix.allows("ROLE_BILLER", "Draft", HttpMethod.GET));
+    assertFalse(matrix.allows("ROLE_PM", "Archived", HttpMethod.GET));
+    assertFalse(matrix.allows(null, "Draft", HttpMethod.GET));
+  }
+
+  @Test
+  void compile_DuplicateEntries_ShouldBeMerged() {
+    List<Permission> permissions = configuredPermissions();
+    permissions.add(permission("ROLE_BA", "draft", "PUT", "UNKNOWN"));
+    config.getSecurity().setPermissions(permissions);
+
+    PermissionMatrix matrix = securityService.permissions();
+
+    assertTrue(matrix.allows("BA", "Draft", HttpMethod.GET));
+    assertTrue(matrix.allows("BA", "Draft", HttpMethod.PUT));
+    assertEquals(STATUSES, matrix.allowedStatuses("ROLE_BA"));
+  }
+
+  @Test
+  void permissions_ReboundConfiguration_ShouldBeCompiledAgain() {
+    PermissionMatrix before = securityService.permissions();
+    assertSame(before, securityService.permissions());
+
+    config.getSecurity().setPermissions(List.of(permission("BILLER", "Draft", "GET")));
+    PermissionMatrix after = securityService.permissions();
+
+    assertNotSame(before, after);
+    assertTrue(after.allows("ROLE_BILLER", "Draft", HttpMethod.GET));
+    assertFalse(after.allows("ROLE_PM", "Draft", HttpMethod.GET));
+    assertTrue(securityService.isStatusAllowedForRole("BILLER", "Draft", HttpMethod.GET));
+
+    config.getSecurity().setRoleBasedAccessEnabled(false);
+    assertTrue(securityService.isStatusAllowedForRole("ROLE_PM", "Draft", HttpMethod.GET));
+    assertTrue(securityService.getAllowedStatusesForRole("ROLE_BILLER").isEmpty());
+  }
+
+  @Test
+  void allows_ShouldAgreeWithStreamLookupForEveryCombination() {
+    PermissionMatrix matrix = securityService.permissions();
+
+    for (String role : List.of("ROLE_PM", "ROLE_BA", "ROLE_MANAGER", "PM", "ROLE_UNKNOWN")) {
+      for (String status : STATUSES) {
+        for (HttpMethod method : HttpMethod.values()) {
+          assertEquals(
+              streamLookup(role, status, method),
+              matrix.allows(role, status, method),
+              role + " " + status + " " + method);
+        }
+      }
+    }
+  }
+
+  /**
+   * Micro-benchmark of the per-request check: the matrix lookup against the stream lookup over
+   * the configuration it replaced. Allocation is what the event loop pays for, and it does not
+   * depend on the machine the way time does.
+   */
+  @Test
+  void allows_ShouldAllocateFarLessThanStreamLookup() {
+    PermissionMatrix matrix = securityService.permissions();
+    int iterations = 200_000;
+
+    long streamBytes =
+        allocatedBytes(
+            () -> streamLookup("ROLE_BA", "Internal Review", HttpMethod.PUT), iterations);
+    long matrixBytes =
+        allocatedBytes(
+            () -> matrix.allows("ROLE_BA", "Internal Review", HttpMethod.PUT), iterations);
+
+    assertTrue(
+        matrixBytes * 20 < streamBytes,
+        "matrix allocated " + matrixBytes + " bytes, stream lookup " + streamBytes + " bytes");
+  }
+
+  private static long allocatedBytes(BooleanSupplier check, int iterations) {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    boolean result = false;
+    // Warm up, so that both paths are measured compiled
+    for (int i = 0; i < iterations; i++) {
+      result ^= check.getAsBoolean();
+    }
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < iterations; i++) {
+      result ^= check.getAsBoolean();
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+    sink = result;
+    return allocated;
+  }
+
+  /** The lookup the matrix replaced: a stream over the configuration on every check */
+  private boolean streamLookup(String role, String status, HttpMethod method) {
+    return config.getSecurity().getPermissions().stream()
+        .filter(
+            permission -> {
+              String userRole =
+                  role.startsWith(SecurityConstants.ROLE_PREFIX)
+                      ? role
+                      : SecurityConstants.ROLE_PREFIX + role;
+              String configRole =
+                  permission.getRole().startsWith(SecurityConstants.ROLE_PREFIX)
+                      ? permission.getRole()
+                      : SecurityConstants.ROLE_PREFIX + permission.getRole();
+              return userRole.equals(configRole);
+            })
+        .flatMap(permission -> permission.getAllowedStatuses().stream())
+        .filter(statusPermission -> statusPermission.getStatus().equalsIgnoreCase(status))
+        .anyMatch(
+            statusPermission ->
+                statusPermission.getMethods().stream()
+                    .anyMatch(m -> m.equalsIgnoreCase(method.name())));
+  }
+
+  private static List<Permission> configuredPermissions() {
+    List<Permission> permissions = new ArrayList<>();
+    Permission pm = new Permission();
+    pm.setRole("PM");
+    Permission ba = new Permission();
+    ba.setRole("BA");
+    for (String status : STATUSES) {
+      pm.getAllowedStatuses()
+          .add(
+              "Submit".equals(status)
+                  ? status(status, "GET", "PATCH")
+                  : status(status, "GET", "POST", "PUT", "PATCH"));
+      ba.getAllowedStatuses()
+          .add(
+              "Internal Review".equals(status)
+                  ? status(status, "GET", "POST", "PUT")
+                  : status(status, "GET"));
+    }
+    permissions.add(pm);
+    permissions.add(ba);
+    permissions.add(permission("MANAGER", "Signed Off", "GET"));
+    return permissions;
+  }
+
+  private static Permission permission(String role, String status, String... methods) {
+    Permission permission = new Permission();
+    permission.setRole(role);
+    permission.getAllowedStatuses().add(status(status, methods));
+    return permission;
+  }
+
+  private static StatusPermission status(String status, String... methods) {
+    StatusPermission statusPermission = new StatusPermission();
+    statusPermission.setStatus(status);
+    statusPermission.setMethods(List.of(methods));
+    return statusPermission;
+  }
+}
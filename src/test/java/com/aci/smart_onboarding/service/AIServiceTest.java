@@ -1,6 +1,10 @@
 package com.aci.smart_onboarding.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -8,14 +12,27 @@ import com.aci.ai.factory.AIServiceFactory;
 import com.aci.ai.services.IContextProvider;
 import com.aci.ai.services.RxAIEmbeddings;
 import com.aci.ai.services.RxAIService;
+import com.aci.smart_onboarding.config.AiGovernorProperties;
 import com.aci.smart_onboarding.service.implementation.AIService;
+import com.aci.smart_onboarding.service.implementation.AiRequestGovernor;
+import com.aci.smart_onboarding.service.implementation.PromptCatalog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -31,6 +48,12 @@ class AIServiceTest {
 
   @Mock private RxAIEmbeddings reactiveAIEmbeddings;
 
+  @Spy
+  private AiRequestGovernor aiRequestGovernor =
+      new AiRequestGovernor(new AiGovernorProperties(), new SimpleMeterRegistry());
+
+  @Spy private PromptCatalog promptCatalog = prompts();
+
   @InjectMocks private AIService aiService;
 
   @Test
@@ -49,14 +72,15 @@ class AIServiceTest {
   }
 
   @Test
-  void generateAnswerAsStream_WithValidInput_ShouldReturnAnswerStream() {
+  void generateAnswerAsStream_WithValidInput_ShouldSendRenderedPrompt() {
     // Given
     String question = "test question";
     String context = "test context";
-    String contextName = "test";
+    String contextName = "chat";
+    String prompt = "You are a chat assistant. Context: test context. Question: test question";
 
     when(aiServiceFactory.getReactiveAIService()).thenReturn(reactiveAIService);
-    when(reactiveAIService.generateAnswerAsStream(question, context))
+    when(reactiveAIService.generateAnswerAsStream(prompt, ""))
         .thenReturn(Flux.just("Answer", "stream", "response"));
 
     // When
@@ -69,19 +93,21 @@ class AIServiceTest {
         .expectNext("response")
         .verifyComplete();
 
-    verify(contextProvider).setContextName(contextName);
+    verify(contextProvider).setContextName(PromptCatalog.ROUTED_CONTEXT);
+    verify(contextProvider, never()).setContextName(contextName);
   }
 
   @Test
-  void generateAnswer_WithValidInput_ShouldReturnAnswer() {
+  void generateAnswer_WithValidInput_ShouldSendRenderedPrompt() {
     // Given
     String question = "test question";
     String context = "test context";
-    String contextName = "test";
+    String contextName = "decision";
     String expectedAnswer = "test answer";
+    String prompt = "Answer YES or NO to test question given test context";
 
     when(aiServiceFactory.getReactiveAIService()).thenReturn(reactiveAIService);
-    when(reactiveAIService.generateAnswer(question, context)).thenReturn(Mono.just(expectedAnswer));
+    when(reactiveAIService.generateAnswer(prompt, "")).thenReturn(Mono.just(expectedAnswer));
 
     // When
     Mono<String> result = aiService.generateAnswer(question, context, contextName);
@@ -89,8 +115,72 @@ class AIServiceTest {
     // Then
     StepVerifier.create(result).expectNext(expectedAnswer).verifyComplete();
 
-    verify(contextProvider).setContextName(contextName);
+    verify(contextProvider, never()).setContextName(contextName);
     verify(aiServiceFactory).getReactiveAIService();
-    verify(reactiveAIService).generateAnswer(question, context);
+    verify(reactiveAIService).generateAnswer(prompt, "");
+  }
+
+  @Test
+  void generateAnswer_WithUnknownContextName_ShouldSendQuestionAndContext() {
+    when(aiServiceFactory.getReactiveAIService()).thenReturn(reactiveAIService);
+    when(reactiveAIService.generateAnswer("question\n\ncontext", ""))
+        .thenReturn(Mono.just("answer"));
+
+    StepVerifier.create(aiService.generateAnswer("question", "context", "uat_field_search"))
+        .expectNext("answer")
+        .verifyComplete();
+  }
+
+  @Test
+  void generateAnswer_ConcurrentCallsWithDifferentContexts_ShouldNeverCrossPrompts() {
+    // Like the AI library, the provider reads the shared context name when the call runs
+    AtomicReference<String> sharedContextName = new AtomicReference<>();
+    IContextProvider sharedContextProvider = mock(IContextProvider.class);
+    doAnswer(
+            invocation -> {
+              sharedContextName.set(invocation.getArgument(0));
+              return null;
+            })
+        .when(sharedContextProvider)
+        .setContextName(anyString());
+    when(aiServiceFactory.getReactiveAIService()).thenReturn(reactiveAIService);
+    when(reactiveAIService.generateAnswer(anyString(), anyString()))
+        .thenAnswer(
+            invocation ->
+                Mono.delay(Duration.ofMillis(ThreadLocalRandom.current().nextInt(3)))
+                    .map(tick -> sharedContextName.get() + "|" + invocation.getArgument(0)));
+    AIService service =
+        new AIService(aiServiceFactory, sharedContextProvider, aiRequestGovernor, promptCatalog);
+    List<String> contextNames = List.of("chat", "decision", "summary");
+
+    Map<Integer, String> answers =
+        Flux.range(0, 300)
+            .flatMap(
+                i ->
+                    service
+                        .generateAnswer(
+                            "question " + i, "context " + i, contextNames.get(i % 3))
+                        .map(answer -> Map.entry(i, answer)),
+                300)
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .block(Duration.ofSeconds(30));
+
+    assertEquals(300, answers.size());
+    answers.forEach(
+        (i, answer) ->
+            assertEquals(
+                PromptCatalog.ROUTED_CONTEXT
+                    + "|"
+                    + promptCatalog.render(
+                        contextNames.get(i % 3), "question " + i, "context " + i),
+                answer));
+  }
+
+  private static PromptCatalog prompts() {
+    try {
+      return new PromptCatalog(new DefaultResourceLoader(), new ObjectMapper());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 }
@@ -2,22 +2,31 @@ package com.aci.smart_onboarding.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.aci.smart_onboarding.config.VectorIndexProperties;
+import com.aci.smart_onboarding.config.VectorStorageProperties;
+import com.aci.smart_onboarding.enums.VectorStorageFormat;
 import com.aci.smart_onboarding.model.Artifact;
+import com.aci.smart_onboarding.model.EmbeddingVector;
 import com.aci.smart_onboarding.repository.ArtifactRepository;
 import com.aci.smart_onboarding.service.implementation.ArtifactService;
+import com.aci.smart_onboarding.service.implementation.LocalVectorIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
@@ -32,12 +41,22 @@ class ArtifactServiceTest {
 
   @Mock private ReactiveMongoTemplate reactiveMongoTemplate;
 
+  // Default properties answer every search from Atlas, so the index never touches MongoDB here
+  @Spy
+  private LocalVectorIndex localVectorIndex =
+      new LocalVectorIndex(
+          null,
+          new VectorIndexProperties(),
+          new VectorStorageProperties(),
+          new SimpleMeterRegistry());
+
+  @Spy private VectorStorageProperties vectorStorageProperties = new VectorStorageProperties();
+
   @InjectMocks private ArtifactService artifactService;
 
   private Artifact artifact1;
   private Artifact artifact2;
   private List<Double> testVector;
-  private double[] testVectorArray;
   private String testDocumentId;
   private String testCollectionId;
   private String testDocumentName;
@@ -48,7 +67,6 @@ class ArtifactServiceTest {
     testCollectionId = "test-collection-id";
     testDocumentName = "test-doc-name";
     testVector = Arrays.asList(0.1, 0.2, 0.3);
-    testVectorArray = testVector.stream().mapToDouble(Double::doubleValue).toArray();
 
     artifact1 = new Artifact();
     artifact1.setId("1");
@@ -56,7 +74,7 @@ class ArtifactServiceTest {
     artifact1.setDocumentId(testDocumentId);
     artifact1.setCollectionId(testCollectionId);
     artifact1.setDocumentName(testDocumentName);
-    artifact1.setVector(testVectorArray);
+    artifact1.setVector(EmbeddingVector.of(testVector));
 
     artifact2 = new Artifact();
     artifact2.setId("2");
@@ -64,7 +82,7 @@ class ArtifactServiceTest {
     artifact2.setDocumentId(testDocumentId);
     artifact2.setCollectionId(testCollectionId);
     artifact2.setDocumentName(testDocumentName);
-    artifact2.setVector(testVectorArray);
+    artifact2.setVector(EmbeddingVector.of(testVector));
   }
 
   @Test
@@ -228,6 +246,30 @@ class ArtifactServiceTest {
         .aggregate(any(TypedAggregation.class), eq(Artifact.class), eq(Artifact.class));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void performVectorSearch_WithInt8Storage_ShouldQuantizeQueryAndSkipVectors() {
+    // Given
+    vectorStorageProperties.setFormat(VectorStorageFormat.INT8);
+    when(reactiveMongoTemplate.aggregate(
+            any(TypedAggregation.class), eq(Artifact.class), eq(Artifact.class)))
+        .thenReturn(Flux.just(artifact1));
+
+    // When
+    StepVerifier.create(artifactService.performVectorSearch(testVector, 10))
+        .expectNext(artifact1)
+        .verifyComplete();
+
+    // Then
+    ArgumentCaptor<TypedAggregation<Artifact>> aggregation =
+        ArgumentCaptor.forClass(TypedAggregation.class);
+    verify(reactiveMongoTemplate)
+        .aggregate(aggregation.capture(), eq(Artifact.class), eq(Artifact.class));
+    String pipeline = aggregation.getValue().toString();
+    assertTrue(pipeline.contains("\"subType\": \"09\""));
+    assertTrue(pipeline.contains("{\"$project\": {\"vector\": 0}}"));
+  }
+
   @Test
   void performVectorSearch_WithValidVectorAndDocumentName_ShouldReturnMatchingArtifacts() {
     // Given
@@ -11,10 +11,12 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.aci.ai.services.IContextProvider;
+import com.aci.smart_onboarding.config.PrefillProperties;
+import com.aci.smart_onboarding.config.SummaryCacheProperties;
 import com.aci.smart_onboarding.dto.*;
 import com.aci.smart_onboarding.enums.ContextName;
 import com.aci.smart_onboarding.exception.AIServiceException;
@@ -23,12 +25,16 @@ import com.aci.smart_onboarding.model.*;
 import com.aci.smart_onboarding.repository.BRDRepository;
 import com.aci.smart_onboarding.repository.WalletronRepository;
 import com.aci.smart_onboarding.service.implementation.AssistantService;
+import com.aci.smart_onboarding.service.implementation.PrefillCache;
+import com.aci.smart_onboarding.service.implementation.PrefillSession;
+import com.aci.smart_onboarding.service.implementation.SummaryCache;
 import com.aci.smart_onboarding.util.brd_form.AgentPortalConfig;
 import com.aci.smart_onboarding.util.walletron.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +42,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -57,8 +64,6 @@ class AssistantServiceTest {
 
   @Mock private IArtifactService artifactService;
 
-  @Mock private IContextProvider contextProvider;
-
   @Mock private IBrdTemplateService brdTemplateService;
 
   @Mock private BRDRepository brdRepository;
@@ -69,8 +74,30 @@ class AssistantServiceTest {
 
   @Mock private ObjectMapper objectMapper;
 
+  // Disabled, so every summary goes to the model as before
+  @Spy private SummaryCache summaryCache = disabledSummaryCache();
+
+  @Spy private PrefillProperties prefillProperties = disabledPrefillCacheProperties();
+
+  // Disabled as well, so every prefilled section goes to the model
+  @Spy
+  private PrefillCache prefillCache =
+      new PrefillCache(null, prefillProperties, new SimpleMeterRegistry());
+
   @InjectMocks private AssistantService assistantService;
 
+  private static SummaryCache disabledSummaryCache() {
+    SummaryCacheProperties properties = new SummaryCacheProperties();
+    properties.setEnabled(false);
+    return new SummaryCache(null, properties, new SimpleMeterRegistry());
+  }
+
+  private static PrefillProperties disabledPrefillCacheProperties() {
+    PrefillProperties properties = new PrefillProperties();
+    properties.setCacheEnabled(false);
+    return properties;
+  }
+
   @BeforeEach
   void setUp() {
     ObjectNode mockObjectNode = new ObjectMapper().createObjectNode();
@@ -98,7 +125,8 @@ class AssistantServiceTest {
         .expectNext("response")
         .verifyComplete();
 
-    verify(contextProvider).setContextName(ContextName.CHAT.name());
+    verify(aiService)
+        .generateAnswerAsStream(question, additionalContext, ContextName.CHAT.getPrompt());
   }
 
   @Test
@@ -150,7 +178,6 @@ class AssistantServiceTest {
         .expectNext("Key points of the document")
         .verifyComplete();
 
-    verify(contextProvider).setContextName(ContextName.SUMMARY.name());
     verify(artifactService).findByDocumentName(documentName);
     verify(aiService)
         .generateAnswerAsStream(question, expectedContext, ContextName.SUMMARY.getPrompt());
@@ -215,7 +242,7 @@ class AssistantServiceTest {
     // Then
     StepVerifier.create(result).expectNext("Chat response").verifyComplete();
 
-    verify(contextProvider).setContextName(ContextName.CHAT.name());
+    verify(aiService).generateAnswer(question, additionalContext, ContextName.CHAT.getPrompt());
   }
 
   @Test
@@ -319,7 +346,6 @@ class AssistantServiceTest {
     StepVerifier.create(result).expectNext("Based on the requirements...").verifyComplete();
 
     // Verify all interactions
-    verify(contextProvider).setContextName(ContextName.DECISION.name());
     verify(aiService).getEmbeddings(question);
     verify(artifactService).performVectorSearch(embeddings, 5, documentName);
     verify(aiService).generateAnswer(question, expectedContext, "decision");
@@ -348,7 +374,6 @@ class AssistantServiceTest {
         .verifyComplete();
 
     // Verify all interactions
-    verify(contextProvider).setContextName(ContextName.DECISION.name());
     verify(aiService).getEmbeddings(question);
     verify(artifactService).performVectorSearch(embeddings, 5, documentName);
   }
@@ -560,7 +585,6 @@ class AssistantServiceTest {
         .verifyComplete();
 
     // Verify all interactions
-    verify(contextProvider).setContextName(ContextName.DECISION.name());
     verify(aiService).getEmbeddings(question);
     verify(artifactService).performVectorSearch(embeddings, 5, documentName);
   }
@@ -677,6 +701,31 @@ class AssistantServiceTest {
         .verifyComplete();
   }
 
+  @Test
+  void generateBRDSummary_TokenLimitExceededMidStream_DoesNotRestartSummary()
+      throws JsonProcessingException {
+    String brdId = "test-brd-id";
+    BRD mockBrd = new BRD();
+    BRDSummaryRequest request = new BRDSummaryRequest();
+    request.setAgentPortal(new AgentPortalConfig());
+
+    when(brdRepository.findByBrdId(brdId)).thenReturn(Mono.just(mockBrd));
+    when(modelMapper.map(mockBrd, BRDSummaryRequest.class)).thenReturn(request);
+    when(objectMapper.writeValueAsString(any())).thenReturn("json");
+    when(aiService.generateAnswerAsStream(anyString(), anyString(), anyString()))
+        .thenReturn(
+            Flux.concat(
+                Flux.just("Partial summary"),
+                Flux.error(new TokenLimitExceededException("Token limit exceeded"))));
+
+    StepVerifier.create(assistantService.generateBRDSummary(brdId))
+        .assertNext(response -> assertEquals("Partial summary", response.getSummary()))
+        .expectError(TokenLimitExceededException.class)
+        .verify();
+
+    verify(aiService, times(1)).generateAnswerAsStream(anyString(), anyString(), anyString());
+  }
+
   @Test
   void generateBRDSummary_TokenLimitExceededNoRetry_ReturnsFailedResponse()
       throws JsonProcessingException {
@@ -742,6 +791,38 @@ class AssistantServiceTest {
         .verify();
   }
 
+  @Test
+  void generateBRDSummary_ShouldGoThroughSummaryCacheForTheBrd() {
+    String brdId = "test-brd-id";
+    BRD mockBrd = new BRD();
+    when(brdRepository.findByBrdId(brdId)).thenReturn(Mono.just(mockBrd));
+    when(modelMapper.map(mockBrd, BRDSummaryRequest.class)).thenReturn(new BRDSummaryRequest());
+    when(aiService.generateAnswerAsStream(anyString(), anyString(), anyString()))
+        .thenReturn(Flux.just("Summary", " part"));
+
+    StepVerifier.create(assistantService.generateBRDSummary(brdId))
+        .expectNextMatches(response -> response.getSummary().equals("Summary"))
+        .expectNextMatches(response -> response.getSummary().equals(" part"))
+        .verifyComplete();
+
+    verify(summaryCache).summary(eq("brd:" + brdId), anyList(), anyList(), any());
+  }
+
+  @Test
+  void handleSummaryStreaming_ShouldGoThroughSummaryCacheForTheDocument() {
+    List<String> chunks = List.of("chunk 1", "chunk 2");
+    when(artifactService.findByDocumentName("contract")).thenReturn(Mono.just(chunks));
+    when(aiService.generateAnswerAsStream(anyString(), anyString(), anyString()))
+        .thenReturn(Flux.just("Summary"));
+
+    StepVerifier.create(
+            assistantService.askStreamingAssistant("question", ContextName.SUMMARY, "contract"))
+        .expectNext("Summary")
+        .verifyComplete();
+
+    verify(summaryCache).summary(eq("document:contract"), eq(chunks), anyList(), any());
+  }
+
   @Test
   void generateBRDSummary_BrdNotFound_ReturnsError() {
     String brdId = "non-existent-brd";
@@ -925,6 +1006,33 @@ class AssistantServiceTest {
         .verifyComplete();
   }
 
+  @Test
+  void prefillBRDProcessJson_InOneSession_ShouldEmbedAndSearchEachSectionOnce() {
+    ObjectNode form = new ObjectMapper().createObjectNode();
+    form.putObject("clientInformation").put("companyName", "");
+    form.putObject("agentPortal").put("companyName", "");
+    List<String> documentNames = List.of("doc1");
+
+    when(aiService.getEmbeddings(anyString())).thenReturn(Mono.just(List.of(0.1, 0.2)));
+    when(artifactService.performVectorSearch(anyList(), anyInt(), anyString()))
+        .thenReturn(Flux.empty());
+
+    // Two sites prefilled from the same form, sharing one session
+    Mono<List<JsonNode>> sites =
+        Flux.concat(
+                assistantService.prefillBRDProcessJson(form, documentNames),
+                assistantService.prefillBRDProcessJson(form, documentNames))
+            .collectList()
+            .contextWrite(PrefillSession.shared());
+
+    StepVerifier.create(sites)
+        .assertNext(prefilled -> assertEquals(List.of(form, form), prefilled))
+        .verifyComplete();
+
+    verify(aiService, Mockito.times(1)).getEmbeddings("{\"companyName\":\"\"}");
+    verify(artifactService, Mockito.times(1)).performVectorSearch(anyList(), anyInt(), eq("doc1"));
+  }
+
   @Test
   void prefillBRDProcessJson_WithMatchingArtifacts_ReturnsUpdatedNode()
       throws JsonProcessingException {
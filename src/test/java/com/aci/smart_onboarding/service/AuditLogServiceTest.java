@@ -1,33 +1,42 @@
 package com.aci.smart_onboarding.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.aci.smart_onboarding.constants.BrdConstants;
-import com.aci.smart_onboarding.dto.Api;
 import com.aci.smart_onboarding.dto.AuditLogRequest;
 import com.aci.smart_onboarding.dto.AuditLogResponse;
 import com.aci.smart_onboarding.mapper.DtoModelMapper;
 import com.aci.smart_onboarding.model.AuditLog;
-import com.aci.smart_onboarding.repository.AuditLogRepository;
+import com.aci.smart_onboarding.model.BrdStatusEvent;
 import com.aci.smart_onboarding.service.implementation.AuditLogService;
+import com.aci.smart_onboarding.service.implementation.AuditLogWriter;
+import com.aci.smart_onboarding.service.implementation.AuditStatusProjector;
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import org.bson.types.ObjectId;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -35,7 +44,9 @@ import reactor.test.StepVerifier;
 @ExtendWith(MockitoExtension.class)
 class AuditLogServiceTest {
 
-  @Mock private AuditLogRepository auditLogRepository;
+  @Mock private AuditLogWriter auditLogWriter;
+
+  @Mock private AuditStatusProjector auditStatusProjector;
 
   @Mock private DtoModelMapper dtoModelMapper;
 
@@ -102,23 +113,32 @@ class AuditLogServiceTest {
   }
 
   @Test
-  void logCreation_WithValidRequest_ShouldReturn201() {
+  void logCreation_WithValidRequest_ShouldJournalAndReturn201() {
     // Arrange
-    when(dtoModelMapper.mapToAuditLog(any(AuditLogRequest.class))).thenReturn(auditLog);
-    when(auditLogRepository.save(any(AuditLog.class))).thenReturn(Mono.just(auditLog));
-    when(dtoModelMapper.mapToAuditLogResponse(any(AuditLog.class))).thenReturn(auditLogResponse);
+    when(auditLogWriter.submit(any(AuditLog.class))).thenReturn(Mono.empty());
 
     // Act & Assert
     StepVerifier.create(auditLogService.logCreation(validRequest))
-        .expectNext(
-            ResponseEntity.status(HttpStatus.CREATED)
-                .body(
-                    new Api<>(
-                        "SUCCESS",
-                        "Audit log created successfully",
-                        Optional.of(auditLogResponse),
-                        Optional.empty())))
+        .assertNext(
+            response -> {
+              assertEquals(HttpStatus.CREATED, response.getStatusCode());
+              AuditLogResponse body = response.getBody().getData().orElseThrow();
+              assertNotNull(body.getAuditId());
+              assertEquals("BRD123", body.getEntityId());
+              assertEquals(newValues, body.getNewValues());
+            })
         .verifyComplete();
+
+    ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+    verify(auditLogWriter).submit(captor.capture());
+    AuditLog queued = captor.getValue();
+    assertTrue(ObjectId.isValid(queued.getAuditId()));
+    assertEquals("BRD", queued.getEntityType());
+    assertEquals("UPDATE", queued.getAction());
+    assertEquals("John Doe", queued.getUserName());
+    assertEquals(testTimestamp, queued.getEventTimestamp());
+    assertEquals(oldValues, queued.getOldValues());
+    verifyNoInteractions(dtoModelMapper, reactiveMongoTemplate);
   }
 
   @Test
@@ -130,73 +150,15 @@ class AuditLogServiceTest {
                 throwable instanceof Exception
                     && throwable.getMessage().contains("Something went wrong"))
         .verify();
-  }
-
-  @Test
-  void logCreation_WithNullEntityType_ShouldReturn400() {
-    // Arrange
-    AuditLogRequest invalidRequest =
-        AuditLogRequest.builder()
-            .entityType(null)
-            .entityId("BRD123")
-            .action("UPDATE")
-            .userId("USER123")
-            .userName("John Doe")
-            .eventTimestamp(testTimestamp)
-            .build();
-
-    when(dtoModelMapper.mapToAuditLog(invalidRequest)).thenReturn(null);
-
-    // Act & Assert
-    StepVerifier.create(auditLogService.logCreation(invalidRequest))
-        .expectErrorMatches(
-            throwable ->
-                throwable instanceof Exception
-                    && throwable.getMessage().contains("Something went wrong")
-                    && throwable.getMessage().contains("null value"))
-        .verify();
-  }
-
-  @Test
-  void logCreation_WithDatabaseError_ShouldReturn500() {
-    // Arrange
-    when(dtoModelMapper.mapToAuditLog(any(AuditLogRequest.class))).thenReturn(auditLog);
-    when(auditLogRepository.save(any(AuditLog.class)))
-        .thenReturn(Mono.error(new RuntimeException("Database error")));
-
-    // Act & Assert
-    StepVerifier.create(auditLogService.logCreation(validRequest))
-        .expectErrorMatches(
-            throwable ->
-                throwable instanceof Exception
-                    && throwable.getMessage().contains("Something went wrong")
-                    && throwable.getMessage().contains("Database error"))
-        .verify();
-  }
-
-  @Test
-  void logCreation_WithMapperError_ShouldReturn500() {
-    // Arrange
-    when(dtoModelMapper.mapToAuditLog(any(AuditLogRequest.class)))
-        .thenThrow(new RuntimeException("Mapping error"));
 
-    // Act & Assert
-    StepVerifier.create(auditLogService.logCreation(validRequest))
-        .expectErrorMatches(
-            throwable ->
-                throwable instanceof Exception
-                    && throwable.getMessage().contains("Something went wrong")
-                    && throwable.getMessage().contains("Mapping error"))
-        .verify();
+    verifyNoInteractions(auditLogWriter);
   }
 
   @Test
-  void logCreation_WithResponseMappingError_ShouldReturn500() {
+  void logCreation_WithWriterError_ShouldReturn500() {
     // Arrange
-    when(dtoModelMapper.mapToAuditLog(any(AuditLogRequest.class))).thenReturn(auditLog);
-    when(auditLogRepository.save(any(AuditLog.class))).thenReturn(Mono.just(auditLog));
-    when(dtoModelMapper.mapToAuditLogResponse(any(AuditLog.class)))
-        .thenThrow(new RuntimeException("Response mapping error"));
+    when(auditLogWriter.submit(any(AuditLog.class)))
+        .thenReturn(Mono.error(new IOException("Journal error")));
 
     // Act & Assert
     StepVerifier.create(auditLogService.logCreation(validRequest))
@@ -204,13 +166,14 @@ class AuditLogServiceTest {
             throwable ->
                 throwable instanceof Exception
                     && throwable.getMessage().contains("Something went wrong")
-                    && throwable.getMessage().contains("Response mapping error"))
+                    && throwable.getMessage().contains("Journal error"))
         .verify();
   }
 
   @Test
   void logCreation_WithOptionalFieldsNull_Returns201() {
     // Arrange
+    when(auditLogWriter.submit(any(AuditLog.class))).thenReturn(Mono.empty());
     AuditLogRequest requestWithoutOptionals =
         AuditLogRequest.builder()
             .entityType("BRD")
@@ -221,20 +184,58 @@ class AuditLogServiceTest {
             .eventTimestamp(testTimestamp)
             .build();
 
-    when(dtoModelMapper.mapToAuditLog(any(AuditLogRequest.class))).thenReturn(auditLog);
-    when(auditLogRepository.save(any(AuditLog.class))).thenReturn(Mono.just(auditLog));
-    when(dtoModelMapper.mapToAuditLogResponse(any(AuditLog.class))).thenReturn(auditLogResponse);
-
     // Act & Assert
     StepVerifier.create(auditLogService.logCreation(requestWithoutOptionals))
-        .expectNext(
-            ResponseEntity.status(HttpStatus.CREATED)
-                .body(
-                    new Api<>(
-                        "SUCCESS",
-                        "Audit log created successfully",
-                        Optional.of(auditLogResponse),
-                        Optional.empty())))
+        .assertNext(
+            response -> {
+              assertEquals(HttpStatus.CREATED, response.getStatusCode());
+              AuditLogResponse body = response.getBody().getData().orElseThrow();
+              assertNull(body.getComment());
+              assertNull(body.getOldValues());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void logCreations_ShouldQueueAllEntriesTogether() {
+    AuditLogRequest secondRequest = AuditLogRequest.builder().entityId("BRD456").build();
+    when(auditLogWriter.submitAll(anyList())).thenReturn(Mono.empty());
+
+    StepVerifier.create(auditLogService.logCreations(List.of(validRequest, secondRequest)))
+        .verifyComplete();
+
+    ArgumentCaptor<List<AuditLog>> captor = auditLogBatch();
+    verify(auditLogWriter).submitAll(captor.capture());
+    assertEquals(2, captor.getValue().size());
+    assertEquals("BRD123", captor.getValue().get(0).getEntityId());
+    assertEquals("BRD456", captor.getValue().get(1).getEntityId());
+    assertTrue(ObjectId.isValid(captor.getValue().get(1).getAuditId()));
+  }
+
+  @Test
+  void findByEntityIdAndAction_ShouldIncludeEntriesAwaitingFlush() {
+    // Arrange
+    AuditLog queued = new AuditLog();
+    queued.setAuditId("AUDIT456");
+    queued.setEntityId("BRD123");
+    queued.setAction("UPDATE");
+    queued.setEventTimestamp(testTimestamp.plusMinutes(1));
+
+    AuditLog otherEntity = new AuditLog();
+    otherEntity.setAuditId("AUDIT789");
+    otherEntity.setEntityId("BRD999");
+    otherEntity.setAction("UPDATE");
+
+    // AUDIT123 is both persisted and still in flight; it must only be returned once
+    when(reactiveMongoTemplate.find(any(Query.class), eq(AuditLog.class)))
+        .thenReturn(Flux.just(auditLog));
+    when(dtoModelMapper.mapToAuditLogResponse(auditLog)).thenReturn(auditLogResponse);
+    when(auditLogWriter.pending()).thenReturn(List.of(auditLog, queued, otherEntity));
+
+    // Act & Assert
+    StepVerifier.create(auditLogService.findByEntityIdAndAction("BRD123", "UPDATE"))
+        .expectNext(auditLogResponse)
+        .assertNext(response -> assertEquals("AUDIT456", response.getAuditId()))
         .verifyComplete();
   }
 
@@ -245,65 +246,18 @@ class AuditLogServiceTest {
     LocalDateTime midTime = LocalDateTime.of(2022, 6, 15, 12, 0);
     LocalDateTime newTime = LocalDateTime.of(2023, 1, 1, 14, 0);
 
-    // Create audit logs with timestamps in mixed order to verify sorting
-    AuditLog oldAuditLog = new AuditLog();
-    oldAuditLog.setEntityId("BRD123");
-    oldAuditLog.setAction(BrdConstants.ACTION_STATUS_UPDATE);
-    oldAuditLog.setEventTimestamp(oldTime);
-    oldAuditLog.setUserName("User 1");
-    oldAuditLog.setUserRole("Role 1");
-
-    AuditLog midAuditLog = new AuditLog();
-    midAuditLog.setEntityId("BRD123");
-    midAuditLog.setAction(BrdConstants.ACTION_CREATE);
-    midAuditLog.setEventTimestamp(midTime);
-    midAuditLog.setUserName("User 2");
-    midAuditLog.setUserRole("Role 2");
-
-    AuditLog newAuditLog = new AuditLog();
-    newAuditLog.setEntityId("BRD123");
-    newAuditLog.setAction(BrdConstants.ACTION_STATUS_UPDATE);
-    newAuditLog.setEventTimestamp(newTime);
-    newAuditLog.setUserName("User 3");
-    newAuditLog.setUserRole("Role 3");
-
-    // Create corresponding responses
-    AuditLogResponse oldResponse = new AuditLogResponse();
-    oldResponse.setEntityId("BRD123");
-    oldResponse.setAction(BrdConstants.ACTION_STATUS_UPDATE);
-    oldResponse.setEventTimestamp(oldTime);
-    oldResponse.setUserName("User 1");
-    oldResponse.setUserRole("Role 1");
-    Map<String, Object> oldNewValues = new HashMap<>();
-    oldNewValues.put("status", "DRAFT");
-    oldResponse.setNewValues(oldNewValues);
-
-    AuditLogResponse midResponse = new AuditLogResponse();
-    midResponse.setEntityId("BRD123");
-    midResponse.setAction(BrdConstants.ACTION_CREATE);
-    midResponse.setEventTimestamp(midTime);
-    midResponse.setUserName("User 2");
-    midResponse.setUserRole("Role 2");
-
-    AuditLogResponse newResponse = new AuditLogResponse();
-    newResponse.setEntityId("BRD123");
-    newResponse.setAction(BrdConstants.ACTION_STATUS_UPDATE);
-    newResponse.setEventTimestamp(newTime);
-    newResponse.setUserName("User 3");
-    newResponse.setUserRole("Role 3");
-    Map<String, Object> newNewValues = new HashMap<>();
-    newNewValues.put("status", "APPROVED");
-    newResponse.setNewValues(newNewValues);
-
-    // Mock the ReactiveMongoTemplate find method to return our audit logs
-    // Use any() matcher instead of trying to match on Query toString()
-    when(reactiveMongoTemplate.find(any(Query.class), eq(AuditLog.class)))
-        .thenReturn(Flux.just(newAuditLog, oldAuditLog), Flux.just(midAuditLog));
+    // Create status events with timestamps in mixed order to verify sorting
+    BrdStatusEvent oldEvent = statusEvent(BrdConstants.ACTION_STATUS_UPDATE, oldTime, "DRAFT", 1);
+    BrdStatusEvent midEvent = statusEvent(BrdConstants.ACTION_CREATE, midTime, null, 2);
+    BrdStatusEvent newEvent =
+        statusEvent(BrdConstants.ACTION_STATUS_UPDATE, newTime, "APPROVED", 3);
 
-    // Mock the mapper to return our prepared responses
-    when(dtoModelMapper.mapToAuditLogResponse(oldAuditLog)).thenReturn(oldResponse);
-    when(dtoModelMapper.mapToAuditLogResponse(midAuditLog)).thenReturn(midResponse);
-    when(dtoModelMapper.mapToAuditLogResponse(newAuditLog)).thenReturn(newResponse);
+    // Status history is read from the projected status events
+    when(auditStatusProjector.findStatusEvents(
+            "BRD123", List.of(BrdConstants.ACTION_STATUS_UPDATE)))
+        .thenReturn(Flux.just(newEvent, oldEvent));
+    when(auditStatusProjector.findStatusEvents("BRD123", List.of(BrdConstants.ACTION_CREATE)))
+        .thenReturn(Flux.just(midEvent));
 
     // Format the expected timestamps the same way as in StatusHistoryResponse
     DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMM d, yyyy, h:mm a");
@@ -345,4 +299,22 @@ class AuditLogServiceTest {
             })
         .verifyComplete();
   }
+
+  private static BrdStatusEvent statusEvent(
+      String action, LocalDateTime eventTimestamp, String status, int user) {
+    return BrdStatusEvent.builder()
+        .auditId(new ObjectId().toHexString())
+        .entityId("BRD123")
+        .action(action)
+        .status(status)
+        .userName("User " + user)
+        .userRole("Role " + user)
+        .eventTimestamp(eventTimestamp)
+        .build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<List<AuditLog>> auditLogBatch() {
+    return ArgumentCaptor.forClass(List.class);
+  }
 }
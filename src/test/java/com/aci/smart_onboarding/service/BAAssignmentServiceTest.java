@@ -2,30 +2,31 @@ package com.aci.smart_onboarding.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import com.aci.smart_onboarding.constants.BrdConstants;
 import com.aci.smart_onboarding.constants.SecurityConstants;
-import com.aci.smart_onboarding.dto.Api;
 import com.aci.smart_onboarding.dto.AssignBARequest;
 import com.aci.smart_onboarding.dto.AssignBAResponse;
 import com.aci.smart_onboarding.dto.BAReassignmentRequest;
-import com.aci.smart_onboarding.dto.UserDetailResponse;
 import com.aci.smart_onboarding.exception.BAAssignmentException;
 import com.aci.smart_onboarding.exception.BadRequestException;
 import com.aci.smart_onboarding.exception.NotFoundException;
 import com.aci.smart_onboarding.model.BAAssignment;
 import com.aci.smart_onboarding.model.BRD;
+import com.aci.smart_onboarding.model.User;
 import com.aci.smart_onboarding.repository.BAAssignmentRepository;
 import com.aci.smart_onboarding.repository.BRDRepository;
 import com.aci.smart_onboarding.repository.UserRepository;
 import com.aci.smart_onboarding.service.implementation.BAAssignmentService;
+import com.aci.smart_onboarding.service.implementation.BrdReassignmentWriter;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -33,7 +34,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -49,7 +49,7 @@ class BAAssignmentServiceTest {
 
   @Mock private IEmailService emailService;
 
-  @Mock private IUserService userService;
+  @Mock private BrdReassignmentWriter brdReassignmentWriter;
 
   @Mock private UserRepository userRepository;
 
@@ -96,10 +96,12 @@ class BAAssignmentServiceTest {
             mockBrd.getBrdFormId(), validRequest.getStatus(), validRequest.getDescription()))
         .thenReturn(Mono.empty());
     when(emailService.sendBrdStatusChangeNotification(
-            validRequest.getBaEmail(),
-            mockBrd.getBrdId(),
-            mockBrd.getBrdName(),
-            mockBrd.getBrdFormId()))
+            eq(validRequest.getBaEmail()),
+            eq(mockBrd.getBrdId()),
+            eq(mockBrd.getBrdName()),
+            eq(mockBrd.getBrdFormId()),
+            eq(validRequest.getStatus()),
+            anyString()))
         .thenReturn(Mono.empty());
 
     // Act & Assert
@@ -121,10 +123,12 @@ class BAAssignmentServiceTest {
             mockBrd.getBrdFormId(), validRequest.getStatus(), validRequest.getDescription());
     verify(emailService, times(1))
         .sendBrdStatusChangeNotification(
-            validRequest.getBaEmail(),
-            mockBrd.getBrdId(),
-            mockBrd.getBrdName(),
-            mockBrd.getBrdFormId());
+            eq(validRequest.getBaEmail()),
+            eq(mockBrd.getBrdId()),
+            eq(mockBrd.getBrdName()),
+            eq(mockBrd.getBrdFormId()),
+            eq(validRequest.getStatus()),
+            anyString());
     verifyNoMoreInteractions(brdRepository, baAssignmentRepository, brdService, emailService);
   }
 
@@ -395,53 +399,18 @@ class BAAssignmentServiceTest {
                 .newBaUsername("ba2@example.com")
                 .build());
 
-    BAAssignment assignment1 = new BAAssignment();
-    assignment1.setBrdId("BRD-123");
-    assignment1.setBaEmail("oldba1@example.com");
-
-    BAAssignment assignment2 = new BAAssignment();
-    assignment2.setBrdId("BRD-124");
-    assignment2.setBaEmail("oldba2@example.com");
-
-    // Update test user responses with correct BA role
-    UserDetailResponse baResponse1 =
-        UserDetailResponse.builder()
-            .id("1")
-            .username("ba1@example.com")
-            .activeRole(SecurityConstants.ROLE_BA)
-            .roles(
-                Collections.singletonList(
-                    SecurityConstants.ROLE_PREFIX + SecurityConstants.ROLE_BA))
-            .build();
-
-    UserDetailResponse baResponse2 =
-        UserDetailResponse.builder()
-            .id("2")
-            .username("ba2@example.com")
-            .activeRole(SecurityConstants.ROLE_BA)
-            .roles(
-                Collections.singletonList(
-                    SecurityConstants.ROLE_PREFIX + SecurityConstants.ROLE_BA))
-            .build();
-
-    // Update API responses
-    Api<UserDetailResponse> baApiResponse1 = new Api<>();
-    baApiResponse1.setStatus(BrdConstants.SUCCESSFUL);
-    baApiResponse1.setData(Optional.of(baResponse1));
-
-    Api<UserDetailResponse> baApiResponse2 = new Api<>();
-    baApiResponse2.setStatus(BrdConstants.SUCCESSFUL);
-    baApiResponse2.setData(Optional.of(baResponse2));
-
-    // Update service mocks
-    when(userService.getUserByEmail("ba1@example.com"))
-        .thenReturn(Mono.just(ResponseEntity.ok(baApiResponse1)));
-    when(userService.getUserByEmail("ba2@example.com"))
-        .thenReturn(Mono.just(ResponseEntity.ok(baApiResponse2)));
-    when(baAssignmentRepository.findByBrdId("BRD-123")).thenReturn(Mono.just(assignment1));
-    when(baAssignmentRepository.findByBrdId("BRD-124")).thenReturn(Mono.just(assignment2));
-    when(baAssignmentRepository.save(any(BAAssignment.class)))
-        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    when(brdReassignmentWriter.findUsers(List.of("ba1@example.com", "ba2@example.com")))
+        .thenReturn(
+            Mono.just(
+                Map.of(
+                    "ba1@example.com", baUser("ba1@example.com", SecurityConstants.ROLE_BA),
+                    "ba2@example.com", baUser("ba2@example.com", SecurityConstants.ROLE_BA))));
+    when(brdReassignmentWriter.findAssignees(
+            BAAssignment.class, "baEmail", List.of("BRD-123", "BRD-124")))
+        .thenReturn(
+            Mono.just(Map.of("BRD-123", "oldba1@example.com", "BRD-124", "oldba2@example.com")));
+    when(brdReassignmentWriter.reassign(eq(BAAssignment.class), eq("baEmail"), anyMap()))
+        .thenReturn(Mono.just(Map.of()));
 
     // Act & Assert
     StepVerifier.create(baAssignmentService.reassignBAs(requests))
@@ -453,7 +422,12 @@ class BAAssignmentServiceTest {
                     && response.getErrors().isEmpty())
         .verifyComplete();
 
-    verify(baAssignmentRepository, times(2)).save(any(BAAssignment.class));
+    verify(brdReassignmentWriter)
+        .reassign(
+            BAAssignment.class,
+            "baEmail",
+            Map.of("BRD-123", "ba1@example.com", "BRD-124", "ba2@example.com"));
+    verify(baAssignmentRepository, never()).save(any(BAAssignment.class));
   }
 
   @Test
@@ -470,48 +444,16 @@ class BAAssignmentServiceTest {
                 .newBaUsername("ba1@example.com")
                 .build());
 
-    BAAssignment assignment = new BAAssignment();
-    assignment.setBrdId("BRD-123");
-    assignment.setBaEmail("oldba@example.com");
-
-    // Update test user responses - make ba1 a BA and ba2 not a BA
-    UserDetailResponse baResponse =
-        UserDetailResponse.builder()
-            .id("1")
-            .username("ba1@example.com")
-            .activeRole(SecurityConstants.ROLE_BA)
-            .roles(
-                Collections.singletonList(
-                    SecurityConstants.ROLE_PREFIX + SecurityConstants.ROLE_BA))
-            .build();
-
-    UserDetailResponse nonBaResponse =
-        UserDetailResponse.builder()
-            .id("2")
-            .username("ba2@example.com")
-            .activeRole(SecurityConstants.ROLE_PM)
-            .roles(
-                Collections.singletonList(
-                    SecurityConstants.ROLE_PREFIX + SecurityConstants.ROLE_PM))
-            .build();
-
-    // Update API responses
-    Api<UserDetailResponse> baApiResponse = new Api<>();
-    baApiResponse.setStatus(BrdConstants.SUCCESSFUL);
-    baApiResponse.setData(Optional.of(baResponse));
-
-    Api<UserDetailResponse> nonBaApiResponse = new Api<>();
-    nonBaApiResponse.setStatus(BrdConstants.SUCCESSFUL);
-    nonBaApiResponse.setData(Optional.of(nonBaResponse));
-
-    // Update service mocks
-    when(userService.getUserByEmail("ba1@example.com"))
-        .thenReturn(Mono.just(ResponseEntity.ok(baApiResponse)));
-    when(userService.getUserByEmail("ba2@example.com"))
-        .thenReturn(Mono.just(ResponseEntity.ok(nonBaApiResponse)));
-    when(baAssignmentRepository.findByBrdId("BRD-123")).thenReturn(Mono.just(assignment));
-    when(baAssignmentRepository.save(any(BAAssignment.class)))
-        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    when(brdReassignmentWriter.findUsers(anyList()))
+        .thenReturn(
+            Mono.just(
+                Map.of(
+                    "ba1@example.com", baUser("ba1@example.com", SecurityConstants.ROLE_BA),
+                    "ba2@example.com", baUser("ba2@example.com", SecurityConstants.ROLE_PM))));
+    when(brdReassignmentWriter.findAssignees(eq(BAAssignment.class), eq("baEmail"), anyList()))
+        .thenReturn(Mono.just(Map.of("BRD-123", "oldba@example.com")));
+    when(brdReassignmentWriter.reassign(eq(BAAssignment.class), eq("baEmail"), anyMap()))
+        .thenReturn(Mono.just(Map.of()));
 
     // Act & Assert
     StepVerifier.create(baAssignmentService.reassignBAs(requests))
@@ -530,7 +472,68 @@ class BAAssignmentServiceTest {
             })
         .verifyComplete();
 
-    verify(baAssignmentRepository, times(1)).save(any(BAAssignment.class));
+    verify(brdReassignmentWriter)
+        .reassign(BAAssignment.class, "baEmail", Map.of("BRD-123", "ba1@example.com"));
+  }
+
+  @Test
+  void reassignBAs_UnknownUserOrBrdAndWriteErrors_ShouldBeReportedPerBrd() {
+    // Arrange
+    List<BAReassignmentRequest> requests =
+        Arrays.asList(
+            BAReassignmentRequest.builder()
+                .brdId("BRD-1")
+                .newBaUsername("missing@example.com")
+                .build(),
+            BAReassignmentRequest.builder()
+                .brdId("BRD-404")
+                .newBaUsername("ba@example.com")
+                .build(),
+            BAReassignmentRequest.builder()
+                .brdId("BRD-2")
+                .newBaUsername("ba@example.com")
+                .build(),
+            BAReassignmentRequest.builder()
+                .brdId("BRD-3")
+                .newBaUsername("BA@example.com")
+                .build());
+
+    when(brdReassignmentWriter.findUsers(List.of("missing@example.com", "ba@example.com")))
+        .thenReturn(
+            Mono.just(
+                Map.of("ba@example.com", baUser("ba@example.com", SecurityConstants.ROLE_BA))));
+    when(brdReassignmentWriter.findAssignees(eq(BAAssignment.class), eq("baEmail"), anyList()))
+        .thenReturn(
+            Mono.just(
+                Map.of(
+                    "BRD-1", "old@example.com",
+                    "BRD-2", "old@example.com",
+                    "BRD-3", "BA@example.com")));
+    when(brdReassignmentWriter.reassign(
+            BAAssignment.class, "baEmail", Map.of("BRD-2", "ba@example.com")))
+        .thenReturn(Mono.just(Map.of("BRD-2", "Document failed validation")));
+
+    // Act & Assert
+    StepVerifier.create(baAssignmentService.reassignBAs(requests))
+        .consumeNextWith(
+            response -> {
+              assertThat(response.getStatus()).isEqualTo(BrdConstants.FAILURE);
+              assertThat(response.getErrors().get().values())
+                  .containsExactlyInAnyOrder(
+                      "Failed to reassign BRD BRD-1: User not found with email: "
+                          + "missing@example.com",
+                      "Failed to reassign BRD BRD-404: BRD not found",
+                      "Failed to reassign BRD BRD-2: Document failed validation");
+            })
+        .verifyComplete();
+  }
+
+  private static User baUser(String email, String activeRole) {
+    return User.builder()
+        .email(email)
+        .activeRole(activeRole)
+        .roles(Collections.singletonList(SecurityConstants.ROLE_PREFIX + activeRole))
+        .build();
   }
 
   @Test
@@ -572,7 +575,12 @@ class BAAssignmentServiceTest {
             brd.getBrdFormId(), BrdConstants.STATUS_INTERNAL_REVIEW, request.getDescription()))
         .thenReturn(Mono.empty());
     when(emailService.sendBrdStatusChangeNotification(
-            baEmail, brd.getBrdId(), brd.getBrdName(), brd.getBrdFormId()))
+            eq(baEmail),
+            eq(brd.getBrdId()),
+            eq(brd.getBrdName()),
+            eq(brd.getBrdFormId()),
+            eq(BrdConstants.STATUS_INTERNAL_REVIEW),
+            anyString()))
         .thenReturn(Mono.empty());
 
     // When & Then
@@ -594,7 +602,12 @@ class BAAssignmentServiceTest {
             brd.getBrdFormId(), BrdConstants.STATUS_INTERNAL_REVIEW, request.getDescription());
     verify(emailService, times(1))
         .sendBrdStatusChangeNotification(
-            baEmail, brd.getBrdId(), brd.getBrdName(), brd.getBrdFormId());
+            eq(baEmail),
+            eq(brd.getBrdId()),
+            eq(brd.getBrdName()),
+            eq(brd.getBrdFormId()),
+            eq(BrdConstants.STATUS_INTERNAL_REVIEW),
+            anyString());
     verifyNoMoreInteractions(brdRepository, baAssignmentRepository, brdService, emailService);
   }
 
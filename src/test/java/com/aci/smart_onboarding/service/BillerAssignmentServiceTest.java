@@ -117,12 +117,13 @@ class BillerAssignmentServiceTest {
                         Optional.empty()))));
     lenient()
         .when(
-            emailService.sendBillerWelcomeEmail(anyString(), anyString(), anyString(), anyString()))
+            emailService.sendBillerWelcomeEmail(
+                anyString(), anyString(), anyString(), anyString(), anyString()))
         .thenReturn(Mono.empty());
     lenient()
         .when(
             emailService.sendBrdStatusChangeNotification(
-                anyString(), anyString(), anyString(), anyString()))
+                anyString(), anyString(), anyString(), anyString(), anyString(), anyString()))
         .thenReturn(Mono.empty());
     
     // Mock DtoModelMapper
@@ -152,7 +153,12 @@ class BillerAssignmentServiceTest {
 
     verify(brdService).updateBrdStatus(testBrd.getBrdFormId(), STATUS, DESCRIPTION);
     verify(emailService)
-        .sendBillerWelcomeEmail(BILLER_EMAIL, BRD_ID, testBrd.getBrdName(), testBrd.getBrdFormId());
+        .sendBillerWelcomeEmail(
+            eq(BILLER_EMAIL),
+            eq(BRD_ID),
+            eq(testBrd.getBrdName()),
+            eq(testBrd.getBrdFormId()),
+            anyString());
   }
 
   @Test
@@ -256,7 +262,12 @@ class BillerAssignmentServiceTest {
 
     verify(brdService).updateBrdStatus(testBrd.getBrdFormId(), STATUS, DESCRIPTION);
     verify(emailService)
-        .sendBillerWelcomeEmail(BILLER_EMAIL, BRD_ID, testBrd.getBrdName(), testBrd.getBrdFormId());
+        .sendBillerWelcomeEmail(
+            eq(BILLER_EMAIL),
+            eq(BRD_ID),
+            eq(testBrd.getBrdName()),
+            eq(testBrd.getBrdFormId()),
+            anyString());
   }
 
   @Test
@@ -264,7 +275,8 @@ class BillerAssignmentServiceTest {
     // Given
     AssignBillerRequest request = new AssignBillerRequest(BILLER_EMAIL, STATUS, DESCRIPTION);
 
-    when(emailService.sendBillerWelcomeEmail(anyString(), anyString(), anyString(), anyString()))
+    when(emailService.sendBillerWelcomeEmail(
+            anyString(), anyString(), anyString(), anyString(), anyString()))
         .thenReturn(Mono.error(new RuntimeException("authorization grant is invalid")));
 
     // When & Then
@@ -444,7 +456,8 @@ class BillerAssignmentServiceTest {
     // Given
     AssignBillerRequest request = new AssignBillerRequest(BILLER_EMAIL, STATUS, DESCRIPTION);
 
-    when(emailService.sendBillerWelcomeEmail(anyString(), anyString(), anyString(), anyString()))
+    when(emailService.sendBillerWelcomeEmail(
+            anyString(), anyString(), anyString(), anyString(), anyString()))
         .thenReturn(Mono.error(new RuntimeException("Authenticated user is not authorized")));
 
     // When & Then
@@ -502,7 +515,11 @@ class BillerAssignmentServiceTest {
                         Optional.empty(),
                         Optional.empty()))));
     when(emailService.sendBillerWelcomeEmail(
-            BILLER_EMAIL, BRD_ID, testBrd.getBrdName(), testBrd.getBrdFormId()))
+            eq(BILLER_EMAIL),
+            eq(BRD_ID),
+            eq(testBrd.getBrdName()),
+            eq(testBrd.getBrdFormId()),
+            anyString()))
         .thenReturn(Mono.empty());
 
     // When & Then
@@ -523,7 +540,12 @@ class BillerAssignmentServiceTest {
     verify(billerAssignmentRepository).save(any());
     verify(brdService).updateBrdStatus(testBrd.getBrdFormId(), STATUS, DESCRIPTION);
     verify(emailService)
-        .sendBillerWelcomeEmail(BILLER_EMAIL, BRD_ID, testBrd.getBrdName(), testBrd.getBrdFormId());
+        .sendBillerWelcomeEmail(
+            eq(BILLER_EMAIL),
+            eq(BRD_ID),
+            eq(testBrd.getBrdName()),
+            eq(testBrd.getBrdFormId()),
+            anyString());
   }
 
   @Test
@@ -569,7 +591,11 @@ class BillerAssignmentServiceTest {
                         Optional.empty(),
                         Optional.empty()))));
     when(emailService.sendBillerWelcomeEmail(
-            BILLER_EMAIL, BRD_ID, testBrd.getBrdName(), testBrd.getBrdFormId()))
+            eq(BILLER_EMAIL),
+            eq(BRD_ID),
+            eq(testBrd.getBrdName()),
+            eq(testBrd.getBrdFormId()),
+            anyString()))
         .thenReturn(Mono.empty());
 
     // When & Then
@@ -590,7 +616,12 @@ class BillerAssignmentServiceTest {
     verify(billerAssignmentRepository).save(any(BillerAssignment.class)); // Use simple matcher
     verify(brdService).updateBrdStatus(testBrd.getBrdFormId(), STATUS, "Updated description");
     verify(emailService)
-        .sendBillerWelcomeEmail(BILLER_EMAIL, BRD_ID, testBrd.getBrdName(), testBrd.getBrdFormId());
+        .sendBillerWelcomeEmail(
+            eq(BILLER_EMAIL),
+            eq(BRD_ID),
+            eq(testBrd.getBrdName()),
+            eq(testBrd.getBrdFormId()),
+            anyString());
   }
 
   @Test
@@ -633,7 +664,11 @@ class BillerAssignmentServiceTest {
                         Optional.empty(),
                         Optional.empty()))));
     when(emailService.sendBillerWelcomeEmail(
-            BILLER_EMAIL, BRD_ID, testBrd.getBrdName(), testBrd.getBrdFormId()))
+            eq(BILLER_EMAIL),
+            eq(BRD_ID),
+            eq(testBrd.getBrdName()),
+            eq(testBrd.getBrdFormId()),
+            anyString()))
         .thenReturn(Mono.empty());
 
     // When & Then
@@ -675,7 +710,11 @@ class BillerAssignmentServiceTest {
                         Optional.empty(),
                         Optional.empty()))));
     when(emailService.sendBillerWelcomeEmail(
-            BILLER_EMAIL, BRD_ID, testBrd.getBrdName(), testBrd.getBrdFormId()))
+            eq(BILLER_EMAIL),
+            eq(BRD_ID),
+            eq(testBrd.getBrdName()),
+            eq(testBrd.getBrdFormId()),
+            anyString()))
         .thenReturn(Mono.empty());
 
     // When & Then
@@ -1540,7 +1579,13 @@ class BillerAssignmentServiceTest {
     when(billerAssignmentRepository.save(any())).thenReturn(Mono.just(testAssignment));
     when(brdService.updateBrdStatus(testBrd.getBrdFormId(), "In Progress", DESCRIPTION))
         .thenReturn(Mono.just(ResponseEntity.ok(new Api<>("SUCCESS", "Status updated", Optional.empty(), Optional.empty()))));
-    when(emailService.sendBrdStatusChangeNotification(BILLER_EMAIL, BRD_ID, testBrd.getBrdName(), testBrd.getBrdFormId()))
+    when(emailService.sendBrdStatusChangeNotification(
+            eq(BILLER_EMAIL),
+            eq(BRD_ID),
+            eq(testBrd.getBrdName()),
+            eq(testBrd.getBrdFormId()),
+            anyString(),
+            anyString()))
         .thenReturn(Mono.empty());
 
     // When & Then
@@ -1553,8 +1598,16 @@ class BillerAssignmentServiceTest {
         })
         .verifyComplete();
 
-    verify(emailService).sendBrdStatusChangeNotification(BILLER_EMAIL, BRD_ID, testBrd.getBrdName(), testBrd.getBrdFormId());
-    verify(emailService, never()).sendBillerWelcomeEmail(anyString(), anyString(), anyString(), anyString());
+    verify(emailService)
+        .sendBrdStatusChangeNotification(
+            eq(BILLER_EMAIL),
+            eq(BRD_ID),
+            eq(testBrd.getBrdName()),
+            eq(testBrd.getBrdFormId()),
+            anyString(),
+            anyString());
+    verify(emailService, never())
+        .sendBillerWelcomeEmail(anyString(), anyString(), anyString(), anyString(), anyString());
   }
 
   // Test cases for shouldRetry method
@@ -1564,7 +1617,8 @@ class BillerAssignmentServiceTest {
     // We can test it indirectly through the assignBiller method
     AssignBillerRequest request = new AssignBillerRequest(BILLER_EMAIL, STATUS, DESCRIPTION);
 
-    when(emailService.sendBillerWelcomeEmail(anyString(), anyString(), anyString(), anyString()))
+    when(emailService.sendBillerWelcomeEmail(
+            anyString(), anyString(), anyString(), anyString(), anyString()))
         .thenReturn(Mono.error(new RuntimeException("authorization grant is invalid")));
 
     StepVerifier.create(billerAssignmentService.assignBiller(BRD_ID, request))
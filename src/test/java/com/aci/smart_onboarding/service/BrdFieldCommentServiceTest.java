@@ -27,6 +27,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.ReactiveUpdateOperation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import com.mongodb.client.result.UpdateResult;
@@ -661,40 +662,15 @@ class BrdFieldCommentServiceTest {
   void getCommentStatsByStatus_Success() {
     String brdFormId = "brd-1";
     String status = "Pending";
-    List<BrdFieldCommentGroup> allCommentGroups = new ArrayList<>();
-    allCommentGroups.addAll(pendingBrdCommentGroups);
-    allCommentGroups.addAll(pendingSiteCommentGroups);
 
-    // Mock the MongoDB query to find comment groups by status
-    when(mongoTemplate.find(any(Query.class), eq(BrdFieldCommentGroup.class)))
-        .thenReturn(Flux.fromIterable(allCommentGroups));
-
-    // Mock the mapper to return responses for the BRD comment groups
-    for (BrdFieldCommentGroup group : pendingBrdCommentGroups) {
-      when(dtoModelMapper.mapToGroupResponse(group))
-          .thenReturn(
-              BrdFieldCommentGroupResp.builder()
-                  .id(group.getId())
-                  .brdFormId(brdFormId)
-                  .sourceType(BrdConstants.SOURCE_TYPE_BRD)
-                  .status(status)
-                  .comments(new ArrayList<>())
-                  .build());
-    }
-
-    // Mock the mapper to return responses for the Site comment groups
-    for (BrdFieldCommentGroup group : pendingSiteCommentGroups) {
-      when(dtoModelMapper.mapToGroupResponse(group))
-          .thenReturn(
-              BrdFieldCommentGroupResp.builder()
-                  .id(group.getId())
-                  .brdFormId(brdFormId)
-                  .siteId(group.getSiteId())
-                  .sourceType(BrdConstants.SOURCE_TYPE_SITE)
-                  .status(status)
-                  .comments(new ArrayList<>())
-                  .build());
-    }
+    // Mock the aggregation to return one count document per source type and site
+    List<Document> countDocuments =
+        List.of(
+            countDocument(BrdConstants.SOURCE_TYPE_BRD, null, 2),
+            countDocument(BrdConstants.SOURCE_TYPE_SITE, "site-1", 2),
+            countDocument(BrdConstants.SOURCE_TYPE_SITE, "site-2", 1));
+    when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+        .thenReturn(Flux.fromIterable(countDocuments));
 
     // Test the method
     StepVerifier.create(brdFieldCommentService.getCommentStatsByStatus(brdFormId, status))
@@ -708,31 +684,27 @@ class BrdFieldCommentServiceTest {
               assertEquals(5, stats.getTotalCount()); // 2 BRD + 3 Site
               assertEquals(2, stats.getBrdCount());
 
-              // Verify BRD comments
-              assertEquals(2, stats.getBrdComments().size());
-
               // Verify site counts
               Map<String, Integer> siteCounts = stats.getSiteCounts();
               assertEquals(2, siteCounts.size());
               assertEquals(2, siteCounts.get("site-1").intValue());
               assertEquals(1, siteCounts.get("site-2").intValue());
-
-              // Verify site comments
-              Map<String, List<BrdFieldCommentGroupResp>> siteComments = stats.getSiteComments();
-              assertEquals(2, siteComments.size());
-              assertEquals(2, siteComments.get("site-1").size());
-              assertEquals(1, siteComments.get("site-2").size());
             })
         .verifyComplete();
 
-    // Verify that the MongoDB query was built correctly
+    // Verify the aggregation matches on BRD and status and never loads full groups
     verify(mongoTemplate)
-        .find(
+        .aggregate(
             argThat(
-                query ->
-                    query.getQueryObject().get("brdFormId").toString().contains(brdFormId)
-                        && query.getQueryObject().get("status").toString().contains(status)),
-            eq(BrdFieldCommentGroup.class));
+                (TypedAggregation<?> aggregation) -> {
+                  String pipeline = aggregation.toString();
+                  return pipeline.contains(brdFormId)
+                      && pipeline.contains(status)
+                      && pipeline.contains("$group");
+                }),
+            eq(Document.class));
+    verify(mongoTemplate, never()).find(any(Query.class), eq(BrdFieldCommentGroup.class));
+    verifyNoInteractions(dtoModelMapper);
   }
 
   @Test
@@ -741,8 +713,8 @@ class BrdFieldCommentServiceTest {
     String brdFormId = "brd-1";
     String status = "Pending";
 
-    // Mock the MongoDB query to find no comment groups
-    when(mongoTemplate.find(any(Query.class), eq(BrdFieldCommentGroup.class)))
+    // Mock the aggregation to return no count documents
+    when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
         .thenReturn(Flux.empty());
 
     // Test the method
@@ -756,9 +728,7 @@ class BrdFieldCommentServiceTest {
               // Verify empty response
               assertEquals(0, stats.getTotalCount());
               assertEquals(0, stats.getBrdCount());
-              assertTrue(stats.getBrdComments().isEmpty());
               assertTrue(stats.getSiteCounts().isEmpty());
-              assertTrue(stats.getSiteComments().isEmpty());
 
               // Verify message contains status
               assertTrue(response.getBody().getMessage().contains("No " + status.toLowerCase()));
@@ -766,6 +736,75 @@ class BrdFieldCommentServiceTest {
         .verifyComplete();
   }
 
+  @Test
+  @DisplayName("getCommentGroupsByStatusPage should return one page of mapped comment groups")
+  void getCommentGroupsByStatusPage_Success() {
+    String brdFormId = "brd-1";
+    String status = "Pending";
+    List<BrdFieldCommentGroup> pageGroups = pendingSiteCommentGroups.subList(0, 2);
+
+    when(mongoTemplate.find(any(Query.class), eq(BrdFieldCommentGroup.class)))
+        .thenReturn(Flux.fromIterable(pageGroups));
+    when(mongoTemplate.count(any(Query.class), eq(BrdFieldCommentGroup.class)))
+        .thenReturn(Mono.just(5L));
+    for (BrdFieldCommentGroup group : pageGroups) {
+      when(dtoModelMapper.mapToGroupResponse(group))
+          .thenReturn(BrdFieldCommentGroupResp.builder().id(group.getId()).build());
+    }
+
+    StepVerifier.create(
+            brdFieldCommentService.getCommentGroupsByStatusPage(brdFormId, status, "site-1", 1, 2))
+        .assertNext(
+            response -> {
+              assertEquals(HttpStatus.OK, response.getStatusCode());
+              var page = response.getBody().getData().orElseThrow();
+              assertEquals(2, page.getContent().size());
+              assertEquals(5, page.getTotalElements());
+              assertEquals(3, page.getTotalPages());
+              assertFalse(page.isFirst());
+              assertFalse(page.isLast());
+            })
+        .verifyComplete();
+
+    verify(mongoTemplate)
+        .find(
+            argThat(
+                (Query query) ->
+                    query.getSkip() == 2
+                        && query.getLimit() == 2
+                        && "site-1".equals(query.getQueryObject().get("siteId"))),
+            eq(BrdFieldCommentGroup.class));
+  }
+
+  @Test
+  @DisplayName("getCommentGroupsByStatusPage should reject invalid paging parameters")
+  void getCommentGroupsByStatusPage_InvalidParameters_ThrowsBadRequest() {
+    StepVerifier.create(
+            brdFieldCommentService.getCommentGroupsByStatusPage("brd-1", "Pending", null, -1, 10))
+        .expectError(BadRequestException.class)
+        .verify();
+
+    StepVerifier.create(
+            brdFieldCommentService.getCommentGroupsByStatusPage("brd-1", "Pending", null, 0, 0))
+        .expectError(BadRequestException.class)
+        .verify();
+
+    StepVerifier.create(
+            brdFieldCommentService.getCommentGroupsByStatusPage("brd-1", "Open", null, 0, 10))
+        .expectError(BadRequestException.class)
+        .verify();
+
+    StepVerifier.create(
+            brdFieldCommentService.getCommentGroupsByStatusPage(" ", "Pending", null, 0, 10))
+        .expectError(BadRequestException.class)
+        .verify();
+  }
+
+  private Document countDocument(String sourceType, String siteId, int count) {
+    Document groupKey = new Document("sourceType", sourceType).append("siteId", siteId);
+    return new Document("_id", groupKey).append("count", count);
+  }
+
   @Test
   @DisplayName(
       "getCommentStatsByStatus should throw BadRequestException when brdFormId is null or blank")
@@ -810,9 +849,9 @@ class BrdFieldCommentServiceTest {
     String brdFormId = "brd-1";
     String status = "Pending";
 
-    // Mock the MongoDB query to throw an exception
+    // Mock the MongoDB aggregation to throw an exception
     RuntimeException testException = new RuntimeException("Test MongoDB error");
-    when(mongoTemplate.find(any(Query.class), eq(BrdFieldCommentGroup.class)))
+    when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
         .thenReturn(Flux.error(testException));
 
     // Test the method
@@ -839,12 +878,8 @@ class BrdFieldCommentServiceTest {
     assertNotNull(response);
     assertEquals(0, response.getTotalCount());
     assertEquals(0, response.getBrdCount());
-    assertNotNull(response.getBrdComments());
-    assertTrue(response.getBrdComments().isEmpty());
     assertNotNull(response.getSiteCounts());
     assertTrue(response.getSiteCounts().isEmpty());
-    assertNotNull(response.getSiteComments());
-    assertTrue(response.getSiteComments().isEmpty());
   }
 
   @Test
@@ -15,6 +15,7 @@ import com.aci.smart_onboarding.mapper.DtoModelMapper;
 import com.aci.smart_onboarding.model.BRD;
 import com.aci.smart_onboarding.model.BrdTemplateConfig;
 import com.aci.smart_onboarding.repository.BRDTemplateRepository;
+import com.aci.smart_onboarding.service.implementation.BrdTemplateCache;
 import com.aci.smart_onboarding.service.implementation.BrdTemplateService;
 import com.aci.smart_onboarding.util.brd_form.ClientInformation;
 import com.aci.smart_onboarding.util.brd_form.PaymentChannels;
@@ -24,7 +25,6 @@ import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DuplicateKeyException;
@@ -46,7 +46,7 @@ class BrdTemplateServiceTest {
 
   @Mock private ReactiveMongoTemplate reactiveMongoTemplate;
 
-  @InjectMocks private BrdTemplateService brdTemplateService;
+  private BrdTemplateService brdTemplateService;
 
   private BrdTemplateReq templateRequest;
   private BrdTemplateConfig templateConfig;
@@ -55,6 +55,12 @@ class BrdTemplateServiceTest {
 
   @BeforeEach
   void setUp() {
+    BrdTemplateCache templateCache =
+        new BrdTemplateCache(brdTemplateRepository, dtoModelMapper, reactiveMongoTemplate);
+    brdTemplateService =
+        new BrdTemplateService(
+            brdTemplateRepository, dtoModelMapper, reactiveMongoTemplate, templateCache);
+
     templateRequest = new BrdTemplateReq();
     templateRequest.setTemplateName("Test Template");
     templateRequest.setTemplateTypes("TEST_TYPE");
@@ -108,6 +114,7 @@ class BrdTemplateServiceTest {
         .thenReturn(templateConfig);
     when(brdTemplateRepository.save(any(BrdTemplateConfig.class)))
         .thenReturn(Mono.just(templateConfig));
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.just(templateConfig));
     when(dtoModelMapper.mapToBrdTemplateConfigResponse(any(BrdTemplateConfig.class)))
         .thenReturn(templateResponse);
 
@@ -152,6 +159,7 @@ class BrdTemplateServiceTest {
     when(reactiveMongoTemplate.findAndModify(
             any(Query.class), any(), any(FindAndModifyOptions.class), any()))
         .thenReturn(Mono.just(templateConfig));
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.just(templateConfig));
     when(dtoModelMapper.mapToBrdTemplateConfigResponse(any(BrdTemplateConfig.class)))
         .thenReturn(templateResponse);
 
@@ -214,8 +222,7 @@ class BrdTemplateServiceTest {
 
   @Test
   void getTemplateByType_Success_200() {
-    when(brdTemplateRepository.findByTemplateTypes("TEST_TYPE"))
-        .thenReturn(Mono.just(templateConfig));
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.just(templateConfig));
     when(dtoModelMapper.mapToBrdTemplateConfigResponse(any(BrdTemplateConfig.class)))
         .thenReturn(templateResponse);
 
@@ -232,7 +239,7 @@ class BrdTemplateServiceTest {
 
   @Test
   void getTemplateByType_NotFound_404() {
-    when(brdTemplateRepository.findByTemplateTypes("TEST_TYPE")).thenReturn(Mono.empty());
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.empty());
 
     StepVerifier.create(brdTemplateService.getTemplateByType("TEST_TYPE"))
         .expectErrorMatches(
@@ -315,8 +322,7 @@ class BrdTemplateServiceTest {
 
   @Test
   void getBrdFormByIdAndTemplateType_Success() {
-    when(brdTemplateRepository.findByTemplateTypes("TEST_TYPE"))
-        .thenReturn(Mono.just(templateConfig));
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.just(templateConfig));
     when(dtoModelMapper.mapToBrdTemplateConfigResponse(any(BrdTemplateConfig.class)))
         .thenReturn(this.templateResponse);
     when(reactiveMongoTemplate.findOne(any(Query.class), eq(BRD.class))).thenReturn(Mono.just(brd));
@@ -344,7 +350,7 @@ class BrdTemplateServiceTest {
 
   @Test
   void getBrdFormByIdAndTemplateType_TemplateNotFound() {
-    when(brdTemplateRepository.findByTemplateTypes("INVALID_TYPE")).thenReturn(Mono.empty());
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.empty());
 
     StepVerifier.create(
             brdTemplateService.getBrdFormByIdAndTemplateType("BRD-ID-001", "INVALID_TYPE"))
@@ -496,8 +502,7 @@ class BrdTemplateServiceTest {
   @Test
   void getBrdFormByIdAndTemplateType_NullBrdResponse() {
 
-    when(brdTemplateRepository.findByTemplateTypes("TEST_TYPE"))
-        .thenReturn(Mono.just(templateConfig));
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.just(templateConfig));
     when(dtoModelMapper.mapToBrdTemplateConfigResponse(any(BrdTemplateConfig.class)))
         .thenReturn(this.templateResponse);
     when(reactiveMongoTemplate.findOne(any(Query.class), eq(BRD.class)))
@@ -527,6 +532,7 @@ class BrdTemplateServiceTest {
         .thenReturn(templateConfig);
     when(brdTemplateRepository.save(any(BrdTemplateConfig.class)))
         .thenReturn(Mono.just(templateConfig));
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.just(templateConfig));
     when(dtoModelMapper.mapToBrdTemplateConfigResponse(any(BrdTemplateConfig.class)))
         .thenReturn(templateResponse);
 
@@ -563,6 +569,7 @@ class BrdTemplateServiceTest {
             any(FindAndModifyOptions.class),
             eq(BrdTemplateConfig.class)))
         .thenReturn(Mono.just(templateConfig));
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.just(templateConfig));
     when(dtoModelMapper.mapToBrdTemplateConfigResponse(any(BrdTemplateConfig.class)))
         .thenReturn(templateResponse);
 
@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import com.aci.smart_onboarding.config.PrefillProperties;
 import com.aci.smart_onboarding.dto.*;
 import com.aci.smart_onboarding.enums.ContextName;
 import com.aci.smart_onboarding.mapper.DtoModelMapper;
@@ -15,6 +16,8 @@ import com.aci.smart_onboarding.repository.LegacyBRDRepository;
 import com.aci.smart_onboarding.repository.SiteRepository;
 import com.aci.smart_onboarding.service.implementation.AssistantService;
 import com.aci.smart_onboarding.service.implementation.BlobStorageService;
+import com.aci.smart_onboarding.service.implementation.GuidanceIndex;
+import com.aci.smart_onboarding.service.implementation.GuidanceIndex.Guidance;
 import com.aci.smart_onboarding.service.implementation.LegacyBrdService;
 import com.aci.smart_onboarding.util.FileReader;
 import com.aci.smart_onboarding.util.FileReader.FileType;
@@ -26,6 +29,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,9 +41,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -62,6 +70,8 @@ class LegacyBrdServiceTest {
 
   @Spy private ObjectMapper objectMapper = new ObjectMapper();
 
+  @Spy private PrefillProperties prefillProperties = new PrefillProperties();
+
   @InjectMocks private LegacyBrdService legacyBrdService;
 
   private static final String TEST_BRD_ID = "test-brd-123";
@@ -70,7 +80,10 @@ class LegacyBrdServiceTest {
 
   @BeforeEach
   void setUp() {
-    ReflectionTestUtils.setField(legacyBrdService, "franklinRulesFileName", TEST_RULES_FILE);
+    GuidanceIndex guidanceIndex = new GuidanceIndex(blobStorageService, fileReader);
+    ReflectionTestUtils.setField(guidanceIndex, "rulesFileName", TEST_RULES_FILE);
+    ReflectionTestUtils.setField(legacyBrdService, "guidanceIndex", guidanceIndex);
+    lenient().when(blobStorageService.getFileETag(any())).thenReturn(Mono.just("etag-1"));
     lenient().when(blobStorageService.fetchFile(any())).thenReturn(Mono.just("test".getBytes()));
   }
 
@@ -146,8 +159,7 @@ class LegacyBrdServiceTest {
 
     byte[] guidanceDataBytes = "test".getBytes();
     byte[] brdRulesBytes = "test".getBytes();
-    byte[] jsonData =
-        objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(combinedRules);
+    String jsonData = objectMapper.writeValueAsString(combinedRules);
 
     when(blobStorageService.fetchFile(anyString())).thenReturn(Mono.just(guidanceDataBytes));
     when(blobStorageService.fetchFileFromUrl(anyString())).thenReturn(Mono.just(brdRulesBytes));
@@ -164,14 +176,11 @@ class LegacyBrdServiceTest {
     legacyBRD.setBrdId(TEST_BRD_ID);
     when(legacyBRDRepository.save(any(LegacyBRD.class))).thenReturn(Mono.just(legacyBRD));
     when(assistantService.findSemanticMatches(anyList())).thenReturn(Mono.just(guidanceDataList));
-    when(blobStorageService.updateFile(anyString(), anyString())).thenReturn(Mono.empty());
 
     // When & Then
-    StepVerifier.create(legacyBrdService.getRulesWithData(request))
+    StepVerifier.create(legacyBrdService.getRulesWithData(request, true).flatMap(this::content))
         .expectNextMatches(
-            resource ->
-                resource instanceof ByteArrayResource
-                    && Arrays.equals(((ByteArrayResource) resource).getByteArray(), jsonData))
+            content -> readTree(content).equals(readTree(jsonData)) && content.contains("\n"))
         .verifyComplete();
 
     verify(blobStorageService).fetchFile(TEST_RULES_FILE);
@@ -223,15 +232,19 @@ class LegacyBrdServiceTest {
     // Mock repository and semantic matching
     when(legacyBRDRepository.save(any(LegacyBRD.class))).thenReturn(Mono.just(new LegacyBRD()));
     when(assistantService.findSemanticMatches(anyList())).thenReturn(Mono.just(newGuidanceList));
-    when(blobStorageService.updateFile(anyString(), anyString())).thenReturn(Mono.empty());
+    when(blobStorageService.appendToFile(anyString(), anyString(), anyString()))
+        .thenReturn(Mono.just("etag-2"));
 
     // When & Then
-    StepVerifier.create(legacyBrdService.getRulesWithData(request))
-        .expectNextMatches(ByteArrayResource.class::isInstance)
+    StepVerifier.create(legacyBrdService.getRulesWithData(request, false).flatMap(this::content))
+        .expectNextCount(1)
         .verifyComplete();
 
     verify(assistantService).findSemanticMatches(anyList());
-    verify(blobStorageService).updateFile(anyString(), anyString());
+    // Only the new rule is written, appended to the file read at etag-1
+    verify(blobStorageService)
+        .appendToFile(TEST_RULES_FILE, "\nNew Rule|NEW_MAPPING|null|null|null", "etag-1");
+    verify(blobStorageService, never()).updateFile(anyString(), anyString());
   }
 
   @Test
@@ -424,7 +437,7 @@ class LegacyBrdServiceTest {
     when(fileReader.parseByteArrayContent(any(), any(), any())).thenReturn(Collections.emptyList());
 
     // When & Then
-    StepVerifier.create(legacyBrdService.getRulesWithData(request))
+    StepVerifier.create(legacyBrdService.getRulesWithData(request, false))
         .expectError(RuntimeException.class)
         .verify();
   }
@@ -499,20 +512,9 @@ class LegacyBrdServiceTest {
         .thenReturn(Mono.just(Collections.emptyList()));
 
     // When & Then
-    StepVerifier.create(legacyBrdService.getRulesWithData(request))
+    StepVerifier.create(legacyBrdService.getRulesWithData(request, false).flatMap(this::content))
         .expectNextMatches(
-            resource -> {
-              if (!(resource instanceof ByteArrayResource)) {
-                return false;
-              }
-              try {
-                byte[] content = ((ByteArrayResource) resource).getByteArray();
-                String jsonStr = new String(content);
-                return jsonStr.contains(TEST_BRD_ID) && jsonStr.contains("1013");
-              } catch (Exception e) {
-                return false;
-              }
-            })
+            jsonStr -> jsonStr.contains(TEST_BRD_ID) && jsonStr.contains("1013"))
         .verifyComplete();
 
     verify(blobStorageService).fetchFile(TEST_RULES_FILE);
@@ -590,11 +592,10 @@ class LegacyBrdServiceTest {
             });
 
     when(assistantService.findSemanticMatches(anyList())).thenReturn(Mono.just(guidanceDataList));
-    when(blobStorageService.updateFile(anyString(), anyString())).thenReturn(Mono.empty());
 
     // When & Then
-    StepVerifier.create(legacyBrdService.getRulesWithData(request))
-        .expectNextMatches(ByteArrayResource.class::isInstance)
+    StepVerifier.create(legacyBrdService.getRulesWithData(request, false).flatMap(this::content))
+        .expectNextCount(1)
         .verifyComplete();
 
     verify(blobStorageService).fetchFile(TEST_RULES_FILE);
@@ -893,12 +894,14 @@ class LegacyBrdServiceTest {
               }
             });
 
+    Guidance guidance = Guidance.of("etag-1", existingGuidanceData);
+
     // When & Then
     StepVerifier.create(
-            (Mono<List<GuidanceData>>)
+            (Mono<Guidance>)
                 ReflectionTestUtils.invokeMethod(
-                    legacyBrdService, "processNewRules", emptyNewRules, existingGuidanceData))
-        .expectNext(existingGuidanceData)
+                    legacyBrdService, "processNewRules", emptyNewRules, guidance))
+        .expectNext(guidance)
         .verifyComplete();
 
     // Verify that assistantService was not called
@@ -923,8 +926,8 @@ class LegacyBrdServiceTest {
   }
 
   @Test
-  void createCombinedRulesResource_jsonProcessingError_throwsRuntimeException()
-      throws JsonProcessingException {
+  void createCombinedRulesStream_jsonProcessingError_throwsRuntimeException()
+      throws IOException {
     // Given
     BrdRules brdRule = new BrdRules();
     brdRule.setBrdId(TEST_BRD_ID);
@@ -945,20 +948,21 @@ class LegacyBrdServiceTest {
     // Mock ObjectMapper to throw JsonProcessingException
     ObjectMapper mockMapper = mock(ObjectMapper.class);
     ObjectWriter mockWriter = mock(ObjectWriter.class);
-    when(mockMapper.writerWithDefaultPrettyPrinter()).thenReturn(mockWriter);
-    when(mockWriter.writeValueAsBytes(any()))
+    when(mockMapper.writer()).thenReturn(mockWriter);
+    when(mockWriter.writeValuesAsArray(any(OutputStream.class)))
         .thenThrow(new JsonProcessingException("Test JSON processing error") {});
 
     ReflectionTestUtils.setField(legacyBrdService, "objectMapper", mockMapper);
 
     // When & Then
     StepVerifier.create(
-            (Mono<?>)
+            (Flux<?>)
                 ReflectionTestUtils.invokeMethod(
                     legacyBrdService,
-                    "createCombinedRulesResource",
+                    "createCombinedRulesStream",
                     brdRulesList,
-                    guidanceDataList))
+                    Guidance.of("etag-1", guidanceDataList),
+                    false))
         .expectErrorMatches(
             throwable ->
                 throwable instanceof RuntimeException
@@ -1116,4 +1120,22 @@ class LegacyBrdServiceTest {
         .expectNext(true)
         .verifyComplete();
   }
+
+  private Mono<String> content(Flux<DataBuffer> body) {
+    return DataBufferUtils.join(body)
+        .map(
+            buffer -> {
+              String content = buffer.toString(StandardCharsets.UTF_8);
+              DataBufferUtils.release(buffer);
+              return content;
+            });
+  }
+
+  private JsonNode readTree(String json) {
+    try {
+      return objectMapper.readTree(json);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
 }
@@ -3,20 +3,20 @@ package com.aci.smart_onboarding.service;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.aci.smart_onboarding.config.SequenceProperties;
 import com.aci.smart_onboarding.model.DatabaseSequence;
 import com.aci.smart_onboarding.service.implementation.SequenceGeneratorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
@@ -31,7 +31,9 @@ class SequenceGeneratorServiceTest {
 
   @Mock private ReactiveMongoTemplate mongoTemplate;
 
-  @InjectMocks private SequenceGeneratorService sequenceGeneratorService;
+  private SequenceProperties sequenceProperties;
+
+  private SequenceGeneratorService sequenceGeneratorService;
 
   @Captor private ArgumentCaptor<Query> queryCaptor;
 
@@ -46,6 +48,10 @@ class SequenceGeneratorServiceTest {
     mockSequence = new DatabaseSequence();
     mockSequence.setId("test_sequence");
     mockSequence.setSeq(42L);
+
+    sequenceProperties = new SequenceProperties();
+    sequenceProperties.setBlockSize(1);
+    sequenceGeneratorService = new SequenceGeneratorService(mongoTemplate, sequenceProperties);
   }
 
   @Test
@@ -89,16 +95,13 @@ class SequenceGeneratorServiceTest {
   }
 
   @Test
-  @DisplayName("generateCommentId should generate formatted comment ID")
+  @DisplayName("generateCommentId should generate formatted comment ID from the shared pool")
   void generateCommentId_ShouldGenerateFormattedCommentId() {
     // Arrange
     String brdId = "brd-123";
     String sectionName = "section1";
     String fieldPath = "field.path";
 
-    // Expected sanitized key format: comment_brd-123_section1_field_path
-    String expectedSequenceKey = "comment_brd-123_section1_field_path";
-
     when(mongoTemplate.findAndModify(
             any(Query.class),
             any(Update.class),
@@ -108,10 +111,10 @@ class SequenceGeneratorServiceTest {
 
     // Act & Assert
     StepVerifier.create(sequenceGeneratorService.generateCommentId(brdId, sectionName, fieldPath))
-        .expectNext("brd-123:section1:field.path:000042")
+        .expectNext("brd-123:section1:field.path:1000042")
         .verifyComplete();
 
-    // Verify the sequence key was properly sanitized
+    // Verify a single pooled sequence is used instead of one document per field
     verify(mongoTemplate)
         .findAndModify(
             queryCaptor.capture(),
@@ -120,18 +123,15 @@ class SequenceGeneratorServiceTest {
             eq(DatabaseSequence.class));
 
     Query capturedQuery = queryCaptor.getValue();
-    assertTrue(capturedQuery.getQueryObject().get("_id").toString().contains(expectedSequenceKey));
+    assertEquals("brd_field_comment_ids", capturedQuery.getQueryObject().get("_id"));
   }
 
   @Test
-  @DisplayName("generateReplyId should generate formatted reply ID")
+  @DisplayName("generateReplyId should generate formatted reply ID from the shared pool")
   void generateReplyId_ShouldGenerateFormattedReplyId() {
     // Arrange
     String parentCommentId = "parent-comment-123";
 
-    // Expected sanitized key format: reply_parent-comment-123
-    String expectedSequenceKey = "reply_parent-comment-123";
-
     when(mongoTemplate.findAndModify(
             any(Query.class),
             any(Update.class),
@@ -141,10 +141,9 @@ class SequenceGeneratorServiceTest {
 
     // Act & Assert
     StepVerifier.create(sequenceGeneratorService.generateReplyId(parentCommentId))
-        .expectNext("parent-comment-123:reply:000042")
+        .expectNext("parent-comment-123:reply:1000042")
         .verifyComplete();
 
-    // Verify the sequence key was properly sanitized
     verify(mongoTemplate)
         .findAndModify(
             queryCaptor.capture(),
@@ -153,55 +152,127 @@ class SequenceGeneratorServiceTest {
             eq(DatabaseSequence.class));
 
     Query capturedQuery = queryCaptor.getValue();
-    assertTrue(capturedQuery.getQueryObject().get("_id").toString().contains(expectedSequenceKey));
+    assertEquals("brd_field_comment_reply_ids", capturedQuery.getQueryObject().get("_id"));
   }
 
-  @ParameterizedTest
-  @DisplayName("sanitizeKey method should properly handle special characters")
-  @CsvSource({
-    "test.field, test_field",
-    "field$name, field_name",
-    "section name, section_name",
-    "null, ''",
-    "'', ''"
-  })
-  void sanitizeKey_ShouldHandleSpecialCharacters(String input, String expectedOutput) {
+  @Test
+  @DisplayName("generateLeasedSequence should serve a whole block from a single round trip")
+  void generateLeasedSequence_ShouldServeBlockFromMemory() {
     // Arrange
-    if ("null".equals(input)) {
-      input = null;
-    }
+    sequenceProperties.setBlockSize(3);
+    mockSequence.setSeq(3L);
+    when(mongoTemplate.findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(DatabaseSequence.class)))
+        .thenReturn(Mono.just(mockSequence));
+
+    // Act & Assert
+    StepVerifier.create(
+            sequenceGeneratorService
+                .generateLeasedSequence("test_sequence")
+                .repeat(2)
+                .collectList())
+        .expectNext(java.util.List.of(1L, 2L, 3L))
+        .verifyComplete();
 
-    // We'll test the sanitizeKey method indirectly through generateCommentId
-    String brdId = "test";
-    String sectionName = "test";
+    verify(mongoTemplate, times(1))
+        .findAndModify(
+            any(Query.class),
+            updateCaptor.capture(),
+            any(FindAndModifyOptions.class),
+            eq(DatabaseSequence.class));
+    assertTrue(updateCaptor.getValue().getUpdateObject().toString().contains("seq=3"));
+  }
 
-    // Mock sequence generation to return a fixed value
+  @Test
+  @DisplayName("generateLeasedSequence should lease a new block once the current one is exhausted")
+  void generateLeasedSequence_ShouldLeaseNextBlockWhenExhausted() {
+    // Arrange
+    sequenceProperties.setBlockSize(2);
+    DatabaseSequence secondBlock = new DatabaseSequence("test_sequence", 4L);
+    mockSequence.setSeq(2L);
     when(mongoTemplate.findAndModify(
             any(Query.class),
             any(Update.class),
             any(FindAndModifyOptions.class),
             eq(DatabaseSequence.class)))
-        .thenReturn(Mono.just(mockSequence));
+        .thenReturn(Mono.just(mockSequence), Mono.just(secondBlock));
 
-    // Act & Assert - We're testing that the sanitized field path becomes part of the sequence key
-    sequenceGeneratorService.generateCommentId(brdId, sectionName, input).block();
+    // Act & Assert
+    StepVerifier.create(
+            sequenceGeneratorService
+                .generateLeasedSequence("test_sequence")
+                .repeat(2)
+                .collectList())
+        .expectNext(java.util.List.of(1L, 2L, 3L))
+        .verifyComplete();
 
-    verify(mongoTemplate)
+    verify(mongoTemplate, times(2))
         .findAndModify(
-            queryCaptor.capture(),
+            any(Query.class),
             any(Update.class),
             any(FindAndModifyOptions.class),
             eq(DatabaseSequence.class));
+  }
 
-    Query capturedQuery = queryCaptor.getValue();
-    String capturedId = capturedQuery.getQueryObject().get("_id").toString();
-
-    // The expectedOutput should be part of the sequence key
-    if (input != null) {
-      assertTrue(
-          capturedId.contains(expectedOutput),
-          "Expected sanitized value '" + expectedOutput + "' not found in: " + capturedId);
-    }
+  @Test
+  @DisplayName("a restarted instance should skip the unused part of a leased block")
+  void generateLeasedSequence_AfterRestart_ShouldLeaveGapInsteadOfDuplicates() {
+    // Arrange
+    sequenceProperties.setBlockSize(10);
+    when(mongoTemplate.findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(DatabaseSequence.class)))
+        .thenReturn(
+            Mono.just(new DatabaseSequence("test_sequence", 10L)),
+            Mono.just(new DatabaseSequence("test_sequence", 20L)));
+
+    // Act & Assert
+    StepVerifier.create(sequenceGeneratorService.generateLeasedSequence("test_sequence"))
+        .expectNext(1L)
+        .verifyComplete();
+
+    SequenceGeneratorService restarted =
+        new SequenceGeneratorService(mongoTemplate, sequenceProperties);
+    StepVerifier.create(restarted.generateLeasedSequence("test_sequence"))
+        .expectNext(11L)
+        .verifyComplete();
+  }
+
+  @Test
+  @DisplayName("time-ordered strategy should generate increasing IDs without touching Mongo")
+  void generateCommentId_WithTimeOrderedStrategy_ShouldNotHitMongo() {
+    // Arrange
+    sequenceProperties.setStrategy(SequenceProperties.Strategy.TIME_ORDERED);
+    sequenceProperties.setNodeId(7);
+    SequenceGeneratorService timeOrdered =
+        new SequenceGeneratorService(mongoTemplate, sequenceProperties);
+
+    // Act
+    String first = timeOrdered.generateCommentId("brd-123", "section1", "field").block();
+    String second = timeOrdered.generateReplyId("brd-123:section1:field:X").block();
+    String third = timeOrdered.generateCommentId("brd-123", "section1", "field").block();
+
+    // Assert
+    assertNotNull(first);
+    assertNotNull(second);
+    assertNotNull(third);
+    assertTrue(first.startsWith("brd-123:section1:field:"));
+    assertTrue(second.startsWith("brd-123:section1:field:X:reply:"));
+    String firstSuffix = first.substring(first.lastIndexOf(':') + 1);
+    String thirdSuffix = third.substring(third.lastIndexOf(':') + 1);
+    assertEquals(13, firstSuffix.length());
+    assertTrue(firstSuffix.compareTo(thirdSuffix) < 0);
+    verify(mongoTemplate, never())
+        .findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(DatabaseSequence.class));
   }
 
   @Test
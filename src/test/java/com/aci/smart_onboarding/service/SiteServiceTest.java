@@ -16,6 +16,7 @@ import com.aci.smart_onboarding.model.BRD;
 import com.aci.smart_onboarding.model.Site;
 import com.aci.smart_onboarding.repository.BRDRepository;
 import com.aci.smart_onboarding.repository.SiteRepository;
+import com.aci.smart_onboarding.service.implementation.SiteDifferenceEngine;
 import com.aci.smart_onboarding.service.implementation.SiteService;
 import com.aci.smart_onboarding.util.brd_form.ClientInformation;
 import com.mongodb.client.result.UpdateResult;
@@ -30,6 +31,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.query.Query;
@@ -52,6 +54,8 @@ class SiteServiceTest {
 
   @Mock private ReactiveMongoTemplate mongoTemplate;
 
+  @Spy private SiteDifferenceEngine siteDifferenceEngine = new SiteDifferenceEngine();
+
   @InjectMocks private SiteService siteService;
 
   private SiteRequest validRequest;
@@ -3069,7 +3073,7 @@ class SiteServiceTest {
       List<SiteDifferencesResponse.FieldDifference> differences = new ArrayList<>();
 
       // Act
-      siteService.handleListSizeDifference(fieldPath, brdList, siteList, differences);
+      siteDifferenceEngine.handleListSizeDifference(fieldPath, brdList, siteList, differences);
 
       // Assert
       assertEquals(1, differences.size());
@@ -3089,7 +3093,7 @@ class SiteServiceTest {
       List<SiteDifferencesResponse.FieldDifference> differences = new ArrayList<>();
 
       // Act
-      siteService.handleListSizeDifference(fieldPath, brdList, siteList, differences);
+      siteDifferenceEngine.handleListSizeDifference(fieldPath, brdList, siteList, differences);
 
       // Assert
       assertEquals(1, differences.size());
@@ -3109,7 +3113,7 @@ class SiteServiceTest {
       List<SiteDifferencesResponse.FieldDifference> differences = new ArrayList<>();
 
       // Act
-      siteService.handleListSizeDifference(fieldPath, brdList, siteList, differences);
+      siteDifferenceEngine.handleListSizeDifference(fieldPath, brdList, siteList, differences);
 
       // Assert
       assertEquals(1, differences.size());
@@ -3129,7 +3133,7 @@ class SiteServiceTest {
       List<SiteDifferencesResponse.FieldDifference> differences = new ArrayList<>();
 
       // Act
-      siteService.handleListSizeDifference(fieldPath, brdList, siteList, differences);
+      siteDifferenceEngine.handleListSizeDifference(fieldPath, brdList, siteList, differences);
 
       // Assert
       assertEquals(1, differences.size());
@@ -3153,7 +3157,7 @@ class SiteServiceTest {
       List<SiteDifferencesResponse.FieldDifference> differences = new ArrayList<>();
 
       // Act
-      siteService.handleListSizeDifference(fieldPath, brdList, siteList, differences);
+      siteDifferenceEngine.handleListSizeDifference(fieldPath, brdList, siteList, differences);
 
       // Assert
       assertEquals(1, differences.size());
@@ -3173,7 +3177,7 @@ class SiteServiceTest {
       List<SiteDifferencesResponse.FieldDifference> differences = new ArrayList<>();
 
       // Act
-      siteService.handleListSizeDifference(fieldPath, brdList, siteList, differences);
+      siteDifferenceEngine.handleListSizeDifference(fieldPath, brdList, siteList, differences);
 
       // Assert
       assertEquals(1, differences.size());
@@ -3198,7 +3202,7 @@ class SiteServiceTest {
       List<SiteDifferencesResponse.FieldDifference> differences = new ArrayList<>();
 
       // Act
-      siteService.handleListSizeDifference(fieldPath, brdList, siteList, differences);
+      siteDifferenceEngine.handleListSizeDifference(fieldPath, brdList, siteList, differences);
 
       // Assert
       assertThat(differences)
@@ -3,11 +3,16 @@ package com.aci.smart_onboarding.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.aci.smart_onboarding.config.VectorIndexProperties;
+import com.aci.smart_onboarding.config.VectorStorageProperties;
 import com.aci.smart_onboarding.constants.BrdConstants;
 import com.aci.smart_onboarding.dto.UATTestCaseDTO;
 import com.aci.smart_onboarding.dto.UATTestCaseRequestResponseDTO;
@@ -16,10 +21,13 @@ import com.aci.smart_onboarding.enums.TestStatus;
 import com.aci.smart_onboarding.enums.TestType;
 import com.aci.smart_onboarding.exception.NotFoundException;
 import com.aci.smart_onboarding.mapper.DtoModelMapper;
+import com.aci.smart_onboarding.model.EmbeddingVector;
 import com.aci.smart_onboarding.model.UATTestCase;
 import com.aci.smart_onboarding.repository.UATTestCaseRepository;
 import com.aci.smart_onboarding.service.implementation.AIService;
+import com.aci.smart_onboarding.service.implementation.LocalVectorIndex;
 import com.aci.smart_onboarding.service.implementation.UATTestCaseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.HashMap;
 import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +37,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
@@ -47,6 +56,17 @@ class UATTestCaseServiceTest {
 
   @Mock private ReactiveMongoTemplate reactiveMongoTemplate;
 
+  // Default properties answer every search from Atlas, so the index never touches MongoDB here
+  @Spy
+  private LocalVectorIndex localVectorIndex =
+      new LocalVectorIndex(
+          null,
+          new VectorIndexProperties(),
+          new VectorStorageProperties(),
+          new SimpleMeterRegistry());
+
+  @Spy private VectorStorageProperties vectorStorageProperties = new VectorStorageProperties();
+
   @Captor private ArgumentCaptor<TypedAggregation<UATTestCase>> aggregationCaptor;
 
   @InjectMocks private UATTestCaseService service;
@@ -88,7 +108,8 @@ class UATTestCaseServiceTest {
     // Given
     UATTestCaseRequestResponseDTO localRequestDTO = createRequestDTO();
     UATTestCase localTestCase = createTestCase();
-    localTestCase.setVectors(List.of(0.1, 0.2, 0.3)); // Add vectors for AI service
+    // Add vectors for AI service
+    localTestCase.setVectors(EmbeddingVector.of(List.of(0.1, 0.2, 0.3)));
 
     // When
     when(mapper.mapToUATTestCase(any(UATTestCaseRequestResponseDTO.class)))
@@ -117,6 +138,40 @@ class UATTestCaseServiceTest {
     verify(aiService).getEmbeddings(anyString());
   }
 
+  @Test
+  void createTestCases_sharedContext_embedsOnceAndInsertsBatch() {
+    UATTestCase first = createTestCase();
+    UATTestCase second = createTestCase();
+    second.setTestName("Second test");
+    UATTestCaseRequestResponseDTO firstDTO = createRequestDTO();
+    UATTestCaseRequestResponseDTO secondDTO = createRequestDTO();
+
+    when(mapper.mapToUATTestCase(any(UATTestCaseRequestResponseDTO.class)))
+        .thenReturn(first, second);
+    when(aiService.getEmbeddings(anyString())).thenReturn(Mono.just(List.of(0.1, 0.2)));
+    when(reactiveMongoTemplate.insertAll(anyList()))
+        .thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+    when(mapper.mapToUATTestCaseRequestResponseDTO(any(UATTestCase.class)))
+        .thenReturn(firstDTO, secondDTO);
+
+    StepVerifier.create(service.createTestCases(List.of(firstDTO, secondDTO)))
+        .expectNext(firstDTO, secondDTO)
+        .verifyComplete();
+
+    verify(aiService, times(1)).getEmbeddings(anyString());
+    verify(reactiveMongoTemplate).insertAll(anyList());
+    verify(repository, never()).save(any(UATTestCase.class));
+    assertEquals(EmbeddingVector.of(List.of(0.1, 0.2)), first.getVectors());
+    assertEquals(EmbeddingVector.of(List.of(0.1, 0.2)), second.getVectors());
+  }
+
+  @Test
+  void createTestCases_emptyList_doesNothing() {
+    StepVerifier.create(service.createTestCases(List.of())).verifyComplete();
+
+    verify(reactiveMongoTemplate, never()).insertAll(anyList());
+  }
+
   @Test
   void updateTestCase_validId_success() {
     when(repository.findById(anyString())).thenReturn(Mono.just(testCase));
@@ -131,6 +186,23 @@ class UATTestCaseServiceTest {
     verify(repository).save(testCase);
   }
 
+  @Test
+  void updateTestCase_validId_keepsStoredVectors() {
+    UATTestCase stored = createTestCase();
+    stored.setVectors(EmbeddingVector.of(List.of(0.1, 0.2)));
+    UATTestCase updated = createTestCase();
+    when(repository.findById(anyString())).thenReturn(Mono.just(stored));
+    when(mapper.mapToUATTestCase(any(UATTestCaseDTO.class))).thenReturn(updated);
+    when(repository.save(any())).thenReturn(Mono.just(updated));
+    when(mapper.mapToUATTestCaseDTO(any())).thenReturn(testCaseDTO);
+
+    StepVerifier.create(service.updateTestCase("test-id", testCaseDTO))
+        .expectNext(testCaseDTO)
+        .verifyComplete();
+
+    assertEquals(EmbeddingVector.of(List.of(0.1, 0.2)), updated.getVectors());
+  }
+
   @Test
   void updateTestCase_nonExistentId_notFound() {
     when(repository.findById(anyString())).thenReturn(Mono.empty());
@@ -171,6 +243,7 @@ class UATTestCaseServiceTest {
     assertTrue(aggregation.toString().contains("uat_test_case_vector_index"));
     assertTrue(aggregation.toString().contains("vectors"));
     assertTrue(aggregation.toString().contains("euclidean"));
+    assertTrue(aggregation.toString().contains("{\"$project\": {\"vectors\": 0}}"));
   }
 
   @Test
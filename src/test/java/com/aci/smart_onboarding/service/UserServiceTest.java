@@ -2,12 +2,16 @@ package com.aci.smart_onboarding.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.aci.smart_onboarding.constants.DashboardConstants;
@@ -17,6 +21,8 @@ import com.aci.smart_onboarding.constants.UserConstants;
 import com.aci.smart_onboarding.dto.Api;
 import com.aci.smart_onboarding.dto.AuditLogRequest;
 import com.aci.smart_onboarding.dto.ChangePasswordRequest;
+import com.aci.smart_onboarding.dto.PMReassignmentRequest;
+import com.aci.smart_onboarding.dto.PMReassignmentResponse;
 import com.aci.smart_onboarding.dto.UserDetailResponse;
 import com.aci.smart_onboarding.dto.UserListResponse;
 import com.aci.smart_onboarding.dto.UserProjection;
@@ -32,11 +38,13 @@ import com.aci.smart_onboarding.model.User;
 import com.aci.smart_onboarding.repository.BAAssignmentRepository;
 import com.aci.smart_onboarding.repository.BRDRepository;
 import com.aci.smart_onboarding.repository.UserRepository;
+import com.aci.smart_onboarding.service.implementation.BrdReassignmentWriter;
 import com.aci.smart_onboarding.service.implementation.UserService;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -66,6 +74,8 @@ class UserServiceTest {
 
   @Mock private IAuditLogService auditLogService;
 
+  @Mock private BrdReassignmentWriter brdReassignmentWriter;
+
   @InjectMocks private UserService userService;
 
   private UserRequest userRequest;
@@ -176,9 +186,10 @@ class UserServiceTest {
     String encodedPassword = "encoded_" + defaultPasswordTest;
     when(passwordEncoder.encode(defaultPasswordTest)).thenReturn(encodedPassword);
     when(userRepository.save(any(User.class))).thenReturn(Mono.just(user));
-    when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString()))
+    when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString(), any()))
+        .thenReturn(Mono.empty());
+    when(emailService.sendUserCredentialsEmail(anyString(), anyString(), any()))
         .thenReturn(Mono.empty());
-    when(emailService.sendUserCredentialsEmail(anyString(), anyString())).thenReturn(Mono.empty());
 
     // When & Then
     StepVerifier.create(userService.createUser(userRequest))
@@ -266,9 +277,10 @@ class UserServiceTest {
     // Given
     when(passwordEncoder.encode(defaultPassword)).thenReturn("encoded_password");
     when(userRepository.save(any(User.class))).thenReturn(Mono.just(user));
-    when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString()))
+    when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString(), any()))
+        .thenReturn(Mono.empty());
+    when(emailService.sendUserCredentialsEmail(anyString(), anyString(), any()))
         .thenReturn(Mono.empty());
-    when(emailService.sendUserCredentialsEmail(anyString(), anyString())).thenReturn(Mono.empty());
 
     // When
     Mono<ResponseEntity<Api<UserResponse>>> result = userService.createUser(userRequest);
@@ -1072,7 +1084,7 @@ class UserServiceTest {
     void createUser_ShouldHandleWelcomeEmailFailureGracefully() {
       // Given
       setupDefaultEmailMocks();
-      when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString()))
+      when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString(), any()))
           .thenReturn(Mono.error(new RuntimeException("Email service error")));
 
       // When & Then
@@ -1090,7 +1102,7 @@ class UserServiceTest {
     void createUser_ShouldHandleCredentialsEmailFailureGracefully() {
       // Given
       setupDefaultEmailMocks();
-      when(emailService.sendUserCredentialsEmail(anyString(), anyString()))
+      when(emailService.sendUserCredentialsEmail(anyString(), anyString(), any()))
           .thenReturn(Mono.error(new RuntimeException("Credentials email error")));
 
       // When & Then
@@ -1108,9 +1120,9 @@ class UserServiceTest {
     void createUser_ShouldHandleBothEmailFailuresGracefully() {
       // Given
       setupDefaultEmailMocks();
-      when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString()))
+      when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString(), any()))
           .thenReturn(Mono.error(new RuntimeException("Welcome email error")));
-      when(emailService.sendUserCredentialsEmail(anyString(), anyString()))
+      when(emailService.sendUserCredentialsEmail(anyString(), anyString(), any()))
           .thenReturn(Mono.error(new RuntimeException("Credentials email error")));
 
       // When
@@ -1147,9 +1159,9 @@ class UserServiceTest {
       when(passwordEncoder.encode("John_" + SecurityConstants.ROLE_PM))
           .thenReturn("encoded_password");
       when(userRepository.save(any(User.class))).thenReturn(Mono.just(savedUser));
-      when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString()))
+      when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString(), any()))
           .thenReturn(Mono.empty());
-      when(emailService.sendUserCredentialsEmail(anyString(), anyString()))
+      when(emailService.sendUserCredentialsEmail(anyString(), anyString(), any()))
           .thenReturn(Mono.empty());
 
       // When
@@ -1185,9 +1197,9 @@ class UserServiceTest {
 
       when(passwordEncoder.encode(expectedPassword)).thenReturn("encoded_test_password");
       when(userRepository.save(any(User.class))).thenReturn(Mono.just(user));
-      when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString()))
+      when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString(), any()))
           .thenReturn(Mono.empty());
-      when(emailService.sendUserCredentialsEmail(anyString(), anyString()))
+      when(emailService.sendUserCredentialsEmail(anyString(), anyString(), any()))
           .thenReturn(Mono.empty());
 
       // When
@@ -1232,9 +1244,9 @@ class UserServiceTest {
       setupDefaultEmailMocks();
 
       // Simulate slow email service
-      when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString()))
+      when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString(), any()))
           .thenReturn(Mono.<Void>empty().delayElement(java.time.Duration.ofSeconds(5)));
-      when(emailService.sendUserCredentialsEmail(anyString(), anyString()))
+      when(emailService.sendUserCredentialsEmail(anyString(), anyString(), any()))
           .thenReturn(Mono.<Void>empty().delayElement(java.time.Duration.ofSeconds(5)));
 
       // When
@@ -1398,9 +1410,10 @@ class UserServiceTest {
   private void setupDefaultEmailMocks() {
     when(passwordEncoder.encode(defaultPassword)).thenReturn(TestConstants.ENCODED_PASSWORD);
     when(userRepository.save(any(User.class))).thenReturn(Mono.just(user));
-    when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString()))
+    when(emailService.sendUserWelcomeEmailWithResetLink(anyString(), anyString(), any()))
+        .thenReturn(Mono.empty());
+    when(emailService.sendUserCredentialsEmail(anyString(), anyString(), any()))
         .thenReturn(Mono.empty());
-    when(emailService.sendUserCredentialsEmail(anyString(), anyString())).thenReturn(Mono.empty());
   }
 
   @Test
@@ -1661,4 +1674,145 @@ class UserServiceTest {
         .expectNextMatches(api -> api.getStatus().equals("failure") && api.getMessage().contains("last role"))
         .verifyComplete();
   }
+
+  @Test
+  @DisplayName("Batch PM reassignment should write all BRDs at once and audit them together")
+  void reassignProjectManagers_ShouldBulkWriteAndAuditInOneBatch() {
+    List<PMReassignmentRequest> requests =
+        List.of(
+            pmReassignment("BRD-1", "newpm@example.com"),
+            pmReassignment("BRD-2", "NewPM@example.com"),
+            pmReassignment("BRD-3", "newpm@example.com"));
+
+    when(brdReassignmentWriter.findUsers(List.of("newpm@example.com")))
+        .thenReturn(Mono.just(Map.of("newpm@example.com", pmUser("newpm@example.com"))));
+    when(brdReassignmentWriter.findAssignees(
+            BRD.class, "creator", List.of("BRD-1", "BRD-2", "BRD-3")))
+        .thenReturn(
+            Mono.just(
+                Map.of(
+                    "BRD-1", "old1@example.com",
+                    "BRD-2", "old2@example.com",
+                    "BRD-3", "newpm@example.com")));
+    when(brdReassignmentWriter.reassign(eq(BRD.class), eq("creator"), anyMap()))
+        .thenReturn(Mono.just(Map.of()));
+    when(auditLogService.logCreations(anyList())).thenReturn(Mono.empty());
+
+    StepVerifier.create(userService.reassignProjectManagers(requests, "manager", "ROLE_MANAGER"))
+        .assertNext(
+            response -> {
+              assertThat(response.getStatus()).isEqualTo(DashboardConstants.SUCCESS);
+              List<PMReassignmentResponse> results = response.getData().orElseThrow();
+              assertThat(results)
+                  .extracting(PMReassignmentResponse::getBrdId)
+                  .containsExactly("BRD-1", "BRD-2", "BRD-3");
+              assertThat(results.get(0).getOldPmUsername()).isEqualTo("old1@example.com");
+            })
+        .verifyComplete();
+
+    // BRD-3 already belongs to the PM, so it is neither written nor audited
+    verify(brdReassignmentWriter)
+        .reassign(
+            BRD.class,
+            "creator",
+            Map.of("BRD-1", "newpm@example.com", "BRD-2", "NewPM@example.com"));
+    ArgumentCaptor<List<AuditLogRequest>> audits = auditLogRequests();
+    verify(auditLogService).logCreations(audits.capture());
+    assertThat(audits.getValue())
+        .extracting(AuditLogRequest::getEntityId)
+        .containsExactly("BRD-1", "BRD-2");
+    verify(auditLogService, never()).logCreation(any(AuditLogRequest.class));
+    verify(brdRepository, never()).save(any(BRD.class));
+  }
+
+  @Test
+  @DisplayName("Batch PM reassignment should report validation and write failures per BRD")
+  void reassignProjectManagers_FailuresShouldBeReportedPerBrd() {
+    List<PMReassignmentRequest> requests =
+        List.of(
+            pmReassignment("BRD-1", "missing@example.com"),
+            pmReassignment("BRD-404", "newpm@example.com"),
+            pmReassignment("BRD-2", "ba@example.com"),
+            pmReassignment("BRD-3", "newpm@example.com"),
+            pmReassignment("BRD-4", "newpm@example.com"));
+
+    User baUser =
+        User.builder()
+            .email("ba@example.com")
+            .activeRole(SecurityConstants.ROLE_BA)
+            .roles(Collections.singletonList(SecurityConstants.ROLE_BA))
+            .build();
+    when(brdReassignmentWriter.findUsers(anyList()))
+        .thenReturn(
+            Mono.just(
+                Map.of(
+                    "newpm@example.com", pmUser("newpm@example.com"),
+                    "ba@example.com", baUser)));
+    when(brdReassignmentWriter.findAssignees(eq(BRD.class), eq("creator"), anyList()))
+        .thenReturn(
+            Mono.just(
+                Map.of(
+                    "BRD-1", "old@example.com",
+                    "BRD-2", "old@example.com",
+                    "BRD-3", "old@example.com",
+                    "BRD-4", "old@example.com")));
+    when(brdReassignmentWriter.reassign(eq(BRD.class), eq("creator"), anyMap()))
+        .thenReturn(Mono.just(Map.of("BRD-4", "Document failed validation")));
+    when(auditLogService.logCreations(anyList())).thenReturn(Mono.empty());
+
+    StepVerifier.create(userService.reassignProjectManagers(requests, "manager", "ROLE_MANAGER"))
+        .assertNext(
+            response -> {
+              assertThat(response.getStatus()).isEqualTo(ErrorValidationMessage.FAILURE);
+              assertThat(response.getData().orElseThrow())
+                  .extracting(PMReassignmentResponse::getReason)
+                  .containsExactly(
+                      "PM not found",
+                      "BRD not found",
+                      DashboardConstants.PM_ONLY_ROLE,
+                      "Database error: Document failed validation");
+            })
+        .verifyComplete();
+
+    ArgumentCaptor<List<AuditLogRequest>> audits = auditLogRequests();
+    verify(auditLogService).logCreations(audits.capture());
+    assertThat(audits.getValue()).extracting(AuditLogRequest::getEntityId).containsExactly("BRD-3");
+  }
+
+  @Test
+  @DisplayName("Batch PM reassignment should fail every BRD when the lookup fails")
+  void reassignProjectManagers_LookupError_ShouldFailEveryBrd() {
+    when(brdReassignmentWriter.findUsers(anyList()))
+        .thenReturn(Mono.error(new IllegalStateException("down")));
+    when(brdReassignmentWriter.findAssignees(eq(BRD.class), eq("creator"), anyList()))
+        .thenReturn(Mono.just(Map.of()));
+
+    StepVerifier.create(
+            userService.reassignProjectManagers(
+                List.of(pmReassignment("BRD-1", "newpm@example.com")), "manager", "ROLE_MANAGER"))
+        .assertNext(
+            response ->
+                assertThat(response.getData().orElseThrow().get(0).getReason())
+                    .isEqualTo("Processing error: down"))
+        .verifyComplete();
+
+    verifyNoInteractions(auditLogService);
+  }
+
+  private static PMReassignmentRequest pmReassignment(String brdId, String newPmUsername) {
+    return PMReassignmentRequest.builder().brdId(brdId).newPmUsername(newPmUsername).build();
+  }
+
+  private static User pmUser(String email) {
+    return User.builder()
+        .email(email)
+        .activeRole(SecurityConstants.ROLE_PM)
+        .roles(Collections.singletonList(SecurityConstants.ROLE_PM))
+        .build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<List<AuditLogRequest>> auditLogRequests() {
+    return ArgumentCaptor.forClass(List.class);
+  }
 }
@@ -0,0 +1,269 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.aci.smart_onboarding.config.AiGovernorProperties;
+import com.aci.smart_onboarding.enums.AiOperation;
+import com.aci.smart_onboarding.enums.AiPriority;
+import com.aci.smart_onboarding.exception.AIServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+class AiRequestGovernorTest {
+
+  private AiGovernorProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private AiRequestGovernor governor;
+  private List<String> started;
+  private Map<String, Sinks.One<String>> calls;
+  private List<Disposable> subscriptions;
+
+  @BeforeEach
+  void setUp() {
+    properties = new AiGovernorProperties();
+    properties.setCompletionMaxConcurrent(1);
+    properties.setInteractiveReserve(0);
+    meterRegistry = new SimpleMeterRegistry();
+    governor = new AiRequestGovernor(properties, meterRegistry);
+    started = new ArrayList<>();
+    calls = new HashMap<>();
+    subscriptions = new ArrayList<>();
+  }
+
+  @AfterEach
+  void tearDown() {
+    subscriptions.forEach(Disposable::dispose);
+    VirtualTimeScheduler.reset();
+  }
+
+  @Test
+  void govern_ShouldNotRunMoreCallsThanSlots() {
+    properties.setCompletionMaxConcurrent(2);
+
+    start("a", "chat");
+    start("b", "chat");
+    start("c", "chat");
+
+    assertEquals(List.of("a", "b"), started);
+    assertEquals(2, governor.active(AiOperation.COMPLETION));
+    assertEquals(1, governor.queued(AiOperation.COMPLETION));
+
+    finish("a");
+
+    assertEquals(List.of("a", "b", "c"), started);
+    assertEquals(0, governor.queued(AiOperation.COMPLETION));
+  }
+
+  @Test
+  void govern_BatchCalls_ShouldLeaveReservedSlotsToInteractiveCalls() {
+    properties.setCompletionMaxConcurrent(2);
+    properties.setInteractiveReserve(1);
+
+    start("prefill-1", "prefill");
+    start("prefill-2", "prefill");
+    start("chat", "chat");
+
+    assertEquals(List.of("prefill-1", "chat"), started);
+    assertEquals(1, governor.queued(AiOperation.COMPLETION));
+  }
+
+  @Test
+  void govern_ShouldStartInteractiveCallsBeforeBatchCalls() {
+    start("running", "chat");
+    start("batch", "chat", AiPriority.BATCH);
+    start("interactive", "chat");
+
+    finish("running");
+    finish("interactive");
+
+    assertEquals(List.of("running", "interactive", "batch"), started);
+    assertEquals(1, queueTimerCount(AiPriority.BATCH));
+    assertEquals(2, queueTimerCount(AiPriority.INTERACTIVE));
+  }
+
+  @Test
+  void govern_ShouldLetUsersTakeTurns() {
+    start("running", "chat");
+    startAs("alice-1", "alice");
+    startAs("alice-2", "alice");
+    startAs("alice-3", "alice");
+    startAs("bob-1", "bob");
+
+    finish("running");
+    finish("alice-1");
+    finish("bob-1");
+
+    assertEquals(List.of("running", "alice-1", "bob-1", "alice-2"), started);
+  }
+
+  @Test
+  void govern_CancelledWhileWaiting_ShouldLeaveTheQueue() {
+    start("running", "chat");
+    Disposable waiting = start("waiting", "chat");
+
+    waiting.dispose();
+    assertEquals(0, governor.queued(AiOperation.COMPLETION));
+
+    subscriptions.get(0).dispose();
+    assertEquals(0, governor.active(AiOperation.COMPLETION));
+    assertEquals(List.of("running"), started);
+  }
+
+  @Test
+  void govern_CancelledWhileRunning_ShouldReleaseTheSlot() {
+    Disposable running = start("running", "chat");
+    start("next", "chat");
+
+    running.dispose();
+
+    assertEquals(List.of("running", "next"), started);
+    assertEquals(1, governor.active(AiOperation.COMPLETION));
+  }
+
+  @Test
+  void govern_FailedCall_ShouldReleaseTheSlot() {
+    StepVerifier.create(
+            governor.govern(
+                AiOperation.COMPLETION,
+                "chat",
+                0,
+                () -> Mono.error(new AIServiceException("provider down"))))
+        .expectError(AIServiceException.class)
+        .verify();
+
+    assertEquals(0, governor.active(AiOperation.COMPLETION));
+  }
+
+  @Test
+  void govern_TooManyWaiting_ShouldReject() {
+    properties.setMaxQueued(1);
+    start("running", "chat");
+    start("waiting", "chat");
+
+    StepVerifier.create(governor.govern(AiOperation.COMPLETION, "chat", 0, () -> Mono.just("x")))
+        .expectError(AIServiceException.class)
+        .verify();
+
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get(AiRequestGovernor.METRIC_PREFIX + "rejected")
+            .tag("operation", "completion")
+            .counter()
+            .count());
+  }
+
+  @Test
+  void govern_OverTokenBudget_ShouldWaitForTheBudgetToRefill() {
+    VirtualTimeScheduler scheduler = VirtualTimeScheduler.getOrSet();
+    properties.setCompletionMaxConcurrent(10);
+    properties.setCompletionTokensPerMinute(100);
+
+    start("first", "chat", 100);
+    start("second", "chat", 50);
+    assertEquals(List.of("first"), started);
+
+    // Half a minute refills the 50 tokens the second call needs
+    scheduler.advanceTimeBy(Duration.ofSeconds(29));
+    assertEquals(List.of("first"), started);
+    scheduler.advanceTimeBy(Duration.ofSeconds(2));
+    assertEquals(List.of("first", "second"), started);
+  }
+
+  @Test
+  void governStream_ShouldHoldTheSlotUntilTheStreamEnds() {
+    Sinks.Many<String> tokens = Sinks.many().unicast().onBackpressureBuffer();
+    subscriptions.add(
+        governor.governStream(AiOperation.COMPLETION, "chat", 0, tokens::asFlux).subscribe());
+    start("next", "chat");
+
+    tokens.tryEmitNext("Fees");
+    assertTrue(started.isEmpty());
+
+    tokens.tryEmitComplete();
+    assertEquals(List.of("next"), started);
+  }
+
+  @Test
+  void govern_Disabled_ShouldCallStraightThrough() {
+    properties.setEnabled(false);
+
+    start("a", "chat");
+    start("b", "chat");
+
+    assertEquals(List.of("a", "b"), started);
+    assertEquals(0, governor.active(AiOperation.COMPLETION));
+  }
+
+  @Test
+  void estimateTokens_ShouldCountFourCharactersPerToken() {
+    assertEquals(3, AiRequestGovernor.estimateTokens("12345678", null, "1234"));
+  }
+
+  private Disposable start(String name, String contextName) {
+    return start(name, contextName, 0);
+  }
+
+  private Disposable start(String name, String contextName, long tokens) {
+    return subscribe(call(name, contextName, tokens));
+  }
+
+  private Disposable start(String name, String contextName, AiPriority priority) {
+    return subscribe(call(name, contextName, 0).contextWrite(AiRequestGovernor.priority(priority)));
+  }
+
+  private Disposable startAs(String name, String user) {
+    return subscribe(
+        call(name, "chat", 0)
+            .contextWrite(
+                ReactiveSecurityContextHolder.withAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null))));
+  }
+
+  private Mono<String> call(String name, String contextName, long tokens) {
+    Sinks.One<String> result = Sinks.one();
+    calls.put(name, result);
+    return governor.govern(
+        AiOperation.COMPLETION,
+        contextName,
+        tokens,
+        () -> {
+          started.add(name);
+          return result.asMono();
+        });
+  }
+
+  private Disposable subscribe(Mono<String> call) {
+    Disposable subscription = call.subscribe(value -> {}, error -> {});
+    subscriptions.add(subscription);
+    return subscription;
+  }
+
+  private void finish(String name) {
+    calls.get(name).tryEmitValue(name);
+  }
+
+  private long queueTimerCount(AiPriority priority) {
+    return meterRegistry
+        .get(AiRequestGovernor.METRIC_PREFIX + "queue")
+        .tag("operation", "completion")
+        .tag("priority", priority.name().toLowerCase())
+        .timer()
+        .count();
+  }
+}
@@ -0,0 +1,335 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.config.AuditLogProperties;
+import com.aci.smart_onboarding.model.AuditLog;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.result.InsertManyResult;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AuditLogWriterTest {
+
+  @Mock private ReactiveMongoTemplate reactiveMongoTemplate;
+
+  @Mock private MongoCollection<Document> collection;
+
+  @Mock private AuditStatusProjector statusProjector;
+
+  @TempDir Path journalDirectory;
+
+  private SimpleMeterRegistry meterRegistry;
+  private AuditLogWriter auditLogWriter;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    MongoMappingContext mappingContext = new MongoMappingContext();
+    MappingMongoConverter converter =
+        new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+    converter.afterPropertiesSet();
+
+    when(reactiveMongoTemplate.getConverter()).thenReturn(converter);
+    when(reactiveMongoTemplate.getCollectionName(AuditLog.class)).thenReturn("audit_logs");
+    when(reactiveMongoTemplate.getCollection("audit_logs")).thenReturn(Mono.just(collection));
+    when(statusProjector.project(anyList())).thenReturn(Mono.empty());
+
+    AuditLogProperties properties = new AuditLogProperties();
+    properties.setQueueCapacity(3);
+    properties.setBatchSize(2);
+    properties.setJournalDirectory(journalDirectory.toString());
+
+    meterRegistry = new SimpleMeterRegistry();
+    auditLogWriter =
+        new AuditLogWriter(reactiveMongoTemplate, statusProjector, properties, meterRegistry);
+  }
+
+  @Test
+  void flush_ShouldWriteQueuedLogsInBatches() {
+    whenInsertSucceeds();
+    for (int i = 0; i < 3; i++) {
+      auditLogWriter.submit(auditLog("BRD" + i)).block();
+    }
+
+    StepVerifier.create(auditLogWriter.flush()).verifyComplete();
+
+    ArgumentCaptor<List<Document>> batches = documentBatches();
+    verify(collection, times(2)).insertMany(batches.capture(), any(InsertManyOptions.class));
+    assertEquals(2, batches.getAllValues().get(0).size());
+    assertEquals(1, batches.getAllValues().get(1).size());
+    assertEquals("BRD0", batches.getAllValues().get(0).get(0).getString("entityId"));
+    assertTrue(auditLogWriter.pending().isEmpty());
+    assertEquals(3.0, meterRegistry.counter("audit.log.written").count());
+    assertTrue(journalFiles().isEmpty());
+    assertTrue(segments().isEmpty());
+  }
+
+  @Test
+  void submit_ShouldJournalEntryBeforeAcknowledging() throws IOException {
+    StepVerifier.create(auditLogWriter.submit(auditLog("BRD1"))).verifyComplete();
+
+    List<Path> journalFiles = journalFiles();
+    assertEquals(1, journalFiles.size());
+    List<String> lines = Files.readAllLines(journalFiles.get(0));
+    assertEquals(1, lines.size());
+    assertEquals("BRD1", Document.parse(lines.get(0)).getString("entityId"));
+    verify(collection, never()).insertMany(anyList(), any(InsertManyOptions.class));
+  }
+
+  @Test
+  void submit_WhenJournalCannotBeWritten_ShouldFail() throws IOException {
+    Path notADirectory = Files.createFile(journalDirectory.resolve("journal"));
+    AuditLogProperties properties = new AuditLogProperties();
+    properties.setJournalDirectory(notADirectory.resolve("segments").toString());
+    AuditLogWriter writer =
+        new AuditLogWriter(reactiveMongoTemplate, statusProjector, properties, meterRegistry);
+
+    StepVerifier.create(writer.submit(auditLog("BRD1"))).verifyError(IOException.class);
+
+    assertTrue(writer.pending().isEmpty());
+    assertEquals(1.0, meterRegistry.counter("audit.log.rejected").count());
+  }
+
+  @Test
+  void flush_ShouldProjectStatusEventsOfWrittenBatch() {
+    whenInsertSucceeds();
+    AuditLog auditLog = auditLog("BRD1");
+    auditLogWriter.submit(auditLog).block();
+
+    StepVerifier.create(auditLogWriter.flush()).verifyComplete();
+
+    ArgumentCaptor<List<AuditLog>> projected = auditLogBatches();
+    verify(statusProjector).project(projected.capture());
+    assertEquals(1, projected.getValue().size());
+    assertEquals(auditLog.getAuditId(), projected.getValue().get(0).getAuditId());
+    assertEquals("BRD1", projected.getValue().get(0).getEntityId());
+  }
+
+  @Test
+  void pending_ShouldExposeLogsNotYetFlushed() {
+    AuditLog queued = auditLog("BRD1");
+    auditLogWriter.submit(queued).block();
+
+    assertEquals(List.of(queued), auditLogWriter.pending());
+    verify(collection, never()).insertMany(anyList(), any(InsertManyOptions.class));
+  }
+
+  @Test
+  void flush_WhenMongoFails_ShouldJournalBatchAndReplayLater() throws IOException {
+    when(collection.insertMany(anyList(), any(InsertManyOptions.class)))
+        .thenReturn(Mono.error(new IllegalStateException("Mongo unavailable")));
+    AuditLog auditLog = auditLog("BRD1");
+    auditLogWriter.submit(auditLog).block();
+
+    StepVerifier.create(auditLogWriter.flush()).verifyComplete();
+
+    assertEquals(1, segments().size());
+    assertTrue(journalFiles().isEmpty());
+    assertEquals(1.0, meterRegistry.counter("audit.log.spilled").count());
+
+    whenInsertSucceeds();
+    StepVerifier.create(auditLogWriter.flush()).verifyComplete();
+
+    assertTrue(segments().isEmpty());
+    assertEquals(1.0, meterRegistry.counter("audit.log.replayed").count());
+    ArgumentCaptor<List<Document>> batches = documentBatches();
+    verify(collection, times(3)).insertMany(batches.capture(), any(InsertManyOptions.class));
+    Document replayed = batches.getValue().get(0);
+    assertEquals(new ObjectId(auditLog.getAuditId()), replayed.get("_id"));
+    assertEquals("BRD1", replayed.getString("entityId"));
+  }
+
+  @Test
+  void replay_ShouldTreatDuplicateKeysAsAlreadyWritten() throws IOException {
+    when(collection.insertMany(anyList(), any(InsertManyOptions.class)))
+        .thenReturn(Mono.error(new IllegalStateException("Mongo unavailable")));
+    auditLogWriter.submit(auditLog("BRD1")).block();
+    StepVerifier.create(auditLogWriter.flush()).verifyComplete();
+    assertEquals(1, segments().size());
+
+    MongoBulkWriteException duplicate =
+        new MongoBulkWriteException(
+            BulkWriteResult.unacknowledged(),
+            List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 0)),
+            null,
+            new ServerAddress(),
+            Set.of());
+    when(collection.insertMany(anyList(), any(InsertManyOptions.class)))
+        .thenReturn(Mono.error(duplicate));
+
+    StepVerifier.create(auditLogWriter.flush()).verifyComplete();
+
+    assertTrue(segments().isEmpty());
+  }
+
+  @Test
+  void submit_WhenQueueIsFull_ShouldKeepOverflowForReplay() throws IOException {
+    for (int i = 0; i < 4; i++) {
+      auditLogWriter.submit(auditLog("BRD" + i)).block();
+    }
+
+    assertEquals(3, auditLogWriter.pending().size());
+    assertEquals(1.0, meterRegistry.counter("audit.log.overflow").count());
+    assertEquals(3, journalFiles().size());
+    assertEquals(1, segments().size());
+  }
+
+  @Test
+  void submitAll_WhenQueueIsFull_ShouldReplayOverflowAfterFlush() throws IOException {
+    auditLogWriter
+        .submitAll(
+            List.of(
+                auditLog("BRD0"),
+                auditLog("BRD1"),
+                auditLog("BRD2"),
+                auditLog("BRD3"),
+                auditLog("BRD4")))
+        .block();
+
+    assertEquals(3, auditLogWriter.pending().size());
+    assertEquals("BRD0", auditLogWriter.pending().get(0).getEntityId());
+    assertEquals(2.0, meterRegistry.counter("audit.log.overflow").count());
+    assertEquals(1, journalFiles().size());
+    assertEquals(5, Files.readAllLines(journalFiles().get(0)).size());
+
+    whenInsertSucceeds();
+    StepVerifier.create(auditLogWriter.flush()).verifyComplete();
+
+    // The stored entries are replayed with the overflow and only hit duplicate keys
+    assertTrue(journalFiles().isEmpty());
+    assertTrue(segments().isEmpty());
+    assertEquals(5.0, meterRegistry.counter("audit.log.replayed").count());
+  }
+
+  @Test
+  void stop_WhenMongoFails_ShouldJournalRemainingLogs() throws IOException {
+    when(collection.insertMany(anyList(), any(InsertManyOptions.class)))
+        .thenReturn(Mono.error(new IllegalStateException("Mongo unavailable")));
+    auditLogWriter.submit(auditLog("BRD1")).block();
+
+    auditLogWriter.stop();
+
+    assertTrue(auditLogWriter.pending().isEmpty());
+    assertTrue(journalFiles().isEmpty());
+    assertEquals(1, segments().size());
+  }
+
+  @Test
+  void start_ShouldReplayJournalSegmentsLeftByCrash() throws IOException {
+    Files.writeString(
+        journalDirectory.resolve(AuditLogWriter.JOURNAL_PREFIX + "0000000000001-000001.jsonl"),
+        new Document("entityId", "BRD1").toJson() + "\n");
+
+    auditLogWriter.start();
+    try {
+      assertTrue(journalFiles().isEmpty());
+      assertEquals(1, segments().size());
+      assertEquals(1.0, meterRegistry.get("audit.log.journal.segments").gauge().value());
+    } finally {
+      auditLogWriter.stop();
+    }
+  }
+
+  @Test
+  void start_ShouldCountSegmentsLeftByPreviousRun() throws IOException {
+    Files.writeString(
+        journalDirectory.resolve(AuditLogWriter.SEGMENT_PREFIX + "0000000000001-000001.jsonl"),
+        new Document("entityId", "BRD1").toJson() + "\n");
+
+    auditLogWriter.start();
+    try {
+      assertEquals(1.0, meterRegistry.get("audit.log.journal.segments").gauge().value());
+    } finally {
+      auditLogWriter.stop();
+    }
+  }
+
+  private void whenInsertSucceeds() {
+    when(collection.insertMany(anyList(), any(InsertManyOptions.class)))
+        .thenReturn(Mono.just(InsertManyResult.acknowledged(Map.of())));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<List<Document>> documentBatches() {
+    return ArgumentCaptor.forClass(List.class);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ArgumentCaptor<List<AuditLog>> auditLogBatches() {
+    return ArgumentCaptor.forClass(List.class);
+  }
+
+  private List<Path> segments() throws IOException {
+    return files(AuditLogWriter.SEGMENT_PREFIX);
+  }
+
+  private List<Path> journalFiles() throws IOException {
+    return files(AuditLogWriter.JOURNAL_PREFIX);
+  }
+
+  private List<Path> files(String prefix) throws IOException {
+    try (Stream<Path> files = Files.list(journalDirectory)) {
+      return files
+          .filter(
+              path -> {
+                String fileName = path.getFileName().toString();
+                return fileName.startsWith(prefix)
+                    && fileName.endsWith(AuditLogWriter.SEGMENT_SUFFIX);
+              })
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static AuditLog auditLog(String entityId) {
+    AuditLog auditLog = new AuditLog();
+    auditLog.setAuditId(new ObjectId().toHexString());
+    auditLog.setEntityType("BRD");
+    auditLog.setEntityId(entityId);
+    auditLog.setAction("STATUS_UPDATE");
+    auditLog.setUserId("USER123");
+    auditLog.setUserName("John Doe");
+    auditLog.setEventTimestamp(LocalDateTime.of(2025, 1, 1, 10, 0));
+    auditLog.setNewValues(Map.of("status", "Submitted"));
+    return auditLog;
+  }
+}
@@ -0,0 +1,346 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.config.AuditLogProperties;
+import com.aci.smart_onboarding.constants.BrdConstants;
+import com.aci.smart_onboarding.model.AuditLog;
+import com.aci.smart_onboarding.model.BrdStatusBackfill;
+import com.aci.smart_onboarding.model.BrdStatusEvent;
+import com.aci.smart_onboarding.model.BrdStatusProjection;
+import com.aci.smart_onboarding.model.BrdStatusTransitionRollup;
+import com.mongodb.client.result.UpdateResult;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class AuditStatusProjectorTest {
+
+  private static final LocalDateTime DAY_ONE = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+  @Mock private ReactiveMongoTemplate mongoTemplate;
+
+  @Mock private ReactiveIndexOperations indexOperations;
+
+  private AuditStatusProjector projector;
+
+  @BeforeEach
+  void setUp() {
+    when(mongoTemplate.getCollectionName(BrdStatusEvent.class)).thenReturn("brd_status_events");
+    when(mongoTemplate.collectionExists("brd_status_events")).thenReturn(Mono.just(true));
+    when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOperations);
+    when(indexOperations.ensureIndex(any(IndexDefinition.class))).thenReturn(Mono.just("idx"));
+    when(mongoTemplate.upsert(
+            any(Query.class), any(Update.class), eq(BrdStatusTransitionRollup.class)))
+        .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, new BsonString("id"))));
+    when(mongoTemplate.findById("brd_status_events", BrdStatusBackfill.class))
+        .thenReturn(Mono.empty());
+    leaseWithPending(null);
+    when(mongoTemplate.updateFirst(
+            any(Query.class), any(Update.class), eq(BrdStatusProjection.class)))
+        .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+    projector = new AuditStatusProjector(mongoTemplate, new AuditLogProperties());
+  }
+
+  @Test
+  void project_WithLateEvent_ShouldReplaceNeighbourTransition() {
+    BrdStatusEvent previous = event("Draft", DAY_ONE);
+    BrdStatusEvent next = event("Edit Complete", DAY_ONE.plusDays(4));
+    AuditLog late = auditLog(BrdConstants.ACTION_STATUS_UPDATE, "In Progress", DAY_ONE.plusDays(2));
+
+    when(mongoTemplate.exists(any(Query.class), eq(BrdStatusEvent.class)))
+        .thenReturn(Mono.just(false));
+    when(mongoTemplate.findOne(any(Query.class), eq(BrdStatusEvent.class)))
+        .thenReturn(Mono.just(previous), Mono.just(next));
+    when(mongoTemplate.insert(any(BrdStatusEvent.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+    StepVerifier.create(projector.project(List.of(late))).verifyComplete();
+
+    ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate, times(6))
+        .upsert(any(Query.class), updates.capture(), eq(BrdStatusTransitionRollup.class));
+
+    // Draft -> Edit Complete is removed from both the hourly and the daily rollups
+    List<Document> increments =
+        updates.getAllValues().stream()
+            .map(update -> (Document) update.getUpdateObject().get("$inc"))
+            .toList();
+    assertEquals(-1, increments.get(0).get("count"));
+    assertEquals(-1, increments.get(1).get("count"));
+    assertEquals(-4L * 24 * 60, increments.get(0).get("totalMinutes"));
+    assertTrue(increments.subList(2, 6).stream().allMatch(inc -> inc.get("count").equals(1)));
+    assertEquals(2L * 24 * 60, increments.get(2).get("totalMinutes"));
+
+    // Every delta is recorded in its rollup, and the event is pending until the last one is applied
+    Document added = (Document) updates.getAllValues().get(0).getUpdateObject().get("$addToSet");
+    assertEquals(late.getAuditId() + "|replaced", added.get("appliedDeltas"));
+    ArgumentCaptor<Update> stateUpdates = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate, times(3))
+        .updateFirst(any(Query.class), stateUpdates.capture(), eq(BrdStatusProjection.class));
+    List<Update> states = stateUpdates.getAllValues();
+    assertEquals(
+        late.getAuditId(),
+        ((Document) states.get(0).getUpdateObject().get("$set")).get("pendingAuditId"));
+    Document cleared = (Document) states.get(1).getUpdateObject().get("$unset");
+    Document released = (Document) states.get(2).getUpdateObject().get("$unset");
+    assertTrue(cleared.containsKey("pendingAuditId"));
+    assertTrue(released.containsKey("lockedUntil"));
+  }
+
+  @Test
+  void project_WhenDeltaAlreadyApplied_ShouldNotCountItAgain() {
+    AuditLog late = auditLog(BrdConstants.ACTION_STATUS_UPDATE, "In Progress", DAY_ONE.plusDays(2));
+
+    when(mongoTemplate.exists(any(Query.class), eq(BrdStatusEvent.class)))
+        .thenReturn(Mono.just(false));
+    when(mongoTemplate.findOne(any(Query.class), eq(BrdStatusEvent.class)))
+        .thenReturn(Mono.just(event("Draft", DAY_ONE)), Mono.empty());
+    when(mongoTemplate.insert(any(BrdStatusEvent.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    when(mongoTemplate.upsert(
+            any(Query.class), any(Update.class), eq(BrdStatusTransitionRollup.class)))
+        .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key")));
+
+    StepVerifier.create(projector.project(List.of(late))).verifyComplete();
+
+    ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate, times(2))
+        .upsert(queries.capture(), any(Update.class), eq(BrdStatusTransitionRollup.class));
+    Document notApplied = (Document) queries.getValue().getQueryObject().get("appliedDeltas");
+    assertEquals(late.getAuditId() + "|from-previous", notApplied.get("$ne"));
+  }
+
+  @Test
+  void project_WithPendingEvent_ShouldFinishItBeforeOtherEvents() {
+    BrdStatusEvent pending = event("In Progress", DAY_ONE.plusDays(2));
+    leaseWithPending(pending.getAuditId());
+
+    // The pending event is already stored; its deltas are recomputed from the same neighbours
+    when(mongoTemplate.findOne(any(Query.class), eq(BrdStatusEvent.class)))
+        .thenReturn(Mono.just(pending), Mono.just(event("Draft", DAY_ONE)), Mono.empty());
+    when(mongoTemplate.exists(any(Query.class), eq(BrdStatusEvent.class)))
+        .thenReturn(Mono.just(true));
+
+    StepVerifier.create(
+            projector.project(
+                List.of(
+                    auditLog(
+                        BrdConstants.ACTION_STATUS_UPDATE, "In Progress", DAY_ONE.plusDays(2)))))
+        .verifyComplete();
+
+    verify(mongoTemplate, never()).insert(any(BrdStatusEvent.class));
+    verify(mongoTemplate, times(2))
+        .upsert(any(Query.class), any(Update.class), eq(BrdStatusTransitionRollup.class));
+    ArgumentCaptor<Update> stateUpdates = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate, times(2))
+        .updateFirst(any(Query.class), stateUpdates.capture(), eq(BrdStatusProjection.class));
+    assertTrue(
+        ((Document) stateUpdates.getAllValues().get(0).getUpdateObject().get("$unset"))
+            .containsKey("pendingAuditId"));
+  }
+
+  @Test
+  void project_WhenLeaseIsLost_ShouldFailBeforeStoringTheEvent() {
+    when(mongoTemplate.exists(any(Query.class), eq(BrdStatusEvent.class)))
+        .thenReturn(Mono.just(false));
+    when(mongoTemplate.updateFirst(
+            any(Query.class), any(Update.class), eq(BrdStatusProjection.class)))
+        .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)));
+
+    StepVerifier.create(
+            projector.project(
+                List.of(auditLog(BrdConstants.ACTION_STATUS_UPDATE, "In Progress", DAY_ONE))))
+        .expectError(IllegalStateException.class)
+        .verify();
+
+    verify(mongoTemplate, never()).insert(any(BrdStatusEvent.class));
+  }
+
+  @Test
+  void project_WhenEventAlreadyProjected_ShouldSkipIt() {
+    when(mongoTemplate.exists(any(Query.class), eq(BrdStatusEvent.class)))
+        .thenReturn(Mono.just(true));
+
+    StepVerifier.create(
+            projector.project(
+                List.of(auditLog(BrdConstants.ACTION_STATUS_UPDATE, "In Progress", DAY_ONE))))
+        .verifyComplete();
+
+    verify(mongoTemplate, never()).insert(any(BrdStatusEvent.class));
+    verify(mongoTemplate, never())
+        .upsert(any(Query.class), any(Update.class), eq(BrdStatusTransitionRollup.class));
+  }
+
+  @Test
+  void project_WithoutStatusBearingLogs_ShouldNotTouchMongo() {
+    AuditLog update = auditLog("UPDATE", "In Progress", DAY_ONE);
+    AuditLog site = auditLog(BrdConstants.ACTION_STATUS_UPDATE, "In Progress", DAY_ONE);
+    site.setEntityType("SITE");
+
+    StepVerifier.create(projector.project(List.of(update, site))).verifyComplete();
+
+    verify(mongoTemplate, never()).collectionExists(any(String.class));
+    verify(mongoTemplate, never()).exists(any(Query.class), eq(BrdStatusEvent.class));
+  }
+
+  @Test
+  void findStatusEvents_WithUnfinishedBackfill_ShouldResumeAfterCheckpoint() {
+    when(mongoTemplate.findById("brd_status_events", BrdStatusBackfill.class))
+        .thenReturn(
+            Mono.just(
+                BrdStatusBackfill.builder()
+                    .id("brd_status_events")
+                    .lastEntityId("BRD100")
+                    .build()));
+    when(mongoTemplate.find(any(Query.class), eq(AuditLog.class)))
+        .thenReturn(
+            Flux.just(
+                auditLog(BrdConstants.ACTION_CREATE, "Draft", DAY_ONE),
+                auditLog(BrdConstants.ACTION_STATUS_UPDATE, "In Progress", DAY_ONE.plusDays(1))));
+    when(mongoTemplate.updateFirst(
+            any(Query.class), any(Update.class), eq(BrdStatusBackfill.class)))
+        .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+    when(mongoTemplate.exists(any(Query.class), eq(BrdStatusEvent.class)))
+        .thenReturn(Mono.just(false));
+    when(mongoTemplate.findOne(any(Query.class), eq(BrdStatusEvent.class)))
+        .thenReturn(Mono.empty());
+    when(mongoTemplate.insert(any(BrdStatusEvent.class)))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    when(mongoTemplate.find(any(Query.class), eq(BrdStatusEvent.class))).thenReturn(Flux.empty());
+
+    StepVerifier.create(projector.findStatusEvents("BRD123", List.of(BrdConstants.ACTION_CREATE)))
+        .verifyComplete();
+
+    ArgumentCaptor<Query> backfillQuery = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(backfillQuery.capture(), eq(AuditLog.class));
+    Document resumedAfter = (Document) backfillQuery.getValue().getQueryObject().get("entityId");
+    assertEquals("BRD100", resumedAfter.get("$gt"));
+    verify(mongoTemplate, times(2)).insert(any(BrdStatusEvent.class));
+
+    ArgumentCaptor<Update> checkpoints = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate, times(2))
+        .updateFirst(any(Query.class), checkpoints.capture(), eq(BrdStatusBackfill.class));
+    List<Update> saved = checkpoints.getAllValues();
+    Document lastEntity = (Document) saved.get(0).getUpdateObject().get("$set");
+    Document completed = (Document) saved.get(1).getUpdateObject().get("$set");
+    assertEquals("BRD123", lastEntity.get("lastEntityId"));
+    assertEquals(true, completed.get("completed"));
+  }
+
+  @Test
+  void transition_ShouldSkipRepeatedAndUnknownStatuses() {
+    BrdStatusEvent draft = event("Draft", DAY_ONE);
+    BrdStatusEvent inProgress = event("In Progress", DAY_ONE.plusHours(5));
+
+    AuditStatusProjector.RollupDelta delta =
+        AuditStatusProjector.transition(draft, inProgress, 1, "delta").orElseThrow();
+
+    assertEquals("Draft", delta.fromStatus());
+    assertEquals("In Progress", delta.toStatus());
+    assertEquals(300, delta.minutes());
+    assertEquals(DAY_ONE.plusHours(5), delta.reachedAt());
+    assertFalse(
+        AuditStatusProjector.transition(
+                inProgress, event("In Progress", DAY_ONE.plusHours(6)), 1, "delta")
+            .isPresent());
+    assertFalse(
+        AuditStatusProjector.transition(event(null, DAY_ONE), inProgress, 1, "delta").isPresent());
+  }
+
+  @Test
+  void toStatusEvent_ShouldTrimStatusAndTolerateMissingValues() {
+    BrdStatusEvent withStatus =
+        AuditStatusProjector.toStatusEvent(
+            auditLog(BrdConstants.ACTION_CREATE, " Draft ", DAY_ONE));
+    AuditLog withoutValues = auditLog(BrdConstants.ACTION_STATUS_UPDATE, null, DAY_ONE);
+    withoutValues.setNewValues(null);
+
+    assertEquals("Draft", withStatus.getStatus());
+    assertEquals("AUDIT-" + DAY_ONE, withStatus.getAuditId());
+    assertNull(AuditStatusProjector.toStatusEvent(withoutValues).getStatus());
+  }
+
+  @Test
+  void bucketStart_ShouldTruncateToGranularity() {
+    LocalDateTime timestamp = LocalDateTime.of(2025, 3, 1, 9, 42, 17);
+
+    assertEquals(
+        LocalDateTime.of(2025, 3, 1, 9, 0),
+        AuditStatusProjector.bucketStart(timestamp, BrdStatusTransitionRollup.GRANULARITY_HOUR));
+    assertEquals(
+        LocalDateTime.of(2025, 3, 1, 0, 0),
+        AuditStatusProjector.bucketStart(timestamp, BrdStatusTransitionRollup.GRANULARITY_DAY));
+  }
+
+  private void leaseWithPending(String pendingAuditId) {
+    when(mongoTemplate.findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(BrdStatusProjection.class)))
+        .thenReturn(
+            Mono.just(
+                BrdStatusProjection.builder()
+                    .id("BRD123")
+                    .lockedUntil(DAY_ONE)
+                    .pendingAuditId(pendingAuditId)
+                    .build()));
+  }
+
+  private static BrdStatusEvent event(String status, LocalDateTime eventTimestamp) {
+    return BrdStatusEvent.builder()
+        .auditId("AUDIT-" + eventTimestamp)
+        .entityId("BRD123")
+        .action(BrdConstants.ACTION_STATUS_UPDATE)
+        .status(status)
+        .eventTimestamp(eventTimestamp)
+        .build();
+  }
+
+  private static AuditLog auditLog(String action, String status, LocalDateTime eventTimestamp) {
+    AuditLog auditLog = new AuditLog();
+    auditLog.setAuditId("AUDIT-" + eventTimestamp);
+    auditLog.setEntityType("BRD");
+    auditLog.setEntityId("BRD123");
+    auditLog.setAction(action);
+    auditLog.setUserName("John Doe");
+    auditLog.setEventTimestamp(eventTimestamp);
+    if (status != null) {
+      auditLog.setNewValues(Map.of(BrdConstants.STATUS_FIELD, status));
+    }
+    return auditLog;
+  }
+}
@@ -1,6 +1,7 @@
 package com.aci.smart_onboarding.service.implementation;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -8,23 +9,34 @@ import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.aci.smart_onboarding.dto.ImageResponseDto;
 import com.aci.smart_onboarding.dto.ImageUploadRequest;
 import com.aci.smart_onboarding.dto.ImageUploadResponse;
+import com.aci.smart_onboarding.exception.BlobStorageException;
 import com.aci.smart_onboarding.model.WalletronExampleImages;
 import com.aci.smart_onboarding.repository.WalletronExampleImagesRepository;
 import com.azure.core.http.rest.PagedIterable;
+import com.azure.core.http.rest.Response;
 import com.azure.core.util.BinaryData;
 import com.azure.storage.blob.BlobClient;
 import com.azure.storage.blob.BlobContainerClient;
 import com.azure.storage.blob.BlobServiceClient;
 import com.azure.storage.blob.models.BlobItem;
 import com.azure.storage.blob.models.BlobProperties;
+import com.azure.storage.blob.models.BlobRequestConditions;
+import com.azure.storage.blob.models.Block;
+import com.azure.storage.blob.models.BlockBlobItem;
+import com.azure.storage.blob.models.BlockList;
+import com.azure.storage.blob.models.BlockListType;
+import com.azure.storage.blob.specialized.BlockBlobClient;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -32,6 +44,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -47,6 +60,7 @@ import reactor.test.StepVerifier;
 import org.springframework.http.ResponseEntity;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.fail;
 
 @ExtendWith(MockitoExtension.class)
@@ -207,6 +221,120 @@ class BlobStorageServiceTest {
     StepVerifier.create(result).expectError().verify();
   }
 
+  @Test
+  @DisplayName("appendToFile should only stage the appended content")
+  void appendToFile_WithCommittedBlocks_ShouldStageOnlyTheAppendedContent() {
+    BlockBlobClient blockBlobClient = blockBlobClient("existing-block");
+    ArgumentCaptor<List<String>> blockIds = ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<BlobRequestConditions> conditions =
+        ArgumentCaptor.forClass(BlobRequestConditions.class);
+    committed(blockBlobClient, blockIds, conditions);
+
+    StepVerifier.create(blobStorageService.appendToFile("rules.txt", "\nNew|rule", "etag-1"))
+        .expectNext("etag-2")
+        .verifyComplete();
+
+    verify(blockBlobClient).stageBlock(anyString(), any(InputStream.class), eq(9L));
+    verify(blockBlobClient, never())
+        .downloadStreamWithResponse(any(), any(), any(), any(), anyBoolean(), any(), any());
+    assertEquals(2, blockIds.getValue().size());
+    assertEquals("existing-block", blockIds.getValue().get(0));
+    assertEquals("etag-1", conditions.getValue().getIfMatch());
+  }
+
+  @Test
+  @DisplayName("appendToFile should stage a file uploaded in one piece as its first block")
+  void appendToFile_WithoutBlocks_ShouldStageExistingContentFirst() {
+    BlockBlobClient blockBlobClient = blockBlobClient();
+    doAnswer(
+            invocation -> {
+              ByteArrayOutputStream stream = invocation.getArgument(0);
+              stream.write("Old|rule".getBytes());
+              return null;
+            })
+        .when(blockBlobClient)
+        .downloadStreamWithResponse(any(), any(), any(), any(), anyBoolean(), any(), any());
+    ArgumentCaptor<List<String>> blockIds = ArgumentCaptor.forClass(List.class);
+    committed(blockBlobClient, blockIds, ArgumentCaptor.forClass(BlobRequestConditions.class));
+
+    StepVerifier.create(blobStorageService.appendToFile("rules.txt", "\nNew|rule", "etag-1"))
+        .expectNext("etag-2")
+        .verifyComplete();
+
+    verify(blockBlobClient).stageBlock(anyString(), any(InputStream.class), eq(8L));
+    verify(blockBlobClient).stageBlock(anyString(), any(InputStream.class), eq(9L));
+    assertEquals(2, blockIds.getValue().size());
+  }
+
+  @Test
+  @DisplayName("appendToFile should compact a file whose appends piled up blocks")
+  void appendToFile_WithTooManyBlocks_ShouldRestageContentAsOneBlock() {
+    String[] committedBlockIds = new String[BlobStorageService.MAX_COMMITTED_BLOCKS];
+    Arrays.setAll(committedBlockIds, i -> "block-" + i);
+    BlockBlobClient blockBlobClient = blockBlobClient(committedBlockIds);
+    doAnswer(
+            invocation -> {
+              ByteArrayOutputStream stream = invocation.getArgument(0);
+              stream.write("Old|rule".getBytes());
+              return null;
+            })
+        .when(blockBlobClient)
+        .downloadStreamWithResponse(any(), any(), any(), any(), anyBoolean(), any(), any());
+    ArgumentCaptor<List<String>> blockIds = ArgumentCaptor.forClass(List.class);
+    committed(blockBlobClient, blockIds, ArgumentCaptor.forClass(BlobRequestConditions.class));
+
+    StepVerifier.create(blobStorageService.appendToFile("rules.txt", "\nNew|rule", "etag-1"))
+        .expectNext("etag-2")
+        .verifyComplete();
+
+    verify(blockBlobClient).stageBlock(anyString(), any(InputStream.class), eq(8L));
+    verify(blockBlobClient).stageBlock(anyString(), any(InputStream.class), eq(9L));
+    assertEquals(2, blockIds.getValue().size());
+    assertFalse(blockIds.getValue().contains("block-0"));
+  }
+
+  @Test
+  @DisplayName("appendToFile should fail when the file changed since it was read")
+  void appendToFile_WhenCommitFails_ShouldReturnError() {
+    BlockBlobClient blockBlobClient = blockBlobClient("existing-block");
+    when(blockBlobClient.commitBlockListWithResponse(
+            any(), any(), any(), any(), any(), any(), any()))
+        .thenThrow(new RuntimeException("Condition not met"));
+
+    StepVerifier.create(blobStorageService.appendToFile("rules.txt", "\nNew|rule", "etag-1"))
+        .expectError(BlobStorageException.class)
+        .verify();
+  }
+
+  private BlockBlobClient blockBlobClient(String... committedBlockIds) {
+    BlockBlobClient blockBlobClient = mock(BlockBlobClient.class);
+    when(blobContainerClient.getBlobClient("rules.txt")).thenReturn(blobClient);
+    when(blobClient.getBlockBlobClient()).thenReturn(blockBlobClient);
+    List<Block> blocks = new ArrayList<>();
+    for (String blockId : committedBlockIds) {
+      Block block = mock(Block.class);
+      when(block.getName()).thenReturn(blockId);
+      blocks.add(block);
+    }
+    BlockList blockList = mock(BlockList.class);
+    when(blockList.getCommittedBlocks()).thenReturn(blocks);
+    when(blockBlobClient.listBlocks(BlockListType.COMMITTED)).thenReturn(blockList);
+    return blockBlobClient;
+  }
+
+  private void committed(
+      BlockBlobClient blockBlobClient,
+      ArgumentCaptor<List<String>> blockIds,
+      ArgumentCaptor<BlobRequestConditions> conditions) {
+    BlockBlobItem item = mock(BlockBlobItem.class);
+    when(item.getETag()).thenReturn("etag-2");
+    Response<BlockBlobItem> response = mock(Response.class);
+    when(response.getValue()).thenReturn(item);
+    when(blockBlobClient.commitBlockListWithResponse(
+            blockIds.capture(), any(), any(), any(), conditions.capture(), any(), any()))
+        .thenReturn(response);
+  }
+
   @Test
   @DisplayName("listFiles should return all file names")
   void listFiles_ShouldReturnAllFileNames() {
@@ -0,0 +1,269 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.config.ActivityFeedProperties;
+import com.aci.smart_onboarding.dto.BrdActivityEvent;
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.BsonString;
+import org.bson.BsonTimestamp;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.mockito.stubbing.OngoingStubbing;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BrdActivityFeedServiceTest {
+
+  @Mock private ReactiveMongoTemplate mongoTemplate;
+
+  private BrdActivityFeedService activityFeedService;
+
+  @BeforeEach
+  void setUp() {
+    ActivityFeedProperties properties = new ActivityFeedProperties();
+    properties.setHeartbeatInterval(Duration.ofHours(1));
+    activityFeedService = new BrdActivityFeedService(mongoTemplate, properties);
+  }
+
+  @Test
+  void toActivityEvent_CommentGroupChange_ShouldCarryGroupDetails() {
+    Document fullDocument =
+        new Document("brdFormId", "brd-1")
+            .append("sourceType", "SITE")
+            .append("siteId", "site-1")
+            .append("sectionName", "clientInformation")
+            .append("fieldPath", "companyName")
+            .append("status", "Pending");
+
+    BrdActivityEvent event =
+        activityFeedService.toActivityEvent(
+            "brd_field_comment",
+            "update",
+            new BsonDocument("_id", new BsonString("group-1")),
+            fullDocument,
+            null,
+            Instant.EPOCH);
+
+    assertNotNull(event);
+    assertEquals(BrdActivityEvent.COMMENT_GROUP_CHANGED, event.getEventType());
+    assertEquals("brd-1", event.getBrdFormId());
+    assertEquals("group-1", event.getCommentGroupId());
+    assertEquals("site-1", event.getSiteId());
+    assertEquals("companyName", event.getFieldPath());
+    assertEquals("Pending", event.getStatus());
+    assertEquals("update", event.getOperation());
+  }
+
+  @Test
+  void toActivityEvent_BrdStatusUpdate_ShouldUseUpdatedStatusAndHexId() {
+    ObjectId brdId = new ObjectId();
+
+    BrdActivityEvent event =
+        activityFeedService.toActivityEvent(
+            "brd",
+            "update",
+            new BsonDocument("_id", new BsonObjectId(brdId)),
+            null,
+            new BsonDocument("status", new BsonString("Internal Review")),
+            Instant.EPOCH);
+
+    assertNotNull(event);
+    assertEquals(BrdActivityEvent.BRD_STATUS_CHANGED, event.getEventType());
+    assertEquals(brdId.toHexString(), event.getBrdFormId());
+    assertEquals("Internal Review", event.getStatus());
+  }
+
+  @Test
+  void toActivityEvent_BrdInsert_ShouldReportStatusButReplaceShouldNot() {
+    BsonDocument key = new BsonDocument("_id", new BsonString("brd-1"));
+    Document brd = new Document("status", "Draft");
+
+    BrdActivityEvent inserted =
+        activityFeedService.toActivityEvent("brd", "insert", key, brd, null, Instant.EPOCH);
+
+    assertNotNull(inserted);
+    assertEquals("Draft", inserted.getStatus());
+    assertNull(
+        activityFeedService.toActivityEvent("brd", "replace", key, brd, null, Instant.EPOCH));
+  }
+
+  @Test
+  void toActivityEvent_IrrelevantChanges_ShouldBeSkipped() {
+    BsonDocument key = new BsonDocument("_id", new BsonString("id-1"));
+
+    assertNull(
+        activityFeedService.toActivityEvent("brd", "update", key, null, new BsonDocument(), null));
+    assertNull(
+        activityFeedService.toActivityEvent("brd_field_comment", "update", key, null, null, null));
+    assertNull(
+        activityFeedService.toActivityEvent("users", "insert", key, new Document(), null, null));
+  }
+
+  @Test
+  void subscribe_ShouldOnlyDeliverEventsOfRequestedBrdWithResumeTokenAsId() {
+    Flux<ChangeStreamEvent<Document>> changes =
+        Flux.just(
+            statusChange("brd-2", "Draft", token("01")),
+            statusChange("brd-1", "Internal Review", token("02")));
+    whenChangeStreamOpened().thenReturn(changes);
+
+    StepVerifier.create(activityFeedService.subscribe("brd-1", null))
+        .assertNext(
+            sse -> {
+              assertEquals(BrdActivityEvent.BRD_STATUS_CHANGED, sse.event());
+              assertEquals(token("02").toJson(), sse.id());
+              assertEquals("Internal Review", sse.data().getData().getStatus());
+            })
+        .thenCancel()
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test
+  void subscribe_WithLastEventId_ShouldCatchUpFromTokenThenJoinSharedStream() {
+    BsonDocument lastToken = token("05");
+    ChangeStreamEvent<Document> reviewed = statusChange("brd-1", "Reviewed", token("06"));
+    whenChangeStreamOpened().thenReturn(Flux.never(), Flux.just(reviewed));
+
+    StepVerifier.create(activityFeedService.subscribe("brd-1", lastToken.toJson()))
+        .assertNext(sse -> assertEquals(token("06").toJson(), sse.id()))
+        .thenCancel()
+        .verify(Duration.ofSeconds(5));
+
+    ArgumentCaptor<ChangeStreamOptions> optionsCaptor =
+        ArgumentCaptor.forClass(ChangeStreamOptions.class);
+    verify(mongoTemplate, times(2))
+        .changeStream(isNull(), isNull(), optionsCaptor.capture(), eq(Document.class));
+    List<ChangeStreamOptions> options = optionsCaptor.getAllValues();
+    assertTrue(options.get(0).getResumeToken().isEmpty());
+    assertEquals(lastToken, options.get(1).getResumeToken().orElseThrow());
+  }
+
+  @Test
+  void subscribe_WithLastEventId_ShouldStopCatchUpAtSharedStreamPosition() {
+    Sinks.Many<ChangeStreamEvent<Document>> changes = Sinks.many().multicast().directBestEffort();
+    ChangeStreamEvent<Document> inProgress = statusChange("brd-1", "In Progress", token("02"));
+    ChangeStreamEvent<Document> draft = statusChange("brd-2", "Draft", token("03"));
+    ChangeStreamEvent<Document> reviewed = statusChange("brd-1", "Reviewed", token("04"));
+    whenChangeStreamOpened()
+        .thenReturn(
+            changes.asFlux(),
+            Flux.just(inProgress, draft, reviewed).concatWith(Flux.never()));
+    Disposable otherSubscriber = activityFeedService.subscribe("brd-2", null).subscribe();
+    changes.tryEmitNext(draft);
+
+    try {
+      // Catch-up events after the shared position are left to the shared stream
+      StepVerifier.create(activityFeedService.subscribe("brd-1", token("01").toJson()))
+          .assertNext(sse -> assertEquals(token("02").toJson(), sse.id()))
+          .then(() -> changes.tryEmitNext(reviewed))
+          .assertNext(sse -> assertEquals(token("04").toJson(), sse.id()))
+          .expectNoEvent(Duration.ofMillis(100))
+          .thenCancel()
+          .verify(Duration.ofSeconds(5));
+    } finally {
+      otherSubscriber.dispose();
+    }
+
+    ArgumentCaptor<ChangeStreamOptions> optionsCaptor =
+        ArgumentCaptor.forClass(ChangeStreamOptions.class);
+    verify(mongoTemplate, times(2))
+        .changeStream(isNull(), isNull(), optionsCaptor.capture(), eq(Document.class));
+    String catchUpFilter =
+        optionsCaptor.getAllValues().get(1).getFilter().orElseThrow().toString();
+    assertTrue(catchUpFilter.contains("brd-1"));
+    assertTrue(catchUpFilter.contains("clusterTime"));
+  }
+
+  @Test
+  void subscribe_WithExpiredToken_ShouldRequestResyncAndContinueLive() {
+    ChangeStreamEvent<Document> signedOff = statusChange("brd-1", "Signed Off", token("09"));
+    whenChangeStreamOpened()
+        .thenReturn(
+            Flux.just(signedOff),
+            Flux.error(new IllegalStateException("resume point no longer in oplog")));
+
+    StepVerifier.create(activityFeedService.subscribe("brd-1", token("01").toJson()))
+        .assertNext(
+            sse ->
+                assertEquals(
+                    BrdActivityEvent.RESYNC_REQUIRED, sse.data().getData().getEventType()))
+        .assertNext(sse -> assertEquals("Signed Off", sse.data().getData().getStatus()))
+        .thenCancel()
+        .verify(Duration.ofSeconds(5));
+  }
+
+  @Test
+  void subscribe_WithMalformedLastEventId_ShouldRequestResync() {
+    whenChangeStreamOpened()
+        .thenReturn(Flux.never());
+
+    StepVerifier.create(activityFeedService.subscribe("brd-1", "not-a-token"))
+        .assertNext(
+            sse -> {
+              assertEquals(BrdActivityEvent.RESYNC_REQUIRED, sse.data().getData().getEventType());
+              assertNull(sse.id());
+            })
+        .thenCancel()
+        .verify(Duration.ofSeconds(5));
+  }
+
+  private OngoingStubbing<Flux<ChangeStreamEvent<Document>>> whenChangeStreamOpened() {
+    return when(
+        mongoTemplate.changeStream(
+            isNull(), isNull(), any(ChangeStreamOptions.class), eq(Document.class)));
+  }
+
+  private static BsonDocument token(String data) {
+    return new BsonDocument("_data", new BsonString(data));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ChangeStreamEvent<Document> statusChange(
+      String brdFormId, String status, BsonDocument resumeToken) {
+    ChangeStreamDocument<Document> raw = mock(ChangeStreamDocument.class);
+    when(raw.getNamespace()).thenReturn(new MongoNamespace("smart_onboarding", "brd"));
+    when(raw.getOperationTypeString()).thenReturn("update");
+    when(raw.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonString(brdFormId)));
+    when(raw.getUpdateDescription())
+        .thenReturn(
+            new UpdateDescription(null, new BsonDocument("status", new BsonString(status))));
+    int sequence = Integer.parseInt(resumeToken.getString("_data").getValue());
+    when(raw.getClusterTime()).thenReturn(new BsonTimestamp(sequence, 0));
+
+    ChangeStreamEvent<Document> event = mock(ChangeStreamEvent.class);
+    when(event.getRaw()).thenReturn(raw);
+    when(event.getResumeToken()).thenReturn(resumeToken);
+    when(event.getTimestamp()).thenReturn(Instant.EPOCH);
+    return event;
+  }
+}
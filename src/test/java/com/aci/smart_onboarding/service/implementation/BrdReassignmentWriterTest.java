@@ -0,0 +1,159 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.model.BAAssignment;
+import com.aci.smart_onboarding.model.BRD;
+import com.aci.smart_onboarding.model.User;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BrdReassignmentWriterTest {
+
+  @Mock private ReactiveMongoTemplate mongoTemplate;
+  @Mock private ReactiveBulkOperations bulkOperations;
+
+  private BrdReassignmentWriter writer;
+
+  @BeforeEach
+  void setUp() {
+    when(mongoTemplate.bulkOps(eq(BulkMode.UNORDERED), any(Class.class)))
+        .thenReturn(bulkOperations);
+    when(bulkOperations.updateOne(any(Query.class), any(UpdateDefinition.class)))
+        .thenReturn(bulkOperations);
+    writer = new BrdReassignmentWriter(mongoTemplate);
+  }
+
+  @Test
+  void findUsers_ShouldLoadAllUsersInOneQuery() {
+    User pm = User.builder().email("pm@example.com").activeRole("PM").build();
+    User ba = User.builder().email("ba@example.com").activeRole("BA").build();
+    when(mongoTemplate.find(any(Query.class), eq(User.class))).thenReturn(Flux.just(pm, ba));
+
+    StepVerifier.create(writer.findUsers(List.of("pm@example.com", "ba@example.com")))
+        .assertNext(
+            users -> {
+              assertEquals(pm, users.get("pm@example.com"));
+              assertEquals(ba, users.get("ba@example.com"));
+            })
+        .verifyComplete();
+
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate, times(1)).find(query.capture(), eq(User.class));
+    assertEquals(
+        List.of("pm@example.com", "ba@example.com"),
+        query.getValue().getQueryObject().get("email", Document.class).get("$in"));
+  }
+
+  @Test
+  void findAssignees_ShouldMapBrdIdsToTheirAssignee() {
+    when(mongoTemplate.getCollectionName(BRD.class)).thenReturn("brd");
+    when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("brd")))
+        .thenReturn(
+            Flux.just(
+                new Document("brdId", "BRD-1").append("creator", "pm@example.com"),
+                new Document("brdId", "BRD-2")));
+
+    StepVerifier.create(writer.findAssignees(BRD.class, "creator", List.of("BRD-1", "BRD-2")))
+        .assertNext(
+            assignees -> {
+              assertEquals(2, assignees.size());
+              assertEquals("pm@example.com", assignees.get("BRD-1"));
+              assertTrue(assignees.containsKey("BRD-2"));
+              assertNull(assignees.get("BRD-2"));
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void reassign_ShouldWriteAllChangesInOneBulkWrite() {
+    when(bulkOperations.execute()).thenReturn(Mono.just(mock(BulkWriteResult.class)));
+
+    StepVerifier.create(writer.reassign(BAAssignment.class, "baEmail", assignees(3)))
+        .assertNext(errors -> assertTrue(errors.isEmpty()))
+        .verifyComplete();
+
+    ArgumentCaptor<UpdateDefinition> updates = ArgumentCaptor.forClass(UpdateDefinition.class);
+    verify(mongoTemplate, times(1)).bulkOps(BulkMode.UNORDERED, BAAssignment.class);
+    verify(bulkOperations, times(3)).updateOne(any(Query.class), updates.capture());
+    Update first = (Update) updates.getAllValues().get(0);
+    Document set = first.getUpdateObject().get("$set", Document.class);
+    assertEquals("ba0@example.com", set.get("baEmail"));
+    assertTrue(set.containsKey("updatedAt"));
+  }
+
+  @Test
+  void reassign_RejectedUpdates_ShouldFailOnlyTheirBrd() {
+    MongoBulkWriteException bulkError = mock(MongoBulkWriteException.class);
+    when(bulkError.getWriteErrors())
+        .thenReturn(
+            List.of(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 1)));
+    when(bulkOperations.execute())
+        .thenReturn(Mono.error(new DuplicateKeyException("write failed", bulkError)));
+
+    StepVerifier.create(writer.reassign(BAAssignment.class, "baEmail", assignees(3)))
+        .assertNext(errors -> assertEquals(Map.of("BRD-1", "Document failed validation"), errors))
+        .verifyComplete();
+  }
+
+  @Test
+  void reassign_OtherErrors_ShouldFailEveryBrd() {
+    when(bulkOperations.execute()).thenReturn(Mono.error(new IllegalStateException("down")));
+
+    StepVerifier.create(writer.reassign(BAAssignment.class, "baEmail", assignees(2)))
+        .assertNext(errors -> assertEquals(Map.of("BRD-0", "down", "BRD-1", "down"), errors))
+        .verifyComplete();
+  }
+
+  @Test
+  void reassign_NoChanges_ShouldNotWrite() {
+    StepVerifier.create(writer.reassign(BRD.class, "creator", Map.of()))
+        .assertNext(errors -> assertTrue(errors.isEmpty()))
+        .verifyComplete();
+
+    verifyNoInteractions(bulkOperations);
+  }
+
+  private static Map<String, String> assignees(int count) {
+    Map<String, String> assignees = new LinkedHashMap<>();
+    for (int i = 0; i < count; i++) {
+      assignees.put("BRD-" + i, "ba" + i + "@example.com");
+    }
+    return assignees;
+  }
+}
@@ -0,0 +1,191 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.dto.BrdTemplateRes;
+import com.aci.smart_onboarding.mapper.DtoModelMapper;
+import com.aci.smart_onboarding.model.BRD;
+import com.aci.smart_onboarding.model.BrdTemplateConfig;
+import com.aci.smart_onboarding.repository.BRDTemplateRepository;
+import com.aci.smart_onboarding.service.implementation.BrdTemplateCache.TemplateForm;
+import com.aci.smart_onboarding.service.implementation.BrdTemplateCache.Templates;
+import com.aci.smart_onboarding.util.brd_form.ClientInformation;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BrdTemplateCacheTest {
+
+  @Mock private BRDTemplateRepository brdTemplateRepository;
+  @Mock private DtoModelMapper dtoModelMapper;
+  @Mock private ReactiveMongoTemplate mongoTemplate;
+
+  private BrdTemplateCache templateCache;
+
+  @BeforeEach
+  void setUp() {
+    when(dtoModelMapper.mapToBrdTemplateConfigResponse(any(BrdTemplateConfig.class)))
+        .thenAnswer(invocation -> response(invocation.getArgument(0)));
+    templateCache = new BrdTemplateCache(brdTemplateRepository, dtoModelMapper, mongoTemplate);
+  }
+
+  @Test
+  void templates_ShouldLoadOnceAndServeFromMemory() {
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.just(config("ACH", "Summary")));
+
+    StepVerifier.create(templateCache.templates())
+        .assertNext(
+            templates -> {
+              assertEquals(1, templates.all().size());
+              assertEquals(
+                  BrdTemplateCache.LISTED_PERCENTAGE, templates.all().get(0).getPercentage());
+              TemplateForm form = templates.form("ACH").orElseThrow();
+              assertEquals(0, form.template().getPercentage());
+              assertFalse(templates.form("CARD").isPresent());
+            })
+        .verifyComplete();
+    StepVerifier.create(templateCache.templates()).expectNextCount(1).verifyComplete();
+
+    verify(brdTemplateRepository, times(1)).findAll();
+  }
+
+  @Test
+  void refresh_ShouldReplaceSnapshot() {
+    when(brdTemplateRepository.findAll())
+        .thenReturn(Flux.just(config("ACH", "Before")), Flux.just(config("ACH", "After")));
+    StepVerifier.create(templateCache.templates()).expectNextCount(1).verifyComplete();
+
+    StepVerifier.create(templateCache.refresh()).expectNextCount(1).verifyComplete();
+
+    StepVerifier.create(templateCache.templates())
+        .assertNext(
+            templates ->
+                assertEquals(
+                    "After", templates.form("ACH").orElseThrow().template().getSummary()))
+        .verifyComplete();
+  }
+
+  @Test
+  void refresh_OlderReloadShouldNotReplaceNewer() {
+    Sinks.Many<BrdTemplateConfig> slowLoad = Sinks.many().unicast().onBackpressureBuffer();
+    when(brdTemplateRepository.findAll())
+        .thenReturn(slowLoad.asFlux(), Flux.just(config("ACH", "Newer")));
+
+    CompletableFuture<Templates> older = templateCache.refresh().toFuture();
+    Templates newer = templateCache.refresh().block();
+    slowLoad.tryEmitNext(config("ACH", "Older"));
+    slowLoad.tryEmitComplete();
+
+    assertSame(newer, older.join());
+    assertEquals(
+        "Newer",
+        templateCache.templates().block().form("ACH").orElseThrow().template().getSummary());
+  }
+
+  @Test
+  void form_ShouldShareDefaultsAndPreferBrdValues() {
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.just(config("ACH", "Summary")));
+    TemplateForm form = templateCache.templates().block().form("ACH").orElseThrow();
+
+    ClientInformation clientInformation = new ClientInformation();
+    BRD filled = new BRD();
+    filled.setClientInformation(clientInformation);
+    Map<String, Object> filledSections = form.sectionsOf(filled);
+    Map<String, Object> first = form.sectionsOf(new BRD());
+    Map<String, Object> second = form.sectionsOf(new BRD());
+
+    assertEquals(List.of("clientInformation", "paymentChannels"), List.copyOf(first.keySet()));
+    assertSame(clientInformation, filledSections.get("clientInformation"));
+    assertSame(first.get("clientInformation"), second.get("clientInformation"));
+    assertNotNull(first.get("paymentChannels"));
+  }
+
+  @Test
+  void formOf_ShouldReusePrecomputedFormOnlyForCurrentTemplate() {
+    when(brdTemplateRepository.findAll()).thenReturn(Flux.just(config("ACH", "Summary")));
+    TemplateForm cached = templateCache.templates().block().form("ACH").orElseThrow();
+
+    assertSame(cached, templateCache.formOf(response(config("ACH", "Summary"))));
+
+    BrdTemplateRes changed = response(config("ACH", "Summary"));
+    changed.setPaymentChannels(false);
+    TemplateForm built = templateCache.formOf(changed);
+    assertNotSame(cached, built);
+    assertEquals(1, built.sections().size());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void start_ShouldReloadOnConnectAndOnEveryChange() {
+    Sinks.Many<ChangeStreamEvent<Document>> changes = Sinks.many().multicast().directBestEffort();
+    when(mongoTemplate.getCollectionName(BrdTemplateConfig.class))
+        .thenReturn("brd_template_config");
+    when(mongoTemplate.changeStream(
+            eq("brd_template_config"), any(ChangeStreamOptions.class), eq(Document.class)))
+        .thenReturn(changes.asFlux());
+    when(brdTemplateRepository.findAll())
+        .thenReturn(Flux.just(config("ACH", "Before")), Flux.just(config("ACH", "After")));
+
+    templateCache.start();
+    try {
+      verify(brdTemplateRepository, times(1)).findAll();
+
+      changes.tryEmitNext(mock(ChangeStreamEvent.class));
+
+      verify(brdTemplateRepository, times(2)).findAll();
+      assertEquals(
+          "After",
+          templateCache.templates().block().form("ACH").orElseThrow().template().getSummary());
+    } finally {
+      templateCache.stop();
+    }
+  }
+
+  private static BrdTemplateConfig config(String templateType, String summary) {
+    BrdTemplateConfig config = new BrdTemplateConfig();
+    config.setId(templateType + "-id");
+    config.setTemplateName(templateType + " template");
+    config.setTemplateTypes(templateType);
+    config.setSummary(summary);
+    config.setClientInformation(true);
+    config.setPaymentChannels(true);
+    return config;
+  }
+
+  private static BrdTemplateRes response(BrdTemplateConfig config) {
+    BrdTemplateRes response = new BrdTemplateRes();
+    response.setId(config.getId());
+    response.setTemplateName(config.getTemplateName());
+    response.setTemplateTypes(config.getTemplateTypes());
+    response.setSummary(config.getSummary());
+    response.setClientInformation(config.isClientInformation());
+    response.setPaymentChannels(config.isPaymentChannels());
+    return response;
+  }
+}
@@ -0,0 +1,245 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.config.EmailOutboxProperties;
+import com.aci.smart_onboarding.enums.EmailOutboxStatus;
+import com.aci.smart_onboarding.model.EmailOutboxMessage;
+import com.aci.smart_onboarding.util.EncryptionUtil;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class EmailOutboxWorkerTest {
+
+  @Mock private ReactiveMongoTemplate mongoTemplate;
+
+  private StubSendGrid sendGrid;
+  private EmailOutboxProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private EncryptionUtil encryptionUtil;
+  private EmailOutboxWorker worker;
+
+  @BeforeEach
+  void setUp() {
+    sendGrid = new StubSendGrid();
+    properties = new EmailOutboxProperties();
+    properties.setRatePerSecond(0);
+    meterRegistry = new SimpleMeterRegistry();
+    encryptionUtil = new EncryptionUtil();
+    ReflectionTestUtils.setField(encryptionUtil, "encryptionKey", "TestEncryptionKey123");
+    worker =
+        new EmailOutboxWorker(sendGrid, mongoTemplate, properties, encryptionUtil, meterRegistry);
+
+    when(mongoTemplate.updateFirst(
+            any(Query.class), any(Update.class), eq(EmailOutboxMessage.class)))
+        .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    worker.stop();
+  }
+
+  @Test
+  void drain_ShouldSendDueEmailAndMarkItSent() {
+    EmailOutboxMessage message = claimed(1);
+    whenClaimed(message);
+    sendGrid.respondWith(202);
+
+    StepVerifier.create(worker.drain()).expectNext(1L).verifyComplete();
+
+    assertEquals(1, sendGrid.requests().size());
+    String body = sendGrid.requests().get(0).getBody();
+    assertTrue(body.contains("BRD Status Update: Test BRD"));
+    assertTrue(body.contains("biller@example.com"));
+    assertTrue(body.contains("KEY-1"));
+
+    Update update = releasedWith();
+    Document set = (Document) update.getUpdateObject().get("$set");
+    Document unset = (Document) update.getUpdateObject().get("$unset");
+    assertEquals(EmailOutboxStatus.SENT, set.get("status"));
+    assertTrue(unset.containsKey("htmlContent"));
+    assertEquals(1.0, meterRegistry.counter("email.outbox.sent").count());
+  }
+
+  @Test
+  void drain_ShouldFillInSecretOnlyForTheRequest() {
+    EmailOutboxMessage message = claimed(1);
+    message.setHtmlContent("<p>Password: " + EmailOutboxMessage.SECRET_PLACEHOLDER + "</p>");
+    message.setEncryptedSecret(
+        Base64.getEncoder()
+            .encodeToString(encryptionUtil.encrypt("S3cret!".getBytes(StandardCharsets.UTF_8))));
+    whenClaimed(message);
+    sendGrid.respondWith(202);
+
+    StepVerifier.create(worker.drain()).expectNext(1L).verifyComplete();
+
+    String body = sendGrid.requests().get(0).getBody();
+    assertTrue(body.contains("Password: S3cret!"));
+    assertFalse(body.contains(EmailOutboxMessage.SECRET_PLACEHOLDER));
+    Document unset = (Document) releasedWith().getUpdateObject().get("$unset");
+    assertTrue(unset.containsKey("htmlContent"));
+    assertTrue(unset.containsKey("encryptedSecret"));
+  }
+
+  @Test
+  void drain_WhenSendGridThrottles_ShouldRescheduleWithBackoff() {
+    whenClaimed(claimed(1));
+    sendGrid.respondWith(429);
+
+    StepVerifier.create(worker.drain()).expectNext(1L).verifyComplete();
+
+    Document set = (Document) releasedWith().getUpdateObject().get("$set");
+    assertEquals(EmailOutboxStatus.PENDING, set.get("status"));
+    LocalDateTime nextAttemptAt = (LocalDateTime) set.get("nextAttemptAt");
+    assertTrue(nextAttemptAt.isAfter(LocalDateTime.now().plusSeconds(25)));
+    assertTrue(((String) set.get("lastError")).contains("429"));
+    assertEquals(1.0, meterRegistry.counter("email.outbox.retried").count());
+  }
+
+  @Test
+  void drain_WhenNetworkFails_ShouldRetryLater() {
+    whenClaimed(claimed(2));
+    sendGrid.failWith(new IOException("Connection reset"));
+
+    StepVerifier.create(worker.drain()).expectNext(1L).verifyComplete();
+
+    Document set = (Document) releasedWith().getUpdateObject().get("$set");
+    assertEquals(EmailOutboxStatus.PENDING, set.get("status"));
+    assertTrue(((String) set.get("lastError")).contains("Connection reset"));
+  }
+
+  @Test
+  void drain_WhenSendGridRejectsEmail_ShouldFailPermanently() {
+    whenClaimed(claimed(1));
+    sendGrid.respondWith(400);
+
+    StepVerifier.create(worker.drain()).expectNext(1L).verifyComplete();
+
+    Document update = releasedWith().getUpdateObject();
+    Document set = (Document) update.get("$set");
+    assertEquals(EmailOutboxStatus.FAILED, set.get("status"));
+    assertTrue(set.containsKey("expireAt"));
+    assertTrue(((Document) update.get("$unset")).containsKey("htmlContent"));
+    assertTrue(((Document) update.get("$unset")).containsKey("encryptedSecret"));
+    assertEquals(1.0, meterRegistry.counter("email.outbox.failed").count());
+  }
+
+  @Test
+  void drain_WhenSendGridRejectsApiKey_ShouldFailWithoutRetrying() {
+    whenClaimed(claimed(1));
+    sendGrid.respondWith(401);
+
+    StepVerifier.create(worker.drain()).expectNext(1L).verifyComplete();
+
+    Document set = (Document) releasedWith().getUpdateObject().get("$set");
+    assertEquals(EmailOutboxStatus.FAILED, set.get("status"));
+    assertEquals(0.0, meterRegistry.counter("email.outbox.retried").count());
+  }
+
+  @Test
+  void drain_WhenAttemptsAreExhausted_ShouldFailPermanently() {
+    whenClaimed(claimed(properties.getMaxAttempts()));
+    sendGrid.respondWith(503);
+
+    StepVerifier.create(worker.drain()).expectNext(1L).verifyComplete();
+
+    Document set = (Document) releasedWith().getUpdateObject().get("$set");
+    assertEquals(EmailOutboxStatus.FAILED, set.get("status"));
+  }
+
+  @Test
+  void drain_WhenNothingIsDue_ShouldNotCallSendGrid() {
+    when(mongoTemplate.findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(EmailOutboxMessage.class)))
+        .thenReturn(Mono.empty());
+
+    StepVerifier.create(worker.drain()).expectNext(0L).verifyComplete();
+
+    assertTrue(sendGrid.requests().isEmpty());
+  }
+
+  @Test
+  void backoff_ShouldDoubleUpToTheCap() {
+    assertEquals(Duration.ofSeconds(30), worker.backoff(1));
+    assertEquals(Duration.ofSeconds(60), worker.backoff(2));
+    assertEquals(Duration.ofSeconds(240), worker.backoff(4));
+    assertEquals(Duration.ofHours(1), worker.backoff(20));
+  }
+
+  @Test
+  void isTransient_ShouldOnlyRetryRecoverableStatusCodes() {
+    assertTrue(EmailOutboxWorker.isTransient(429));
+    assertTrue(EmailOutboxWorker.isTransient(500));
+    assertFalse(EmailOutboxWorker.isTransient(400));
+    assertFalse(EmailOutboxWorker.isTransient(401));
+    assertFalse(EmailOutboxWorker.isTransient(403));
+    assertFalse(EmailOutboxWorker.isTransient(300));
+  }
+
+  private void whenClaimed(EmailOutboxMessage message) {
+    when(mongoTemplate.findAndModify(
+            any(Query.class),
+            any(Update.class),
+            any(FindAndModifyOptions.class),
+            eq(EmailOutboxMessage.class)))
+        .thenReturn(Mono.just(message), Mono.empty());
+  }
+
+  private Update releasedWith() {
+    ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate)
+        .updateFirst(any(Query.class), update.capture(), eq(EmailOutboxMessage.class));
+    return update.getValue();
+  }
+
+  private static EmailOutboxMessage claimed(int attempts) {
+    return EmailOutboxMessage.builder()
+        .id("MSG-1")
+        .idempotencyKey("KEY-1")
+        .emailType("BRD_STATUS_CHANGE")
+        .senderEmail("noreply@example.com")
+        .senderName("Smart Onboarding Team")
+        .recipient("biller@example.com")
+        .subject("BRD Status Update: Test BRD")
+        .htmlContent("<p>The status of BRD Test BRD has been updated to In Progress.</p>")
+        .status(EmailOutboxStatus.SENDING)
+        .attempts(attempts)
+        .lockedUntil(LocalDateTime.now().plusMinutes(2).truncatedTo(ChronoUnit.MILLIS))
+        .build();
+  }
+}
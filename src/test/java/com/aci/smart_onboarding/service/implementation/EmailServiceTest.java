@@ -2,30 +2,41 @@ package com.aci.smart_onboarding.service.implementation;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import com.aci.smart_onboarding.enums.EmailOutboxStatus;
 import com.aci.smart_onboarding.exception.EmailServiceException;
-import com.sendgrid.Method;
-import com.sendgrid.Request;
-import com.sendgrid.Response;
-import com.sendgrid.SendGrid;
-import java.io.IOException;
-import java.util.Map;
+import com.aci.smart_onboarding.model.EmailOutboxMessage;
+import com.aci.smart_onboarding.util.EncryptionUtil;
+import com.mongodb.client.result.UpdateResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.bson.BsonObjectId;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
 class EmailServiceTest {
 
-  @Mock private SendGrid sendGrid;
+  @Mock private ReactiveMongoTemplate mongoTemplate;
+
+  @Spy private EncryptionUtil encryptionUtil = new EncryptionUtil();
 
   @InjectMocks private EmailService emailService;
 
@@ -35,6 +46,8 @@ class EmailServiceTest {
   private final String brdName = "Test BRD";
   private final String userName = "john.doe@example.com";
   private final String password = "TestPassword123";
+  private final String userId = "USER-123";
+  private final String requestId = "REQUEST-1";
 
   @BeforeEach
   void setUp() {
@@ -43,370 +56,175 @@ class EmailServiceTest {
     ReflectionTestUtils.setField(emailService, "senderName", "Test Sender");
     ReflectionTestUtils.setField(emailService, "sendGridApiKey", "test-api-key");
     ReflectionTestUtils.setField(emailService, "frontendUrl", "http://localhost:4200");
+    ReflectionTestUtils.setField(encryptionUtil, "encryptionKey", "TestEncryptionKey123");
   }
 
   @Test
-  void sendBrdStatusChangeNotification_WithValidRequest_ShouldComplete() throws IOException {
+  void sendBrdStatusChangeNotification_WithValidRequest_ShouldQueueEmail() {
     // Arrange
-    Response mockResponse = new Response();
-    mockResponse.setStatusCode(202); // Accepted status code
-    mockResponse.setHeaders(Map.of("X-Message-Id", "test-message-id"));
-
-    when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
+    whenQueued();
 
     // Act & Assert
     StepVerifier.create(
-            emailService.sendBrdStatusChangeNotification(testEmail, brdId, brdName, brdFormId))
+            emailService.sendBrdStatusChangeNotification(
+                testEmail, brdId, brdName, brdFormId, "In Progress", requestId))
         .verifyComplete();
 
-    // Verify API call - use atLeastOnce() to be more flexible
-    verify(sendGrid, atLeastOnce())
-        .api(
-            argThat(
-                request ->
-                    request.getMethod() == Method.POST
-                        && "mail/send".equals(request.getEndpoint())
-                        && request.getBody().contains(brdId)
-                        && request.getBody().contains(brdName)));
+    Document queued = queuedFields();
+    assertEquals("BRD_STATUS_CHANGE", queued.get("emailType"));
+    assertEquals(testEmail, queued.get("recipient"));
+    assertEquals("BRD Status Update: " + brdName, queued.get("subject"));
+    assertEquals("Test Sender", queued.get("senderName"));
+    assertEquals(EmailOutboxStatus.PENDING, queued.get("status"));
+    assertTrue(((String) queued.get("htmlContent")).contains(brdId));
+    assertTrue(((String) queued.get("htmlContent")).contains(brdName));
   }
 
   @Test
-  void sendBrdStatusChangeNotification_WithApiFailure_ShouldThrowEmailServiceException()
-      throws IOException {
+  void sendBillerWelcomeEmail_WithValidRequest_ShouldQueueEmail() {
     // Arrange
-    Response mockResponse = new Response();
-    mockResponse.setStatusCode(400); // Error status code
-    mockResponse.setBody("Invalid request");
-
-    when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
+    whenQueued();
 
     // Act & Assert
     StepVerifier.create(
-            emailService.sendBrdStatusChangeNotification(testEmail, brdId, brdName, brdFormId))
-        .expectError(EmailServiceException.class)
-        .verify();
+            emailService.sendBillerWelcomeEmail(testEmail, brdId, brdName, brdFormId, requestId))
+        .verifyComplete();
+
+    Document queued = queuedFields();
+    assertEquals("Welcome to Smart Onboarding - New BRD Assignment", queued.get("subject"));
+    assertTrue(
+        ((String) queued.get("htmlContent"))
+            .contains("You have been assigned as a biller for BRD " + brdName));
   }
 
   @Test
-  void sendBrdStatusChangeNotification_WithIoException_ShouldThrowEmailServiceException()
-      throws IOException {
+  @DisplayName("Send user welcome email with reset link should queue the email")
+  void sendUserWelcomeEmailWithResetLink_ValidInputs_QueuesEmail() {
     // Arrange
-    when(sendGrid.api(any(Request.class))).thenThrow(new IOException("Connection error"));
+    whenQueued();
 
     // Act & Assert
-    StepVerifier.create(
-            emailService.sendBrdStatusChangeNotification(testEmail, brdId, brdName, brdFormId))
-        .expectError(EmailServiceException.class)
-        .verify();
+    StepVerifier.create(emailService.sendUserWelcomeEmailWithResetLink(testEmail, userName, userId))
+        .verifyComplete();
+
+    Document queued = queuedFields();
+    assertEquals("Welcome to Smart Onboarding - Account Created", queued.get("subject"));
+    assertTrue(((String) queued.get("htmlContent")).contains(userName));
   }
 
   @Test
-  void sendBillerWelcomeEmail_WithValidRequest_ShouldComplete() throws IOException {
+  @DisplayName("Send user credentials email should queue the password encrypted")
+  void sendUserCredentialsEmail_ValidInputs_QueuesEmailWithEncryptedPassword() {
     // Arrange
-    Response mockResponse = new Response();
-    mockResponse.setStatusCode(202); // Accepted status code
-    mockResponse.setHeaders(Map.of("X-Message-Id", "test-message-id"));
-
-    when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
+    whenQueued();
 
     // Act & Assert
-    StepVerifier.create(emailService.sendBillerWelcomeEmail(testEmail, brdId, brdName, brdFormId))
+    StepVerifier.create(emailService.sendUserCredentialsEmail(testEmail, password, userId))
         .verifyComplete();
 
-    // Verify API call - use atLeastOnce() to be more flexible
-    verify(sendGrid, atLeastOnce())
-        .api(
-            argThat(
-                request ->
-                    request.getMethod() == Method.POST
-                        && "mail/send".equals(request.getEndpoint())
-                        && request.getBody().contains(brdId)
-                        && request.getBody().contains(brdName)
-                        && request.getBody().contains("Welcome to Smart Onboarding")));
+    Document queued = queuedFields();
+    assertEquals("Smart Onboarding - Your Account Credentials", queued.get("subject"));
+    String htmlContent = (String) queued.get("htmlContent");
+    assertFalse(htmlContent.contains(password));
+    assertTrue(htmlContent.contains(EmailOutboxMessage.SECRET_PLACEHOLDER));
+    String encryptedSecret = (String) queued.get("encryptedSecret");
+    assertFalse(encryptedSecret.contains(password));
+    assertEquals(
+        password,
+        new String(
+            encryptionUtil.decryptSecret(Base64.getDecoder().decode(encryptedSecret)),
+            StandardCharsets.UTF_8));
   }
 
   @Test
-  void sendBillerWelcomeEmail_WithApiFailure_ShouldThrowEmailServiceException() throws IOException {
+  @DisplayName("Send password reset email should queue the email")
+  void sendPasswordResetEmail_ValidInputs_QueuesEmail() {
     // Arrange
-    Response mockResponse = new Response();
-    mockResponse.setStatusCode(401); // Unauthorized status code
-    mockResponse.setBody("Invalid API key");
+    String resetLink = "http://localhost:4200/forgot-password?token=abc";
+    whenQueued();
+
+    // Act & Assert
+    StepVerifier.create(emailService.sendPasswordResetEmail(testEmail, resetLink))
+        .verifyComplete();
+
+    Document queued = queuedFields();
+    assertEquals("Smart Onboarding - Password Reset Request", queued.get("subject"));
+    assertTrue(((String) queued.get("htmlContent")).contains(resetLink));
+  }
 
-    when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
+  @Test
+  @DisplayName("Retrying a request should queue its email with the same idempotency key")
+  void sendBillerWelcomeEmail_SameRequestTwice_ShouldUseSameIdempotencyKey() {
+    // Arrange - the second upsert finds the email already queued
+    when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(EmailOutboxMessage.class)))
+        .thenReturn(
+            Mono.just(UpdateResult.acknowledged(0, 0L, new BsonObjectId())),
+            Mono.just(UpdateResult.acknowledged(1, 0L, null)));
+
+    // Act
+    StepVerifier.create(
+            emailService.sendBillerWelcomeEmail(testEmail, brdId, brdName, brdFormId, requestId))
+        .verifyComplete();
+    StepVerifier.create(
+            emailService.sendBillerWelcomeEmail(testEmail, brdId, brdName, brdFormId, requestId))
+        .verifyComplete();
+
+    // Assert
+    ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate, times(2))
+        .upsert(queries.capture(), any(Update.class), eq(EmailOutboxMessage.class));
+    Object firstKey = queries.getAllValues().get(0).getQueryObject().get("idempotencyKey");
+    assertNotNull(firstKey);
+    assertEquals(firstKey, queries.getAllValues().get(1).getQueryObject().get("idempotencyKey"));
+  }
+
+  @Test
+  @DisplayName("The same email for another request should be queued again")
+  void sendBrdStatusChangeNotification_NewRequest_ShouldUseNewIdempotencyKey() {
+    assertNotEquals(
+        EmailService.idempotencyKey("BRD_STATUS_CHANGE", testEmail, brdId, "In Progress", "R1"),
+        EmailService.idempotencyKey("BRD_STATUS_CHANGE", testEmail, brdId, "In Progress", "R2"));
+    assertNotEquals(
+        EmailService.idempotencyKey("BRD_STATUS_CHANGE", testEmail, brdId, "In Progress", "R1"),
+        EmailService.idempotencyKey("BRD_STATUS_CHANGE", testEmail, brdId, "Submitted", "R1"));
+  }
+
+  @Test
+  @DisplayName("A concurrent duplicate should be treated as already queued")
+  void sendBrdStatusChangeNotification_WithDuplicateKey_ShouldComplete() {
+    // Arrange
+    when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(EmailOutboxMessage.class)))
+        .thenReturn(Mono.error(new DuplicateKeyException("duplicate idempotency key")));
 
     // Act & Assert
-    StepVerifier.create(emailService.sendBillerWelcomeEmail(testEmail, brdId, brdName, brdFormId))
-        .expectError(EmailServiceException.class)
-        .verify();
+    StepVerifier.create(
+            emailService.sendBrdStatusChangeNotification(
+                testEmail, brdId, brdName, brdFormId, "In Progress", requestId))
+        .verifyComplete();
   }
 
   @Test
-  void sendBillerWelcomeEmail_WithIoException_ShouldThrowEmailServiceException()
-      throws IOException {
+  void sendBrdStatusChangeNotification_WhenOutboxUnavailable_ShouldThrowEmailServiceException() {
     // Arrange
-    when(sendGrid.api(any(Request.class))).thenThrow(new IOException("Network error"));
+    when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(EmailOutboxMessage.class)))
+        .thenReturn(Mono.error(new RuntimeException("Mongo unavailable")));
 
     // Act & Assert
-    StepVerifier.create(emailService.sendBillerWelcomeEmail(testEmail, brdId, brdName, brdFormId))
+    StepVerifier.create(
+            emailService.sendBrdStatusChangeNotification(
+                testEmail, brdId, brdName, brdFormId, "In Progress", requestId))
         .expectError(EmailServiceException.class)
         .verify();
   }
 
-  @Nested
-  @DisplayName("User Welcome Email with Reset Link Tests")
-  class UserWelcomeEmailWithResetLinkTests {
-
-    @Test
-    @DisplayName("Send user welcome email with reset link should succeed")
-    void sendUserWelcomeEmailWithResetLink_ValidInputs_CompletesSuccessfully() throws IOException {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(202);
-      mockResponse.setHeaders(Map.of("X-Message-Id", "test-message-id"));
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserWelcomeEmailWithResetLink(testEmail, userName))
-          .verifyComplete();
-
-      // Verify API call
-      verify(sendGrid, atLeastOnce())
-          .api(
-              argThat(
-                  request ->
-                      request.getMethod() == Method.POST
-                          && "mail/send".equals(request.getEndpoint())
-                          && request.getBody().contains(userName)
-                          && request.getBody().contains("Welcome to Smart Onboarding")
-                          && request.getBody().contains("Login")));
-    }
-
-    @Test
-    @DisplayName("Send user welcome email with reset link should handle API failure")
-    void sendUserWelcomeEmailWithResetLink_ApiError_ThrowsEmailServiceException()
-        throws IOException {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(400);
-      mockResponse.setBody("Invalid request");
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserWelcomeEmailWithResetLink(testEmail, userName))
-          .expectError(EmailServiceException.class)
-          .verify();
-    }
-
-    @Test
-    @DisplayName("Send user welcome email with reset link should handle IOException")
-    void sendUserWelcomeEmailWithResetLink_IoException_ThrowsEmailServiceException()
-        throws IOException {
-      // Arrange
-      when(sendGrid.api(any(Request.class))).thenThrow(new IOException("Network error"));
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserWelcomeEmailWithResetLink(testEmail, userName))
-          .expectError(EmailServiceException.class)
-          .verify();
-    }
-
-    @Test
-    @DisplayName("Send user welcome email with reset link should handle 401 unauthorized")
-    void sendUserWelcomeEmailWithResetLink_UnauthorizedError_ThrowsEmailServiceException()
-        throws IOException {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(401);
-      mockResponse.setBody("Unauthorized");
-      mockResponse.setHeaders(Map.of());
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserWelcomeEmailWithResetLink(testEmail, userName))
-          .expectError(EmailServiceException.class)
-          .verify();
-    }
-
-    @Test
-    @DisplayName("Send user welcome email with reset link should handle success without message ID")
-    void sendUserWelcomeEmailWithResetLink_NoMessageId_CompletesSuccessfully() throws IOException {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(202);
-      mockResponse.setHeaders(Map.of()); // No X-Message-Id header
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserWelcomeEmailWithResetLink(testEmail, userName))
-          .verifyComplete();
-
-      verify(sendGrid, atLeastOnce()).api(any(Request.class));
-    }
-  }
-
-  @Nested
-  @DisplayName("User Credentials Email Tests")
-  class UserCredentialsEmailTests {
-
-    @Test
-    @DisplayName("Send user credentials email should succeed")
-    void sendUserCredentialsEmail_ValidInputs_CompletesSuccessfully() throws IOException {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(202);
-      mockResponse.setHeaders(Map.of("X-Message-Id", "test-message-id"));
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserCredentialsEmail(testEmail, password))
-          .verifyComplete();
-
-      // Verify API call
-      verify(sendGrid, atLeastOnce())
-          .api(
-              argThat(
-                  request ->
-                      request.getMethod() == Method.POST
-                          && "mail/send".equals(request.getEndpoint())
-                          && request.getBody().contains(password)
-                          && request.getBody().contains("Your Account Credentials")));
-    }
-
-    @Test
-    @DisplayName("Send user credentials email should handle API failure")
-    void sendUserCredentialsEmail_ApiError_ThrowsEmailServiceException() throws IOException {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(500);
-      mockResponse.setBody("Internal server error");
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserCredentialsEmail(testEmail, password))
-          .expectError(EmailServiceException.class)
-          .verify();
-    }
-
-    @Test
-    @DisplayName("Send user credentials email should handle IOException")
-    void sendUserCredentialsEmail_IoException_ThrowsEmailServiceException() throws IOException {
-      // Arrange
-      when(sendGrid.api(any(Request.class))).thenThrow(new IOException("Connection timeout"));
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserCredentialsEmail(testEmail, password))
-          .expectError(EmailServiceException.class)
-          .verify();
-    }
-
-    @Test
-    @DisplayName("Send user credentials email should handle 401 unauthorized with detailed error")
-    void sendUserCredentialsEmail_UnauthorizedError_ThrowsEmailServiceException()
-        throws IOException {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(401);
-      mockResponse.setBody("API key invalid");
-      mockResponse.setHeaders(Map.of("Content-Type", "application/json"));
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserCredentialsEmail(testEmail, password))
-          .expectError(EmailServiceException.class)
-          .verify();
-    }
-
-    @Test
-    @DisplayName("Send user credentials email should handle success with different status codes")
-    void sendUserCredentialsEmail_DifferentSuccessStatusCodes_CompletesSuccessfully()
-        throws IOException {
-      // Test with status code 200 (OK)
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(200);
-      mockResponse.setHeaders(Map.of("X-Message-Id", "test-message-id"));
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      StepVerifier.create(emailService.sendUserCredentialsEmail(testEmail, password))
-          .verifyComplete();
-
-      verify(sendGrid, atLeastOnce()).api(any(Request.class));
-    }
-  }
+  @Test
+  void idempotencyKey_ShouldDependOnEveryPartOfTheEmail() {
+    String key = EmailService.idempotencyKey("TYPE", testEmail, "Subject", "<p>Body</p>");
 
-  @Nested
-  @DisplayName("Email Delivery Status Tests")
-  class EmailDeliveryStatusTests {
-
-    @Test
-    @DisplayName("Check email delivery status should handle success")
-    void checkEmailDeliveryStatus_ValidEmailId_CompletesSuccessfully() throws Exception {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(200);
-      mockResponse.setBody("{\"status\": \"delivered\"}");
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Use reflection to access private method
-      java.lang.reflect.Method method =
-          EmailService.class.getDeclaredMethod("checkEmailDeliveryStatus", String.class);
-      method.setAccessible(true);
-
-      // Act
-      method.invoke(emailService, "test-email-id");
-
-      // Assert
-      verify(sendGrid)
-          .api(
-              argThat(
-                  request ->
-                      request.getMethod() == Method.GET
-                          && request.getEndpoint().equals("mail/send/test-email-id")));
-    }
-
-    @Test
-    @DisplayName("Check email delivery status should handle IOException")
-    void checkEmailDeliveryStatus_IoException_LogsError() throws Exception {
-      // Arrange
-      when(sendGrid.api(any(Request.class))).thenThrow(new IOException("API error"));
-
-      // Use reflection to access private method
-      java.lang.reflect.Method method =
-          EmailService.class.getDeclaredMethod("checkEmailDeliveryStatus", String.class);
-      method.setAccessible(true);
-
-      // Act - should not throw exception, just log error
-      assertDoesNotThrow(() -> method.invoke(emailService, "test-email-id"));
-
-      // Assert
-      verify(sendGrid).api(any(Request.class));
-    }
-
-    @Test
-    @DisplayName("Check mail status should handle interruption")
-    void checkMailStatus_ThreadInterruption_RestoresInterruptFlag() throws Exception {
-      // Arrange
-      Thread.currentThread().interrupt(); // Set interrupt flag
-
-      // Use reflection to access private method
-      java.lang.reflect.Method method =
-          EmailService.class.getDeclaredMethod("checkMailStatus", String.class);
-      method.setAccessible(true);
-
-      // Act - should handle interruption gracefully
-      assertDoesNotThrow(() -> method.invoke(emailService, "test-email-id"));
-
-      // Assert that interrupt flag is restored
-      assertTrue(Thread.interrupted());
-    }
+    assertEquals(key, EmailService.idempotencyKey("TYPE", testEmail, "Subject", "<p>Body</p>"));
+    assertNotEquals(key, EmailService.idempotencyKey("TYPE", testEmail, "Subject", "<p>Other</p>"));
+    assertNotEquals(key, EmailService.idempotencyKey("TYPE", userName, "Subject", "<p>Body</p>"));
+    assertNotEquals(key, EmailService.idempotencyKey("OTHER", testEmail, "Subject", "<p>Body</p>"));
   }
 
   @Test
@@ -428,9 +246,6 @@ class EmailServiceTest {
     assertEquals(configuredEmail, ReflectionTestUtils.getField(emailService, "senderEmail"));
     assertEquals(testName, ReflectionTestUtils.getField(emailService, "senderName"));
     assertEquals(testApiKey, ReflectionTestUtils.getField(emailService, "sendGridApiKey"));
-
-    // Verify that SendGrid instance exists
-    assertNotNull(sendGrid);
   }
 
   @Test
@@ -451,10 +266,9 @@ class EmailServiceTest {
 
     // Verify that the service is in a valid state despite missing configuration
     assertNotNull(emailService);
-    assertNotNull(sendGrid);
 
-    // Verify no interactions with SendGrid
-    verifyNoInteractions(sendGrid);
+    // Verify nothing was queued
+    verifyNoInteractions(mongoTemplate);
   }
 
   @Test
@@ -566,75 +380,15 @@ class EmailServiceTest {
     assertTrue(content.contains("</html>"));
   }
 
-  @Nested
-  @DisplayName("SendEmail Method Edge Cases")
-  class SendEmailEdgeCasesTests {
-
-    @Test
-    @DisplayName("Send email should handle success with status code 299 (edge of success range)")
-    void sendEmail_StatusCode299_CompletesSuccessfully() throws Exception {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(299);
-      mockResponse.setHeaders(Map.of("X-Message-Id", "test-message-id"));
-      mockResponse.setBody("Success");
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserWelcomeEmailWithResetLink(testEmail, userName))
-          .verifyComplete();
-    }
-
-    @Test
-    @DisplayName("Send email should handle success with status code 200 (start of success range)")
-    void sendEmail_StatusCode200_CompletesSuccessfully() throws Exception {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(200);
-      mockResponse.setHeaders(Map.of("X-Message-Id", "test-message-id"));
-      mockResponse.setBody("OK");
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserCredentialsEmail(testEmail, password))
-          .verifyComplete();
-    }
-
-    @Test
-    @DisplayName(
-        "Send email should handle failure with status code 300 (just outside success range)")
-    void sendEmail_StatusCode300_ThrowsEmailServiceException() throws Exception {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(300);
-      mockResponse.setBody("Redirection");
-      mockResponse.setHeaders(Map.of());
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserWelcomeEmailWithResetLink(testEmail, userName))
-          .expectError(EmailServiceException.class)
-          .verify();
-    }
-
-    @Test
-    @DisplayName("Send email should handle failure with status code 199 (just below success range)")
-    void sendEmail_StatusCode199_ThrowsEmailServiceException() throws Exception {
-      // Arrange
-      Response mockResponse = new Response();
-      mockResponse.setStatusCode(199);
-      mockResponse.setBody("Informational");
-      mockResponse.setHeaders(Map.of());
-
-      when(sendGrid.api(any(Request.class))).thenReturn(mockResponse);
-
-      // Act & Assert
-      StepVerifier.create(emailService.sendUserCredentialsEmail(testEmail, password))
-          .expectError(EmailServiceException.class)
-          .verify();
-    }
+  private void whenQueued() {
+    when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(EmailOutboxMessage.class)))
+        .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, new BsonObjectId())));
+  }
+
+  private Document queuedFields() {
+    ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate)
+        .upsert(any(Query.class), update.capture(), eq(EmailOutboxMessage.class));
+    return (Document) update.getValue().getUpdateObject().get("$setOnInsert");
   }
 }
@@ -0,0 +1,179 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.dto.GuidanceData;
+import com.aci.smart_onboarding.exception.BlobStorageException;
+import com.aci.smart_onboarding.service.IBlobStorageService;
+import com.aci.smart_onboarding.service.implementation.GuidanceIndex.Guidance;
+import com.aci.smart_onboarding.util.FileReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GuidanceIndexTest {
+
+  private static final String RULES_FILE = "franklin_rules.txt";
+  private static final String CONTENT =
+      "Late Fee|lateFee|0.91|Fee charged after the due date|Q1\n"
+          + "Late Fee|No Mapping|0.40|Weak match|Q2\n"
+          + "Grace Period|gracePeriod|0.88|Days before the fee applies|Q3";
+
+  @Mock private IBlobStorageService blobStorageService;
+
+  private GuidanceIndex guidanceIndex;
+
+  @BeforeEach
+  void setUp() {
+    guidanceIndex = new GuidanceIndex(blobStorageService, new FileReader());
+    ReflectionTestUtils.setField(guidanceIndex, "rulesFileName", RULES_FILE);
+
+    when(blobStorageService.getFileETag(RULES_FILE)).thenReturn(Mono.just("etag-1"));
+    when(blobStorageService.fetchFile(RULES_FILE)).thenReturn(Mono.just(bytes(CONTENT)));
+  }
+
+  @Test
+  void current_UnchangedFile_ShouldBeParsedOnce() {
+    Guidance first = guidanceIndex.current().block();
+    Guidance second = guidanceIndex.current().block();
+
+    assertSame(first, second);
+    assertEquals("etag-1", first.version());
+    assertEquals(3, first.entries().size());
+    assertEquals(2, first.get("Late Fee").size());
+    assertEquals("lateFee", first.get("Late Fee").get(0).getMappingKey());
+    assertTrue(first.contains("Grace Period"));
+    assertFalse(first.contains("Autopay"));
+    assertTrue(first.get("Autopay").isEmpty());
+    verify(blobStorageService, times(1)).fetchFile(RULES_FILE);
+  }
+
+  @Test
+  void current_ChangedFile_ShouldBeReloaded() {
+    guidanceIndex.current().block();
+    when(blobStorageService.getFileETag(RULES_FILE)).thenReturn(Mono.just("etag-2"));
+    when(blobStorageService.fetchFile(RULES_FILE))
+        .thenReturn(Mono.just(bytes("Autopay|autopay|0.95|Automatic payments|Q4")));
+
+    Guidance reloaded = guidanceIndex.current().block();
+
+    assertEquals("etag-2", reloaded.version());
+    assertTrue(reloaded.contains("Autopay"));
+    assertFalse(reloaded.contains("Late Fee"));
+  }
+
+  @Test
+  void current_ConcurrentRequests_ShouldShareOneReload() {
+    Sinks.One<byte[]> download = Sinks.one();
+    when(blobStorageService.fetchFile(RULES_FILE)).thenReturn(download.asMono());
+
+    StepVerifier.create(Mono.zip(guidanceIndex.current(), guidanceIndex.current()))
+        .then(() -> download.tryEmitValue(bytes(CONTENT)))
+        .assertNext(pair -> assertSame(pair.getT1(), pair.getT2()))
+        .verifyComplete();
+
+    verify(blobStorageService, times(1)).fetchFile(RULES_FILE);
+  }
+
+  @Test
+  void append_ShouldAppendOnlyUnknownRules() {
+    when(blobStorageService.appendToFile(anyString(), anyString(), anyString()))
+        .thenReturn(Mono.just("etag-2"));
+    Guidance guidance = guidanceIndex.current().block();
+
+    Guidance appended =
+        guidanceIndex
+            .append(
+                guidance,
+                List.of(
+                    data("Late Fee", "lateFee"),
+                    data("Autopay", "autopay"),
+                    data("Autopay", "autopayDuplicate"),
+                    data(null, "noRule")))
+            .block();
+
+    verify(blobStorageService)
+        .appendToFile(RULES_FILE, "\nAutopay|autopay|0.9|Matched|Q9", "etag-1");
+    assertEquals("etag-2", appended.version());
+    assertEquals(4, appended.entries().size());
+    assertEquals("autopay", appended.get("Autopay").get(0).getMappingKey());
+    // The index's own append is no reason to download the file again
+    when(blobStorageService.getFileETag(RULES_FILE)).thenReturn(Mono.just("etag-2"));
+    assertSame(appended, guidanceIndex.current().block());
+    verify(blobStorageService, times(1)).fetchFile(RULES_FILE);
+  }
+
+  @Test
+  void append_NothingNew_ShouldNotWrite() {
+    Guidance guidance = guidanceIndex.current().block();
+
+    assertSame(guidance, guidanceIndex.append(guidance, List.of(data("Late Fee", "x"))).block());
+    verify(blobStorageService, never()).appendToFile(anyString(), anyString(), anyString());
+  }
+
+  @Test
+  void append_FileChangedMeanwhile_ShouldFailAndKeepGuidance() {
+    when(blobStorageService.appendToFile(anyString(), anyString(), anyString()))
+        .thenReturn(Mono.error(new BlobStorageException("Condition not met")));
+    Guidance guidance = guidanceIndex.current().block();
+
+    StepVerifier.create(guidanceIndex.append(guidance, List.of(data("Autopay", "autopay"))))
+        .expectError(BlobStorageException.class)
+        .verify();
+
+    assertSame(guidance, guidanceIndex.current().block());
+  }
+
+  @Test
+  void append_Utf16File_ShouldRewriteItAsUtf8() {
+    byte[] utf16 = "Late Fee|lateFee|0.91|Fee|Q1".getBytes(StandardCharsets.UTF_16);
+    when(blobStorageService.fetchFile(RULES_FILE)).thenReturn(Mono.just(utf16));
+    when(blobStorageService.updateFile(anyString(), anyString())).thenReturn(Mono.empty());
+    Guidance guidance = guidanceIndex.current().block();
+    when(blobStorageService.getFileETag(RULES_FILE)).thenReturn(Mono.just("etag-2"));
+
+    Guidance appended =
+        guidanceIndex.append(guidance, List.of(data("Autopay", "autopay"))).block();
+
+    // The reader does not keep question IDs, which is why rewrites are the exception
+    verify(blobStorageService)
+        .updateFile(
+            RULES_FILE, "Late Fee|lateFee|0.91|Fee|null\nAutopay|autopay|0.9|Matched|Q9");
+    verify(blobStorageService, never()).appendToFile(anyString(), anyString(), anyString());
+    assertEquals("etag-2", appended.version());
+  }
+
+  private static GuidanceData data(String ruleName, String mappingKey) {
+    GuidanceData data = new GuidanceData();
+    data.setRuleName(ruleName);
+    data.setMappingKey(mappingKey);
+    data.setSimilarity("0.9");
+    data.setExplanation("Matched");
+    data.setQuestiondId("Q9");
+    return data;
+  }
+
+  private static byte[] bytes(String content) {
+    return content.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,294 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.config.VectorIndexProperties;
+import com.aci.smart_onboarding.config.VectorStorageProperties;
+import com.aci.smart_onboarding.enums.VectorSearchMode;
+import com.aci.smart_onboarding.enums.VectorStorageFormat;
+import com.aci.smart_onboarding.model.Artifact;
+import com.aci.smart_onboarding.service.implementation.LocalVectorIndex.IndexedCollection;
+import com.aci.smart_onboarding.util.VectorCodec;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LocalVectorIndexTest {
+
+  private static final String VECTORS = "vectors";
+  private static final List<Double> QUERY = List.of(0.0, 0.0);
+
+  @Mock private ReactiveMongoTemplate mongoTemplate;
+
+  private SimpleMeterRegistry meterRegistry;
+  private LocalVectorIndex localVectorIndex;
+  private AtomicInteger atlasCalls;
+
+  @BeforeEach
+  void setUp() {
+    VectorIndexProperties properties = new VectorIndexProperties();
+    properties.setEnabled(true);
+    meterRegistry = new SimpleMeterRegistry();
+    localVectorIndex =
+        new LocalVectorIndex(
+            mongoTemplate, properties, new VectorStorageProperties(), meterRegistry);
+    atlasCalls = new AtomicInteger();
+
+    when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(VECTORS)))
+        .thenReturn(
+            Flux.just(
+                vectorDocument("a", "TestRigor", 0, 0),
+                vectorDocument("b", "TestRigor", 1, 1),
+                vectorDocument("c", "TestRigor", 5, 5),
+                vectorDocument("d", "BRD", 0.5, 0.5)));
+    when(mongoTemplate.changeStream(
+            anyString(), any(ChangeStreamOptions.class), eq(Document.class)))
+        .thenReturn(Flux.never());
+    // Documents come back from MongoDB in storage order, not in rank order
+    when(mongoTemplate.find(any(Query.class), eq(Artifact.class), eq(VECTORS)))
+        .thenAnswer(
+            invocation -> Flux.just(artifact("c"), artifact("b"), artifact("a"), artifact("d")));
+  }
+
+  @AfterEach
+  void tearDown() {
+    localVectorIndex.stop();
+  }
+
+  @Test
+  void search_LocalMode_ShouldAnswerFromIndexInRankOrder() {
+    load();
+
+    StepVerifier.create(search(VectorSearchMode.LOCAL, "TestRigor", atlas()))
+        .expectNextMatches(artifact -> artifact.getId().equals("a"))
+        .expectNextMatches(artifact -> artifact.getId().equals("b"))
+        .verifyComplete();
+
+    assertEquals(0, atlasCalls.get());
+    assertEquals(1, searchTimerCount());
+  }
+
+  @Test
+  void search_LocalModeBeforeLoad_ShouldUseAtlas() {
+    StepVerifier.create(search(VectorSearchMode.LOCAL, "TestRigor", atlas()))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    assertEquals(1, atlasCalls.get());
+    verify(mongoTemplate, never()).find(any(Query.class), eq(Artifact.class), eq(VECTORS));
+  }
+
+  @Test
+  void search_FallbackMode_ShouldUseIndexWhenAtlasFails() {
+    load();
+
+    StepVerifier.create(
+            search(
+                VectorSearchMode.FALLBACK,
+                null,
+                () -> Flux.error(new IllegalStateException("$vectorSearch is not supported"))))
+        .expectNextMatches(artifact -> artifact.getId().equals("a"))
+        .expectNextMatches(artifact -> artifact.getId().equals("d"))
+        .verifyComplete();
+  }
+
+  @Test
+  void search_FallbackModeBeforeLoad_ShouldPropagateAtlasError() {
+    StepVerifier.create(
+            search(
+                VectorSearchMode.FALLBACK,
+                null,
+                () -> Flux.error(new IllegalStateException("$vectorSearch is not supported"))))
+        .expectError(IllegalStateException.class)
+        .verify();
+  }
+
+  @Test
+  void search_ShadowMode_ShouldReturnAtlasResultsAndRecordRecall() throws InterruptedException {
+    load();
+
+    StepVerifier.create(
+            search(
+                VectorSearchMode.SHADOW,
+                "TestRigor",
+                () -> Flux.just(artifact("a"), artifact("c"))))
+        .expectNextMatches(artifact -> artifact.getId().equals("a"))
+        .expectNextMatches(artifact -> artifact.getId().equals("c"))
+        .verifyComplete();
+
+    // The local index finds a and b, so half of the Atlas results
+    DistributionSummary recall = recallSummary();
+    for (int i = 0; i < 100 && recall.count() == 0; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(1, recall.count());
+    assertEquals(0.5, recall.totalAmount());
+  }
+
+  @Test
+  void apply_ShouldFollowInsertsAndDeletes() {
+    load();
+
+    localVectorIndex.apply(
+        IndexedCollection.ARTIFACTS,
+        event(OperationType.INSERT, vectorDocument("e", "TestRigor", 0.1, 0.1), "e"));
+    localVectorIndex.apply(IndexedCollection.ARTIFACTS, event(OperationType.DELETE, null, "a"));
+
+    assertEquals(
+        List.of("e", "b"),
+        localVectorIndex.localIds(IndexedCollection.ARTIFACTS, QUERY, 2, "TestRigor"));
+    assertEquals(4, localVectorIndex.size(IndexedCollection.ARTIFACTS));
+  }
+
+  @Test
+  void apply_WhenReplacedVectorsPileUp_ShouldRebuildIndex() {
+    load();
+
+    for (int i = 1; i <= 3; i++) {
+      localVectorIndex.apply(
+          IndexedCollection.ARTIFACTS,
+          event(OperationType.UPDATE, vectorDocument("a", "TestRigor", 0.1 * i, 0), "a"));
+    }
+
+    verify(mongoTemplate, timeout(5_000).times(2))
+        .find(any(Query.class), eq(Document.class), eq(VECTORS));
+  }
+
+  @Test
+  void apply_ShouldReadBinaryVectors() {
+    load();
+
+    Document binary =
+        new Document("_id", "e")
+            .append(
+                "vector",
+                VectorCodec.encode(new float[] {0.1f, 0.1f}, VectorStorageFormat.FLOAT32, 127))
+            .append("document_name", "TestRigor");
+    localVectorIndex.apply(IndexedCollection.ARTIFACTS, event(OperationType.INSERT, binary, "e"));
+
+    assertEquals(
+        List.of("a", "e"),
+        localVectorIndex.localIds(IndexedCollection.ARTIFACTS, QUERY, 2, "TestRigor"));
+  }
+
+  @Test
+  void search_LocalMode_ShouldNotReadVectorsBack() {
+    load();
+
+    StepVerifier.create(search(VectorSearchMode.LOCAL, "TestRigor", atlas()))
+        .expectNextCount(2)
+        .verifyComplete();
+
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(query.capture(), eq(Artifact.class), eq(VECTORS));
+    assertEquals(new Document("vector", 0), query.getValue().getFieldsObject());
+  }
+
+  @Test
+  void canServe_ShouldRejectQueriesOfAnotherDimension() {
+    load();
+
+    assertTrue(localVectorIndex.canServe(IndexedCollection.ARTIFACTS, QUERY));
+    assertFalse(localVectorIndex.canServe(IndexedCollection.ARTIFACTS, List.of(0.0, 0.0, 0.0)));
+    assertFalse(localVectorIndex.canServe(IndexedCollection.UAT_TEST_CASES, QUERY));
+  }
+
+  private void load() {
+    StepVerifier.create(localVectorIndex.reload(IndexedCollection.ARTIFACTS))
+        .expectNextCount(1)
+        .verifyComplete();
+  }
+
+  private Flux<Artifact> search(
+      VectorSearchMode mode, String label, Supplier<Flux<Artifact>> atlasSearch) {
+    return localVectorIndex.search(
+        IndexedCollection.ARTIFACTS,
+        mode,
+        QUERY,
+        2,
+        label,
+        Artifact.class,
+        Artifact::getId,
+        atlasSearch);
+  }
+
+  private Supplier<Flux<Artifact>> atlas() {
+    return () -> {
+      atlasCalls.incrementAndGet();
+      return Flux.just(artifact("atlas"));
+    };
+  }
+
+  private long searchTimerCount() {
+    return meterRegistry
+        .get(LocalVectorIndex.METRIC_PREFIX + "search")
+        .tag("collection", VECTORS)
+        .timer()
+        .count();
+  }
+
+  private DistributionSummary recallSummary() {
+    return meterRegistry
+        .get(LocalVectorIndex.METRIC_PREFIX + "shadow.recall")
+        .tag("collection", VECTORS)
+        .summary();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static ChangeStreamEvent<Document> event(
+      OperationType operationType, Document body, String id) {
+    ChangeStreamEvent<Document> event = mock(ChangeStreamEvent.class);
+    ChangeStreamDocument<Document> raw = mock(ChangeStreamDocument.class);
+    when(event.getOperationType()).thenReturn(operationType);
+    when(event.getBody()).thenReturn(body);
+    when(event.getRaw()).thenReturn(raw);
+    when(raw.getDocumentKey()).thenReturn(new BsonDocument("_id", new BsonString(id)));
+    return event;
+  }
+
+  private static Document vectorDocument(String id, String documentName, double x, double y) {
+    return new Document("_id", id)
+        .append("vector", List.of(x, y))
+        .append("document_name", documentName);
+  }
+
+  private static Artifact artifact(String id) {
+    Artifact artifact = new Artifact();
+    artifact.setId(id);
+    return artifact;
+  }
+}
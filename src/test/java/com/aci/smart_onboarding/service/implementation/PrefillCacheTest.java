@@ -0,0 +1,155 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.config.PrefillProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PrefillCacheTest {
+
+  private static final String CONTEXT_NAME = "legacy_prefill";
+  private static final String SECTION = "{\"companyName\":\"\"}";
+  private static final List<String> CONTEXTS = List.of("doc 1 context", "doc 2 context");
+  private static final String ADDITIONAL_CONTEXT = "Focus on brdId BRD123";
+  private static final String PREFILLED = "{\"companyName\":\"Acme\"}";
+
+  @Mock private ReactiveRedisTemplate<String, String> redisTemplate;
+  @Mock private ReactiveValueOperations<String, String> valueOperations;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private PrefillProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private PrefillCache prefillCache;
+  private AtomicInteger generations;
+
+  @BeforeEach
+  void setUp() {
+    properties = new PrefillProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    prefillCache = new PrefillCache(redisTemplate, properties, meterRegistry);
+    generations = new AtomicInteger();
+
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.get(anyString())).thenReturn(Mono.empty());
+    when(valueOperations.set(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(Mono.just(true));
+  }
+
+  @Test
+  void section_Cached_ShouldReturnSectionWithoutGenerating() throws Exception {
+    when(valueOperations.get(key())).thenReturn(Mono.just(PREFILLED));
+
+    StepVerifier.create(section(generate("{}")))
+        .expectNext(objectMapper.readTree(PREFILLED))
+        .verifyComplete();
+
+    assertEquals(0, generations.get());
+    assertEquals(1.0, requests("hit"));
+  }
+
+  @Test
+  void section_NotCached_ShouldGenerateAndCacheSection() throws Exception {
+    StepVerifier.create(section(generate(PREFILLED)))
+        .expectNext(objectMapper.readTree(PREFILLED))
+        .verifyComplete();
+
+    assertEquals(1, generations.get());
+    assertEquals(1.0, requests("miss"));
+    verify(valueOperations).set(key(), PREFILLED, properties.getCacheTtl());
+  }
+
+  @Test
+  void section_FailedGeneration_ShouldNotBeCached() {
+    StepVerifier.create(section(() -> Mono.error(new IllegalStateException("down"))))
+        .expectError(IllegalStateException.class)
+        .verify();
+
+    verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+  }
+
+  @Test
+  void section_RedisDown_ShouldStillGenerate() throws Exception {
+    when(valueOperations.get(anyString()))
+        .thenReturn(Mono.error(new IllegalStateException("Redis is down")));
+    when(valueOperations.set(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(Mono.error(new IllegalStateException("Redis is down")));
+
+    StepVerifier.create(section(generate(PREFILLED)))
+        .expectNext(objectMapper.readTree(PREFILLED))
+        .verifyComplete();
+  }
+
+  @Test
+  void section_Disabled_ShouldOnlyGenerate() {
+    properties.setCacheEnabled(false);
+
+    StepVerifier.create(section(generate(PREFILLED))).expectNextCount(1).verifyComplete();
+
+    verify(redisTemplate, never()).opsForValue();
+  }
+
+  @Test
+  void key_ShouldChangeWithAnyInputAndVersion() {
+    String key = key();
+
+    assertTrue(key.startsWith(PrefillCache.KEY_PREFIX));
+    assertNotEquals(key, prefillCache.key("prefill", SECTION, CONTEXTS, ADDITIONAL_CONTEXT));
+    assertNotEquals(key, prefillCache.key(CONTEXT_NAME, "{}", CONTEXTS, ADDITIONAL_CONTEXT));
+    assertNotEquals(key, prefillCache.key(CONTEXT_NAME, SECTION, CONTEXTS, "Focus on BRD456"));
+    assertNotEquals(key, prefillCache.key(CONTEXT_NAME, SECTION, CONTEXTS, null));
+    assertNotEquals(
+        key, prefillCache.key(CONTEXT_NAME, SECTION, CONTEXTS.reversed(), ADDITIONAL_CONTEXT));
+    // Moving text across the context boundary changes the contexts
+    assertNotEquals(
+        key,
+        prefillCache.key(
+            CONTEXT_NAME, SECTION, List.of("doc 1 contextdoc 2 context"), ADDITIONAL_CONTEXT));
+    properties.setPromptVersion("2");
+    assertNotEquals(key, key());
+  }
+
+  private Mono<JsonNode> section(Supplier<Mono<JsonNode>> generate) {
+    return prefillCache.section(CONTEXT_NAME, SECTION, CONTEXTS, ADDITIONAL_CONTEXT, generate);
+  }
+
+  private String key() {
+    return prefillCache.key(CONTEXT_NAME, SECTION, CONTEXTS, ADDITIONAL_CONTEXT);
+  }
+
+  private Supplier<Mono<JsonNode>> generate(String prefilled) {
+    return () -> {
+      generations.incrementAndGet();
+      return Mono.fromCallable(() -> objectMapper.readTree(prefilled));
+    };
+  }
+
+  private double requests(String result) {
+    return meterRegistry.get(PrefillCache.METRIC_NAME).tag("result", result).counter().count();
+  }
+}
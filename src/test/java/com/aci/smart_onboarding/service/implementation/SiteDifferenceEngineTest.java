@@ -0,0 +1,149 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.aci.smart_onboarding.dto.BrdForm;
+import com.aci.smart_onboarding.dto.SiteDifferencesResponse.FieldDifference;
+import com.aci.smart_onboarding.dto.SiteDifferencesResponse.SiteDifference;
+import com.aci.smart_onboarding.model.Site;
+import com.aci.smart_onboarding.util.brd_form.ClientInformation;
+import com.aci.smart_onboarding.util.brd_form.PaymentChannels;
+import com.aci.smart_onboarding.util.brd_form.ViewValueAndSelected;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class SiteDifferenceEngineTest {
+
+  private static final int SITES = 600;
+
+  private final SiteDifferenceEngine engine = new SiteDifferenceEngine();
+
+  @Test
+  void differences_ChangedFields_ShouldBeReportedByPath() {
+    BrdForm siteForm = form("Site Company", "ACH");
+
+    List<FieldDifference> differences = differences(form("BRD Company", "Card"), siteForm);
+
+    assertEquals(2, differences.size());
+    assertEquals("clientInformation.companyName", differences.get(0).getFieldName());
+    assertEquals("BRD Company", differences.get(0).getOrgBrdValue());
+    assertEquals("Site Company", differences.get(0).getSiteBrdValue());
+    assertEquals("paymentChannels.paymentChannelsPortal", differences.get(1).getFieldName());
+    assertEquals(Map.of("viewValues", List.of("Card")), differences.get(1).getOrgBrdValue());
+    assertEquals(Map.of("viewValues", List.of("ACH")), differences.get(1).getSiteBrdValue());
+  }
+
+  @Test
+  void differences_MissingSectionAndExtraOption_ShouldBeReported() {
+    BrdForm brdForm = form("Company", "Card");
+    BrdForm siteForm = form("Company", "Card");
+    siteForm.setClientInformation(null);
+    siteForm
+        .getPaymentChannels()
+        .setPaymentChannelsPortal(
+            List.of(
+                new ViewValueAndSelected("Card", true),
+                new ViewValueAndSelected("ACH", true),
+                new ViewValueAndSelected("Check", false)));
+
+    List<FieldDifference> differences = differences(brdForm, siteForm);
+
+    assertEquals(2, differences.size());
+    assertEquals("clientInformation", differences.get(0).getFieldName());
+    assertNull(differences.get(0).getSiteBrdValue());
+    assertEquals("paymentChannels.paymentChannelsPortal", differences.get(1).getFieldName());
+    assertEquals(
+        Map.of("viewValues", List.of("Card", "ACH")), differences.get(1).getSiteBrdValue());
+  }
+
+  @Test
+  void handleListSizeDifference_ShouldReportWholeLists() {
+    List<FieldDifference> differences = new ArrayList<>();
+
+    engine.handleListSizeDifference("section.items", List.of("a"), List.of("a", "b"), differences);
+
+    assertEquals(1, differences.size());
+    assertEquals(List.of("a", "b"), differences.get(0).getSiteBrdValue());
+  }
+
+  @Test
+  void differences_SameSiteOrWithoutForm_ShouldBeLeftOut() {
+    Flux<Site> sites = Flux.just(site(1, form("Company", "Card")), site(2, null));
+
+    StepVerifier.create(engine.differences(form("Company", "Card"), sites)).verifyComplete();
+  }
+
+  @Test
+  void differences_ManySites_ShouldConvertBaselineOnceAndKeepSiteOrder() {
+    BrdForm brdForm = spy(form("BRD Company", "Card"));
+    Flux<Site> sites =
+        Flux.fromStream(
+            IntStream.range(0, SITES)
+                .mapToObj(i -> site(i, form(i % 2 == 0 ? "BRD Company" : "Site " + i, "ACH"))));
+
+    List<SiteDifference> siteDifferences =
+        engine.differences(brdForm, sites).collectList().block(Duration.ofSeconds(10));
+
+    assertEquals(SITES, siteDifferences.size());
+    for (int i = 0; i < SITES; i++) {
+      SiteDifference siteDifference = siteDifferences.get(i);
+      assertEquals("SITE_" + i, siteDifference.getSiteId());
+      assertEquals(i % 2 == 0 ? 1 : 2, siteDifference.getDifferences().size());
+    }
+    verify(brdForm, times(1)).getClientInformation();
+  }
+
+  @Test
+  void differences_ManySites_ShouldCompleteWithinLatencyBudget() {
+    BrdForm brdForm = form("BRD Company", "Card");
+    List<Site> sites =
+        IntStream.range(0, SITES).mapToObj(i -> site(i, form("Site " + i, "ACH"))).toList();
+    // Warm up, so the budget measures the comparison and not class loading
+    engine.differences(brdForm, Flux.fromIterable(sites)).blockLast();
+
+    long start = System.nanoTime();
+    Long count = engine.differences(brdForm, Flux.fromIterable(sites)).count().block();
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+    assertEquals(SITES, count);
+    assertTrue(elapsed.compareTo(Duration.ofSeconds(2)) < 0, "took " + elapsed);
+  }
+
+  private List<FieldDifference> differences(BrdForm brdForm, BrdForm siteForm) {
+    return engine
+        .differences(brdForm, Flux.just(site(1, siteForm)))
+        .single()
+        .map(SiteDifference::getDifferences)
+        .block();
+  }
+
+  private static BrdForm form(String companyName, String selectedChannel) {
+    ClientInformation clientInformation = new ClientInformation();
+    clientInformation.setCompanyName(companyName);
+    clientInformation.setCity("Omaha");
+    PaymentChannels paymentChannels = new PaymentChannels();
+    paymentChannels.setPaymentChannelsPortal(
+        List.of(
+            new ViewValueAndSelected("Card", "Card".equals(selectedChannel)),
+            new ViewValueAndSelected("ACH", "ACH".equals(selectedChannel))));
+    BrdForm form = new BrdForm();
+    form.setClientInformation(clientInformation);
+    form.setPaymentChannels(paymentChannels);
+    return form;
+  }
+
+  private static Site site(int i, BrdForm brdForm) {
+    return Site.builder().siteId("SITE_" + i).siteName("Site " + i).brdForm(brdForm).build();
+  }
+}
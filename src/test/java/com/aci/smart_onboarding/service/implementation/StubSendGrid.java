@@ -0,0 +1,58 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import com.sendgrid.Request;
+import com.sendgrid.Response;
+import com.sendgrid.SendGrid;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Local stand-in for the SendGrid client. Records every request and answers with scripted
+ * responses or I/O failures, falling back to 202 Accepted, without touching the network.
+ */
+class StubSendGrid extends SendGrid {
+
+  private final List<Request> requests = new CopyOnWriteArrayList<>();
+  private final Deque<Object> outcomes = new ConcurrentLinkedDeque<>();
+
+  StubSendGrid() {
+    super("stub-api-key");
+  }
+
+  StubSendGrid respondWith(int statusCode) {
+    Response response = new Response();
+    response.setStatusCode(statusCode);
+    response.setBody(statusCode >= 300 ? "{\"errors\":[]}" : "");
+    response.setHeaders(Map.of("X-Message-Id", "stub-" + (outcomes.size() + requests.size())));
+    outcomes.add(response);
+    return this;
+  }
+
+  StubSendGrid failWith(IOException error) {
+    outcomes.add(error);
+    return this;
+  }
+
+  List<Request> requests() {
+    return new ArrayList<>(requests);
+  }
+
+  @Override
+  public Response api(Request request) throws IOException {
+    requests.add(request);
+    Object outcome = outcomes.poll();
+    if (outcome instanceof IOException error) {
+      throw error;
+    }
+    if (outcome == null) {
+      respondWith(202);
+      outcome = outcomes.poll();
+    }
+    return (Response) outcome;
+  }
+}
@@ -0,0 +1,170 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.config.SummaryCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SummaryCacheTest {
+
+  private static final String SUBJECT = "document:contract";
+  private static final List<String> CONTENT = List.of("chunk 1", "chunk 2");
+  private static final List<String> PROMPT = List.of("question", "instructions");
+
+  @Mock private ReactiveRedisTemplate<String, String> redisTemplate;
+  @Mock private ReactiveValueOperations<String, String> valueOperations;
+
+  private SummaryCacheProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private SummaryCache summaryCache;
+  private AtomicInteger generations;
+
+  @BeforeEach
+  void setUp() {
+    properties = new SummaryCacheProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    summaryCache = new SummaryCache(redisTemplate, properties, meterRegistry);
+    generations = new AtomicInteger();
+
+    when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    when(valueOperations.get(anyString())).thenReturn(Mono.empty());
+    when(valueOperations.set(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(Mono.just(true));
+  }
+
+  @Test
+  void summary_Cached_ShouldReplayTokensWithoutGenerating() {
+    when(valueOperations.get(key())).thenReturn(Mono.just("[\"Fees\",\": none\"]"));
+
+    StepVerifier.create(summaryCache.summary(SUBJECT, CONTENT, PROMPT, generate("x")))
+        .expectNext("Fees", ": none")
+        .verifyComplete();
+
+    assertEquals(0, generations.get());
+    assertEquals(1.0, requests("hit"));
+  }
+
+  @Test
+  void summary_NotCached_ShouldGenerateAndCacheTokens() {
+    StepVerifier.create(summaryCache.summary(SUBJECT, CONTENT, PROMPT, generate("Fees", ": none")))
+        .expectNext("Fees", ": none")
+        .verifyComplete();
+
+    assertEquals(1, generations.get());
+    assertEquals(1.0, requests("miss"));
+    verify(valueOperations).set(key(), "[\"Fees\",\": none\"]", properties.getTtl());
+  }
+
+  @Test
+  void summary_FailedOrEmptyGeneration_ShouldNotBeCached() {
+    StepVerifier.create(
+            summaryCache.summary(
+                SUBJECT, CONTENT, PROMPT, () -> Flux.error(new IllegalStateException("down"))))
+        .expectError(IllegalStateException.class)
+        .verify();
+    StepVerifier.create(summaryCache.summary(SUBJECT, CONTENT, PROMPT, Flux::empty))
+        .verifyComplete();
+
+    verify(valueOperations, never()).set(anyString(), anyString(), any(Duration.class));
+  }
+
+  @Test
+  void summary_ConcurrentMisses_ShouldShareOneGeneration() {
+    Sinks.Many<String> tokens = Sinks.many().unicast().onBackpressureBuffer();
+    Supplier<Flux<String>> generate =
+        () -> {
+          generations.incrementAndGet();
+          return tokens.asFlux();
+        };
+
+    Flux<String> first = summaryCache.summary(SUBJECT, CONTENT, PROMPT, generate);
+    Flux<String> second = summaryCache.summary(SUBJECT, CONTENT, PROMPT, generate);
+    StepVerifier.create(Flux.merge(first, second))
+        .then(
+            () -> {
+              tokens.tryEmitNext("Fees");
+              tokens.tryEmitComplete();
+            })
+        .expectNext("Fees", "Fees")
+        .verifyComplete();
+
+    assertEquals(1, generations.get());
+  }
+
+  @Test
+  void summary_RedisDown_ShouldStillGenerate() {
+    when(valueOperations.get(anyString()))
+        .thenReturn(Mono.error(new IllegalStateException("Redis is down")));
+    when(valueOperations.set(anyString(), anyString(), any(Duration.class)))
+        .thenReturn(Mono.error(new IllegalStateException("Redis is down")));
+
+    StepVerifier.create(summaryCache.summary(SUBJECT, CONTENT, PROMPT, generate("Fees")))
+        .expectNext("Fees")
+        .verifyComplete();
+  }
+
+  @Test
+  void summary_Disabled_ShouldOnlyGenerate() {
+    properties.setEnabled(false);
+
+    StepVerifier.create(summaryCache.summary(SUBJECT, CONTENT, PROMPT, generate("Fees")))
+        .expectNext("Fees")
+        .verifyComplete();
+
+    verify(redisTemplate, never()).opsForValue();
+  }
+
+  @Test
+  void key_ShouldChangeWithContentPromptAndVersion() {
+    String key = key();
+
+    assertTrue(key.startsWith(SummaryCache.KEY_PREFIX + SUBJECT + ":"));
+    assertNotEquals(key, summaryCache.key(SUBJECT, List.of("chunk 1", "chunk 3"), PROMPT));
+    assertNotEquals(key, summaryCache.key(SUBJECT, CONTENT, List.of("other question")));
+    // Moving text across the chunk boundary changes the content
+    assertNotEquals(key, summaryCache.key(SUBJECT, List.of("chunk 1chunk 2"), PROMPT));
+    properties.setPromptVersion("2");
+    assertNotEquals(key, key());
+  }
+
+  private String key() {
+    return summaryCache.key(SUBJECT, CONTENT, PROMPT);
+  }
+
+  private Supplier<Flux<String>> generate(String... tokens) {
+    return () -> {
+      generations.incrementAndGet();
+      return Flux.just(tokens);
+    };
+  }
+
+  private double requests(String result) {
+    return meterRegistry.get(SummaryCache.METRIC_NAME).tag("result", result).counter().count();
+  }
+}
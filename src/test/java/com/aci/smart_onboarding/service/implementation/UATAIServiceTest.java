@@ -0,0 +1,228 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.config.UatGenerationProperties;
+import com.aci.smart_onboarding.dto.UATConfiguratorResponseDTO;
+import com.aci.smart_onboarding.enums.PortalTypes;
+import com.aci.smart_onboarding.model.Artifact;
+import com.aci.smart_onboarding.model.BRD;
+import com.aci.smart_onboarding.model.PortalConfiguration;
+import com.aci.smart_onboarding.repository.BRDRepository;
+import com.aci.smart_onboarding.service.IAIService;
+import com.aci.smart_onboarding.service.IArtifactService;
+import com.aci.smart_onboarding.service.IPortalConfigurationService;
+import com.aci.smart_onboarding.service.IUATConfiguratorService;
+import com.aci.smart_onboarding.util.brd_form.ClientInformation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.io.DefaultResourceLoader;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class UATAIServiceTest {
+
+  private static final String BRD_ID = "BRD123";
+  private static final List<String> CONFIGURATION_NAMES = List.of("Login", "Logout", "Payment");
+
+  @Mock private BRDRepository brdRepository;
+  @Mock private IUATConfiguratorService uatConfiguratorService;
+  @Mock private IAIService aiService;
+  @Mock private UATTestCaseService uatTestCaseService;
+  @Mock private IArtifactService artifactService;
+  @Mock private IPortalConfigurationService portalConfigurationService;
+
+  private UatGenerationProperties generationProperties;
+  private SimpleMeterRegistry meterRegistry;
+  private UATAIService uatAIService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    generationProperties = new UatGenerationProperties();
+    meterRegistry = new SimpleMeterRegistry();
+    uatAIService =
+        new UATAIService(
+            brdRepository,
+            uatConfiguratorService,
+            new ObjectMapper(),
+            aiService,
+            uatTestCaseService,
+            artifactService,
+            portalConfigurationService,
+            new DefaultResourceLoader(),
+            generationProperties,
+            meterRegistry);
+
+    BRD brd = BRD.builder().brdId(BRD_ID).build();
+    when(brdRepository.findByBrdId(BRD_ID)).thenReturn(Mono.just(brd));
+    // Login and Logout share position and scenario, so they share one test context
+    when(uatConfiguratorService.getConfigurationsByNames(CONFIGURATION_NAMES))
+        .thenReturn(
+            Flux.just(
+                config("Login", "Header", "Sign in"),
+                config("Logout", "Header", "Sign in"),
+                config("Payment", "Checkout", "Pay bill")));
+    when(aiService.getEmbeddings(anyString())).thenReturn(Mono.just(List.of(0.1, 0.2)));
+    when(uatTestCaseService.performVectorSearch(anyList(), anyInt(), eq(PortalTypes.AGENT)))
+        .thenReturn(Flux.empty());
+    when(uatTestCaseService.getTestCasesByBrdIdAndUatType(BRD_ID, PortalTypes.AGENT))
+        .thenReturn(Flux.empty());
+    Artifact artifact = new Artifact();
+    artifact.setText("doc");
+    when(artifactService.performVectorSearch(anyList(), anyInt(), anyString()))
+        .thenReturn(Flux.just(artifact));
+    when(portalConfigurationService.getPortalConfigurationByIdAndType(BRD_ID, PortalTypes.AGENT))
+        .thenReturn(Mono.just(new PortalConfiguration()));
+    when(aiService.generateAnswer(anyString(), anyString(), anyString()))
+        .thenReturn(Mono.just("[]"));
+  }
+
+  @Test
+  void generateUATTestCases_ShouldEmbedEachDistinctContextOnce() {
+    StepVerifier.create(
+            uatAIService.generateUATTestCases(BRD_ID, CONFIGURATION_NAMES, PortalTypes.AGENT))
+        .verifyComplete();
+
+    ArgumentCaptor<String> contexts = ArgumentCaptor.forClass(String.class);
+    verify(aiService, times(2)).getEmbeddings(contexts.capture());
+    assertEquals(
+        List.of("Position: Header, Scenario: Sign in", "Position: Checkout, Scenario: Pay bill"),
+        contexts.getAllValues());
+    verify(uatConfiguratorService, times(1)).getConfigurationsByNames(CONFIGURATION_NAMES);
+    verify(uatTestCaseService, times(2))
+        .performVectorSearch(anyList(), anyInt(), eq(PortalTypes.AGENT));
+    verify(artifactService, times(2)).performVectorSearch(anyList(), anyInt(), eq("TestRigor"));
+    verify(artifactService, times(2))
+        .performVectorSearch(anyList(), anyInt(), eq("TestRigor_Fix"));
+  }
+
+  @Test
+  void generateUATTestCases_ShouldRecordTimePerStage() {
+    StepVerifier.create(
+            uatAIService.generateUATTestCases(BRD_ID, CONFIGURATION_NAMES, PortalTypes.AGENT))
+        .verifyComplete();
+
+    assertEquals(2, stageCount("embedding"));
+    assertEquals(6, stageCount("vector_search"));
+    assertEquals(3, stageCount("llm"));
+    assertEquals(0, stageCount("persistence"));
+  }
+
+  @Test
+  void generateUATTestCases_ShouldSaveGeneratedTestCases() {
+    when(aiService.generateAnswer(anyString(), anyString(), anyString()))
+        .thenReturn(Mono.just("[{\"testname\": \"Sign in\", \"answer\": \"click Sign in\"}]"));
+    when(uatTestCaseService.createTestCases(anyList()))
+        .thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+
+    StepVerifier.create(
+            uatAIService
+                .generateUATTestCases(BRD_ID, CONFIGURATION_NAMES, PortalTypes.AGENT)
+                .collectList())
+        .assertNext(
+            testCases -> {
+              assertEquals(3, testCases.size());
+              assertTrue(testCases.stream().allMatch(tc -> BRD_ID.equals(tc.getBrdId())));
+            })
+        .verifyComplete();
+
+    assertEquals(3, stageCount("persistence"));
+    verify(uatTestCaseService, times(3)).createTestCases(anyList());
+  }
+
+  @Test
+  void generateUATTestCases_ShouldGenerateFeaturesInParallel() {
+    StepVerifier.withVirtualTime(
+            () -> {
+              when(aiService.generateAnswer(anyString(), anyString(), anyString()))
+                  .thenAnswer(
+                      invocation -> Mono.delay(Duration.ofSeconds(10)).thenReturn("[]"));
+              return uatAIService.generateUATTestCases(
+                  BRD_ID, CONFIGURATION_NAMES, PortalTypes.AGENT);
+            })
+        .expectSubscription()
+        // Three ten-second generations paced 100 ms apart finish together, not after 30 seconds
+        .thenAwait(Duration.ofSeconds(11))
+        .verifyComplete();
+
+    assertEquals(3, stageCount("llm"));
+  }
+
+  @Test
+  void generateUATTestCases_ShouldMatchRemainingFieldsInOneCallPerConfiguration() {
+    BRD brd =
+        BRD.builder()
+            .brdId(BRD_ID)
+            .clientInformation(
+                ClientInformation.builder()
+                    .companyName("Acme")
+                    .siteName("Main")
+                    .siteDisplayName("Main Site")
+                    .build())
+            .build();
+    when(brdRepository.findByBrdId(BRD_ID)).thenReturn(Mono.just(brd));
+    when(uatConfiguratorService.getConfigurationsByNames(CONFIGURATION_NAMES))
+        .thenReturn(
+            Flux.just(
+                config("Login", "Header", "Sign in", "companyName", "Site Name", "MFA", "SSO"),
+                config("Logout", "Header", "Sign in", "companyName"),
+                config("Payment", "Checkout", "Pay bill")));
+    when(aiService.generateAnswer(anyString(), anyString(), eq("uat_field_search")))
+        .thenReturn(Mono.just("Matches: {\"MFA\": \"siteDisplayName\", \"SSO\": null}"));
+
+    StepVerifier.create(
+            uatAIService.generateUATTestCases(BRD_ID, CONFIGURATION_NAMES, PortalTypes.AGENT))
+        .verifyComplete();
+
+    // Only Login has fields the index cannot resolve, and they go to the model together
+    ArgumentCaptor<String> question = ArgumentCaptor.forClass(String.class);
+    verify(aiService, times(1))
+        .generateAnswer(question.capture(), anyString(), eq("uat_field_search"));
+    assertEquals("Find fields matching [\"MFA\",\"SSO\"]", question.getValue());
+    assertEquals(1, stageCount("field_matching"));
+
+    ArgumentCaptor<String> context = ArgumentCaptor.forClass(String.class);
+    verify(aiService, times(3)).generateAnswer(anyString(), context.capture(), eq("testRigorUAT"));
+    assertTrue(
+        context.getValue().contains(
+            "{\"companyname\":\"Acme\",\"site name\":\"Main\",\"mfa\":\"Main Site\""),
+        context.getValue());
+  }
+
+  private long stageCount(String stage) {
+    return meterRegistry.get("uat.generation.stage").tag("stage", stage).timer().count();
+  }
+
+  private static UATConfiguratorResponseDTO config(
+      String name, String position, String scenario, String... fields) {
+    return UATConfiguratorResponseDTO.builder()
+        .configurationName(name)
+        .type(PortalTypes.AGENT)
+        .position(position)
+        .scenario(scenario)
+        .fields(List.of(fields))
+        .build();
+  }
+}
@@ -0,0 +1,99 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.config.VectorStorageProperties;
+import com.aci.smart_onboarding.util.VectorCodec;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class VectorStorageMigrationTest {
+
+  private static final String COLLECTION = "uat_test_cases";
+  private static final String FIELD = "vectors";
+
+  @Mock private ReactiveMongoTemplate mongoTemplate;
+  @Mock private ReactiveBulkOperations bulkOperations;
+
+  private SimpleMeterRegistry meterRegistry;
+  private VectorStorageMigration migration;
+
+  @BeforeEach
+  void setUp() {
+    VectorStorageProperties properties = new VectorStorageProperties();
+    properties.setMigrationBatchSize(2);
+    meterRegistry = new SimpleMeterRegistry();
+    migration = new VectorStorageMigration(mongoTemplate, properties, meterRegistry);
+
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, COLLECTION)).thenReturn(bulkOperations);
+    when(bulkOperations.execute()).thenReturn(Mono.just(BulkWriteResult.unacknowledged()));
+  }
+
+  @Test
+  void migrate_ShouldConvertArrayVectorsPageByPage() {
+    // A full first page means another page is read, starting after its last ID
+    when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(COLLECTION)))
+        .thenReturn(
+            Flux.just(
+                new Document("_id", "a").append(FIELD, List.of(0.5, 0.25)),
+                new Document("_id", "b").append(FIELD, List.of("not", "numbers"))),
+            Flux.just(new Document("_id", "c").append(FIELD, List.of(1.0, 2.0))));
+
+    StepVerifier.create(migration.migrate(COLLECTION, FIELD)).expectNext(2L).verifyComplete();
+
+    ArgumentCaptor<Query> pages = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate, times(2)).find(pages.capture(), eq(Document.class), eq(COLLECTION));
+    assertEquals(
+        new Document("$gt", "b"), pages.getAllValues().get(1).getQueryObject().get("_id"));
+
+    ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+    verify(bulkOperations, times(2)).updateOne(any(Query.class), updates.capture());
+    Document firstSet = updates.getAllValues().get(0).getUpdateObject().get("$set", Document.class);
+    Binary first = (Binary) firstSet.get(FIELD);
+    assertArrayEquals(new float[] {0.5f, 0.25f}, VectorCodec.decode(first, 127));
+    assertEquals(
+        2.0,
+        meterRegistry
+            .get(VectorStorageMigration.METRIC_NAME)
+            .tag("collection", COLLECTION)
+            .counter()
+            .count());
+  }
+
+  @Test
+  void migrate_EmptyCollection_ShouldWriteNothing() {
+    when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(COLLECTION)))
+        .thenReturn(Flux.empty());
+
+    StepVerifier.create(migration.migrate(COLLECTION, FIELD)).expectNext(0L).verifyComplete();
+
+    verify(bulkOperations, times(0)).execute();
+  }
+}
@@ -50,6 +50,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import java.util.Arrays;
@@ -75,6 +76,8 @@ class WalletronServiceTest {
 
   @Mock private IFileService fileService;
 
+  @Mock private WalletronUserImporter walletronUserImporter;
+
   @InjectMocks private WalletronService walletronService;
 
   private WalletronRequest walletronRequest;
@@ -823,13 +826,14 @@ class WalletronServiceTest {
     com.aci.smart_onboarding.dto.WalletronUsersRequest request = createValidWalletronUsersRequest();
     com.aci.smart_onboarding.model.WalletronUsers savedUser = createMockWalletronUser();
 
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.empty());
-    when(walletronRepository.save(any())).thenReturn(Mono.just(walletron));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
 
-    when(walletronUsersRepository.save(any())).thenReturn(Mono.just(savedUser));
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenReturn(Mono.just(inserted(savedUser)));
 
     StepVerifier.create(walletronService.createWalletronUsers(request))
         .assertNext(
@@ -856,11 +860,11 @@ class WalletronServiceTest {
     request.setBrdId("BRD-123");
     request.setUsers(Collections.emptyList());
 
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.empty());
-    when(walletronRepository.save(any())).thenReturn(Mono.just(walletron));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
 
     StepVerifier.create(walletronService.createWalletronUsers(request))
         .assertNext(
@@ -876,13 +880,14 @@ class WalletronServiceTest {
     com.aci.smart_onboarding.dto.WalletronUsersRequest request = createRequestWithDuplicateEmails();
     com.aci.smart_onboarding.model.WalletronUsers savedUser = createMockWalletronUser();
 
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.empty());
-    when(walletronRepository.save(any())).thenReturn(Mono.just(walletron));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
 
-    when(walletronUsersRepository.save(any())).thenReturn(Mono.just(savedUser));
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenReturn(Mono.just(inserted(savedUser)));
 
     StepVerifier.create(walletronService.createWalletronUsers(request))
         .assertNext(
@@ -896,23 +901,35 @@ class WalletronServiceTest {
   }
 
   @Test
-  void createWalletronUsers_DuplicateKeyException() {
+  void createWalletronUsers_ExistingAndFailedRows_ReportedPerRow() {
     com.aci.smart_onboarding.dto.WalletronUsersRequest request = createValidWalletronUsersRequest();
 
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.empty());
-    when(walletronRepository.save(any())).thenReturn(Mono.just(walletron));
-
-    when(walletronUsersRepository.save(any()))
-        .thenReturn(Mono.error(new org.springframework.dao.DuplicateKeyException("Duplicate key")));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
+
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenReturn(
+            Mono.just(
+                new WalletronUserImporter.ImportResult(
+                    List.of(),
+                    List.of("john@example.com"),
+                    List.of(
+                        new WalletronUserImporter.FailedRow(
+                            "jane@example.com", "Document failed validation")))));
 
     StepVerifier.create(walletronService.createWalletronUsers(request))
         .assertNext(
             response -> {
               assertEquals(HttpStatus.CREATED, response.getStatusCode());
               assertEquals("SUCCESS", response.getBody().getStatus());
+              com.aci.smart_onboarding.dto.WalletronUsersResponse body =
+                  response.getBody().getData().orElseThrow();
+              assertTrue(body.getSavedUsers().isEmpty());
+              assertEquals(List.of("john@example.com"), body.getDuplicateEmails());
+              assertEquals("jane@example.com", body.getFailedUsers().get(0).getEmail());
             })
         .verifyComplete();
   }
@@ -926,18 +943,19 @@ class WalletronServiceTest {
     // Create a simple DataBuffer without complex mocking
     byte[] testData = "name,email,role\nJohn Doe,john@example.com,USER".getBytes();
     org.springframework.core.io.buffer.DataBuffer dataBuffer =
-        mock(org.springframework.core.io.buffer.DataBuffer.class);
-    when(dataBuffer.readableByteCount()).thenReturn(testData.length);
+        new org.springframework.core.io.buffer.DefaultDataBufferFactory().wrap(testData);
 
     when(filePart.content()).thenReturn(reactor.core.publisher.Flux.just(dataBuffer));
 
     List<com.aci.smart_onboarding.util.FileProcessorUtil.FileUserData> fileUsers =
         createMockFileUserDataList();
-    when(fileProcessorUtil.processCsvFile(any())).thenReturn(Mono.just(fileUsers));
-    when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
+    when(fileProcessorUtil.streamCsvFile(any())).thenReturn(Flux.fromIterable(fileUsers));
     when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.empty());
-    when(walletronUsersRepository.save(any())).thenReturn(Mono.just(createMockWalletronUser()));
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenReturn(Mono.just(inserted(createMockWalletronUser())));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
 
     StepVerifier.create(
             walletronService.createWalletronUsersFromFile(filePart, "WAL-123", "BRD-123"))
@@ -968,13 +986,14 @@ class WalletronServiceTest {
                 "Jane Smith", "jane@example.com", "ADMIN"));
 
 
-      when(fileProcessorUtil.processExcelFile(fileContent)).thenReturn(Mono.just(processedUsers));
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
+    when(fileProcessorUtil.streamExcelFile(any())).thenReturn(Flux.fromIterable(processedUsers));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.empty());
-    when(walletronRepository.save(any())).thenReturn(Mono.just(walletron));
-    when(walletronUsersRepository.save(any())).thenReturn(Mono.just(createMockWalletronUser()));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenReturn(Mono.just(inserted(createMockWalletronUser())));
 
     StepVerifier.create(walletronService.createWalletronUsersFromFile(filePart, "WAL-123", "BRD-123"))
         .assertNext(
@@ -991,11 +1010,6 @@ class WalletronServiceTest {
         mock(org.springframework.http.codec.multipart.FilePart.class);
     when(filePart.filename()).thenReturn("test.txt");
 
-    byte[] fileContent = "test content".getBytes();
-    org.springframework.core.io.buffer.DataBuffer dataBuffer =
-        new org.springframework.core.io.buffer.DefaultDataBufferFactory().wrap(fileContent);
-    when(filePart.content()).thenReturn(reactor.core.publisher.Flux.just(dataBuffer));
-
     StepVerifier.create(walletronService.createWalletronUsersFromFile(filePart, "WAL-123", "BRD-123"))
         .expectError(com.aci.smart_onboarding.exception.BadRequestException.class)
         .verify();
@@ -1007,6 +1021,11 @@ class WalletronServiceTest {
         mock(org.springframework.http.codec.multipart.FilePart.class);
     lenient().when(filePart.filename()).thenReturn("test.csv");
     lenient().when(filePart.content()).thenReturn(reactor.core.publisher.Flux.empty());
+    lenient()
+        .when(fileProcessorUtil.streamCsvFile(any()))
+        .thenReturn(
+            Flux.error(
+                new com.aci.smart_onboarding.exception.BadRequestException("CSV file is empty")));
 
     StepVerifier.create(walletronService.createWalletronUsersFromFile(filePart, "WAL-123", "BRD-123"))
         .expectError(Exception.class)
@@ -1038,13 +1057,14 @@ class WalletronServiceTest {
     existingUser.setRole("USER");
 
 
-      when(fileProcessorUtil.processCsvFile(fileContent)).thenReturn(Mono.just(processedUsers));
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
+    when(fileProcessorUtil.streamCsvFile(any())).thenReturn(Flux.fromIterable(processedUsers));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.just(existingUser));
-    when(walletronRepository.save(any())).thenReturn(Mono.just(walletron));
-    when(walletronUsersRepository.save(any())).thenReturn(Mono.just(createMockWalletronUser()));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenReturn(Mono.just(inserted(createMockWalletronUser())));
 
     StepVerifier.create(walletronService.createWalletronUsersFromFile(filePart, "WAL-123", "BRD-123"))
         .assertNext(
@@ -1077,8 +1097,7 @@ class WalletronServiceTest {
     existingUser.setEmail("john@example.com");
     existingUser.setRole("USER");
 
-    when(fileProcessorUtil.processCsvFile(fileContent)).thenReturn(Mono.just(processedUsers));
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
+    when(fileProcessorUtil.streamCsvFile(any())).thenReturn(Flux.fromIterable(processedUsers));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.just(existingUser));
@@ -1107,13 +1126,14 @@ class WalletronServiceTest {
                 "Jane Smith", "john@example.com", "ADMIN")); // Duplicate email
 
 
-      when(fileProcessorUtil.processCsvFile(fileContent)).thenReturn(Mono.just(processedUsers));
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
+    when(fileProcessorUtil.streamCsvFile(any())).thenReturn(Flux.fromIterable(processedUsers));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.empty());
-    when(walletronRepository.save(any())).thenReturn(Mono.just(walletron));
-    when(walletronUsersRepository.save(any())).thenReturn(Mono.just(createMockWalletronUser()));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenReturn(Mono.just(inserted(createMockWalletronUser())));
 
     StepVerifier.create(walletronService.createWalletronUsersFromFile(filePart, "WAL-123", "BRD-123"))
         .assertNext(
@@ -1135,8 +1155,8 @@ class WalletronServiceTest {
         new org.springframework.core.io.buffer.DefaultDataBufferFactory().wrap(fileContent);
     when(filePart.content()).thenReturn(reactor.core.publisher.Flux.just(dataBuffer));
 
-    when(fileProcessorUtil.processCsvFile(fileContent))
-        .thenReturn(Mono.error(new RuntimeException("File processing error")));
+    when(fileProcessorUtil.streamCsvFile(any()))
+        .thenReturn(Flux.error(new RuntimeException("File processing error")));
 
     StepVerifier.create(walletronService.createWalletronUsersFromFile(filePart, "WAL-123", "BRD-123"))
         .expectError(Exception.class)
@@ -1144,7 +1164,7 @@ class WalletronServiceTest {
   }
 
   @Test
-  void createWalletronUsersFromFile_UpdateWalletronAgentPortalError() {
+  void createWalletronUsersFromFile_AgentPortalError_FailsImport() {
     org.springframework.http.codec.multipart.FilePart filePart =
         mock(org.springframework.http.codec.multipart.FilePart.class);
     when(filePart.filename()).thenReturn("test.csv");
@@ -1159,22 +1179,18 @@ class WalletronServiceTest {
             new com.aci.smart_onboarding.util.FileProcessorUtil.FileUserData(
                 "John Doe", "john@example.com", "USER"));
 
-    when(fileProcessorUtil.processCsvFile(fileContent)).thenReturn(Mono.just(processedUsers));
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
+    when(fileProcessorUtil.streamCsvFile(any())).thenReturn(Flux.fromIterable(processedUsers));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.empty());
-    when(walletronUsersRepository.save(any())).thenReturn(Mono.just(createMockWalletronUser()));
-    when(walletronRepository.save(any()))
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenReturn(Mono.just(inserted(createMockWalletronUser())));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
         .thenReturn(Mono.error(new RuntimeException("Update error")));
 
     StepVerifier.create(walletronService.createWalletronUsersFromFile(filePart, "WAL-123", "BRD-123"))
-        .assertNext(
-            responseEntity -> {
-              assertEquals(HttpStatus.CREATED, responseEntity.getStatusCode());
-              assertEquals("SUCCESS", responseEntity.getBody().getStatus());
-            })
-        .verifyComplete();
+        .expectErrorMessage("Something went wrong: Update error")
+        .verify();
   }
 
   @Test
@@ -1194,13 +1210,14 @@ class WalletronServiceTest {
                 "John Doe", "john@example.com", "USER"));
 
 
-      when(fileProcessorUtil.processCsvFile(fileContent)).thenReturn(Mono.just(processedUsers));
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
+    when(fileProcessorUtil.streamCsvFile(any())).thenReturn(Flux.fromIterable(processedUsers));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.empty());
-    when(walletronRepository.save(any())).thenReturn(Mono.just(walletron));
-    when(walletronUsersRepository.save(any())).thenReturn(Mono.just(createMockWalletronUser()));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenReturn(Mono.just(inserted(createMockWalletronUser())));
 
     // Test with quoted IDs
     StepVerifier.create(walletronService.createWalletronUsersFromFile(filePart, "\"WAL-123\"", "\"BRD-123\""))
@@ -1210,6 +1227,7 @@ class WalletronServiceTest {
               assertEquals("SUCCESS", responseEntity.getBody().getStatus());
             })
         .verifyComplete();
+    verify(walletronUserImporter).addToAgentPortal(eq("WAL-123"), anyList());
   }
 
   @Test
@@ -1232,18 +1250,15 @@ class WalletronServiceTest {
                 "John Doe", "john@example.com", "USER"));
 
 
-      // Combined content should be processed
-    byte[] combinedContent = new byte[fileContent1.length + fileContent2.length];
-    System.arraycopy(fileContent1, 0, combinedContent, 0, fileContent1.length);
-    System.arraycopy(fileContent2, 0, combinedContent, fileContent1.length, fileContent2.length);
-
-    when(fileProcessorUtil.processCsvFile(combinedContent)).thenReturn(Mono.just(processedUsers));
-    lenient().when(walletronRepository.findById(anyString())).thenReturn(Mono.just(walletron));
+    // The buffers are handed to the parser as they arrive
+    when(fileProcessorUtil.streamCsvFile(any())).thenReturn(Flux.fromIterable(processedUsers));
     lenient()
         .when(walletronUsersRepository.findByWalletronId(anyString()))
         .thenReturn(reactor.core.publisher.Flux.empty());
-    when(walletronRepository.save(any())).thenReturn(Mono.just(walletron));
-    when(walletronUsersRepository.save(any())).thenReturn(Mono.just(createMockWalletronUser()));
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenReturn(Mono.just(inserted(createMockWalletronUser())));
 
     StepVerifier.create(walletronService.createWalletronUsersFromFile(filePart, "WAL-123", "BRD-123"))
         .assertNext(
@@ -1254,6 +1269,54 @@ class WalletronServiceTest {
         .verifyComplete();
   }
 
+  @Test
+  void createWalletronUsersFromFile_LargeFile_ImportsInChunks() {
+    org.springframework.http.codec.multipart.FilePart filePart =
+        mock(org.springframework.http.codec.multipart.FilePart.class);
+    when(filePart.filename()).thenReturn("test.csv");
+    when(filePart.content()).thenReturn(Flux.empty());
+
+    Flux<FileProcessorUtil.FileUserData> fileUsers =
+        Flux.range(0, 2_500)
+            .map(
+                i ->
+                    new FileProcessorUtil.FileUserData(
+                        "User " + i, "user" + i + "@example.com", "USER"))
+            .concatWith(
+                Flux.just(new FileProcessorUtil.FileUserData("Copy", "USER0@example.com", "PM")));
+    List<Integer> batchSizes = new java.util.ArrayList<>();
+
+    when(fileProcessorUtil.streamCsvFile(any())).thenReturn(fileUsers);
+    when(walletronUsersRepository.findByWalletronId(anyString())).thenReturn(Flux.empty());
+    when(walletronUserImporter.addToAgentPortal(anyString(), anyList()))
+        .thenReturn(Mono.empty());
+    when(walletronUserImporter.importUsers(anyList()))
+        .thenAnswer(
+            invocation -> {
+              List<com.aci.smart_onboarding.model.WalletronUsers> batch = invocation.getArgument(0);
+              batchSizes.add(batch.size());
+              return Mono.just(
+                  new WalletronUserImporter.ImportResult(batch, List.of(), List.of()));
+            });
+
+    StepVerifier.create(
+            walletronService.createWalletronUsersFromFile(filePart, "WAL-123", "BRD-123"))
+        .assertNext(
+            response -> {
+              com.aci.smart_onboarding.dto.WalletronUsersResponse body =
+                  response.getBody().getData().orElseThrow();
+              assertEquals(2_501, body.getTotalProcessed());
+              assertEquals(2_500, body.getTotalSaved());
+              assertEquals(100, body.getSavedUsers().size());
+              assertEquals(1, body.getTotalDuplicates());
+              assertEquals(List.of("USER0@example.com"), body.getDuplicateEmails());
+            })
+        .verifyComplete();
+
+    assertEquals(List.of(1_000, 1_000, 500), batchSizes);
+    verify(walletronUserImporter, times(3)).addToAgentPortal(eq("WAL-123"), anyList());
+  }
+
   // Helper methods for creating test data
 
   private com.aci.smart_onboarding.dto.WalletronUsersRequest createValidWalletronUsersRequest() {
@@ -1294,6 +1357,11 @@ class WalletronServiceTest {
     return request;
   }
 
+  private static WalletronUserImporter.ImportResult inserted(
+      com.aci.smart_onboarding.model.WalletronUsers... users) {
+    return new WalletronUserImporter.ImportResult(List.of(users), List.of(), List.of());
+  }
+
   private com.aci.smart_onboarding.model.WalletronUsers createMockWalletronUser() {
     com.aci.smart_onboarding.model.WalletronUsers user =
         new com.aci.smart_onboarding.model.WalletronUsers();
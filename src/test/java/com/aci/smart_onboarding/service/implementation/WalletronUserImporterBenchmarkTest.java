@@ -0,0 +1,123 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.aci.smart_onboarding.model.WalletronUsers;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares importing users one save at a time with the bulk upserts of {@link
+ * WalletronUserImporter} on an embedded MongoDB.
+ *
+ * <p>Downloads and starts a mongod, so it only runs with {@code WALLETRON_IMPORT_BENCHMARK=true}.
+ */
+@EnabledIfEnvironmentVariable(named = "WALLETRON_IMPORT_BENCHMARK", matches = "true")
+class WalletronUserImporterBenchmarkTest {
+
+  private static final int ROWS = 50_000;
+
+  // Concurrent saves of the one-by-one import
+  private static final int SAVE_CONCURRENCY = 10;
+
+  private static TransitionWalker.ReachedState<RunningMongodProcess> mongod;
+  private static MongoClient client;
+  private static ReactiveMongoTemplate mongoTemplate;
+
+  @BeforeAll
+  static void startMongo() {
+    mongod = Mongod.instance().start(Version.Main.V7_0);
+    client = MongoClients.create("mongodb://" + mongod.current().getServerAddress());
+    mongoTemplate = new ReactiveMongoTemplate(client, "walletron-import-benchmark");
+    mongoTemplate
+        .indexOps(WalletronUsers.class)
+        .ensureIndex(new Index().on("email", Sort.Direction.ASC).unique())
+        .block();
+  }
+
+  @AfterAll
+  static void stopMongo() {
+    if (client != null) {
+      client.close();
+    }
+    if (mongod != null) {
+      mongod.close();
+    }
+  }
+
+  @Test
+  void importUsers_50kRows_ShouldBeFasterThanSavingOneByOne() {
+    List<WalletronUsers> savedUsers = users("save");
+    long start = System.nanoTime();
+    Long saved =
+        Flux.fromIterable(savedUsers)
+            .flatMap(
+                user ->
+                    mongoTemplate
+                        .save(user)
+                        .onErrorResume(DuplicateKeyException.class, e -> Mono.empty()),
+                SAVE_CONCURRENCY)
+            .count()
+            .block();
+    Duration saveTime = Duration.ofNanos(System.nanoTime() - start);
+
+    WalletronUserImporter importer = new WalletronUserImporter(mongoTemplate);
+    start = System.nanoTime();
+    WalletronUserImporter.ImportResult result = importer.importUsers(users("bulk")).block();
+    Duration importTime = Duration.ofNanos(System.nanoTime() - start);
+
+    assertEquals(ROWS, saved);
+    assertEquals(ROWS, result.insertedUsers().size());
+    assertTrue(result.failedRows().isEmpty());
+    assertTrue(
+        importTime.multipliedBy(2).compareTo(saveTime) < 0,
+        String.format(
+            "bulk upserts ran at %d rows/s (%s), saving one by one at %d rows/s (%s)",
+            rowsPerSecond(importTime), importTime, rowsPerSecond(saveTime), saveTime));
+
+    WalletronUserImporter.ImportResult again = importer.importUsers(users("bulk")).block();
+    assertEquals(ROWS, again.existingEmails().size());
+    assertTrue(again.insertedUsers().isEmpty());
+  }
+
+  private static long rowsPerSecond(Duration elapsed) {
+    return ROWS * 1000L / Math.max(1, elapsed.toMillis());
+  }
+
+  private static List<WalletronUsers> users(String prefix) {
+    LocalDateTime now = LocalDateTime.now();
+    return IntStream.range(0, ROWS)
+        .mapToObj(
+            i -> {
+              WalletronUsers user = new WalletronUsers();
+              user.setName("User " + i);
+              user.setEmail(prefix + i + "@example.com");
+              user.setRole("USER");
+              user.setWalletronId("WAL-1");
+              user.setBrdId("BRD-1");
+              user.setCreatedAt(now);
+              user.setUpdatedAt(now);
+              return user;
+            })
+        .toList();
+  }
+}
@@ -0,0 +1,235 @@
+package com.aci.smart_onboarding.service.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.aci.smart_onboarding.exception.NotFoundException;
+import com.aci.smart_onboarding.model.Walletron;
+import com.aci.smart_onboarding.model.WalletronUsers;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.UpdateResult;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.bson.BsonDocument;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WalletronUserImporterTest {
+
+  @Mock private ReactiveMongoTemplate mongoTemplate;
+  @Mock private ReactiveIndexOperations indexOperations;
+  @Mock private ReactiveBulkOperations bulkOperations;
+
+  private WalletronUserImporter importer;
+
+  @BeforeEach
+  void setUp() {
+    when(mongoTemplate.indexOps(WalletronUsers.class)).thenReturn(indexOperations);
+    when(indexOperations.getIndexInfo()).thenReturn(Flux.empty());
+    when(indexOperations.ensureIndex(any())).thenReturn(Mono.just("idx_walletron_users_email"));
+    when(mongoTemplate.bulkOps(BulkMode.UNORDERED, WalletronUsers.class))
+        .thenReturn(bulkOperations);
+    when(bulkOperations.upsert(any(Query.class), any(UpdateDefinition.class)))
+        .thenReturn(bulkOperations);
+    importer = new WalletronUserImporter(mongoTemplate);
+  }
+
+  @Test
+  void importUsers_ShouldUpsertInBatchesAndSplitInsertedFromExisting() {
+    int rows = 2 * WalletronUserImporter.BATCH_SIZE + 500;
+    // Every tenth user of a batch is already registered
+    when(bulkOperations.execute())
+        .thenReturn(Mono.just(result(WalletronUserImporter.BATCH_SIZE, 10)))
+        .thenReturn(Mono.just(result(WalletronUserImporter.BATCH_SIZE, 10)))
+        .thenReturn(Mono.just(result(500, 10)));
+
+    StepVerifier.create(importer.importUsers(users(rows)))
+        .assertNext(
+            result -> {
+              assertEquals(rows - rows / 10, result.insertedUsers().size());
+              assertEquals(rows / 10, result.existingEmails().size());
+              assertTrue(result.failedRows().isEmpty());
+              assertEquals("user1@example.com", result.insertedUsers().get(0).getEmail());
+              assertEquals("user0@example.com", result.existingEmails().get(0));
+              assertEquals(
+                  "user" + (WalletronUserImporter.BATCH_SIZE + 10) + "@example.com",
+                  result.existingEmails().get(WalletronUserImporter.BATCH_SIZE / 10 + 1));
+              assertTrue(result.insertedUsers().stream().allMatch(user -> user.getId() != null));
+            })
+        .verifyComplete();
+
+    verify(mongoTemplate, times(3)).bulkOps(BulkMode.UNORDERED, WalletronUsers.class);
+    verify(bulkOperations, times(rows)).upsert(any(Query.class), any(UpdateDefinition.class));
+  }
+
+  @Test
+  void importUsers_WriteErrors_ShouldBeReportedPerRow() {
+    BulkWriteResult partial = mock(BulkWriteResult.class);
+    when(partial.getUpserts()).thenReturn(List.of(upsert(0)));
+    MongoBulkWriteException bulkError = mock(MongoBulkWriteException.class);
+    when(bulkError.getWriteResult()).thenReturn(partial);
+    when(bulkError.getWriteErrors())
+        .thenReturn(
+            List.of(
+                new BulkWriteError(11000, "E11000 duplicate key", new BsonDocument(), 1),
+                new BulkWriteError(121, "Document failed validation", new BsonDocument(), 2)));
+    when(bulkOperations.execute())
+        .thenReturn(Mono.error(new DuplicateKeyException("E11000 duplicate key", bulkError)));
+
+    StepVerifier.create(importer.importUsers(users(4)))
+        .assertNext(
+            result -> {
+              assertEquals(List.of("user0@example.com"), emails(result.insertedUsers()));
+              assertEquals(
+                  List.of("user1@example.com", "user3@example.com"), result.existingEmails());
+              assertEquals(1, result.failedRows().size());
+              assertEquals("user2@example.com", result.failedRows().get(0).email());
+              assertEquals("Document failed validation", result.failedRows().get(0).error());
+            })
+        .verifyComplete();
+  }
+
+  @Test
+  void importUsers_OtherErrors_ShouldFailTheImport() {
+    when(bulkOperations.execute()).thenReturn(Mono.error(new IllegalStateException("down")));
+
+    StepVerifier.create(importer.importUsers(users(3)))
+        .expectError(IllegalStateException.class)
+        .verify();
+  }
+
+  @Test
+  void importUsers_ShouldEnsureTheUniqueEmailIndexOnce() {
+    when(bulkOperations.execute()).thenReturn(Mono.just(result(2, 0)));
+
+    importer.importUsers(users(2)).block();
+    importer.importUsers(users(2)).block();
+
+    verify(indexOperations, times(1)).ensureIndex(any(IndexDefinition.class));
+  }
+
+  @Test
+  void importUsers_UniqueIndexAlreadyThere_ShouldNotCreateIt() {
+    IndexInfo emailIndex = mock(IndexInfo.class);
+    when(emailIndex.isUnique()).thenReturn(true);
+    when(emailIndex.isIndexForFields(eq(List.of("email")))).thenReturn(true);
+    when(indexOperations.getIndexInfo()).thenReturn(Flux.just(emailIndex));
+    when(bulkOperations.execute()).thenReturn(Mono.just(result(1, 0)));
+
+    StepVerifier.create(importer.importUsers(users(1)))
+        .assertNext(result -> assertEquals(1, result.insertedUsers().size()))
+        .verifyComplete();
+
+    verify(indexOperations, never()).ensureIndex(any(IndexDefinition.class));
+  }
+
+  @Test
+  void importUsers_NoUsers_ShouldNotWrite() {
+    StepVerifier.create(importer.importUsers(List.of()))
+        .assertNext(result -> assertTrue(result.insertedUsers().isEmpty()))
+        .verifyComplete();
+
+    verifyNoInteractions(bulkOperations);
+  }
+
+  /** A batch result where all users but every {@code existingEvery}th one were upserted */
+  @Test
+  void addToAgentPortal_ShouldAppendUsersInOneUpdate() {
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Walletron.class)))
+        .thenReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+
+    StepVerifier.create(importer.addToAgentPortal("WAL-1", users(3))).verifyComplete();
+
+    ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(Walletron.class));
+    Document push = update.getValue().getUpdateObject().get("$push", Document.class);
+    assertTrue(push.containsKey("aciWalletronAgentPortal.walletronAgentPortal"));
+    assertTrue(update.getValue().modifies("aciWalletronAgentPortal.sectionStatus"));
+    verify(mongoTemplate, never()).findById(any(), eq(Walletron.class));
+  }
+
+  @Test
+  void addToAgentPortal_MissingWalletron_ShouldFail() {
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Walletron.class)))
+        .thenReturn(Mono.just(UpdateResult.acknowledged(0, 0L, null)));
+
+    StepVerifier.create(importer.addToAgentPortal("WAL-1", users(1)))
+        .expectError(NotFoundException.class)
+        .verify();
+  }
+
+  private static BulkWriteResult result(int batchSize, int existingEvery) {
+    List<BulkWriteUpsert> upserts = new ArrayList<>();
+    for (int i = 0; i < batchSize; i++) {
+      if (existingEvery == 0 || i % existingEvery != 0) {
+        upserts.add(upsert(i));
+      }
+    }
+    BulkWriteResult result = mock(BulkWriteResult.class);
+    when(result.getUpserts()).thenReturn(upserts);
+    return result;
+  }
+
+  private static BulkWriteUpsert upsert(int index) {
+    return new BulkWriteUpsert(index, new BsonObjectId(new ObjectId()));
+  }
+
+  private static List<WalletronUsers> users(int count) {
+    LocalDateTime now = LocalDateTime.now();
+    return IntStream.range(0, count)
+        .mapToObj(
+            i -> {
+              WalletronUsers user = new WalletronUsers();
+              user.setName("User " + i);
+              user.setEmail("user" + i + "@example.com");
+              user.setRole("USER");
+              user.setWalletronId("WAL-1");
+              user.setBrdId("BRD-1");
+              user.setCreatedAt(now);
+              user.setUpdatedAt(now);
+              return user;
+            })
+        .toList();
+  }
+
+  private static List<String> emails(List<WalletronUsers> users) {
+    return users.stream().map(WalletronUsers::getEmail).toList();
+  }
+}
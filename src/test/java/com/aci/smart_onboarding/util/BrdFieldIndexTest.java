@@ -0,0 +1,63 @@
+package com.aci.smart_onboarding.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BrdFieldIndexTest {
+
+  private BrdFieldIndex index;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    JsonNode brd =
+        new ObjectMapper()
+            .readTree(
+                """
+                {
+                  "brdId": "BRD123",
+                  "clientInformation": {
+                    "companyName": "Acme",
+                    "siteName": null,
+                    "contact": {"phoneNumber": "555-0100", "companyName": "Nested"}
+                  },
+                  "agentPortal": {
+                    "siteName": "Portal",
+                    "passwordExpiration": "90"
+                  },
+                  "notifications": [{"emailFrom": "noreply@acme.com"}]
+                }
+                """);
+    index =
+        BrdFieldIndex.of(
+            brd, List.of("brdId", "clientInformation", "agentPortal", "notifications"));
+  }
+
+  @Test
+  void get_ShouldPreferEarlierSectionsAndDirectFields() {
+    assertEquals("Acme", index.get("companyName").asText());
+    assertEquals("555-0100", index.get("phoneNumber").asText());
+    assertEquals("noreply@acme.com", index.get("emailFrom").asText());
+    // The first section has the field, even without a value
+    assertTrue(index.get("siteName").isNull());
+    assertNull(index.get("brdId"));
+  }
+
+  @Test
+  void resolve_ShouldIgnoreCaseAndPunctuation() {
+    assertEquals("90", index.resolve("Password Expiration").asText());
+    assertEquals("Acme", index.resolve("company_name").asText());
+    assertNull(index.resolve("MFA"));
+  }
+
+  @Test
+  void resolve_ShouldSkipFieldsWithoutValue() {
+    assertNull(index.resolve("siteName"));
+  }
+}
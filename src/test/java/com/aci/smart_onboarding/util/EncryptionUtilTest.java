@@ -85,6 +85,20 @@ class EncryptionUtilTest {
       assertTrue(encryptedData.length >= 16);
       assertTrue(decryptedData.length == 0 || (decryptedData.length == 1 && decryptedData[0] == 0));
     }
+
+    @Test
+    @DisplayName("Decrypt secret should return original secret")
+    void encryptAndDecryptSecret_ShouldReturnOriginalSecret() {
+      // Arrange
+      byte[] secret = "Pa55word!".getBytes(StandardCharsets.UTF_8);
+
+      // Act
+      byte[] decryptedSecret = encryptionUtil.decryptSecret(encryptionUtil.encrypt(secret));
+
+      // Assert
+      assertArrayEquals(secret, decryptedSecret);
+      assertThrows(EncryptionException.class, () -> encryptionUtil.decryptSecret(new byte[8]));
+    }
   }
 
   @Nested
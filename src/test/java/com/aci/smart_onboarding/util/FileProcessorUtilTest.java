@@ -12,7 +12,9 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +24,9 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
 import reactor.test.StepVerifier;
 
 @ExtendWith(MockitoExtension.class)
@@ -46,10 +51,10 @@ class FileProcessorUtilTest {
   }
 
   @Test
-  void processCsvFile_ValidCsv_Success() {
+  void streamCsvFile_ValidCsv_Success() {
     byte[] csvBytes = VALID_CSV_CONTENT.getBytes(StandardCharsets.UTF_8);
 
-    StepVerifier.create(fileProcessorUtil.processCsvFile(csvBytes))
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(buffers(csvBytes, 16)).collectList())
         .assertNext(
             users -> {
               assertEquals(2, users.size());
@@ -61,10 +66,10 @@ class FileProcessorUtilTest {
   }
 
   @Test
-  void processCsvFile_WithBOM_Success() {
+  void streamCsvFile_WithBOM_Success() {
     byte[] csvBytes = CSV_WITH_BOM.getBytes(StandardCharsets.UTF_8);
 
-    StepVerifier.create(fileProcessorUtil.processCsvFile(csvBytes))
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(buffers(csvBytes, 16)).collectList())
         .assertNext(
             users -> {
               assertEquals(1, users.size());
@@ -74,49 +79,21 @@ class FileProcessorUtilTest {
   }
 
   @Test
-  void processCsvFile_FileTooLarge_ThrowsException() {
-    byte[] largeFile = new byte[3 * 1024 * 1024]; // 3MB
-    Arrays.fill(largeFile, (byte) 'a');
-
-    StepVerifier.create(fileProcessorUtil.processCsvFile(largeFile))
-        .expectError(BadRequestException.class)
-        .verify();
-  }
-
-  @Test
-  void processCsvFile_EmptyFile_ThrowsException() {
-    byte[] emptyFile = EMPTY_CSV.getBytes(StandardCharsets.UTF_8);
-
-    StepVerifier.create(fileProcessorUtil.processCsvFile(emptyFile))
-        .expectError(BadRequestException.class)
-        .verify();
-  }
-
-  @Test
-  void processCsvFile_MissingRequiredHeaders_ThrowsException() {
-    byte[] csvBytes = INVALID_CSV_MISSING_HEADERS.getBytes(StandardCharsets.UTF_8);
-
-    StepVerifier.create(fileProcessorUtil.processCsvFile(csvBytes))
-        .expectError(BadRequestException.class)
-        .verify();
-  }
-
-  @Test
-  void processCsvFile_OnlyHeaders_ReturnsEmptyList() {
+  void streamCsvFile_OnlyHeaders_ReturnsEmptyList() {
     byte[] csvBytes = CSV_HEADERS_ONLY.getBytes(StandardCharsets.UTF_8);
 
-    StepVerifier.create(fileProcessorUtil.processCsvFile(csvBytes))
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(buffers(csvBytes, 16)).collectList())
         .assertNext(users -> assertEquals(0, users.size()))
         .verifyComplete();
   }
 
   @Test
-  void processCsvFile_InvalidEmail_SkipsRow() {
+  void streamCsvFile_InvalidEmail_SkipsRow() {
     String csvWithInvalidEmail =
         "name,email,role\nJohn Doe,invalid-email,USER\nJane Smith,jane@example.com,ADMIN";
     byte[] csvBytes = csvWithInvalidEmail.getBytes(StandardCharsets.UTF_8);
 
-    StepVerifier.create(fileProcessorUtil.processCsvFile(csvBytes))
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(buffers(csvBytes, 16)).collectList())
         .assertNext(
             users -> {
               assertEquals(1, users.size());
@@ -126,12 +103,12 @@ class FileProcessorUtilTest {
   }
 
   @Test
-  void processCsvFile_InvalidRole_SkipsRow() {
+  void streamCsvFile_InvalidRole_SkipsRow() {
     String csvWithInvalidRole =
         "name,email,role\nJohn Doe,john@example.com,INVALID_ROLE\nJane Smith,jane@example.com,ADMIN";
     byte[] csvBytes = csvWithInvalidRole.getBytes(StandardCharsets.UTF_8);
 
-    StepVerifier.create(fileProcessorUtil.processCsvFile(csvBytes))
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(buffers(csvBytes, 16)).collectList())
         .assertNext(
             users -> {
               assertEquals(1, users.size());
@@ -141,18 +118,18 @@ class FileProcessorUtilTest {
   }
 
   @Test
-  void processCsvFile_EmptyFields_SkipsRow() {
+  void streamCsvFile_EmptyFields_SkipsRow() {
     String csvWithEmptyFields =
         "name,email,role\n,john@example.com,USER\nJane Smith,,ADMIN\nBob Wilson,bob@example.com,";
     byte[] csvBytes = csvWithEmptyFields.getBytes(StandardCharsets.UTF_8);
 
-    StepVerifier.create(fileProcessorUtil.processCsvFile(csvBytes))
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(buffers(csvBytes, 16)).collectList())
         .assertNext(users -> assertEquals(0, users.size()))
         .verifyComplete();
   }
 
   @Test
-  void processCsvFile_ValidationErrors_SkipsRow() {
+  void streamCsvFile_ValidationErrors_SkipsRow() {
     Set<ConstraintViolation<Object>> violations = new HashSet<>();
     ConstraintViolation<Object> violation = mock(ConstraintViolation.class);
     when(violation.getMessage()).thenReturn("Validation error");
@@ -161,16 +138,16 @@ class FileProcessorUtilTest {
 
     byte[] csvBytes = VALID_CSV_CONTENT.getBytes(StandardCharsets.UTF_8);
 
-    StepVerifier.create(fileProcessorUtil.processCsvFile(csvBytes))
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(buffers(csvBytes, 16)).collectList())
         .assertNext(users -> assertEquals(0, users.size()))
         .verifyComplete();
   }
 
   @Test
-  void processExcelFile_ValidExcel_Success() throws IOException {
+  void streamExcelFile_ValidExcel_Success() throws IOException {
     byte[] excelBytes = createValidExcelFile();
 
-    StepVerifier.create(fileProcessorUtil.processExcelFile(excelBytes))
+    StepVerifier.create(fileProcessorUtil.streamExcelFile(buffers(excelBytes, 1024)).collectList())
         .assertNext(
             users -> {
               assertEquals(2, users.size());
@@ -182,47 +159,10 @@ class FileProcessorUtilTest {
   }
 
   @Test
-  void processExcelFile_FileTooLarge_ThrowsException() {
-    byte[] largeFile = new byte[3 * 1024 * 1024]; // 3MB
-    Arrays.fill(largeFile, (byte) 'a');
-
-    StepVerifier.create(fileProcessorUtil.processExcelFile(largeFile))
-        .expectError(BadRequestException.class)
-        .verify();
-  }
-
-  @Test
-  void processExcelFile_EmptyFile_ThrowsException() throws IOException {
-    byte[] emptyExcelBytes = createEmptyExcelFile();
-
-    StepVerifier.create(fileProcessorUtil.processExcelFile(emptyExcelBytes))
-        .expectError(BadRequestException.class)
-        .verify();
-  }
-
-  @Test
-  void processExcelFile_MissingHeaders_ThrowsException() throws IOException {
-    byte[] excelBytes = createExcelWithMissingHeaders();
-
-    StepVerifier.create(fileProcessorUtil.processExcelFile(excelBytes))
-        .expectError(BadRequestException.class)
-        .verify();
-  }
-
-  @Test
-  void processExcelFile_InvalidExcelFormat_ThrowsException() {
-    byte[] invalidBytes = "Not an Excel file".getBytes(StandardCharsets.UTF_8);
-
-    StepVerifier.create(fileProcessorUtil.processExcelFile(invalidBytes))
-        .expectError(Exception.class)
-        .verify();
-  }
-
-  @Test
-  void processExcelFile_NumericCellValues_Success() throws IOException {
+  void streamExcelFile_NumericCellValues_Success() throws IOException {
     byte[] excelBytes = createExcelWithNumericValues();
 
-    StepVerifier.create(fileProcessorUtil.processExcelFile(excelBytes))
+    StepVerifier.create(fileProcessorUtil.streamExcelFile(buffers(excelBytes, 1024)).collectList())
         .assertNext(
             users -> {
               assertEquals(1, users.size());
@@ -232,30 +172,30 @@ class FileProcessorUtilTest {
   }
 
   @Test
-  void processExcelFile_BooleanCellValues_Success() throws IOException {
+  void streamExcelFile_BooleanCellValues_Success() throws IOException {
     byte[] excelBytes = createExcelWithBooleanValues();
 
-    StepVerifier.create(fileProcessorUtil.processExcelFile(excelBytes))
+    StepVerifier.create(fileProcessorUtil.streamExcelFile(buffers(excelBytes, 1024)).collectList())
         .assertNext(
             users -> assertEquals(0, users.size())) // Boolean values won't match email pattern
         .verifyComplete();
   }
 
   @Test
-  void processExcelFile_FormulaCellValues_Success() throws IOException {
+  void streamExcelFile_FormulaCellValues_Success() throws IOException {
     byte[] excelBytes = createExcelWithFormulaValues();
 
-    StepVerifier.create(fileProcessorUtil.processExcelFile(excelBytes))
+    StepVerifier.create(fileProcessorUtil.streamExcelFile(buffers(excelBytes, 1024)).collectList())
         .assertNext(
             users -> assertEquals(0, users.size())) // Formula values won't match email pattern
         .verifyComplete();
   }
 
   @Test
-  void processExcelFile_EmptyRowsSkipped_Success() throws IOException {
+  void streamExcelFile_EmptyRowsSkipped_Success() throws IOException {
     byte[] excelBytes = createExcelWithEmptyRows();
 
-    StepVerifier.create(fileProcessorUtil.processExcelFile(excelBytes))
+    StepVerifier.create(fileProcessorUtil.streamExcelFile(buffers(excelBytes, 1024)).collectList())
         .assertNext(users -> assertEquals(1, users.size()))
         .verifyComplete();
   }
@@ -332,21 +272,6 @@ class FileProcessorUtilTest {
     assertFalse((Boolean) isBlankOrNull.invoke(fileProcessorUtil, "test"));
   }
 
-  @Test
-  void testProcessCsvRow_Exception() throws Exception {
-    Method processCsvRow =
-        FileProcessorUtil.class.getDeclaredMethod(
-            "processCsvRow", String[].class, Map.class, int.class, List.class);
-    processCsvRow.setAccessible(true);
-
-    String[] row = {"John", "john@example.com", "USER"};
-    Map<String, Integer> headerMap = Map.of("name", 0, "email", 1, "role", 2);
-    List<FileProcessorUtil.FileUserData> users = new ArrayList<>();
-
-    // This should not throw exception but handle it gracefully
-    assertDoesNotThrow(() -> processCsvRow.invoke(fileProcessorUtil, row, headerMap, 1, users));
-  }
-
   @Test
   void testGetValueFromRow_IndexOutOfBounds() throws Exception {
     Method getValueFromRow =
@@ -376,76 +301,179 @@ class FileProcessorUtilTest {
   }
 
   @Test
-  void testGetCellValue_NullIndex() throws Exception {
-    Method getCellValue =
-        FileProcessorUtil.class.getDeclaredMethod(
-            "getCellValue", Row.class, Map.class, String.class);
-    getCellValue.setAccessible(true);
+  void streamCsvFile_RowsSplitAcrossBuffers_Success() {
+    byte[] csvBytes =
+        "\uFEFFname,email,role\nJosé Núñez,jose@example.com,USER\nJane Smith,bad-email,ADMIN\n"
+            .getBytes(StandardCharsets.UTF_8);
 
-    Row row = mock(Row.class);
-    Map<String, Integer> headerMap = Map.of("name", 0);
-
-    String result = (String) getCellValue.invoke(fileProcessorUtil, row, headerMap, "email");
-    assertNull(result);
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(buffers(csvBytes, 3)))
+        .assertNext(
+            user -> {
+              assertEquals("José Núñez", user.getName());
+              assertEquals("jose@example.com", user.getEmail());
+            })
+        .verifyComplete();
   }
 
   @Test
-  void testGetCellValueAsString_NullCell() throws Exception {
-    Method getCellValueAsString =
-        FileProcessorUtil.class.getDeclaredMethod("getCellValueAsString", Cell.class);
-    getCellValueAsString.setAccessible(true);
+  void streamCsvFile_EmptyFileOrMissingHeaders_ThrowsException() {
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(Flux.empty()))
+        .expectError(BadRequestException.class)
+        .verify();
+    byte[] csvBytes = INVALID_CSV_MISSING_HEADERS.getBytes(StandardCharsets.UTF_8);
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(buffers(csvBytes, 8)))
+        .expectError(BadRequestException.class)
+        .verify();
+  }
 
-    String result = (String) getCellValueAsString.invoke(fileProcessorUtil, (Cell) null);
-    assertNull(result);
+  @Test
+  void streamCsvFile_LargeFile_ReadsEveryRow() {
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(csvRows(100_000, new AtomicInteger())))
+        .expectNextCount(100_000)
+        .verifyComplete();
   }
 
   @Test
-  void testGetCellValueAsString_BlankCell() throws Exception {
-    Method getCellValueAsString =
-        FileProcessorUtil.class.getDeclaredMethod("getCellValueAsString", Cell.class);
-    getCellValueAsString.setAccessible(true);
+  void streamCsvFile_SlowConsumer_ReadsOnlyWhatIsRequested() {
+    AtomicInteger rowsProduced = new AtomicInteger();
 
-    Cell cell = mock(Cell.class);
-    when(cell.getCellType()).thenReturn(CellType.BLANK);
+    StepVerifier.create(fileProcessorUtil.streamCsvFile(csvRows(100_000, rowsProduced)), 0)
+        .thenRequest(10)
+        .expectNextCount(10)
+        .thenCancel()
+        .verify();
 
-    String result = (String) getCellValueAsString.invoke(fileProcessorUtil, cell);
-    assertEquals("", result);
+    assertTrue(rowsProduced.get() < 5_000, "read ahead " + rowsProduced.get() + " rows");
   }
 
   @Test
-  void testGetCellValueAsString_DateCell() throws Exception {
-    Method getCellValueAsString =
-        FileProcessorUtil.class.getDeclaredMethod("getCellValueAsString", Cell.class);
-    getCellValueAsString.setAccessible(true);
+  void streamExcelFile_MixedCells_RendersCellsAsText() throws IOException {
+    byte[] excelBytes = createExcelWithMixedCells();
+    String date = new GregorianCalendar(2024, Calendar.MARCH, 1).getTime().toString();
 
-    Cell cell = mock(Cell.class);
-    when(cell.getCellType()).thenReturn(CellType.NUMERIC);
-    when(cell.getDateCellValue()).thenReturn(new Date());
-
-    // Mock static method DateUtil.isCellDateFormatted
-    try (var mockedDateUtil = mockStatic(DateUtil.class)) {
-      mockedDateUtil.when(() -> DateUtil.isCellDateFormatted(cell)).thenReturn(true);
+    StepVerifier.create(fileProcessorUtil.streamExcelFile(buffers(excelBytes, 1024)).collectList())
+        .assertNext(
+            users ->
+                assertEquals(
+                    List.of(
+                        new FileProcessorUtil.FileUserData("John Doe", "john@example.com", "USER"),
+                        new FileProcessorUtil.FileUserData("123", "numeric@example.com", "ADMIN"),
+                        new FileProcessorUtil.FileUserData(date, "date@example.com", "PM")),
+                    users))
+        .verifyComplete();
+  }
 
-      String result = (String) getCellValueAsString.invoke(fileProcessorUtil, cell);
-      assertNotNull(result);
+  @Test
+  void streamExcelFile_LargeStreamingWorkbook_ReadsEveryRow() throws IOException {
+    int rows = 20_000;
+    byte[] excelBytes;
+    try (SXSSFWorkbook workbook = new SXSSFWorkbook(100)) {
+      Sheet sheet = workbook.createSheet();
+      writeRow(sheet.createRow(0), "name", "email", "role");
+      for (int i = 1; i <= rows; i++) {
+        writeRow(sheet.createRow(i), "User " + i, "user" + i + "@example.com", "USER");
+      }
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      workbook.write(baos);
+      workbook.dispose();
+      excelBytes = baos.toByteArray();
     }
+
+    StepVerifier.create(fileProcessorUtil.streamExcelFile(buffers(excelBytes, 8192)))
+        .assertNext(user -> assertEquals("user1@example.com", user.getEmail()))
+        .expectNextCount(rows - 1L)
+        .verifyComplete();
+  }
+
+  @Test
+  void streamExcelFile_EmptyOrInvalidFile_ThrowsException() throws IOException {
+    StepVerifier.create(fileProcessorUtil.streamExcelFile(buffers(createEmptyExcelFile(), 512)))
+        .expectError(BadRequestException.class)
+        .verify();
+    StepVerifier.create(
+            fileProcessorUtil.streamExcelFile(buffers(createExcelWithMissingHeaders(), 512)))
+        .expectError(BadRequestException.class)
+        .verify();
+    byte[] invalidBytes = "Not an Excel file".getBytes(StandardCharsets.UTF_8);
+    StepVerifier.create(fileProcessorUtil.streamExcelFile(buffers(invalidBytes, 4)))
+        .expectError(BadRequestException.class)
+        .verify();
   }
 
   @Test
-  void testGetCellValueAsString_NumericCellWithDecimal() throws Exception {
-    Method getCellValueAsString =
-        FileProcessorUtil.class.getDeclaredMethod("getCellValueAsString", Cell.class);
-    getCellValueAsString.setAccessible(true);
+  void streamExcelFile_HeaderRowMissing_ThrowsException() throws IOException {
+    byte[] excelBytes;
+    try (Workbook workbook = new XSSFWorkbook()) {
+      writeRow(workbook.createSheet().createRow(1), "name", "email", "role");
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      workbook.write(baos);
+      excelBytes = baos.toByteArray();
+    }
 
-    Cell cell = mock(Cell.class);
-    when(cell.getCellType()).thenReturn(CellType.NUMERIC);
-    when(cell.getNumericCellValue()).thenReturn(123.45);
+    StepVerifier.create(fileProcessorUtil.streamExcelFile(buffers(excelBytes, 512)))
+        .expectErrorMessage("Excel file header row is missing")
+        .verify();
+  }
 
-    try (var mockedDateUtil = mockStatic(DateUtil.class)) {
-      mockedDateUtil.when(() -> DateUtil.isCellDateFormatted(cell)).thenReturn(false);
+  private static Flux<DataBuffer> buffers(byte[] bytes, int size) {
+    return Flux.range(0, (bytes.length + size - 1) / size)
+        .map(
+            i ->
+                DefaultDataBufferFactory.sharedInstance.wrap(
+                    Arrays.copyOfRange(bytes, i * size, Math.min(bytes.length, (i + 1) * size))));
+  }
+
+  /** A CSV upload whose rows are only produced when the reader asks for them */
+  private static Flux<DataBuffer> csvRows(int rows, AtomicInteger rowsProduced) {
+    Flux<DataBuffer> header = buffers("name,email,role\n".getBytes(StandardCharsets.UTF_8), 64);
+    Flux<DataBuffer> body =
+        Flux.range(1, rows)
+            .map(
+                i -> {
+                  rowsProduced.incrementAndGet();
+                  String row = "User " + i + ",user" + i + "@example.com,USER\n";
+                  return DefaultDataBufferFactory.sharedInstance.wrap(
+                      row.getBytes(StandardCharsets.UTF_8));
+                });
+    return header.concatWith(body);
+  }
+
+  private byte[] createExcelWithMixedCells() throws IOException {
+    try (Workbook workbook = new XSSFWorkbook()) {
+      Sheet sheet = workbook.createSheet();
+      writeRow(sheet.createRow(0), "Name", "EMAIL", "role");
+      writeRow(sheet.createRow(1), "John Doe", "JOHN@example.com", "USER");
+      Row numericName = sheet.createRow(3);
+      numericName.createCell(0).setCellValue(123);
+      numericName.createCell(1).setCellValue("numeric@example.com");
+      numericName.createCell(2).setCellValue("ADMIN");
+      Row formulaEmail = sheet.createRow(4);
+      formulaEmail.createCell(0).setCellValue("Formula");
+      formulaEmail.createCell(1).setCellFormula("1+1");
+      formulaEmail.createCell(2).setCellValue("USER");
+      Row booleanRole = sheet.createRow(5);
+      booleanRole.createCell(0).setCellValue("Boolean");
+      booleanRole.createCell(1).setCellValue("boolean@example.com");
+      booleanRole.createCell(2).setCellValue(true);
+      Row dateName = sheet.createRow(6);
+      CellStyle dateStyle = workbook.createCellStyle();
+      dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("m/d/yy"));
+      Cell dateCell = dateName.createCell(0);
+      dateCell.setCellValue(new GregorianCalendar(2024, Calendar.MARCH, 1).getTime());
+      dateCell.setCellStyle(dateStyle);
+      dateName.createCell(1).setCellValue("date@example.com");
+      dateName.createCell(2).setCellValue("PM");
+      sheet.createRow(7);
+
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      workbook.write(baos);
+      return baos.toByteArray();
+    }
+  }
 
-      String result = (String) getCellValueAsString.invoke(fileProcessorUtil, cell);
-      assertEquals("123.45", result);
+  private static void writeRow(Row row, String... values) {
+    for (int i = 0; i < values.length; i++) {
+      row.createCell(i).setCellValue(values[i]);
     }
   }
 
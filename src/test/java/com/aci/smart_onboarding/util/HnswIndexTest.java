@@ -0,0 +1,143 @@
+package com.aci.smart_onboarding.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class HnswIndexTest {
+
+  private static final int DIMENSION = 32;
+
+  @Test
+  void search_ShouldFindMostExactNeighbours() {
+    // Given
+    SplittableRandom random = new SplittableRandom(7);
+    HnswIndex index = new HnswIndex(DIMENSION, 16, 200, new SplittableRandom(11));
+    float[][] vectors = new float[3_000][];
+    for (int i = 0; i < vectors.length; i++) {
+      vectors[i] = randomVector(random);
+      index.add("doc-" + i, null, vectors[i]);
+    }
+
+    // When
+    int found = 0;
+    int expected = 0;
+    for (int q = 0; q < 50; q++) {
+      float[] query = randomVector(random);
+      Set<String> exact = new HashSet<>(exactNeighbours(vectors, query, 10));
+      found +=
+          (int)
+              index.search(query, 10, null, 100).stream()
+                  .map(HnswIndex.Match::id)
+                  .filter(exact::contains)
+                  .count();
+      expected += exact.size();
+    }
+
+    // Then
+    assertTrue((double) found / expected >= 0.9, "recall was " + (double) found / expected);
+  }
+
+  @Test
+  void search_ShouldReturnNearestFirst() {
+    // Given
+    HnswIndex index = new HnswIndex(2, 4, 20);
+    index.add("far", null, new float[] {10, 10});
+    index.add("near", null, new float[] {1, 1});
+    index.add("exact", null, new float[] {0, 0});
+
+    // When
+    List<HnswIndex.Match> matches = index.search(new float[] {0, 0}, 2, null, 10);
+
+    // Then
+    assertEquals(List.of("exact", "near"), matches.stream().map(HnswIndex.Match::id).toList());
+    assertEquals(0f, matches.get(0).distance());
+    assertEquals(2f, matches.get(1).distance());
+  }
+
+  @Test
+  void search_WithLabel_ShouldOnlyReturnMatchingVectors() {
+    // Given
+    SplittableRandom random = new SplittableRandom(3);
+    HnswIndex index = new HnswIndex(DIMENSION, 8, 50);
+    for (int i = 0; i < 500; i++) {
+      index.add("doc-" + i, i % 10 == 0 ? "TestRigor" : "BRD", randomVector(random));
+    }
+
+    // When
+    List<HnswIndex.Match> matches = index.search(randomVector(random), 20, "TestRigor", 10);
+
+    // Then
+    assertEquals(20, matches.size());
+    assertTrue(
+        matches.stream()
+            .allMatch(match -> Integer.parseInt(match.id().substring(4)) % 10 == 0));
+    assertTrue(index.search(randomVector(random), 5, "Unknown", 10).isEmpty());
+  }
+
+  @Test
+  void removeAndReplace_ShouldHideOldVectors() {
+    // Given
+    HnswIndex index = new HnswIndex(2, 4, 20);
+    index.add("a", null, new float[] {0, 0});
+    index.add("b", null, new float[] {5, 5});
+    index.add("c", null, new float[] {9, 9});
+
+    // When
+    assertTrue(index.remove("a"));
+    assertFalse(index.remove("a"));
+    index.add("b", null, new float[] {20, 20});
+
+    // Then
+    assertEquals(2, index.size());
+    assertEquals(2, index.deletedCount());
+    List<HnswIndex.Match> matches = index.search(new float[] {0, 0}, 3, null, 10);
+    assertEquals(List.of("c", "b"), matches.stream().map(HnswIndex.Match::id).toList());
+  }
+
+  @Test
+  void addOrSearch_WithWrongDimension_ShouldFail() {
+    HnswIndex index = new HnswIndex(3, 4, 20);
+
+    assertThrows(IllegalArgumentException.class, () -> index.add("a", null, new float[2]));
+    assertThrows(IllegalArgumentException.class, () -> index.search(new float[4], 1, null, 10));
+    assertTrue(index.search(new float[3], 1, null, 10).isEmpty());
+  }
+
+  @Test
+  void toFloatArray_ShouldConvertComponents() {
+    assertArrayEquals(new float[] {0.5f, 2f}, HnswIndex.toFloatArray(List.of(0.5, 2.0)));
+  }
+
+  private static float[] randomVector(SplittableRandom random) {
+    float[] vector = new float[DIMENSION];
+    for (int i = 0; i < DIMENSION; i++) {
+      vector[i] = (float) random.nextDouble(-1, 1);
+    }
+    return vector;
+  }
+
+  private static List<String> exactNeighbours(float[][] vectors, float[] query, int limit) {
+    return IntStream.range(0, vectors.length)
+        .boxed()
+        .sorted(Comparator.comparingDouble(i -> squaredDistance(vectors[i], query)))
+        .limit(limit)
+        .map(i -> "doc-" + i)
+        .toList();
+  }
+
+  private static double squaredDistance(float[] a, float[] b) {
+    double sum = 0;
+    for (int i = 0; i < a.length; i++) {
+      double difference = a[i] - b[i];
+      sum += difference * difference;
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,117 @@
+package com.aci.smart_onboarding.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.aci.smart_onboarding.dto.RulesWithData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class JsonDataBuffersTest {
+
+  private static final int RULES = 20_000;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+  @Test
+  void array_LargeExport_ShouldStreamBoundedChunks() throws Exception {
+    AtomicInteger generated = new AtomicInteger();
+    int elementSize = objectMapper.writeValueAsBytes(rule(RULES)).length + 1;
+    List<Integer> generatedAtChunk = new ArrayList<>();
+    StringBuilder json = new StringBuilder();
+
+    Flux<RulesWithData> rules =
+        Flux.range(0, RULES)
+            .map(JsonDataBuffersTest::rule)
+            .doOnNext(rule -> generated.incrementAndGet());
+
+    StepVerifier.create(JsonDataBuffers.array(rules, objectMapper.writer(), bufferFactory))
+        .thenConsumeWhile(
+            chunk -> {
+              generatedAtChunk.add(generated.get());
+              assertTrue(chunk.readableByteCount() <= JsonDataBuffers.CHUNK_SIZE + elementSize);
+              json.append(chunk.toString(StandardCharsets.UTF_8));
+              DataBufferUtils.release(chunk);
+              return true;
+            })
+        .verifyComplete();
+
+    assertTrue(generatedAtChunk.size() > 1);
+    // Only what fits in the first chunk is generated before it is sent
+    assertTrue(generatedAtChunk.get(0) < RULES / 10);
+    JsonNode array = objectMapper.readTree(json.toString());
+    assertEquals(RULES, array.size());
+    assertEquals("rule-19999", array.get(RULES - 1).get("ruleId").asText());
+  }
+
+  @Test
+  void array_PrettyWriter_ShouldIndent() {
+    String json =
+        content(
+            JsonDataBuffers.array(
+                Flux.just(rule(1), rule(2)),
+                objectMapper.writerWithDefaultPrettyPrinter(),
+                bufferFactory));
+
+    assertTrue(json.startsWith("["));
+    assertTrue(json.endsWith("]"));
+    assertTrue(json.contains("\n"));
+  }
+
+  @Test
+  void array_CompactWriter_ShouldNotIndent() {
+    String json =
+        content(JsonDataBuffers.array(Flux.just(rule(1)), objectMapper.writer(), bufferFactory));
+
+    assertFalse(json.contains("\n"));
+  }
+
+  @Test
+  void array_NoElements_ShouldBeEmptyArray() {
+    assertEquals(
+        "[]", content(JsonDataBuffers.array(Flux.empty(), objectMapper.writer(), bufferFactory)));
+  }
+
+  @Test
+  void array_FailingElements_ShouldFail() {
+    Flux<RulesWithData> rules =
+        Flux.concat(Flux.just(rule(1)), Flux.error(new IllegalStateException("Rules failed")));
+
+    StepVerifier.create(JsonDataBuffers.array(rules, objectMapper.writer(), bufferFactory))
+        .expectError(IllegalStateException.class)
+        .verify();
+  }
+
+  private String content(Flux<DataBuffer> chunks) {
+    DataBuffer buffer = DataBufferUtils.join(chunks).block();
+    String content = buffer.toString(StandardCharsets.UTF_8);
+    DataBufferUtils.release(buffer);
+    return content;
+  }
+
+  private static RulesWithData rule(int i) {
+    RulesWithData rule = new RulesWithData();
+    rule.setBrdId("BRD-" + (i % 50));
+    rule.setBrdName("Legacy BRD " + (i % 50));
+    rule.setRuleId("rule-" + i);
+    rule.setRuleName("Rule " + i);
+    rule.setValue("Value of rule " + i);
+    rule.setOrder(String.valueOf(i));
+    rule.setMappingKey("mappingKey" + i);
+    rule.setExplanation("Explanation of the mapping for rule " + i);
+    rule.setSimilarity("0.9");
+    return rule;
+  }
+}
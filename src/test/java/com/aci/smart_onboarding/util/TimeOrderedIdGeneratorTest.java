@@ -0,0 +1,108 @@
+package com.aci.smart_onboarding.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdGeneratorTest {
+
+  @Test
+  void nextId_ShouldBeStrictlyIncreasingAndUnique() {
+    // Given
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(3);
+    Set<Long> seen = new HashSet<>();
+    long previous = -1L;
+
+    // When / Then
+    for (int i = 0; i < 10_000; i++) {
+      long id = generator.nextId();
+      assertTrue(id > previous);
+      assertTrue(seen.add(id));
+      previous = id;
+    }
+  }
+
+  @Test
+  void nextId_ClockMovesBackwards_ShouldStayMonotonic() {
+    // Given
+    MutableClock clock = new MutableClock(TimeOrderedIdGenerator.EPOCH_MILLIS + 5_000);
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, clock);
+    long first = generator.nextId();
+
+    // When
+    clock.millis = TimeOrderedIdGenerator.EPOCH_MILLIS + 1_000;
+    long second = generator.nextId();
+
+    // Then
+    assertTrue(second > first);
+  }
+
+  @Test
+  void nextId_CounterOverflow_ShouldBorrowNextMillisecond() {
+    // Given
+    MutableClock clock = new MutableClock(TimeOrderedIdGenerator.EPOCH_MILLIS + 1);
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1, clock);
+    long previous = -1L;
+
+    // When / Then
+    for (int i = 0; i < 5_000; i++) {
+      long id = generator.nextId();
+      assertTrue(id > previous);
+      previous = id;
+    }
+  }
+
+  @Test
+  void nextIdAsString_ShouldPreserveOrderLexically() {
+    // Given
+    TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(9);
+
+    // When
+    String first = generator.nextIdAsString();
+    String second = generator.nextIdAsString();
+
+    // Then
+    assertEquals(13, first.length());
+    assertTrue(first.compareTo(second) < 0);
+  }
+
+  @Test
+  void encode_ShouldUseFixedWidthCrockfordAlphabet() {
+    assertEquals("0000000000000", TimeOrderedIdGenerator.encode(0L));
+    assertEquals("000000000000Z", TimeOrderedIdGenerator.encode(31L));
+    assertEquals("0000000000010", TimeOrderedIdGenerator.encode(32L));
+  }
+
+  private static final class MutableClock extends Clock {
+    private long millis;
+
+    private MutableClock(long millis) {
+      this.millis = millis;
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+  }
+}
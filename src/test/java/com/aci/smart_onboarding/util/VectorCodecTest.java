@@ -0,0 +1,70 @@
+package com.aci.smart_onboarding.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.aci.smart_onboarding.enums.VectorStorageFormat;
+import java.util.List;
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Test;
+
+class VectorCodecTest {
+
+  private static final float[] VECTOR = {0.5f, -0.25f, 1f};
+
+  @Test
+  void encode_Float32_ShouldRoundTripExactly() {
+    Binary binary = VectorCodec.encode(VECTOR, VectorStorageFormat.FLOAT32, 127);
+
+    assertEquals(VectorCodec.VECTOR_SUBTYPE, binary.getType());
+    assertEquals(2 + VECTOR.length * 4, binary.getData().length);
+    assertEquals(VectorCodec.FLOAT32, binary.getData()[0]);
+    assertArrayEquals(VECTOR, VectorCodec.decode(binary, 127));
+  }
+
+  @Test
+  void encode_Float32_ShouldWriteLittleEndianComponents() {
+    Binary binary = VectorCodec.encode(new float[] {1f}, VectorStorageFormat.FLOAT32, 127);
+
+    // 1.0f is 0x3f800000
+    assertArrayEquals(new byte[] {0x27, 0, 0, 0, (byte) 0x80, 0x3f}, binary.getData());
+  }
+
+  @Test
+  void encode_Int8_ShouldQuantizeWithScaleAndClamp() {
+    Binary binary =
+        VectorCodec.encode(new float[] {0.5f, -0.25f, 3f}, VectorStorageFormat.INT8, 100);
+
+    assertArrayEquals(new byte[] {0x03, 0, 50, -25, 127}, binary.getData());
+    assertArrayEquals(new float[] {0.5f, -0.25f, 1.27f}, VectorCodec.decode(binary, 100), 1e-6f);
+  }
+
+  @Test
+  void decode_OtherBinary_ShouldFail() {
+    Binary uuid = new Binary((byte) 4, new byte[16]);
+    Binary unknownDtype = new Binary(VectorCodec.VECTOR_SUBTYPE, new byte[] {0x10, 0, 1});
+
+    assertThrows(IllegalArgumentException.class, () -> VectorCodec.decode(uuid, 127));
+    assertThrows(IllegalArgumentException.class, () -> VectorCodec.decode(unknownDtype, 127));
+  }
+
+  @Test
+  void toFloatArray_ShouldReadBinaryAndLegacyArrays() {
+    Binary binary = VectorCodec.encode(VECTOR, VectorStorageFormat.FLOAT32, 127);
+
+    assertArrayEquals(VECTOR, VectorCodec.toFloatArray(binary, 127));
+    assertArrayEquals(VECTOR, VectorCodec.toFloatArray(List.of(0.5, -0.25, 1.0), 127));
+    assertNull(VectorCodec.toFloatArray(List.of(), 127));
+    assertNull(VectorCodec.toFloatArray(List.of("a"), 127));
+    assertNull(VectorCodec.toFloatArray(new Binary((byte) 0, new byte[4]), 127));
+    assertNull(VectorCodec.toFloatArray("vector", 127));
+  }
+
+  @Test
+  void queryVector_ShouldOnlyEncodeInt8Queries() {
+    List<Double> query = List.of(0.5, -0.25);
+
+    assertSame(query, VectorCodec.queryVector(query, VectorStorageFormat.FLOAT32, 127));
+    Binary int8 = (Binary) VectorCodec.queryVector(query, VectorStorageFormat.INT8, 100);
+    assertArrayEquals(new byte[] {0x03, 0, 50, -25}, int8.getData());
+  }
+}